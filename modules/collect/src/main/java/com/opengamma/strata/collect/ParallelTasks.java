@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntToDoubleFunction;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Static utility methods that evaluate independent tasks, optionally using an executor.
+ * <p>
+ * The tasks are identified by an index from zero to a size, and are grouped in consecutive blocks of indices.
+ * If the executor is null, the tasks are evaluated sequentially in the calling thread. Otherwise each block
+ * is submitted to the executor and the calling thread waits for them to complete, except if there is
+ * a single block, which is evaluated directly in the calling thread. This applies to all the methods.
+ * The results are in the order of the indices, and do not depend on whether an executor is used.
+ * <p>
+ * If a task throws an exception, the tasks that have not yet started are cancelled and the exception
+ * is rethrown in the calling thread without being wrapped, as in the sequential case.
+ * When the executor is used, the exception rethrown is the first to occur, which may not be
+ * the one with the lowest index.
+ */
+public final class ParallelTasks {
+
+  /**
+   * Restricted constructor.
+   */
+  private ParallelTasks() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Evaluates a function for each index from zero to the size.
+   * <p>
+   * Each index is a separate task of the executor, except if there is a single index.
+   *
+   * @param <T>  the type of the results
+   * @param size  the number of indices
+   * @param function  the function, which must be thread-safe if the executor is not null
+   * @param executor  the executor, null for sequential evaluation
+   * @return the results, in the order of the indices
+   */
+  public static <T> List<T> evaluate(int size, IntFunction<? extends T> function, Executor executor) {
+    return evaluate(size, 1, function, executor);
+  }
+
+  /**
+   * Evaluates a function for each index from zero to the size, in blocks of indices.
+   * <p>
+   * The indices are split in consecutive blocks of the specified size, each block being a separate
+   * task of the executor, except if there is a single block. A block size greater than one should be used
+   * when each evaluation is cheap compared to the cost of a task.
+   *
+   * @param <T>  the type of the results
+   * @param size  the number of indices
+   * @param blockSize  the number of indices in each task, one or more
+   * @param function  the function, which must be thread-safe if the executor is not null
+   * @param executor  the executor, null for sequential evaluation
+   * @return the results, in the order of the indices
+   */
+  public static <T> List<T> evaluate(int size, int blockSize, IntFunction<? extends T> function, Executor executor) {
+    ArgChecker.notNull(function, "function");
+    Object[] results = new Object[size];
+    forEach(size, blockSize, i -> results[i] = function.apply(i), executor);
+    @SuppressWarnings("unchecked")
+    List<T> list = (List<T>) Arrays.asList(results);
+    return list;
+  }
+
+  /**
+   * Evaluates a function returning a primitive double for each index from zero to the size.
+   * <p>
+   * The indices are split in consecutive blocks of the specified size, each block being a separate
+   * task of the executor, except if there is a single block. A block size greater than one should be used
+   * when each evaluation is cheap compared to the cost of a task.
+   *
+   * @param size  the number of indices
+   * @param blockSize  the number of indices in each task, one or more
+   * @param function  the function, which must be thread-safe if the executor is not null
+   * @param executor  the executor, null for sequential evaluation
+   * @return the results, in the order of the indices
+   */
+  public static DoubleArray evaluateDoubles(
+      int size,
+      int blockSize,
+      IntToDoubleFunction function,
+      Executor executor) {
+
+    ArgChecker.notNull(function, "function");
+    double[] results = new double[size];
+    forEach(size, blockSize, i -> results[i] = function.applyAsDouble(i), executor);
+    return DoubleArray.ofUnsafe(results);
+  }
+
+  /**
+   * Performs an action for each index from zero to the size.
+   * <p>
+   * The indices are split in consecutive blocks of the specified size, each block being a separate
+   * task of the executor. Within a block, the action is performed in the order of the indices.
+   * If there is a single block, it is performed in the calling thread.
+   *
+   * @param size  the number of indices
+   * @param blockSize  the number of indices in each task, one or more
+   * @param action  the action, which must be thread-safe if the executor is not null
+   * @param executor  the executor, null for sequential evaluation
+   */
+  public static void forEach(int size, int blockSize, IntConsumer action, Executor executor) {
+    ArgChecker.notNegative(size, "size");
+    ArgChecker.notNegativeOrZero(blockSize, "blockSize");
+    ArgChecker.notNull(action, "action");
+    if (executor == null || size <= blockSize) {
+      for (int i = 0; i < size; i++) {
+        action.accept(i);
+      }
+      return;
+    }
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int start = 0; start < size; start += blockSize) {
+      int blockStart = start;
+      int blockEnd = Math.min(size - start, blockSize) + start;
+      futures.add(CompletableFuture.runAsync(
+          () -> {
+            for (int i = blockStart; i < blockEnd; i++) {
+              action.accept(i);
+            }
+          },
+          executor));
+    }
+    joinAll(futures);
+  }
+
+  //-------------------------------------------------------------------------
+  // waits for all the futures, cancelling the others and rethrowing the cause of the first failure
+  private static <T> List<CompletableFuture<T>> joinAll(List<CompletableFuture<T>> futures) {
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    for (CompletableFuture<T> future : futures) {
+      future.whenComplete((result, ex) -> {
+        if (ex != null && !(ex instanceof CancellationException) && failure.compareAndSet(null, unwrap(ex))) {
+          futures.forEach(other -> other.cancel(false));
+        }
+      });
+    }
+    try {
+      for (CompletableFuture<T> future : futures) {
+        future.join();
+      }
+    } catch (CompletionException | CancellationException ex) {
+      failure.compareAndSet(null, unwrap(ex));
+      futures.forEach(other -> other.cancel(false));
+      Throwable cause = failure.get();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new CompletionException(cause);
+    }
+    return futures;
+  }
+
+  // extracts the exception thrown by the task
+  private static Throwable unwrap(Throwable ex) {
+    return ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+  }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.assertUtilityClass;
+import static org.testng.Assert.assertEquals;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Test {@link ParallelTasks}.
+ */
+@Test
+public class ParallelTasksTest {
+
+  //-------------------------------------------------------------------------
+  public void test_evaluate() {
+    List<String> expected = IntStream.range(0, 50).mapToObj(Integer::toString).collect(Collectors.toList());
+    assertEquals(ParallelTasks.evaluate(50, Integer::toString, null), expected);
+    assertEquals(ParallelTasks.evaluate(50, Integer::toString, ForkJoinPool.commonPool()), expected);
+    assertEquals(ParallelTasks.evaluate(0, Integer::toString, ForkJoinPool.commonPool()).size(), 0);
+    assertThrowsIllegalArg(() -> ParallelTasks.evaluate(-1, Integer::toString, null));
+  }
+
+  public void test_evaluate_blocks() {
+    List<String> expected = IntStream.range(0, 50).mapToObj(Integer::toString).collect(Collectors.toList());
+    assertEquals(ParallelTasks.evaluate(50, 7, Integer::toString, null), expected);
+    assertEquals(ParallelTasks.evaluate(50, 7, Integer::toString, ForkJoinPool.commonPool()), expected);
+    assertEquals(ParallelTasks.evaluate(50, 50, Integer::toString, ForkJoinPool.commonPool()), expected);
+    assertThrowsIllegalArg(() -> ParallelTasks.evaluate(50, 0, Integer::toString, null));
+  }
+
+  public void test_evaluateDoubles() {
+    DoubleArray expected = DoubleArray.of(10, i -> i * 0.5);
+    assertEquals(ParallelTasks.evaluateDoubles(10, 3, i -> i * 0.5, null), expected);
+    assertEquals(ParallelTasks.evaluateDoubles(10, 3, i -> i * 0.5, ForkJoinPool.commonPool()), expected);
+    assertEquals(ParallelTasks.evaluateDoubles(10, 20, i -> i * 0.5, ForkJoinPool.commonPool()), expected);
+    assertThrowsIllegalArg(() -> ParallelTasks.evaluateDoubles(10, 0, i -> i, null));
+  }
+
+  public void test_forEach() {
+    int[] visited = new int[100];
+    ParallelTasks.forEach(100, 7, i -> visited[i]++, ForkJoinPool.commonPool());
+    assertEquals(visited, IntStream.generate(() -> 1).limit(100).toArray());
+  }
+
+  // a single block is performed in the calling thread
+  public void test_forEach_singleBlock() {
+    Thread[] threads = new Thread[10];
+    ParallelTasks.forEach(10, 10, i -> threads[i] = Thread.currentThread(), ForkJoinPool.commonPool());
+    for (Thread thread : threads) {
+      assertEquals(thread, Thread.currentThread());
+    }
+  }
+
+  // a single index is evaluated in the calling thread, as a single block
+  public void test_evaluate_singleIndex() {
+    List<Thread> threads = ParallelTasks.evaluate(1, i -> Thread.currentThread(), ForkJoinPool.commonPool());
+    assertEquals(threads.get(0), Thread.currentThread());
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_exception() {
+    assertThrows(
+        () -> ParallelTasks.evaluate(10, i -> fail(i == 5), ForkJoinPool.commonPool()),
+        IllegalStateException.class,
+        "Failed");
+    assertThrows(
+        () -> ParallelTasks.forEach(10, 2, i -> fail(i == 5), ForkJoinPool.commonPool()),
+        IllegalStateException.class,
+        "Failed");
+    assertThrows(() -> ParallelTasks.evaluate(10, i -> fail(i == 5), null), IllegalStateException.class, "Failed");
+  }
+
+  // the tasks not yet started are cancelled after a failure
+  public void test_exception_failFast() {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      AtomicInteger count = new AtomicInteger();
+      assertThrows(
+          () -> ParallelTasks.evaluate(10, i -> fail(count.incrementAndGet() == 1), executor),
+          IllegalStateException.class);
+      assertEquals(count.get(), 1);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private static String fail(boolean fail) {
+    if (fail) {
+      throw new IllegalStateException("Failed");
+    }
+    return "";
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_validateUtilityClass() {
+    assertUtilityClass(ParallelTasks.class);
+  }
+
+}
@@ -14,6 +14,7 @@ import java.util.stream.IntStream;
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
 import com.opengamma.strata.market.param.ParameterMetadata;
 import com.opengamma.strata.market.param.ParameterPerturbation;
@@ -103,6 +104,39 @@ public interface Curve extends ParameterizedData {
    */
   public abstract UnitParameterSensitivity yValueParameterSensitivity(double x);
 
+  /**
+   * Computes the y-values for the specified x-values.
+   * <p>
+   * This is equivalent to calling {@link #yValue(double)} for each x-value.
+   * Implementations may be more efficient when the x-values are sorted from low to high.
+   * 
+   * @param xValues  the x-values to find the y-values for, typically sorted from low to high
+   * @return the values at the x-values
+   */
+  public default DoubleArray yValue(DoubleArray xValues) {
+    return xValues.map(this::yValue);
+  }
+
+  /**
+   * Computes the sensitivity of the y-values with respect to the curve parameters.
+   * <p>
+   * This is equivalent to calling {@link #yValueParameterSensitivity(double)} for each x-value.
+   * The row {@code i} of the matrix contains the sensitivity of the y-value at the x-value {@code i}
+   * to each parameter of the curve.
+   * Implementations may be more efficient when the x-values are sorted from low to high.
+   * 
+   * @param xValues  the x-values at which the parameter sensitivity is computed, typically sorted from low to high
+   * @return the sensitivity, one row per x-value
+   * @throws RuntimeException if the sensitivity cannot be calculated
+   */
+  public default DoubleMatrix yValueParameterSensitivity(DoubleArray xValues) {
+    double[][] result = new double[xValues.size()][];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = yValueParameterSensitivity(xValues.get(i)).getSensitivity().toArrayUnsafe();
+    }
+    return DoubleMatrix.ofUnsafe(result);
+  }
+
   /**
    * Computes the first derivative of the curve.
    * <p>
@@ -31,6 +31,7 @@ import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.market.curve.interpolator.BoundCurveInterpolator;
 import com.opengamma.strata.market.curve.interpolator.CurveExtrapolator;
 import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
@@ -248,6 +249,16 @@ public final class InterpolatedNodalCurve
     return createParameterSensitivity(boundInterpolator.parameterSensitivity(x));
   }
 
+  @Override
+  public DoubleArray yValue(DoubleArray xValues) {
+    return boundInterpolator.interpolate(xValues);
+  }
+
+  @Override
+  public DoubleMatrix yValueParameterSensitivity(DoubleArray xValues) {
+    return boundInterpolator.parameterSensitivity(xValues);
+  }
+
   @Override
   public double firstDerivative(double x) {
     return boundInterpolator.firstDerivative(x);
@@ -7,6 +7,7 @@ package com.opengamma.strata.market.curve.interpolator;
 
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 
 /**
  * Abstract interpolator implementation.
@@ -27,6 +28,10 @@ public abstract class AbstractBoundCurveInterpolator
    * The right extrapolator.
    */
   private final BoundCurveExtrapolator extrapolatorRight;
+  /**
+   * The x-values of the nodes.
+   */
+  private final double[] nodeXValues;
   /**
    * The x-value of the first node.
    */
@@ -54,6 +59,7 @@ public abstract class AbstractBoundCurveInterpolator
     ArgChecker.isTrue(size > 1, "Curve node arrays must have at least two nodes");
     this.extrapolatorLeft = ExceptionCurveExtrapolator.INSTANCE;
     this.extrapolatorRight = ExceptionCurveExtrapolator.INSTANCE;
+    this.nodeXValues = xValues.toArrayUnsafe();
     this.firstXValue = xValues.get(0);
     this.lastXValue = xValues.get(size - 1);
     this.lastYValue = yValues.get(size - 1);
@@ -73,6 +79,7 @@ public abstract class AbstractBoundCurveInterpolator
 
     this.extrapolatorLeft = ArgChecker.notNull(extrapolatorLeft, "extrapolatorLeft");
     this.extrapolatorRight = ArgChecker.notNull(extrapolatorRight, "extrapolatorRight");
+    this.nodeXValues = base.nodeXValues;
     this.firstXValue = base.firstXValue;
     this.lastXValue = base.lastXValue;
     this.lastYValue = base.lastYValue;
@@ -101,6 +108,22 @@ public abstract class AbstractBoundCurveInterpolator
    */
   protected abstract double doInterpolate(double xValue);
 
+  /**
+   * Method for subclasses to calculate the interpolated value when the interval is known.
+   * <p>
+   * This is called by {@link #interpolate(DoubleArray)}, with {@code lowerIndex} obtained
+   * from {@link #lowerBoundIndex(double, double[], int)}.
+   * Subclasses that search the nodes should override this method to use the index.
+   * By default, this method calls {@link #doInterpolate(double)}.
+   * 
+   * @param xValue  the x-value
+   * @param lowerIndex  the index of the last node with an x-value lower than or equal to {@code xValue}
+   * @return the interpolated y-value
+   */
+  protected double doInterpolate(double xValue, int lowerIndex) {
+    return doInterpolate(xValue);
+  }
+
   /**
    * Method for {@code InterpolatorCurveExtrapolator} to calculate the interpolated value.
    * <p>
@@ -152,6 +175,65 @@ public abstract class AbstractBoundCurveInterpolator
    */
   protected abstract DoubleArray doParameterSensitivity(double xValue);
 
+  /**
+   * Method for subclasses to calculate parameter sensitivity when the interval is known.
+   * <p>
+   * This is called by {@link #parameterSensitivity(DoubleArray)}, with {@code lowerIndex} obtained
+   * from {@link #lowerBoundIndex(double, double[], int)}.
+   * Subclasses that search the nodes should override this method to use the index.
+   * By default, this method calls {@link #doParameterSensitivity(double)}.
+   * 
+   * @param xValue  the x-value
+   * @param lowerIndex  the index of the last node with an x-value lower than or equal to {@code xValue}
+   * @return the parameter sensitivity
+   */
+  protected DoubleArray doParameterSensitivity(double xValue, int lowerIndex) {
+    return doParameterSensitivity(xValue);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public DoubleArray interpolate(DoubleArray xValues) {
+    double[] xs = xValues.toArrayUnsafe();
+    double[] result = new double[xs.length];
+    int lowerIndex = 0;
+    for (int i = 0; i < xs.length; i++) {
+      double xValue = xs[i];
+      if (xValue < firstXValue) {
+        result[i] = extrapolatorLeft.leftExtrapolate(xValue);
+      } else if (xValue > lastXValue) {
+        result[i] = extrapolatorRight.rightExtrapolate(xValue);
+      } else if (xValue == lastXValue) {
+        result[i] = lastYValue;
+      } else {
+        lowerIndex = lowerBoundIndex(xValue, nodeXValues, lowerIndex);
+        result[i] = doInterpolate(xValue, lowerIndex);
+      }
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  @Override
+  public DoubleMatrix parameterSensitivity(DoubleArray xValues) {
+    double[] xs = xValues.toArrayUnsafe();
+    double[][] result = new double[xs.length][];
+    int lowerIndex = 0;
+    for (int i = 0; i < xs.length; i++) {
+      double xValue = xs[i];
+      DoubleArray sensitivity;
+      if (xValue < firstXValue) {
+        sensitivity = extrapolatorLeft.leftExtrapolateParameterSensitivity(xValue);
+      } else if (xValue > lastXValue) {
+        sensitivity = extrapolatorRight.rightExtrapolateParameterSensitivity(xValue);
+      } else {
+        lowerIndex = lowerBoundIndex(xValue, nodeXValues, lowerIndex);
+        sensitivity = doParameterSensitivity(xValue, lowerIndex);
+      }
+      result[i] = sensitivity.toArrayUnsafe();
+    }
+    return DoubleMatrix.ofUnsafe(result);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Returns the index of the last value in the input array which is lower than the specified value.
@@ -197,4 +279,30 @@ public abstract class AbstractBoundCurveInterpolator
     return lo - 1;
   }
 
+  /**
+   * Returns the index of the last value in the input array which is lower than the specified value,
+   * starting the search from a hint.
+   * <p>
+   * This produces the same result as {@link #lowerBoundIndex(double, double[])}.
+   * The search moves up from the hint, which is efficient when successive x-values are sorted
+   * and close to each other, such as the payment times of a swap.
+   * If the x-value is lower than the value at the hint, a binary search is performed.
+   *
+   * @param xValue  a value which is less than or equal to the last element in {@code xValues}
+   * @param xValues  an array of values sorted in ascending order
+   * @param hint  the index at which to start the search, typically the result of the previous search
+   * @return the index of the last value in {@code xValues} which is lower than {@code xValue}
+   */
+  protected static int lowerBoundIndex(double xValue, double[] xValues, int hint) {
+    int index = hint;
+    if (xValues[index] > xValue) {
+      return lowerBoundIndex(xValue, xValues);
+    }
+    int last = xValues.length - 1;
+    while (index < last && xValues[index + 1] <= xValue) {
+      index++;
+    }
+    return index;
+  }
+
 }
@@ -6,6 +6,7 @@
 package com.opengamma.strata.market.curve.interpolator;
 
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 
 /**
  * A curve interpolator that has been bound to a specific curve.
@@ -52,6 +53,41 @@ public interface BoundCurveInterpolator {
    */
   public abstract DoubleArray parameterSensitivity(double x);
 
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the y-values for the specified x-values by interpolation.
+   * <p>
+   * This is equivalent to calling {@link #interpolate(double)} for each x-value.
+   * Implementations may search the nodes more efficiently when the x-values are sorted from low to high.
+   * 
+   * @param xValues  the x-values to find the y-values for, typically sorted from low to high
+   * @return the values at the x-values
+   * @throws RuntimeException if a y-value cannot be calculated
+   */
+  public default DoubleArray interpolate(DoubleArray xValues) {
+    return xValues.map(this::interpolate);
+  }
+
+  /**
+   * Computes the sensitivity of the y-values with respect to the curve parameters.
+   * <p>
+   * This is equivalent to calling {@link #parameterSensitivity(double)} for each x-value.
+   * The row {@code i} of the matrix contains the sensitivity of the y-value at the x-value {@code i}
+   * to each parameter of the curve.
+   * Implementations may search the nodes more efficiently when the x-values are sorted from low to high.
+   * 
+   * @param xValues  the x-values at which the parameter sensitivity is computed, typically sorted from low to high
+   * @return the sensitivity, one row per x-value
+   * @throws RuntimeException if the sensitivity cannot be calculated
+   */
+  public default DoubleMatrix parameterSensitivity(DoubleArray xValues) {
+    double[][] result = new double[xValues.size()][];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = parameterSensitivity(xValues.get(i)).toArrayUnsafe();
+    }
+    return DoubleMatrix.ofUnsafe(result);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Binds this interpolator to the specified extrapolators.
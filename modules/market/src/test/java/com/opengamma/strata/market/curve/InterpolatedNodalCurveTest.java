@@ -20,6 +20,7 @@ import org.testng.annotations.Test;
 
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.market.ValueType;
 import com.opengamma.strata.market.curve.interpolator.BoundCurveInterpolator;
 import com.opengamma.strata.market.curve.interpolator.CurveExtrapolator;
@@ -125,6 +126,18 @@ public class InterpolatedNodalCurveTest {
     assertThat(test.firstDerivative(10d)).isEqualTo(interp.firstDerivative(10d));
   }
 
+  public void test_lookup_batch() {
+    InterpolatedNodalCurve test = InterpolatedNodalCurve.of(METADATA, XVALUES, YVALUES, INTERPOLATOR);
+    DoubleArray xValues = DoubleArray.of(0.5d, 1d, 1.5d, 2d, 2.7d, 3d, 10d);
+    DoubleArray computed = test.yValue(xValues);
+    DoubleMatrix computedSensitivity = test.yValueParameterSensitivity(xValues);
+    for (int i = 0; i < xValues.size(); i++) {
+      assertThat(computed.get(i)).isEqualTo(test.yValue(xValues.get(i)));
+      DoubleArray expectedSensitivity = test.yValueParameterSensitivity(xValues.get(i)).getSensitivity();
+      assertThat(computedSensitivity.row(i)).isEqualTo(expectedSensitivity);
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void test_withMetadata() {
     InterpolatedNodalCurve base = InterpolatedNodalCurve.of(METADATA, XVALUES, YVALUES, INTERPOLATOR);
@@ -30,6 +30,7 @@ import org.testng.annotations.Test;
 
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
 
 /**
  * Test {@link CurveInterpolator}.
@@ -133,6 +134,37 @@ public class CurveInterpolatorTest {
     assertEquals(AbstractBoundCurveInterpolator.lowerBoundIndex(1.5d, new double[] {-1, 0, 1}), 2);
   }
 
+  public void test_lowerBound_hint() {
+    double[] xValues = new double[] {-1, 0, 0.5, 1, 2, 3};
+    for (int i = 0; i <= 80; i++) {
+      double xValue = -1d + i * 0.05;
+      int expected = AbstractBoundCurveInterpolator.lowerBoundIndex(xValue, xValues);
+      for (int hint = 0; hint < xValues.length; hint++) {
+        assertEquals(AbstractBoundCurveInterpolator.lowerBoundIndex(xValue, xValues, hint), expected);
+      }
+    }
+    assertEquals(AbstractBoundCurveInterpolator.lowerBoundIndex(-0.0d, xValues, 0), 1);
+    assertEquals(AbstractBoundCurveInterpolator.lowerBoundIndex(-0.0d, xValues, 3), 1);
+  }
+
+  @Test(dataProvider = "name")
+  public void test_batch(CurveInterpolator interpolator, String name) {
+    DoubleArray xValues = DoubleArray.of(0.5, 1, 2, 3, 5, 7);
+    DoubleArray yValues = DoubleArray.of(0.021, 0.025, 0.023, 0.031, 0.034, 0.033);
+    BoundCurveInterpolator bound = interpolator.bind(xValues, yValues, CurveExtrapolators.FLAT, CurveExtrapolators.FLAT);
+    DoubleArray sorted = DoubleArray.of(40, i -> 0.25 + i * 0.2);
+    DoubleArray unsorted = DoubleArray.of(6.5, 0.5, 3, 0.1, 7, 2.2, 1, 8, 2, 5.5);
+    for (DoubleArray xs : new DoubleArray[] {sorted, unsorted, DoubleArray.EMPTY}) {
+      DoubleArray values = bound.interpolate(xs);
+      DoubleMatrix sensitivities = bound.parameterSensitivity(xs);
+      assertEquals(values.size(), xs.size());
+      for (int i = 0; i < xs.size(); i++) {
+        assertEquals(values.get(i), bound.interpolate(xs.get(i)), 0d);
+        assertEquals(sensitivities.row(i), bound.parameterSensitivity(xs.get(i)));
+      }
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void coverage() {
     coverPrivateConstructor(CurveInterpolators.class);
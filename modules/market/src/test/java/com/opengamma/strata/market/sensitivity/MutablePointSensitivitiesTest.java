@@ -160,6 +160,19 @@ public class MutablePointSensitivitiesTest {
     assertEquals(test.getSensitivities(), ImmutableList.of(CS1, CS2, CS3.withSensitivity(35d)));
   }
 
+  public void test_normalize_multipleDuplicates() {
+    MutablePointSensitivities test = new MutablePointSensitivities();
+    test.addAll(Lists.newArrayList(CS3, CS1, CS3B, CS1, CS3));
+    test.normalize();
+    assertEquals(test.getSensitivities(), ImmutableList.of(CS1.withSensitivity(24d), CS3.withSensitivity(67d)));
+  }
+
+  public void test_normalize_empty() {
+    MutablePointSensitivities test = new MutablePointSensitivities();
+    test.normalize();
+    assertEquals(test.size(), 0);
+  }
+
   //-------------------------------------------------------------------------
   public void test_toImmutable() {
     MutablePointSensitivities test = new MutablePointSensitivities();
@@ -0,0 +1,216 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.differentiation;
+
+/**
+ * A double value recorded on an {@link AdjointTape}.
+ * <p>
+ * Each operation on an active double returns a new active double and records the operation,
+ * with its partial derivatives, on the tape of the operand.
+ * Operations between active doubles must use the same tape.
+ * <p>
+ * Instances are created by {@link AdjointTape#variable(double)} and {@link AdjointTape#constant(double)}.
+ */
+public final class ActiveDouble {
+
+  /**
+   * The tape.
+   */
+  private final AdjointTape tape;
+  /**
+   * The index of the node on the tape.
+   */
+  private final int index;
+  /**
+   * The value.
+   */
+  private final double value;
+
+  // creates an instance
+  ActiveDouble(AdjointTape tape, int index, double value) {
+    this.tape = tape;
+    this.index = index;
+    this.value = value;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the tape on which the value is recorded.
+   *
+   * @return the tape
+   */
+  public AdjointTape getTape() {
+    return tape;
+  }
+
+  /**
+   * Gets the index of the value on the tape.
+   *
+   * @return the index
+   */
+  public int getIndex() {
+    return index;
+  }
+
+  /**
+   * Gets the value.
+   *
+   * @return the value
+   */
+  public double getValue() {
+    return value;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the sum of this value and another.
+   *
+   * @param other  the other value
+   * @return the sum
+   */
+  public ActiveDouble plus(ActiveDouble other) {
+    return tape.record(value + other.value, this, 1d, other, 1d);
+  }
+
+  /**
+   * Returns the sum of this value and a constant.
+   *
+   * @param other  the constant
+   * @return the sum
+   */
+  public ActiveDouble plus(double other) {
+    return tape.record(value + other, this, 1d);
+  }
+
+  /**
+   * Returns the difference between this value and another.
+   *
+   * @param other  the other value
+   * @return the difference
+   */
+  public ActiveDouble minus(ActiveDouble other) {
+    return tape.record(value - other.value, this, 1d, other, -1d);
+  }
+
+  /**
+   * Returns the difference between this value and a constant.
+   *
+   * @param other  the constant
+   * @return the difference
+   */
+  public ActiveDouble minus(double other) {
+    return tape.record(value - other, this, 1d);
+  }
+
+  /**
+   * Returns the product of this value and another.
+   *
+   * @param other  the other value
+   * @return the product
+   */
+  public ActiveDouble multipliedBy(ActiveDouble other) {
+    return tape.record(value * other.value, this, other.value, other, value);
+  }
+
+  /**
+   * Returns the product of this value and a constant.
+   *
+   * @param other  the constant
+   * @return the product
+   */
+  public ActiveDouble multipliedBy(double other) {
+    return tape.record(value * other, this, other);
+  }
+
+  /**
+   * Returns the quotient of this value by another.
+   *
+   * @param other  the other value
+   * @return the quotient
+   */
+  public ActiveDouble dividedBy(ActiveDouble other) {
+    double inverse = 1d / other.value;
+    double result = value * inverse;
+    return tape.record(result, this, inverse, other, -result * inverse);
+  }
+
+  /**
+   * Returns the quotient of this value by a constant.
+   *
+   * @param other  the constant
+   * @return the quotient
+   */
+  public ActiveDouble dividedBy(double other) {
+    return tape.record(value / other, this, 1d / other);
+  }
+
+  /**
+   * Returns the negated value.
+   *
+   * @return the negated value
+   */
+  public ActiveDouble negated() {
+    return tape.record(-value, this, -1d);
+  }
+
+  /**
+   * Returns the inverse of this value.
+   *
+   * @return the inverse, one divided by the value
+   */
+  public ActiveDouble inverse() {
+    double result = 1d / value;
+    return tape.record(result, this, -result * result);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the exponential of this value.
+   *
+   * @return the exponential
+   */
+  public ActiveDouble exp() {
+    double result = Math.exp(value);
+    return tape.record(result, this, result);
+  }
+
+  /**
+   * Returns the natural logarithm of this value.
+   *
+   * @return the logarithm
+   */
+  public ActiveDouble log() {
+    return tape.record(Math.log(value), this, 1d / value);
+  }
+
+  /**
+   * Returns the square root of this value.
+   *
+   * @return the square root
+   */
+  public ActiveDouble sqrt() {
+    double result = Math.sqrt(value);
+    return tape.record(result, this, 0.5d / result);
+  }
+
+  /**
+   * Returns this value raised to a constant power.
+   *
+   * @param power  the power
+   * @return the value raised to the power
+   */
+  public ActiveDouble pow(double power) {
+    double result = Math.pow(value, power);
+    return tape.record(result, this, power * Math.pow(value, power - 1d));
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "ActiveDouble[" + value + "]";
+  }
+
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.differentiation;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Tape used for adjoint algorithmic differentiation (AAD).
+ * <p>
+ * The operations performed on {@link ActiveDouble} instances are recorded on the tape.
+ * Each operation has at most two arguments, and the tape stores the index of each argument
+ * and the partial derivative of the result with respect to that argument.
+ * The derivatives of an output with respect to all the inputs are then computed
+ * in one reverse sweep of the tape, at a cost that is a small multiple of the cost of the
+ * computation of the output, independently of the number of inputs.
+ * <p>
+ * The tape is stored in primitive arrays that grow as needed. The tape can be reused for another
+ * computation using {@link #reset()}, which keeps the arrays allocated.
+ * The active doubles created before a reset must not be used after it.
+ * <p>
+ * This is a mutable class that is not intended for use in multiple threads.
+ */
+public final class AdjointTape {
+
+  /**
+   * The index used for a missing argument.
+   */
+  private static final int NO_ARG = -1;
+
+  /**
+   * The value of each node.
+   */
+  private double[] values;
+  /**
+   * The index of the first argument of each node.
+   */
+  private int[] args1;
+  /**
+   * The index of the second argument of each node.
+   */
+  private int[] args2;
+  /**
+   * The partial derivative of each node with respect to its first argument.
+   */
+  private double[] partials1;
+  /**
+   * The partial derivative of each node with respect to its second argument.
+   */
+  private double[] partials2;
+  /**
+   * The adjoints, reused between reverse sweeps.
+   */
+  private double[] adjoints;
+  /**
+   * The number of nodes on the tape.
+   */
+  private int size;
+
+  /**
+   * Creates an empty tape.
+   */
+  public AdjointTape() {
+    this(64);
+  }
+
+  /**
+   * Creates an empty tape with the specified initial capacity.
+   *
+   * @param initialCapacity  the initial number of nodes that can be recorded without growing the tape
+   */
+  public AdjointTape(int initialCapacity) {
+    ArgChecker.notNegativeOrZero(initialCapacity, "initialCapacity");
+    this.values = new double[initialCapacity];
+    this.args1 = new int[initialCapacity];
+    this.args2 = new int[initialCapacity];
+    this.partials1 = new double[initialCapacity];
+    this.partials2 = new double[initialCapacity];
+    this.adjoints = new double[initialCapacity];
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of nodes recorded on the tape.
+   *
+   * @return the number of nodes
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Clears the tape so that it can be reused.
+   * <p>
+   * The memory allocated by the tape is kept.
+   */
+  public void reset() {
+    size = 0;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an input variable.
+   * <p>
+   * The derivatives of an output can be computed with respect to the input variables.
+   *
+   * @param value  the value of the variable
+   * @return the active variable
+   */
+  public ActiveDouble variable(double value) {
+    return record(value, NO_ARG, 0d, NO_ARG, 0d);
+  }
+
+  /**
+   * Creates a constant.
+   * <p>
+   * It is usually more efficient to use the operations taking a {@code double} argument directly.
+   *
+   * @param value  the value of the constant
+   * @return the active constant
+   */
+  public ActiveDouble constant(double value) {
+    return record(value, NO_ARG, 0d, NO_ARG, 0d);
+  }
+
+  // records a unary operation
+  ActiveDouble record(double value, ActiveDouble arg, double partial) {
+    return record(value, index(arg), partial, NO_ARG, 0d);
+  }
+
+  // records a binary operation
+  ActiveDouble record(double value, ActiveDouble arg1, double partial1, ActiveDouble arg2, double partial2) {
+    return record(value, index(arg1), partial1, index(arg2), partial2);
+  }
+
+  // checks the argument is on this tape
+  private int index(ActiveDouble arg) {
+    ArgChecker.isTrue(arg.getTape() == this, "Active double must be recorded on the same tape");
+    return arg.getIndex();
+  }
+
+  private ActiveDouble record(double value, int arg1, double partial1, int arg2, double partial2) {
+    if (size == values.length) {
+      int capacity = size * 2;
+      values = Arrays.copyOf(values, capacity);
+      args1 = Arrays.copyOf(args1, capacity);
+      args2 = Arrays.copyOf(args2, capacity);
+      partials1 = Arrays.copyOf(partials1, capacity);
+      partials2 = Arrays.copyOf(partials2, capacity);
+    }
+    values[size] = value;
+    args1[size] = arg1;
+    args2[size] = arg2;
+    partials1[size] = partial1;
+    partials2[size] = partial2;
+    return new ActiveDouble(this, size++, value);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the derivatives of an output with respect to the inputs.
+   * <p>
+   * This performs one reverse sweep of the tape, from the output to the start of the tape.
+   *
+   * @param output  the output
+   * @param inputs  the inputs
+   * @return the derivatives of the output with respect to each input, in the order of the inputs
+   */
+  public DoubleArray gradient(ActiveDouble output, List<ActiveDouble> inputs) {
+    ArgChecker.notNull(inputs, "inputs");
+    double[] adj = reverseSweep(output);
+    double[] result = new double[inputs.size()];
+    for (int i = 0; i < result.length; i++) {
+      int index = index(inputs.get(i));
+      result[i] = index <= output.getIndex() ? adj[index] : 0d;
+    }
+    return DoubleArray.ofUnsafe(result);
+  }
+
+  /**
+   * Computes the derivatives of an output with respect to the inputs.
+   * <p>
+   * This performs one reverse sweep of the tape, from the output to the start of the tape.
+   *
+   * @param output  the output
+   * @param inputs  the inputs
+   * @return the derivatives of the output with respect to each input, in the order of the inputs
+   */
+  public DoubleArray gradient(ActiveDouble output, ActiveDouble... inputs) {
+    return gradient(output, Arrays.asList(inputs));
+  }
+
+  // propagates the adjoints from the output to the start of the tape
+  private double[] reverseSweep(ActiveDouble output) {
+    int outputIndex = index(output);
+    if (adjoints.length < values.length) {
+      adjoints = new double[values.length];
+    }
+    Arrays.fill(adjoints, 0, outputIndex + 1, 0d);
+    adjoints[outputIndex] = 1d;
+    for (int i = outputIndex; i >= 0; i--) {
+      double adj = adjoints[i];
+      if (adj != 0d) {
+        if (args1[i] != NO_ARG) {
+          adjoints[args1[i]] += adj * partials1[i];
+        }
+        if (args2[i] != NO_ARG) {
+          adjoints[args2[i]] += adj * partials2[i];
+        }
+      }
+    }
+    return adjoints;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return new StringBuilder(32)
+        .append("AdjointTape{size=")
+        .append(size)
+        .append('}')
+        .toString();
+  }
+
+}
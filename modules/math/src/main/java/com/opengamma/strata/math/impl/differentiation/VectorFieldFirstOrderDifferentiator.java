@@ -5,9 +5,12 @@
  */
 package com.opengamma.strata.math.impl.differentiation;
 
+import java.util.concurrent.Executor;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.ParallelTasks;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.math.MathException;
@@ -21,6 +24,10 @@ import com.opengamma.strata.math.MathException;
  * produces the Jacobian function $\mathbf{J}(\mathbf{x})$, i.e. a function
  * that returns the Jacobian for each point $\mathbf{x}$, where
  * $\mathbf{J}$ is the $m \times n$ matrix $\frac{dy_i}{dx_j}$
+ * <p>
+ * If an executor is specified, the bumped evaluations of the function in the forward, central
+ * and backward cases are run using the executor. The function must then be thread-safe.
+ * The result does not depend on whether an executor is used.
  */
 public class VectorFieldFirstOrderDifferentiator
     implements Differentiator<DoubleArray, DoubleArray, DoubleMatrix> {
@@ -30,6 +37,7 @@ public class VectorFieldFirstOrderDifferentiator
   private final double eps;
   private final double twoEps;
   private final FiniteDifferenceType differenceType;
+  private final Executor executor;  // null means sequential evaluation
 
   /**
    * Creates an instance using the default value of eps (10<sup>-5</sup>) and central differencing type.
@@ -75,6 +83,26 @@ public class VectorFieldFirstOrderDifferentiator
     this.differenceType = differenceType;
     this.eps = eps;
     this.twoEps = 2 * eps;
+    this.executor = null;
+  }
+
+  /**
+   * Creates an instance that evaluates the bumped points using an executor.
+   * <p>
+   * Each bumped point is evaluated as a separate task of the executor.
+   * The function to be differentiated must be thread-safe.
+   * 
+   * @param differenceType  the differencing type to be used in calculating the gradient function
+   * @param eps  the step size used to approximate the derivative
+   * @param executor  the executor used to evaluate the bumped points
+   */
+  public VectorFieldFirstOrderDifferentiator(FiniteDifferenceType differenceType, double eps, Executor executor) {
+    ArgChecker.notNull(differenceType, "differenceType");
+    ArgChecker.notNull(executor, "executor");
+    this.differenceType = differenceType;
+    this.eps = eps;
+    this.twoEps = 2 * eps;
+    this.executor = executor;
   }
 
   //-------------------------------------------------------------------------
@@ -92,11 +120,10 @@ public class VectorFieldFirstOrderDifferentiator
             int n = x.size();
             int m = y.size();
             double[][] res = new double[m][n];
+            DoubleArray[] up = evaluate(function, n, j -> x.with(j, x.get(j) + eps));
             for (int j = 0; j < n; j++) {
-              double xj = x.get(j);
-              DoubleArray up = function.apply(x.with(j, xj + eps));
               for (int i = 0; i < m; i++) {
-                res[i][j] = (up.get(i) - y.get(i)) / eps;
+                res[i][j] = (up[j].get(i) - y.get(i)) / eps;
               }
             }
             return DoubleMatrix.copyOf(res);
@@ -112,10 +139,10 @@ public class VectorFieldFirstOrderDifferentiator
             int n = x.size();
             int m = y.size();
             double[][] res = new double[m][n];
+            DoubleArray[] upDown = evaluate(function, 2 * n, k -> x.with(k / 2, x.get(k / 2) + (k % 2 == 0 ? eps : -eps)));
             for (int j = 0; j < n; j++) {
-              double xj = x.get(j);
-              DoubleArray up = function.apply(x.with(j, xj + eps));
-              DoubleArray down = function.apply(x.with(j, xj - eps));
+              DoubleArray up = upDown[2 * j];
+              DoubleArray down = upDown[2 * j + 1];
               for (int i = 0; i < m; i++) {
                 res[i][j] = (up.get(i) - down.get(i)) / twoEps;
               }
@@ -133,11 +160,10 @@ public class VectorFieldFirstOrderDifferentiator
             int n = x.size();
             int m = y.size();
             double[][] res = new double[m][n];
+            DoubleArray[] down = evaluate(function, n, j -> x.with(j, x.get(j) - eps));
             for (int j = 0; j < n; j++) {
-              double xj = x.get(j);
-              DoubleArray down = function.apply(x.with(j, xj - eps));
               for (int i = 0; i < m; i++) {
-                res[i][j] = (y.get(i) - down.get(i)) / eps;
+                res[i][j] = (y.get(i) - down[j].get(i)) / eps;
               }
             }
             return DoubleMatrix.copyOf(res);
@@ -216,4 +242,10 @@ public class VectorFieldFirstOrderDifferentiator
     };
   }
 
+  //-------------------------------------------------------------------------
+  // evaluates the function at each point, using the executor if available
+  private DoubleArray[] evaluate(Function<DoubleArray, DoubleArray> function, int n, IntFunction<DoubleArray> pointFn) {
+    return ParallelTasks.evaluate(n, k -> function.apply(pointFn.apply(k)), executor).toArray(new DoubleArray[n]);
+  }
+
 }
@@ -0,0 +1,477 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import java.util.Arrays;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.array.Matrix;
+import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
+
+/**
+ * A square matrix partitioned into blocks, where only the non-zero blocks are stored.
+ * <p>
+ * The rows and columns are split using the same partition, defined by the block sizes.
+ * Block (i, j) covers the rows of partition i and the columns of partition j.
+ * A zero block is not stored and is skipped in all operations.
+ * <p>
+ * This is intended for matrices such as curve calibration Jacobians, where the
+ * partition is the curve order and most cross-curve blocks are zero.
+ * When the matrix is block lower-triangular, the inverse is computed by block forward
+ * substitution, only inverting the diagonal blocks.
+ * <p>
+ * This class is immutable and thread-safe. Instances with chosen blocks are created using {@link #builder(int...)}.
+ */
+public final class BlockSparseMatrix implements Matrix {
+
+  /**
+   * The size of each block.
+   */
+  private final int[] blockSizes;
+  /**
+   * The start index of each block.
+   */
+  private final int[] blockStarts;
+  /**
+   * The total size of the matrix.
+   */
+  private final int size;
+  /**
+   * The blocks, null where the block is zero.
+   */
+  private final DoubleMatrix[][] blocks;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates a builder, where all the blocks are initially zero.
+   *
+   * @param blockSizes  the size of each block
+   * @return the builder
+   */
+  public static Builder builder(int... blockSizes) {
+    return new Builder(blockSizes);
+  }
+
+  /**
+   * Creates an instance from a dense matrix, detecting the zero blocks.
+   *
+   * @param matrix  the dense square matrix
+   * @param blockSizes  the size of each block, summing to the size of the matrix
+   * @return the matrix
+   */
+  public static BlockSparseMatrix ofDense(DoubleMatrix matrix, int... blockSizes) {
+    ArgChecker.notNull(matrix, "matrix");
+    Builder builder = new Builder(blockSizes);
+    ArgChecker.isTrue(matrix.rowCount() == builder.size, "Matrix row count must match the block sizes");
+    ArgChecker.isTrue(matrix.columnCount() == builder.size, "Matrix column count must match the block sizes");
+    return builder.setFromDense(matrix, 0, 0).build();
+  }
+
+  /**
+   * Creates an instance from a square region of a dense matrix, detecting the zero blocks.
+   * <p>
+   * The region starts at the specified row and column, and its size is the sum of the block sizes.
+   * This avoids copying the region into a separate dense matrix.
+   *
+   * @param matrix  the dense matrix
+   * @param rowStart  the row index at which the region starts
+   * @param columnStart  the column index at which the region starts
+   * @param blockSizes  the size of each block
+   * @return the matrix
+   */
+  public static BlockSparseMatrix ofSubMatrix(DoubleMatrix matrix, int rowStart, int columnStart, int... blockSizes) {
+    ArgChecker.notNull(matrix, "matrix");
+    Builder builder = new Builder(blockSizes);
+    ArgChecker.isTrue(rowStart >= 0 && rowStart + builder.size <= matrix.rowCount(),
+        "Region rows must be within the matrix");
+    ArgChecker.isTrue(columnStart >= 0 && columnStart + builder.size <= matrix.columnCount(),
+        "Region columns must be within the matrix");
+    return builder.setFromDense(matrix, rowStart, columnStart).build();
+  }
+
+  // checks if a block of the dense array is zero
+  private static boolean isZero(double[][] data, int rowStart, int rowCount, int colStart, int colCount) {
+    for (int k = rowStart; k < rowStart + rowCount; k++) {
+      double[] row = data[k];
+      for (int l = colStart; l < colStart + colCount; l++) {
+        if (row[l] != 0d) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  // computes the start index of each block
+  private static int[] blockStarts(int[] blockSizes) {
+    ArgChecker.notNull(blockSizes, "blockSizes");
+    int[] starts = new int[blockSizes.length];
+    int total = 0;
+    for (int i = 0; i < blockSizes.length; i++) {
+      ArgChecker.isTrue(blockSizes[i] > 0, "Block sizes must be positive");
+      starts[i] = total;
+      total += blockSizes[i];
+    }
+    return starts;
+  }
+
+  // restricted constructor
+  private BlockSparseMatrix(int[] blockSizes, int[] blockStarts, int size, DoubleMatrix[][] blocks) {
+    this.blockSizes = blockSizes;
+    this.blockStarts = blockStarts;
+    this.size = size;
+    this.blocks = blocks;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public int dimensions() {
+    return 2;
+  }
+
+  @Override
+  public int size() {
+    return size * size;
+  }
+
+  /**
+   * Gets the number of rows, which is also the number of columns.
+   *
+   * @return the number of rows
+   */
+  public int rowCount() {
+    return size;
+  }
+
+  /**
+   * Gets the number of blocks in each dimension.
+   *
+   * @return the number of blocks
+   */
+  public int blockCount() {
+    return blockSizes.length;
+  }
+
+  /**
+   * Gets the size of a block.
+   *
+   * @param index  the block index
+   * @return the size of the block
+   */
+  public int blockSize(int index) {
+    return blockSizes[index];
+  }
+
+  /**
+   * Gets the start index of a block.
+   *
+   * @param index  the block index
+   * @return the row, or column, index at which the block starts
+   */
+  public int blockStart(int index) {
+    return blockStarts[index];
+  }
+
+  /**
+   * Checks if the specified block is zero.
+   *
+   * @param row  the block row index
+   * @param column  the block column index
+   * @return true if the block is zero
+   */
+  public boolean isZeroBlock(int row, int column) {
+    return blocks[row][column] == null;
+  }
+
+  /**
+   * Gets the specified block.
+   *
+   * @param row  the block row index
+   * @param column  the block column index
+   * @return the block, filled with zero if the block is zero
+   */
+  public DoubleMatrix getBlock(int row, int column) {
+    DoubleMatrix block = blocks[row][column];
+    if (block == null) {
+      return DoubleMatrix.filled(blockSizes[row], blockSizes[column]);
+    }
+    return block;
+  }
+
+  /**
+   * Checks if the matrix is block lower-triangular.
+   * <p>
+   * This is true when all the blocks above the diagonal are zero.
+   *
+   * @return true if the matrix is block lower-triangular
+   */
+  public boolean isBlockLowerTriangular() {
+    for (int i = 0; i < blockSizes.length; i++) {
+      for (int j = i + 1; j < blockSizes.length; j++) {
+        if (blocks[i][j] != null) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Converts this matrix to a dense matrix.
+   *
+   * @return the dense matrix
+   */
+  public DoubleMatrix toDense() {
+    double[][] result = new double[size][size];
+    for (int i = 0; i < blockSizes.length; i++) {
+      for (int j = 0; j < blockSizes.length; j++) {
+        DoubleMatrix block = blocks[i][j];
+        if (block != null) {
+          for (int k = 0; k < blockSizes[i]; k++) {
+            System.arraycopy(block.rowArray(k), 0, result[blockStarts[i] + k], blockStarts[j], blockSizes[j]);
+          }
+        }
+      }
+    }
+    return DoubleMatrix.ofUnsafe(result);
+  }
+
+  /**
+   * Multiplies a dense matrix on the left of this matrix.
+   * <p>
+   * This returns {@code matrix * this}, skipping the zero blocks.
+   * The cost is proportional to the number of non-zero blocks rather than to the square of the size.
+   *
+   * @param matrix  the dense matrix, with a column count equal to the size of this matrix
+   * @return the product
+   */
+  public DoubleMatrix leftMultiply(DoubleMatrix matrix) {
+    ArgChecker.notNull(matrix, "matrix");
+    ArgChecker.isTrue(matrix.columnCount() == size, "Matrix column count must match the size of the block matrix");
+    double[][] left = matrix.toArrayUnsafe();
+    int nbRows = matrix.rowCount();
+    double[][] result = new double[nbRows][size];
+    for (int i = 0; i < blockSizes.length; i++) {
+      for (int j = 0; j < blockSizes.length; j++) {
+        DoubleMatrix block = blocks[i][j];
+        if (block != null) {
+          multiplyAdd(left, blockStarts[i], block.toArrayUnsafe(), result, blockStarts[j]);
+        }
+      }
+    }
+    return DoubleMatrix.ofUnsafe(result);
+  }
+
+  /**
+   * Multiplies a dense matrix on the right of this matrix.
+   * <p>
+   * This returns {@code this * matrix}, skipping the zero blocks.
+   * The cost is proportional to the number of non-zero blocks rather than to the square of the size.
+   *
+   * @param matrix  the dense matrix, with a row count equal to the size of this matrix
+   * @return the product
+   */
+  public DoubleMatrix multiply(DoubleMatrix matrix) {
+    ArgChecker.notNull(matrix, "matrix");
+    ArgChecker.isTrue(matrix.rowCount() == size, "Matrix row count must match the size of the block matrix");
+    double[][] right = matrix.toArrayUnsafe();
+    int nbColumns = matrix.columnCount();
+    double[][] result = new double[size][nbColumns];
+    for (int i = 0; i < blockSizes.length; i++) {
+      for (int j = 0; j < blockSizes.length; j++) {
+        DoubleMatrix block = blocks[i][j];
+        if (block != null) {
+          double[][] blockArray = block.toArrayUnsafe();
+          for (int r = 0; r < blockSizes[i]; r++) {
+            double[] blockRow = blockArray[r];
+            double[] resultRow = result[blockStarts[i] + r];
+            for (int k = 0; k < blockSizes[j]; k++) {
+              double factor = blockRow[k];
+              if (factor != 0d) {
+                double[] rightRow = right[blockStarts[j] + k];
+                for (int c = 0; c < nbColumns; c++) {
+                  resultRow[c] += factor * rightRow[c];
+                }
+              }
+            }
+          }
+        }
+      }
+    }
+    return DoubleMatrix.ofUnsafe(result);
+  }
+
+  // result[:, resultStart...] += left[:, leftStart...] * block
+  private static void multiplyAdd(
+      double[][] left,
+      int leftStart,
+      double[][] block,
+      double[][] result,
+      int resultStart) {
+
+    int inner = block.length;
+    int nbColumns = inner == 0 ? 0 : block[0].length;
+    for (int r = 0; r < left.length; r++) {
+      double[] leftRow = left[r];
+      double[] resultRow = result[r];
+      for (int k = 0; k < inner; k++) {
+        double factor = leftRow[leftStart + k];
+        if (factor != 0d) {
+          double[] blockRow = block[k];
+          for (int c = 0; c < nbColumns; c++) {
+            resultRow[resultStart + c] += factor * blockRow[c];
+          }
+        }
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the inverse of this matrix.
+   * <p>
+   * When the matrix is block lower-triangular, only the diagonal blocks are inverted,
+   * using the specified algebra, and the off-diagonal blocks of the inverse are computed by
+   * block forward substitution. Otherwise, the dense matrix is inverted using the algebra.
+   *
+   * @param algebra  the matrix algebra used to invert the diagonal blocks, or the full matrix
+   * @return the inverse, as a block matrix with the same partition
+   */
+  public BlockSparseMatrix inverse(MatrixAlgebra algebra) {
+    ArgChecker.notNull(algebra, "algebra");
+    if (!isBlockLowerTriangular()) {
+      return ofDense(algebra.getInverse(toDense()), blockSizes);
+    }
+    int nbBlocks = blockSizes.length;
+    DoubleMatrix[][] inverse = new DoubleMatrix[nbBlocks][nbBlocks];
+    for (int i = 0; i < nbBlocks; i++) {
+      inverse[i][i] = algebra.getInverse(getBlock(i, i));
+    }
+    // X(i,j) = - D(i)^-1 * sum_{k=j}^{i-1} L(i,k) X(k,j), for j < i
+    for (int j = 0; j < nbBlocks; j++) {
+      for (int i = j + 1; i < nbBlocks; i++) {
+        double[][] sum = null;
+        for (int k = j; k < i; k++) {
+          if (blocks[i][k] != null && inverse[k][j] != null) {
+            if (sum == null) {
+              sum = new double[blockSizes[i]][blockSizes[j]];
+            }
+            multiplyAdd(blocks[i][k].toArrayUnsafe(), 0, inverse[k][j].toArrayUnsafe(), sum, 0);
+          }
+        }
+        if (sum != null) {
+          double[][] block = new double[blockSizes[i]][blockSizes[j]];
+          multiplyAdd(inverse[i][i].toArrayUnsafe(), 0, sum, block, 0);
+          for (double[] row : block) {
+            for (int c = 0; c < row.length; c++) {
+              row[c] = -row[c];
+            }
+          }
+          inverse[i][j] = DoubleMatrix.ofUnsafe(block);
+        }
+      }
+    }
+    return new BlockSparseMatrix(blockSizes, blockStarts, size, inverse);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "BlockSparseMatrix[size=" + size + ", blocks=" + Arrays.toString(blockSizes) + "]";
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Builder for a block sparse matrix.
+   * <p>
+   * All the blocks are initially zero, and the non-zero blocks are set before building.
+   */
+  public static final class Builder {
+
+    /**
+     * The size of each block.
+     */
+    private final int[] blockSizes;
+    /**
+     * The start index of each block.
+     */
+    private final int[] blockStarts;
+    /**
+     * The total size of the matrix.
+     */
+    private final int size;
+    /**
+     * The blocks, null where the block is zero.
+     */
+    private final DoubleMatrix[][] blocks;
+
+    // restricted constructor
+    private Builder(int[] blockSizes) {
+      this.blockStarts = blockStarts(blockSizes);
+      this.blockSizes = blockSizes.clone();
+      int nbBlocks = blockSizes.length;
+      this.size = nbBlocks == 0 ? 0 : blockStarts[nbBlocks - 1] + blockSizes[nbBlocks - 1];
+      this.blocks = new DoubleMatrix[nbBlocks][nbBlocks];
+    }
+
+    /**
+     * Sets the specified block.
+     * <p>
+     * Setting a null block marks the block as zero.
+     *
+     * @param row  the block row index
+     * @param column  the block column index
+     * @param block  the block, null for a zero block
+     * @return this builder
+     */
+    public Builder set(int row, int column, DoubleMatrix block) {
+      if (block != null) {
+        ArgChecker.isTrue(block.rowCount() == blockSizes[row], "Block row count must match the block size");
+        ArgChecker.isTrue(block.columnCount() == blockSizes[column], "Block column count must match the block size");
+      }
+      blocks[row][column] = block;
+      return this;
+    }
+
+    // sets the non-zero blocks from the square region of the dense matrix
+    private Builder setFromDense(DoubleMatrix matrix, int rowStart, int columnStart) {
+      double[][] data = matrix.toArrayUnsafe();
+      for (int i = 0; i < blockSizes.length; i++) {
+        int blockRowStart = rowStart + blockStarts[i];
+        for (int j = 0; j < blockSizes.length; j++) {
+          int blockColumnStart = columnStart + blockStarts[j];
+          if (!isZero(data, blockRowStart, blockSizes[i], blockColumnStart, blockSizes[j])) {
+            double[][] block = new double[blockSizes[i]][];
+            for (int k = 0; k < blockSizes[i]; k++) {
+              block[k] = Arrays.copyOfRange(
+                  data[blockRowStart + k], blockColumnStart, blockColumnStart + blockSizes[j]);
+            }
+            blocks[i][j] = DoubleMatrix.ofUnsafe(block);
+          }
+        }
+      }
+      return this;
+    }
+
+    /**
+     * Builds the matrix.
+     * <p>
+     * The builder may be used again afterwards, without altering the matrix built.
+     *
+     * @return the matrix
+     */
+    public BlockSparseMatrix build() {
+      DoubleMatrix[][] copy = new DoubleMatrix[blocks.length][];
+      for (int i = 0; i < blocks.length; i++) {
+        copy[i] = blocks[i].clone();
+      }
+      return new BlockSparseMatrix(blockSizes, blockStarts, size, copy);
+    }
+  }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import org.apache.commons.math3.random.SobolSequenceGenerator;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
+
+/**
+ * Quasi-random generator of standard normal random numbers based on the Sobol sequence.
+ * <p>
+ * The draw {@code i} is the point {@code i + 1} of the Sobol sequence in the dimension of the draw,
+ * mapped to normal numbers by the inverse cumulative distribution function.
+ * The first point of the sequence, the origin, is skipped as it has no normal equivalent.
+ * <p>
+ * The direction numbers of the sequence are extracted once, in the maximum dimension of the generator.
+ * Each block then derives its first point from the index of its first draw, using the Gray code of the index,
+ * and the following points incrementally. Any point of the sequence is thus obtained directly, and the random
+ * numbers of a draw do not depend on the block in which it is generated. A draw of a lower dimension is made
+ * of the first coordinates of the point, which are the same as those of the Sobol sequence in that dimension.
+ * The points are those of {@link SobolSequenceGenerator}.
+ * <p>
+ * This class is immutable and thread-safe, the blocks hold no shared state and are not locked.
+ */
+public final class SobolNormalGenerator
+    implements SplittableNormalRandomNumberGenerator {
+
+  /**
+   * The maximum dimension of the Sobol sequence.
+   */
+  private static final int MAX_DIMENSION = 1000;
+  /**
+   * The number of bits of the index of a point, the index being limited to the positive int range.
+   */
+  private static final int INDEX_BITS = 31;
+  /**
+   * The scale of the direction numbers, the coordinates having 52 bits.
+   */
+  private static final double SCALE = 1L << 52;
+
+  /**
+   * The maximum dimension of the draws.
+   */
+  private final int maxDimension;
+  /**
+   * The direction numbers, by bit of the Gray code of the index and then by dimension.
+   */
+  private final long[][] directions;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance generating draws up to the specified dimension.
+   * <p>
+   * The dimension is limited to 1000. The direction numbers are extracted when the generator is created,
+   * with a cost proportional to the maximum dimension, thus the generator should be reused.
+   *
+   * @param maxDimension  the maximum dimension of the draws
+   * @return the generator
+   */
+  public static SobolNormalGenerator of(int maxDimension) {
+    ArgChecker.inRangeInclusive(maxDimension, 1, MAX_DIMENSION, "maxDimension");
+    return new SobolNormalGenerator(maxDimension);
+  }
+
+  // restricted constructor
+  private SobolNormalGenerator(int maxDimension) {
+    this.maxDimension = maxDimension;
+    this.directions = directions(maxDimension);
+  }
+
+  // extracts the direction numbers from the sequence
+  // the point of index 2^(k+1) - 1 has the single bit k in its Gray code, thus is the direction number of that bit
+  private static long[][] directions(int maxDimension) {
+    SobolSequenceGenerator sequence = new SobolSequenceGenerator(maxDimension);
+    long[][] directions = new long[INDEX_BITS][maxDimension];
+    for (int k = 0; k < INDEX_BITS; k++) {
+      double[] point = sequence.skipTo((int) ((1L << (k + 1)) - 1));
+      for (int j = 0; j < maxDimension; j++) {
+        directions[k][j] = (long) (point[j] * SCALE);
+      }
+    }
+    return directions;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the maximum dimension of the draws.
+   *
+   * @return the maximum dimension
+   */
+  public int getMaxDimension() {
+    return maxDimension;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void fill(long firstDraw, int drawCount, int dimension, double[] result) {
+    ArgChecker.notNegative(firstDraw, "firstDraw");
+    ArgChecker.notNegative(drawCount, "drawCount");
+    ArgChecker.notNegativeOrZero(dimension, "dimension");
+    ArgChecker.isTrue(dimension <= maxDimension, "dimension must not exceed {}", maxDimension);
+    ArgChecker.isTrue(result.length >= (long) drawCount * dimension, "result array too small");
+    ArgChecker.isTrue(
+        firstDraw + drawCount < Integer.MAX_VALUE, "Sobol sequence limited to {} points", Integer.MAX_VALUE);
+    if (drawCount == 0) {
+      return;
+    }
+    // skip ahead to the first point, whose coordinates are combined from the bits of the Gray code of its index
+    int index = (int) firstDraw + 1;
+    int grayCode = index ^ (index >>> 1);
+    long[] point = new long[dimension];
+    for (int k = 0; k < INDEX_BITS; k++) {
+      if ((grayCode & (1 << k)) != 0) {
+        long[] direction = directions[k];
+        for (int j = 0; j < dimension; j++) {
+          point[j] ^= direction[j];
+        }
+      }
+    }
+    for (int i = 0; i < drawCount; i++) {
+      if (i > 0) {
+        // the Gray code of the next index differs by the bit of the trailing zeros of that index
+        long[] direction = directions[Integer.numberOfTrailingZeros(index + i)];
+        for (int j = 0; j < dimension; j++) {
+          point[j] ^= direction[j];
+        }
+      }
+      for (int j = 0; j < dimension; j++) {
+        result[i * dimension + j] = NormalDistribution.standardInverseCdf(point[j] / SCALE);
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "SobolNormalGenerator[" + maxDimension + "]";
+  }
+
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+/**
+ * Generator of standard normal random numbers split in independent and reproducible blocks.
+ * <p>
+ * The random numbers are organised in draws, each draw being a vector of a given dimension.
+ * A block is a range of consecutive draws, and its random numbers only depend on the generator and the range.
+ * Blocks can thus be generated concurrently on different threads, with results independent of the threading.
+ * <p>
+ * Implementations must be immutable and thread-safe.
+ */
+public interface SplittableNormalRandomNumberGenerator {
+
+  /**
+   * Fills an array with the random numbers of a block of draws.
+   * <p>
+   * The element {@code i * dimension + j} of the array is set to the {@code j}-th random number
+   * of the draw {@code firstDraw + i}.
+   * 
+   * @param firstDraw  the index of the first draw of the block
+   * @param drawCount  the number of draws in the block
+   * @param dimension  the dimension of each draw, one or more
+   * @param result  the array to fill, of size at least {@code drawCount * dimension}
+   * @throws IllegalArgumentException if the arguments are invalid or the array is too small
+   */
+  public abstract void fill(long firstDraw, int drawCount, int dimension, double[] result);
+
+}
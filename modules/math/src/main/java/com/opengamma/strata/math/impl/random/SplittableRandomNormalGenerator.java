@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import java.util.SplittableRandom;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
+
+/**
+ * Pseudo-random generator of standard normal random numbers split in independent blocks.
+ * <p>
+ * Each block is generated by a {@link SplittableRandom} whose 64-bit seed is derived from the seed
+ * of the generator and the first draw of the block. The uniform numbers are mapped to normal numbers
+ * by the inverse cumulative distribution function.
+ * <p>
+ * The random numbers of a block depend on the first draw and the number of draws of the block.
+ * Thus the results are reproducible if the draws are always split in the same blocks,
+ * whatever the order or the threads in which the blocks are generated.
+ */
+public final class SplittableRandomNormalGenerator
+    implements SplittableNormalRandomNumberGenerator {
+
+  /**
+   * The multiplier of the first draw in the seed of a block, the 64-bit golden ratio.
+   */
+  private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+  /**
+   * The scaling of 53-bit integers to the unit interval.
+   */
+  private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+  /**
+   * The seed.
+   */
+  private final long seed;
+
+  /**
+   * Creates an instance.
+   * 
+   * @param seed  the seed
+   */
+  public SplittableRandomNormalGenerator(long seed) {
+    this.seed = seed;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void fill(long firstDraw, int drawCount, int dimension, double[] result) {
+    ArgChecker.notNegative(firstDraw, "firstDraw");
+    ArgChecker.notNegative(drawCount, "drawCount");
+    ArgChecker.notNegativeOrZero(dimension, "dimension");
+    ArgChecker.isTrue(result.length >= (long) drawCount * dimension, "result array too small");
+    int size = drawCount * dimension;
+    SplittableRandom random = new SplittableRandom(mix(seed + GOLDEN_GAMMA * (firstDraw + 1)));
+    for (int i = 0; i < size; i++) {
+      // uniform in the open interval (0,1), as required by the inverse cumulative distribution
+      double uniform = ((random.nextLong() >>> 11) + 0.5d) * DOUBLE_UNIT;
+      result[i] = NormalDistribution.standardInverseCdf(uniform);
+    }
+  }
+
+  // the 64-bit mixing function of SplitMix64, decorrelating the seeds of consecutive blocks
+  private static long mix(long value) {
+    long z = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+
+}
@@ -26,6 +26,7 @@ import com.opengamma.strata.math.impl.cern.RandomEngine;
 public class NormalDistribution implements ProbabilityDistribution<Double> {
 
   private static final double ROOT2 = Math.sqrt(2);
+  private static final double SQRT_INV_2PI = 1.0 / Math.sqrt(2.0 * Math.PI);
 
   // TODO need a better seed
   private final double _mean;
@@ -53,6 +54,48 @@ public class NormalDistribution implements ProbabilityDistribution<Double> {
     _normal = new Normal(mean, standardDeviation, randomEngine);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the cumulative distribution function of the standard normal distribution.
+   * <p>
+   * This returns the same value as {@link #getCDF(Double)} for the distribution with mean 0
+   * and standard deviation 1, without boxing the argument.
+   *
+   * @param x  the value
+   * @return the cumulative probability
+   */
+  public static double standardCdf(double x) {
+    return DERFC.getErfc(-x / ROOT2) / 2;
+  }
+
+  /**
+   * Computes the probability density function of the standard normal distribution.
+   * <p>
+   * This returns the same value as {@link #getPDF(Double)} for the distribution with mean 0
+   * and standard deviation 1, within rounding, without boxing the argument.
+   *
+   * @param x  the value
+   * @return the probability density
+   */
+  public static double standardPdf(double x) {
+    return SQRT_INV_2PI * Math.exp(-(x * x) / 2.0);
+  }
+
+  /**
+   * Computes the inverse cumulative distribution function of the standard normal distribution.
+   * <p>
+   * This returns the same value as {@link #getInverseCDF(Double)} for the distribution with mean 0
+   * and standard deviation 1, without boxing the argument.
+   *
+   * @param p  the probability, strictly between 0 and 1
+   * @return the value
+   */
+  public static double standardInverseCdf(double p) {
+    ArgChecker.isTrue(p > 0 && p < 1, "Probability must be > 0 and < 1");
+    return Probability.normalInverse(p);
+  }
+
+  //-------------------------------------------------------------------------
   /**
    * {@inheritDoc}
    */
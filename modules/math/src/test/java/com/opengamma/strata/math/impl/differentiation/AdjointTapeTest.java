@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.differentiation;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import java.util.function.Function;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+
+/**
+ * Test {@link AdjointTape} and {@link ActiveDouble}.
+ */
+@Test
+public class AdjointTapeTest {
+
+  private static final double TOL = 1e-12;
+  private static final double TOL_FD = 1e-7;
+
+  // f(x, y, z) = exp(-x * y) * sqrt(z) / (1 + x) + log(y) * z^1.5 - (x - y) * 2
+  private static double function(double x, double y, double z) {
+    return Math.exp(-x * y) * Math.sqrt(z) / (1 + x) + Math.log(y) * Math.pow(z, 1.5) - (x - y) * 2;
+  }
+
+  private static ActiveDouble function(ActiveDouble x, ActiveDouble y, ActiveDouble z) {
+    return x.multipliedBy(y).negated().exp().multipliedBy(z.sqrt()).dividedBy(x.plus(1d))
+        .plus(y.log().multipliedBy(z.pow(1.5)))
+        .minus(x.minus(y).multipliedBy(2d));
+  }
+
+  public void test_gradient() {
+    AdjointTape tape = new AdjointTape(2);
+    ActiveDouble x = tape.variable(0.3);
+    ActiveDouble y = tape.variable(1.7);
+    ActiveDouble z = tape.variable(2.2);
+    ActiveDouble f = function(x, y, z);
+    assertEquals(f.getValue(), function(0.3, 1.7, 2.2), TOL);
+    DoubleArray computed = tape.gradient(f, x, y, z);
+    Function<DoubleArray, DoubleArray> fn = p -> DoubleArray.of(function(p.get(0), p.get(1), p.get(2)));
+    DoubleMatrix expected = new VectorFieldFirstOrderDifferentiator().differentiate(fn).apply(DoubleArray.of(0.3, 1.7, 2.2));
+    for (int i = 0; i < 3; i++) {
+      assertEquals(computed.get(i), expected.get(0, i), TOL_FD);
+    }
+  }
+
+  public void test_gradient_intermediateOutput() {
+    AdjointTape tape = new AdjointTape();
+    ActiveDouble x = tape.variable(2d);
+    ActiveDouble y = tape.variable(3d);
+    ActiveDouble product = x.multipliedBy(y);
+    ActiveDouble later = tape.variable(5d);
+    ActiveDouble total = product.plus(later.inverse());
+    assertEquals(tape.gradient(product, x, y, later), DoubleArray.of(3d, 2d, 0d));
+    assertEquals(tape.gradient(total, x, y, later).get(2), -1d / 25d, TOL);
+  }
+
+  public void test_reset() {
+    AdjointTape tape = new AdjointTape();
+    ActiveDouble x = tape.variable(2d);
+    x.multipliedBy(x).plus(tape.constant(1d));
+    assertEquals(tape.size(), 4);
+    tape.reset();
+    assertEquals(tape.size(), 0);
+    ActiveDouble a = tape.variable(4d);
+    ActiveDouble b = a.dividedBy(2d).minus(1d).multipliedBy(a);
+    assertEquals(b.getValue(), 4d, TOL);
+    assertEquals(tape.gradient(b, a).get(0), 3d, TOL);
+  }
+
+  public void test_differentTapes() {
+    ActiveDouble x = new AdjointTape().variable(1d);
+    ActiveDouble y = new AdjointTape().variable(1d);
+    assertThrowsIllegalArg(() -> x.plus(y));
+    assertThrowsIllegalArg(() -> new AdjointTape(0));
+  }
+
+}
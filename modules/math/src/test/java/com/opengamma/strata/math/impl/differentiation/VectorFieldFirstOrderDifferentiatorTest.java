@@ -7,6 +7,8 @@ package com.opengamma.strata.math.impl.differentiation;
 
 import static org.testng.AssertJUnit.assertEquals;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Function;
 
 import org.testng.annotations.Test;
@@ -140,6 +142,21 @@ public class VectorFieldFirstOrderDifferentiatorTest {
     }
   }
 
+  @Test
+  public void testExecutor() {
+    final DoubleArray x = DoubleArray.of(1.3423, 0.235);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      for (FiniteDifferenceType type : FiniteDifferenceType.values()) {
+        VectorFieldFirstOrderDifferentiator sequential = new VectorFieldFirstOrderDifferentiator(type, EPS);
+        VectorFieldFirstOrderDifferentiator parallel = new VectorFieldFirstOrderDifferentiator(type, EPS, executor);
+        assertEquals(parallel.differentiate(F2).apply(x), sequential.differentiate(F2).apply(x));
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   @Test(expectedExceptions = IllegalArgumentException.class)
   public void outsideDomainTest() {
     final Function<DoubleArray, DoubleMatrix> fdJacFunc = CENTRAL.differentiate(F2, DOMAIN);
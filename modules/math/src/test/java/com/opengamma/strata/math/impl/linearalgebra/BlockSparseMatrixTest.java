@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.math.impl.util.AssertMatrix.assertEqualsMatrix;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.math.impl.matrix.CommonsMatrixAlgebra;
+import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
+
+/**
+ * Test {@link BlockSparseMatrix}.
+ */
+@Test
+public class BlockSparseMatrixTest {
+
+  private static final MatrixAlgebra ALGEBRA = new CommonsMatrixAlgebra();
+  private static final double TOL = 1e-12;
+  private static final DoubleMatrix LOWER = DoubleMatrix.copyOf(new double[][] {
+      {2.0, 0.5, 0.0, 0.0, 0.0},
+      {0.3, 1.5, 0.0, 0.0, 0.0},
+      {0.1, 0.2, 3.0, 0.0, 0.0},
+      {0.0, 0.0, 0.4, 1.0, 0.2},
+      {0.7, 0.0, 0.1, 0.3, 2.5}});
+  private static final DoubleMatrix FULL = DoubleMatrix.copyOf(new double[][] {
+      {2.0, 0.5, 0.0, 0.1, 0.0},
+      {0.3, 1.5, 0.0, 0.0, 0.0},
+      {0.1, 0.2, 3.0, 0.0, 0.0},
+      {0.0, 0.0, 0.4, 1.0, 0.2},
+      {0.7, 0.0, 0.1, 0.3, 2.5}});
+
+  public void test_ofDense() {
+    BlockSparseMatrix test = BlockSparseMatrix.ofDense(LOWER, 2, 1, 2);
+    assertEquals(test.dimensions(), 2);
+    assertEquals(test.size(), 25);
+    assertEquals(test.rowCount(), 5);
+    assertEquals(test.blockCount(), 3);
+    assertEquals(test.blockSize(2), 2);
+    assertEquals(test.blockStart(2), 3);
+    assertFalse(test.isZeroBlock(0, 0));
+    assertTrue(test.isZeroBlock(0, 1));
+    assertTrue(test.isZeroBlock(0, 2));
+    assertFalse(test.isZeroBlock(2, 0));
+    assertTrue(test.isBlockLowerTriangular());
+    assertEquals(test.getBlock(1, 0), DoubleMatrix.of(1, 2, 0.1, 0.2));
+    assertEquals(test.getBlock(0, 2), DoubleMatrix.filled(2, 2));
+    assertEquals(test.toDense(), LOWER);
+    assertFalse(BlockSparseMatrix.ofDense(FULL, 2, 1, 2).isBlockLowerTriangular());
+  }
+
+  public void test_ofDense_wrongSize() {
+    assertThrowsIllegalArg(() -> BlockSparseMatrix.ofDense(LOWER, 2, 2));
+    assertThrowsIllegalArg(() -> BlockSparseMatrix.ofDense(LOWER, 2, 0, 3));
+  }
+
+  public void test_ofSubMatrix() {
+    DoubleMatrix larger = DoubleMatrix.of(7, 6, (i, j) -> i >= 2 && j >= 1 ? LOWER.get(i - 2, j - 1) : 9d);
+    BlockSparseMatrix test = BlockSparseMatrix.ofSubMatrix(larger, 2, 1, 2, 1, 2);
+    assertEquals(test.toDense(), LOWER);
+    assertTrue(test.isZeroBlock(0, 1));
+    assertTrue(test.isBlockLowerTriangular());
+    assertThrowsIllegalArg(() -> BlockSparseMatrix.ofSubMatrix(larger, 3, 1, 2, 1, 2));
+    assertThrowsIllegalArg(() -> BlockSparseMatrix.ofSubMatrix(larger, 2, 2, 2, 1, 2));
+  }
+
+  public void test_builder() {
+    BlockSparseMatrix.Builder builder = BlockSparseMatrix.builder(2, 1);
+    DoubleMatrix block = DoubleMatrix.of(1, 2, 1d, 2d);
+    BlockSparseMatrix test = builder.set(1, 0, block).build();
+    assertSame(test.getBlock(1, 0), block);
+    assertEquals(test.toDense(), DoubleMatrix.copyOf(new double[][] {{0, 0, 0}, {0, 0, 0}, {1, 2, 0}}));
+    assertThrowsIllegalArg(() -> builder.set(0, 0, block));
+    // the matrix built is not altered by the builder
+    BlockSparseMatrix zero = builder.set(1, 0, null).build();
+    assertTrue(zero.isZeroBlock(1, 0));
+    assertFalse(test.isZeroBlock(1, 0));
+    assertThrowsIllegalArg(() -> BlockSparseMatrix.builder(2, 0));
+  }
+
+  public void test_leftMultiply() {
+    DoubleMatrix left = DoubleMatrix.copyOf(new double[][] {
+        {1.0, 2.0, 0.0, -1.0, 0.5},
+        {0.0, 0.3, 1.2, 0.0, 4.0}});
+    BlockSparseMatrix test = BlockSparseMatrix.ofDense(FULL, 2, 1, 2);
+    DoubleMatrix expected = (DoubleMatrix) ALGEBRA.multiply(left, FULL);
+    assertEqualsMatrix(test.leftMultiply(left), expected, TOL);
+    assertThrowsIllegalArg(() -> test.leftMultiply(DoubleMatrix.filled(2, 4)));
+  }
+
+  public void test_multiply() {
+    DoubleMatrix right = DoubleMatrix.copyOf(new double[][] {
+        {1.0, 2.0},
+        {0.0, 0.3},
+        {-1.0, 0.5},
+        {1.2, 0.0},
+        {0.0, 4.0}});
+    BlockSparseMatrix test = BlockSparseMatrix.ofDense(FULL, 2, 1, 2);
+    DoubleMatrix expected = (DoubleMatrix) ALGEBRA.multiply(FULL, right);
+    assertEqualsMatrix(test.multiply(right), expected, TOL);
+    assertThrowsIllegalArg(() -> test.multiply(DoubleMatrix.filled(4, 2)));
+  }
+
+  public void test_inverse_lowerTriangular() {
+    BlockSparseMatrix test = BlockSparseMatrix.ofDense(LOWER, 2, 1, 2);
+    BlockSparseMatrix inverse = test.inverse(ALGEBRA);
+    assertTrue(inverse.isBlockLowerTriangular());
+    assertEqualsMatrix(inverse.toDense(), ALGEBRA.getInverse(LOWER), TOL);
+  }
+
+  public void test_inverse_full() {
+    BlockSparseMatrix test = BlockSparseMatrix.ofDense(FULL, 2, 1, 2);
+    BlockSparseMatrix inverse = test.inverse(ALGEBRA);
+    assertEqualsMatrix(inverse.toDense(), ALGEBRA.getInverse(FULL), TOL);
+  }
+
+}
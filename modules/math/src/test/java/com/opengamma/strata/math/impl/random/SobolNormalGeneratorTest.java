@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import org.apache.commons.math3.random.SobolSequenceGenerator;
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
+
+/**
+ * Test {@link SobolNormalGenerator}.
+ */
+@Test
+public class SobolNormalGeneratorTest {
+
+  private static final SobolNormalGenerator GENERATOR = SobolNormalGenerator.of(5);
+
+  public void test_blocks() {
+    double[] all = new double[500];
+    GENERATOR.fill(0, 100, 5, all);
+    double[] first = new double[200];
+    double[] second = new double[300];
+    GENERATOR.fill(0, 40, 5, first);
+    GENERATOR.fill(40, 60, 5, second);
+    assertEquals(Arrays.copyOfRange(all, 0, 200), first);
+    assertEquals(Arrays.copyOfRange(all, 200, 500), second);
+  }
+
+  public void test_firstPoints() {
+    double[] values = new double[6];
+    GENERATOR.fill(0, 3, 2, values);
+    // the points following the origin are (1/2, 1/2), (3/4, 1/4) and (1/4, 3/4)
+    assertEquals(values[0], 0d, 1e-15);
+    assertEquals(values[1], 0d, 1e-15);
+    assertEquals(values[2], NormalDistribution.standardInverseCdf(0.75), 1e-15);
+    assertEquals(values[3], NormalDistribution.standardInverseCdf(0.25), 1e-15);
+    assertEquals(values[4], NormalDistribution.standardInverseCdf(0.25), 1e-15);
+    assertEquals(values[5], NormalDistribution.standardInverseCdf(0.75), 1e-15);
+  }
+
+  public void test_moments() {
+    int n = 4095;
+    double[] values = new double[n * 4];
+    GENERATOR.fill(0, n, 4, values);
+    for (int j = 0; j < 4; j++) {
+      double mean = 0d;
+      double variance = 0d;
+      for (int i = 0; i < n; i++) {
+        mean += values[i * 4 + j];
+        variance += values[i * 4 + j] * values[i * 4 + j];
+      }
+      assertEquals(mean / n, 0d, 1e-2);
+      assertEquals(variance / n, 1d, 2e-2);
+    }
+  }
+
+  // the points are those of the commons-math sequence, wherever the block starts
+  public void test_sequence() {
+    int dimension = 5;
+    int[] firstDraws = {0, 1, 6, 1023, 100_000, (1 << 30) + 12345};
+    for (int firstDraw : firstDraws) {
+      SobolSequenceGenerator sequence = new SobolSequenceGenerator(dimension);
+      double[] values = new double[10 * dimension];
+      GENERATOR.fill(firstDraw, 10, dimension, values);
+      for (int i = 0; i < 10; i++) {
+        double[] point = i == 0 ? sequence.skipTo(firstDraw + 1) : sequence.nextVector();
+        for (int j = 0; j < dimension; j++) {
+          assertEquals(values[i * dimension + j], NormalDistribution.standardInverseCdf(point[j]));
+        }
+      }
+    }
+  }
+
+  // blocks generated concurrently are the same as those generated sequentially
+  public void test_concurrent() {
+    double[] expected = new double[200 * 5];
+    GENERATOR.fill(0, 200, 5, expected);
+    double[][] blocks = new double[20][10 * 5];
+    IntStream.range(0, 20).parallel().forEach(b -> GENERATOR.fill(b * 10, 10, 5, blocks[b]));
+    for (int b = 0; b < 20; b++) {
+      assertEquals(blocks[b], Arrays.copyOfRange(expected, b * 50, (b + 1) * 50));
+    }
+  }
+
+  // the first coordinates of a point do not depend on the maximum dimension
+  public void test_lowerDimension() {
+    double[] values = new double[300];
+    GENERATOR.fill(10, 100, 3, values);
+    double[] expected = new double[300];
+    SobolNormalGenerator.of(3).fill(10, 100, 3, expected);
+    assertEquals(values, expected);
+    assertEquals(GENERATOR.getMaxDimension(), 5);
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> SobolNormalGenerator.of(0));
+    assertThrowsIllegalArg(() -> SobolNormalGenerator.of(1001));
+    assertThrowsIllegalArg(() -> GENERATOR.fill(-1, 10, 2, new double[20]));
+    assertThrowsIllegalArg(() -> GENERATOR.fill(0, 10, 0, new double[20]));
+    assertThrowsIllegalArg(() -> GENERATOR.fill(0, 10, 6, new double[60]));
+    assertThrowsIllegalArg(() -> GENERATOR.fill(0, 10, 2, new double[19]));
+    assertThrowsIllegalArg(() -> GENERATOR.fill(0, 1 << 30, 4, new double[20]));
+    assertThrowsIllegalArg(() -> GENERATOR.fill(Integer.MAX_VALUE, 10, 2, new double[20]));
+  }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+import java.util.Arrays;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link SplittableRandomNormalGenerator}.
+ */
+@Test
+public class SplittableRandomNormalGeneratorTest {
+
+  private static final SplittableRandomNormalGenerator GENERATOR = new SplittableRandomNormalGenerator(12345L);
+
+  public void test_reproducible() {
+    double[] first = new double[300];
+    double[] second = new double[300];
+    GENERATOR.fill(1000, 100, 3, first);
+    new SplittableRandomNormalGenerator(12345L).fill(1000, 100, 3, second);
+    assertEquals(first, second);
+  }
+
+  public void test_blocks() {
+    double[] first = new double[300];
+    double[] second = new double[300];
+    GENERATOR.fill(0, 100, 3, first);
+    GENERATOR.fill(100, 100, 3, second);
+    assertFalse(Arrays.equals(first, second));
+    new SplittableRandomNormalGenerator(54321L).fill(0, 100, 3, second);
+    assertFalse(Arrays.equals(first, second));
+  }
+
+  public void test_moments() {
+    int n = 200_000;
+    double[] values = new double[n];
+    GENERATOR.fill(0, n / 2, 2, values);
+    double mean = 0d;
+    double variance = 0d;
+    for (double value : values) {
+      mean += value;
+      variance += value * value;
+    }
+    mean /= n;
+    variance = variance / n - mean * mean;
+    assertEquals(mean, 0d, 0.01);
+    assertEquals(variance, 1d, 0.01);
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> GENERATOR.fill(-1, 10, 2, new double[20]));
+    assertThrowsIllegalArg(() -> GENERATOR.fill(0, -10, 2, new double[20]));
+    assertThrowsIllegalArg(() -> GENERATOR.fill(0, 10, 0, new double[20]));
+    assertThrowsIllegalArg(() -> GENERATOR.fill(0, 10, 2, new double[19]));
+    assertThrowsIllegalArg(() -> GENERATOR.fill(0, 1 << 16, 1 << 16, new double[20]));
+  }
+
+}
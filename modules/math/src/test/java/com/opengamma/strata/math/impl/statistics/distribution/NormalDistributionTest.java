@@ -46,6 +46,24 @@ public class NormalDistributionTest extends ProbabilityDistributionTestCase {
     }
   }
 
+  public void testStandard() {
+    for (int i = 0; i < 161; i++) {
+      double x = -8.0 + 0.1 * i;
+      assertEquals(NORMAL.getCDF(x), NormalDistribution.standardCdf(x), 0d);
+      // the density is computed by a different formula, so only equal within rounding
+      assertEquals(NormalDistribution.standardPdf(x), NORMAL.getPDF(x), NORMAL.getPDF(x) * 1e-14);
+    }
+    for (int i = 1; i < 100; i++) {
+      double p = 0.01 * i;
+      assertEquals(NORMAL.getInverseCDF(p), NormalDistribution.standardInverseCdf(p), 0d);
+    }
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testStandardInverseCdfOutOfRange() {
+    NormalDistribution.standardInverseCdf(1d);
+  }
+
   public void testObject() {
     NormalDistribution other = new NormalDistribution(0, 1, ENGINE);
     assertEquals(NORMAL, other);
@@ -0,0 +1,285 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.data.MarketDataName;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.ParameterMetadata;
+import com.opengamma.strata.market.param.ParameterPerturbation;
+
+/**
+ * Discount factors that memoise the results of an underlying instance by date.
+ * <p>
+ * In a portfolio valuation many trades discount to the same payment dates.
+ * This wrapper caches the relative year fraction and the discount factor of each date,
+ * keyed by the number of days after the valuation date, so that the day count and the
+ * curve are only evaluated once per date.
+ * All other methods delegate to the underlying discount factors.
+ * <p>
+ * The cache is scoped to the underlying instance. Methods that return modified discount factors,
+ * such as {@link #withPerturbation(ParameterPerturbation)}, return a new instance with an empty cache.
+ * Dates before the valuation date, or more than about 100 years after it, are not cached.
+ * <p>
+ * This class is thread-safe, the cache may be populated concurrently from several threads.
+ * It is not a bean and is not intended to be serialized, it is created on demand
+ * for a single valuation, typically by {@code CachingRatesProvider}.
+ */
+public final class CachingDiscountFactors
+    implements DiscountFactors {
+
+  /**
+   * The number of days in each block of the cache.
+   */
+  private static final int BLOCK_SIZE = 256;
+  /**
+   * The number of blocks in the cache, covering 100 years after the valuation date.
+   */
+  private static final int BLOCK_COUNT = (100 * 366) / BLOCK_SIZE + 1;
+  /**
+   * The bits used to mark a missing entry.
+   */
+  private static final long MISSING = Double.doubleToRawLongBits(Double.NaN);
+
+  /**
+   * The underlying discount factors.
+   */
+  private final DiscountFactors underlying;
+  /**
+   * The epoch day of the valuation date.
+   */
+  private final long valuationEpochDay;
+  /**
+   * The cached year fractions, in blocks of days after the valuation date.
+   */
+  private final AtomicReferenceArray<AtomicLongArray> yearFractions = new AtomicReferenceArray<>(BLOCK_COUNT);
+  /**
+   * The cached discount factors, in blocks of days after the valuation date.
+   */
+  private final AtomicReferenceArray<AtomicLongArray> discountFactors = new AtomicReferenceArray<>(BLOCK_COUNT);
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance wrapping the underlying discount factors.
+   * <p>
+   * If the discount factors are already caching, they are returned unchanged.
+   *
+   * @param underlying  the underlying discount factors
+   * @return the caching discount factors
+   */
+  public static CachingDiscountFactors of(DiscountFactors underlying) {
+    ArgChecker.notNull(underlying, "underlying");
+    if (underlying instanceof CachingDiscountFactors) {
+      return (CachingDiscountFactors) underlying;
+    }
+    return new CachingDiscountFactors(underlying);
+  }
+
+  // creates an instance
+  private CachingDiscountFactors(DiscountFactors underlying) {
+    this.underlying = underlying;
+    this.valuationEpochDay = underlying.getValuationDate().toEpochDay();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the underlying discount factors.
+   *
+   * @return the underlying discount factors
+   */
+  public DiscountFactors getUnderlying() {
+    return underlying;
+  }
+
+  @Override
+  public Currency getCurrency() {
+    return underlying.getCurrency();
+  }
+
+  @Override
+  public LocalDate getValuationDate() {
+    return underlying.getValuationDate();
+  }
+
+  @Override
+  public <T> Optional<T> findData(MarketDataName<T> name) {
+    return underlying.findData(name);
+  }
+
+  @Override
+  public int getParameterCount() {
+    return underlying.getParameterCount();
+  }
+
+  @Override
+  public double getParameter(int parameterIndex) {
+    return underlying.getParameter(parameterIndex);
+  }
+
+  @Override
+  public ParameterMetadata getParameterMetadata(int parameterIndex) {
+    return underlying.getParameterMetadata(parameterIndex);
+  }
+
+  @Override
+  public CachingDiscountFactors withParameter(int parameterIndex, double newValue) {
+    return new CachingDiscountFactors(underlying.withParameter(parameterIndex, newValue));
+  }
+
+  @Override
+  public CachingDiscountFactors withPerturbation(ParameterPerturbation perturbation) {
+    return new CachingDiscountFactors(underlying.withPerturbation(perturbation));
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public double relativeYearFraction(LocalDate date) {
+    long offset = date.toEpochDay() - valuationEpochDay;
+    AtomicLongArray block = block(yearFractions, offset);
+    if (block == null) {
+      return underlying.relativeYearFraction(date);
+    }
+    int index = (int) (offset % BLOCK_SIZE);
+    long bits = block.get(index);
+    if (bits != MISSING) {
+      return Double.longBitsToDouble(bits);
+    }
+    double yearFraction = underlying.relativeYearFraction(date);
+    block.set(index, Double.doubleToRawLongBits(yearFraction));
+    return yearFraction;
+  }
+
+  @Override
+  public double discountFactor(LocalDate date) {
+    long offset = date.toEpochDay() - valuationEpochDay;
+    AtomicLongArray block = block(discountFactors, offset);
+    if (block == null) {
+      return underlying.discountFactor(date);
+    }
+    int index = (int) (offset % BLOCK_SIZE);
+    long bits = block.get(index);
+    if (bits != MISSING) {
+      return Double.longBitsToDouble(bits);
+    }
+    double discountFactor = underlying.discountFactor(relativeYearFraction(date));
+    block.set(index, Double.doubleToRawLongBits(discountFactor));
+    return discountFactor;
+  }
+
+  @Override
+  public double discountFactor(double yearFraction) {
+    return underlying.discountFactor(yearFraction);
+  }
+
+  @Override
+  public DoubleArray discountFactor(DoubleArray yearFractions) {
+    return underlying.discountFactor(yearFractions);
+  }
+
+  @Override
+  public double discountFactorTimeDerivative(double yearFraction) {
+    return underlying.discountFactorTimeDerivative(yearFraction);
+  }
+
+  @Override
+  public double zeroRate(double yearFraction) {
+    return underlying.zeroRate(yearFraction);
+  }
+
+  @Override
+  public DoubleArray zeroRate(DoubleArray yearFractions) {
+    return underlying.zeroRate(yearFractions);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public ZeroRateSensitivity zeroRatePointSensitivity(double yearFraction, Currency sensitivityCurrency) {
+    return underlying.zeroRatePointSensitivity(yearFraction, sensitivityCurrency);
+  }
+
+  @Override
+  public ImmutableList<ZeroRateSensitivity> zeroRatePointSensitivity(
+      DoubleArray yearFractions,
+      Currency sensitivityCurrency) {
+
+    return underlying.zeroRatePointSensitivity(yearFractions, sensitivityCurrency);
+  }
+
+  @Override
+  public ZeroRateSensitivity zeroRatePointSensitivityWithSpread(
+      double yearFraction,
+      Currency sensitivityCurrency,
+      double zSpread,
+      CompoundedRateType compoundedRateType,
+      int periodsPerYear) {
+
+    return underlying.zeroRatePointSensitivityWithSpread(
+        yearFraction, sensitivityCurrency, zSpread, compoundedRateType, periodsPerYear);
+  }
+
+  @Override
+  public double discountFactorWithSpread(
+      double yearFraction,
+      double zSpread,
+      CompoundedRateType compoundedRateType,
+      int periodsPerYear) {
+
+    return underlying.discountFactorWithSpread(yearFraction, zSpread, compoundedRateType, periodsPerYear);
+  }
+
+  @Override
+  public CurrencyParameterSensitivities parameterSensitivity(ZeroRateSensitivity pointSensitivity) {
+    return underlying.parameterSensitivity(pointSensitivity);
+  }
+
+  @Override
+  public CurrencyParameterSensitivities parameterSensitivity(
+      Currency sensitivityCurrency,
+      DoubleArray yearFractions,
+      DoubleArray sensitivities) {
+
+    return underlying.parameterSensitivity(sensitivityCurrency, yearFractions, sensitivities);
+  }
+
+  @Override
+  public CurrencyParameterSensitivities createParameterSensitivity(Currency currency, DoubleArray sensitivities) {
+    return underlying.createParameterSensitivity(currency, sensitivities);
+  }
+
+  //-------------------------------------------------------------------------
+  // finds the block for the offset, creating it if necessary, null if the offset is not cached
+  private static AtomicLongArray block(AtomicReferenceArray<AtomicLongArray> blocks, long offset) {
+    if (offset < 0 || offset >= (long) BLOCK_COUNT * BLOCK_SIZE) {
+      return null;
+    }
+    int blockIndex = (int) (offset / BLOCK_SIZE);
+    AtomicLongArray block = blocks.get(blockIndex);
+    if (block == null) {
+      AtomicLongArray created = new AtomicLongArray(BLOCK_SIZE);
+      for (int i = 0; i < BLOCK_SIZE; i++) {
+        created.lazySet(i, MISSING);
+      }
+      // another thread may have created the block, in which case that one is used
+      block = blocks.compareAndSet(blockIndex, null, created) ? created : blocks.get(blockIndex);
+    }
+    return block;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "CachingDiscountFactors[" + underlying + "]";
+  }
+
+}
@@ -5,11 +5,13 @@
  */
 package com.opengamma.strata.pricer;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import static com.opengamma.strata.pricer.SimpleDiscountFactors.EFFECTIVE_ZERO;
 
 import java.time.LocalDate;
 import java.util.Optional;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.date.DayCount;
 import com.opengamma.strata.collect.ArgChecker;
@@ -121,6 +123,22 @@ public interface DiscountFactors
    */
   public abstract double discountFactor(double yearFraction);
 
+  /**
+   * Gets the discount factors for specified year fractions.
+   * <p>
+   * The year fractions must be based on {@code #relativeYearFraction(LocalDate)}.
+   * This is equivalent to calling {@link #discountFactor(double)} for each year fraction.
+   * Implementations evaluate the underlying curve in one pass, which is efficient when
+   * the year fractions are sorted from low to high, such as the payment times of a swap leg.
+   * 
+   * @param yearFractions  the year fractions, typically sorted from low to high
+   * @return the discount factors
+   * @throws RuntimeException if the values cannot be obtained
+   */
+  public default DoubleArray discountFactor(DoubleArray yearFractions) {
+    return yearFractions.map(this::discountFactor);
+  }
+
   /**
    * Returns the discount factor derivative with respect to the year fraction or time.
    * <p>
@@ -226,6 +244,21 @@ public interface DiscountFactors
    */
   public abstract double zeroRate(double yearFraction);
 
+  /**
+   * Gets the continuously compounded zero rates for specified year fractions.
+   * <p>
+   * The year fractions must be based on {@code #relativeYearFraction(LocalDate)}.
+   * This is equivalent to calling {@link #zeroRate(double)} for each year fraction.
+   * Implementations evaluate the underlying curve in one pass.
+   * 
+   * @param yearFractions  the year fractions, typically sorted from low to high
+   * @return the zero rates
+   * @throws RuntimeException if the values cannot be obtained
+   */
+  public default DoubleArray zeroRate(DoubleArray yearFractions) {
+    return yearFractions.map(this::zeroRate);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates the zero rate point sensitivity at the specified date.
@@ -301,6 +334,30 @@ public interface DiscountFactors
    */
   public abstract ZeroRateSensitivity zeroRatePointSensitivity(double yearFraction, Currency sensitivityCurrency);
 
+  /**
+   * Calculates the zero rate point sensitivities at the specified year fractions specifying the currency
+   * of the sensitivities.
+   * <p>
+   * This is equivalent to calling {@link #zeroRatePointSensitivity(double, Currency)} for each year fraction.
+   * Implementations evaluate the underlying curve in one pass, which is efficient when
+   * the year fractions are sorted from low to high, such as the payment times of a swap leg.
+   * <p>
+   * The year fractions must be based on {@code #relativeYearFraction(LocalDate)}.
+   * 
+   * @param yearFractions  the year fractions, typically sorted from low to high
+   * @param sensitivityCurrency  the currency of the sensitivities
+   * @return the point sensitivities of the zero rates, one for each year fraction
+   * @throws RuntimeException if the result cannot be calculated
+   */
+  public default ImmutableList<ZeroRateSensitivity> zeroRatePointSensitivity(
+      DoubleArray yearFractions,
+      Currency sensitivityCurrency) {
+
+    return yearFractions.stream()
+        .mapToObj(yearFraction -> zeroRatePointSensitivity(yearFraction, sensitivityCurrency))
+        .collect(toImmutableList());
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates the zero rate point sensitivity with z-spread at the specified date.
@@ -447,6 +504,35 @@ public interface DiscountFactors
    */
   public abstract CurrencyParameterSensitivities parameterSensitivity(ZeroRateSensitivity pointSensitivity);
 
+  /**
+   * Calculates the parameter sensitivity from a set of point sensitivities.
+   * <p>
+   * This is used to convert many point sensitivities to parameter sensitivity in one call.
+   * The result is equivalent to combining the result of {@link #parameterSensitivity(ZeroRateSensitivity)}
+   * for each point, but implementations avoid creating intermediate objects for each point,
+   * and evaluate the sensitivities of the underlying curve in one pass.
+   * 
+   * @param sensitivityCurrency  the currency of the sensitivity values
+   * @param yearFractions  the year fractions of the points
+   * @param sensitivities  the sensitivity values, one for each year fraction
+   * @return the parameter sensitivity
+   * @throws RuntimeException if the result cannot be calculated
+   */
+  public default CurrencyParameterSensitivities parameterSensitivity(
+      Currency sensitivityCurrency,
+      DoubleArray yearFractions,
+      DoubleArray sensitivities) {
+
+    ArgChecker.isTrue(yearFractions.size() == sensitivities.size(), "Arrays must have the same size");
+    CurrencyParameterSensitivities result = CurrencyParameterSensitivities.empty();
+    for (int i = 0; i < yearFractions.size(); i++) {
+      ZeroRateSensitivity point =
+          ZeroRateSensitivity.of(getCurrency(), yearFractions.get(i), sensitivityCurrency, sensitivities.get(i));
+      result = result.combinedWith(parameterSensitivity(point));
+    }
+    return result;
+  }
+
   /**
    * Creates the parameter sensitivity when the sensitivity values are known.
    * <p>
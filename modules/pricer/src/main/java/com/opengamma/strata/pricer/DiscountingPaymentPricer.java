@@ -6,16 +6,21 @@
 package com.opengamma.strata.pricer;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.basics.currency.Payment;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.amount.CashFlow;
 import com.opengamma.strata.market.amount.CashFlows;
 import com.opengamma.strata.market.explain.ExplainKey;
 import com.opengamma.strata.market.explain.ExplainMap;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
+import com.opengamma.strata.market.sensitivity.MutablePointSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 
 /**
@@ -73,6 +78,32 @@ public class DiscountingPaymentPricer {
     return payment.getValue().multipliedBy(discountFactors.discountFactor(payment.getDate()));
   }
 
+  /**
+   * Computes the present value of several payments by discounting.
+   * <p>
+   * The present value is the sum of the present values of the payments.
+   * Payments before the valuation date have no present value.
+   * The discount factors of all the payments are obtained in one pass on the curve,
+   * see {@link DiscountFactors#discountFactor(DoubleArray)}.
+   * 
+   * @param payments  the payments, in the currency of the discount factors
+   * @param discountFactors  the discount factors to price against
+   * @return the present value
+   * @throws IllegalArgumentException if a payment is not in the currency of the discount factors
+   */
+  public CurrencyAmount presentValue(List<Payment> payments, DiscountFactors discountFactors) {
+    List<Payment> futurePayments = futurePayments(payments, discountFactors);
+    if (futurePayments.isEmpty()) {
+      return CurrencyAmount.zero(discountFactors.getCurrency());
+    }
+    DoubleArray dfs = discountFactors.discountFactor(yearFractions(futurePayments, discountFactors));
+    double total = 0d;
+    for (int i = 0; i < futurePayments.size(); i++) {
+      total += futurePayments.get(i).getAmount() * dfs.get(i);
+    }
+    return CurrencyAmount.of(discountFactors.getCurrency(), total);
+  }
+
   /**
    * Computes the present value of the payment by discounting.
    * <p>
@@ -192,6 +223,52 @@ public class DiscountingPaymentPricer {
     return discountFactors.zeroRatePointSensitivity(payment.getDate()).multipliedBy(payment.getAmount());
   }
 
+  /**
+   * Compute the present value curve sensitivity of several payments.
+   * <p>
+   * The present value sensitivity is the sum of the present value sensitivities of the payments.
+   * There is no sensitivity for the payments before the valuation date.
+   * The sensitivities of all the payments are obtained in one pass on the curve,
+   * see {@link DiscountFactors#zeroRatePointSensitivity(DoubleArray, Currency)}.
+   * 
+   * @param payments  the payments, in the currency of the discount factors
+   * @param discountFactors  the discount factors to price against
+   * @return the point sensitivity of the present value
+   * @throws IllegalArgumentException if a payment is not in the currency of the discount factors
+   */
+  public PointSensitivityBuilder presentValueSensitivity(List<Payment> payments, DiscountFactors discountFactors) {
+    List<Payment> futurePayments = futurePayments(payments, discountFactors);
+    if (futurePayments.isEmpty()) {
+      return PointSensitivityBuilder.none();
+    }
+    List<ZeroRateSensitivity> sensitivities = discountFactors.zeroRatePointSensitivity(
+        yearFractions(futurePayments, discountFactors), discountFactors.getCurrency());
+    MutablePointSensitivities result = new MutablePointSensitivities();
+    for (int i = 0; i < futurePayments.size(); i++) {
+      result.add(sensitivities.get(i).multipliedBy(futurePayments.get(i).getAmount()));
+    }
+    return result;
+  }
+
+  // the payments on or after the valuation date, validating the currency of all the payments
+  private static List<Payment> futurePayments(List<Payment> payments, DiscountFactors discountFactors) {
+    Currency currency = discountFactors.getCurrency();
+    List<Payment> futurePayments = new ArrayList<>(payments.size());
+    for (Payment payment : payments) {
+      ArgChecker.isTrue(payment.getCurrency().equals(currency),
+          "Payment currency must be {}, but was {}", currency, payment.getCurrency());
+      if (!discountFactors.getValuationDate().isAfter(payment.getDate())) {
+        futurePayments.add(payment);
+      }
+    }
+    return futurePayments;
+  }
+
+  // the year fractions of the payment dates
+  private static DoubleArray yearFractions(List<Payment> payments, DiscountFactors discountFactors) {
+    return DoubleArray.of(payments.size(), i -> discountFactors.relativeYearFraction(payments.get(i).getDate()));
+  }
+
   /**
    * Compute the present value curve sensitivity of the payment with z-spread.
    * <p>
@@ -25,6 +25,7 @@ import org.joda.beans.impl.direct.DirectMetaProperty;
 import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.date.DayCount;
 import com.opengamma.strata.collect.ArgChecker;
@@ -169,6 +170,12 @@ public final class SimpleDiscountFactors
     return curve.yValue(yearFraction);
   }
 
+  @Override
+  public DoubleArray discountFactor(DoubleArray yearFractions) {
+    // read discount factors directly off curve, evaluating the curve in one pass
+    return curve.yValue(yearFractions);
+  }
+
   @Override
   public double discountFactorTimeDerivative(double yearFraction) {
     return curve.firstDerivative(yearFraction);
@@ -181,6 +188,14 @@ public final class SimpleDiscountFactors
     return -Math.log(discountFactor) / yearFractionMod;
   }
 
+  @Override
+  public DoubleArray zeroRate(DoubleArray yearFractions) {
+    DoubleArray yearFractionsMod = yearFractions.map(yearFraction -> Math.max(EFFECTIVE_ZERO, yearFraction));
+    DoubleArray discountFactors = discountFactor(yearFractionsMod);
+    return DoubleArray.of(
+        yearFractions.size(), i -> -Math.log(discountFactors.get(i)) / yearFractionsMod.get(i));
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public ZeroRateSensitivity zeroRatePointSensitivity(double yearFraction, Currency sensitivityCurrency) {
@@ -188,6 +203,21 @@ public final class SimpleDiscountFactors
     return ZeroRateSensitivity.of(currency, yearFraction, sensitivityCurrency, -discountFactor * yearFraction);
   }
 
+  @Override
+  public ImmutableList<ZeroRateSensitivity> zeroRatePointSensitivity(
+      DoubleArray yearFractions,
+      Currency sensitivityCurrency) {
+
+    DoubleArray discountFactors = discountFactor(yearFractions);
+    ImmutableList.Builder<ZeroRateSensitivity> builder = ImmutableList.builder();
+    for (int i = 0; i < yearFractions.size(); i++) {
+      double yearFraction = yearFractions.get(i);
+      builder.add(ZeroRateSensitivity.of(
+          currency, yearFraction, sensitivityCurrency, -discountFactors.get(i) * yearFraction));
+    }
+    return builder.build();
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public CurrencyParameterSensitivities parameterSensitivity(ZeroRateSensitivity pointSens) {
@@ -203,6 +233,34 @@ public final class SimpleDiscountFactors
     return CurrencyParameterSensitivities.of(curSens);
   }
 
+  @Override
+  public CurrencyParameterSensitivities parameterSensitivity(
+      Currency sensitivityCurrency,
+      DoubleArray yearFractions,
+      DoubleArray sensitivities) {
+
+    ArgChecker.isTrue(yearFractions.size() == sensitivities.size(), "Arrays must have the same size");
+    if (yearFractions.stream().allMatch(yearFraction -> Math.abs(yearFraction) < EFFECTIVE_ZERO)) {
+      return CurrencyParameterSensitivities.empty();
+    }
+    // the discount factors and the sensitivities of the curve are evaluated in one pass
+    DoubleArray discountFactors = curve.yValue(yearFractions);
+    double[][] unitSens = curve.yValueParameterSensitivity(yearFractions).toArrayUnsafe();
+    double[] total = new double[unitSens[0].length];
+    for (int i = 0; i < unitSens.length; i++) {
+      double yearFraction = yearFractions.get(i);
+      if (Math.abs(yearFraction) < EFFECTIVE_ZERO) {
+        continue; // Discount factor in 0 is always 1, no sensitivity.
+      }
+      double factor = -1d / (yearFraction * discountFactors.get(i)) * sensitivities.get(i);
+      for (int j = 0; j < total.length; j++) {
+        total[j] += unitSens[i][j] * factor;
+      }
+    }
+    return CurrencyParameterSensitivities.of(
+        curve.createParameterSensitivity(sensitivityCurrency, DoubleArray.ofUnsafe(total)));
+  }
+
   @Override
   public CurrencyParameterSensitivities createParameterSensitivity(Currency currency, DoubleArray sensitivities) {
     return CurrencyParameterSensitivities.of(curve.createParameterSensitivity(currency, sensitivities));
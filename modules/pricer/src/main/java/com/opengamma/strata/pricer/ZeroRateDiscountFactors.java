@@ -25,6 +25,7 @@ import org.joda.beans.impl.direct.DirectMetaProperty;
 import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.date.DayCount;
 import com.opengamma.strata.collect.ArgChecker;
@@ -165,6 +166,13 @@ public final class ZeroRateDiscountFactors
     return Math.exp(-yearFraction * curve.yValue(yearFraction));
   }
 
+  @Override
+  public DoubleArray discountFactor(DoubleArray yearFractions) {
+    // convert zero rates to discount factors, evaluating the curve in one pass
+    DoubleArray zeroRates = curve.yValue(yearFractions);
+    return DoubleArray.of(yearFractions.size(), i -> Math.exp(-yearFractions.get(i) * zeroRates.get(i)));
+  }
+
   @Override
   public double discountFactorTimeDerivative(double yearFraction) {
     double zr = curve.yValue(yearFraction);
@@ -176,6 +184,11 @@ public final class ZeroRateDiscountFactors
     return curve.yValue(yearFraction);
   }
 
+  @Override
+  public DoubleArray zeroRate(DoubleArray yearFractions) {
+    return curve.yValue(yearFractions);
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public ZeroRateSensitivity zeroRatePointSensitivity(double yearFraction, Currency sensitivityCurrency) {
@@ -183,6 +196,21 @@ public final class ZeroRateDiscountFactors
     return ZeroRateSensitivity.of(currency, yearFraction, sensitivityCurrency, -discountFactor * yearFraction);
   }
 
+  @Override
+  public ImmutableList<ZeroRateSensitivity> zeroRatePointSensitivity(
+      DoubleArray yearFractions,
+      Currency sensitivityCurrency) {
+
+    DoubleArray discountFactors = discountFactor(yearFractions);
+    ImmutableList.Builder<ZeroRateSensitivity> builder = ImmutableList.builder();
+    for (int i = 0; i < yearFractions.size(); i++) {
+      double yearFraction = yearFractions.get(i);
+      builder.add(ZeroRateSensitivity.of(
+          currency, yearFraction, sensitivityCurrency, -discountFactors.get(i) * yearFraction));
+    }
+    return builder.build();
+  }
+
   @Override
   public CurrencyParameterSensitivities parameterSensitivity(ZeroRateSensitivity pointSens) {
     double yearFraction = pointSens.getYearFraction();
@@ -191,6 +219,29 @@ public final class ZeroRateDiscountFactors
     return CurrencyParameterSensitivities.of(curSens);
   }
 
+  @Override
+  public CurrencyParameterSensitivities parameterSensitivity(
+      Currency sensitivityCurrency,
+      DoubleArray yearFractions,
+      DoubleArray sensitivities) {
+
+    ArgChecker.isTrue(yearFractions.size() == sensitivities.size(), "Arrays must have the same size");
+    if (yearFractions.isEmpty()) {
+      return CurrencyParameterSensitivities.empty();
+    }
+    // the sensitivities of the curve are evaluated in one pass
+    double[][] unitSens = curve.yValueParameterSensitivity(yearFractions).toArrayUnsafe();
+    double[] total = new double[unitSens[0].length];
+    for (int i = 0; i < unitSens.length; i++) {
+      double sensitivity = sensitivities.get(i);
+      for (int j = 0; j < total.length; j++) {
+        total[j] += unitSens[i][j] * sensitivity;
+      }
+    }
+    return CurrencyParameterSensitivities.of(
+        curve.createParameterSensitivity(sensitivityCurrency, DoubleArray.ofUnsafe(total)));
+  }
+
   @Override
   public CurrencyParameterSensitivities createParameterSensitivity(Currency currency, DoubleArray sensitivities) {
     return CurrencyParameterSensitivities.of(curve.createParameterSensitivity(currency, sensitivities));
@@ -25,6 +25,7 @@ import org.joda.beans.impl.direct.DirectMetaProperty;
 import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.date.DayCount;
 import com.opengamma.strata.collect.ArgChecker;
@@ -177,6 +178,15 @@ public final class ZeroRatePeriodicDiscountFactors
     return Math.pow(1d + curve.yValue(relativeYearFraction) / frequency, -relativeYearFraction * frequency);
   }
 
+  @Override
+  public DoubleArray discountFactor(DoubleArray relativeYearFractions) {
+    // convert zero rates periodically compounded to discount factors, evaluating the curve in one pass
+    DoubleArray zeroRates = curve.yValue(relativeYearFractions);
+    return DoubleArray.of(
+        relativeYearFractions.size(),
+        i -> Math.pow(1d + zeroRates.get(i) / frequency, -relativeYearFractions.get(i) * frequency));
+  }
+
   @Override
   public double discountFactorTimeDerivative(double yearFraction) {
     double zr = curve.yValue(yearFraction);
@@ -192,6 +202,11 @@ public final class ZeroRatePeriodicDiscountFactors
     return frequency * Math.log(1d + ratePeriod / frequency);
   }
 
+  @Override
+  public DoubleArray zeroRate(DoubleArray yearFractions) {
+    return curve.yValue(yearFractions).map(ratePeriod -> frequency * Math.log(1d + ratePeriod / frequency));
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public ZeroRateSensitivity zeroRatePointSensitivity(double yearFraction, Currency sensitivityCurrency) {
@@ -199,6 +214,21 @@ public final class ZeroRatePeriodicDiscountFactors
     return ZeroRateSensitivity.of(currency, yearFraction, sensitivityCurrency, -discountFactor * yearFraction);
   }
 
+  @Override
+  public ImmutableList<ZeroRateSensitivity> zeroRatePointSensitivity(
+      DoubleArray yearFractions,
+      Currency sensitivityCurrency) {
+
+    DoubleArray discountFactors = discountFactor(yearFractions);
+    ImmutableList.Builder<ZeroRateSensitivity> builder = ImmutableList.builder();
+    for (int i = 0; i < yearFractions.size(); i++) {
+      double yearFraction = yearFractions.get(i);
+      builder.add(ZeroRateSensitivity.of(
+          currency, yearFraction, sensitivityCurrency, -discountFactors.get(i) * yearFraction));
+    }
+    return builder.build();
+  }
+
   @Override
   public ZeroRateSensitivity zeroRatePointSensitivityWithSpread(
       double yearFraction,
@@ -233,6 +263,31 @@ public final class ZeroRatePeriodicDiscountFactors
     return CurrencyParameterSensitivities.of(curSens);
   }
 
+  @Override
+  public CurrencyParameterSensitivities parameterSensitivity(
+      Currency sensitivityCurrency,
+      DoubleArray yearFractions,
+      DoubleArray sensitivities) {
+
+    ArgChecker.isTrue(yearFractions.size() == sensitivities.size(), "Arrays must have the same size");
+    if (yearFractions.isEmpty()) {
+      return CurrencyParameterSensitivities.empty();
+    }
+    // the rates and the sensitivities of the curve are evaluated in one pass
+    DoubleArray ratesPeriodic = curve.yValue(yearFractions);
+    double[][] unitSens = curve.yValueParameterSensitivity(yearFractions).toArrayUnsafe();
+    double[] total = new double[unitSens[0].length];
+    for (int i = 0; i < unitSens.length; i++) {
+      double rpBar = 1.0 / (1 + ratesPeriodic.get(i) / frequency);
+      double factor = rpBar * sensitivities.get(i);
+      for (int j = 0; j < total.length; j++) {
+        total[j] += unitSens[i][j] * factor;
+      }
+    }
+    return CurrencyParameterSensitivities.of(
+        curve.createParameterSensitivity(sensitivityCurrency, DoubleArray.ofUnsafe(total)));
+  }
+
   @Override
   public CurrencyParameterSensitivities createParameterSensitivity(Currency currency, DoubleArray sensitivities) {
     return CurrencyParameterSensitivities.of(curve.createParameterSensitivity(currency, sensitivities));
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.pricer.bond;
 
+import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.pricer.impl.option.BlackFormulaRepository;
@@ -19,6 +20,11 @@ import com.opengamma.strata.product.option.FutureOptionPremiumStyle;
  * <h4>Price</h4>
  * Strata uses <i>decimal prices</i> for bond futures options in the trade model, pricers and market data.
  * This is coherent with the pricing of {@link BondFuture}.
+ * 
+ * <h4>Pricing context</h4>
+ * The options on the same bond future can share the {@link BondFuturePricingContext} of the future,
+ * see {@link #pricingContext}. The price and the price sensitivity of the underlying future are then
+ * computed once for all the options, rather than once per option and per measure.
  */
 public final class BlackBondFutureOptionMarginedProductPricer {
 
@@ -419,6 +425,115 @@ public final class BlackBondFutureOptionMarginedProductPricer {
         volatilities.getName(), timeToExpiry, future.getLastTradeDate(), strike, futurePrice, future.getCurrency(), vega);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Creates the pricing context of the underlying future of the bond future option product.
+   * <p>
+   * The context can be shared by all the options on the same future, and used with the methods
+   * of this pricer taking a {@link BondFuturePricingContext}.
+   * 
+   * @param futureOption  the option product
+   * @param discountingProvider  the discounting provider
+   * @param refData  the reference data, used to calculate the spot settlement dates of the bonds
+   * @return the pricing context of the underlying future
+   */
+  public BondFuturePricingContext pricingContext(
+      ResolvedBondFutureOption futureOption,
+      LegalEntityDiscountingProvider discountingProvider,
+      ReferenceData refData) {
+
+    return futurePricer.pricingContext(futureOption.getUnderlyingFuture(), discountingProvider, refData);
+  }
+
+  /**
+   * Calculates the price of the bond future option product based on the pricing context of the underlying future.
+   * <p>
+   * This is the same as {@link #price(ResolvedBondFutureOption, LegalEntityDiscountingProvider,
+   * BlackBondFutureVolatilities)}, using the future price of the context.
+   * 
+   * @param futureOption  the option product
+   * @param futureContext  the pricing context of the underlying future
+   * @param volatilities  the volatilities
+   * @return the price of the product, in decimal form
+   */
+  public double price(
+      ResolvedBondFutureOption futureOption,
+      BondFuturePricingContext futureContext,
+      BlackBondFutureVolatilities volatilities) {
+
+    validateContext(futureOption, futureContext);
+    return price(futureOption, futureContext.getDiscountingProvider(), volatilities, futureContext.getPrice());
+  }
+
+  /**
+   * Calculates the delta of the bond future option product based on the pricing context of the underlying future.
+   * <p>
+   * This is the same as {@link #deltaStickyStrike(ResolvedBondFutureOption, LegalEntityDiscountingProvider,
+   * BlackBondFutureVolatilities)}, using the future price of the context.
+   * 
+   * @param futureOption  the option product
+   * @param futureContext  the pricing context of the underlying future
+   * @param volatilities  the volatilities
+   * @return the delta of the product
+   */
+  public double deltaStickyStrike(
+      ResolvedBondFutureOption futureOption,
+      BondFuturePricingContext futureContext,
+      BlackBondFutureVolatilities volatilities) {
+
+    validateContext(futureOption, futureContext);
+    return deltaStickyStrike(
+        futureOption, futureContext.getDiscountingProvider(), volatilities, futureContext.getPrice());
+  }
+
+  /**
+   * Calculates the price sensitivity of the bond future option product based on the pricing context
+   * of the underlying future.
+   * <p>
+   * This is the same as {@link #priceSensitivityRatesStickyStrike(ResolvedBondFutureOption,
+   * LegalEntityDiscountingProvider, BlackBondFutureVolatilities)}, using the future price and
+   * the future price sensitivity of the context.
+   * 
+   * @param futureOption  the option product
+   * @param futureContext  the pricing context of the underlying future
+   * @param volatilities  the volatilities
+   * @return the price curve sensitivity of the product
+   */
+  public PointSensitivities priceSensitivityRatesStickyStrike(
+      ResolvedBondFutureOption futureOption,
+      BondFuturePricingContext futureContext,
+      BlackBondFutureVolatilities volatilities) {
+
+    double delta = deltaStickyStrike(futureOption, futureContext, volatilities);
+    return futureContext.priceSensitivity().multipliedBy(delta);
+  }
+
+  /**
+   * Calculates the price sensitivity to the Black volatility used for the pricing of the bond future option
+   * based on the pricing context of the underlying future.
+   * 
+   * @param futureOption  the option product
+   * @param futureContext  the pricing context of the underlying future
+   * @param volatilities  the volatilities
+   * @return the sensitivity
+   */
+  public BondFutureOptionSensitivity priceSensitivityModelParamsVolatility(
+      ResolvedBondFutureOption futureOption,
+      BondFuturePricingContext futureContext,
+      BlackBondFutureVolatilities volatilities) {
+
+    validateContext(futureOption, futureContext);
+    return priceSensitivityModelParamsVolatility(
+        futureOption, futureContext.getDiscountingProvider(), volatilities, futureContext.getPrice());
+  }
+
+  // checks the context is for the underlying future
+  private void validateContext(ResolvedBondFutureOption futureOption, BondFuturePricingContext futureContext) {
+    ArgChecker.notNull(futureContext, "futureContext");
+    ArgChecker.isTrue(futureContext.getFuture().equals(futureOption.getUnderlyingFuture()),
+        "Pricing context must be for the underlying future of the option");
+  }
+
   //-------------------------------------------------------------------------
   // calculate the price of the underlying future
   private double futurePrice(ResolvedBondFutureOption futureOption, LegalEntityDiscountingProvider discountingProvider) {
@@ -0,0 +1,391 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.bond;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.Payment;
+import com.opengamma.strata.basics.date.DayCount;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.product.bond.ResolvedBondFuture;
+import com.opengamma.strata.product.bond.ResolvedFixedCouponBond;
+
+/**
+ * Pricing context for a bond future, holding the analytics of its delivery basket.
+ * <p>
+ * The context prices each bond of the delivery basket once, for the spot settlement date of the bond
+ * and for the last delivery date of the future. The future price is the minimum over the basket
+ * of the forward clean price divided by the conversion factor, as in {@link DiscountingBondFutureProductPricer},
+ * and the bond reaching the minimum is the cheapest-to-deliver.
+ * The sensitivity of the future price is computed once when first required.
+ * <p>
+ * The context also provides the basis analytics of the basket for a given future price.
+ * <ul>
+ * <li>The gross basis is the spot clean price minus the future price multiplied by the conversion factor.
+ * <li>The net basis is the gross basis minus the carry, the carry being the difference between
+ *  the spot and the forward clean prices implied by the curves.
+ * <li>The implied repo rate is the simple rate earned by buying the bond at spot, receiving the coupons paid
+ *  before delivery and delivering the bond into the future.
+ * </ul>
+ * The spot clean prices are those implied by the curves, unless market prices are supplied.
+ * <p>
+ * Strata uses <i>decimal prices</i> for bonds and bond futures. For example, a price of 99.32% is represented
+ * in Strata by 0.9932.
+ * <p>
+ * The context is created for a discounting provider. It remains valid as long as the provider is unchanged,
+ * see {@link #isValidFor}. Instances are created using {@link DiscountingBondFutureProductPricer#pricingContext}.
+ */
+public final class BondFuturePricingContext {
+
+  /**
+   * The bond future.
+   */
+  private final ResolvedBondFuture future;
+  /**
+   * The discounting provider.
+   */
+  private final LegalEntityDiscountingProvider discountingProvider;
+  /**
+   * The spot settlement dates of the bonds.
+   */
+  private final ImmutableList<LocalDate> spotSettlementDates;
+  /**
+   * The conversion factors of the bonds.
+   */
+  private final double[] conversionFactors;
+  /**
+   * The spot clean prices of the bonds implied by the curves.
+   */
+  private final double[] spotCleanPrices;
+  /**
+   * The accrued interest per unit notional of the bonds at spot settlement.
+   */
+  private final double[] spotAccruedInterests;
+  /**
+   * The clean prices of the bonds implied by the curves for delivery at the last delivery date.
+   */
+  private final double[] forwardCleanPrices;
+  /**
+   * The accrued interest per unit notional of the bonds at the last delivery date.
+   */
+  private final double[] deliveryAccruedInterests;
+  /**
+   * The coupons per unit notional received between spot settlement and delivery, for each bond.
+   */
+  private final ImmutableList<ImmutableList<Payment>> intermediateCoupons;
+  /**
+   * The index of the cheapest-to-deliver bond.
+   */
+  private final int cheapestToDeliverIndex;
+  /**
+   * The future price.
+   */
+  private final double price;
+  /**
+   * The sensitivity of the future price.
+   */
+  private final Supplier<PointSensitivities> priceSensitivity;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an instance.
+   * <p>
+   * The arrays are owned by the created instance.
+   *
+   * @param future  the bond future
+   * @param discountingProvider  the discounting provider
+   * @param spotSettlementDates  the spot settlement dates of the bonds
+   * @param spotCleanPrices  the spot clean prices of the bonds
+   * @param spotAccruedInterests  the accrued interest per unit notional at spot settlement
+   * @param forwardCleanPrices  the clean prices for delivery at the last delivery date
+   * @param deliveryAccruedInterests  the accrued interest per unit notional at the last delivery date
+   * @param intermediateCoupons  the coupons per unit notional received between spot settlement and delivery
+   * @param bondPricer  the pricer used for the price sensitivity
+   */
+  BondFuturePricingContext(
+      ResolvedBondFuture future,
+      LegalEntityDiscountingProvider discountingProvider,
+      List<LocalDate> spotSettlementDates,
+      double[] spotCleanPrices,
+      double[] spotAccruedInterests,
+      double[] forwardCleanPrices,
+      double[] deliveryAccruedInterests,
+      List<ImmutableList<Payment>> intermediateCoupons,
+      DiscountingFixedCouponBondProductPricer bondPricer) {
+
+    int size = future.getDeliveryBasket().size();
+    this.future = future;
+    this.discountingProvider = discountingProvider;
+    this.spotSettlementDates = ImmutableList.copyOf(spotSettlementDates);
+    this.conversionFactors = future.getConversionFactors().stream().mapToDouble(Double::doubleValue).toArray();
+    this.spotCleanPrices = spotCleanPrices;
+    this.spotAccruedInterests = spotAccruedInterests;
+    this.forwardCleanPrices = forwardCleanPrices;
+    this.deliveryAccruedInterests = deliveryAccruedInterests;
+    this.intermediateCoupons = ImmutableList.copyOf(intermediateCoupons);
+    // same selection as the future pricer, the first bond reaching the minimum
+    int indexCtd = 0;
+    double priceMin = forwardCleanPrices[0] / conversionFactors[0];
+    for (int i = 1; i < size; i++) {
+      double priceBond = forwardCleanPrices[i] / conversionFactors[i];
+      if (priceBond < priceMin) {
+        priceMin = priceBond;
+        indexCtd = i;
+      }
+    }
+    this.cheapestToDeliverIndex = indexCtd;
+    this.price = priceMin;
+    ResolvedFixedCouponBond ctd = future.getDeliveryBasket().get(indexCtd);
+    double ctdFactor = conversionFactors[indexCtd];
+    this.priceSensitivity = Suppliers.memoize(() -> bondPricer
+        .dirtyPriceSensitivity(ctd, discountingProvider, future.getLastDeliveryDate())
+        .multipliedBy(1d / ctdFactor)
+        .build());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the bond future.
+   *
+   * @return the bond future
+   */
+  public ResolvedBondFuture getFuture() {
+    return future;
+  }
+
+  /**
+   * Gets the currency of the bond future.
+   *
+   * @return the currency
+   */
+  public Currency getCurrency() {
+    return future.getCurrency();
+  }
+
+  /**
+   * Gets the discounting provider used to create the context.
+   *
+   * @return the discounting provider
+   */
+  public LegalEntityDiscountingProvider getDiscountingProvider() {
+    return discountingProvider;
+  }
+
+  /**
+   * Gets the valuation date.
+   *
+   * @return the valuation date
+   */
+  public LocalDate getValuationDate() {
+    return discountingProvider.getValuationDate();
+  }
+
+  /**
+   * Gets the spot settlement dates of the bonds of the delivery basket.
+   *
+   * @return the spot settlement dates
+   */
+  public ImmutableList<LocalDate> getSpotSettlementDates() {
+    return spotSettlementDates;
+  }
+
+  /**
+   * Gets the spot clean prices of the bonds of the delivery basket implied by the curves.
+   *
+   * @return the spot clean prices
+   */
+  public DoubleArray getSpotCleanPrices() {
+    return DoubleArray.copyOf(spotCleanPrices);
+  }
+
+  /**
+   * Gets the clean prices of the bonds of the delivery basket implied by the curves
+   * for delivery at the last delivery date.
+   *
+   * @return the forward clean prices
+   */
+  public DoubleArray getForwardCleanPrices() {
+    return DoubleArray.copyOf(forwardCleanPrices);
+  }
+
+  /**
+   * Gets the index of the cheapest-to-deliver bond in the delivery basket.
+   *
+   * @return the index of the cheapest-to-deliver
+   */
+  public int getCheapestToDeliverIndex() {
+    return cheapestToDeliverIndex;
+  }
+
+  /**
+   * Gets the cheapest-to-deliver bond.
+   *
+   * @return the cheapest-to-deliver
+   */
+  public ResolvedFixedCouponBond getCheapestToDeliver() {
+    return future.getDeliveryBasket().get(cheapestToDeliverIndex);
+  }
+
+  /**
+   * Gets the price of the bond future, in decimal form.
+   * <p>
+   * This is the same as {@link DiscountingBondFutureProductPricer#price}.
+   *
+   * @return the price
+   */
+  public double getPrice() {
+    return price;
+  }
+
+  /**
+   * Checks if the context is valid for the discounting provider.
+   * <p>
+   * The context is valid if the provider is equal to the provider used to create the context.
+   *
+   * @param discountingProvider  the discounting provider
+   * @return true if the context is valid for the provider
+   */
+  public boolean isValidFor(LegalEntityDiscountingProvider discountingProvider) {
+    return this.discountingProvider.equals(discountingProvider);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the price sensitivity of the bond future.
+   * <p>
+   * This is the same as {@link DiscountingBondFutureProductPricer#priceSensitivity}.
+   * The sensitivity is computed once, when first required.
+   *
+   * @return the price curve sensitivity
+   */
+  public PointSensitivities priceSensitivity() {
+    return priceSensitivity.get();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the gross basis of the bonds of the delivery basket, using the spot clean prices implied by the curves.
+   *
+   * @param futurePrice  the price of the bond future, in decimal form
+   * @return the gross basis of each bond
+   */
+  public DoubleArray grossBasis(double futurePrice) {
+    return grossBasis(futurePrice, DoubleArray.ofUnsafe(spotCleanPrices));
+  }
+
+  /**
+   * Calculates the gross basis of the bonds of the delivery basket.
+   * <p>
+   * The gross basis is the spot clean price minus the future price multiplied by the conversion factor.
+   *
+   * @param futurePrice  the price of the bond future, in decimal form
+   * @param spotCleanPrices  the spot clean prices of the bonds, in decimal form
+   * @return the gross basis of each bond
+   */
+  public DoubleArray grossBasis(double futurePrice, DoubleArray spotCleanPrices) {
+    validateSize(spotCleanPrices);
+    return DoubleArray.of(conversionFactors.length,
+        i -> spotCleanPrices.get(i) - futurePrice * conversionFactors[i]);
+  }
+
+  /**
+   * Calculates the net basis of the bonds of the delivery basket, using the spot clean prices implied by the curves.
+   * <p>
+   * The net basis is then the forward clean price minus the future price multiplied by the conversion factor.
+   * It is zero for the cheapest-to-deliver at the price of the bond future implied by the curves.
+   *
+   * @param futurePrice  the price of the bond future, in decimal form
+   * @return the net basis of each bond
+   */
+  public DoubleArray netBasis(double futurePrice) {
+    return netBasis(futurePrice, DoubleArray.ofUnsafe(spotCleanPrices));
+  }
+
+  /**
+   * Calculates the net basis of the bonds of the delivery basket.
+   * <p>
+   * The net basis is the gross basis minus the carry. The carry is the spot clean price implied by the curves
+   * minus the clean price for delivery at the last delivery date implied by the curves.
+   *
+   * @param futurePrice  the price of the bond future, in decimal form
+   * @param spotCleanPrices  the spot clean prices of the bonds, in decimal form
+   * @return the net basis of each bond
+   */
+  public DoubleArray netBasis(double futurePrice, DoubleArray spotCleanPrices) {
+    validateSize(spotCleanPrices);
+    return DoubleArray.of(conversionFactors.length,
+        i -> spotCleanPrices.get(i) - futurePrice * conversionFactors[i] -
+            (this.spotCleanPrices[i] - forwardCleanPrices[i]));
+  }
+
+  /**
+   * Calculates the implied repo rates of the bonds of the delivery basket,
+   * using the spot clean prices implied by the curves.
+   *
+   * @param futurePrice  the price of the bond future, in decimal form
+   * @param dayCount  the day count of the repo rates
+   * @return the implied repo rate of each bond
+   */
+  public DoubleArray impliedRepoRates(double futurePrice, DayCount dayCount) {
+    return impliedRepoRates(futurePrice, DoubleArray.ofUnsafe(spotCleanPrices), dayCount);
+  }
+
+  /**
+   * Calculates the implied repo rates of the bonds of the delivery basket.
+   * <p>
+   * The implied repo rate is the simple rate, between the spot settlement date and the last delivery date,
+   * earned by buying the bond at the spot dirty price and delivering it at the invoice price.
+   * The invoice price is the future price multiplied by the conversion factor plus the accrued interest at delivery.
+   * The coupons paid before delivery are received by the holder and reinvested at the same rate.
+   * <p>
+   * The bond with the highest implied repo rate is the cheapest-to-deliver at the market prices.
+   *
+   * @param futurePrice  the price of the bond future, in decimal form
+   * @param spotCleanPrices  the spot clean prices of the bonds, in decimal form
+   * @param dayCount  the day count of the repo rates
+   * @return the implied repo rate of each bond
+   */
+  public DoubleArray impliedRepoRates(double futurePrice, DoubleArray spotCleanPrices, DayCount dayCount) {
+    validateSize(spotCleanPrices);
+    ArgChecker.notNull(dayCount, "dayCount");
+    LocalDate deliveryDate = future.getLastDeliveryDate();
+    return DoubleArray.of(conversionFactors.length, i -> {
+      double spotDirtyPrice = spotCleanPrices.get(i) + spotAccruedInterests[i];
+      double invoicePrice = futurePrice * conversionFactors[i] + deliveryAccruedInterests[i];
+      double couponIncome = 0d;
+      double couponReinvested = 0d;
+      for (Payment coupon : intermediateCoupons.get(i)) {
+        couponIncome += coupon.getAmount();
+        couponReinvested += coupon.getAmount() * dayCount.yearFraction(coupon.getDate(), deliveryDate);
+      }
+      double yearFraction = dayCount.yearFraction(spotSettlementDates.get(i), deliveryDate);
+      return (invoicePrice + couponIncome - spotDirtyPrice) / (spotDirtyPrice * yearFraction - couponReinvested);
+    });
+  }
+
+  // checks the prices match the basket
+  private void validateSize(DoubleArray spotCleanPrices) {
+    ArgChecker.notNull(spotCleanPrices, "spotCleanPrices");
+    ArgChecker.isTrue(spotCleanPrices.size() == conversionFactors.length,
+        "Size of spotCleanPrices must match the delivery basket, expected {}, was {}",
+        conversionFactors.length, spotCleanPrices.size());
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "BondFuturePricingContext[" + future.getSecurityId() + ", valuationDate=" + getValuationDate() +
+        ", ctd=" + getCheapestToDeliver().getSecurityId() + "]";
+  }
+
+}
@@ -0,0 +1,351 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.bond;
+
+import static com.opengamma.strata.product.bond.FixedCouponBondYieldConvention.DE_BONDS;
+import static com.opengamma.strata.product.bond.FixedCouponBondYieldConvention.GB_BUMP_DMO;
+import static com.opengamma.strata.product.bond.FixedCouponBondYieldConvention.JP_SIMPLE;
+import static com.opengamma.strata.product.bond.FixedCouponBondYieldConvention.US_STREET;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.pricer.CompoundedRateType;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.product.bond.FixedCouponBondPaymentPeriod;
+import com.opengamma.strata.product.bond.FixedCouponBondYieldConvention;
+import com.opengamma.strata.product.bond.ResolvedFixedCouponBond;
+
+/**
+ * Fixed coupon bond with its cash flows precomputed for a settlement date.
+ * <p>
+ * The bond analytics compute the yield, the z-spread and the prices of many bonds with the same settlement date.
+ * The periods of the bond are read once when the instance is created, and the cash flows are stored in arrays.
+ * The prices and their derivatives are then computed with the same formulas as
+ * {@link DiscountingFixedCouponBondProductPricer}.
+ */
+final class CompiledFixedCouponBond {
+
+  /**
+   * The year fraction below which the discount factor is one, as in {@link DiscountFactors}.
+   */
+  private static final double EFFECTIVE_ZERO = 1e-10;
+
+  /**
+   * The bond.
+   */
+  private final ResolvedFixedCouponBond bond;
+  /**
+   * The settlement date.
+   */
+  private final LocalDate settlementDate;
+  /**
+   * The yield convention.
+   */
+  private final FixedCouponBondYieldConvention yieldConvention;
+  /**
+   * The number of coupons per year.
+   */
+  private final double couponsPerYear;
+  /**
+   * The accrued interest per unit notional.
+   */
+  private final double accruedInterest;
+  /**
+   * The fraction of the current period remaining to the next coupon.
+   */
+  private final double factorToNextCoupon;
+  /**
+   * The coupons per unit notional used in the yield formula, in the order of payment.
+   */
+  private final double[] yieldCoupons;
+  /**
+   * The final coupon per unit notional, only used if there is a single coupon remaining.
+   */
+  private final double finalCoupon;
+  /**
+   * Whether there is a single coupon remaining.
+   */
+  private final boolean singleCoupon;
+  /**
+   * The year fraction from the settlement date to the maturity, only used for the simple yield convention.
+   */
+  private final double timeToMaturity;
+  /**
+   * The coupon amounts received by the holder at settlement.
+   */
+  private final double[] couponAmounts;
+  /**
+   * The payment dates of the coupon amounts.
+   */
+  private final LocalDate[] couponDates;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   *
+   * @param bond  the bond
+   * @param settlementDate  the settlement date
+   * @param productPricer  the product pricer
+   * @return the instance
+   */
+  static CompiledFixedCouponBond of(
+      ResolvedFixedCouponBond bond,
+      LocalDate settlementDate,
+      DiscountingFixedCouponBondProductPricer productPricer) {
+
+    FixedCouponBondYieldConvention yieldConvention = bond.getYieldConvention();
+    if (!yieldConvention.equals(US_STREET) && !yieldConvention.equals(GB_BUMP_DMO) &&
+        !yieldConvention.equals(DE_BONDS) && !yieldConvention.equals(JP_SIMPLE)) {
+      throw new UnsupportedOperationException("The convention " + yieldConvention.name() + " is not supported.");
+    }
+    ImmutableList<FixedCouponBondPaymentPeriod> payments = bond.getPeriodicPayments();
+    int couponIndex = couponIndex(payments, settlementDate);
+    double accruedYearFraction = productPricer.accruedYearFraction(bond, settlementDate);
+    double accruedInterest = accruedYearFraction * bond.getFixedRate();
+    // yield formula
+    double factorToNextCoupon = 0d;
+    if (!payments.get(0).getStartDate().isAfter(settlementDate)) {
+      double factorPeriod = payments.get(couponIndex).getYearFraction();
+      factorToNextCoupon = (factorPeriod - accruedYearFraction) / factorPeriod;
+    }
+    double[] yieldCoupons = new double[payments.size()];
+    int nYieldCoupons = 0;
+    for (FixedCouponBondPaymentPeriod period : payments) {
+      if ((period.hasExCouponPeriod() && !settlementDate.isAfter(period.getDetachmentDate())) ||
+          (!period.hasExCouponPeriod() && period.getPaymentDate().isAfter(settlementDate))) {
+        yieldCoupons[nYieldCoupons++] = bond.getFixedRate() * period.getYearFraction();
+      }
+    }
+    FixedCouponBondPaymentPeriod finalPeriod = payments.get(payments.size() - 1);
+    double finalCoupon = finalPeriod.getFixedRate() * finalPeriod.getYearFraction();
+    boolean singleCoupon = payments.size() - couponIndex == 1 &&
+        (yieldConvention.equals(US_STREET) || yieldConvention.equals(DE_BONDS));
+    double timeToMaturity = 0d;
+    if (yieldConvention.equals(JP_SIMPLE)) {
+      timeToMaturity = bond.getDayCount().relativeYearFraction(settlementDate, bond.getUnadjustedEndDate());
+    }
+    // cash flows, the nominal being the last one
+    double[] couponAmounts = new double[payments.size() + 1];
+    LocalDate[] couponDates = new LocalDate[payments.size() + 1];
+    int nCashFlows = 0;
+    for (FixedCouponBondPaymentPeriod period : payments) {
+      if (period.getDetachmentDate().isAfter(settlementDate)) {
+        couponAmounts[nCashFlows] = period.getFixedRate() * period.getNotional() * period.getYearFraction();
+        couponDates[nCashFlows++] = period.getPaymentDate();
+      }
+    }
+    couponAmounts[nCashFlows] = bond.getNominalPayment().getAmount();
+    couponDates[nCashFlows++] = bond.getNominalPayment().getDate();
+    return new CompiledFixedCouponBond(
+        bond,
+        settlementDate,
+        yieldConvention,
+        bond.getFrequency().eventsPerYear(),
+        accruedInterest,
+        factorToNextCoupon,
+        Arrays.copyOf(yieldCoupons, nYieldCoupons),
+        finalCoupon,
+        singleCoupon,
+        timeToMaturity,
+        Arrays.copyOf(couponAmounts, nCashFlows),
+        Arrays.copyOf(couponDates, nCashFlows));
+  }
+
+  // same as DiscountingFixedCouponBondProductPricer
+  private static int couponIndex(List<FixedCouponBondPaymentPeriod> list, LocalDate date) {
+    for (int loopcpn = 0; loopcpn < list.size(); ++loopcpn) {
+      if (list.get(loopcpn).getEndDate().isAfter(date)) {
+        return loopcpn;
+      }
+    }
+    return 0;
+  }
+
+  // private constructor
+  private CompiledFixedCouponBond(
+      ResolvedFixedCouponBond bond,
+      LocalDate settlementDate,
+      FixedCouponBondYieldConvention yieldConvention,
+      double couponsPerYear,
+      double accruedInterest,
+      double factorToNextCoupon,
+      double[] yieldCoupons,
+      double finalCoupon,
+      boolean singleCoupon,
+      double timeToMaturity,
+      double[] couponAmounts,
+      LocalDate[] couponDates) {
+
+    this.bond = bond;
+    this.settlementDate = settlementDate;
+    this.yieldConvention = yieldConvention;
+    this.couponsPerYear = couponsPerYear;
+    this.accruedInterest = accruedInterest;
+    this.factorToNextCoupon = factorToNextCoupon;
+    this.yieldCoupons = yieldCoupons;
+    this.finalCoupon = finalCoupon;
+    this.singleCoupon = singleCoupon;
+    this.timeToMaturity = timeToMaturity;
+    this.couponAmounts = couponAmounts;
+    this.couponDates = couponDates;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the bond.
+   *
+   * @return the bond
+   */
+  ResolvedFixedCouponBond getBond() {
+    return bond;
+  }
+
+  /**
+   * Gets the accrued interest per unit notional.
+   *
+   * @return the accrued interest
+   */
+  double getAccruedInterest() {
+    return accruedInterest;
+  }
+
+  /**
+   * Checks if the yield is obtained by a closed formula.
+   *
+   * @return true if the yield convention is simple
+   */
+  boolean isSimpleYield() {
+    return yieldConvention.equals(JP_SIMPLE);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the dirty price from yield, and its first derivative with respect to the yield.
+   * <p>
+   * This is the same as {@link DiscountingFixedCouponBondProductPricer#dirtyPriceFromYield}.
+   *
+   * @param yield  the yield
+   * @return the dirty price and its derivative
+   */
+  double[] dirtyPriceFromYield(double yield) {
+    if (singleCoupon) {
+      double denominator = 1d + factorToNextCoupon * yield / couponsPerYear;
+      return new double[] {
+          (1d + finalCoupon) / denominator,
+          -(1d + finalCoupon) * factorToNextCoupon / couponsPerYear / (denominator * denominator)};
+    }
+    if (yieldConvention.equals(JP_SIMPLE)) {
+      if (settlementDate.isAfter(bond.getUnadjustedEndDate())) {
+        return new double[] {0d, 0d};
+      }
+      double denominator = 1d + yield * timeToMaturity;
+      double cleanNumerator = 1d + bond.getFixedRate() * timeToMaturity;
+      return new double[] {
+          cleanNumerator / denominator + accruedInterest,
+          -cleanNumerator * timeToMaturity / (denominator * denominator)};
+    }
+    double factorOnPeriod = 1d + yield / couponsPerYear;
+    double pvAtFirstCoupon = 0d;
+    double pvAtFirstCouponDerivative = 0d;
+    int nbCoupon = yieldCoupons.length;
+    for (int pow = 0; pow < nbCoupon; pow++) {
+      pvAtFirstCoupon += yieldCoupons[pow] / Math.pow(factorOnPeriod, pow);
+      pvAtFirstCouponDerivative -= pow * yieldCoupons[pow] / Math.pow(factorOnPeriod, pow + 1);
+    }
+    pvAtFirstCoupon += 1d / Math.pow(factorOnPeriod, nbCoupon - 1);
+    pvAtFirstCouponDerivative -= (nbCoupon - 1) / Math.pow(factorOnPeriod, nbCoupon);
+    double discount = Math.pow(factorOnPeriod, -factorToNextCoupon);
+    double price = pvAtFirstCoupon * discount;
+    double derivative = (pvAtFirstCouponDerivative * discount - factorToNextCoupon * price / factorOnPeriod) /
+        couponsPerYear;
+    return new double[] {price, derivative};
+  }
+
+  /**
+   * Calculates the yield from the dirty price with the simple yield convention.
+   * <p>
+   * This is the same as {@link DiscountingFixedCouponBondProductPricer#yieldFromDirtyPrice}.
+   *
+   * @param dirtyPrice  the dirty price
+   * @return the yield
+   */
+  double simpleYieldFromDirtyPrice(double dirtyPrice) {
+    double cleanPrice = dirtyPrice - accruedInterest;
+    return (bond.getFixedRate() + (1d - cleanPrice) / timeToMaturity) / cleanPrice;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the year fractions and the discount factors of the cash flows.
+   * <p>
+   * The discount factors are those of the issuer curve.
+   * The cash flows paid before the valuation date have a zero discount factor.
+   *
+   * @param discountFactors  the issuer discount factors
+   * @return the year fractions and the discount factors
+   */
+  double[][] cashFlowDiscounting(DiscountFactors discountFactors) {
+    int nCashFlows = couponAmounts.length;
+    double[] yearFractions = new double[nCashFlows];
+    double[] dfs = new double[nCashFlows];
+    for (int i = 0; i < nCashFlows; i++) {
+      if (!couponDates[i].isBefore(discountFactors.getValuationDate())) {
+        yearFractions[i] = discountFactors.relativeYearFraction(couponDates[i]);
+        dfs[i] = discountFactors.discountFactor(yearFractions[i]);
+      }
+    }
+    return new double[][] {yearFractions, dfs};
+  }
+
+  /**
+   * Calculates the present value with z-spread, and its first derivative with respect to the z-spread.
+   * <p>
+   * The discount factors are those returned by {@link #cashFlowDiscounting(DiscountFactors)}.
+   * This is the same as {@link DiscountingFixedCouponBondProductPricer#presentValueWithZSpread}
+   * with the settlement date as reference date.
+   *
+   * @param discounting  the year fractions and the discount factors
+   * @param zSpread  the z-spread
+   * @param compoundedRateType  the compounded rate type
+   * @param periodsPerYear  the number of periods per year
+   * @return the present value and its derivative
+   */
+  double[] presentValueWithZSpread(
+      double[][] discounting,
+      double zSpread,
+      CompoundedRateType compoundedRateType,
+      int periodsPerYear) {
+
+    double[] yearFractions = discounting[0];
+    double[] dfs = discounting[1];
+    double pv = 0d;
+    double derivative = 0d;
+    for (int i = 0; i < couponAmounts.length; i++) {
+      double yearFraction = yearFractions[i];
+      if (dfs[i] == 0d) {
+        continue;
+      }
+      if (Math.abs(yearFraction) < EFFECTIVE_ZERO) {
+        pv += couponAmounts[i];
+      } else if (compoundedRateType.equals(CompoundedRateType.PERIODIC)) {
+        double ratePeriodicAnnualPlusOne =
+            Math.pow(dfs[i], -1d / periodsPerYear / yearFraction) + zSpread / periodsPerYear;
+        double df = Math.pow(ratePeriodicAnnualPlusOne, -periodsPerYear * yearFraction);
+        pv += couponAmounts[i] * df;
+        derivative -= couponAmounts[i] * yearFraction * df / ratePeriodicAnnualPlusOne;
+      } else {
+        double df = dfs[i] * Math.exp(-zSpread * yearFraction);
+        pv += couponAmounts[i] * df;
+        derivative -= couponAmounts[i] * yearFraction * df;
+      }
+    }
+    return new double[] {pv, derivative};
+  }
+
+}
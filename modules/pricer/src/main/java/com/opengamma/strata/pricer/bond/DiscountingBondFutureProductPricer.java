@@ -5,13 +5,22 @@
  */
 package com.opengamma.strata.pricer.bond;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
 import com.google.common.collect.ImmutableList;
 import com.google.common.primitives.Doubles;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Payment;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.ParallelTasks;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.pricer.CompoundedRateType;
 import com.opengamma.strata.product.bond.FixedCouponBond;
+import com.opengamma.strata.product.bond.FixedCouponBondPaymentPeriod;
 import com.opengamma.strata.product.bond.ResolvedBondFuture;
 import com.opengamma.strata.product.bond.ResolvedFixedCouponBond;
 
@@ -24,6 +33,11 @@ import com.opengamma.strata.product.bond.ResolvedFixedCouponBond;
  * Strata uses <i>decimal prices</i> for bond futures in the trade model, pricers and market data.
  * This is coherent with the pricing of {@link FixedCouponBond}. The bond futures delivery is a bond
  * for an amount computed from the bond future price, a conversion factor and the accrued interest.
+ * 
+ * <h4>Delivery basket analytics</h4>
+ * The analytics of the delivery basket, including the cheapest-to-deliver, the gross and net basis and
+ * the implied repo rates, are provided by {@link BondFuturePricingContext}, see {@link #pricingContext}.
+ * The bonds of the basket can be priced in parallel by an executor, see {@link #withExecutor(Executor)}.
  */
 public final class DiscountingBondFutureProductPricer {
 
@@ -37,6 +51,10 @@ public final class DiscountingBondFutureProductPricer {
    * Underlying pricer.
    */
   private final DiscountingFixedCouponBondProductPricer bondPricer;
+  /**
+   * The executor used to price the delivery basket in the pricing context, null for sequential processing.
+   */
+  private final Executor executor;
 
   /**
    * Creates an instance.
@@ -44,7 +62,27 @@ public final class DiscountingBondFutureProductPricer {
    * @param bondPricer  the pricer for {@link ResolvedFixedCouponBond}.
    */
   public DiscountingBondFutureProductPricer(DiscountingFixedCouponBondProductPricer bondPricer) {
+    this(bondPricer, null);
+  }
+
+  // private constructor
+  private DiscountingBondFutureProductPricer(DiscountingFixedCouponBondProductPricer bondPricer, Executor executor) {
     this.bondPricer = ArgChecker.notNull(bondPricer, "bondPricer");
+    this.executor = executor;
+  }
+
+  /**
+   * Returns a copy of this pricer which prices the delivery basket with the executor
+   * when creating the pricing context.
+   * <p>
+   * Each bond of the basket is then a separate task of the executor.
+   * The results do not depend on the executor.
+   *
+   * @param executor  the executor, null for sequential processing
+   * @return the pricer
+   */
+  public DiscountingBondFutureProductPricer withExecutor(Executor executor) {
+    return new DiscountingBondFutureProductPricer(bondPricer, executor);
   }
 
   //-------------------------------------------------------------------------
@@ -221,4 +259,70 @@ public final class DiscountingBondFutureProductPricer {
     return pointSensi.multipliedBy(1d / future.getConversionFactors().get(indexCTD)).build();
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Creates the pricing context of the bond future product.
+   * <p>
+   * Each bond of the delivery basket is priced once, for its spot settlement date and for the last delivery date.
+   * The context provides the price, the price sensitivity, the cheapest-to-deliver, the gross and net basis
+   * and the implied repo rates, without pricing the bonds again.
+   * The context can be reused, for example by {@link BlackBondFutureOptionMarginedProductPricer},
+   * as long as {@link BondFuturePricingContext#isValidFor} is true.
+   * 
+   * @param future  the future
+   * @param discountingProvider  the discounting provider
+   * @param refData  the reference data, used to calculate the spot settlement dates of the bonds
+   * @return the pricing context
+   */
+  public BondFuturePricingContext pricingContext(
+      ResolvedBondFuture future,
+      LegalEntityDiscountingProvider discountingProvider,
+      ReferenceData refData) {
+
+    ImmutableList<ResolvedFixedCouponBond> basket = future.getDeliveryBasket();
+    int size = basket.size();
+    LocalDate valuationDate = discountingProvider.getValuationDate();
+    LocalDate deliveryDate = future.getLastDeliveryDate();
+    LocalDate[] spotSettlementDates = new LocalDate[size];
+    double[] spotCleanPrices = new double[size];
+    double[] spotAccruedInterests = new double[size];
+    double[] forwardCleanPrices = new double[size];
+    double[] deliveryAccruedInterests = new double[size];
+    List<ImmutableList<Payment>> intermediateCoupons = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      intermediateCoupons.add(ImmutableList.of());
+    }
+    ParallelTasks.forEach(size, 1, i -> {
+      ResolvedFixedCouponBond bond = basket.get(i);
+      double notional = bond.getNotional();
+      LocalDate spotDate = bond.getSettlementDateOffset().adjust(valuationDate, refData);
+      double spotDirtyPrice = bondPricer.dirtyPriceFromCurves(bond, discountingProvider, spotDate);
+      double forwardDirtyPrice = bondPricer.dirtyPriceFromCurves(bond, discountingProvider, deliveryDate);
+      spotSettlementDates[i] = spotDate;
+      spotAccruedInterests[i] = bondPricer.accruedInterest(bond, spotDate) / notional;
+      spotCleanPrices[i] = spotDirtyPrice - spotAccruedInterests[i];
+      deliveryAccruedInterests[i] = bondPricer.accruedInterest(bond, deliveryDate) / notional;
+      forwardCleanPrices[i] = forwardDirtyPrice - deliveryAccruedInterests[i];
+      ImmutableList.Builder<Payment> coupons = ImmutableList.builder();
+      for (FixedCouponBondPaymentPeriod period : bond.getPeriodicPayments()) {
+        LocalDate detachmentDate = period.getDetachmentDate();
+        if (detachmentDate.isAfter(spotDate) && !detachmentDate.isAfter(deliveryDate)) {
+          double amount = period.getFixedRate() * period.getYearFraction() * period.getNotional() / notional;
+          coupons.add(Payment.of(bond.getCurrency(), amount, period.getPaymentDate()));
+        }
+      }
+      intermediateCoupons.set(i, coupons.build());
+    }, executor);
+    return new BondFuturePricingContext(
+        future,
+        discountingProvider,
+        ImmutableList.copyOf(spotSettlementDates),
+        spotCleanPrices,
+        spotAccruedInterests,
+        forwardCleanPrices,
+        deliveryAccruedInterests,
+        intermediateCoupons,
+        bondPricer);
+  }
+
 }
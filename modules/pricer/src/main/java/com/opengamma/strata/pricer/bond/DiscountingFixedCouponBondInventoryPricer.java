@@ -0,0 +1,345 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.bond;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.DoubleFunction;
+import java.util.function.Function;
+import java.util.function.IntToDoubleFunction;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.ParallelTasks;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.math.impl.rootfinding.BracketRoot;
+import com.opengamma.strata.math.impl.rootfinding.BrentSingleRootFinder;
+import com.opengamma.strata.math.impl.rootfinding.RealSingleRootFinder;
+import com.opengamma.strata.pricer.CompoundedRateType;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.product.bond.ResolvedFixedCouponBond;
+
+/**
+ * Pricer for inventories of fixed coupon bonds.
+ * <p>
+ * This computes the prices, yields and z-spreads of many bonds with the same settlement date.
+ * The bonds are first compiled into a {@link FixedCouponBondInventory}, which can be reused for all the
+ * calculations with the same settlement date. The calculations then use the primitive cash flow arrays
+ * of the inventory, without reading the periods of the bonds again.
+ * <p>
+ * The yields and z-spreads are solved by Newton iterations, using the analytic derivative of the price.
+ * If the iterations do not converge, the root is bracketed and found by the same root finder as
+ * {@link DiscountingFixedCouponBondProductPricer}. The results are the same as those of
+ * {@link DiscountingFixedCouponBondProductPricer}, within the accuracy of the root finders.
+ * <p>
+ * The bonds can be processed in parallel by an executor, see {@link #withExecutor(Executor)}.
+ * The bonds are then split in blocks, each block being a separate task of the executor.
+ * <p>
+ * Strata uses <i>decimal prices</i> for bonds. For example, a price of 99.32% is represented in Strata by 0.9932.
+ */
+public class DiscountingFixedCouponBondInventoryPricer {
+
+  /**
+   * Default implementation.
+   */
+  public static final DiscountingFixedCouponBondInventoryPricer DEFAULT =
+      new DiscountingFixedCouponBondInventoryPricer(DiscountingFixedCouponBondProductPricer.DEFAULT, null);
+
+  /**
+   * The number of bonds in each task of the executor.
+   */
+  private static final int BLOCK_SIZE = 512;
+  /**
+   * The maximum number of Newton iterations.
+   */
+  private static final int MAX_ITERATIONS = 50;
+  /**
+   * The absolute tolerance of the Newton iterations.
+   */
+  private static final double TOLERANCE = 1.0e-12;
+  /**
+   * The root finder.
+   */
+  private static final RealSingleRootFinder ROOT_FINDER = new BrentSingleRootFinder();
+  /**
+   * Brackets a root.
+   */
+  private static final BracketRoot ROOT_BRACKETER = new BracketRoot();
+
+  /**
+   * The product pricer.
+   */
+  private final DiscountingFixedCouponBondProductPricer productPricer;
+  /**
+   * The executor used to process the bonds, null for sequential processing.
+   */
+  private final Executor executor;
+
+  /**
+   * Creates an instance.
+   *
+   * @param productPricer  the pricer for {@link ResolvedFixedCouponBond}
+   */
+  public DiscountingFixedCouponBondInventoryPricer(DiscountingFixedCouponBondProductPricer productPricer) {
+    this(productPricer, null);
+  }
+
+  // private constructor
+  private DiscountingFixedCouponBondInventoryPricer(
+      DiscountingFixedCouponBondProductPricer productPricer,
+      Executor executor) {
+
+    this.productPricer = ArgChecker.notNull(productPricer, "productPricer");
+    this.executor = executor;
+  }
+
+  /**
+   * Returns a copy of this pricer which processes the bonds with the executor.
+   * <p>
+   * The results do not depend on the executor.
+   *
+   * @param executor  the executor, null for sequential processing
+   * @return the pricer
+   */
+  public DiscountingFixedCouponBondInventoryPricer withExecutor(Executor executor) {
+    return new DiscountingFixedCouponBondInventoryPricer(productPricer, executor);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Compiles the bonds for the settlement date.
+   * <p>
+   * The settlement date must be within the range of each bond.
+   *
+   * @param bonds  the bonds
+   * @param settlementDate  the settlement date
+   * @return the inventory
+   */
+  public FixedCouponBondInventory compile(List<ResolvedFixedCouponBond> bonds, LocalDate settlementDate) {
+    ArgChecker.noNulls(bonds, "bonds");
+    ArgChecker.notNull(settlementDate, "settlementDate");
+    CompiledFixedCouponBond[] compiledBonds = new CompiledFixedCouponBond[bonds.size()];
+    ParallelTasks.forEach(
+        bonds.size(),
+        BLOCK_SIZE,
+        i -> compiledBonds[i] = CompiledFixedCouponBond.of(bonds.get(i), settlementDate, productPricer),
+        executor);
+    return new FixedCouponBondInventory(settlementDate, Arrays.asList(compiledBonds));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the dirty prices of the bonds from their clean prices.
+   *
+   * @param inventory  the inventory
+   * @param cleanPrices  the clean prices, in the order of the bonds
+   * @return the dirty prices
+   */
+  public DoubleArray dirtyPricesFromCleanPrices(FixedCouponBondInventory inventory, DoubleArray cleanPrices) {
+    checkSize(inventory, cleanPrices, "cleanPrices");
+    return cleanPrices.mapWithIndex((i, price) -> price + inventory.getCompiledBond(i).getAccruedInterest());
+  }
+
+  /**
+   * Calculates the clean prices of the bonds from their dirty prices.
+   *
+   * @param inventory  the inventory
+   * @param dirtyPrices  the dirty prices, in the order of the bonds
+   * @return the clean prices
+   */
+  public DoubleArray cleanPricesFromDirtyPrices(FixedCouponBondInventory inventory, DoubleArray dirtyPrices) {
+    checkSize(inventory, dirtyPrices, "dirtyPrices");
+    return dirtyPrices.mapWithIndex((i, price) -> price - inventory.getCompiledBond(i).getAccruedInterest());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the dirty prices of the bonds from their yields.
+   * <p>
+   * This is the same as {@link DiscountingFixedCouponBondProductPricer#dirtyPriceFromYield} for each bond.
+   *
+   * @param inventory  the inventory
+   * @param yields  the yields, in the order of the bonds
+   * @return the dirty prices
+   */
+  public DoubleArray dirtyPricesFromYields(FixedCouponBondInventory inventory, DoubleArray yields) {
+    checkSize(inventory, yields, "yields");
+    return evaluate(inventory.size(), i -> inventory.getCompiledBond(i).dirtyPriceFromYield(yields.get(i))[0]);
+  }
+
+  /**
+   * Calculates the yields of the bonds from their dirty prices.
+   * <p>
+   * This is the same as {@link DiscountingFixedCouponBondProductPricer#yieldFromDirtyPrice} for each bond.
+   *
+   * @param inventory  the inventory
+   * @param dirtyPrices  the dirty prices, in the order of the bonds
+   * @return the yields
+   */
+  public DoubleArray yieldsFromDirtyPrices(FixedCouponBondInventory inventory, DoubleArray dirtyPrices) {
+    checkSize(inventory, dirtyPrices, "dirtyPrices");
+    return evaluate(inventory.size(), i -> {
+      CompiledFixedCouponBond bond = inventory.getCompiledBond(i);
+      double dirtyPrice = dirtyPrices.get(i);
+      if (bond.isSimpleYield()) {
+        return bond.simpleYieldFromDirtyPrice(dirtyPrice);
+      }
+      return solve(bond::dirtyPriceFromYield, dirtyPrice, bond.getBond().getFixedRate(), 0d, 0.2d);
+    });
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the dirty prices of the bonds from the curves.
+   * <p>
+   * This is the same as {@link DiscountingFixedCouponBondProductPricer#dirtyPriceFromCurves} for each bond,
+   * with the settlement date of the inventory.
+   *
+   * @param inventory  the inventory
+   * @param provider  the discounting provider
+   * @return the dirty prices
+   */
+  public DoubleArray dirtyPricesFromCurves(
+      FixedCouponBondInventory inventory,
+      LegalEntityDiscountingProvider provider) {
+
+    ArgChecker.notNull(inventory, "inventory");
+    DoubleArray zSpreads = DoubleArray.filled(inventory.size());
+    return dirtyPricesFromCurvesWithZSpreads(inventory, provider, zSpreads, CompoundedRateType.CONTINUOUS, 0);
+  }
+
+  /**
+   * Calculates the dirty prices of the bonds from the curves with z-spreads.
+   * <p>
+   * This is the same as {@link DiscountingFixedCouponBondProductPricer#dirtyPriceFromCurvesWithZSpread}
+   * for each bond, with the settlement date of the inventory.
+   *
+   * @param inventory  the inventory
+   * @param provider  the discounting provider
+   * @param zSpreads  the z-spreads, in the order of the bonds
+   * @param compoundedRateType  the compounded rate type
+   * @param periodsPerYear  the number of periods per year
+   * @return the dirty prices
+   */
+  public DoubleArray dirtyPricesFromCurvesWithZSpreads(
+      FixedCouponBondInventory inventory,
+      LegalEntityDiscountingProvider provider,
+      DoubleArray zSpreads,
+      CompoundedRateType compoundedRateType,
+      int periodsPerYear) {
+
+    ArgChecker.notNull(provider, "provider");
+    ArgChecker.notNull(compoundedRateType, "compoundedRateType");
+    checkSize(inventory, zSpreads, "zSpreads");
+    LocalDate settlementDate = inventory.getSettlementDate();
+    return evaluate(inventory.size(), i -> {
+      CompiledFixedCouponBond bond = inventory.getCompiledBond(i);
+      double[][] discounting = bond.cashFlowDiscounting(issuerDiscountFactors(bond.getBond(), provider));
+      double factor = priceFactor(bond.getBond(), provider, settlementDate);
+      return bond.presentValueWithZSpread(discounting, zSpreads.get(i), compoundedRateType, periodsPerYear)[0] * factor;
+    });
+  }
+
+  /**
+   * Calculates the z-spreads of the bonds from the curves and their dirty prices.
+   * <p>
+   * This is the same as {@link DiscountingFixedCouponBondProductPricer#zSpreadFromCurvesAndDirtyPrice}
+   * for each bond, with the settlement date of the inventory.
+   * <p>
+   * The discount factors of the cash flows of a bond are computed once, and are then used
+   * for all the iterations of the root finder.
+   *
+   * @param inventory  the inventory
+   * @param provider  the discounting provider
+   * @param dirtyPrices  the dirty prices, in the order of the bonds
+   * @param compoundedRateType  the compounded rate type
+   * @param periodsPerYear  the number of periods per year
+   * @return the z-spreads
+   */
+  public DoubleArray zSpreadsFromCurvesAndDirtyPrices(
+      FixedCouponBondInventory inventory,
+      LegalEntityDiscountingProvider provider,
+      DoubleArray dirtyPrices,
+      CompoundedRateType compoundedRateType,
+      int periodsPerYear) {
+
+    ArgChecker.notNull(provider, "provider");
+    ArgChecker.notNull(compoundedRateType, "compoundedRateType");
+    checkSize(inventory, dirtyPrices, "dirtyPrices");
+    LocalDate settlementDate = inventory.getSettlementDate();
+    return evaluate(inventory.size(), i -> {
+      CompiledFixedCouponBond bond = inventory.getCompiledBond(i);
+      double[][] discounting = bond.cashFlowDiscounting(issuerDiscountFactors(bond.getBond(), provider));
+      double factor = priceFactor(bond.getBond(), provider, settlementDate);
+      DoubleFunction<double[]> price = z -> {
+        double[] pv = bond.presentValueWithZSpread(discounting, z, compoundedRateType, periodsPerYear);
+        return new double[] {pv[0] * factor, pv[1] * factor};
+      };
+      return solve(price, dirtyPrices.get(i), 0d, -0.01d, 0.01d);
+    });
+  }
+
+  //-------------------------------------------------------------------------
+  // the issuer discount factors of the bond
+  private static DiscountFactors issuerDiscountFactors(
+      ResolvedFixedCouponBond bond,
+      LegalEntityDiscountingProvider provider) {
+
+    return DiscountingFixedCouponBondProductPricer.issuerCurveDf(bond, provider).getDiscountFactors();
+  }
+
+  // the factor converting the present value to the dirty price
+  private static double priceFactor(
+      ResolvedFixedCouponBond bond,
+      LegalEntityDiscountingProvider provider,
+      LocalDate settlementDate) {
+
+    double df = DiscountingFixedCouponBondProductPricer.repoCurveDf(bond, provider).discountFactor(settlementDate);
+    return 1d / df / bond.getNotional();
+  }
+
+  // solves function(x) = target, the function returning the value and the first derivative
+  // Newton iterations are used first, then the root is bracketed from the range and found by Brent method
+  private static double solve(
+      DoubleFunction<double[]> function,
+      double target,
+      double guess,
+      double lower,
+      double upper) {
+
+    double x = guess;
+    for (int i = 0; i < MAX_ITERATIONS; i++) {
+      double[] valueAndDerivative = function.apply(x);
+      double step = (valueAndDerivative[0] - target) / valueAndDerivative[1];
+      if (!Double.isFinite(step)) {
+        break;
+      }
+      x -= step;
+      if (Math.abs(step) < TOLERANCE) {
+        return x;
+      }
+    }
+    Function<Double, Double> residual = y -> function.apply(y)[0] - target;
+    double[] range = ROOT_BRACKETER.getBracketedPoints(residual, lower, upper);
+    return ROOT_FINDER.getRoot(residual, range[0], range[1]);
+  }
+
+  // checks the number of values
+  private static void checkSize(FixedCouponBondInventory inventory, DoubleArray values, String name) {
+    ArgChecker.notNull(inventory, "inventory");
+    ArgChecker.notNull(values, name);
+    ArgChecker.isTrue(values.size() == inventory.size(),
+        "Size of {} must match the number of bonds, expected {}, was {}", name, inventory.size(), values.size());
+  }
+
+  //-------------------------------------------------------------------------
+  // evaluates the function for each bond, using the executor if available
+  private DoubleArray evaluate(int size, IntToDoubleFunction function) {
+    return ParallelTasks.evaluateDoubles(size, BLOCK_SIZE, function, executor);
+  }
+
+}
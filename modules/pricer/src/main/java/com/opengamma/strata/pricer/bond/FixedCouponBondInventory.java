@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.bond;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.product.bond.ResolvedFixedCouponBond;
+
+/**
+ * An inventory of fixed coupon bonds compiled for a settlement date.
+ * <p>
+ * The periods of each bond are read once, and the cash flows received by the holder at settlement
+ * are stored in primitive arrays. The inventory is then used by {@link DiscountingFixedCouponBondInventoryPricer}
+ * to compute the prices, yields and z-spreads of all the bonds.
+ * <p>
+ * The inventory only depends on the bonds and the settlement date, not on the market data.
+ * It can therefore be reused for all the calculations with the same settlement date.
+ * Instances are created using {@link DiscountingFixedCouponBondInventoryPricer#compile}.
+ */
+public final class FixedCouponBondInventory {
+
+  /**
+   * The settlement date.
+   */
+  private final LocalDate settlementDate;
+  /**
+   * The compiled bonds.
+   */
+  private final List<CompiledFixedCouponBond> compiledBonds;
+  /**
+   * The bonds.
+   */
+  private final ImmutableList<ResolvedFixedCouponBond> bonds;
+
+  /**
+   * Creates an instance.
+   *
+   * @param settlementDate  the settlement date
+   * @param compiledBonds  the compiled bonds
+   */
+  FixedCouponBondInventory(LocalDate settlementDate, List<CompiledFixedCouponBond> compiledBonds) {
+    this.settlementDate = settlementDate;
+    this.compiledBonds = ImmutableList.copyOf(compiledBonds);
+    this.bonds = compiledBonds.stream()
+        .map(CompiledFixedCouponBond::getBond)
+        .collect(toImmutableList());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the settlement date.
+   *
+   * @return the settlement date
+   */
+  public LocalDate getSettlementDate() {
+    return settlementDate;
+  }
+
+  /**
+   * Gets the bonds, in the order of compilation.
+   *
+   * @return the bonds
+   */
+  public ImmutableList<ResolvedFixedCouponBond> getBonds() {
+    return bonds;
+  }
+
+  /**
+   * Gets the number of bonds.
+   *
+   * @return the number of bonds
+   */
+  public int size() {
+    return compiledBonds.size();
+  }
+
+  /**
+   * Gets the compiled bond at the index.
+   *
+   * @param index  the index
+   * @return the compiled bond
+   */
+  CompiledFixedCouponBond getCompiledBond(int index) {
+    return compiledBonds.get(index);
+  }
+
+}
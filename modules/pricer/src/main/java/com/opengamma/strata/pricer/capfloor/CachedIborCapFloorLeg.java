@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.capfloor;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.product.capfloor.IborCapletFloorletPeriod;
+import com.opengamma.strata.product.capfloor.ResolvedIborCapFloorLeg;
+
+/**
+ * Ibor cap/floor leg with the discount factors and forward rates of its periods precomputed.
+ * <p>
+ * The caplet volatility calibrators price the same caps with many trial volatilities and a fixed rates provider.
+ * The rates provider is queried once when the instance is created.
+ * The present value and the sensitivities are then computed by the period pricer of the calibrator,
+ * using its methods taking the forward rate and the discount factor.
+ */
+final class CachedIborCapFloorLeg {
+
+  /**
+   * The caplet/floorlet periods.
+   */
+  private final List<IborCapletFloorletPeriod> periods;
+  /**
+   * The flags indicating the periods which are paid, and thus have no value.
+   */
+  private final boolean[] paid;
+  /**
+   * The discount factors at the payment dates, zero if the period is paid.
+   */
+  private final double[] discountFactors;
+  /**
+   * The forward rates of the Ibor indices, zero if the period is paid.
+   */
+  private final double[] forwards;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   *
+   * @param capFloorLeg  the cap/floor leg
+   * @param ratesProvider  the rates provider
+   * @return the instance
+   */
+  static CachedIborCapFloorLeg of(ResolvedIborCapFloorLeg capFloorLeg, RatesProvider ratesProvider) {
+    ArgChecker.notNull(capFloorLeg, "capFloorLeg");
+    ArgChecker.notNull(ratesProvider, "ratesProvider");
+    List<IborCapletFloorletPeriod> periods = capFloorLeg.getCapletFloorletPeriods();
+    int nPeriods = periods.size();
+    boolean[] paid = new boolean[nPeriods];
+    double[] discountFactors = new double[nPeriods];
+    double[] forwards = new double[nPeriods];
+    for (int i = 0; i < nPeriods; ++i) {
+      IborCapletFloorletPeriod period = periods.get(i);
+      paid[i] = ratesProvider.getValuationDate().isAfter(period.getPaymentDate());
+      if (!paid[i]) {
+        discountFactors[i] = ratesProvider.discountFactor(period.getCurrency(), period.getPaymentDate());
+        forwards[i] = ratesProvider.iborIndexRates(period.getIndex()).rate(period.getIborRate().getObservation());
+      }
+    }
+    return new CachedIborCapFloorLeg(periods, paid, discountFactors, forwards);
+  }
+
+  // private constructor
+  private CachedIborCapFloorLeg(
+      List<IborCapletFloorletPeriod> periods,
+      boolean[] paid,
+      double[] discountFactors,
+      double[] forwards) {
+
+    this.periods = periods;
+    this.paid = paid;
+    this.discountFactors = discountFactors;
+    this.forwards = forwards;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value of the periods selected by the filter.
+   *
+   * @param periodPricer  the period pricer
+   * @param volatilities  the volatilities
+   * @param filter  the filter selecting the periods
+   * @return the present value
+   */
+  double presentValue(
+      VolatilityIborCapletFloorletPeriodPricer periodPricer,
+      IborCapletFloorletVolatilities volatilities,
+      Predicate<IborCapletFloorletPeriod> filter) {
+
+    double pv = 0d;
+    for (int i = 0; i < periods.size(); ++i) {
+      IborCapletFloorletPeriod period = periods.get(i);
+      if (!paid[i] && filter.test(period)) {
+        pv += periodPricer.presentValue(period, forwards[i], discountFactors[i], volatilities).getAmount();
+      }
+    }
+    return pv;
+  }
+
+  /**
+   * Calculates the present value.
+   *
+   * @param periodPricer  the period pricer
+   * @param volatilities  the volatilities
+   * @return the present value
+   */
+  double presentValue(
+      VolatilityIborCapletFloorletPeriodPricer periodPricer,
+      IborCapletFloorletVolatilities volatilities) {
+
+    return presentValue(periodPricer, volatilities, period -> true);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value sensitivity to the Black or normal volatilities.
+   *
+   * @param periodPricer  the period pricer
+   * @param volatilities  the volatilities
+   * @return the point sensitivity to the volatilities
+   */
+  PointSensitivityBuilder presentValueSensitivityModelParamsVolatility(
+      VolatilityIborCapletFloorletPeriodPricer periodPricer,
+      IborCapletFloorletVolatilities volatilities) {
+
+    PointSensitivityBuilder builder = PointSensitivityBuilder.none();
+    for (int i = 0; i < periods.size(); ++i) {
+      if (!paid[i]) {
+        builder = builder.combinedWith(periodPricer.presentValueSensitivityModelParamsVolatility(
+            periods.get(i), forwards[i], discountFactors[i], volatilities));
+      }
+    }
+    return builder;
+  }
+
+  /**
+   * Calculates the present value sensitivity of the periods selected by the filter to the SABR model parameters.
+   *
+   * @param periodPricer  the SABR period pricer
+   * @param volatilities  the SABR volatilities
+   * @param filter  the filter selecting the periods
+   * @return the point sensitivity to the SABR model parameters
+   */
+  PointSensitivityBuilder presentValueSensitivityModelParamsSabr(
+      SabrIborCapletFloorletPeriodPricer periodPricer,
+      SabrIborCapletFloorletVolatilities volatilities,
+      Predicate<IborCapletFloorletPeriod> filter) {
+
+    PointSensitivityBuilder builder = PointSensitivityBuilder.none();
+    for (int i = 0; i < periods.size(); ++i) {
+      IborCapletFloorletPeriod period = periods.get(i);
+      if (!paid[i] && filter.test(period)) {
+        builder = builder.combinedWith(periodPricer.presentValueSensitivityModelParamsSabr(
+            period, forwards[i], discountFactors[i], volatilities));
+      }
+    }
+    return builder;
+  }
+
+  /**
+   * Calculates the present value sensitivity to the SABR model parameters.
+   *
+   * @param periodPricer  the SABR period pricer
+   * @param volatilities  the SABR volatilities
+   * @return the point sensitivity to the SABR model parameters
+   */
+  PointSensitivityBuilder presentValueSensitivityModelParamsSabr(
+      SabrIborCapletFloorletPeriodPricer periodPricer,
+      SabrIborCapletFloorletVolatilities volatilities) {
+
+    return presentValueSensitivityModelParamsSabr(periodPricer, volatilities, period -> true);
+  }
+
+}
@@ -12,6 +12,8 @@ import java.time.Period;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 import com.opengamma.strata.basics.ReferenceData;
@@ -51,6 +53,9 @@ import com.opengamma.strata.product.capfloor.ResolvedIborCapFloorLeg;
  * <p>
  * The calibration is conducted once the cap volatilities are converted to cap prices. 
  * Thus the error values in {@code RawOptionData} are applied in the price space rather than the volatility space.
+ * <p>
+ * If an executor is provided, the caps are priced in fixed blocks, each block being a separate task of the executor.
+ * If previously calibrated volatilities of the same type are provided, the fit starts from their caplet volatilities.
  */
 public class DirectIborCapletFloorletVolatilityCalibrator
     extends IborCapletFloorletVolatilityCalibrator {
@@ -78,6 +83,10 @@ public class DirectIborCapletFloorletVolatilityCalibrator
    * The non-linear least square with penalty. 
    */
   private final NonLinearLeastSquareWithPenalty solver;
+  /**
+   * The epsilon parameter.
+   */
+  private final double epsilon;
 
   //-------------------------------------------------------------------------
   /**
@@ -105,17 +114,33 @@ public class DirectIborCapletFloorletVolatilityCalibrator
       double epsilon,
       ReferenceData referenceData) {
 
-    return new DirectIborCapletFloorletVolatilityCalibrator(pricer, epsilon, referenceData);
+    return new DirectIborCapletFloorletVolatilityCalibrator(pricer, epsilon, referenceData, null);
   }
 
   // private constructor
   private DirectIborCapletFloorletVolatilityCalibrator(
       VolatilityIborCapFloorLegPricer pricer,
       double epsilon,
-      ReferenceData referenceData) {
+      ReferenceData referenceData,
+      Executor executor) {
 
-    super(pricer, referenceData);
+    super(pricer, referenceData, executor);
     this.solver = new NonLinearLeastSquareWithPenalty(new CholeskyDecompositionCommons(), epsilon);
+    this.epsilon = epsilon;
+  }
+
+  /**
+   * Returns a copy of this calibrator that prices the caps using an executor.
+   * <p>
+   * The caps are priced in fixed blocks of consecutive caps, each block being a separate task of the executor.
+   * The result does not depend on whether an executor is used.
+   * 
+   * @param executor  the executor used to price the caps
+   * @return the calibrator
+   */
+  public DirectIborCapletFloorletVolatilityCalibrator withExecutor(Executor executor) {
+    ArgChecker.notNull(executor, "executor");
+    return new DirectIborCapletFloorletVolatilityCalibrator(getLegPricer(), epsilon, getReferenceData(), executor);
   }
 
   //-------------------------------------------------------------------------
@@ -126,6 +151,43 @@ public class DirectIborCapletFloorletVolatilityCalibrator
       RawOptionData capFloorData,
       RatesProvider ratesProvider) {
 
+    return calibrate(definition, calibrationDateTime, capFloorData, ratesProvider, Optional.empty());
+  }
+
+  /**
+   * Calibrates caplet volatilities to cap volatilities, starting from previously calibrated volatilities.
+   * <p>
+   * If the previous volatilities are expiry-strike volatilities of the same type as the calibrated volatilities,
+   * the fit starts from their surface values at the caplet nodes.
+   * The standard initial guess is used for the nodes where these values are not positive.
+   * 
+   * @param definition  the caplet volatility definition
+   * @param calibrationDateTime  the calibration time
+   * @param capFloorData  the cap data
+   * @param ratesProvider  the rates provider
+   * @param previousVolatilities  the previously calibrated volatilities
+   * @return the calibration result
+   */
+  @Override
+  public IborCapletFloorletVolatilityCalibrationResult calibrate(
+      IborCapletFloorletVolatilityDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      RawOptionData capFloorData,
+      RatesProvider ratesProvider,
+      IborCapletFloorletVolatilities previousVolatilities) {
+
+    ArgChecker.notNull(previousVolatilities, "previousVolatilities");
+    return calibrate(definition, calibrationDateTime, capFloorData, ratesProvider, Optional.of(previousVolatilities));
+  }
+
+  // calibrates with an optional warm start
+  private IborCapletFloorletVolatilityCalibrationResult calibrate(
+      IborCapletFloorletVolatilityDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      RawOptionData capFloorData,
+      RatesProvider ratesProvider,
+      Optional<IborCapletFloorletVolatilities> previousVolatilities) {
+
     ArgChecker.isTrue(ratesProvider.getValuationDate().equals(calibrationDateTime.toLocalDate()),
         "valuationDate of ratesProvider should be coherent to calibrationDateTime");
     ArgChecker.isTrue(definition instanceof DirectIborCapletFloorletVolatilityDefinition,
@@ -186,14 +248,20 @@ public class DirectIborCapletFloorletVolatilityCalibrator
     }
     InterpolatedNodalSurface baseSurface = InterpolatedNodalSurface.of(
         metadata, capletNodes.getFirst(), capletNodes.getSecond(), capletNodes.getThird(), INTERPOLATOR);
+    DoubleArray initialCapletVols = capletNodes.getThird();
+    if (previousVolatilities.isPresent()) {
+      Class<?> volatilitiesType = volatilitiesFunction.apply(baseSurface).getClass();
+      initialCapletVols = warmStart(previousVolatilities.get(), volatilitiesType, capletNodes);
+    }
     DoubleMatrix penaltyMatrix = directDefinition.computePenaltyMatrix(strikes, capletExpiries);
+    List<CachedIborCapFloorLeg> cachedCaps = cacheCaps(capList, ratesProvider);
     // solve least square
     LeastSquareResults res = solver.solve(
         DoubleArray.copyOf(priceList),
         DoubleArray.copyOf(errorList),
-        getPriceFunction(capList, ratesProvider, volatilitiesFunction, baseSurface),
-        getJacobianFunction(capList, ratesProvider, volatilitiesFunction, baseSurface),
-        capletNodes.getThird(),
+        getPriceFunction(cachedCaps, volatilitiesFunction, baseSurface),
+        getJacobianFunction(cachedCaps, volatilitiesFunction, baseSurface),
+        initialCapletVols,
         penaltyMatrix,
         POSITIVE);
     InterpolatedNodalSurface resSurface = InterpolatedNodalSurface.of(
@@ -215,6 +283,30 @@ public class DirectIborCapletFloorletVolatilityCalibrator
     return func;
   }
 
+  // initial caplet volatilities from the previous volatilities, the standard initial guess if not available
+  private DoubleArray warmStart(
+      IborCapletFloorletVolatilities previousVolatilities,
+      Class<?> volatilitiesType,
+      Triple<DoubleArray, DoubleArray, DoubleArray> capletNodes) {
+
+    Surface previousSurface;
+    if (!previousVolatilities.getClass().equals(volatilitiesType)) {
+      return capletNodes.getThird();
+    } else if (previousVolatilities instanceof BlackIborCapletFloorletExpiryStrikeVolatilities) {
+      previousSurface = ((BlackIborCapletFloorletExpiryStrikeVolatilities) previousVolatilities).getSurface();
+    } else if (previousVolatilities instanceof NormalIborCapletFloorletExpiryStrikeVolatilities) {
+      previousSurface = ((NormalIborCapletFloorletExpiryStrikeVolatilities) previousVolatilities).getSurface();
+    } else if (previousVolatilities instanceof ShiftedBlackIborCapletFloorletExpiryStrikeVolatilities) {
+      previousSurface = ((ShiftedBlackIborCapletFloorletExpiryStrikeVolatilities) previousVolatilities).getSurface();
+    } else {
+      return capletNodes.getThird();
+    }
+    return DoubleArray.of(capletNodes.getThird().size(), n -> {
+      double vol = previousSurface.zValue(capletNodes.getFirst().get(n), capletNodes.getSecond().get(n));
+      return vol > 0d ? vol : capletNodes.getThird().get(n);
+    });
+  }
+
   //-------------------------------------------------------------------------
   private Triple<DoubleArray, DoubleArray, DoubleArray> createCapletNodes(
       InterpolatedNodalSurface capVolSurface,
@@ -257,42 +349,43 @@ public class DirectIborCapletFloorletVolatilityCalibrator
   }
 
   private Function<DoubleArray, DoubleArray> getPriceFunction(
-      List<ResolvedIborCapFloorLeg> capList,
-      RatesProvider ratesProvider,
+      List<CachedIborCapFloorLeg> capList,
       Function<Surface, IborCapletFloorletVolatilities> volatilitiesFunction,
       InterpolatedNodalSurface baseSurface) {
 
     int nCaps = capList.size();
+    VolatilityIborCapletFloorletPeriodPricer periodPricer = getLegPricer().getPeriodPricer();
     Function<DoubleArray, DoubleArray> priceFunction = new Function<DoubleArray, DoubleArray>() {
       @Override
       public DoubleArray apply(DoubleArray capletVols) {
         IborCapletFloorletVolatilities newVols = volatilitiesFunction.apply(baseSurface.withZValues(capletVols));
-        return DoubleArray.of(nCaps, n -> getLegPricer().presentValue(capList.get(n), ratesProvider, newVols).getAmount());
+        return evaluateDoubles(nCaps, n -> capList.get(n).presentValue(periodPricer, newVols));
       }
     };
     return priceFunction;
   }
 
   private Function<DoubleArray, DoubleMatrix> getJacobianFunction(
-      List<ResolvedIborCapFloorLeg> capList,
-      RatesProvider ratesProvider,
+      List<CachedIborCapFloorLeg> capList,
       Function<Surface, IborCapletFloorletVolatilities> volatilitiesFunction,
       InterpolatedNodalSurface baseSurface) {
 
     int nCaps = capList.size();
     int nNodes = baseSurface.getParameterCount();
+    VolatilityIborCapletFloorletPeriodPricer periodPricer = getLegPricer().getPeriodPricer();
     Function<DoubleArray, DoubleMatrix> jacobianFunction = new Function<DoubleArray, DoubleMatrix>() {
       @Override
       public DoubleMatrix apply(DoubleArray capletVols) {
         IborCapletFloorletVolatilities newVols = volatilitiesFunction.apply(baseSurface.withZValues(capletVols));
-        return DoubleMatrix.ofArrayObjects(
+        List<DoubleArray> rows = evaluate(
             nCaps,
-            nNodes,
-            n -> newVols.parameterSensitivity(
-                getLegPricer().presentValueSensitivityModelParamsVolatility(capList.get(n), ratesProvider, newVols).build())
+            n -> newVols
+                .parameterSensitivity(
+                    capList.get(n).presentValueSensitivityModelParamsVolatility(periodPricer, newVols).build())
                 .getSensitivities()
                 .get(0)
                 .getSensitivity());
+        return DoubleMatrix.ofArrayObjects(nCaps, nNodes, rows::get);
       }
     };
     return jacobianFunction;
@@ -11,12 +11,18 @@ import static com.opengamma.strata.market.ValueType.STRIKE;
 
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntToDoubleFunction;
+import java.util.stream.IntStream;
 
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.index.IborIndex;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.ParallelTasks;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.surface.ConstantSurface;
 import com.opengamma.strata.market.surface.Surface;
@@ -30,6 +36,11 @@ import com.opengamma.strata.product.capfloor.ResolvedIborCapFloorLeg;
  */
 abstract class IborCapletFloorletVolatilityCalibrator {
 
+  /**
+   * The number of caps in each task of the executor.
+   */
+  private static final int BLOCK_SIZE = 8;
+
   /**
    * The cap/floor pricer. 
    * <p>
@@ -40,6 +51,10 @@ abstract class IborCapletFloorletVolatilityCalibrator {
    * The reference data.
    */
   private final ReferenceData referenceData;
+  /**
+   * The executor used to price the caps, null for sequential pricing.
+   */
+  private final Executor executor;
 
   /**
    * Constructor with cap pricer and reference data.
@@ -48,8 +63,26 @@ abstract class IborCapletFloorletVolatilityCalibrator {
    * @param referenceData  the reference data
    */
   public IborCapletFloorletVolatilityCalibrator(VolatilityIborCapFloorLegPricer pricer, ReferenceData referenceData) {
+    this(pricer, referenceData, null);
+  }
+
+  /**
+   * Constructor with cap pricer, reference data and executor.
+   * <p>
+   * The caps are priced in fixed blocks, each block being a separate task of the executor if it is not null.
+   * 
+   * @param pricer  the cap pricer
+   * @param referenceData  the reference data
+   * @param executor  the executor used to price the caps, null for sequential pricing
+   */
+  protected IborCapletFloorletVolatilityCalibrator(
+      VolatilityIborCapFloorLegPricer pricer,
+      ReferenceData referenceData,
+      Executor executor) {
+
     this.pricer = ArgChecker.notNull(pricer, "pricer");
     this.referenceData = ArgChecker.notNull(referenceData, "referenceData");
+    this.executor = executor;
   }
 
   /**
@@ -67,6 +100,33 @@ abstract class IborCapletFloorletVolatilityCalibrator {
       RawOptionData capFloorData,
       RatesProvider ratesProvider);
 
+  /**
+   * Calibrates caplet volatilities to cap volatilities, starting from previously calibrated volatilities.
+   * <p>
+   * The previous volatilities, typically the result of the calibration of the previous day,
+   * are used as the starting point of the fit if they are of a type compatible with the definition.
+   * Otherwise the calibration starts from the standard initial guess.
+   * <p>
+   * By default the previous volatilities are ignored.
+   * 
+   * @param definition  the caplet volatility definition
+   * @param calibrationDateTime  the calibration time
+   * @param capFloorData  the cap data
+   * @param ratesProvider  the rates provider
+   * @param previousVolatilities  the previously calibrated volatilities
+   * @return the calibration result
+   */
+  public IborCapletFloorletVolatilityCalibrationResult calibrate(
+      IborCapletFloorletVolatilityDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      RawOptionData capFloorData,
+      RatesProvider ratesProvider,
+      IborCapletFloorletVolatilities previousVolatilities) {
+
+    ArgChecker.notNull(previousVolatilities, "previousVolatilities");
+    return calibrate(definition, calibrationDateTime, capFloorData, ratesProvider);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Gets the reference data.
@@ -86,6 +146,44 @@ abstract class IborCapletFloorletVolatilityCalibrator {
     return pricer;
   }
 
+  /**
+   * Gets the executor.
+   * 
+   * @return the executor, null for sequential pricing
+   */
+  protected Executor getExecutor() {
+    return executor;
+  }
+
+  /**
+   * Evaluates a function for each cap, using the executor if available.
+   * <p>
+   * The caps are split in fixed blocks of consecutive indices, each block being a separate task of the executor.
+   * The results are returned in the order of the indices, whether or not the executor is used.
+   * 
+   * @param <T>  the type of the results
+   * @param nCaps  the number of caps
+   * @param function  the function
+   * @return the results
+   */
+  protected <T> List<T> evaluate(int nCaps, IntFunction<T> function) {
+    return ParallelTasks.evaluate(nCaps, BLOCK_SIZE, function, executor);
+  }
+
+  /**
+   * Evaluates a function returning a primitive double for each cap, using the executor if available.
+   * <p>
+   * The caps are split in fixed blocks of consecutive indices, each block being a separate task of the executor.
+   * The results are returned in the order of the indices, whether or not the executor is used.
+   * 
+   * @param nCaps  the number of caps
+   * @param function  the function
+   * @return the results
+   */
+  protected DoubleArray evaluateDoubles(int nCaps, IntToDoubleFunction function) {
+    return ParallelTasks.evaluateDoubles(nCaps, BLOCK_SIZE, function, executor);
+  }
+
   //-------------------------------------------------------------------------
   // create complete lists of caps, volatilities, strikes, expiries
   protected void reduceRawData(
@@ -106,19 +204,34 @@ abstract class IborCapletFloorletVolatilityCalibrator {
       List<Double> errorList) {
 
     int nStrikes = strikes.size();
-    for (int i = 0; i < nStrikes; ++i) {
-      if (Double.isFinite(volatilityData.get(i))) {
-        ResolvedIborCapFloorLeg capFloor = definition.createCap(startDate, endDate, strikes.get(i)).resolve(referenceData);
-        capList.add(capFloor);
-        strikeList.add(strikes.get(i));
-        volList.add(volatilityData.get(i));
-        ConstantSurface constVolSurface = ConstantSurface.of(metadata, volatilityData.get(i));
-        IborCapletFloorletVolatilities vols = volatilityFunction.apply(constVolSurface);
-        timeList.add(vols.relativeTime(capFloor.getFinalFixingDateTime()));
-        priceList.add(pricer.presentValue(capFloor, ratesProvider, vols).getAmount());
-        errorList.add(errors.get(i));
-      }
+    int[] validIndices = IntStream.range(0, nStrikes).filter(i -> Double.isFinite(volatilityData.get(i))).toArray();
+    int nCaps = validIndices.length;
+    List<IborCapletFloorletVolatilities> capVols = new ArrayList<>(nCaps);
+    for (int n = 0; n < nCaps; ++n) {
+      ConstantSurface constVolSurface = ConstantSurface.of(metadata, volatilityData.get(validIndices[n]));
+      capVols.add(volatilityFunction.apply(constVolSurface));
     }
+    List<ResolvedIborCapFloorLeg> caps = evaluate(
+        nCaps,
+        n -> definition.createCap(startDate, endDate, strikes.get(validIndices[n])).resolve(referenceData));
+    DoubleArray prices = evaluateDoubles(
+        nCaps,
+        n -> pricer.presentValue(caps.get(n), ratesProvider, capVols.get(n)).getAmount());
+    for (int n = 0; n < nCaps; ++n) {
+      int i = validIndices[n];
+      ResolvedIborCapFloorLeg capFloor = caps.get(n);
+      capList.add(capFloor);
+      strikeList.add(strikes.get(i));
+      volList.add(volatilityData.get(i));
+      timeList.add(capVols.get(n).relativeTime(capFloor.getFinalFixingDateTime()));
+      priceList.add(prices.get(n));
+      errorList.add(errors.get(i));
+    }
+  }
+
+  // caches the rates of the caps
+  protected List<CachedIborCapFloorLeg> cacheCaps(List<ResolvedIborCapFloorLeg> capList, RatesProvider ratesProvider) {
+    return evaluate(capList.size(), n -> CachedIborCapFloorLeg.of(capList.get(n), ratesProvider));
   }
 
   // function creating volatilities object from surface
@@ -99,6 +99,36 @@ public class SabrIborCapletFloorletPeriodPricer
       RatesProvider ratesProvider,
       SabrIborCapletFloorletVolatilities volatilities) {
 
+    double expiry = volatilities.relativeTime(period.getFixingDateTime());
+    if (expiry < 0d) { // option expired already
+      return PointSensitivityBuilder.none();
+    }
+    double indexRate = ratesProvider.iborIndexRates(period.getIndex()).rate(period.getIborRate().getObservation());
+    double df = ratesProvider.discountFactor(period.getCurrency(), period.getPaymentDate());
+    return presentValueSensitivityModelParamsSabr(period, indexRate, df, volatilities);
+  }
+
+  /**
+   * Calculates the present value sensitivity to the SABR model parameters of the Ibor caplet/floorlet
+   * from its forward rate and discount factor.
+   * <p>
+   * The forward rate of the Ibor index and the discount factor at the payment date are those obtained from
+   * the rates provider by {@link #presentValueSensitivityModelParamsSabr(IborCapletFloorletPeriod,
+   * RatesProvider, SabrIborCapletFloorletVolatilities)}.
+   * They can thus be computed once for a period priced with many SABR parameters, as in a calibration.
+   * 
+   * @param period  the Ibor caplet/floorlet period
+   * @param forward  the forward rate of the Ibor index
+   * @param discountFactor  the discount factor at the payment date
+   * @param volatilities  the volatilities
+   * @return the point sensitivity to the SABR model parameters
+   */
+  public PointSensitivityBuilder presentValueSensitivityModelParamsSabr(
+      IborCapletFloorletPeriod period,
+      double forward,
+      double discountFactor,
+      SabrIborCapletFloorletVolatilities volatilities) {
+
     double expiry = volatilities.relativeTime(period.getFixingDateTime());
     if (expiry < 0d) { // option expired already
       return PointSensitivityBuilder.none();
@@ -106,12 +136,11 @@ public class SabrIborCapletFloorletPeriodPricer
     Currency currency = period.getCurrency();
     PutCall putCall = period.getPutCall();
     double strike = period.getStrike();
-    double indexRate = ratesProvider.iborIndexRates(period.getIndex()).rate(period.getIborRate().getObservation());
     double factor = period.getNotional() * period.getYearFraction();
-    ValueDerivatives volatilityAdj = volatilities.volatilityAdjoint(expiry, strike, indexRate);
+    ValueDerivatives volatilityAdj = volatilities.volatilityAdjoint(expiry, strike, forward);
     DoubleArray derivative = volatilityAdj.getDerivatives();
-    double df = ratesProvider.discountFactor(currency, period.getPaymentDate());
-    double vega = df * factor * volatilities.priceVega(expiry, putCall, strike, indexRate, volatilityAdj.getValue());
+    double vega = discountFactor * factor *
+        volatilities.priceVega(expiry, putCall, strike, forward, volatilityAdj.getValue());
     IborCapletFloorletVolatilitiesName name = volatilities.getName();
 
     return PointSensitivityBuilder.of(
@@ -6,6 +6,7 @@
 package com.opengamma.strata.pricer.capfloor;
 
 import com.opengamma.strata.basics.value.ValueDerivatives;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.market.ValueType;
 import com.opengamma.strata.market.param.ParameterPerturbation;
 
@@ -91,4 +92,52 @@ public interface SabrIborCapletFloorletVolatilities
    */
   public abstract ValueDerivatives volatilityAdjoint(double expiry, double strike, double forward);
 
+  /**
+   * Calculates the volatilities for several strikes with the same expiry and forward rate.
+   * <p>
+   * By default this calls the single strike method for each strike.
+   * 
+   * @param expiry  the time to expiry as a year fraction
+   * @param strikes  the strikes
+   * @param forward  the forward
+   * @param volatilities  the array used to return the volatilities, of the same size as the strikes
+   */
+  public default void volatility(double expiry, double[] strikes, double forward, double[] volatilities) {
+    ArgChecker.isTrue(volatilities.length == strikes.length, "volatilities not the same length as strikes");
+    for (int i = 0; i < strikes.length; i++) {
+      volatilities[i] = volatility(expiry, strikes[i], forward);
+    }
+  }
+
+  /**
+   * Calculates the volatilities and associated sensitivities for several strikes with the same expiry
+   * and forward rate.
+   * <p>
+   * The six derivatives of the volatility for the strike {@code i} are stored in {@code derivatives}
+   * at {@code 6 * i + j}, in the same order as for a single strike.
+   * <p>
+   * By default this calls the single strike method for each strike.
+   * 
+   * @param expiry  the time to expiry as a year fraction
+   * @param strikes  the strikes
+   * @param forward  the forward
+   * @param volatilities  the array used to return the volatilities, of the same size as the strikes
+   * @param derivatives  the array used to return the derivatives, of six times the size of the strikes
+   */
+  public default void volatilityAdjoint(
+      double expiry,
+      double[] strikes,
+      double forward,
+      double[] volatilities,
+      double[] derivatives) {
+
+    ArgChecker.isTrue(volatilities.length == strikes.length, "volatilities not the same length as strikes");
+    ArgChecker.isTrue(derivatives.length == 6 * strikes.length, "derivatives not six times the length of strikes");
+    for (int i = 0; i < strikes.length; i++) {
+      ValueDerivatives adjoint = volatilityAdjoint(expiry, strikes[i], forward);
+      volatilities[i] = adjoint.getValue();
+      adjoint.getDerivatives().copyInto(derivatives, 6 * i);
+    }
+  }
+
 }
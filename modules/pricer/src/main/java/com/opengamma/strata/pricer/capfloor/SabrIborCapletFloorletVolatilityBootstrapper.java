@@ -14,6 +14,8 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -56,6 +58,11 @@ import com.opengamma.strata.product.capfloor.ResolvedIborCapFloorLeg;
  * <p>
  * The calibration to SABR is computed once the option volatility date is converted to prices. Thus we should note that 
  * the error values in {@code RawOptionData} are applied in the price space rather than the volatility space.
+ * <p>
+ * The expiries are bootstrapped sequentially, and the fit of each expiry only involves a handful of caps,
+ * thus it is performed in the calling thread. If an executor is provided, it is used to create and price
+ * the caps from the quoted volatilities before the fit, in fixed blocks of caps.
+ * If previously calibrated SABR volatilities are provided, the fit of each expiry starts from their parameters.
  */
 public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloorletVolatilityCalibrator {
 
@@ -111,7 +118,7 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
       ReferenceData referenceData) {
 
     NonLinearLeastSquare solver = new NonLinearLeastSquare(SV_COMMONS, OG_ALGEBRA, epsilon);
-    return new SabrIborCapletFloorletVolatilityBootstrapper(pricer, sabrPeriodPricer, solver, referenceData);
+    return new SabrIborCapletFloorletVolatilityBootstrapper(pricer, sabrPeriodPricer, solver, referenceData, null);
   }
 
   // private constructor
@@ -119,13 +126,30 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
       VolatilityIborCapFloorLegPricer pricer,
       SabrIborCapletFloorletPeriodPricer sabrPeriodPricer,
       NonLinearLeastSquare solver,
-      ReferenceData referenceData) {
+      ReferenceData referenceData,
+      Executor executor) {
 
-    super(pricer, referenceData);
+    super(pricer, referenceData, executor);
     this.sabrPeriodPricer = ArgChecker.notNull(sabrPeriodPricer, "sabrPeriodPricer");
     this.solver = ArgChecker.notNull(solver, "solver");
   }
 
+  /**
+   * Returns a copy of this bootstrapper that prices the caps using an executor.
+   * <p>
+   * The caps are created and priced from the quoted volatilities in fixed blocks, each block being
+   * a separate task of the executor. The fit of each expiry is performed in the calling thread.
+   * The result does not depend on whether an executor is used.
+   * 
+   * @param executor  the executor used to price the caps
+   * @return the bootstrapper
+   */
+  public SabrIborCapletFloorletVolatilityBootstrapper withExecutor(Executor executor) {
+    ArgChecker.notNull(executor, "executor");
+    return new SabrIborCapletFloorletVolatilityBootstrapper(
+        getLegPricer(), sabrPeriodPricer, solver, getReferenceData(), executor);
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public IborCapletFloorletVolatilityCalibrationResult calibrate(
@@ -134,6 +158,47 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
       RawOptionData capFloorData,
       RatesProvider ratesProvider) {
 
+    return calibrate(definition, calibrationDateTime, capFloorData, ratesProvider, Optional.empty());
+  }
+
+  /**
+   * Calibrates caplet volatilities to cap volatilities, starting from previously calibrated volatilities.
+   * <p>
+   * If the previous volatilities are SABR volatilities, the fit of each expiry starts from
+   * their alpha, nu and the non-fixed parameter among beta and rho at the expiry time.
+   * The standard initial guess is used for the expiries where these parameters are outside the allowed range.
+   * 
+   * @param definition  the caplet volatility definition
+   * @param calibrationDateTime  the calibration time
+   * @param capFloorData  the cap data
+   * @param ratesProvider  the rates provider
+   * @param previousVolatilities  the previously calibrated volatilities
+   * @return the calibration result
+   */
+  @Override
+  public IborCapletFloorletVolatilityCalibrationResult calibrate(
+      IborCapletFloorletVolatilityDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      RawOptionData capFloorData,
+      RatesProvider ratesProvider,
+      IborCapletFloorletVolatilities previousVolatilities) {
+
+    ArgChecker.notNull(previousVolatilities, "previousVolatilities");
+    Optional<SabrIborCapletFloorletVolatilities> previous =
+        previousVolatilities instanceof SabrIborCapletFloorletVolatilities ?
+            Optional.of((SabrIborCapletFloorletVolatilities) previousVolatilities) :
+            Optional.empty();
+    return calibrate(definition, calibrationDateTime, capFloorData, ratesProvider, previous);
+  }
+
+  // calibrates with an optional warm start
+  private IborCapletFloorletVolatilityCalibrationResult calibrate(
+      IborCapletFloorletVolatilityDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      RawOptionData capFloorData,
+      RatesProvider ratesProvider,
+      Optional<SabrIborCapletFloorletVolatilities> previousVolatilities) {
+
     ArgChecker.isTrue(ratesProvider.getValuationDate().equals(calibrationDateTime.toLocalDate()),
         "valuationDate of ratesProvider should be coherent to calibrationDateTime");
     ArgChecker.isTrue(definition instanceof SabrIborCapletFloorletVolatilityBootstrapDefinition,
@@ -216,20 +281,22 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
         alphaCurve, betaCurve, rhoCurve, nuCurve, shiftCurve, bsDefinition.getSabrVolatilityFormula());
     SabrParametersIborCapletFloorletVolatilities vols =
         SabrParametersIborCapletFloorletVolatilities.of(bsDefinition.getName(), index, calibrationDateTime, sabrParams);
+    List<CachedIborCapFloorLeg> cachedCaps = cacheCaps(capList, ratesProvider);
     double totalChiSq = 0d;
     ZonedDateTime prevExpiry = calibrationDateTime.minusDays(1L); // included if calibrationDateTime == fixingDateTime
     for (int i = 0; i < nExpiries; ++i) {
-      DoubleArray start = computeInitialValues(
+      DoubleArray standardStart = computeInitialValues(
           ratesProvider, betaCurve, shiftCurve, timeList, volList, capList, startIndex, i, betaFix, capFloorData.getDataType());
+      DoubleArray start = warmStart(previousVolatilities, timeToExpiries.get(i), standardStart, betaFix);
       UncoupledParameterTransforms transform = new UncoupledParameterTransforms(start, TRANSFORMS, fixed);
       int nCaplets = startIndex[i + 1] - startIndex[i];
       int currentStart = startIndex[i];
       Function<DoubleArray, DoubleArray> valueFunction = createPriceFunction(
-          ratesProvider, vols, prevExpiry, capList, priceList, startIndex, nExpiries, i, nCaplets, betaFix);
+          vols, prevExpiry, cachedCaps, priceList, startIndex, nExpiries, i, nCaplets, betaFix);
       Function<DoubleArray, DoubleMatrix> jacobianFunction = createJacobianFunction(
-          ratesProvider, vols, prevExpiry, capList, priceList, index.getCurrency(), startIndex, nExpiries, i, nCaplets, betaFix);
+          vols, prevExpiry, cachedCaps, priceList, index.getCurrency(), startIndex, nExpiries, i, nCaplets, betaFix);
       NonLinearTransformFunction transFunc = new NonLinearTransformFunction(valueFunction, jacobianFunction, transform);
-      DoubleArray adjustedPrices = adjustedPrices(ratesProvider, vols, prevExpiry, capList, priceList, startIndex, i, nCaplets);
+      DoubleArray adjustedPrices = adjustedPrices(vols, prevExpiry, cachedCaps, priceList, startIndex, i, nCaplets);
       DoubleArray errors = DoubleArray.of(nCaplets, n -> errorList.get(currentStart + n));
       LeastSquareResults res = solver.solve(adjustedPrices, errors, transFunc.getFittingFunction(),
           transFunc.getFittingJacobian(), transform.transform(start));
@@ -273,12 +340,30 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
     return DoubleArray.of(alphaInitial, betaInitial, -0.5 * betaInitial + 0.5 * (1d - betaInitial), nuFirst);
   }
 
+  // initial guess from the previous volatilities, the standard initial guess if not available or out of range
+  private DoubleArray warmStart(
+      Optional<SabrIborCapletFloorletVolatilities> previousVolatilities,
+      double timeToExpiry,
+      DoubleArray standardStart,
+      boolean betaFixed) {
+
+    if (!previousVolatilities.isPresent()) {
+      return standardStart;
+    }
+    SabrIborCapletFloorletVolatilities previous = previousVolatilities.get();
+    double alpha = previous.alpha(timeToExpiry);
+    double beta = betaFixed ? standardStart.get(1) : previous.beta(timeToExpiry);
+    double rho = betaFixed ? previous.rho(timeToExpiry) : standardStart.get(2);
+    double nu = previous.nu(timeToExpiry);
+    boolean inRange = alpha > 0d && beta > 0d && beta < 1d && Math.abs(rho) < RHO_LIMIT && nu > 0.001d && nu < 2.5d;
+    return inRange ? DoubleArray.of(alpha, beta, rho, nu) : standardStart;
+  }
+
   // price function
   private Function<DoubleArray, DoubleArray> createPriceFunction(
-      RatesProvider ratesProvider,
       SabrParametersIborCapletFloorletVolatilities volatilities,
       ZonedDateTime prevExpiry,
-      List<ResolvedIborCapFloorLeg> capList,
+      List<CachedIborCapFloorLeg> capList,
       List<Double> priceList,
       int[] startIndex,
       int nExpiries,
@@ -291,11 +376,9 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
       @Override
       public DoubleArray apply(DoubleArray x) {
         SabrParametersIborCapletFloorletVolatilities volsNew = updateParameters(volatilities, nExpiries, timeIndex, betaFixed, x);
-        return DoubleArray.of(nCaplets,
-            n -> capList.get(currentStart + n).getCapletFloorletPeriods().stream()
-                .filter(p -> p.getFixingDateTime().isAfter(prevExpiry))
-                .mapToDouble(p -> sabrPeriodPricer.presentValue(p, ratesProvider, volsNew).getAmount())
-                .sum() / priceList.get(currentStart + n));
+        return DoubleArray.of(nCaplets, n -> capList.get(currentStart + n)
+            .presentValue(sabrPeriodPricer, volsNew, p -> p.getFixingDateTime().isAfter(prevExpiry)) /
+            priceList.get(currentStart + n));
       }
     };
     return priceFunction;
@@ -303,10 +386,9 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
 
   // node sensitivity function
   private Function<DoubleArray, DoubleMatrix> createJacobianFunction(
-      RatesProvider ratesProvider,
       SabrParametersIborCapletFloorletVolatilities volatilities,
       ZonedDateTime prevExpiry,
-      List<ResolvedIborCapFloorLeg> capList,
+      List<CachedIborCapFloorLeg> capList,
       List<Double> priceList,
       Currency currency,
       int[] startIndex,
@@ -324,27 +406,27 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
       @Override
       public DoubleMatrix apply(DoubleArray x) {
         SabrParametersIborCapletFloorletVolatilities volsNew = updateParameters(volatilities, nExpiries, timeIndex, betaFixed, x);
-        double[][] jacobian = new double[nCaplets][4];
+        double[][] jacobian = new double[nCaplets][];
         for (int i = 0; i < nCaplets; ++i) {
-          PointSensitivities point = capList.get(currentStart + i).getCapletFloorletPeriods().stream()
-              .filter(p -> p.getFixingDateTime().isAfter(prevExpiry))
-              .map(p -> sabrPeriodPricer.presentValueSensitivityModelParamsSabr(p, ratesProvider, volsNew))
-              .reduce((c1, c2) -> c1.combinedWith(c2))
-              .get()
+          PointSensitivities point = capList.get(currentStart + i)
+              .presentValueSensitivityModelParamsSabr(
+                  sabrPeriodPricer, volsNew, p -> p.getFixingDateTime().isAfter(prevExpiry))
               .build();
           double targetPrice = priceList.get(currentStart + i);
           CurrencyParameterSensitivities sensi = volsNew.parameterSensitivity(point);
-          jacobian[i][0] = sensi.getSensitivity(alphaCurve.getName(), currency).getSensitivity().get(timeIndex) / targetPrice;
+          double[] row = new double[4];
+          row[0] = sensi.getSensitivity(alphaCurve.getName(), currency).getSensitivity().get(timeIndex) / targetPrice;
           if (betaFixed) {
-            jacobian[i][1] = 0d;
-            jacobian[i][2] = sensi.getSensitivity(rhoCurve.getName(), currency).getSensitivity().get(timeIndex) / targetPrice;
+            row[1] = 0d;
+            row[2] = sensi.getSensitivity(rhoCurve.getName(), currency).getSensitivity().get(timeIndex) / targetPrice;
 
           } else {
-            jacobian[i][1] = sensi.getSensitivity(betaCurve.getName(), currency).getSensitivity().get(timeIndex) / targetPrice;
-            jacobian[i][2] = 0d;
+            row[1] = sensi.getSensitivity(betaCurve.getName(), currency).getSensitivity().get(timeIndex) / targetPrice;
+            row[2] = 0d;
 
           }
-          jacobian[i][3] = sensi.getSensitivity(nuCurve.getName(), currency).getSensitivity().get(timeIndex) / targetPrice;
+          row[3] = sensi.getSensitivity(nuCurve.getName(), currency).getSensitivity().get(timeIndex) / targetPrice;
+          jacobian[i] = row;
         }
         return DoubleMatrix.ofUnsafe(jacobian);
       }
@@ -375,10 +457,9 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
 
   // sum of caplet prices which are not fixed
   private DoubleArray adjustedPrices(
-      RatesProvider ratesProvider,
       IborCapletFloorletVolatilities vols,
       ZonedDateTime prevExpiry,
-      List<ResolvedIborCapFloorLeg> capList,
+      List<CachedIborCapFloorLeg> capList,
       List<Double> priceList,
       int[] startIndex,
       int timeIndex,
@@ -389,10 +470,9 @@ public class SabrIborCapletFloorletVolatilityBootstrapper extends IborCapletFloo
     }
     int currentStart = startIndex[timeIndex];
     return DoubleArray.of(nCaplets,
-        n -> (priceList.get(currentStart + n) - capList.get(currentStart + n).getCapletFloorletPeriods().stream()
-            .filter(p -> !p.getFixingDateTime().isAfter(prevExpiry))
-            .mapToDouble(p -> sabrPeriodPricer.presentValue(p, ratesProvider, vols).getAmount())
-            .sum()) / priceList.get(currentStart + n));
+        n -> (priceList.get(currentStart + n) - capList.get(currentStart + n)
+            .presentValue(sabrPeriodPricer, vols, p -> !p.getFixingDateTime().isAfter(prevExpiry))) /
+            priceList.get(currentStart + n));
   }
 
 }
@@ -14,6 +14,8 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 import com.google.common.collect.ImmutableList;
@@ -54,6 +56,9 @@ import com.opengamma.strata.product.capfloor.ResolvedIborCapFloorLeg;
  * <p>
  * The calibration to SABR is computed once the option volatility date is converted to prices. 
  * Thus the error values in {@code RawOptionData} are applied in the price space rather than the volatility space.
+ * <p>
+ * If an executor is provided, the caps are priced in fixed blocks, each block being a separate task of the executor.
+ * If previously calibrated SABR volatilities are provided, the fit starts from their parameters at the curve nodes.
  */
 public class SabrIborCapletFloorletVolatilityCalibrator
     extends IborCapletFloorletVolatilityCalibrator {
@@ -110,7 +115,7 @@ public class SabrIborCapletFloorletVolatilityCalibrator
       ReferenceData referenceData) {
 
     NonLinearLeastSquare solver = new NonLinearLeastSquare(SV_COMMONS, OG_ALGEBRA, epsilon);
-    return new SabrIborCapletFloorletVolatilityCalibrator(pricer, sabrPricer, solver, referenceData);
+    return new SabrIborCapletFloorletVolatilityCalibrator(pricer, sabrPricer, solver, referenceData, null);
   }
 
   // private constructor
@@ -118,13 +123,29 @@ public class SabrIborCapletFloorletVolatilityCalibrator
       VolatilityIborCapFloorLegPricer pricer,
       SabrIborCapFloorLegPricer sabrPricer,
       NonLinearLeastSquare solver,
-      ReferenceData referenceData) {
+      ReferenceData referenceData,
+      Executor executor) {
 
-    super(pricer, referenceData);
+    super(pricer, referenceData, executor);
     this.sabrPricer = ArgChecker.notNull(sabrPricer, "sabrPricer");
     this.solver = ArgChecker.notNull(solver, "solver");
   }
 
+  /**
+   * Returns a copy of this calibrator that prices the caps using an executor.
+   * <p>
+   * The caps are priced in fixed blocks of consecutive caps, each block being a separate task of the executor.
+   * The result does not depend on whether an executor is used.
+   * 
+   * @param executor  the executor used to price the caps
+   * @return the calibrator
+   */
+  public SabrIborCapletFloorletVolatilityCalibrator withExecutor(Executor executor) {
+    ArgChecker.notNull(executor, "executor");
+    return new SabrIborCapletFloorletVolatilityCalibrator(
+        getLegPricer(), sabrPricer, solver, getReferenceData(), executor);
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public IborCapletFloorletVolatilityCalibrationResult calibrate(
@@ -133,6 +154,48 @@ public class SabrIborCapletFloorletVolatilityCalibrator
       RawOptionData capFloorData,
       RatesProvider ratesProvider) {
 
+    return calibrate(definition, calibrationDateTime, capFloorData, ratesProvider, Optional.empty());
+  }
+
+  /**
+   * Calibrates caplet volatilities to cap volatilities, starting from previously calibrated volatilities.
+   * <p>
+   * If the previous volatilities are SABR volatilities, the fit starts from their parameters
+   * at the nodes of the curves of the definition.
+   * The initial parameters of the definition are used for the nodes where these parameters
+   * are outside the allowed range.
+   * 
+   * @param definition  the caplet volatility definition
+   * @param calibrationDateTime  the calibration time
+   * @param capFloorData  the cap data
+   * @param ratesProvider  the rates provider
+   * @param previousVolatilities  the previously calibrated volatilities
+   * @return the calibration result
+   */
+  @Override
+  public IborCapletFloorletVolatilityCalibrationResult calibrate(
+      IborCapletFloorletVolatilityDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      RawOptionData capFloorData,
+      RatesProvider ratesProvider,
+      IborCapletFloorletVolatilities previousVolatilities) {
+
+    ArgChecker.notNull(previousVolatilities, "previousVolatilities");
+    Optional<SabrIborCapletFloorletVolatilities> previous =
+        previousVolatilities instanceof SabrIborCapletFloorletVolatilities ?
+            Optional.of((SabrIborCapletFloorletVolatilities) previousVolatilities) :
+            Optional.empty();
+    return calibrate(definition, calibrationDateTime, capFloorData, ratesProvider, previous);
+  }
+
+  // calibrates with an optional warm start
+  private IborCapletFloorletVolatilityCalibrationResult calibrate(
+      IborCapletFloorletVolatilityDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      RawOptionData capFloorData,
+      RatesProvider ratesProvider,
+      Optional<SabrIborCapletFloorletVolatilities> previousVolatilities) {
+
     ArgChecker.isTrue(ratesProvider.getValuationDate().equals(calibrationDateTime.toLocalDate()),
         "valuationDate of ratesProvider should be coherent to calibrationDateTime");
     ArgChecker.isTrue(definition instanceof SabrIborCapletFloorletVolatilityCalibrationDefinition,
@@ -169,7 +232,9 @@ public class SabrIborCapletFloorletVolatilityCalibrator
     }
     // create initial caplet vol surface
     List<CurveMetadata> metadataList = sabrDefinition.createSabrParameterMetadata();
-    DoubleArray initialValues = sabrDefinition.createFullInitialValues();
+    DoubleArray initialValues = previousVolatilities.isPresent() ?
+        warmStart(sabrDefinition, previousVolatilities.get()) :
+        sabrDefinition.createFullInitialValues();
     List<Curve> curveList = sabrDefinition.createSabrParameterCurve(metadataList, initialValues);
     SabrParameters sabrParamsInitial = SabrParameters.of(
         curveList.get(0),
@@ -183,10 +248,11 @@ public class SabrIborCapletFloorletVolatilityCalibrator
     // solve least square
     UncoupledParameterTransforms transform = new UncoupledParameterTransforms(
         initialValues, sabrDefinition.createFullTransform(TRANSFORMS), new BitSet());
+    List<CachedIborCapFloorLeg> cachedCaps = cacheCaps(capList, ratesProvider);
     Function<DoubleArray, DoubleArray> valueFunction = createPriceFunction(
-        sabrDefinition, ratesProvider, vols, capList, priceList);
+        sabrDefinition, vols, cachedCaps, priceList);
     Function<DoubleArray, DoubleMatrix> jacobianFunction = createJacobianFunction(
-        sabrDefinition, ratesProvider, vols, capList, priceList, index.getCurrency());
+        sabrDefinition, vols, cachedCaps, priceList, index.getCurrency());
     NonLinearTransformFunction transFunc = new NonLinearTransformFunction(valueFunction, jacobianFunction, transform);
     LeastSquareResults res = solver.solve(
         DoubleArray.filled(priceList.size(), 1d),
@@ -200,20 +266,70 @@ public class SabrIborCapletFloorletVolatilityCalibrator
     return IborCapletFloorletVolatilityCalibrationResult.ofLeastSquare(vols, res.getChiSq());
   }
 
+  // initial values from the previous volatilities, in the order of the definition initial values
+  private DoubleArray warmStart(
+      SabrIborCapletFloorletVolatilityCalibrationDefinition sabrDefinition,
+      SabrIborCapletFloorletVolatilities previous) {
+
+    List<Double> initialValues = new ArrayList<>();
+    for (int i = 0; i < 4; ++i) {
+      boolean fixed = (i == 1 && sabrDefinition.getBetaCurve().isPresent()) ||
+          (i == 2 && sabrDefinition.getRhoCurve().isPresent());
+      if (fixed) {
+        continue;
+      }
+      double standard = sabrDefinition.getInitialParameters().get(i);
+      DoubleArray nodes = sabrDefinition.getParameterCurveNodes().get(i);
+      for (int j = 0; j < nodes.size(); ++j) {
+        double value = parameter(previous, i, nodes.get(j));
+        initialValues.add(inRange(i, value) ? value : standard);
+      }
+    }
+    return DoubleArray.copyOf(initialValues);
+  }
+
+  // SABR parameter in the order alpha, beta, rho, nu
+  private static double parameter(SabrIborCapletFloorletVolatilities volatilities, int index, double time) {
+    switch (index) {
+      case 0:
+        return volatilities.alpha(time);
+      case 1:
+        return volatilities.beta(time);
+      case 2:
+        return volatilities.rho(time);
+      default:
+        return volatilities.nu(time);
+    }
+  }
+
+  // checks the value is strictly inside the range of the transform
+  private static boolean inRange(int index, double value) {
+    switch (index) {
+      case 0:
+        return value > 0d;
+      case 1:
+        return value > 0d && value < 1d;
+      case 2:
+        return Math.abs(value) < RHO_LIMIT;
+      default:
+        return value > 0.001d && value < 2.5d;
+    }
+  }
+
   // price function
   private Function<DoubleArray, DoubleArray> createPriceFunction(
       SabrIborCapletFloorletVolatilityCalibrationDefinition sabrDefinition,
-      RatesProvider ratesProvider,
       SabrParametersIborCapletFloorletVolatilities volatilities,
-      List<ResolvedIborCapFloorLeg> capList,
+      List<CachedIborCapFloorLeg> capList,
       List<Double> priceList) {
 
+    SabrIborCapletFloorletPeriodPricer periodPricer = sabrPricer.getPeriodPricer();
     Function<DoubleArray, DoubleArray> priceFunction = new Function<DoubleArray, DoubleArray>() {
       @Override
       public DoubleArray apply(DoubleArray x) {
         SabrParametersIborCapletFloorletVolatilities volsNew = updateParameters(sabrDefinition, volatilities, x);
-        return DoubleArray.of(capList.size(),
-            n -> sabrPricer.presentValue(capList.get(n), ratesProvider, volsNew).getAmount() / priceList.get(n));
+        return evaluateDoubles(
+            capList.size(), n -> capList.get(n).presentValue(periodPricer, volsNew) / priceList.get(n));
       }
     };
     return priceFunction;
@@ -222,13 +338,13 @@ public class SabrIborCapletFloorletVolatilityCalibrator
   // node sensitivity function
   private Function<DoubleArray, DoubleMatrix> createJacobianFunction(
       SabrIborCapletFloorletVolatilityCalibrationDefinition sabrDefinition,
-      RatesProvider ratesProvider,
       SabrParametersIborCapletFloorletVolatilities volatilities,
-      List<ResolvedIborCapFloorLeg> capList,
+      List<CachedIborCapFloorLeg> capList,
       List<Double> priceList,
       Currency currency) {
 
     int nCaps = capList.size();
+    SabrIborCapletFloorletPeriodPricer periodPricer = sabrPricer.getPeriodPricer();
     SabrParameters sabrParams = volatilities.getParameters();
     CurveName alphaName = sabrParams.getAlphaCurve().getName();
     CurveName betaName = sabrParams.getBetaCurve().getName();
@@ -238,10 +354,9 @@ public class SabrIborCapletFloorletVolatilityCalibrator
       @Override
       public DoubleMatrix apply(DoubleArray x) {
         SabrParametersIborCapletFloorletVolatilities volsNew = updateParameters(sabrDefinition, volatilities, x);
-        double[][] jacobian = new double[nCaps][];
-        for (int i = 0; i < nCaps; ++i) {
+        List<double[]> jacobian = evaluate(nCaps, i -> {
           PointSensitivities point =
-              sabrPricer.presentValueSensitivityModelParamsSabr(capList.get(i), ratesProvider, volsNew).build();
+              capList.get(i).presentValueSensitivityModelParamsSabr(periodPricer, volsNew).build();
           CurrencyParameterSensitivities sensi = volsNew.parameterSensitivity(point);
           double targetPriceInv = 1d / priceList.get(i);
           DoubleArray sensitivities = sensi.getSensitivity(alphaName, currency).getSensitivity();
@@ -250,11 +365,11 @@ public class SabrIborCapletFloorletVolatilityCalibrator
           } else { // rho fixed
             sensitivities = sensitivities.concat(sensi.getSensitivity(betaName, currency).getSensitivity());
           }
-          jacobian[i] = sensitivities.concat(sensi.getSensitivity(nuName, currency).getSensitivity())
+          return sensitivities.concat(sensi.getSensitivity(nuName, currency).getSensitivity())
               .multipliedBy(targetPriceInv)
               .toArray();
-        }
-        return DoubleMatrix.ofUnsafe(jacobian);
+        });
+        return DoubleMatrix.ofUnsafe(jacobian.toArray(new double[nCaps][]));
       }
     };
     return jacobianFunction;
@@ -213,6 +213,22 @@ public final class SabrParametersIborCapletFloorletVolatilities
     return parameters.volatilityAdjoint(expiry, strike, forward);
   }
 
+  @Override
+  public void volatility(double expiry, double[] strikes, double forward, double[] volatilities) {
+    parameters.volatility(expiry, strikes, forward, volatilities);
+  }
+
+  @Override
+  public void volatilityAdjoint(
+      double expiry,
+      double[] strikes,
+      double forward,
+      double[] volatilities,
+      double[] derivatives) {
+
+    parameters.volatilityAdjoint(expiry, strikes, forward, volatilities, derivatives);
+  }
+
   @Override
   public double alpha(double expiry) {
     return parameters.alpha(expiry);
@@ -52,18 +52,47 @@ public class VolatilityIborCapletFloorletPeriodPricer {
     if (ratesProvider.getValuationDate().isAfter(period.getPaymentDate())) {
       return CurrencyAmount.of(currency, 0d);
     }
-    double expiry = volatilities.relativeTime(period.getFixingDateTime());
     double df = ratesProvider.discountFactor(currency, period.getPaymentDate());
+    double indexRate = ratesProvider.iborIndexRates(period.getIndex()).rate(period.getIborRate().getObservation());
+    return presentValue(period, indexRate, df, volatilities);
+  }
+
+  /**
+   * Calculates the present value of the Ibor caplet/floorlet period from its forward rate and discount factor.
+   * <p>
+   * The forward rate of the Ibor index and the discount factor at the payment date are those obtained from
+   * the rates provider by {@link #presentValue(IborCapletFloorletPeriod, RatesProvider,
+   * IborCapletFloorletVolatilities)}.
+   * They can thus be computed once for a period priced with many volatilities, as in a calibration.
+   * The period must not have been paid.
+   * <p>
+   * The result is expressed using the currency of the period.
+   * 
+   * @param period  the Ibor caplet/floorlet period
+   * @param forward  the forward rate of the Ibor index
+   * @param discountFactor  the discount factor at the payment date
+   * @param volatilities  the volatilities
+   * @return the present value
+   */
+  public CurrencyAmount presentValue(
+      IborCapletFloorletPeriod period,
+      double forward,
+      double discountFactor,
+      IborCapletFloorletVolatilities volatilities) {
+
+    validate(volatilities);
+    Currency currency = period.getCurrency();
+    double expiry = volatilities.relativeTime(period.getFixingDateTime());
     PutCall putCall = period.getPutCall();
     double strike = period.getStrike();
-    double indexRate = ratesProvider.iborIndexRates(period.getIndex()).rate(period.getIborRate().getObservation());
     if (expiry < 0d) { // Option has expired already
       double sign = putCall.isCall() ? 1d : -1d;
-      double payoff = Math.max(sign * (indexRate - strike), 0d);
-      return CurrencyAmount.of(currency, df * payoff * period.getYearFraction() * period.getNotional());
+      double payoff = Math.max(sign * (forward - strike), 0d);
+      return CurrencyAmount.of(currency, discountFactor * payoff * period.getYearFraction() * period.getNotional());
     }
-    double volatility = volatilities.volatility(expiry, strike, indexRate);
-    double price = df * period.getYearFraction() * volatilities.price(expiry, putCall, strike, indexRate, volatility);
+    double volatility = volatilities.volatility(expiry, strike, forward);
+    double price = discountFactor * period.getYearFraction() *
+        volatilities.price(expiry, putCall, strike, forward, volatility);
     return CurrencyAmount.of(currency, price * period.getNotional());
   }
 
@@ -248,6 +277,37 @@ public class VolatilityIborCapletFloorletPeriodPricer {
       RatesProvider ratesProvider,
       IborCapletFloorletVolatilities volatilities) {
 
+    validate(volatilities);
+    double expiry = volatilities.relativeTime(period.getFixingDateTime());
+    if (expiry <= 0d) { // Option has expired already or at expiry
+      return PointSensitivityBuilder.none();
+    }
+    double forward = ratesProvider.iborIndexRates(period.getIndex()).rate(period.getIborRate().getObservation());
+    double df = ratesProvider.discountFactor(period.getCurrency(), period.getPaymentDate());
+    return presentValueSensitivityModelParamsVolatility(period, forward, df, volatilities);
+  }
+
+  /**
+   * Calculates the present value volatility sensitivity of the Ibor caplet/floorlet
+   * from its forward rate and discount factor.
+   * <p>
+   * The forward rate of the Ibor index and the discount factor at the payment date are those obtained from
+   * the rates provider by {@link #presentValueSensitivityModelParamsVolatility(IborCapletFloorletPeriod,
+   * RatesProvider, IborCapletFloorletVolatilities)}.
+   * They can thus be computed once for a period priced with many volatilities, as in a calibration.
+   * 
+   * @param period  the Ibor caplet/floorlet period
+   * @param forward  the forward rate of the Ibor index
+   * @param discountFactor  the discount factor at the payment date
+   * @param volatilities  the volatilities
+   * @return the point sensitivity to the volatility
+   */
+  public PointSensitivityBuilder presentValueSensitivityModelParamsVolatility(
+      IborCapletFloorletPeriod period,
+      double forward,
+      double discountFactor,
+      IborCapletFloorletVolatilities volatilities) {
+
     validate(volatilities);
     double expiry = volatilities.relativeTime(period.getFixingDateTime());
     double strike = period.getStrike();
@@ -255,11 +315,10 @@ public class VolatilityIborCapletFloorletPeriodPricer {
     if (expiry <= 0d) { // Option has expired already or at expiry
       return PointSensitivityBuilder.none();
     }
-    double forward = ratesProvider.iborIndexRates(period.getIndex()).rate(period.getIborRate().getObservation());
     double volatility = volatilities.volatility(expiry, strike, forward);
     PutCall putCall = period.getPutCall();
-    double df = ratesProvider.discountFactor(currency, period.getPaymentDate());
-    double vega = df * period.getYearFraction() * volatilities.priceVega(expiry, putCall, strike, forward, volatility);
+    double vega = discountFactor * period.getYearFraction() *
+        volatilities.priceVega(expiry, putCall, strike, forward, volatility);
     return IborCapletFloorletSensitivity.of(
         volatilities.getName(),
         expiry,
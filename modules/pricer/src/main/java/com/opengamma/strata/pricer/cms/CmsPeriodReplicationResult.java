@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.cms;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.TypedMetaBean;
+import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+
+/**
+ * The present value and sensitivities of a CMS period priced by replication.
+ * <p>
+ * This is the result of
+ * {@link SabrExtrapolationReplicationCmsPeriodPricer#presentValueAndSensitivities}.
+ */
+@BeanDefinition(style = "light")
+public final class CmsPeriodReplicationResult
+    implements ImmutableBean, Serializable {
+
+  /**
+   * The present value.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final CurrencyAmount presentValue;
+  /**
+   * The present value sensitivity to the rates.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final PointSensitivities presentValueSensitivityRates;
+  /**
+   * The present value sensitivity to the SABR model parameters.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final PointSensitivities presentValueSensitivityModelParamsSabr;
+  /**
+   * The present value sensitivity to the strike.
+   * <p>
+   * This is zero for a CMS coupon.
+   */
+  @PropertyDefinition
+  private final double presentValueSensitivityStrike;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   *
+   * @param presentValue  the present value
+   * @param presentValueSensitivityRates  the present value sensitivity to the rates
+   * @param presentValueSensitivityModelParamsSabr  the present value sensitivity to the SABR model parameters
+   * @param presentValueSensitivityStrike  the present value sensitivity to the strike
+   * @return the instance
+   */
+  public static CmsPeriodReplicationResult of(
+      CurrencyAmount presentValue,
+      PointSensitivities presentValueSensitivityRates,
+      PointSensitivities presentValueSensitivityModelParamsSabr,
+      double presentValueSensitivityStrike) {
+
+    return new CmsPeriodReplicationResult(
+        presentValue,
+        presentValueSensitivityRates,
+        presentValueSensitivityModelParamsSabr,
+        presentValueSensitivityStrike);
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code CmsPeriodReplicationResult}.
+   */
+  private static final TypedMetaBean<CmsPeriodReplicationResult> META_BEAN =
+      LightMetaBean.of(
+          CmsPeriodReplicationResult.class,
+          MethodHandles.lookup(),
+          new String[] {
+              "presentValue",
+              "presentValueSensitivityRates",
+              "presentValueSensitivityModelParamsSabr",
+              "presentValueSensitivityStrike"},
+          new Object[0]);
+
+  /**
+   * The meta-bean for {@code CmsPeriodReplicationResult}.
+   * @return the meta-bean, not null
+   */
+  public static TypedMetaBean<CmsPeriodReplicationResult> meta() {
+    return META_BEAN;
+  }
+
+  static {
+    MetaBean.register(META_BEAN);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private CmsPeriodReplicationResult(
+      CurrencyAmount presentValue,
+      PointSensitivities presentValueSensitivityRates,
+      PointSensitivities presentValueSensitivityModelParamsSabr,
+      double presentValueSensitivityStrike) {
+    JodaBeanUtils.notNull(presentValue, "presentValue");
+    JodaBeanUtils.notNull(presentValueSensitivityRates, "presentValueSensitivityRates");
+    JodaBeanUtils.notNull(presentValueSensitivityModelParamsSabr, "presentValueSensitivityModelParamsSabr");
+    this.presentValue = presentValue;
+    this.presentValueSensitivityRates = presentValueSensitivityRates;
+    this.presentValueSensitivityModelParamsSabr = presentValueSensitivityModelParamsSabr;
+    this.presentValueSensitivityStrike = presentValueSensitivityStrike;
+  }
+
+  @Override
+  public TypedMetaBean<CmsPeriodReplicationResult> metaBean() {
+    return META_BEAN;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the present value.
+   * @return the value of the property, not null
+   */
+  public CurrencyAmount getPresentValue() {
+    return presentValue;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the present value sensitivity to the rates.
+   * @return the value of the property, not null
+   */
+  public PointSensitivities getPresentValueSensitivityRates() {
+    return presentValueSensitivityRates;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the present value sensitivity to the SABR model parameters.
+   * @return the value of the property, not null
+   */
+  public PointSensitivities getPresentValueSensitivityModelParamsSabr() {
+    return presentValueSensitivityModelParamsSabr;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the present value sensitivity to the strike.
+   * <p>
+   * This is zero for a CMS coupon.
+   * @return the value of the property
+   */
+  public double getPresentValueSensitivityStrike() {
+    return presentValueSensitivityStrike;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      CmsPeriodReplicationResult other = (CmsPeriodReplicationResult) obj;
+      return JodaBeanUtils.equal(presentValue, other.presentValue) &&
+          JodaBeanUtils.equal(presentValueSensitivityRates, other.presentValueSensitivityRates) &&
+          JodaBeanUtils.equal(presentValueSensitivityModelParamsSabr, other.presentValueSensitivityModelParamsSabr) &&
+          JodaBeanUtils.equal(presentValueSensitivityStrike, other.presentValueSensitivityStrike);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(presentValue);
+    hash = hash * 31 + JodaBeanUtils.hashCode(presentValueSensitivityRates);
+    hash = hash * 31 + JodaBeanUtils.hashCode(presentValueSensitivityModelParamsSabr);
+    hash = hash * 31 + JodaBeanUtils.hashCode(presentValueSensitivityStrike);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(160);
+    buf.append("CmsPeriodReplicationResult{");
+    buf.append("presentValue").append('=').append(presentValue).append(',').append(' ');
+    buf.append("presentValueSensitivityRates").append('=').append(presentValueSensitivityRates).append(',').append(' ');
+    buf.append("presentValueSensitivityModelParamsSabr").append('=')
+        .append(presentValueSensitivityModelParamsSabr).append(',').append(' ');
+    buf.append("presentValueSensitivityStrike").append('=')
+        .append(JodaBeanUtils.toString(presentValueSensitivityStrike));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-------------------------- AUTOGENERATED END --------------------------
+}
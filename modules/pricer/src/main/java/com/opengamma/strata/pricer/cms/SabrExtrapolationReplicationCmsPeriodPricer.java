@@ -20,6 +20,7 @@ import org.slf4j.LoggerFactory;
 
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.array.DoubleArray;
@@ -27,6 +28,8 @@ import com.opengamma.strata.market.explain.ExplainKey;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.math.MathException;
+import com.opengamma.strata.math.impl.integration.GaussLegendreWeightAndAbscissaFunction;
+import com.opengamma.strata.math.impl.integration.GaussianQuadratureData;
 import com.opengamma.strata.math.impl.integration.RungeKuttaIntegrator1D;
 import com.opengamma.strata.pricer.impl.option.SabrExtrapolationRightFunction;
 import com.opengamma.strata.pricer.impl.volatility.smile.SabrFormulaData;
@@ -51,6 +54,9 @@ import com.opengamma.strata.product.swap.SwapLegType;
  *  more details on the extrapolation method.
  *  <p>
  *  The replication requires numerical integration. This is completed by {@link RungeKuttaIntegrator1D}.
+ *  Alternatively, with {@link #withQuadrature(int)}, the integrals are computed by Gauss-Legendre quadrature
+ *  on a fixed grid of each period. The present value and all the sensitivities can then be computed from
+ *  one set of integrand evaluations by {@code presentValueAndSensitivities}.
  *  <p>
  *  The consistency between {@code RatesProvider} and {@code SabrParametersSwaptionVolatilities} is not checked in this 
  *  class, but validated only once in {@link SabrExtrapolationReplicationCmsLegPricer}.
@@ -99,6 +105,23 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
    * For expiry below that value, the forward rate is used for present value.
    */
   private static final double MIN_TIME = 1e-4;
+  /**
+   * The number of panels of the quadrature grid between the strike and the integration bound.
+   */
+  private static final int NB_PANELS = 8;
+  /**
+   * The ratio between the widths of two consecutive panels of the quadrature grid.
+   * <p>
+   * The panels are narrower close to the strike, where the integrand varies most.
+   */
+  private static final double PANEL_RATIO = 1.5;
+  /**
+   * The number of integrands evaluated on the quadrature grid.
+   * <p>
+   * These are the price integrand, the forward derivative integrand, the four SABR parameter derivative integrands
+   * and the strike derivative integrand.
+   */
+  private static final int NB_INTEGRANDS = 7;
 
   /**
    * Pricer for the underlying swap.
@@ -116,6 +139,12 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
    * This must be greater than 0 in order to ensure that the call price converges to 0 for infinite strike.
    */
   private final double mu;
+  /**
+   * The Gauss-Legendre abscissas and weights on [-1, 1] used in each panel of the quadrature grid.
+   * <p>
+   * This is null if the integrals are computed by adaptive integration.
+   */
+  private final GaussianQuadratureData quadrature;
 
   //-------------------------------------------------------------------------
   /**
@@ -131,7 +160,7 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
       double cutOffStrike,
       double mu) {
 
-    return new SabrExtrapolationReplicationCmsPeriodPricer(swapPricer, cutOffStrike, mu);
+    return new SabrExtrapolationReplicationCmsPeriodPricer(swapPricer, cutOffStrike, mu, null);
   }
 
   /**
@@ -148,11 +177,32 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
   private SabrExtrapolationReplicationCmsPeriodPricer(
       DiscountingSwapProductPricer swapPricer,
       double cutOffStrike,
-      double mu) {
+      double mu,
+      GaussianQuadratureData quadrature) {
 
     this.swapPricer = ArgChecker.notNull(swapPricer, "swapPricer");
     this.cutOffStrike = cutOffStrike;
     this.mu = ArgChecker.notNegativeOrZero(mu, "mu");
+    this.quadrature = quadrature;
+  }
+
+  /**
+   * Returns a copy of this pricer that computes the replication integrals by Gauss-Legendre quadrature.
+   * <p>
+   * The integration domain of each period is split into panels, narrower close to the strike,
+   * and each panel is integrated with the specified number of Gauss-Legendre points.
+   * The domain is the same for the present value and for all the sensitivities, so that
+   * {@link #presentValueAndSensitivities(CmsPeriod, RatesProvider, SabrSwaptionVolatilities)}
+   * evaluates the swap annuity and the SABR smile only once per point.
+   * The abscissas and weights are computed once when this method is called.
+   * 
+   * @param nbPoints  the number of points in each panel
+   * @return the pricer
+   */
+  public SabrExtrapolationReplicationCmsPeriodPricer withQuadrature(int nbPoints) {
+    ArgChecker.notNegativeOrZero(nbPoints, "nbPoints");
+    GaussianQuadratureData quadrature = new GaussLegendreWeightAndAbscissaFunction().generate(nbPoints);
+    return new SabrExtrapolationReplicationCmsPeriodPricer(swapPricer, cutOffStrike, mu, quadrature);
   }
 
   //-------------------------------------------------------------------------
@@ -208,7 +258,11 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
     double integralPart = 0d;
     Function<Double, Double> integrant = intProv.integrant();
     try {
-      if (intProv.getPutCall().isCall()) {
+      if (quadrature != null) {
+        double[] integrals = integrateQuadrature(
+            intProv, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor, false, false, false);
+        integralPart = dfPayment * intProv.factor * integrals[0];
+      } else if (intProv.getPutCall().isCall()) {
         integralPart = dfPayment *
             integrateCall(integrator, integrant, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
       } else {
@@ -333,7 +387,12 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
     Function<Double, Double> integrant = intProv.integrant();
     Function<Double, Double> integrantDelta = intProv.integrantDelta();
     try {
-      if (intProv.getPutCall().isCall()) {
+      if (quadrature != null) {
+        double[] integrals = integrateQuadrature(
+            intProv, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor, true, false, false);
+        integralPartPrice = intProv.factor * integrals[0];
+        integralPart = dfPayment * (n[1] * integrals[0] + n[0] * integrals[1]);
+      } else if (intProv.getPutCall().isCall()) {
         integralPartPrice =
             integrateCall(integrator, integrant, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
         integralPart = dfPayment *
@@ -405,12 +464,17 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
         .priceAdjointSabr(Math.max(0d, strikeCpn + shift), intProv.getPutCall()) // handle tiny but negative number
         .getDerivatives().multipliedBy(factor2).toArray();
     RungeKuttaIntegrator1D integrator = new RungeKuttaIntegrator1D(ABS_TOL, REL_TOL_VEGA, NUM_ITER);
+    double[] integrals = quadrature != null ?
+        integrateQuadrature(intProv, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor, false, true, false) :
+        null;
     double[] totalSensi = new double[4];
     for (int loopparameter = 0; loopparameter < 4; loopparameter++) {
       double integralPart = 0d;
       Function<Double, Double> integrant = intProv.integrantVega(loopparameter);
       try {
-        if (intProv.getPutCall().isCall()) {
+        if (integrals != null) {
+          integralPart = dfPayment * intProv.factor * integrals[2 + loopparameter];
+        } else if (intProv.getPutCall().isCall()) {
           integralPart = dfPayment *
               integrateCall(integrator, integrant, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor);
         } else {
@@ -491,7 +555,11 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
     double firstPart;
     double thirdPart;
     Function<Double, Double> integrant = intProv.integrantDualDelta();
-    if (intProv.getPutCall().isCall()) {
+    if (quadrature != null) {
+      firstPart = -kpkpp[0] * intProv.bs(strike);
+      thirdPart = integrateQuadrature(
+          intProv, swaptionVolatilities, forward, strike, expiryTime, tenor, false, false, true)[6];
+    } else if (intProv.getPutCall().isCall()) {
       firstPart = -kpkpp[0] * intProv.bs(strike);
       thirdPart = integrateCall(integrator, integrant, swaptionVolatilities, forward, strike, expiryTime, tenor);
     } else {
@@ -503,6 +571,107 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
     return cmsPeriod.getNotional() * cmsPeriod.getYearFraction() * factor * (firstPart + secondPart + thirdPart);
   }
 
+  /**
+   * Computes the present value and its sensitivities by replication in SABR framework with extrapolation on the right.
+   * <p>
+   * This returns the results of {@code presentValue}, {@code presentValueSensitivityRates},
+   * {@code presentValueSensitivityModelParamsSabr} and {@code presentValueSensitivityStrike}.
+   * The sensitivity to the strike is zero for a CMS coupon.
+   * <p>
+   * If the pricer uses quadrature, see {@link #withQuadrature(int)}, the integrands of all the outputs
+   * are evaluated together on the quadrature grid of the period. The swap annuity and the SABR smile
+   * are thus computed once per point of the grid, instead of once per output.
+   * 
+   * @param cmsPeriod  the CMS
+   * @param provider  the rates provider
+   * @param swaptionVolatilities  the swaption volatilities
+   * @return the present value and its sensitivities
+   */
+  public CmsPeriodReplicationResult presentValueAndSensitivities(
+      CmsPeriod cmsPeriod,
+      RatesProvider provider,
+      SabrSwaptionVolatilities swaptionVolatilities) {
+
+    boolean coupon = cmsPeriod.getCmsPeriodType().equals(CmsPeriodType.COUPON);
+    SwapIndex index = cmsPeriod.getIndex();
+    ResolvedSwap swap = cmsPeriod.getUnderlyingSwap();
+    LocalDate fixingDate = cmsPeriod.getFixingDate();
+    double expiryTime = swaptionVolatilities.relativeTime(
+        fixingDate.atTime(index.getFixingTime()).atZone(index.getFixingZone()));
+    if (quadrature == null ||
+        provider.getValuationDate().isAfter(cmsPeriod.getPaymentDate()) ||
+        !fixingDate.isAfter(swaptionVolatilities.getValuationDateTime().toLocalDate()) ||
+        expiryTime < MIN_TIME) {
+      // no shared integration
+      return CmsPeriodReplicationResult.of(
+          presentValue(cmsPeriod, provider, swaptionVolatilities),
+          presentValueSensitivityRates(cmsPeriod, provider, swaptionVolatilities).build(),
+          presentValueSensitivityModelParamsSabr(cmsPeriod, provider, swaptionVolatilities).build(),
+          coupon ? 0d : presentValueSensitivityStrike(cmsPeriod, provider, swaptionVolatilities));
+    }
+    Currency ccy = cmsPeriod.getCurrency();
+    double dfPayment = provider.discountFactor(ccy, cmsPeriod.getPaymentDate());
+    double tenor = swaptionVolatilities.tenor(swap.getStartDate(), swap.getEndDate());
+    double shift = swaptionVolatilities.shift(expiryTime, tenor);
+    double strikeCpn = coupon ? -shift : cmsPeriod.getStrike();
+    double forward = swapPricer.parRate(swap, provider);
+    double eta = index.getTemplate().getConvention().getFixedLeg().getDayCount()
+        .relativeYearFraction(cmsPeriod.getPaymentDate(), swap.getStartDate());
+    CmsDeltaIntegrantProvider intProv = new CmsDeltaIntegrantProvider(
+        cmsPeriod, swap, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor, cutOffStrike, eta);
+    double[] integrals;
+    try {
+      integrals = integrateQuadrature(
+          intProv, swaptionVolatilities, forward, strikeCpn, expiryTime, tenor, true, true, !coupon);
+    } catch (Exception e) {
+      throw new MathException(e);
+    }
+    double notionalFactor = cmsPeriod.getNotional() * cmsPeriod.getYearFraction();
+    double factor = dfPayment * intProv.factor;
+    double kStrike = intProv.k(strikeCpn);
+    double[] bs = intProv.bsbsp(strikeCpn);
+    double[] n = intProv.getNnp();
+    // present value and sensitivity to the payment discount factor
+    double pricePD = kStrike * n[0] * bs[0] + intProv.factor * integrals[0];
+    if (coupon) {
+      pricePD -= shift;
+    }
+    pricePD *= notionalFactor;
+    CurrencyAmount pv = CurrencyAmount.of(ccy, dfPayment * pricePD);
+    // sensitivity to the rates
+    double strikePart = dfPayment * kStrike * (n[1] * bs[0] + n[0] * bs[1]);
+    double integralPart = dfPayment * (n[1] * integrals[0] + n[0] * integrals[1]);
+    double deltaFwd = (strikePart + integralPart) * notionalFactor;
+    PointSensitivityBuilder sensiFwd = swapPricer.parRateSensitivity(swap, provider).multipliedBy(deltaFwd);
+    PointSensitivityBuilder sensiDf = provider.discountFactors(ccy)
+        .zeroRatePointSensitivity(cmsPeriod.getPaymentDate()).multipliedBy(pricePD);
+    // sensitivity to the SABR parameters
+    double[] strikePartSabr = intProv.getSabrExtrapolation()
+        .priceAdjointSabr(Math.max(0d, strikeCpn + shift), intProv.getPutCall()) // handle tiny but negative number
+        .getDerivatives().multipliedBy(factor * kStrike).toArray();
+    double[] totalSensi = new double[4];
+    for (int loopparameter = 0; loopparameter < 4; loopparameter++) {
+      totalSensi[loopparameter] =
+          (strikePartSabr[loopparameter] + factor * integrals[2 + loopparameter]) * notionalFactor;
+    }
+    SwaptionVolatilitiesName name = swaptionVolatilities.getName();
+    PointSensitivityBuilder sensiSabr = PointSensitivityBuilder.of(
+        SwaptionSabrSensitivity.of(name, expiryTime, tenor, ALPHA, ccy, totalSensi[0]),
+        SwaptionSabrSensitivity.of(name, expiryTime, tenor, BETA, ccy, totalSensi[1]),
+        SwaptionSabrSensitivity.of(name, expiryTime, tenor, RHO, ccy, totalSensi[2]),
+        SwaptionSabrSensitivity.of(name, expiryTime, tenor, NU, ccy, totalSensi[3]));
+    // sensitivity to the strike
+    double sensiStrike = 0d;
+    if (!coupon) {
+      double firstPart = -intProv.kpkpp(strikeCpn)[0] * bs[0];
+      double secondPart =
+          kStrike * intProv.getSabrExtrapolation().priceDerivativeStrike(strikeCpn + shift, intProv.getPutCall());
+      sensiStrike = notionalFactor * factor * (firstPart + secondPart + integrals[6]);
+    }
+    return CmsPeriodReplicationResult.of(
+        pv, sensiFwd.combinedWith(sensiDf).build(), sensiSabr.build(), sensiStrike);
+  }
+
   private double payOff(CmsPeriodType cmsPeriodType, double strikeCpn, Double fixedRate) {
     double payoff = 0d;
     switch (cmsPeriodType) {
@@ -531,11 +700,7 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
       double tenor) {
 
     double res;
-    double vol = swaptionVolatilities.volatility(expiryTime, tenor, forward, forward);
-    double upper0 = Math.max(
-        forward * Math.exp(6d * vol * Math.sqrt(expiryTime)),
-        Math.max(cutOffStrike, 2d * strike));  // To ensure that the integral covers a good part of the smile
-    double upper = Math.min(upper0, 1d); // To ensure that we don't miss the meaningful part
+    double upper = upperBound(swaptionVolatilities, forward, strike, expiryTime, tenor);
     res = integrator.integrate(integrant, strike, upper);
     double reminder = integrant.apply(upper) * upper;
     double error = reminder / res;
@@ -554,6 +719,102 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
     return res;
   }
 
+  // the initial upper bound of the integration for a call
+  private double upperBound(
+      SabrSwaptionVolatilities swaptionVolatilities,
+      double forward,
+      double strike,
+      double expiryTime,
+      double tenor) {
+
+    double vol = swaptionVolatilities.volatility(expiryTime, tenor, forward, forward);
+    double upper0 = Math.max(
+        forward * Math.exp(6d * vol * Math.sqrt(expiryTime)),
+        Math.max(cutOffStrike, 2d * strike));  // To ensure that the integral covers a good part of the smile
+    return Math.min(upper0, 1d); // To ensure that we don't miss the meaningful part
+  }
+
+  // integrates the integrants on the quadrature grid, the domain being adjusted to the price integrant
+  // the integrals of a put are multiplied by -1, as in the adaptive integration
+  private double[] integrateQuadrature(
+      CmsIntegrantProvider intProv,
+      SabrSwaptionVolatilities swaptionVolatilities,
+      double forward,
+      double strike,
+      double expiryTime,
+      double tenor,
+      boolean delta,
+      boolean vega,
+      boolean dualDelta) {
+
+    double[] res = new double[NB_INTEGRANDS];
+    if (intProv.getPutCall().isPut()) {
+      // integration from the strike down to the lower bound provides the sign
+      integratePanels(intProv, strike, -intProv.getShift() + ZERO_SHIFT, delta, vega, dualDelta, res);
+      return res;
+    }
+    double upper = upperBound(swaptionVolatilities, forward, strike, expiryTime, tenor);
+    integratePanels(intProv, strike, upper, delta, vega, dualDelta, res);
+    double reminder = intProv.integrants(upper, false, false, false)[0] * upper;
+    double error = reminder / res[0];
+    int count = 0;
+    while (Math.abs(error) > REL_TOL && count < MAX_COUNT) {
+      integratePanel(intProv, upper, 2d * upper, delta, vega, dualDelta, res);
+      upper *= 2d;
+      reminder = intProv.integrants(upper, false, false, false)[0] * upper;
+      error = reminder / res[0];
+      ++count;
+      if (count == MAX_COUNT) {
+        log.info("Maximum iteration count, " + MAX_COUNT + ", has been reached. Relative error is greater than " +
+            REL_TOL);
+      }
+    }
+    return res;
+  }
+
+  // integrates from the strike to the bound on panels whose width grows geometrically away from the strike
+  private void integratePanels(
+      CmsIntegrantProvider intProv,
+      double strike,
+      double bound,
+      boolean delta,
+      boolean vega,
+      boolean dualDelta,
+      double[] res) {
+
+    double width = (bound - strike) * (PANEL_RATIO - 1d) / (Math.pow(PANEL_RATIO, NB_PANELS) - 1d);
+    double start = strike;
+    for (int i = 0; i < NB_PANELS; i++) {
+      double end = i == NB_PANELS - 1 ? bound : start + width;
+      integratePanel(intProv, start, end, delta, vega, dualDelta, res);
+      start = end;
+      width *= PANEL_RATIO;
+    }
+  }
+
+  // integrates on a panel with the Gauss-Legendre abscissas and weights, adding the integrals to the result
+  private void integratePanel(
+      CmsIntegrantProvider intProv,
+      double start,
+      double end,
+      boolean delta,
+      boolean vega,
+      boolean dualDelta,
+      double[] res) {
+
+    double[] abscissas = quadrature.getAbscissas();
+    double[] weights = quadrature.getWeights();
+    double mid = 0.5 * (start + end);
+    double halfWidth = 0.5 * (end - start);
+    for (int i = 0; i < abscissas.length; i++) {
+      double[] integrants = intProv.integrants(mid + halfWidth * abscissas[i], delta, vega, dualDelta);
+      double weight = halfWidth * weights[i];
+      for (int j = 0; j < NB_INTEGRANDS; j++) {
+        res[j] += weight * integrants[j];
+      }
+    }
+  }
+
   /**
    * Explains the present value of the CMS period.
    * <p>
@@ -745,6 +1006,54 @@ public final class SabrExtrapolationReplicationCmsPeriodPricer {
       };
     }
 
+    /**
+     * Obtains the values of the integrants used in the quadrature.
+     * <p>
+     * The price integrant, without the annuity factor, is always computed. The derivative of the price
+     * with respect to the forward, the derivatives with respect to the four SABR parameters and the
+     * derivative with respect to the strike are computed when required and are zero otherwise.
+     * The derivative integrants are multiplied by the same strike dependent factor as the price integrant,
+     * except the strike derivative integrant.
+     * 
+     * @param x  the swap rate
+     * @param delta  whether the forward derivative integrant is required
+     * @param vega  whether the SABR parameter derivative integrants are required
+     * @param dualDelta  whether the strike derivative integrant is required
+     * @return the integrants
+     */
+    double[] integrants(double x, boolean delta, boolean vega, boolean dualDelta) {
+      double[] kD = kpkpp(x);
+      // Implementation note: kD[0] contains the first derivative of k; kD[1] the second derivative of k.
+      double kFactor = kD[1] * (x - strike) + 2d * kD[0];
+      double xShifted = Math.max(x + shift, 0d); // handle tiny but negative number
+      double[] res = new double[NB_INTEGRANDS];
+      double price;
+      if (delta) {
+        // the price and all its derivatives are obtained from a single evaluation of the smile
+        ValueDerivatives priceAdjoint = sabrExtrapolation.priceAdjointForwardSabr(xShifted, putCall);
+        price = priceAdjoint.getValue();
+        res[1] = kFactor * priceAdjoint.getDerivative(0);
+        if (vega) {
+          for (int i = 0; i < 4; i++) {
+            res[2 + i] = priceAdjoint.getDerivative(1 + i) * kFactor;
+          }
+        }
+      } else if (vega) {
+        ValueDerivatives priceAdjoint = sabrExtrapolation.priceAdjointSabr(xShifted, putCall);
+        price = priceAdjoint.getValue();
+        for (int i = 0; i < 4; i++) {
+          res[2 + i] = priceAdjoint.getDerivative(i) * kFactor;
+        }
+      } else {
+        price = sabrExtrapolation.price(xShifted, putCall);
+      }
+      res[0] = kFactor * price;
+      if (dualDelta) {
+        res[6] = -kD[1] * price;
+      }
+      return res;
+    }
+
     /**
      * The approximation of the discount factor as function of the swap rate.
      * 
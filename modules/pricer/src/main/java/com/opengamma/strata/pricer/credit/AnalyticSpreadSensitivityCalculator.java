@@ -6,30 +6,44 @@
 package com.opengamma.strata.pricer.credit;
 
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.StandardId;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.curve.NodalCurve;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
+import com.opengamma.strata.market.param.ParameterMetadata;
+import com.opengamma.strata.market.param.ResolvedTradeParameterMetadata;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivity;
 import com.opengamma.strata.math.impl.linearalgebra.LUDecompositionCommons;
 import com.opengamma.strata.math.impl.linearalgebra.LUDecompositionResult;
 import com.opengamma.strata.math.impl.matrix.CommonsMatrixAlgebra;
 import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
+import com.opengamma.strata.product.ResolvedTrade;
 import com.opengamma.strata.product.credit.ResolvedCds;
+import com.opengamma.strata.product.credit.ResolvedCdsIndexTrade;
 import com.opengamma.strata.product.credit.ResolvedCdsTrade;
 
 /**
  * Analytic spread sensitivity calculator.
  * <p>
  * This analytically computes the present value sensitivity to par spreads of bucketed CDSs. 
+ * <p>
+ * The bucketed CS01 of a portfolio of CDS and CDS index trades can be computed from the point sensitivities
+ * of the portfolio. The credit curves are then used as calibrated, and the Jacobian of each curve is computed once
+ * for the whole portfolio.
  */
 public class AnalyticSpreadSensitivityCalculator
     extends SpreadSensitivityCalculator {
@@ -49,6 +63,11 @@ public class AnalyticSpreadSensitivityCalculator
    */
   private static final LUDecompositionCommons DECOMPOSITION = new LUDecompositionCommons();
 
+  /**
+   * The CDS index trade pricer.
+   */
+  private final IsdaHomogenousCdsIndexTradePricer indexPricer;
+
   /**
    * Constructor with the accrual-on-default formula specified.
    * 
@@ -56,6 +75,7 @@ public class AnalyticSpreadSensitivityCalculator
    */
   public AnalyticSpreadSensitivityCalculator(AccrualOnDefaultFormula formula) {
     super(formula);
+    this.indexPricer = new IsdaHomogenousCdsIndexTradePricer(formula);
   }
 
   //-------------------------------------------------------------------------
@@ -114,4 +134,114 @@ public class AnalyticSpreadSensitivityCalculator
     return vS;
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Computes bucketed CS01 for a portfolio of CDS and CDS index trades.
+   * <p>
+   * The present value sensitivities of the trades, based on the settlement date, are combined,
+   * then converted to bucketed CS01 by {@link #bucketedCs01(PointSensitivities, CreditRatesProvider, ReferenceData)}.
+   * The CS01 of a CDS index trade is computed using a single credit curve,
+   * as {@link IsdaHomogenousCdsIndexTradePricer}.
+   * 
+   * @param cdsTrades  the CDS trades
+   * @param cdsIndexTrades  the CDS index trades
+   * @param ratesProvider  the rates provider
+   * @param refData  the reference data
+   * @return the bucketed CS01, one sensitivity for each credit curve
+   */
+  public CurrencyParameterSensitivities bucketedCs01(
+      List<ResolvedCdsTrade> cdsTrades,
+      List<ResolvedCdsIndexTrade> cdsIndexTrades,
+      CreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    PointSensitivities pointSensitivities = PointSensitivities.empty();
+    for (ResolvedCdsTrade trade : cdsTrades) {
+      pointSensitivities = pointSensitivities.combinedWith(
+          getPricer().presentValueOnSettleSensitivity(trade, ratesProvider, refData));
+    }
+    for (ResolvedCdsIndexTrade trade : cdsIndexTrades) {
+      pointSensitivities = pointSensitivities.combinedWith(
+          indexPricer.presentValueOnSettleSensitivity(trade, ratesProvider, refData));
+    }
+    return bucketedCs01(pointSensitivities, ratesProvider, refData);
+  }
+
+  /**
+   * Computes bucketed CS01 from point sensitivities.
+   * <p>
+   * The sensitivities to the zero rates of the credit curves are converted to sensitivities to the par spreads
+   * of the bucket CDSs, using the Jacobian of the par spreads with respect to the curve parameters.
+   * The credit curves are not recalibrated, and the Jacobian of each curve is computed once.
+   * The sensitivities to the other curves, such as the discount curves, are ignored.
+   * <p>
+   * The credit curves must store {@link ResolvedTradeParameterMetadata}, where the trades are the CDS or
+   * CDS index trades used in the curve calibration. These trades are used as the bucket CDSs.
+   * The resulting sensitivities have the name and the parameter metadata of the credit curves.
+   * 
+   * @param pointSensitivities  the point sensitivities
+   * @param ratesProvider  the rates provider
+   * @param refData  the reference data
+   * @return the bucketed CS01, one sensitivity for each credit curve
+   */
+  public CurrencyParameterSensitivities bucketedCs01(
+      PointSensitivities pointSensitivities,
+      CreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    Map<Pair<StandardId, Currency>, CurrencyParameterSensitivities> curveSensitivities = new LinkedHashMap<>();
+    for (PointSensitivity point : pointSensitivities.getSensitivities()) {
+      if (point instanceof CreditCurveZeroRateSensitivity) {
+        CreditCurveZeroRateSensitivity creditPoint = (CreditCurveZeroRateSensitivity) point;
+        LegalEntitySurvivalProbabilities survivalProbabilities =
+            ratesProvider.survivalProbabilities(creditPoint.getLegalEntityId(), creditPoint.getCurveCurrency());
+        curveSensitivities.merge(
+            Pair.of(creditPoint.getLegalEntityId(), creditPoint.getCurveCurrency()),
+            survivalProbabilities.parameterSensitivity(creditPoint),
+            CurrencyParameterSensitivities::combinedWith);
+      }
+    }
+    CurrencyParameterSensitivities result = CurrencyParameterSensitivities.empty();
+    for (Map.Entry<Pair<StandardId, Currency>, CurrencyParameterSensitivities> entry : curveSensitivities.entrySet()) {
+      LegalEntitySurvivalProbabilities survivalProbabilities =
+          ratesProvider.survivalProbabilities(entry.getKey().getFirst(), entry.getKey().getSecond());
+      LUDecompositionResult luRes = parSpreadJacobian(survivalProbabilities, ratesProvider, refData);
+      for (CurrencyParameterSensitivity sensitivity : entry.getValue().getSensitivities()) {
+        result = result.combinedWith(sensitivity.withSensitivity(luRes.solve(sensitivity.getSensitivity())));
+      }
+    }
+    return result;
+  }
+
+  // the decomposition of the transposed Jacobian of the par spreads of the bucket CDSs to the curve parameters
+  private LUDecompositionResult parSpreadJacobian(
+      LegalEntitySurvivalProbabilities survivalProbabilities,
+      CreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    CreditDiscountFactors creditCurve = survivalProbabilities.getSurvivalProbabilities();
+    int nNodes = creditCurve.getParameterCount();
+    double[][] res = new double[nNodes][];
+    for (int i = 0; i < nNodes; i++) {
+      ParameterMetadata metadata = creditCurve.getParameterMetadata(i);
+      ArgChecker.isTrue(metadata instanceof ResolvedTradeParameterMetadata,
+          "ParameterMetadata of credit curve must be ResolvedTradeParameterMetadata");
+      ResolvedTrade trade = ((ResolvedTradeParameterMetadata) metadata).getTrade();
+      ResolvedCdsTrade bucketCds;
+      if (trade instanceof ResolvedCdsIndexTrade) {
+        bucketCds = ((ResolvedCdsIndexTrade) trade).toSingleNameCds();
+      } else {
+        ArgChecker.isTrue(trade instanceof ResolvedCdsTrade,
+            "ResolvedTrade must be ResolvedCdsTrade or ResolvedCdsIndexTrade");
+        bucketCds = (ResolvedCdsTrade) trade;
+      }
+      PointSensitivities pointSp = getPricer().parSpreadSensitivity(bucketCds, ratesProvider, refData);
+      res[i] = ratesProvider.singleCreditCurveParameterSensitivity(
+          pointSp, survivalProbabilities.getLegalEntityId(), survivalProbabilities.getCurrency())
+          .getSensitivity().toArray();
+    }
+    DoubleMatrix jacT = MATRIX_ALGEBRA.getTranspose(DoubleMatrix.ofUnsafe(res));
+    return DECOMPOSITION.apply(jacT);
+  }
+
 }
@@ -0,0 +1,252 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+import java.time.LocalDate;
+
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.TypedMetaBean;
+import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+
+/**
+ * The present value and CS01 of a group of single-name CDS trades.
+ * <p>
+ * The trades of a group have the same legal entity, currency and protection end date.
+ * This is the result of {@link IsdaCdsPortfolioPricer}.
+ */
+@BeanDefinition(style = "light")
+public final class IsdaCdsGroupResult
+    implements ImmutableBean, Serializable {
+
+  /**
+   * The legal entity identifier of the trades.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final StandardId legalEntityId;
+  /**
+   * The currency of the trades.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final Currency currency;
+  /**
+   * The protection end date of the trades.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final LocalDate protectionEndDate;
+  /**
+   * The number of trades in the group.
+   */
+  @PropertyDefinition
+  private final int tradeCount;
+  /**
+   * The present value of the trades, including the upfront fees.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final CurrencyAmount presentValue;
+  /**
+   * The CS01 of the trades.
+   * <p>
+   * This is the sensitivity of the present value to the par spread of the protection end date.
+   * See {@link IsdaCdsPortfolioPricer} for the definition.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final CurrencyAmount cs01;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   *
+   * @param legalEntityId  the legal entity identifier
+   * @param currency  the currency
+   * @param protectionEndDate  the protection end date
+   * @param tradeCount  the number of trades
+   * @param presentValue  the present value
+   * @param cs01  the CS01
+   * @return the instance
+   */
+  public static IsdaCdsGroupResult of(
+      StandardId legalEntityId,
+      Currency currency,
+      LocalDate protectionEndDate,
+      int tradeCount,
+      CurrencyAmount presentValue,
+      CurrencyAmount cs01) {
+
+    return new IsdaCdsGroupResult(legalEntityId, currency, protectionEndDate, tradeCount, presentValue, cs01);
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code IsdaCdsGroupResult}.
+   */
+  private static final TypedMetaBean<IsdaCdsGroupResult> META_BEAN =
+      LightMetaBean.of(
+          IsdaCdsGroupResult.class,
+          MethodHandles.lookup(),
+          new String[] {
+              "legalEntityId",
+              "currency",
+              "protectionEndDate",
+              "tradeCount",
+              "presentValue",
+              "cs01"},
+          new Object[0]);
+
+  /**
+   * The meta-bean for {@code IsdaCdsGroupResult}.
+   * @return the meta-bean, not null
+   */
+  public static TypedMetaBean<IsdaCdsGroupResult> meta() {
+    return META_BEAN;
+  }
+
+  static {
+    MetaBean.register(META_BEAN);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private IsdaCdsGroupResult(
+      StandardId legalEntityId,
+      Currency currency,
+      LocalDate protectionEndDate,
+      int tradeCount,
+      CurrencyAmount presentValue,
+      CurrencyAmount cs01) {
+    JodaBeanUtils.notNull(legalEntityId, "legalEntityId");
+    JodaBeanUtils.notNull(currency, "currency");
+    JodaBeanUtils.notNull(protectionEndDate, "protectionEndDate");
+    JodaBeanUtils.notNull(presentValue, "presentValue");
+    JodaBeanUtils.notNull(cs01, "cs01");
+    this.legalEntityId = legalEntityId;
+    this.currency = currency;
+    this.protectionEndDate = protectionEndDate;
+    this.tradeCount = tradeCount;
+    this.presentValue = presentValue;
+    this.cs01 = cs01;
+  }
+
+  @Override
+  public TypedMetaBean<IsdaCdsGroupResult> metaBean() {
+    return META_BEAN;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the legal entity identifier of the trades.
+   * @return the value of the property, not null
+   */
+  public StandardId getLegalEntityId() {
+    return legalEntityId;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the currency of the trades.
+   * @return the value of the property, not null
+   */
+  public Currency getCurrency() {
+    return currency;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the protection end date of the trades.
+   * @return the value of the property, not null
+   */
+  public LocalDate getProtectionEndDate() {
+    return protectionEndDate;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the number of trades in the group.
+   * @return the value of the property
+   */
+  public int getTradeCount() {
+    return tradeCount;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the present value of the trades, including the upfront fees.
+   * @return the value of the property, not null
+   */
+  public CurrencyAmount getPresentValue() {
+    return presentValue;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the CS01 of the trades.
+   * <p>
+   * This is the sensitivity of the present value to the par spread of the protection end date.
+   * See {@link IsdaCdsPortfolioPricer} for the definition.
+   * @return the value of the property, not null
+   */
+  public CurrencyAmount getCs01() {
+    return cs01;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      IsdaCdsGroupResult other = (IsdaCdsGroupResult) obj;
+      return JodaBeanUtils.equal(legalEntityId, other.legalEntityId) &&
+          JodaBeanUtils.equal(currency, other.currency) &&
+          JodaBeanUtils.equal(protectionEndDate, other.protectionEndDate) &&
+          (tradeCount == other.tradeCount) &&
+          JodaBeanUtils.equal(presentValue, other.presentValue) &&
+          JodaBeanUtils.equal(cs01, other.cs01);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(legalEntityId);
+    hash = hash * 31 + JodaBeanUtils.hashCode(currency);
+    hash = hash * 31 + JodaBeanUtils.hashCode(protectionEndDate);
+    hash = hash * 31 + JodaBeanUtils.hashCode(tradeCount);
+    hash = hash * 31 + JodaBeanUtils.hashCode(presentValue);
+    hash = hash * 31 + JodaBeanUtils.hashCode(cs01);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(224);
+    buf.append("IsdaCdsGroupResult{");
+    buf.append("legalEntityId").append('=').append(legalEntityId).append(',').append(' ');
+    buf.append("currency").append('=').append(currency).append(',').append(' ');
+    buf.append("protectionEndDate").append('=').append(protectionEndDate).append(',').append(' ');
+    buf.append("tradeCount").append('=').append(tradeCount).append(',').append(' ');
+    buf.append("presentValue").append('=').append(presentValue).append(',').append(' ');
+    buf.append("cs01").append('=').append(JodaBeanUtils.toString(cs01));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-------------------------- AUTOGENERATED END --------------------------
+}
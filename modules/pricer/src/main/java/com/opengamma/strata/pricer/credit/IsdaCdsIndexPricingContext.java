@@ -0,0 +1,419 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.tuple.Triple;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.common.PriceType;
+import com.opengamma.strata.product.credit.CreditCouponPaymentPeriod;
+import com.opengamma.strata.product.credit.ResolvedCds;
+import com.opengamma.strata.product.credit.ResolvedCdsIndex;
+
+/**
+ * Pricing context for the CDS index products of a series, based on ISDA standard model.
+ * <p>
+ * The CDS index products of a series have the same index, constituents, coupon schedule and protection end date.
+ * They differ only by their notional, direction and coupon rate.
+ * This context holds the data shared by the products of the series, which are
+ * the index credit curve, the discount curve, the recovery rate, the index factor and the step-in dates.
+ * The protection leg and the risky annuity per unit notional are computed once when the context is created,
+ * and their sensitivities are computed once when first required.
+ * The present value of each product is then a linear combination of these.
+ * <p>
+ * The results are the same as those of {@link IsdaHomogenousCdsIndexProductPricer}.
+ * <p>
+ * The context is created for a rates provider and a reference date.
+ * It remains valid as long as the relevant credit market data are unchanged, see {@link #isValidFor}.
+ * Instances are created using {@link IsdaHomogenousCdsIndexProductPricer#pricingContext}.
+ */
+public final class IsdaCdsIndexPricingContext {
+
+  /**
+   * The CDS index of the series, as a single name CDS.
+   */
+  private final ResolvedCds series;
+  /**
+   * The constituent legal entities of the series.
+   */
+  private final ImmutableList<StandardId> legalEntityIds;
+  /**
+   * The valuation date.
+   */
+  private final LocalDate valuationDate;
+  /**
+   * The reference date.
+   */
+  private final LocalDate referenceDate;
+  /**
+   * The discount factors, null if the series is expired.
+   */
+  private final CreditDiscountFactors discountFactors;
+  /**
+   * The survival probabilities of the index, null if the series is expired.
+   */
+  private final LegalEntitySurvivalProbabilities survivalProbabilities;
+  /**
+   * The recovery rates of the index, null if the series is expired.
+   */
+  private final RecoveryRates recoveryRates;
+  /**
+   * The index factor.
+   */
+  private final double indexFactor;
+  /**
+   * The protection leg per unit notional, before the loss given default.
+   */
+  private final double protectionFull;
+  /**
+   * The protection leg per unit notional.
+   */
+  private final double protectionLeg;
+  /**
+   * The dirty risky annuity per unit notional.
+   */
+  private final double dirtyRiskyAnnuity;
+  /**
+   * The accrued year fraction at the step-in date.
+   */
+  private final double accruedYearFraction;
+  /**
+   * The sensitivity of the protection leg per unit notional.
+   */
+  private final Supplier<PointSensitivityBuilder> protectionLegSensitivity;
+  /**
+   * The sensitivity of the risky annuity per unit notional.
+   */
+  private final Supplier<PointSensitivityBuilder> riskyAnnuitySensitivity;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   *
+   * @param cdsIndex  a CDS index product of the series
+   * @param ratesProvider  the rates provider
+   * @param referenceDate  the reference date
+   * @param refData  the reference data
+   * @param underlyingPricer  the pricer for single name CDS
+   * @param indexPricer  the pricer for CDS index
+   * @return the instance
+   */
+  static IsdaCdsIndexPricingContext of(
+      ResolvedCdsIndex cdsIndex,
+      CreditRatesProvider ratesProvider,
+      LocalDate referenceDate,
+      ReferenceData refData,
+      IsdaCdsProductPricer underlyingPricer,
+      IsdaHomogenousCdsIndexProductPricer indexPricer) {
+
+    ResolvedCds cds = cdsIndex.toSingleNameCds();
+    LocalDate valuationDate = ratesProvider.getValuationDate();
+    if (indexPricer.isExpired(cdsIndex, ratesProvider)) {
+      return new IsdaCdsIndexPricingContext(
+          cds, cdsIndex.getLegalEntityIds(), valuationDate, referenceDate, null, null, null, 0d, 0d, 0d, 0d, 0d,
+          PointSensitivityBuilder::none, PointSensitivityBuilder::none);
+    }
+    LocalDate stepinDate = cds.getStepinDateOffset().adjust(valuationDate, refData);
+    LocalDate effectiveStartDate = cds.calculateEffectiveStartDate(stepinDate);
+    double recoveryRate = underlyingPricer.recoveryRate(cds, ratesProvider);
+    Triple<CreditDiscountFactors, LegalEntitySurvivalProbabilities, Double> rates =
+        indexPricer.reduceDiscountFactors(cds, ratesProvider);
+    CreditDiscountFactors discountFactors = rates.getFirst();
+    LegalEntitySurvivalProbabilities survivalProbabilities = rates.getSecond();
+    double protectionFull = underlyingPricer.protectionFull(
+        cds, discountFactors, survivalProbabilities, referenceDate, effectiveStartDate);
+    double dirtyRiskyAnnuity = underlyingPricer.riskyAnnuity(
+        cds, discountFactors, survivalProbabilities, referenceDate, stepinDate, effectiveStartDate, PriceType.DIRTY);
+    Supplier<PointSensitivityBuilder> protectionLegSensitivity = Suppliers.memoize(
+        () -> underlyingPricer.protectionLegSensitivity(
+            cds, discountFactors, survivalProbabilities, referenceDate, effectiveStartDate, recoveryRate));
+    Supplier<PointSensitivityBuilder> riskyAnnuitySensitivity = Suppliers.memoize(
+        () -> underlyingPricer.riskyAnnuitySensitivity(
+            cds, discountFactors, survivalProbabilities, referenceDate, stepinDate, effectiveStartDate));
+    return new IsdaCdsIndexPricingContext(
+        cds,
+        cdsIndex.getLegalEntityIds(),
+        valuationDate,
+        referenceDate,
+        discountFactors,
+        survivalProbabilities,
+        ratesProvider.recoveryRates(cds.getLegalEntityId()),
+        rates.getThird(),
+        protectionFull,
+        (1d - recoveryRate) * protectionFull,
+        dirtyRiskyAnnuity,
+        cds.accruedYearFraction(stepinDate),
+        protectionLegSensitivity,
+        riskyAnnuitySensitivity);
+  }
+
+  // private constructor
+  private IsdaCdsIndexPricingContext(
+      ResolvedCds series,
+      ImmutableList<StandardId> legalEntityIds,
+      LocalDate valuationDate,
+      LocalDate referenceDate,
+      CreditDiscountFactors discountFactors,
+      LegalEntitySurvivalProbabilities survivalProbabilities,
+      RecoveryRates recoveryRates,
+      double indexFactor,
+      double protectionFull,
+      double protectionLeg,
+      double dirtyRiskyAnnuity,
+      double accruedYearFraction,
+      Supplier<PointSensitivityBuilder> protectionLegSensitivity,
+      Supplier<PointSensitivityBuilder> riskyAnnuitySensitivity) {
+
+    this.series = series;
+    this.legalEntityIds = legalEntityIds;
+    this.valuationDate = valuationDate;
+    this.referenceDate = referenceDate;
+    this.discountFactors = discountFactors;
+    this.survivalProbabilities = survivalProbabilities;
+    this.recoveryRates = recoveryRates;
+    this.indexFactor = indexFactor;
+    this.protectionFull = protectionFull;
+    this.protectionLeg = protectionLeg;
+    this.dirtyRiskyAnnuity = dirtyRiskyAnnuity;
+    this.accruedYearFraction = accruedYearFraction;
+    this.protectionLegSensitivity = protectionLegSensitivity;
+    this.riskyAnnuitySensitivity = riskyAnnuitySensitivity;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the CDS index identifier of the series.
+   *
+   * @return the CDS index identifier
+   */
+  public StandardId getCdsIndexId() {
+    return series.getLegalEntityId();
+  }
+
+  /**
+   * Gets the constituent legal entities of the series.
+   *
+   * @return the legal entity identifiers
+   */
+  public ImmutableList<StandardId> getLegalEntityIds() {
+    return legalEntityIds;
+  }
+
+  /**
+   * Gets the currency of the series.
+   *
+   * @return the currency
+   */
+  public Currency getCurrency() {
+    return series.getCurrency();
+  }
+
+  /**
+   * Gets the reference date.
+   *
+   * @return the reference date
+   */
+  public LocalDate getReferenceDate() {
+    return referenceDate;
+  }
+
+  /**
+   * Gets the index factor.
+   * <p>
+   * This is zero if the series is expired.
+   *
+   * @return the index factor
+   */
+  public double getIndexFactor() {
+    return indexFactor;
+  }
+
+  /**
+   * Checks if the series is expired.
+   *
+   * @return true if the series is expired
+   */
+  public boolean isExpired() {
+    return discountFactors == null;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if this context is valid for the rates provider.
+   * <p>
+   * The context is valid if the valuation date, the discount factors, the index credit curve
+   * and the recovery rates of the rates provider are the same as those used to create the context.
+   *
+   * @param ratesProvider  the rates provider
+   * @return true if the context is valid for the rates provider
+   */
+  public boolean isValidFor(CreditRatesProvider ratesProvider) {
+    if (!valuationDate.equals(ratesProvider.getValuationDate())) {
+      return false;
+    }
+    if (isExpired()) {
+      return true;
+    }
+    return discountFactors.equals(ratesProvider.discountFactors(series.getCurrency())) &&
+        survivalProbabilities.equals(
+            ratesProvider.survivalProbabilities(series.getLegalEntityId(), series.getCurrency())) &&
+        recoveryRates.equals(ratesProvider.recoveryRates(series.getLegalEntityId()));
+  }
+
+  /**
+   * Checks if the CDS index product belongs to the series of this context.
+   * <p>
+   * The product must have the same index, constituents, currency, protection end date and coupon schedule.
+   * The notional, direction and coupon rate can be different.
+   *
+   * @param cdsIndex  the product
+   * @return true if the product belongs to the series
+   */
+  public boolean isSameSeries(ResolvedCdsIndex cdsIndex) {
+    if (!cdsIndex.getCdsIndexId().equals(series.getLegalEntityId()) ||
+        !cdsIndex.getLegalEntityIds().equals(legalEntityIds) ||
+        !cdsIndex.getCurrency().equals(series.getCurrency()) ||
+        !cdsIndex.getProtectionEndDate().equals(series.getProtectionEndDate()) ||
+        !cdsIndex.getDayCount().equals(series.getDayCount()) ||
+        cdsIndex.getPaymentOnDefault() != series.getPaymentOnDefault() ||
+        cdsIndex.getProtectionStart() != series.getProtectionStart() ||
+        !cdsIndex.getStepinDateOffset().equals(series.getStepinDateOffset())) {
+      return false;
+    }
+    List<CreditCouponPaymentPeriod> periods = cdsIndex.getPaymentPeriods();
+    List<CreditCouponPaymentPeriod> seriesPeriods = series.getPaymentPeriods();
+    if (periods.size() != seriesPeriods.size()) {
+      return false;
+    }
+    for (int i = 0; i < periods.size(); i++) {
+      CreditCouponPaymentPeriod period = periods.get(i);
+      CreditCouponPaymentPeriod seriesPeriod = seriesPeriods.get(i);
+      if (!period.getStartDate().equals(seriesPeriod.getStartDate()) ||
+          !period.getEndDate().equals(seriesPeriod.getEndDate()) ||
+          !period.getEffectiveStartDate().equals(seriesPeriod.getEffectiveStartDate()) ||
+          !period.getEffectiveEndDate().equals(seriesPeriod.getEffectiveEndDate()) ||
+          !period.getPaymentDate().equals(seriesPeriod.getPaymentDate()) ||
+          period.getYearFraction() != seriesPeriod.getYearFraction()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value of the CDS index product.
+   * <p>
+   * This is the same as {@link IsdaHomogenousCdsIndexProductPricer#presentValue}.
+   *
+   * @param cdsIndex  the product
+   * @param priceType  the price type
+   * @return the present value
+   */
+  public CurrencyAmount presentValue(ResolvedCdsIndex cdsIndex, PriceType priceType) {
+    checkSeries(cdsIndex);
+    if (isExpired()) {
+      return CurrencyAmount.of(cdsIndex.getCurrency(), 0d);
+    }
+    double amount = signedNotional(cdsIndex) * indexFactor *
+        (protectionLeg - riskyAnnuity(priceType) * cdsIndex.getFixedRate());
+    return CurrencyAmount.of(cdsIndex.getCurrency(), amount);
+  }
+
+  /**
+   * Calculates the present value sensitivity of the CDS index product.
+   * <p>
+   * This is the same as {@link IsdaHomogenousCdsIndexProductPricer#presentValueSensitivity}.
+   *
+   * @param cdsIndex  the product
+   * @return the present value sensitivity
+   */
+  public PointSensitivityBuilder presentValueSensitivity(ResolvedCdsIndex cdsIndex) {
+    checkSeries(cdsIndex);
+    if (isExpired()) {
+      return PointSensitivityBuilder.none();
+    }
+    double factor = signedNotional(cdsIndex) * indexFactor;
+    PointSensitivityBuilder protectionLegSensi = protectionLegSensitivity.get().multipliedBy(factor);
+    PointSensitivityBuilder riskyAnnuitySensi =
+        riskyAnnuitySensitivity.get().multipliedBy(-cdsIndex.getFixedRate() * factor);
+    return protectionLegSensi.combinedWith(riskyAnnuitySensi);
+  }
+
+  /**
+   * Calculates the par spread of the series.
+   * <p>
+   * This is the same as {@link IsdaHomogenousCdsIndexProductPricer#parSpread}.
+   *
+   * @return the par spread
+   */
+  public double parSpread() {
+    ArgChecker.isTrue(!isExpired(), "CDS already expired");
+    return protectionLeg / riskyAnnuity(PriceType.CLEAN);
+  }
+
+  /**
+   * Calculates the risky PV01 of the CDS index product.
+   * <p>
+   * This is the same as {@link IsdaHomogenousCdsIndexProductPricer#rpv01}.
+   *
+   * @param cdsIndex  the product
+   * @param priceType  the price type
+   * @return the RPV01
+   */
+  public CurrencyAmount rpv01(ResolvedCdsIndex cdsIndex, PriceType priceType) {
+    checkSeries(cdsIndex);
+    if (isExpired()) {
+      return CurrencyAmount.of(cdsIndex.getCurrency(), 0d);
+    }
+    double amount = signedNotional(cdsIndex) * riskyAnnuity(priceType) * indexFactor;
+    return CurrencyAmount.of(cdsIndex.getCurrency(), amount);
+  }
+
+  /**
+   * Calculates the recovery01 of the CDS index product.
+   * <p>
+   * This is the same as {@link IsdaHomogenousCdsIndexProductPricer#recovery01}.
+   *
+   * @param cdsIndex  the product
+   * @return the recovery01
+   */
+  public CurrencyAmount recovery01(ResolvedCdsIndex cdsIndex) {
+    checkSeries(cdsIndex);
+    if (isExpired()) {
+      return CurrencyAmount.of(cdsIndex.getCurrency(), 0d);
+    }
+    double amount = -signedNotional(cdsIndex) * protectionFull * indexFactor;
+    return CurrencyAmount.of(cdsIndex.getCurrency(), amount);
+  }
+
+  //-------------------------------------------------------------------------
+  // the risky annuity per unit notional
+  private double riskyAnnuity(PriceType priceType) {
+    return priceType.isCleanPrice() ? dirtyRiskyAnnuity - accruedYearFraction : dirtyRiskyAnnuity;
+  }
+
+  // the signed notional of the product
+  private static double signedNotional(ResolvedCdsIndex cdsIndex) {
+    return cdsIndex.getBuySell().normalize(cdsIndex.getNotional());
+  }
+
+  // check the product belongs to the series
+  private void checkSeries(ResolvedCdsIndex cdsIndex) {
+    ArgChecker.isTrue(isSameSeries(cdsIndex), "CDS index must belong to the series of the pricing context");
+  }
+
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.Payment;
+import com.opengamma.strata.basics.date.DaysAdjustment;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.collect.tuple.Triple;
+import com.opengamma.strata.market.sensitivity.PointSensitivity;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.DiscountingPaymentPricer;
+import com.opengamma.strata.pricer.common.PriceType;
+import com.opengamma.strata.product.credit.CreditCouponPaymentPeriod;
+import com.opengamma.strata.product.credit.ResolvedCds;
+import com.opengamma.strata.product.credit.ResolvedCdsTrade;
+
+/**
+ * Pricer for portfolios of single-name credit default swaps (CDS) based on ISDA standard model.
+ * <p>
+ * The trades are grouped by legal entity, currency and protection end date.
+ * The present value and the CS01 are computed for each group in one pass.
+ * <p>
+ * The discount factors, survival probabilities and recovery rate are obtained once per group.
+ * The trades of a group that also share the step-in date and the remaining coupon schedule differ only by
+ * their notional, direction and coupon rate. The protection leg, the risky annuity and their sensitivities
+ * per unit notional are therefore computed once for these trades, and each trade is a linear combination of them.
+ * This is typically the case for standard CDSs, which have IMM maturities.
+ * <p>
+ * The present value is the same as {@link IsdaCdsTradePricer#presentValue}, including the upfront fee.
+ * It is based on the valuation date.
+ * <p>
+ * The CS01 is the sensitivity of the present value to the par spread of the group, the par spread being the one
+ * of a CDS with the protection end date of the group. The credit curve is moved by a parallel shift of its zero rates,
+ * so that the CS01 of a trade is the ratio of the present value and par spread sensitivities to the shift.
+ * This does not require the calibration of the credit curve, unlike {@link SpreadSensitivityCalculator}.
+ * The CS01 is expressed per unit of spread, as for {@link SpreadSensitivityCalculator}.
+ */
+public class IsdaCdsPortfolioPricer {
+
+  /**
+   * Default implementation.
+   */
+  public static final IsdaCdsPortfolioPricer DEFAULT =
+      new IsdaCdsPortfolioPricer(AccrualOnDefaultFormula.ORIGINAL_ISDA);
+
+  /**
+   * The product pricer.
+   */
+  private final IsdaCdsProductPricer productPricer;
+  /**
+   * The upfront fee pricer.
+   */
+  private final DiscountingPaymentPricer upfrontPricer;
+
+  /**
+   * Constructor specifying the formula to use for the accrued on default calculation.
+   *
+   * @param formula  the formula
+   */
+  public IsdaCdsPortfolioPricer(AccrualOnDefaultFormula formula) {
+    this.productPricer = new IsdaCdsProductPricer(formula);
+    this.upfrontPricer = DiscountingPaymentPricer.DEFAULT;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the accrual-on-default formula used in this pricer.
+   *
+   * @return the formula
+   */
+  public AccrualOnDefaultFormula getAccrualOnDefaultFormula() {
+    return productPricer.getAccrualOnDefaultFormula();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value and the CS01 of the trades, grouped by legal entity, currency and protection end date.
+   * <p>
+   * This method can calculate the clean or dirty present value, see {@link PriceType}.
+   * If calculating the clean value, the accrued interest is calculated based on the step-in date.
+   * The CS01 does not depend on the price type.
+   * <p>
+   * The groups are in the order of the first trade of each group.
+   * The expired trades have a CS01 of zero, and only the upfront fee contributes to their present value.
+   *
+   * @param trades  the trades
+   * @param ratesProvider  the rates provider
+   * @param priceType  the price type
+   * @param refData  the reference data
+   * @return the present value and CS01 of each group
+   */
+  public ImmutableList<IsdaCdsGroupResult> presentValueAndCs01(
+      List<ResolvedCdsTrade> trades,
+      CreditRatesProvider ratesProvider,
+      PriceType priceType,
+      ReferenceData refData) {
+
+    ArgChecker.notNull(trades, "trades");
+    ArgChecker.notNull(ratesProvider, "ratesProvider");
+    ArgChecker.notNull(priceType, "priceType");
+    ArgChecker.notNull(refData, "refData");
+    Map<Triple<StandardId, Currency, LocalDate>, List<ResolvedCdsTrade>> groups = trades.stream()
+        .collect(Collectors.groupingBy(
+            trade -> Triple.of(
+                trade.getProduct().getLegalEntityId(),
+                trade.getProduct().getCurrency(),
+                trade.getProduct().getProtectionEndDate()),
+            LinkedHashMap::new,
+            Collectors.toList()));
+    // the step-in dates are shared by all the groups
+    Map<DaysAdjustment, LocalDate> stepinDates = new HashMap<>();
+    return groups.entrySet().stream()
+        .map(group -> presentValueAndCs01(
+            group.getKey(), group.getValue(), ratesProvider, priceType, stepinDates, refData))
+        .collect(toImmutableList());
+  }
+
+  // computes the present value and CS01 of a group
+  private IsdaCdsGroupResult presentValueAndCs01(
+      Triple<StandardId, Currency, LocalDate> key,
+      List<ResolvedCdsTrade> trades,
+      CreditRatesProvider ratesProvider,
+      PriceType priceType,
+      Map<DaysAdjustment, LocalDate> stepinDates,
+      ReferenceData refData) {
+
+    StandardId legalEntityId = key.getFirst();
+    Currency currency = key.getSecond();
+    LocalDate valuationDate = ratesProvider.getValuationDate();
+    double pv = 0d;
+    double cs01 = 0d;
+    if (key.getThird().isAfter(valuationDate)) {
+      ResolvedCds firstCds = trades.get(0).getProduct();
+      double recoveryRate = productPricer.recoveryRate(firstCds, ratesProvider);
+      Pair<CreditDiscountFactors, LegalEntitySurvivalProbabilities> rates =
+          productPricer.reduceDiscountFactors(firstCds, ratesProvider);
+      Map<List<Object>, CdsLegs> legs = new HashMap<>();
+      for (ResolvedCdsTrade trade : trades) {
+        ResolvedCds cds = trade.getProduct();
+        LocalDate stepinDate = stepinDates.computeIfAbsent(
+            cds.getStepinDateOffset(), offset -> offset.adjust(valuationDate, refData));
+        CdsLegs cdsLegs = legs.computeIfAbsent(
+            legsKey(cds, stepinDate), k -> new CdsLegs(cds, rates, valuationDate, stepinDate, recoveryRate));
+        double signedNotional = cds.getBuySell().normalize(cds.getNotional());
+        double riskyAnnuity = priceType.isCleanPrice() ? cdsLegs.cleanRiskyAnnuity : cdsLegs.dirtyRiskyAnnuity;
+        pv += signedNotional * (cdsLegs.protectionLeg - cds.getFixedRate() * riskyAnnuity);
+        cs01 += signedNotional * cdsLegs.cs01(cds.getFixedRate());
+      }
+    }
+    CurrencyAmount pvAmount = CurrencyAmount.of(currency, pv);
+    for (ResolvedCdsTrade trade : trades) {
+      if (trade.getUpfrontFee().isPresent()) {
+        Payment upfront = trade.getUpfrontFee().get();
+        CreditDiscountFactors discountFactors = ratesProvider.discountFactors(upfront.getCurrency());
+        pvAmount = pvAmount.plus(upfrontPricer.presentValue(upfront, discountFactors.toDiscountFactors()));
+      }
+    }
+    return IsdaCdsGroupResult.of(
+        legalEntityId, currency, key.getThird(), trades.size(), pvAmount, CurrencyAmount.of(currency, cs01));
+  }
+
+  // the key of the trades whose legs have the same value per unit notional
+  // the coupons are normalized so that the notional and coupon rate are not part of the key
+  private static List<Object> legsKey(ResolvedCds cds, LocalDate stepinDate) {
+    ImmutableList<CreditCouponPaymentPeriod> coupons = cds.getPaymentPeriods().stream()
+        .filter(coupon -> stepinDate.isBefore(coupon.getEndDate()))
+        .map(coupon -> coupon.toBuilder().notional(1d).fixedRate(0d).build())
+        .collect(toImmutableList());
+    return ImmutableList.of(
+        stepinDate,
+        cds.calculateEffectiveStartDate(stepinDate),
+        cds.getPaymentOnDefault(),
+        cds.getProtectionStart(),
+        cds.getDayCount(),
+        coupons);
+  }
+
+  // the sensitivity to a parallel shift of the zero rates of the credit curve
+  private static double parallelCreditSensitivity(PointSensitivityBuilder sensitivity) {
+    double sum = 0d;
+    for (PointSensitivity point : sensitivity.build().getSensitivities()) {
+      if (point instanceof CreditCurveZeroRateSensitivity) {
+        sum += point.getSensitivity();
+      }
+    }
+    return sum;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The protection leg and risky annuity per unit notional, and their sensitivities.
+   * <p>
+   * The sensitivities are with respect to a parallel shift of the zero rates of the credit curve.
+   */
+  private final class CdsLegs {
+
+    private final double protectionLeg;
+    private final double dirtyRiskyAnnuity;
+    private final double cleanRiskyAnnuity;
+    private final double protectionLegSensitivity;
+    private final double riskyAnnuitySensitivity;
+    private final double parSpreadSensitivity;
+
+    CdsLegs(
+        ResolvedCds cds,
+        Pair<CreditDiscountFactors, LegalEntitySurvivalProbabilities> rates,
+        LocalDate referenceDate,
+        LocalDate stepinDate,
+        double recoveryRate) {
+
+      CreditDiscountFactors discountFactors = rates.getFirst();
+      LegalEntitySurvivalProbabilities survivalProbabilities = rates.getSecond();
+      LocalDate effectiveStartDate = cds.calculateEffectiveStartDate(stepinDate);
+      this.protectionLeg = (1d - recoveryRate) *
+          productPricer.protectionFull(cds, discountFactors, survivalProbabilities, referenceDate, effectiveStartDate);
+      this.dirtyRiskyAnnuity = productPricer.riskyAnnuity(
+          cds, discountFactors, survivalProbabilities, referenceDate, stepinDate, effectiveStartDate, PriceType.DIRTY);
+      this.cleanRiskyAnnuity = dirtyRiskyAnnuity - cds.accruedYearFraction(stepinDate);
+      this.protectionLegSensitivity = parallelCreditSensitivity(productPricer.protectionLegSensitivity(
+          cds, discountFactors, survivalProbabilities, referenceDate, effectiveStartDate, recoveryRate));
+      this.riskyAnnuitySensitivity = parallelCreditSensitivity(productPricer.riskyAnnuitySensitivity(
+          cds, discountFactors, survivalProbabilities, referenceDate, stepinDate, effectiveStartDate));
+      this.parSpreadSensitivity =
+          (protectionLegSensitivity * cleanRiskyAnnuity - protectionLeg * riskyAnnuitySensitivity) /
+              (cleanRiskyAnnuity * cleanRiskyAnnuity);
+    }
+
+    // the CS01 per unit notional
+    double cs01(double fixedRate) {
+      return (protectionLegSensitivity - fixedRate * riskyAnnuitySensitivity) / parSpreadSensitivity;
+    }
+  }
+
+}
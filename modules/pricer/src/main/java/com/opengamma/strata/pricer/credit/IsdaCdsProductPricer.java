@@ -882,7 +882,7 @@ public class IsdaCdsProductPricer {
     ArgChecker.isTrue(recoveryRates instanceof ConstantRecoveryRates, "recoveryRates must be ConstantRecoveryRates");
   }
 
-  private Pair<CreditDiscountFactors, LegalEntitySurvivalProbabilities> reduceDiscountFactors(
+  Pair<CreditDiscountFactors, LegalEntitySurvivalProbabilities> reduceDiscountFactors(
       ResolvedCds cds,
       CreditRatesProvider ratesProvider) {
 
@@ -6,8 +6,13 @@
 package com.opengamma.strata.pricer.credit;
 
 import java.time.LocalDate;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -21,8 +26,13 @@ import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.date.DayCount;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Guavate;
+import com.opengamma.strata.collect.ParallelTasks;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.result.FailureItem;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.result.ValueWithFailures;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.market.curve.CurveInfoType;
@@ -172,6 +182,120 @@ public abstract class IsdaCompliantCreditCurveCalibrator {
         refData);
   }
 
+  /**
+   * Calibrates the ISDA compliant credit curves of many legal entities to the market data.
+   * <p>
+   * This creates one credit curve per curve definition, as {@link #calibrate(IsdaCreditCurveDefinition,
+   * MarketData, ImmutableCreditRatesProvider, ReferenceData)} does, the curves being calibrated sequentially.
+   * See {@link #calibrateAll(List, MarketData, ImmutableCreditRatesProvider, ReferenceData, Executor)}.
+   * 
+   * @param curveDefinitions  the curve definitions
+   * @param marketData  the market data
+   * @param ratesProvider  the rates provider
+   * @param refData  the reference data
+   * @return the rates provider with the calibrated credit curves, and the failures
+   */
+  public ValueWithFailures<ImmutableCreditRatesProvider> calibrateAll(
+      List<IsdaCreditCurveDefinition> curveDefinitions,
+      MarketData marketData,
+      ImmutableCreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    return calibrateAll(curveDefinitions, marketData, ratesProvider, refData, Runnable::run);
+  }
+
+  /**
+   * Calibrates the ISDA compliant credit curves of many legal entities to the market data using an executor.
+   * <p>
+   * This creates one credit curve per curve definition, as {@link #calibrate(IsdaCreditCurveDefinition,
+   * MarketData, ImmutableCreditRatesProvider, ReferenceData)} does.
+   * The curves are independent of each other once the discount curves and recovery rates are known.
+   * Each curve is therefore calibrated as a separate task of the executor.
+   * The discount factors and recovery rates of {@code ratesProvider} are immutable, and shared by all the tasks
+   * without being copied.
+   * <p>
+   * The failure of a curve does not prevent the calibration of the other curves.
+   * The curves that cannot be calibrated are not included in the resulting rates provider,
+   * and a failure item is reported instead. The same applies to the curve definitions whose legal entity and
+   * currency are the same as those of a previous curve definition.
+   * <p>
+   * The resulting rates provider is {@code ratesProvider} with the calibrated credit curves added.
+   * A credit curve of {@code ratesProvider} is replaced if a curve is calibrated for the same legal entity
+   * and currency.
+   * The result does not depend on the executor.
+   * 
+   * @param curveDefinitions  the curve definitions
+   * @param marketData  the market data
+   * @param ratesProvider  the rates provider
+   * @param refData  the reference data
+   * @param executor  the executor used to calibrate the curves
+   * @return the rates provider with the calibrated credit curves, and the failures
+   */
+  public ValueWithFailures<ImmutableCreditRatesProvider> calibrateAll(
+      List<IsdaCreditCurveDefinition> curveDefinitions,
+      MarketData marketData,
+      ImmutableCreditRatesProvider ratesProvider,
+      ReferenceData refData,
+      Executor executor) {
+
+    ArgChecker.noNulls(curveDefinitions, "curveDefinitions");
+    ArgChecker.notNull(marketData, "marketData");
+    ArgChecker.notNull(ratesProvider, "ratesProvider");
+    ArgChecker.notNull(refData, "refData");
+    ArgChecker.notNull(executor, "executor");
+    // the tasks share the immutable discount factors and recovery rates of the rates provider
+    List<Result<LegalEntitySurvivalProbabilities>> results = ParallelTasks.evaluate(
+        curveDefinitions.size(),
+        i -> calibrateSafely(curveDefinitions.get(i), marketData, ratesProvider, refData),
+        executor);
+    Map<Pair<StandardId, Currency>, LegalEntitySurvivalProbabilities> creditCurves =
+        new LinkedHashMap<>(ratesProvider.getCreditCurves());
+    Set<Pair<StandardId, Currency>> calibrated = new HashSet<>();
+    ImmutableList.Builder<FailureItem> failures = ImmutableList.builder();
+    for (int i = 0; i < results.size(); i++) {
+      Result<LegalEntitySurvivalProbabilities> result = results.get(i);
+      if (result.isFailure()) {
+        failures.addAll(result.getFailure().getItems());
+        continue;
+      }
+      LegalEntitySurvivalProbabilities creditCurve = result.getValue();
+      Pair<StandardId, Currency> key = Pair.of(creditCurve.getLegalEntityId(), creditCurve.getCurrency());
+      if (calibrated.add(key)) {
+        creditCurves.put(key, creditCurve);
+      } else {
+        failures.add(FailureItem.of(
+            FailureReason.INVALID,
+            "Credit curve '{}' is a duplicate for legal entity '{}' and currency '{}'",
+            curveDefinitions.get(i).getName(),
+            key.getFirst(),
+            key.getSecond()));
+      }
+    }
+    ImmutableCreditRatesProvider provider = ratesProvider.toBuilder()
+        .creditCurves(creditCurves)
+        .build();
+    return ValueWithFailures.of(provider, failures.build());
+  }
+
+  // calibrates a single curve, capturing the failure
+  private Result<LegalEntitySurvivalProbabilities> calibrateSafely(
+      IsdaCreditCurveDefinition curveDefinition,
+      MarketData marketData,
+      ImmutableCreditRatesProvider ratesProvider,
+      ReferenceData refData) {
+
+    try {
+      return Result.success(calibrate(curveDefinition, marketData, ratesProvider, refData));
+    } catch (RuntimeException ex) {
+      return Result.failure(
+          FailureReason.CALCULATION_FAILED,
+          ex,
+          "Unable to calibrate credit curve '{}': {}",
+          curveDefinition.getName(),
+          ex.getMessage());
+    }
+  }
+
   LegalEntitySurvivalProbabilities calibrate(
       List<CdsIsdaCreditCurveNode> curveNodes,
       CurveName name,
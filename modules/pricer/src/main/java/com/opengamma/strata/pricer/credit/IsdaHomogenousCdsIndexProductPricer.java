@@ -63,6 +63,34 @@ public class IsdaHomogenousCdsIndexProductPricer {
     return underlyingPricer.getAccrualOnDefaultFormula();
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Creates the pricing context of the series of the CDS index product.
+   * <p>
+   * The context holds the index credit curve, the recovery rate, the index factor and the legs per unit notional.
+   * It prices all the products of the series, which differ only by their notional, direction and coupon rate,
+   * without querying the rates provider again.
+   * The context can be reused as long as {@link IsdaCdsIndexPricingContext#isValidFor} is true.
+   *
+   * @param cdsIndex  a product of the series
+   * @param ratesProvider  the rates provider
+   * @param referenceDate  the reference date
+   * @param refData  the reference data
+   * @return the pricing context
+   */
+  public IsdaCdsIndexPricingContext pricingContext(
+      ResolvedCdsIndex cdsIndex,
+      CreditRatesProvider ratesProvider,
+      LocalDate referenceDate,
+      ReferenceData refData) {
+
+    ArgChecker.notNull(cdsIndex, "cdsIndex");
+    ArgChecker.notNull(ratesProvider, "ratesProvider");
+    ArgChecker.notNull(referenceDate, "referenceDate");
+    ArgChecker.notNull(refData, "refData");
+    return IsdaCdsIndexPricingContext.of(cdsIndex, ratesProvider, referenceDate, refData, underlyingPricer, this);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates the price of the CDS index product, which is the minus of the present value per unit notional. 
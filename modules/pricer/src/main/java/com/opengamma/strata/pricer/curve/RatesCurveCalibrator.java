@@ -8,6 +8,8 @@ package com.opengamma.strata.pricer.curve;
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import static com.opengamma.strata.collect.Guavate.toImmutableMap;
 
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
@@ -30,6 +32,7 @@ import com.opengamma.strata.market.curve.CurveParameterSize;
 import com.opengamma.strata.market.curve.JacobianCalibrationMatrix;
 import com.opengamma.strata.market.curve.RatesCurveGroupDefinition;
 import com.opengamma.strata.market.observable.IndexQuoteId;
+import com.opengamma.strata.math.impl.linearalgebra.BlockSparseMatrix;
 import com.opengamma.strata.math.impl.matrix.CommonsMatrixAlgebra;
 import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
 import com.opengamma.strata.math.rootfind.NewtonVectorRootFinder;
@@ -337,7 +340,7 @@ public final class RatesCurveCalibrator {
     int nbTrades = trades.size();
     int totalParamsGroup = orderGroup.stream().mapToInt(e -> e.getParameterCount()).sum();
     int totalParamsPrevious = totalParamsAll - totalParamsGroup;
-    DoubleMatrix pDmCurrentMatrix = jacobianDirect(res, nbTrades, totalParamsGroup, totalParamsPrevious);
+    BlockSparseMatrix pDmCurrentMatrix = jacobianDirect(res, totalParamsPrevious, orderGroup);
 
     // jacobian indirect: when totalParamsPrevious > 0
     DoubleMatrix pDmPrevious = jacobianIndirect(
@@ -346,9 +349,10 @@ public final class RatesCurveCalibrator {
     // add to the map of jacobians, one entry for each curve in this group
     ImmutableMap.Builder<CurveName, JacobianCalibrationMatrix> jacobianBuilder = ImmutableMap.builder();
     jacobianBuilder.putAll(jacobians);
-    int startIndex = 0;
-    for (CurveParameterSize order : orderGroup) {
+    for (int i = 0; i < orderGroup.size(); i++) {
+      CurveParameterSize order = orderGroup.get(i);
       int paramCount = order.getParameterCount();
+      int startIndex = pDmCurrentMatrix.blockStart(i);
       double[][] pDmCurveArray = new double[paramCount][totalParamsAll];
       // copy data for previous groups
       if (totalParamsPrevious > 0) {
@@ -356,14 +360,19 @@ public final class RatesCurveCalibrator {
           System.arraycopy(pDmPrevious.rowArray(startIndex + p), 0, pDmCurveArray[p], 0, totalParamsPrevious);
         }
       }
-      // copy data for this group
-      for (int p = 0; p < paramCount; p++) {
-        System.arraycopy(pDmCurrentMatrix.rowArray(startIndex + p), 0, pDmCurveArray[p], totalParamsPrevious, totalParamsGroup);
+      // copy data for this group, only the non-zero blocks
+      for (int j = 0; j < orderGroup.size(); j++) {
+        if (!pDmCurrentMatrix.isZeroBlock(i, j)) {
+          DoubleMatrix block = pDmCurrentMatrix.getBlock(i, j);
+          int columnStart = totalParamsPrevious + pDmCurrentMatrix.blockStart(j);
+          for (int p = 0; p < paramCount; p++) {
+            System.arraycopy(block.rowArray(p), 0, pDmCurveArray[p], columnStart, block.columnCount());
+          }
+        }
       }
       // build final Jacobian matrix
       DoubleMatrix pDmCurveMatrix = DoubleMatrix.ofUnsafe(pDmCurveArray);
       jacobianBuilder.put(order.getName(), JacobianCalibrationMatrix.of(orderAll, pDmCurveMatrix));
-      startIndex += paramCount;
     }
     return jacobianBuilder.build();
   }
@@ -402,23 +411,22 @@ public final class RatesCurveCalibrator {
   }
 
   // jacobian direct, for the current group
-  private static DoubleMatrix jacobianDirect(
+  // the trades are in the curve order, thus the matrix is split into blocks by curve
+  // when the curves of the group are calibrated sequentially, the matrix is block lower-triangular
+  // the blocks are read directly from the derivatives, and the inverse is kept sparse
+  private static BlockSparseMatrix jacobianDirect(
       DoubleMatrix res,
-      int nbTrades,
-      int totalParamsGroup,
-      int totalParamsPrevious) {
+      int totalParamsPrevious,
+      ImmutableList<CurveParameterSize> orderGroup) {
 
-    double[][] direct = new double[totalParamsGroup][totalParamsGroup];
-    for (int i = 0; i < nbTrades; i++) {
-      System.arraycopy(res.rowArray(i), totalParamsPrevious, direct[i], 0, totalParamsGroup);
-    }
-    return MATRIX_ALGEBRA.getInverse(DoubleMatrix.copyOf(direct));
+    BlockSparseMatrix directMatrix = BlockSparseMatrix.ofSubMatrix(res, 0, totalParamsPrevious, blockSizes(orderGroup));
+    return directMatrix.inverse(MATRIX_ALGEBRA);
   }
 
   // jacobian indirect, merging groups
   private static DoubleMatrix jacobianIndirect(
       DoubleMatrix res,
-      DoubleMatrix pDmCurrentMatrix,
+      BlockSparseMatrix pDmCurrentMatrix,
       int nbTrades,
       int totalParamsGroup,
       int totalParamsPrevious,
@@ -432,37 +440,38 @@ public final class RatesCurveCalibrator {
     for (int i = 0; i < nbTrades; i++) {
       System.arraycopy(res.rowArray(i), 0, nonDirect[i], 0, totalParamsPrevious);
     }
-    DoubleMatrix pDpPreviousMatrix = (DoubleMatrix) MATRIX_ALGEBRA.scale(
-        MATRIX_ALGEBRA.multiply(pDmCurrentMatrix, DoubleMatrix.copyOf(nonDirect)), -1d);
+    DoubleMatrix pDpPreviousMatrix = pDmCurrentMatrix.multiply(DoubleMatrix.ofUnsafe(nonDirect)).multipliedBy(-1d);
     // all curves: order and size
-    int[] startIndexBefore = new int[orderPrevious.size()];
-    for (int i = 1; i < orderPrevious.size(); i++) {
-      startIndexBefore[i] = startIndexBefore[i - 1] + orderPrevious.get(i - 1).getParameterCount();
+    Map<CurveName, Integer> indexBefore = new HashMap<>();
+    for (int i = 0; i < orderPrevious.size(); i++) {
+      indexBefore.put(orderPrevious.get(i).getName(), i);
     }
-    // transition Matrix: all curves from previous groups
-    double[][] transition = new double[totalParamsPrevious][totalParamsPrevious];
+    // transition Matrix: all curves from previous groups, only non-zero blocks are stored
+    BlockSparseMatrix.Builder transition = BlockSparseMatrix.builder(blockSizes(orderPrevious));
     for (int i = 0; i < orderPrevious.size(); i++) {
       int paramCountOuter = orderPrevious.get(i).getParameterCount();
       JacobianCalibrationMatrix thisInfo = jacobiansPrevious.get(orderPrevious.get(i).getName());
-      DoubleMatrix thisMatrix = thisInfo.getJacobianMatrix();
+      double[][] thisMatrix = thisInfo.getJacobianMatrix().toArrayUnsafe();
       int startIndexInner = 0;
-      for (int j = 0; j < orderPrevious.size(); j++) {
-        int paramCountInner = orderPrevious.get(j).getParameterCount();
-        if (thisInfo.containsCurve(orderPrevious.get(j).getName())) { // If not, the matrix stay with 0
+      for (CurveParameterSize inner : thisInfo.getOrder()) {
+        int paramCountInner = inner.getParameterCount();
+        Integer j = indexBefore.get(inner.getName());
+        if (j != null) { // If not, the block stays zero
+          double[][] block = new double[paramCountOuter][];
           for (int k = 0; k < paramCountOuter; k++) {
-            System.arraycopy(
-                thisMatrix.rowArray(k),
-                startIndexInner,
-                transition[startIndexBefore[i] + k],
-                startIndexBefore[j],
-                paramCountInner);
+            block[k] = Arrays.copyOfRange(thisMatrix[k], startIndexInner, startIndexInner + paramCountInner);
           }
+          transition.set(i, j, DoubleMatrix.ofUnsafe(block));
         }
         startIndexInner += paramCountInner;
       }
     }
-    DoubleMatrix transitionMatrix = DoubleMatrix.copyOf(transition);
-    return (DoubleMatrix) MATRIX_ALGEBRA.multiply(pDpPreviousMatrix, transitionMatrix);
+    return transition.build().leftMultiply(pDpPreviousMatrix);
+  }
+
+  // the block sizes from the curve order
+  private static int[] blockSizes(ImmutableList<CurveParameterSize> order) {
+    return order.stream().mapToInt(CurveParameterSize::getParameterCount).toArray();
   }
 
   //-------------------------------------------------------------------------
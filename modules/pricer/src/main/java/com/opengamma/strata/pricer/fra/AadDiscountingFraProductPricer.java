@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.fra;
+
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.math.impl.differentiation.ActiveDouble;
+import com.opengamma.strata.pricer.rate.PointSensitivityTape;
+import com.opengamma.strata.pricer.rate.RateComputationFn;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.product.fra.ResolvedFra;
+import com.opengamma.strata.product.rate.RateComputation;
+
+/**
+ * Pricer for forward rate agreement (FRA) products using adjoint algorithmic differentiation (AAD).
+ * <p>
+ * This provides the present value and present value sensitivity of a {@link ResolvedFra}.
+ * The present value is recorded on a {@link PointSensitivityTape}, with the discount factor and
+ * the forward rate as inputs. The point sensitivity is then obtained from one reverse sweep of the tape.
+ * The results are the same as those of {@link DiscountingFraProductPricer}.
+ */
+public class AadDiscountingFraProductPricer {
+
+  /**
+   * Default implementation.
+   */
+  public static final AadDiscountingFraProductPricer DEFAULT = new AadDiscountingFraProductPricer(
+      RateComputationFn.standard());
+
+  /**
+   * Rate computation.
+   */
+  private final RateComputationFn<RateComputation> rateComputationFn;
+
+  /**
+   * Creates an instance.
+   *
+   * @param rateComputationFn  the rate computation function
+   */
+  public AadDiscountingFraProductPricer(RateComputationFn<RateComputation> rateComputationFn) {
+    this.rateComputationFn = ArgChecker.notNull(rateComputationFn, "rateComputationFn");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value of the FRA product.
+   * <p>
+   * The present value of the product is the value on the valuation date.
+   *
+   * @param fra  the product
+   * @param provider  the rates provider
+   * @return the present value of the product
+   */
+  public CurrencyAmount presentValue(ResolvedFra fra, RatesProvider provider) {
+    ActiveDouble pv = presentValue(fra, provider, new PointSensitivityTape());
+    return CurrencyAmount.of(fra.getCurrency(), pv.getValue());
+  }
+
+  /**
+   * Calculates the present value sensitivity of the FRA product.
+   * <p>
+   * The present value sensitivity of the product is the sensitivity of the present value to
+   * the underlying curves.
+   *
+   * @param fra  the product
+   * @param provider  the rates provider
+   * @return the point sensitivity of the present value
+   */
+  public PointSensitivities presentValueSensitivity(ResolvedFra fra, RatesProvider provider) {
+    PointSensitivityTape tape = new PointSensitivityTape();
+    ActiveDouble pv = presentValue(fra, provider, tape);
+    return tape.sensitivity(pv).withCurrency(fra.getCurrency()).build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Records the present value of the FRA product on the tape.
+   *
+   * @param fra  the product
+   * @param provider  the rates provider
+   * @param tape  the tape
+   * @return the present value
+   */
+  ActiveDouble presentValue(ResolvedFra fra, RatesProvider provider, PointSensitivityTape tape) {
+    if (fra.getPaymentDate().isBefore(provider.getValuationDate())) {
+      return tape.getTape().constant(0d);
+    }
+    ActiveDouble df = tape.discountFactor(provider.discountFactors(fra.getCurrency()), fra.getPaymentDate());
+    ActiveDouble forwardRate = tape.rate(
+        rateComputationFn, fra.getFloatingRate(), fra.getStartDate(), fra.getEndDate(), provider);
+    return unitAmount(fra, forwardRate).multipliedBy(fra.getNotional()).multipliedBy(df);
+  }
+
+  // unit amount in various discounting methods
+  private ActiveDouble unitAmount(ResolvedFra fra, ActiveDouble forwardRate) {
+    double fixedRate = fra.getFixedRate();
+    double yearFraction = fra.getYearFraction();
+    switch (fra.getDiscounting()) {
+      case NONE:
+        return forwardRate.minus(fixedRate).multipliedBy(yearFraction);
+      case ISDA:
+        return forwardRate.minus(fixedRate)
+            .dividedBy(forwardRate.multipliedBy(yearFraction).plus(1d))
+            .multipliedBy(yearFraction);
+      case AFMA:
+        return forwardRate.multipliedBy(yearFraction).plus(1d).inverse()
+            .negated()
+            .plus(1d / (1d + fixedRate * yearFraction));
+      default:
+        throw new IllegalArgumentException("Unknown FraDiscounting value: " + fra.getDiscounting());
+    }
+  }
+
+}
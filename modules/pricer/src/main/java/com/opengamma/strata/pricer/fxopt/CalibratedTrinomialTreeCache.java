@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.fxopt;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.product.fxopt.ResolvedFxSingleBarrierOption;
+import com.opengamma.strata.product.fxopt.ResolvedFxVanillaOption;
+
+/**
+ * Cache of trinomial trees calibrated to Black volatilities of FX options.
+ * <p>
+ * The calibrated tree only depends on the calibrator, the rates provider, the volatilities,
+ * the currency pair and the time to expiry. An instance is created for a calibrator, a rates provider
+ * and volatilities, so that the options on the same currency pair and expiry share the same tree,
+ * which is calibrated once and then reused.
+ * <p>
+ * The cache is held by the caller and is discarded with it, typically at the end of a valuation.
+ * The trees obtained can be passed to the pricer methods taking {@link RecombiningTrinomialTreeData}.
+ * <p>
+ * This class is thread-safe, the cache may be populated concurrently from several threads.
+ * It is not a bean and is not intended to be serialized.
+ */
+public final class CalibratedTrinomialTreeCache {
+
+  /**
+   * The calibrator.
+   */
+  private final ImpliedTrinomialTreeFxOptionCalibrator calibrator;
+  /**
+   * The rates provider.
+   */
+  private final RatesProvider ratesProvider;
+  /**
+   * The Black volatility provider.
+   */
+  private final BlackFxOptionVolatilities volatilities;
+  /**
+   * The calibrated trees.
+   */
+  private final ConcurrentHashMap<TreeKey, RecombiningTrinomialTreeData> trees = new ConcurrentHashMap<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an empty cache of the trees calibrated to the specified market data.
+   *
+   * @param calibrator  the calibrator
+   * @param ratesProvider  the rates provider
+   * @param volatilities  the Black volatility provider
+   * @return the cache
+   */
+  public static CalibratedTrinomialTreeCache of(
+      ImpliedTrinomialTreeFxOptionCalibrator calibrator,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities) {
+
+    ArgChecker.notNull(calibrator, "calibrator");
+    ArgChecker.notNull(ratesProvider, "ratesProvider");
+    ArgChecker.notNull(volatilities, "volatilities");
+    return new CalibratedTrinomialTreeCache(calibrator, ratesProvider, volatilities);
+  }
+
+  // creates an instance
+  private CalibratedTrinomialTreeCache(
+      ImpliedTrinomialTreeFxOptionCalibrator calibrator,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities) {
+
+    this.calibrator = calibrator;
+    this.ratesProvider = ratesProvider;
+    this.volatilities = volatilities;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the calibrator.
+   *
+   * @return the calibrator
+   */
+  public ImpliedTrinomialTreeFxOptionCalibrator getCalibrator() {
+    return calibrator;
+  }
+
+  /**
+   * Gets the rates provider.
+   *
+   * @return the rates provider
+   */
+  public RatesProvider getRatesProvider() {
+    return ratesProvider;
+  }
+
+  /**
+   * Gets the Black volatility provider.
+   *
+   * @return the Black volatility provider
+   */
+  public BlackFxOptionVolatilities getVolatilities() {
+    return volatilities;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the trinomial tree calibrated for a barrier option.
+   * <p>
+   * The tree is calibrated by using the underlying vanilla option, if it is not found in the cache.
+   *
+   * @param option  the barrier option
+   * @return the trinomial tree data
+   */
+  public RecombiningTrinomialTreeData trinomialTree(ResolvedFxSingleBarrierOption option) {
+    return trinomialTree(option.getUnderlyingOption());
+  }
+
+  /**
+   * Obtains the trinomial tree calibrated for a vanilla option.
+   * <p>
+   * The tree is calibrated if it is not found in the cache.
+   * See {@link ImpliedTrinomialTreeFxOptionCalibrator#calibrateTrinomialTree(ResolvedFxVanillaOption,
+   * RatesProvider, BlackFxOptionVolatilities)}.
+   *
+   * @param option  the vanilla option
+   * @return the trinomial tree data
+   */
+  public RecombiningTrinomialTreeData trinomialTree(ResolvedFxVanillaOption option) {
+    double timeToExpiry = volatilities.relativeTime(option.getExpiry());
+    CurrencyPair currencyPair = option.getUnderlying().getCurrencyPair();
+    TreeKey key = new TreeKey(currencyPair, timeToExpiry);
+    RecombiningTrinomialTreeData cached = trees.get(key);
+    if (cached != null) {
+      return cached;
+    }
+    // calibrated outside the map, so that the map is not locked during the calibration
+    RecombiningTrinomialTreeData treeData =
+        calibrator.calibrateTrinomialTree(timeToExpiry, currencyPair, ratesProvider, volatilities);
+    RecombiningTrinomialTreeData existing = trees.putIfAbsent(key, treeData);
+    return existing != null ? existing : treeData;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "CalibratedTrinomialTreeCache[" + trees.size() + " trees]";
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The key of a calibrated tree.
+   */
+  private static final class TreeKey {
+    private final CurrencyPair currencyPair;
+    private final double timeToExpiry;
+
+    private TreeKey(CurrencyPair currencyPair, double timeToExpiry) {
+      this.currencyPair = currencyPair;
+      this.timeToExpiry = timeToExpiry;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (obj instanceof TreeKey) {
+        TreeKey other = (TreeKey) obj;
+        return currencyPair.equals(other.currencyPair) &&
+            Double.doubleToLongBits(timeToExpiry) == Double.doubleToLongBits(other.timeToExpiry);
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(currencyPair, timeToExpiry);
+    }
+  }
+
+}
@@ -5,11 +5,14 @@
  */
 package com.opengamma.strata.pricer.fxopt;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.math.DoubleMath;
 import com.opengamma.strata.basics.currency.Currency;
@@ -24,6 +27,7 @@ import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.pricer.DiscountFactors;
 import com.opengamma.strata.pricer.impl.tree.ConstantContinuousSingleBarrierKnockoutFunction;
 import com.opengamma.strata.pricer.impl.tree.EuropeanVanillaOptionFunction;
+import com.opengamma.strata.pricer.impl.tree.OptionFunction;
 import com.opengamma.strata.pricer.impl.tree.TrinomialTree;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
 import com.opengamma.strata.pricer.rate.RatesProvider;
@@ -39,6 +43,10 @@ import com.opengamma.strata.product.option.SimpleConstantContinuousBarrier;
  * <p>
  * All of the computation is be based on the counter currency of the underlying FX transaction.
  * For example, price, PV and risk measures of the product will be expressed in USD for an option on EUR/USD.
+ * <p>
+ * The methods that take no trinomial tree data calibrate the tree for each call.
+ * When several options are priced on the same currency pair and expiry, the calibrated trees
+ * can be reused by means of {@link #treeCache(RatesProvider, BlackFxOptionVolatilities)}.
  */
 public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
 
@@ -92,6 +100,20 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
     return calibrator;
   }
 
+  /**
+   * Creates a cache of the trinomial trees calibrated by this pricer.
+   * <p>
+   * The cache is held by the caller and returns the same tree for options on the same currency pair
+   * and expiry. The trees can then be passed to the methods taking {@link RecombiningTrinomialTreeData}.
+   * 
+   * @param ratesProvider  the rates provider
+   * @param volatilities  the Black volatility provider
+   * @return the cache
+   */
+  public CalibratedTrinomialTreeCache treeCache(RatesProvider ratesProvider, BlackFxOptionVolatilities volatilities) {
+    return CalibratedTrinomialTreeCache.of(calibrator, ratesProvider, volatilities);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates the price of the FX barrier option product.
@@ -269,6 +291,120 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
     return result;
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the prices of several FX barrier option products sharing the same trinomial tree.
+   * <p>
+   * The options must have the same expiry and currency pair, so that the tree data is consistent with each of them,
+   * see {@link #validateData}. The options are priced together in a single backward sweep of the tree.
+   * The result is the same as calling
+   * {@link #price(ResolvedFxSingleBarrierOption, RatesProvider, BlackFxOptionVolatilities, RecombiningTrinomialTreeData)}
+   * for each option.
+   * 
+   * @param options  the option products
+   * @param ratesProvider  the rates provider
+   * @param volatilities  the Black volatility provider
+   * @param treeData  the trinomial tree data
+   * @return the prices of the products, in the order of the options
+   */
+  public DoubleArray price(
+      List<ResolvedFxSingleBarrierOption> options,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities,
+      RecombiningTrinomialTreeData treeData) {
+
+    List<ValueDerivatives> priceDerivatives = priceDerivatives(options, ratesProvider, volatilities, treeData);
+    return DoubleArray.of(options.size(), k -> priceDerivatives.get(k).getValue());
+  }
+
+  /**
+   * Calculates the present values of several FX barrier option products sharing the same trinomial tree.
+   * <p>
+   * The options must have the same expiry and currency pair, so that the tree data is consistent with each of them,
+   * see {@link #validateData}. The options are priced together in a single backward sweep of the tree.
+   * 
+   * @param options  the option products
+   * @param ratesProvider  the rates provider
+   * @param volatilities  the Black volatility provider
+   * @param treeData  the trinomial tree data
+   * @return the present values of the products, in the order of the options
+   */
+  public List<CurrencyAmount> presentValue(
+      List<ResolvedFxSingleBarrierOption> options,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities,
+      RecombiningTrinomialTreeData treeData) {
+
+    DoubleArray prices = price(options, ratesProvider, volatilities, treeData);
+    List<CurrencyAmount> result = new ArrayList<>(options.size());
+    for (int k = 0; k < options.size(); ++k) {
+      ResolvedFxVanillaOption underlyingOption = options.get(k).getUnderlyingOption();
+      double signedNotional = signedNotional(underlyingOption);
+      result.add(CurrencyAmount.of(underlyingOption.getCounterCurrency(), signedNotional * prices.get(k)));
+    }
+    return result;
+  }
+
+  /**
+   * Calculates the present value sensitivities of several FX barrier option products sharing the same trinomial tree.
+   * <p>
+   * The options must have the same expiry and currency pair, so that the tree data is consistent with each of them,
+   * see {@link #validateData}.
+   * <p>
+   * The sensitivity is computed by bump and re-price. The tree is calibrated once for each bumped curve parameter,
+   * and all the options are priced together in a single backward sweep of the bumped tree.
+   * 
+   * @param options  the option products
+   * @param ratesProvider  the rates provider
+   * @param volatilities  the Black volatility provider
+   * @param baseTreeData  the trinomial tree data
+   * @return the present value sensitivities of the products, in the order of the options
+   */
+  public List<CurrencyParameterSensitivities> presentValueSensitivityRates(
+      List<ResolvedFxSingleBarrierOption> options,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities,
+      RecombiningTrinomialTreeData baseTreeData) {
+
+    ArgChecker.notEmpty(options, "options");
+    ArgChecker.isTrue(baseTreeData.getNumberOfSteps() == calibrator.getNumberOfSteps(),
+        "the number of steps mismatch between pricer and trinomial tree data");
+    double shift = 1.0e-5;
+    int nOptions = options.size();
+    List<CurrencyAmount> pvBase = presentValue(options, ratesProvider, volatilities, baseTreeData);
+    ResolvedFxVanillaOption underlyingOption = options.get(0).getUnderlyingOption();
+    CurrencyPair currencyPair = underlyingOption.getUnderlying().getCurrencyPair();
+    ImmutableRatesProvider immRatesProvider = ratesProvider.toImmutableRatesProvider();
+    ImmutableMap<Currency, Curve> baseCurves = immRatesProvider.getDiscountCurves();
+    CurrencyParameterSensitivities[] result = new CurrencyParameterSensitivities[nOptions];
+    Arrays.fill(result, CurrencyParameterSensitivities.empty());
+
+    for (Entry<Currency, Curve> entry : baseCurves.entrySet()) {
+      if (currencyPair.contains(entry.getKey())) {
+        Curve curve = entry.getValue();
+        int nParams = curve.getParameterCount();
+        double[][] sensitivity = new double[nOptions][nParams];
+        for (int i = 0; i < nParams; ++i) {
+          Curve dscBumped = curve.withParameter(i, curve.getParameter(i) + shift);
+          Map<Currency, Curve> mapBumped = new HashMap<>(baseCurves);
+          mapBumped.put(entry.getKey(), dscBumped);
+          ImmutableRatesProvider providerDscBumped = immRatesProvider.toBuilder().discountCurves(mapBumped).build();
+          RecombiningTrinomialTreeData treeDataBumped =
+              calibrator.calibrateTrinomialTree(underlyingOption, providerDscBumped, volatilities);
+          List<CurrencyAmount> pvBumped = presentValue(options, providerDscBumped, volatilities, treeDataBumped);
+          for (int k = 0; k < nOptions; ++k) {
+            sensitivity[k][i] = (pvBumped.get(k).getAmount() - pvBase.get(k).getAmount()) / shift;
+          }
+        }
+        for (int k = 0; k < nOptions; ++k) {
+          result[k] = result[k].combinedWith(
+              curve.createParameterSensitivity(pvBase.get(k).getCurrency(), DoubleArray.ofUnsafe(sensitivity[k])));
+        }
+      }
+    }
+    return Arrays.asList(result);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates the currency exposure of the FX barrier option product.
@@ -328,61 +464,91 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer {
       BlackFxOptionVolatilities volatilities,
       RecombiningTrinomialTreeData data) {
 
-    validate(option, ratesProvider, volatilities);
-    validateData(option, ratesProvider, volatilities, data);
+    return priceDerivatives(ImmutableList.of(option), ratesProvider, volatilities, data).get(0);
+  }
+
+  // the options are priced in a single backward sweep of the tree
+  // a knock-in option is priced with a knock-out option and a vanilla option via the in-out parity
+  private List<ValueDerivatives> priceDerivatives(
+      List<ResolvedFxSingleBarrierOption> options,
+      RatesProvider ratesProvider,
+      BlackFxOptionVolatilities volatilities,
+      RecombiningTrinomialTreeData data) {
+
+    int nOptions = options.size();
     int nSteps = data.getNumberOfSteps();
-    ResolvedFxVanillaOption underlyingOption = option.getUnderlyingOption();
     double timeToExpiry = data.getTime(nSteps);
-    ResolvedFxSingle underlyingFx = underlyingOption.getUnderlying();
-    Currency ccyBase = underlyingFx.getCounterCurrencyPayment().getCurrency();
-    Currency ccyCounter = underlyingFx.getCounterCurrencyPayment().getCurrency();
-    DiscountFactors baseDiscountFactors = ratesProvider.discountFactors(ccyBase);
-    DiscountFactors counterDiscountFactors = ratesProvider.discountFactors(ccyCounter);
-    double rebateAtExpiry = 0d; // used to price knock-in option
-    double rebateAtExpiryDerivative = 0d; // used to price knock-in option
-    double notional = Math.abs(underlyingFx.getBaseCurrencyPayment().getAmount());
-    double[] rebateArray = new double[nSteps + 1];
-    SimpleConstantContinuousBarrier barrier = (SimpleConstantContinuousBarrier) option.getBarrier();
-    if (option.getRebate().isPresent()) {
-      CurrencyAmount rebateCurrencyAmount = option.getRebate().get();
-      double rebatePerUnit = rebateCurrencyAmount.getAmount() / notional;
-      boolean isCounter = rebateCurrencyAmount.getCurrency().equals(ccyCounter);
-      double rebate = isCounter ? rebatePerUnit : rebatePerUnit * barrier.getBarrierLevel();
-      if (barrier.getKnockType().isKnockIn()) { // use in-out parity
-        double dfCounterAtExpiry = counterDiscountFactors.discountFactor(timeToExpiry);
-        double dfBaseAtExpiry = baseDiscountFactors.discountFactor(timeToExpiry);
-        for (int i = 0; i < nSteps + 1; ++i) {
-          rebateArray[i] = isCounter ?
-              rebate * dfCounterAtExpiry / counterDiscountFactors.discountFactor(data.getTime(i)) :
-              rebate * dfBaseAtExpiry / baseDiscountFactors.discountFactor(data.getTime(i));
-        }
-        if (isCounter) {
-          rebateAtExpiry = rebatePerUnit * dfCounterAtExpiry;
+    List<OptionFunction> functions = new ArrayList<>();
+    int[] barrierIndex = new int[nOptions];
+    int[] vanillaIndex = new int[nOptions];
+    double[] rebateAtExpiry = new double[nOptions]; // used to price knock-in option
+    double[] rebateAtExpiryDerivative = new double[nOptions]; // used to price knock-in option
+    for (int k = 0; k < nOptions; ++k) {
+      ResolvedFxSingleBarrierOption option = options.get(k);
+      validate(option, ratesProvider, volatilities);
+      validateData(option, ratesProvider, volatilities, data);
+      ResolvedFxVanillaOption underlyingOption = option.getUnderlyingOption();
+      ResolvedFxSingle underlyingFx = underlyingOption.getUnderlying();
+      Currency ccyBase = underlyingFx.getCounterCurrencyPayment().getCurrency();
+      Currency ccyCounter = underlyingFx.getCounterCurrencyPayment().getCurrency();
+      DiscountFactors baseDiscountFactors = ratesProvider.discountFactors(ccyBase);
+      DiscountFactors counterDiscountFactors = ratesProvider.discountFactors(ccyCounter);
+      double notional = Math.abs(underlyingFx.getBaseCurrencyPayment().getAmount());
+      double[] rebateArray = new double[nSteps + 1];
+      SimpleConstantContinuousBarrier barrier = (SimpleConstantContinuousBarrier) option.getBarrier();
+      if (option.getRebate().isPresent()) {
+        CurrencyAmount rebateCurrencyAmount = option.getRebate().get();
+        double rebatePerUnit = rebateCurrencyAmount.getAmount() / notional;
+        boolean isCounter = rebateCurrencyAmount.getCurrency().equals(ccyCounter);
+        double rebate = isCounter ? rebatePerUnit : rebatePerUnit * barrier.getBarrierLevel();
+        if (barrier.getKnockType().isKnockIn()) { // use in-out parity
+          double dfCounterAtExpiry = counterDiscountFactors.discountFactor(timeToExpiry);
+          double dfBaseAtExpiry = baseDiscountFactors.discountFactor(timeToExpiry);
+          for (int i = 0; i < nSteps + 1; ++i) {
+            rebateArray[i] = isCounter ?
+                rebate * dfCounterAtExpiry / counterDiscountFactors.discountFactor(data.getTime(i)) :
+                rebate * dfBaseAtExpiry / baseDiscountFactors.discountFactor(data.getTime(i));
+          }
+          if (isCounter) {
+            rebateAtExpiry[k] = rebatePerUnit * dfCounterAtExpiry;
+          } else {
+            rebateAtExpiry[k] = rebatePerUnit * data.getSpot() * dfBaseAtExpiry;
+            rebateAtExpiryDerivative[k] = rebatePerUnit * dfBaseAtExpiry;
+          }
         } else {
-          rebateAtExpiry = rebatePerUnit * data.getSpot() * dfBaseAtExpiry;
-          rebateAtExpiryDerivative = rebatePerUnit * dfBaseAtExpiry;
+          Arrays.fill(rebateArray, rebate);
         }
-      } else {
-        Arrays.fill(rebateArray, rebate);
+      }
+      barrierIndex[k] = functions.size();
+      functions.add(ConstantContinuousSingleBarrierKnockoutFunction.of(
+          underlyingOption.getStrike(),
+          timeToExpiry,
+          underlyingOption.getPutCall(),
+          nSteps,
+          barrier.getBarrierType(),
+          barrier.getBarrierLevel(),
+          DoubleArray.ofUnsafe(rebateArray)));
+      vanillaIndex[k] = -1;
+      if (barrier.getKnockType().isKnockIn()) {  // use in-out parity
+        vanillaIndex[k] = functions.size();
+        functions.add(EuropeanVanillaOptionFunction.of(
+            underlyingOption.getStrike(), timeToExpiry, underlyingOption.getPutCall(), nSteps));
       }
     }
-    ConstantContinuousSingleBarrierKnockoutFunction barrierFunction = ConstantContinuousSingleBarrierKnockoutFunction.of(
-        underlyingOption.getStrike(),
-        timeToExpiry,
-        underlyingOption.getPutCall(),
-        nSteps,
-        barrier.getBarrierType(),
-        barrier.getBarrierLevel(),
-        DoubleArray.ofUnsafe(rebateArray));
-    ValueDerivatives barrierPrice = TREE.optionPriceAdjoint(barrierFunction, data);
-    if (barrier.getKnockType().isKnockIn()) {  // use in-out parity
-      EuropeanVanillaOptionFunction vanillaFunction = EuropeanVanillaOptionFunction.of(
-          underlyingOption.getStrike(), timeToExpiry, underlyingOption.getPutCall(), nSteps);
-      ValueDerivatives vanillaPrice = TREE.optionPriceAdjoint(vanillaFunction, data);
-      return ValueDerivatives.of(vanillaPrice.getValue() + rebateAtExpiry - barrierPrice.getValue(),
-          DoubleArray.of(vanillaPrice.getDerivative(0) + rebateAtExpiryDerivative - barrierPrice.getDerivative(0)));
+    List<ValueDerivatives> prices = TREE.optionPriceAdjoints(functions, data);
+    List<ValueDerivatives> result = new ArrayList<>(nOptions);
+    for (int k = 0; k < nOptions; ++k) {
+      ValueDerivatives barrierPrice = prices.get(barrierIndex[k]);
+      if (vanillaIndex[k] < 0) {
+        result.add(barrierPrice);
+      } else {
+        ValueDerivatives vanillaPrice = prices.get(vanillaIndex[k]);
+        double price = vanillaPrice.getValue() + rebateAtExpiry[k] - barrierPrice.getValue();
+        double delta = vanillaPrice.getDerivative(0) + rebateAtExpiryDerivative[k] - barrierPrice.getDerivative(0);
+        result.add(ValueDerivatives.of(price, DoubleArray.of(delta)));
+      }
     }
-    return barrierPrice;
+    return result;
   }
 
   //-------------------------------------------------------------------------
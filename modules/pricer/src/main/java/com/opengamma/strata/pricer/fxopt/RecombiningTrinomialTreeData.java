@@ -17,6 +17,7 @@ import org.joda.beans.JodaBeanUtils;
 import org.joda.beans.MetaBean;
 import org.joda.beans.MetaProperty;
 import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.ImmutableConstructor;
 import org.joda.beans.gen.PropertyDefinition;
 import org.joda.beans.impl.direct.DirectMetaBean;
 import org.joda.beans.impl.direct.DirectMetaProperty;
@@ -27,6 +28,8 @@ import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.pricer.impl.tree.FlattenedTrinomialTreeData;
+import com.opengamma.strata.pricer.impl.tree.TrinomialTree;
 
 /**
  * Recombining trinomial tree data.
@@ -69,6 +72,10 @@ public final class RecombiningTrinomialTreeData implements ImmutableBean, Serial
    */
   @PropertyDefinition
   private final DoubleArray time;
+  /**
+   * The tree data in flattened primitive storage.
+   */
+  private final transient FlattenedTrinomialTreeData flattenedData;  // cached, not a property
 
   //-------------------------------------------------------------------------
   /**
@@ -102,6 +109,25 @@ public final class RecombiningTrinomialTreeData implements ImmutableBean, Serial
     return new RecombiningTrinomialTreeData(stateValue, transitionProbability, discountFactor, time);
   }
 
+  @ImmutableConstructor
+  private RecombiningTrinomialTreeData(
+      DoubleMatrix stateValue,
+      List<DoubleMatrix> transitionProbability,
+      DoubleArray discountFactor,
+      DoubleArray time) {
+
+    this.stateValue = stateValue;
+    this.transitionProbability = (transitionProbability != null ? ImmutableList.copyOf(transitionProbability) : null);
+    this.discountFactor = discountFactor;
+    this.time = time;
+    this.flattenedData = FlattenedTrinomialTreeData.of(this);
+  }
+
+  // ensure standard constructor is invoked
+  private Object readResolve() {
+    return new RecombiningTrinomialTreeData(stateValue, transitionProbability, discountFactor, time);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Obtains the number of time steps.
@@ -163,6 +189,18 @@ public final class RecombiningTrinomialTreeData implements ImmutableBean, Serial
     return time.get(i);
   }
 
+  /**
+   * Obtains the tree data in flattened primitive storage.
+   * <p>
+   * The tree is flattened once, when this instance is created, and is used by the backward sweeps
+   * of {@link TrinomialTree}.
+   * 
+   * @return the flattened tree data
+   */
+  public FlattenedTrinomialTreeData getFlattenedData() {
+    return flattenedData;
+  }
+
   //------------------------- AUTOGENERATED START -------------------------
   /**
    * The meta-bean for {@code RecombiningTrinomialTreeData}.
@@ -181,17 +219,6 @@ public final class RecombiningTrinomialTreeData implements ImmutableBean, Serial
    */
   private static final long serialVersionUID = 1L;
 
-  private RecombiningTrinomialTreeData(
-      DoubleMatrix stateValue,
-      List<DoubleMatrix> transitionProbability,
-      DoubleArray discountFactor,
-      DoubleArray time) {
-    this.stateValue = stateValue;
-    this.transitionProbability = (transitionProbability != null ? ImmutableList.copyOf(transitionProbability) : null);
-    this.discountFactor = discountFactor;
-    this.time = time;
-  }
-
   @Override
   public RecombiningTrinomialTreeData.Meta metaBean() {
     return RecombiningTrinomialTreeData.Meta.INSTANCE;
@@ -12,6 +12,7 @@ import org.slf4j.LoggerFactory;
 
 import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.math.impl.rootfinding.NewtonRaphsonSingleRootFinder;
@@ -1450,4 +1451,181 @@ public final class BlackFormulaRepository {
     return normalVolatility * factor1 * factor2;
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the forward prices of a batch of options.
+   * <p>
+   * The result for each element is the same as {@link #price(double, double, double, double, boolean)}.
+   * The loop does not allocate, and the inputs away from the edge cases of the formula are computed inline.
+   * This is intended for large numbers of options, such as the caplets of a cap or the nodes of a cube.
+   * 
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param lognormalVols  the log-normal volatilities
+   * @param isCall  true for call, false for put
+   * @param prices  the array to receive the forward prices, of the same length as the inputs
+   */
+  public static void price(
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      double[] lognormalVols,
+      boolean isCall,
+      double[] prices) {
+
+    checkLengths(prices, forwards, strikes, timesToExpiry, lognormalVols);
+    int sign = isCall ? 1 : -1;
+    for (int i = 0; i < prices.length; i++) {
+      double forward = forwards[i];
+      double strike = strikes[i];
+      double sigmaRootT = lognormalVols[i] * Math.sqrt(timesToExpiry[i]);
+      if (!isRegular(forward, strike, timesToExpiry[i], lognormalVols[i], sigmaRootT)) {
+        prices[i] = price(forward, strike, timesToExpiry[i], lognormalVols[i], isCall);
+        continue;
+      }
+      double d1 = Math.log(forward / strike) / sigmaRootT + 0.5 * sigmaRootT;
+      double d2 = d1 - sigmaRootT;
+      double nF = NormalDistribution.standardCdf(sign * d1);
+      double nS = NormalDistribution.standardCdf(sign * d2);
+      double first = nF == 0d ? 0d : forward * nF;
+      double second = nS == 0d ? 0d : strike * nS;
+      prices[i] = Math.max(0., sign * (first - second));
+    }
+  }
+
+  /**
+   * Computes the forward driftless deltas of a batch of options.
+   * <p>
+   * The result for each element is the same as {@link #delta(double, double, double, double, boolean)}.
+   * The loop does not allocate, and the inputs away from the edge cases of the formula are computed inline.
+   * 
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param lognormalVols  the log-normal volatilities
+   * @param isCall  true for call, false for put
+   * @param deltas  the array to receive the forward driftless deltas, of the same length as the inputs
+   */
+  public static void delta(
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      double[] lognormalVols,
+      boolean isCall,
+      double[] deltas) {
+
+    checkLengths(deltas, forwards, strikes, timesToExpiry, lognormalVols);
+    int sign = isCall ? 1 : -1;
+    for (int i = 0; i < deltas.length; i++) {
+      double forward = forwards[i];
+      double strike = strikes[i];
+      double sigmaRootT = lognormalVols[i] * Math.sqrt(timesToExpiry[i]);
+      if (!isRegular(forward, strike, timesToExpiry[i], lognormalVols[i], sigmaRootT)) {
+        deltas[i] = delta(forward, strike, timesToExpiry[i], lognormalVols[i], isCall);
+        continue;
+      }
+      double d1 = Math.log(forward / strike) / sigmaRootT + 0.5 * sigmaRootT;
+      deltas[i] = sign * NormalDistribution.standardCdf(sign * d1);
+    }
+  }
+
+  /**
+   * Computes the forward vegas of a batch of options.
+   * <p>
+   * The result for each element is the same as {@link #vega(double, double, double, double)}.
+   * The loop does not allocate, and the inputs away from the edge cases of the formula are computed inline.
+   * 
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param lognormalVols  the log-normal volatilities
+   * @param vegas  the array to receive the forward vegas, of the same length as the inputs
+   */
+  public static void vega(
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      double[] lognormalVols,
+      double[] vegas) {
+
+    checkLengths(vegas, forwards, strikes, timesToExpiry, lognormalVols);
+    for (int i = 0; i < vegas.length; i++) {
+      double forward = forwards[i];
+      double strike = strikes[i];
+      double rootT = Math.sqrt(timesToExpiry[i]);
+      double sigmaRootT = lognormalVols[i] * rootT;
+      if (!isRegular(forward, strike, timesToExpiry[i], lognormalVols[i], sigmaRootT)) {
+        vegas[i] = vega(forward, strike, timesToExpiry[i], lognormalVols[i]);
+        continue;
+      }
+      double d1 = Math.log(forward / strike) / sigmaRootT + 0.5 * sigmaRootT;
+      double nVal = NormalDistribution.standardPdf(d1);
+      vegas[i] = nVal == 0d ? 0d : forward * rootT * nVal;
+    }
+  }
+
+  /**
+   * Computes the log-normal implied volatilities of a batch of options.
+   * <p>
+   * The result for each element is the same as {@link #impliedVolatility(double, double, double, double, boolean)}.
+   * 
+   * @param prices  the forward prices
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param isCall  true for call, false for put
+   * @param lognormalVols  the array to receive the log-normal implied volatilities, of the same length as the inputs
+   */
+  public static void impliedVolatility(
+      double[] prices,
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      boolean isCall,
+      double[] lognormalVols) {
+
+    checkLengths(lognormalVols, prices, forwards, strikes, timesToExpiry);
+    for (int i = 0; i < lognormalVols.length; i++) {
+      lognormalVols[i] = impliedVolatility(prices[i], forwards[i], strikes[i], timesToExpiry[i], isCall);
+    }
+  }
+
+  // checks the inputs are valid and away from the edge cases, where the formulas are computed without special cases
+  private static boolean isRegular(
+      double forward,
+      double strike,
+      double timeToExpiry,
+      double lognormalVol,
+      double sigmaRootT) {
+
+    return forward >= 0d && strike >= 0d && timeToExpiry >= 0d && lognormalVol >= 0d &&
+        sigmaRootT >= SMALL && sigmaRootT <= LARGE &&
+        Math.abs(forward - strike) >= SMALL && !(forward > LARGE && strike > LARGE);
+  }
+
+  // checks the arrays of a batch have the same length, with fixed arity to avoid allocating on each call
+  private static void checkLengths(
+      double[] output,
+      double[] input1,
+      double[] input2,
+      double[] input3,
+      double[] input4) {
+
+    ArgChecker.notNull(output, "output");
+    checkLength(input1, output.length);
+    checkLength(input2, output.length);
+    checkLength(input3, output.length);
+    checkLength(input4, output.length);
+  }
+
+  // checks an input array of a batch has the length of the output
+  private static void checkLength(double[] input, int length) {
+    ArgChecker.notNull(input, "input");
+    if (input.length != length) {
+      throw new IllegalArgumentException(
+          Messages.format("Arrays must have the same length, {} and {}", input.length, length));
+    }
+  }
+
 }
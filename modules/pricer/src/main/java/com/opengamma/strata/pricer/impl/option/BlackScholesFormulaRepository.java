@@ -6,6 +6,7 @@
 package com.opengamma.strata.pricer.impl.option;
 
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
 import com.opengamma.strata.math.impl.statistics.distribution.ProbabilityDistribution;
 
@@ -1494,4 +1495,212 @@ public final class BlackScholesFormulaRepository {
     return Double.isNaN(result) ? sign * coef : result;
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the spot prices of a batch of options.
+   * <p>
+   * The result for each element is the same as
+   * {@link #price(double, double, double, double, double, double, boolean)}.
+   * The loop does not allocate, and the inputs away from the edge cases of the formula are computed inline.
+   * This is intended for large numbers of options, such as a book of FX options.
+   * 
+   * @param spots  the spot values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param lognormalVols  the log-normal volatilities
+   * @param interestRates  the interest rates
+   * @param costsOfCarry  the cost-of-carry rates
+   * @param isCall  true for call, false for put
+   * @param prices  the array to receive the spot prices, of the same length as the inputs
+   */
+  public static void price(
+      double[] spots,
+      double[] strikes,
+      double[] timesToExpiry,
+      double[] lognormalVols,
+      double[] interestRates,
+      double[] costsOfCarry,
+      boolean isCall,
+      double[] prices) {
+
+    checkLengths(prices, spots, strikes, timesToExpiry, lognormalVols, interestRates, costsOfCarry);
+    int sign = isCall ? 1 : -1;
+    for (int i = 0; i < prices.length; i++) {
+      double spot = spots[i];
+      double strike = strikes[i];
+      double timeToExpiry = timesToExpiry[i];
+      double lognormalVol = lognormalVols[i];
+      double interestRate = interestRates[i];
+      double costOfCarry = costsOfCarry[i];
+      double rootT = Math.sqrt(timeToExpiry);
+      double sigmaRootT = lognormalVol * rootT;
+      if (!isRegular(spot, strike, timeToExpiry, lognormalVol, interestRate, costOfCarry, sigmaRootT)) {
+        prices[i] = price(spot, strike, timeToExpiry, lognormalVol, interestRate, costOfCarry, isCall);
+        continue;
+      }
+      double discount = Math.abs(interestRate) < SMALL ? 1d : Math.exp(-interestRate * timeToExpiry);
+      double rescaledSpot = Math.exp(costOfCarry * timeToExpiry) * spot;
+      double d1 = Math.log(spot / strike) / sigmaRootT + carryTerm(rootT, lognormalVol, costOfCarry) + 0.5 * sigmaRootT;
+      double d2 = d1 - sigmaRootT;
+      double res = sign * discount *
+          (rescaledSpot * NormalDistribution.standardCdf(sign * d1) - strike * NormalDistribution.standardCdf(sign * d2));
+      prices[i] = Double.isNaN(res) ? 0d : Math.max(res, 0d);
+    }
+  }
+
+  /**
+   * Computes the spot deltas of a batch of options.
+   * <p>
+   * The result for each element is the same as
+   * {@link #delta(double, double, double, double, double, double, boolean)}.
+   * The loop does not allocate, and the inputs away from the edge cases of the formula are computed inline.
+   * 
+   * @param spots  the spot values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param lognormalVols  the log-normal volatilities
+   * @param interestRates  the interest rates
+   * @param costsOfCarry  the cost-of-carry rates
+   * @param isCall  true for call, false for put
+   * @param deltas  the array to receive the spot deltas, of the same length as the inputs
+   */
+  public static void delta(
+      double[] spots,
+      double[] strikes,
+      double[] timesToExpiry,
+      double[] lognormalVols,
+      double[] interestRates,
+      double[] costsOfCarry,
+      boolean isCall,
+      double[] deltas) {
+
+    checkLengths(deltas, spots, strikes, timesToExpiry, lognormalVols, interestRates, costsOfCarry);
+    int sign = isCall ? 1 : -1;
+    for (int i = 0; i < deltas.length; i++) {
+      double spot = spots[i];
+      double strike = strikes[i];
+      double timeToExpiry = timesToExpiry[i];
+      double lognormalVol = lognormalVols[i];
+      double interestRate = interestRates[i];
+      double costOfCarry = costsOfCarry[i];
+      double rootT = Math.sqrt(timeToExpiry);
+      double sigmaRootT = lognormalVol * rootT;
+      if (!isRegular(spot, strike, timeToExpiry, lognormalVol, interestRate, costOfCarry, sigmaRootT)) {
+        deltas[i] = delta(spot, strike, timeToExpiry, lognormalVol, interestRate, costOfCarry, isCall);
+        continue;
+      }
+      double coef = carryCoefficient(timeToExpiry, interestRate, costOfCarry);
+      double d1 = Math.log(spot / strike) / sigmaRootT + carryTerm(rootT, lognormalVol, costOfCarry) + 0.5 * sigmaRootT;
+      double norm = NormalDistribution.standardCdf(sign * d1);
+      deltas[i] = norm < SMALL ? 0d : sign * coef * norm;
+    }
+  }
+
+  /**
+   * Computes the spot vegas of a batch of options.
+   * <p>
+   * The result for each element is the same as
+   * {@link #vega(double, double, double, double, double, double)}.
+   * The loop does not allocate, and the inputs away from the edge cases of the formula are computed inline.
+   * 
+   * @param spots  the spot values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param lognormalVols  the log-normal volatilities
+   * @param interestRates  the interest rates
+   * @param costsOfCarry  the cost-of-carry rates
+   * @param vegas  the array to receive the spot vegas, of the same length as the inputs
+   */
+  public static void vega(
+      double[] spots,
+      double[] strikes,
+      double[] timesToExpiry,
+      double[] lognormalVols,
+      double[] interestRates,
+      double[] costsOfCarry,
+      double[] vegas) {
+
+    checkLengths(vegas, spots, strikes, timesToExpiry, lognormalVols, interestRates, costsOfCarry);
+    for (int i = 0; i < vegas.length; i++) {
+      double spot = spots[i];
+      double strike = strikes[i];
+      double timeToExpiry = timesToExpiry[i];
+      double lognormalVol = lognormalVols[i];
+      double interestRate = interestRates[i];
+      double costOfCarry = costsOfCarry[i];
+      double rootT = Math.sqrt(timeToExpiry);
+      double sigmaRootT = lognormalVol * rootT;
+      if (!isRegular(spot, strike, timeToExpiry, lognormalVol, interestRate, costOfCarry, sigmaRootT)) {
+        vegas[i] = vega(spot, strike, timeToExpiry, lognormalVol, interestRate, costOfCarry);
+        continue;
+      }
+      double coef = carryCoefficient(timeToExpiry, interestRate, costOfCarry);
+      double d1 = Math.log(spot / strike) / sigmaRootT + carryTerm(rootT, lognormalVol, costOfCarry) + 0.5 * sigmaRootT;
+      double norm = NormalDistribution.standardPdf(d1);
+      double res = norm < SMALL ? 0d : coef * norm * spot * rootT;
+      vegas[i] = Double.isNaN(res) ? Double.POSITIVE_INFINITY : res;
+    }
+  }
+
+  // checks the inputs are valid and away from the edge cases, where the formulas are computed without special cases
+  private static boolean isRegular(
+      double spot,
+      double strike,
+      double timeToExpiry,
+      double lognormalVol,
+      double interestRate,
+      double costOfCarry,
+      double sigmaRootT) {
+
+    return spot > 0d && strike > 0d && timeToExpiry >= 0d && lognormalVol >= 0d &&
+        spot <= LARGE && strike <= LARGE && spot <= LARGE * strike && strike <= LARGE * spot &&
+        spot >= SMALL * strike && Math.abs(spot - strike) >= SMALL &&
+        Math.abs(interestRate) <= LARGE && Math.abs(costOfCarry) <= LARGE &&
+        Math.abs(costOfCarry - interestRate) <= LARGE &&
+        sigmaRootT >= SMALL && sigmaRootT <= LARGE;
+  }
+
+  // the cost-of-carry part of d1, for regular inputs
+  private static double carryTerm(double rootT, double lognormalVol, double costOfCarry) {
+    double tmp = costOfCarry * rootT / lognormalVol;
+    double sig = (costOfCarry >= 0d) ? 1d : -1d;
+    if (Double.isNaN(tmp)) {
+      return (lognormalVol < LARGE && lognormalVol > SMALL) ? sig / lognormalVol : sig * rootT;
+    }
+    return tmp;
+  }
+
+  // the coefficient exp((b - r) T) of the greeks, for regular inputs
+  private static double carryCoefficient(double timeToExpiry, double interestRate, double costOfCarry) {
+    return Math.abs(costOfCarry - interestRate) < SMALL ? 1d : Math.exp((costOfCarry - interestRate) * timeToExpiry);
+  }
+
+  // checks the arrays of a batch have the same length, with fixed arity to avoid allocating on each call
+  private static void checkLengths(
+      double[] output,
+      double[] input1,
+      double[] input2,
+      double[] input3,
+      double[] input4,
+      double[] input5,
+      double[] input6) {
+
+    ArgChecker.notNull(output, "output");
+    checkLength(input1, output.length);
+    checkLength(input2, output.length);
+    checkLength(input3, output.length);
+    checkLength(input4, output.length);
+    checkLength(input5, output.length);
+    checkLength(input6, output.length);
+  }
+
+  // checks an input array of a batch has the length of the output
+  private static void checkLength(double[] input, int length) {
+    ArgChecker.notNull(input, "input");
+    if (input.length != length) {
+      throw new IllegalArgumentException(
+          Messages.format("Arrays must have the same length, {} and {}", input.length, length));
+    }
+  }
+
 }
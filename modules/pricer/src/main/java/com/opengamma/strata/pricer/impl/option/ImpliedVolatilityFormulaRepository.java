@@ -0,0 +1,638 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.option;
+
+import com.google.common.math.DoubleMath;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
+import com.opengamma.strata.product.common.PutCall;
+
+/**
+ * The repository for implied volatility formulas based on rational approximations.
+ * <p>
+ * The log-normal (Black) implied volatility is computed with the method of Jäckel.
+ * The normalised price is mapped to one of four regions, in each of which the initial guess is
+ * obtained from a rational cubic interpolation of the normalised Black function or of its asymptotic form.
+ * The guess is then refined by at most two Householder iterations of the third order.
+ * <p>
+ * The normal (Bachelier) implied volatility is computed with the method of Jäckel.
+ * The time value, relative to the intrinsic moneyness, is inverted by a rational approximation
+ * refined by a single Householder iteration of the third order.
+ * <p>
+ * Unlike the root finding of {@link GenericImpliedVolatiltySolver}, the number of evaluations of the
+ * price formula is small and fixed, and the result is close to machine precision.
+ * As for the other formula repositories, all prices are <b>forward</b> prices, i.e. (spot price)/numeraire.
+ * <p>
+ * Reference:
+ * <ul>
+ * <li>Jäckel, P. (2015). Let's be rational. Wilmott Magazine, 2015(75), 40-53.
+ * <li>Jäckel, P. (2017). Implied normal volatility. Wilmott Magazine, 2017(90), 54-57.
+ * </ul>
+ */
+public final class ImpliedVolatilityFormulaRepository {
+
+  private static final double DBL_EPSILON = Math.ulp(1d);
+  private static final double SQRT_DBL_EPSILON = Math.sqrt(DBL_EPSILON);
+  private static final double DBL_MIN = Double.MIN_NORMAL;
+  private static final double SQRT_DBL_MIN = Math.sqrt(DBL_MIN);
+  private static final double DBL_MAX = Double.MAX_VALUE;
+  private static final double SQRT_DBL_MAX = Math.sqrt(DBL_MAX);
+  private static final double ONE_OVER_SQRT_TWO_PI = 1d / Math.sqrt(2d * Math.PI);
+  private static final double SQRT_TWO_PI = Math.sqrt(2d * Math.PI);
+  private static final double TWO_PI = 2d * Math.PI;
+  private static final double SQRT_THREE = Math.sqrt(3d);
+  private static final double SQRT_ONE_OVER_THREE = Math.sqrt(1d / 3d);
+  private static final double TWO_PI_OVER_SQRT_TWENTY_SEVEN = 2d * Math.PI / Math.sqrt(27d);
+  private static final double PI_OVER_SIX = Math.PI / 6d;
+  private static final double SQRT_PI_OVER_TWO = Math.sqrt(Math.PI / 2d);
+  /** The maximal value of the control parameter of the rational cubic interpolation, equivalent to linear. */
+  private static final double MAX_CONTROL_PARAMETER = 2d / (DBL_EPSILON * DBL_EPSILON);
+  /** The minimal value of the control parameter of the rational cubic interpolation. */
+  private static final double MIN_CONTROL_PARAMETER = -(1d - SQRT_DBL_EPSILON);
+  /** The number of Householder iterations refining the Black implied volatility. */
+  private static final int BLACK_ITERATIONS = 2;
+  /** The threshold of the normalised Bachelier time value between the two rational approximations. */
+  private static final double NORMAL_THRESHOLD = -0.001882039271;
+  /** The number of terms of the continued fraction of the Mills ratio. */
+  private static final int MILLS_RATIO_TERMS = 40;
+
+  // restricted constructor
+  private ImpliedVolatilityFormulaRepository() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the log-normal (Black) implied volatility.
+   * <p>
+   * The price must be between the intrinsic value and the upper bound of the option price,
+   * which is the forward for a call and the strike for a put.
+   * Zero is returned if the price is the intrinsic value.
+   *
+   * @param price  the forward price, which is the market price divided by the numeraire
+   * @param forward  the forward value of the underlying, strictly positive
+   * @param strike  the strike, strictly positive
+   * @param timeToExpiry  the time to expiry, strictly positive
+   * @param isCall  true for call, false for put
+   * @return the log-normal implied volatility
+   * @throws IllegalArgumentException if the inputs are invalid or the price is outside the bounds
+   */
+  public static double blackVolatility(
+      double price,
+      double forward,
+      double strike,
+      double timeToExpiry,
+      boolean isCall) {
+
+    ArgChecker.isTrue(forward > 0d && forward < Double.POSITIVE_INFINITY, "forward must be positive; have {}", forward);
+    ArgChecker.isTrue(strike > 0d && strike < Double.POSITIVE_INFINITY, "strike must be positive; have {}", strike);
+    ArgChecker.isTrue(timeToExpiry > 0d && timeToExpiry < Double.POSITIVE_INFINITY,
+        "timeToExpiry must be positive; have {}", timeToExpiry);
+    double sign = isCall ? 1d : -1d;
+    double intrinsic = Math.max(sign * (forward - strike), 0d);
+    double upperBound = isCall ? forward : strike;
+    ArgChecker.isTrue(price >= intrinsic && price < upperBound,
+        "price must be between the intrinsic value {} and the upper bound {}; have {}", intrinsic, upperBound, price);
+    // out-of-the-money call in normalised form, by put-call parity and put-call symmetry
+    double x = Math.log(forward / strike);
+    double beta = (price - intrinsic) / Math.sqrt(forward * strike);
+    double s = normalisedBlackVolatility(beta, -Math.abs(x));
+    return s / Math.sqrt(timeToExpiry);
+  }
+
+  /**
+   * Computes the log-normal (Black) implied volatilities of a batch of options.
+   * <p>
+   * The result for each element is the same as {@link #blackVolatility(double, double, double, double, boolean)}.
+   *
+   * @param prices  the forward prices
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param isCall  true for call, false for put
+   * @param lognormalVols  the array to receive the log-normal implied volatilities, of the same length as the inputs
+   * @throws IllegalArgumentException if the inputs are invalid or a price is outside the bounds
+   */
+  public static void blackVolatility(
+      double[] prices,
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      boolean isCall,
+      double[] lognormalVols) {
+
+    checkLengths(lognormalVols, prices, forwards, strikes, timesToExpiry);
+    for (int i = 0; i < lognormalVols.length; i++) {
+      lognormalVols[i] = blackVolatility(prices[i], forwards[i], strikes[i], timesToExpiry[i], isCall);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the normal (Bachelier) implied volatility.
+   * <p>
+   * The price must not be below the intrinsic value.
+   * Zero is returned if the price is the intrinsic value.
+   * <p>
+   * Note that the 'numeraire' is a simple multiplier and is the responsibility of the caller.
+   *
+   * @param price  the forward price, which is the market price divided by the numeraire
+   * @param forward  the forward value of the underlying
+   * @param strike  the strike
+   * @param timeToExpiry  the time to expiry, strictly positive
+   * @param putCall  whether it is put or call
+   * @return the normal implied volatility
+   * @throws IllegalArgumentException if the inputs are invalid or the price is below the intrinsic value
+   */
+  public static double normalVolatility(
+      double price,
+      double forward,
+      double strike,
+      double timeToExpiry,
+      PutCall putCall) {
+
+    ArgChecker.isTrue(Double.isFinite(forward), "forward must be finite; have {}", forward);
+    ArgChecker.isTrue(Double.isFinite(strike), "strike must be finite; have {}", strike);
+    ArgChecker.isTrue(timeToExpiry > 0d && timeToExpiry < Double.POSITIVE_INFINITY,
+        "timeToExpiry must be positive; have {}", timeToExpiry);
+    double sign = putCall.isCall() ? 1d : -1d;
+    double intrinsic = Math.max(sign * (forward - strike), 0d);
+    ArgChecker.isTrue(price >= intrinsic && price < Double.POSITIVE_INFINITY,
+        "price must not be below the intrinsic value {}; have {}", intrinsic, price);
+    double timeValue = price - intrinsic;
+    if (timeValue == 0d) {
+      return 0d;
+    }
+    double absMoneyness = Math.abs(forward - strike);
+    if (absMoneyness < DBL_MIN) {
+      return price * SQRT_TWO_PI / Math.sqrt(timeToExpiry);
+    }
+    // time value in terms of the function phiTilde(x) = Phi(x) + phi(x) / x, for x = -|F - K| / (sigma * sqrt(T))
+    double phiTildeStar = -timeValue / absMoneyness;
+    double xBar;
+    if (phiTildeStar < NORMAL_THRESHOLD) {
+      double g = 1d / (phiTildeStar - 0.5);
+      double g2 = g * g;
+      double xiBar = (0.032114372355 - g2 * (0.016969777977 - g2 * (2.6207332461e-3 - 9.6066952861e-5 * g2))) /
+          (1d - g2 * (0.6635646938 - g2 * (0.14528712196 - 0.010472855461 * g2)));
+      xBar = g * (ONE_OVER_SQRT_TWO_PI + xiBar * g2);
+    } else {
+      double h = Math.sqrt(-Math.log(-phiTildeStar));
+      xBar = (9.4883409779 - h * (9.6320903635 - h * (0.58556997323 + 2.1464093351 * h))) /
+          (1d - h * (0.65174820867 + h * (1.5120247828 + 6.6437847132e-5 * h)));
+    }
+    double q = (phiTilde(xBar) - phiTildeStar) / NormalDistribution.standardPdf(xBar);
+    double x2 = xBar * xBar;
+    double xStar = xBar + 3d * q * x2 * (2d - q * xBar * (2d + x2)) /
+        (6d + q * xBar * (-12d + xBar * (6d * q + xBar * (-6d + q * xBar * (3d + x2)))));
+    return absMoneyness / (Math.abs(xStar) * Math.sqrt(timeToExpiry));
+  }
+
+  /**
+   * Computes the normal (Bachelier) implied volatility from the price of an option including the numeraire.
+   * <p>
+   * As for {@link NormalFormulaRepository#impliedVolatility(double, double, double, double, double, double, PutCall)},
+   * a price below the intrinsic value by no more than 1e-6 is accepted, and treated as the intrinsic value.
+   * This allows for the rounding of prices obtained from a pricer.
+   *
+   * @param optionPrice  the price of the option
+   * @param forward  the forward value of the underlying
+   * @param strike  the strike
+   * @param timeToExpiry  the time to expiry, strictly positive
+   * @param numeraire  the numeraire, strictly positive
+   * @param putCall  whether it is put or call
+   * @return the normal implied volatility
+   * @throws IllegalArgumentException if the inputs are invalid or the price is below the intrinsic value
+   */
+  public static double normalVolatility(
+      double optionPrice,
+      double forward,
+      double strike,
+      double timeToExpiry,
+      double numeraire,
+      PutCall putCall) {
+
+    ArgChecker.isTrue(numeraire > 0d, "numeraire must be positive; have {}", numeraire);
+    double intrinsic = Math.max((putCall.isCall() ? 1d : -1d) * (forward - strike), 0d);
+    double intrinsicPrice = numeraire * intrinsic;
+    ArgChecker.isTrue(optionPrice > intrinsicPrice || DoubleMath.fuzzyEquals(optionPrice, intrinsicPrice, 1e-6),
+        "Option price ({}) less than intrinsic value ({})", optionPrice, intrinsicPrice);
+    // the forward price is clamped so that rounding below the intrinsic value gives a zero volatility
+    double price = Math.max(optionPrice / numeraire, intrinsic);
+    return normalVolatility(price, forward, strike, timeToExpiry, putCall);
+  }
+
+  /**
+   * Computes the normal (Bachelier) implied volatilities of a batch of options.
+   * <p>
+   * The result for each element is the same as {@link #normalVolatility(double, double, double, double, PutCall)}.
+   *
+   * @param prices  the forward prices
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param putCall  whether it is put or call
+   * @param normalVols  the array to receive the normal implied volatilities, of the same length as the inputs
+   * @throws IllegalArgumentException if the inputs are invalid or a price is below the intrinsic value
+   */
+  public static void normalVolatility(
+      double[] prices,
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      PutCall putCall,
+      double[] normalVols) {
+
+    checkLengths(normalVols, prices, forwards, strikes, timesToExpiry);
+    for (int i = 0; i < normalVols.length; i++) {
+      normalVols[i] = normalVolatility(prices[i], forwards[i], strikes[i], timesToExpiry[i], putCall);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // the function Phi(x) + phi(x) / x, for x < 0
+  private static double phiTilde(double x) {
+    if (x < -4d) {
+      // continued fraction of the Mills ratio, avoiding the cancellation of the two terms
+      double z = -x;
+      double fraction = 0d;
+      for (int i = MILLS_RATIO_TERMS; i >= 2; i--) {
+        fraction = i / (z + fraction);
+      }
+      fraction = 1d / (z + fraction);
+      return -NormalDistribution.standardPdf(x) / z * fraction / (z + fraction);
+    }
+    return NormalDistribution.standardCdf(x) + NormalDistribution.standardPdf(x) / x;
+  }
+
+  //-------------------------------------------------------------------------
+  // the normalised implied volatility s = sigma * sqrt(T) of an out-of-the-money call, x = ln(F/K) <= 0
+  private static double normalisedBlackVolatility(double beta, double x) {
+    if (beta <= 0d) {
+      return 0d;
+    }
+    double bMax = Math.exp(0.5 * x);
+    double sC = Math.sqrt(Math.abs(2d * x));
+    double bC = normalisedBlackCall(x, sC);
+    double vC = normalisedVega(x, sC);
+    double s;
+    double sLeft = DBL_MIN;
+    double sRight = DBL_MAX;
+    if (beta < bC) {
+      double sL = sC - bC / vC;
+      double bL = normalisedBlackCall(x, sL);
+      if (beta < bL) {
+        // lowest region, guess from the lower asymptotic form, iterations on the logarithm of the price
+        double[] lowerMap = lowerMapAndDerivatives(x, sL);
+        double rLl = convexControlParameterRight(0d, bL, 0d, lowerMap[0], 1d, lowerMap[1], lowerMap[2], true);
+        double f = rationalCubicInterpolation(beta, 0d, bL, 0d, lowerMap[0], 1d, lowerMap[1], rLl);
+        if (!(f > 0d)) {
+          double t = beta / bL;
+          f = (lowerMap[0] * t + bL * (1d - t)) * t;
+        }
+        s = inverseLowerMap(x, f);
+        sRight = sL;
+        return householderLowerRegion(beta, x, s, sLeft, sRight);
+      }
+      double vL = normalisedVega(x, sL);
+      double rLm = convexControlParameterRight(bL, bC, sL, sC, 1d / vL, 1d / vC, 0d, false);
+      s = rationalCubicInterpolation(beta, bL, bC, sL, sC, 1d / vL, 1d / vC, rLm);
+      sLeft = sL;
+      sRight = sC;
+    } else {
+      double sH = vC > DBL_MIN ? sC + (bMax - bC) / vC : sC;
+      double bH = normalisedBlackCall(x, sH);
+      if (beta <= bH) {
+        double vH = normalisedVega(x, sH);
+        double rHm = convexControlParameterLeft(bC, bH, sC, sH, 1d / vC, 1d / vH, 0d, false);
+        s = rationalCubicInterpolation(beta, bC, bH, sC, sH, 1d / vC, 1d / vH, rHm);
+        sLeft = sC;
+        sRight = sH;
+      } else {
+        // highest region, guess from the upper asymptotic form
+        double[] upperMap = upperMapAndDerivatives(x, sH);
+        double f = 0d;
+        if (upperMap[2] > -SQRT_DBL_MAX && upperMap[2] < SQRT_DBL_MAX) {
+          double rHh = convexControlParameterLeft(bH, bMax, upperMap[0], 0d, upperMap[1], -0.5, upperMap[2], true);
+          f = rationalCubicInterpolation(beta, bH, bMax, upperMap[0], 0d, upperMap[1], -0.5, rHh);
+        }
+        if (f <= 0d) {
+          double h = bMax - bH;
+          double t = (beta - bH) / h;
+          f = (upperMap[0] * (1d - t) + 0.5 * h * t) * (1d - t);
+        }
+        s = NormalDistribution.standardInverseCdf(f) * -2d;
+        sLeft = sH;
+        if (beta > 0.5 * bMax) {
+          return householderUpperRegion(beta, x, bMax, s, sLeft, sRight);
+        }
+      }
+    }
+    return householderMiddleRegion(beta, x, s, sLeft, sRight);
+  }
+
+  // Householder iterations on the logarithm of the price, for the lowest region
+  private static double householderLowerRegion(double beta, double x, double s0, double sLeft0, double sRight0) {
+    double s = s0;
+    double sLeft = sLeft0;
+    double sRight = sRight0;
+    double lnBeta = Math.log(beta);
+    double ds = -DBL_MAX;
+    for (int i = 0; i < BLACK_ITERATIONS && Math.abs(ds) > DBL_EPSILON * s; i++) {
+      double b = normalisedBlackCall(x, s);
+      double bp = normalisedVega(x, s);
+      if (b > beta && s < sRight) {
+        sRight = s;
+      } else if (b < beta && s > sLeft) {
+        sLeft = s;
+      }
+      if (b <= 0d || bp <= 0d) {
+        ds = 0.5 * (sLeft + sRight) - s;
+      } else {
+        double lnB = Math.log(b);
+        double bpob = bp / b;
+        double h = x / s;
+        double bHalley = h * h / s - s / 4d;
+        double newton = (lnBeta - lnB) * lnB / lnBeta / bpob;
+        double halley = bHalley - bpob * (1d + 2d / lnB);
+        double bHh3 = bHalley * bHalley - 3d * (h / s) * (h / s) - 0.25;
+        double hh3 = bHh3 + 2d * bpob * bpob * (1d + 3d / lnB * (1d + 1d / lnB)) -
+            3d * bHalley * bpob * (1d + 2d / lnB);
+        ds = newton * householderFactor(newton, halley, hh3);
+      }
+      ds = Math.max(-0.5 * s, ds);
+      s += ds;
+    }
+    return s;
+  }
+
+  // Householder iterations on the logarithm of the difference to the upper bound, for the highest region
+  private static double householderUpperRegion(
+      double beta,
+      double x,
+      double bMax,
+      double s0,
+      double sLeft0,
+      double sRight0) {
+
+    double s = s0;
+    double sLeft = sLeft0;
+    double sRight = sRight0;
+    double ds = -DBL_MAX;
+    for (int i = 0; i < BLACK_ITERATIONS && Math.abs(ds) > DBL_EPSILON * s; i++) {
+      double b = normalisedBlackCall(x, s);
+      double bp = normalisedVega(x, s);
+      if (b > beta && s < sRight) {
+        sRight = s;
+      } else if (b < beta && s > sLeft) {
+        sLeft = s;
+      }
+      if (b >= bMax || bp <= DBL_MIN) {
+        ds = 0.5 * (sLeft + sRight) - s;
+      } else {
+        double bMaxMinusB = bMax - b;
+        double g = Math.log((bMax - beta) / bMaxMinusB);
+        double gp = bp / bMaxMinusB;
+        double h = x / s;
+        double bHalley = h * h / s - s / 4d;
+        double bHh3 = bHalley * bHalley - 3d * (h / s) * (h / s) - 0.25;
+        double newton = -g / gp;
+        double halley = bHalley + gp;
+        double hh3 = bHh3 + gp * (2d * gp + 3d * bHalley);
+        ds = newton * householderFactor(newton, halley, hh3);
+      }
+      ds = Math.max(-0.5 * s, ds);
+      s += ds;
+    }
+    return s;
+  }
+
+  // Householder iterations on the price, for the middle regions
+  private static double householderMiddleRegion(double beta, double x, double s0, double sLeft0, double sRight0) {
+    double s = s0;
+    double sLeft = sLeft0;
+    double sRight = sRight0;
+    double ds = -DBL_MAX;
+    for (int i = 0; i < BLACK_ITERATIONS && Math.abs(ds) > DBL_EPSILON * s; i++) {
+      double b = normalisedBlackCall(x, s);
+      double bp = normalisedVega(x, s);
+      if (b > beta && s < sRight) {
+        sRight = s;
+      } else if (b < beta && s > sLeft) {
+        sLeft = s;
+      }
+      if (bp <= DBL_MIN) {
+        ds = 0.5 * (sLeft + sRight) - s;
+      } else {
+        double h = x / s;
+        double newton = (beta - b) / bp;
+        double halley = h * h / s - s / 4d;
+        double hh3 = halley * halley - 3d * (h / s) * (h / s) - 0.25;
+        ds = Math.max(-0.5 * s, newton * householderFactor(newton, halley, hh3));
+      }
+      s += ds;
+    }
+    return s;
+  }
+
+  private static double householderFactor(double newton, double halley, double hh3) {
+    return (1d + 0.5 * halley * newton) / (1d + newton * (halley + hh3 * newton / 6d));
+  }
+
+  //-------------------------------------------------------------------------
+  // the normalised Black call price, for x <= 0
+  private static double normalisedBlackCall(double x, double s) {
+    if (s <= 0d) {
+      return 0d;
+    }
+    double h = x / s;
+    double t = 0.5 * s;
+    double b = Math.exp(0.5 * x) * NormalDistribution.standardCdf(h + t) -
+        Math.exp(-0.5 * x) * NormalDistribution.standardCdf(h - t);
+    return Math.max(b, 0d);
+  }
+
+  // the normalised vega
+  private static double normalisedVega(double x, double s) {
+    double ax = Math.abs(x);
+    if (ax <= 0d) {
+      return ONE_OVER_SQRT_TWO_PI * Math.exp(-0.125 * s * s);
+    }
+    if (s <= 0d || s <= ax * SQRT_DBL_MIN) {
+      return 0d;
+    }
+    double h = x / s;
+    return ONE_OVER_SQRT_TWO_PI * Math.exp(-0.5 * (h * h + 0.25 * s * s));
+  }
+
+  // the lower asymptotic map and its first two derivatives with respect to the price
+  private static double[] lowerMapAndDerivatives(double x, double s) {
+    double ax = Math.abs(x);
+    double z = SQRT_ONE_OVER_THREE * ax / s;
+    double y = z * z;
+    double s2 = s * s;
+    double phiCdf = NormalDistribution.standardCdf(-z);
+    double phiPdf = NormalDistribution.standardPdf(z);
+    double fpp = PI_OVER_SIX * y / (s2 * s) * phiCdf *
+        (8d * SQRT_THREE * s * ax + (3d * s2 * (s2 - 8d) - 8d * x * x) * phiCdf / phiPdf) *
+        Math.exp(2d * y + 0.25 * s2);
+    double fp = TWO_PI * y * phiCdf * phiCdf * Math.exp(y + 0.125 * s2);
+    double f = TWO_PI_OVER_SQRT_TWENTY_SEVEN * ax * phiCdf * phiCdf * phiCdf;
+    return new double[] {f, fp, fpp};
+  }
+
+  // the inverse of the lower asymptotic map
+  private static double inverseLowerMap(double x, double f) {
+    if (f <= 0d) {
+      return 0d;
+    }
+    double p = Math.cbrt(f / (TWO_PI_OVER_SQRT_TWENTY_SEVEN * Math.abs(x)));
+    return Math.abs(x / (SQRT_THREE * NormalDistribution.standardInverseCdf(p)));
+  }
+
+  // the upper asymptotic map and its first two derivatives with respect to the price
+  private static double[] upperMapAndDerivatives(double x, double s) {
+    double f = NormalDistribution.standardCdf(-0.5 * s);
+    if (x == 0d) {
+      return new double[] {f, -0.5, 0d};
+    }
+    double w = (x / s) * (x / s);
+    double fp = -0.5 * Math.exp(0.5 * w);
+    double fpp = SQRT_PI_OVER_TWO * Math.exp(w + 0.125 * s * s) * w / s;
+    return new double[] {f, fp, fpp};
+  }
+
+  //-------------------------------------------------------------------------
+  // the rational cubic interpolation of Delbourgo and Gregory
+  private static double rationalCubicInterpolation(
+      double x,
+      double xL,
+      double xR,
+      double yL,
+      double yR,
+      double dL,
+      double dR,
+      double r) {
+
+    double h = xR - xL;
+    if (Math.abs(h) <= 0d) {
+      return 0.5 * (yL + yR);
+    }
+    double t = (x - xL) / h;
+    if (!(r >= MAX_CONTROL_PARAMETER)) {
+      double omt = 1d - t;
+      double t2 = t * t;
+      double omt2 = omt * omt;
+      return (yR * t2 * t + (r * yR - h * dR) * t2 * omt + (r * yL + h * dL) * t * omt2 + yL * omt2 * omt) /
+          (1d + (r - 3d) * t * omt);
+    }
+    return yR * t + yL * (1d - t);
+  }
+
+  // the control parameter fitting the second derivative on the left, constrained to preserve the shape
+  private static double convexControlParameterLeft(
+      double xL,
+      double xR,
+      double yL,
+      double yR,
+      double dL,
+      double dR,
+      double secondDerivativeL,
+      boolean preferShapePreservation) {
+
+    double h = xR - xL;
+    double numerator = 0.5 * h * secondDerivativeL + (dR - dL);
+    double denominator = (yR - yL) / h - dL;
+    double r = controlParameter(numerator, denominator);
+    return Math.max(r, minimumControlParameter(dL, dR, (yR - yL) / h, preferShapePreservation));
+  }
+
+  // the control parameter fitting the second derivative on the right, constrained to preserve the shape
+  private static double convexControlParameterRight(
+      double xL,
+      double xR,
+      double yL,
+      double yR,
+      double dL,
+      double dR,
+      double secondDerivativeR,
+      boolean preferShapePreservation) {
+
+    double h = xR - xL;
+    double numerator = 0.5 * h * secondDerivativeR + (dR - dL);
+    double denominator = dR - (yR - yL) / h;
+    double r = controlParameter(numerator, denominator);
+    return Math.max(r, minimumControlParameter(dL, dR, (yR - yL) / h, preferShapePreservation));
+  }
+
+  private static double controlParameter(double numerator, double denominator) {
+    if (Math.abs(numerator) < DBL_MIN) {
+      return 0d;
+    }
+    if (Math.abs(denominator) < DBL_MIN) {
+      return numerator > 0d ? MAX_CONTROL_PARAMETER : MIN_CONTROL_PARAMETER;
+    }
+    return numerator / denominator;
+  }
+
+  // the minimal control parameter preserving monotonicity and convexity
+  private static double minimumControlParameter(double dL, double dR, double slope, boolean preferShapePreservation) {
+    boolean monotonic = dL * slope >= 0d && dR * slope >= 0d;
+    boolean convex = dL <= slope && slope <= dR;
+    boolean concave = dL >= slope && slope >= dR;
+    if (!monotonic && !convex && !concave) {
+      return MIN_CONTROL_PARAMETER;
+    }
+    double r1 = -DBL_MAX;
+    double r2 = -DBL_MAX;
+    if (monotonic) {
+      if (Math.abs(slope) >= DBL_MIN) {
+        r1 = (dR + dL) / slope;
+      } else if (preferShapePreservation) {
+        r1 = MAX_CONTROL_PARAMETER;
+      }
+    }
+    if (convex || concave) {
+      double sMinusDL = slope - dL;
+      double dRMinusS = dR - slope;
+      if (Math.abs(sMinusDL) >= DBL_MIN && Math.abs(dRMinusS) >= DBL_MIN) {
+        double dRMinusDL = dR - dL;
+        r2 = Math.max(Math.abs(dRMinusDL / dRMinusS), Math.abs(dRMinusDL / sMinusDL));
+      } else if (preferShapePreservation) {
+        r2 = MAX_CONTROL_PARAMETER;
+      }
+    } else if (monotonic && preferShapePreservation) {
+      r2 = MAX_CONTROL_PARAMETER;
+    }
+    return Math.max(MIN_CONTROL_PARAMETER, Math.max(r1, r2));
+  }
+
+  //-------------------------------------------------------------------------
+  // checks the arrays of a batch have the same length, with fixed arity to avoid allocating on each call
+  private static void checkLengths(
+      double[] output,
+      double[] input1,
+      double[] input2,
+      double[] input3,
+      double[] input4) {
+
+    ArgChecker.notNull(output, "output");
+    checkLength(input1, output.length);
+    checkLength(input2, output.length);
+    checkLength(input3, output.length);
+    checkLength(input4, output.length);
+  }
+
+  // checks an input array of a batch has the length of the output
+  private static void checkLength(double[] input, int length) {
+    ArgChecker.notNull(input, "input");
+    if (input.length != length) {
+      throw new IllegalArgumentException(
+          Messages.format("Arrays must have the same length, {} and {}", input.length, length));
+    }
+  }
+
+}
@@ -10,6 +10,7 @@ import java.util.function.Function;
 import com.google.common.math.DoubleMath;
 import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.math.impl.rootfinding.BisectionSingleRootFinder;
 import com.opengamma.strata.math.impl.rootfinding.BracketRoot;
@@ -391,4 +392,188 @@ public final class NormalFormulaRepository {
     return ValueDerivatives.of(normalVol, DoubleArray.of(blackVolatilityBar));
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the forward prices of a batch of options.
+   * <p>
+   * The result for each element is the same as {@link #price(double, double, double, double, PutCall)}.
+   * The loop does not allocate, which suits large numbers of options, such as the caplets of a cap.
+   * <p>
+   * Note that the 'numeraire' is a simple multiplier and is the responsibility of the caller.
+   * 
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param normalVols  the normal volatilities
+   * @param putCall  whether it is put or call
+   * @param prices  the array to receive the forward prices, of the same length as the inputs
+   */
+  public static void price(
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      double[] normalVols,
+      PutCall putCall,
+      double[] prices) {
+
+    checkLengths(prices, forwards, strikes, timesToExpiry, normalVols);
+    int sign = putCall.isCall() ? 1 : -1;
+    for (int i = 0; i < prices.length; i++) {
+      double sigmaRootT = normalVols[i] * Math.sqrt(timesToExpiry[i]);
+      double x = sign * (forwards[i] - strikes[i]);
+      if (sigmaRootT < NEAR_ZERO) {
+        prices[i] = x > 0 ? x : 0d;
+      } else {
+        double arg = x / sigmaRootT;
+        prices[i] = x * NormalDistribution.standardCdf(arg) + sigmaRootT * NormalDistribution.standardPdf(arg);
+      }
+    }
+  }
+
+  /**
+   * Computes the deltas of a batch of options.
+   * <p>
+   * The result for each element is the same as {@link #delta(double, double, double, double, PutCall)}.
+   * The loop does not allocate.
+   * <p>
+   * Note that the 'numeraire' is a simple multiplier and is the responsibility of the caller.
+   * 
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param normalVols  the normal volatilities
+   * @param putCall  whether it is put or call
+   * @param deltas  the array to receive the deltas, of the same length as the inputs
+   */
+  public static void delta(
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      double[] normalVols,
+      PutCall putCall,
+      double[] deltas) {
+
+    checkLengths(deltas, forwards, strikes, timesToExpiry, normalVols);
+    int sign = putCall.isCall() ? 1 : -1;
+    for (int i = 0; i < deltas.length; i++) {
+      double sigmaRootT = normalVols[i] * Math.sqrt(timesToExpiry[i]);
+      double x = sign * (forwards[i] - strikes[i]);
+      if (sigmaRootT < NEAR_ZERO) {
+        // ambiguous if x and sigmaRootT are tiny, then reference number is returned
+        deltas[i] = Math.abs(x) <= NEAR_ZERO ? sign * 0.5 : (x > 0 ? sign : 0d);
+      } else {
+        deltas[i] = sign * NormalDistribution.standardCdf(x / sigmaRootT);
+      }
+    }
+  }
+
+  /**
+   * Computes the vegas of a batch of options.
+   * <p>
+   * The result for each element is the same as {@link #vega(double, double, double, double, PutCall)}.
+   * The loop does not allocate.
+   * <p>
+   * Note that the 'numeraire' is a simple multiplier and is the responsibility of the caller.
+   * 
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param normalVols  the normal volatilities
+   * @param vegas  the array to receive the vegas, of the same length as the inputs
+   */
+  public static void vega(
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      double[] normalVols,
+      double[] vegas) {
+
+    checkLengths(vegas, forwards, strikes, timesToExpiry, normalVols);
+    for (int i = 0; i < vegas.length; i++) {
+      double rootT = Math.sqrt(timesToExpiry[i]);
+      double sigmaRootT = normalVols[i] * rootT;
+      double x = forwards[i] - strikes[i];
+      if (sigmaRootT < NEAR_ZERO) {
+        // ambiguous if x and sigmaRootT are tiny, then reference number is returned
+        vegas[i] = Math.abs(x) > NEAR_ZERO ? 0d : rootT / Math.sqrt(2d * Math.PI);
+      } else {
+        vegas[i] = NormalDistribution.standardPdf(x / sigmaRootT) * rootT;
+      }
+    }
+  }
+
+  /**
+   * Computes the implied volatilities of a batch of options.
+   * <p>
+   * The result for each element is the same as
+   * {@link #impliedVolatility(double, double, double, double, double, double, PutCall)}.
+   * 
+   * @param optionPrices  the prices of the options
+   * @param forwards  the forward values of the underlying
+   * @param strikes  the strikes
+   * @param timesToExpiry  the times to expiry
+   * @param initialNormalVols  the normal volatilities used to start the search
+   * @param numeraires  the numeraires
+   * @param putCall  whether it is put or call
+   * @param normalVols  the array to receive the implied volatilities, of the same length as the inputs
+   */
+  public static void impliedVolatility(
+      double[] optionPrices,
+      double[] forwards,
+      double[] strikes,
+      double[] timesToExpiry,
+      double[] initialNormalVols,
+      double[] numeraires,
+      PutCall putCall,
+      double[] normalVols) {
+
+    checkLengths(normalVols, optionPrices, forwards, strikes, timesToExpiry, initialNormalVols, numeraires);
+    for (int i = 0; i < normalVols.length; i++) {
+      normalVols[i] = impliedVolatility(
+          optionPrices[i], forwards[i], strikes[i], timesToExpiry[i], initialNormalVols[i], numeraires[i], putCall);
+    }
+  }
+
+  // checks the arrays of a batch have the same length, with fixed arity to avoid allocating on each call
+  private static void checkLengths(
+      double[] output,
+      double[] input1,
+      double[] input2,
+      double[] input3,
+      double[] input4) {
+
+    ArgChecker.notNull(output, "output");
+    checkLength(input1, output.length);
+    checkLength(input2, output.length);
+    checkLength(input3, output.length);
+    checkLength(input4, output.length);
+  }
+
+  private static void checkLengths(
+      double[] output,
+      double[] input1,
+      double[] input2,
+      double[] input3,
+      double[] input4,
+      double[] input5,
+      double[] input6) {
+
+    ArgChecker.notNull(output, "output");
+    checkLength(input1, output.length);
+    checkLength(input2, output.length);
+    checkLength(input3, output.length);
+    checkLength(input4, output.length);
+    checkLength(input5, output.length);
+    checkLength(input6, output.length);
+  }
+
+  // checks an input array of a batch has the length of the output
+  private static void checkLength(double[] input, int length) {
+    ArgChecker.notNull(input, "input");
+    if (input.length != length) {
+      throw new IllegalArgumentException(
+          Messages.format("Arrays must have the same length, {} and {}", input.length, length));
+    }
+  }
+
 }
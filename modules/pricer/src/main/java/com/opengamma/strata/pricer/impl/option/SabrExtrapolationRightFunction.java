@@ -290,6 +290,55 @@ public final class SabrExtrapolationRightFunction {
     return ValueDerivatives.of(price, DoubleArray.ofUnsafe(priceDerivativeSabr));
   }
 
+  /**
+   * Computes the option price derivatives with respect to the forward and the SABR parameters.
+   * <p>
+   * The price is SABR below the cut-off strike and extrapolated beyond.
+   * The result is the same as {@link #priceDerivativeForward(double, PutCall)} and
+   * {@link #priceAdjointSabr(double, PutCall)}, but the smile is evaluated once.
+   * The derivatives are with respect to the forward, then alpha, beta, rho and nu.
+   * 
+   * @param strike  the strike of the option
+   * @param putCall  whether the option is put or call
+   * @return the option and its derivatives
+   */
+  public ValueDerivatives priceAdjointForwardSabr(double strike, PutCall putCall) {
+    double[] priceDerivatives = new double[5];
+    double price;
+    if (strike <= cutOffStrike) { // Uses Hagan et al SABR function.
+      ValueDerivatives volatilityA = sabrFunction.volatilityAdjoint(forward, strike, timeToExpiry, sabrData);
+      ValueDerivatives pA = BlackFormulaRepository.priceAdjoint(
+          forward, strike, timeToExpiry, volatilityA.getValue(), putCall == PutCall.CALL);
+      price = pA.getValue();
+      priceDerivatives[0] = pA.getDerivative(0) + pA.getDerivative(3) * volatilityA.getDerivative(0);
+      for (int loopparam = 0; loopparam < 4; loopparam++) {
+        priceDerivatives[loopparam + 1] = pA.getDerivative(3) * volatilityA.getDerivative(loopparam + 2);
+      }
+    } else { // Uses extrapolation for call.
+      if (parameterDerivativeForward == null) {
+        parameterDerivativeForward = computesParametersDerivativeForward();
+      }
+      if (parameterDerivativeSabr == null) {
+        parameterDerivativeSabr = computesParametersDerivativeSabr();
+      }
+      double f = extrapolation(strike);
+      double fDa = f;
+      double fDb = f / strike;
+      double fDc = fDb / strike;
+      price = putCall.isCall() ? f : f - forward + strike; // Put by call/put parity
+      priceDerivatives[0] = fDa * parameterDerivativeForward[0] +
+          fDb * parameterDerivativeForward[1] + fDc * parameterDerivativeForward[2];
+      if (putCall.isPut()) { // Put by call/put parity
+        priceDerivatives[0] -= 1;
+      }
+      for (int loopparam = 0; loopparam < 4; loopparam++) {
+        priceDerivatives[loopparam + 1] = fDa * parameterDerivativeSabr[loopparam][0] +
+            fDb * parameterDerivativeSabr[loopparam][1] + fDc * parameterDerivativeSabr[loopparam][2];
+      }
+    }
+    return ValueDerivatives.of(price, DoubleArray.ofUnsafe(priceDerivatives));
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Gets the underlying SABR data.
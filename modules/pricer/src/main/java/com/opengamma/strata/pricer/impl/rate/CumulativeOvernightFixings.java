@@ -0,0 +1,214 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.rate;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import com.opengamma.strata.basics.date.HolidayCalendar;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.pricer.rate.CachingOvernightIndexRates;
+import com.opengamma.strata.pricer.rate.OvernightIndexRates;
+import com.opengamma.strata.product.rate.OvernightRateComputation;
+
+/**
+ * Cumulative compounding and summation of the fixings of an overnight index.
+ * <p>
+ * This is built from the most recent run of fixings in a time-series, those fixings
+ * present on every business day of the fixing calendar up to the latest fixing.
+ * For each fixing in the run, the cumulative compounded factor and the cumulative sum of rates
+ * weighted by the number of calendar days are stored. The realised part of a compounded or
+ * averaged accrual period can then be obtained in constant time rather than day by day.
+ * <p>
+ * Building an instance requires a pass over the run, so it is only worthwhile when shared by many periods.
+ * Instances are held by {@link CachingOvernightIndexRates}, created once per fixing calendar
+ * for the market data of a valuation. The rate computation functions obtain them from
+ * {@link OvernightIndexRates#cumulativeFixings(OvernightRateComputation)}, and otherwise read the fixings day by day.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class CumulativeOvernightFixings {
+
+  /**
+   * The fixing calendar.
+   */
+  private final HolidayCalendar fixingCalendar;
+  /**
+   * The epoch days of the fixing dates in the run, in order.
+   */
+  private final long[] fixingDays;
+  /**
+   * The fixed rates in the run.
+   */
+  private final double[] rates;
+  /**
+   * The cumulative compounded factors, the element at position {@code i} is the
+   * compounded factor of the fixings before position {@code i}.
+   */
+  private final double[] compounded;
+  /**
+   * The cumulative sums of rates weighted by calendar days, the element at position {@code i} is
+   * the sum for the fixings before position {@code i}, each fixing applying until the next business day.
+   */
+  private final double[] summed;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the cumulative fixings for the computation from the time-series.
+   * <p>
+   * The result can be shared by all the computations with the same index and fixing calendar.
+   *
+   * @param computation  the computation, defining the index and the fixing calendar
+   * @param fixings  the time-series of fixings
+   * @return the cumulative fixings
+   */
+  public static CumulativeOvernightFixings of(
+      OvernightRateComputation computation,
+      LocalDateDoubleTimeSeries fixings) {
+
+    ArgChecker.notNull(computation, "computation");
+    ArgChecker.notNull(fixings, "fixings");
+    HolidayCalendar calendar = computation.getFixingCalendar();
+    if (fixings.isEmpty()) {
+      return new CumulativeOvernightFixings(computation, new long[0], new double[0]);
+    }
+    LocalDate last = calendar.previousOrSame(fixings.getLatestDate());
+    LocalDate first = last;
+    int size = 0;
+    while (fixings.containsDate(first)) {
+      size++;
+      first = calendar.previous(first);
+    }
+    long[] fixingDays = new long[size];
+    double[] rates = new double[size];
+    LocalDate current = last;
+    for (int i = size - 1; i >= 0; i--) {
+      fixingDays[i] = current.toEpochDay();
+      rates[i] = fixings.get(current).getAsDouble();
+      current = calendar.previous(current);
+    }
+    return new CumulativeOvernightFixings(computation, fixingDays, rates);
+  }
+
+  // creates an instance
+  private CumulativeOvernightFixings(OvernightRateComputation computation, long[] fixingDays, double[] rates) {
+    this.fixingCalendar = computation.getFixingCalendar();
+    this.fixingDays = fixingDays;
+    this.rates = rates;
+    int size = fixingDays.length;
+    this.compounded = new double[size + 1];
+    this.summed = new double[size + 1];
+    compounded[0] = 1d;
+    for (int i = 0; i < size; i++) {
+      LocalDate fixingDate = LocalDate.ofEpochDay(fixingDays[i]);
+      double accrualFactor = computation.observeOn(fixingDate).getYearFraction();
+      long days = fixingCalendar.next(fixingDate).toEpochDay() - fixingDays[i];
+      compounded[i + 1] = compounded[i] * (1d + accrualFactor * rates[i]);
+      summed[i + 1] = summed[i] + rates[i] * days;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of fixings in the run.
+   *
+   * @return the number of fixings
+   */
+  int size() {
+    return fixingDays.length;
+  }
+
+  /**
+   * Finds the position of the fixing date in the run.
+   *
+   * @param fixingDate  the fixing date
+   * @return the position, negative if the date is not in the run
+   */
+  int position(LocalDate fixingDate) {
+    int position = Arrays.binarySearch(fixingDays, fixingDate.toEpochDay());
+    return position < 0 ? -1 : position;
+  }
+
+  /**
+   * Counts the fixings in the run that are strictly before the date.
+   *
+   * @param date  the date
+   * @return the number of fixings before the date
+   */
+  int countBefore(LocalDate date) {
+    int position = Arrays.binarySearch(fixingDays, date.toEpochDay());
+    return position < 0 ? -position - 1 : position;
+  }
+
+  /**
+   * Gets the fixing date at the position.
+   *
+   * @param position  the position
+   * @return the fixing date
+   */
+  LocalDate fixingDate(int position) {
+    return LocalDate.ofEpochDay(fixingDays[position]);
+  }
+
+  /**
+   * Gets the fixed rate at the position.
+   *
+   * @param position  the position
+   * @return the fixed rate
+   */
+  double rate(int position) {
+    return rates[position];
+  }
+
+  /**
+   * Calculates the compounded factor of the fixings between two positions.
+   * <p>
+   * This is the product of {@code (1 + accrualFactor * rate)} for each fixing
+   * from the start position inclusive to the end position exclusive.
+   *
+   * @param startPosition  the start position, inclusive
+   * @param endPosition  the end position, exclusive
+   * @return the compounded factor
+   */
+  double compoundedFactor(int startPosition, int endPosition) {
+    return compounded[endPosition] / compounded[startPosition];
+  }
+
+  /**
+   * Calculates the sum of the rates of the fixings between two positions, weighted by calendar days.
+   * <p>
+   * Each fixing applies from its fixing date until the next business day of the fixing calendar.
+   *
+   * @param startPosition  the start position, inclusive
+   * @param endPosition  the end position, exclusive
+   * @return the weighted sum of rates
+   */
+  double weightedSum(int startPosition, int endPosition) {
+    return summed[endPosition] - summed[startPosition];
+  }
+
+  /**
+   * Calculates the sum of the rates applicable on each calendar day between two dates.
+   * <p>
+   * The rate applicable on a day is the fixing on the same or previous business day.
+   * The fixings applicable on the start and end dates must both be in the run.
+   *
+   * @param startDate  the start date, inclusive
+   * @param endDate  the end date, inclusive
+   * @return the sum of the daily rates
+   */
+  double dailySum(LocalDate startDate, LocalDate endDate) {
+    LocalDate startFixing = fixingCalendar.previousOrSame(startDate);
+    LocalDate endFixing = fixingCalendar.previousOrSame(endDate);
+    int startPosition = position(startFixing);
+    int endPosition = position(endFixing);
+    return weightedSum(startPosition, endPosition) +
+        rates[endPosition] * (endDate.toEpochDay() - endFixing.toEpochDay() + 1) -
+        rates[startPosition] * (startDate.toEpochDay() - startFixing.toEpochDay());
+  }
+
+}
@@ -6,7 +6,9 @@
 package com.opengamma.strata.pricer.impl.rate;
 
 import java.time.LocalDate;
+import java.util.Optional;
 
+import com.opengamma.strata.basics.date.HolidayCalendar;
 import com.opengamma.strata.basics.index.OvernightIndex;
 import com.opengamma.strata.basics.index.OvernightIndexObservation;
 import com.opengamma.strata.market.explain.ExplainKey;
@@ -22,6 +24,8 @@ import com.opengamma.strata.product.rate.OvernightAveragedDailyRateComputation;
 * <p>
 * The rate computation retrieves the rate at each fixing date in the period 
 * from the {@link RatesProvider} and average them.
+* If the overnight index rates hold cumulative fixings, see {@link OvernightIndexRates#cumulativeFixings},
+* the days referring to fixings in the most recent run of the time series are summed in one step.
 */
 public class ForwardOvernightAveragedDailyRateComputationFn
     implements RateComputationFn<OvernightAveragedDailyRateComputation> {
@@ -52,6 +56,15 @@ public class ForwardOvernightAveragedDailyRateComputationFn
     double interestSum = 0d;
     int numberOfDays = 0;
     LocalDate currentFixingDate = computation.getStartDate();
+    Optional<CumulativeOvernightFixings> cumulative = rates.cumulativeFixings(computation);
+    if (cumulative.isPresent()) {
+      LocalDate lastFixedDate = lastFixedDate(computation, rates, cumulative.get());
+      if (!lastFixedDate.isBefore(currentFixingDate)) {
+        interestSum = cumulative.get().dailySum(currentFixingDate, lastFixedDate);
+        numberOfDays = (int) (lastFixedDate.toEpochDay() - currentFixingDate.toEpochDay() + 1);
+        currentFixingDate = lastFixedDate.plusDays(1);
+      }
+    }
     while (!currentFixingDate.isAfter(lastFixingDate)) {
       LocalDate referenceFixingDate = computation.getFixingCalendar().previousOrSame(currentFixingDate);
       OvernightIndexObservation indexObs = computation.observeOn(referenceFixingDate);
@@ -77,6 +90,15 @@ public class ForwardOvernightAveragedDailyRateComputationFn
     PointSensitivityBuilder pointSensitivityBuilder = PointSensitivityBuilder.none();
     int numberOfDays = 0;
     LocalDate currentFixingDate = computation.getStartDate();
+    Optional<CumulativeOvernightFixings> cumulative = rates.cumulativeFixings(computation);
+    if (cumulative.isPresent()) {
+      LocalDate lastFixedDate = lastFixedDate(computation, rates, cumulative.get());
+      if (!lastFixedDate.isBefore(currentFixingDate)) {
+        // fixed days have no sensitivity
+        numberOfDays = (int) (lastFixedDate.toEpochDay() - currentFixingDate.toEpochDay() + 1);
+        currentFixingDate = lastFixedDate.plusDays(1);
+      }
+    }
     while (!currentFixingDate.isAfter(lastFixingDate)) {
       LocalDate referenceFixingDate = computation.getFixingCalendar().previousOrSame(currentFixingDate);
       OvernightIndexObservation indexObs = computation.observeOn(referenceFixingDate);
@@ -102,4 +124,36 @@ public class ForwardOvernightAveragedDailyRateComputationFn
     return rate;
   }
 
+  //-------------------------------------------------------------------------
+  // the last day of the period whose rate is a published fixing in the run of the cumulative fixings
+  // the day before the start date is returned if there is no such day
+  private static LocalDate lastFixedDate(
+      OvernightAveragedDailyRateComputation computation,
+      OvernightIndexRates rates,
+      CumulativeOvernightFixings cumulative) {
+
+    HolidayCalendar calendar = computation.getFixingCalendar();
+    LocalDate startDate = computation.getStartDate();
+    LocalDate endDate = computation.getEndDate();
+    LocalDate noneFixed = startDate.minusDays(1);
+    LocalDate startFixing = calendar.previousOrSame(startDate);
+    if (computation.calculatePublicationFromFixing(startFixing).isAfter(rates.getValuationDate())) {
+      return noneFixed;
+    }
+    int startPosition = cumulative.position(startFixing);
+    if (startPosition < 0) {
+      return noneFixed;
+    }
+    int endPosition = cumulative.countBefore(endDate.plusDays(1));
+    while (endPosition > startPosition && computation.calculatePublicationFromFixing(
+        cumulative.fixingDate(endPosition - 1)).isAfter(rates.getValuationDate())) {
+      endPosition--;
+    }
+    if (endPosition == startPosition) {
+      return noneFixed;
+    }
+    LocalDate lastFixedDate = calendar.next(cumulative.fixingDate(endPosition - 1)).minusDays(1);
+    return lastFixedDate.isAfter(endDate) ? endDate : lastFixedDate;
+  }
+
 }
@@ -6,6 +6,7 @@
 package com.opengamma.strata.pricer.impl.rate;
 
 import java.time.LocalDate;
+import java.util.Optional;
 import java.util.OptionalDouble;
 
 import com.opengamma.strata.basics.date.DayCount;
@@ -26,6 +27,8 @@ import com.opengamma.strata.product.rate.OvernightCompoundedRateComputation;
 * Rate computation implementation for a rate based on a single overnight index that is compounded.
 * <p>
 * Rates that are already fixed are retrieved from the time series of the {@link RatesProvider}.
+* If the overnight index rates hold cumulative fixings, see {@link OvernightIndexRates#cumulativeFixings},
+* the fixings of the most recent run of the time series are compounded in one step.
 * Rates that are in the future and not in the cut-off period are computed as unique forward rate in the full future period.
 * Rates that are in the cut-off period (already fixed or forward) are compounded.
 */
@@ -128,6 +131,24 @@ public class ForwardOvernightCompoundedRateComputationFn
       double compositionFactor = 1.0d;
       LocalDate currentFixing = firstFixing;
       LocalDate currentPublication = computation.calculatePublicationFromFixing(currentFixing);
+      Optional<CumulativeOvernightFixings> cumulativeFixings = rates.cumulativeFixings(computation);
+      if (rates.getValuationDate().isAfter(currentPublication) && cumulativeFixings.isPresent()) {
+        // fixings in the run of the cumulative fixings are compounded in one step
+        CumulativeOvernightFixings cumulative = cumulativeFixings.get();
+        int startPosition = cumulative.position(firstFixing);
+        if (startPosition >= 0) {
+          int endPosition = cumulative.countBefore(lastFixingNonCutoff);
+          while (endPosition > startPosition && !rates.getValuationDate().isAfter(
+              computation.calculatePublicationFromFixing(cumulative.fixingDate(endPosition - 1)))) {
+            endPosition--;
+          }
+          if (endPosition > startPosition) {
+            compositionFactor = cumulative.compoundedFactor(startPosition, endPosition);
+            currentFixing = computation.getFixingCalendar().next(cumulative.fixingDate(endPosition - 1));
+            currentPublication = computation.calculatePublicationFromFixing(currentFixing);
+          }
+        }
+      }
       while ((currentFixing.isBefore(lastFixingNonCutoff)) && // fixing in the non-cutoff period
           rates.getValuationDate().isAfter(currentPublication)) { // publication before valuation
         LocalDate effectiveDate = computation.calculateEffectiveFromFixing(currentFixing);
@@ -0,0 +1,312 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.rate.model;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.ParallelTasks;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.math.impl.random.SplittableNormalRandomNumberGenerator;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParameters;
+
+/**
+ * Monte Carlo engine for the Hull-White one factor model with piecewise constant volatility.
+ * <p>
+ * The discount factors are simulated under the forward measure of the zero-coupon bond maturing at the
+ * numeraire time {@code T}, the last simulation or maturity time. In this measure, the discount factors
+ * rebased by the numeraire are
+ * <pre>
+ *   P(t,u) / P(t,T) = P(0,u) / P(0,T) exp(-c(u) X(t) - c(u)^2 V(t) / 2)
+ * </pre>
+ * with {@code c(u) = (exp(-aT) - exp(-au)) / a} and {@code X} a driftless Gaussian process of variance {@code V}.
+ * The increments of {@code X} between simulation times are independent, thus the simulation is exact
+ * on the simulation times.
+ * <p>
+ * The paths are simulated in blocks of a fixed number of draws of the random number generator.
+ * The blocks are simulated sequentially by default, or as separate tasks of an executor,
+ * see {@link #withExecutor(Executor)}. Their results are summed in order, thus the result
+ * only depends on the generator and not on the executor.
+ * Each draw produces one path, or two paths with opposite increments when antithetic variates are used.
+ * <p>
+ * Reference: Henrard, M. "Bermudan Swaptions in Gaussian HJM One-Factor Model: Analytical and Numerical Approaches".
+ * SSRN, October 2008. Available at SSRN: http://ssrn.com/abstract=1287982
+ */
+public final class HullWhiteOneFactorMonteCarloEngine {
+
+  /**
+   * The number of draws in each block.
+   */
+  private static final int BLOCK_SIZE = 1024;
+  /**
+   * The model.
+   */
+  private static final HullWhiteOneFactorPiecewiseConstantInterestRateModel MODEL =
+      HullWhiteOneFactorPiecewiseConstantInterestRateModel.DEFAULT;
+
+  /**
+   * The number of paths.
+   */
+  private final int numberOfPaths;
+  /**
+   * The random number generator.
+   */
+  private final SplittableNormalRandomNumberGenerator generator;
+  /**
+   * Whether antithetic variates are used.
+   */
+  private final boolean antithetic;
+  /**
+   * The executor used to simulate the blocks, null for sequential processing.
+   */
+  private final Executor executor;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   * <p>
+   * When antithetic variates are used, the number of paths must be even.
+   *
+   * @param numberOfPaths  the number of paths
+   * @param generator  the random number generator
+   * @param antithetic  whether antithetic variates are used
+   * @return the instance
+   */
+  public static HullWhiteOneFactorMonteCarloEngine of(
+      int numberOfPaths,
+      SplittableNormalRandomNumberGenerator generator,
+      boolean antithetic) {
+
+    ArgChecker.notNegativeOrZero(numberOfPaths, "numberOfPaths");
+    ArgChecker.notNull(generator, "generator");
+    ArgChecker.isTrue(!antithetic || numberOfPaths % 2 == 0, "number of paths must be even with antithetic variates");
+    return new HullWhiteOneFactorMonteCarloEngine(numberOfPaths, generator, antithetic, null);
+  }
+
+  // restricted constructor
+  private HullWhiteOneFactorMonteCarloEngine(
+      int numberOfPaths,
+      SplittableNormalRandomNumberGenerator generator,
+      boolean antithetic,
+      Executor executor) {
+
+    this.numberOfPaths = numberOfPaths;
+    this.generator = generator;
+    this.antithetic = antithetic;
+    this.executor = executor;
+  }
+
+  /**
+   * Returns a copy of this engine which simulates the paths with the executor.
+   * <p>
+   * Each block of paths is then a separate task of the executor.
+   * The results do not depend on the executor.
+   *
+   * @param executor  the executor, null for sequential processing
+   * @return the engine
+   */
+  public HullWhiteOneFactorMonteCarloEngine withExecutor(Executor executor) {
+    return new HullWhiteOneFactorMonteCarloEngine(numberOfPaths, generator, antithetic, executor);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of paths.
+   *
+   * @return the number of paths
+   */
+  public int getNumberOfPaths() {
+    return numberOfPaths;
+  }
+
+  /**
+   * Gets the random number generator.
+   *
+   * @return the generator
+   */
+  public SplittableNormalRandomNumberGenerator getGenerator() {
+    return generator;
+  }
+
+  /**
+   * Checks if antithetic variates are used.
+   *
+   * @return true if antithetic variates are used
+   */
+  public boolean isAntithetic() {
+    return antithetic;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value of a path-dependent payoff.
+   * <p>
+   * At each simulation time, the discount factors to the corresponding maturity times are simulated,
+   * rebased by the numeraire. The path function computes the value of the payoff on a path from them,
+   * also expressed in numeraire units. The present value is the numeraire discount factor times
+   * the average of the path values.
+   *
+   * @param parameters  the Hull-White model parameters
+   * @param discountFactors  the discount factors
+   * @param simulationTimes  the simulation times, positive and in increasing order
+   * @param maturityTimes  the maturity times of the discount factors for each simulation time,
+   *   not before the simulation time
+   * @param function  the path function, which must be thread-safe if the engine has an executor
+   * @return the present value
+   */
+  public double presentValue(
+      HullWhiteOneFactorPiecewiseConstantParameters parameters,
+      DiscountFactors discountFactors,
+      DoubleArray simulationTimes,
+      List<DoubleArray> maturityTimes,
+      PathFunction function) {
+
+    ArgChecker.notNull(parameters, "parameters");
+    ArgChecker.notNull(discountFactors, "discountFactors");
+    ArgChecker.notNull(function, "function");
+    Simulation simulation = new Simulation(parameters, discountFactors, simulationTimes, maturityTimes);
+    int drawCount = antithetic ? numberOfPaths / 2 : numberOfPaths;
+    int blockCount = (drawCount + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    DoubleArray blockValues = ParallelTasks.evaluateDoubles(
+        blockCount, 1, block -> simulation.blockValue(block, drawCount, function), executor);
+    double total = 0d;
+    for (int block = 0; block < blockCount; block++) {
+      total += blockValues.get(block);
+    }
+    return simulation.numeraireDiscountFactor * total / numberOfPaths;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The value of a payoff on a simulated path.
+   */
+  @FunctionalInterface
+  public interface PathFunction {
+
+    /**
+     * Calculates the value of the payoff on a path, divided by the numeraire.
+     * <p>
+     * The element {@code [k][j]} of the array is the discount factor between the simulation time {@code k}
+     * and its maturity time {@code j}, divided by the numeraire discount factor at the simulation time.
+     * The array is reused between paths and must not be retained.
+     *
+     * @param rebasedDiscountFactors  the rebased discount factors on the path
+     * @return the value of the payoff, divided by the numeraire
+     */
+    public abstract double value(double[][] rebasedDiscountFactors);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The simulation of given times and maturities, with the path independent quantities.
+   */
+  private final class Simulation {
+    /**
+     * The numeraire discount factor, P(0,T).
+     */
+    private final double numeraireDiscountFactor;
+    /**
+     * The standard deviations of the increments of X between consecutive simulation times.
+     */
+    private final double[] incrementStdDev;
+    /**
+     * The rebased discount factors P(0,u)/P(0,T) exp(-c(u)^2 V(t) / 2).
+     */
+    private final double[][] rebasedFactor;
+    /**
+     * The factors c(u) of X.
+     */
+    private final double[][] stateFactor;
+
+    private Simulation(
+        HullWhiteOneFactorPiecewiseConstantParameters parameters,
+        DiscountFactors discountFactors,
+        DoubleArray simulationTimes,
+        List<DoubleArray> maturityTimes) {
+
+      int nbTimes = simulationTimes.size();
+      ArgChecker.isTrue(nbTimes > 0, "simulation times must not be empty");
+      ArgChecker.isTrue(maturityTimes.size() == nbTimes, "maturity times must be given for each simulation time");
+      double numeraireTime = simulationTimes.get(nbTimes - 1);
+      for (int k = 0; k < nbTimes; k++) {
+        double time = simulationTimes.get(k);
+        ArgChecker.isTrue(time > (k == 0 ? 0d : simulationTimes.get(k - 1)),
+            "simulation times must be positive and in increasing order");
+        for (int j = 0; j < maturityTimes.get(k).size(); j++) {
+          double maturity = maturityTimes.get(k).get(j);
+          ArgChecker.isTrue(maturity >= time, "maturity times must not be before their simulation time");
+          numeraireTime = Math.max(numeraireTime, maturity);
+        }
+      }
+      double meanReversion = parameters.getMeanReversion();
+      double expNumeraire = Math.exp(-meanReversion * numeraireTime);
+      this.numeraireDiscountFactor = discountFactors.discountFactor(numeraireTime);
+      this.incrementStdDev = new double[nbTimes];
+      this.rebasedFactor = new double[nbTimes][];
+      this.stateFactor = new double[nbTimes][];
+      double variance = 0d;
+      for (int k = 0; k < nbTimes; k++) {
+        incrementStdDev[k] = MODEL.beta(parameters, k == 0 ? 0d : simulationTimes.get(k - 1), simulationTimes.get(k));
+        variance += incrementStdDev[k] * incrementStdDev[k];
+        DoubleArray maturities = maturityTimes.get(k);
+        rebasedFactor[k] = new double[maturities.size()];
+        stateFactor[k] = new double[maturities.size()];
+        for (int j = 0; j < maturities.size(); j++) {
+          double maturity = maturities.get(j);
+          double factor = (expNumeraire - Math.exp(-meanReversion * maturity)) / meanReversion;
+          stateFactor[k][j] = factor;
+          rebasedFactor[k][j] = discountFactors.discountFactor(maturity) / numeraireDiscountFactor *
+              Math.exp(-0.5 * factor * factor * variance);
+        }
+      }
+    }
+
+    // the sum of the path values of a block
+    private double blockValue(int block, int drawCount, PathFunction function) {
+      int nbTimes = incrementStdDev.length;
+      long firstDraw = (long) block * BLOCK_SIZE;
+      int blockDrawCount = (int) Math.min(BLOCK_SIZE, drawCount - firstDraw);
+      double[] normals = new double[blockDrawCount * nbTimes];
+      generator.fill(firstDraw, blockDrawCount, nbTimes, normals);
+      double[][] rebasedDiscountFactors = new double[nbTimes][];
+      for (int k = 0; k < nbTimes; k++) {
+        rebasedDiscountFactors[k] = new double[rebasedFactor[k].length];
+      }
+      double total = 0d;
+      for (int i = 0; i < blockDrawCount; i++) {
+        total += pathValue(normals, i * nbTimes, 1d, rebasedDiscountFactors, function);
+        if (antithetic) {
+          total += pathValue(normals, i * nbTimes, -1d, rebasedDiscountFactors, function);
+        }
+      }
+      return total;
+    }
+
+    // the value of the path of a draw
+    private double pathValue(
+        double[] normals,
+        int offset,
+        double sign,
+        double[][] rebasedDiscountFactors,
+        PathFunction function) {
+
+      double state = 0d;
+      for (int k = 0; k < incrementStdDev.length; k++) {
+        state += sign * incrementStdDev[k] * normals[offset + k];
+        double[] factors = rebasedFactor[k];
+        double[] coefficients = stateFactor[k];
+        double[] result = rebasedDiscountFactors[k];
+        for (int j = 0; j < factors.length; j++) {
+          result[j] = factors[j] * Math.exp(-coefficients[j] * state);
+        }
+      }
+      return function.value(rebasedDiscountFactors);
+    }
+  }
+
+}
@@ -84,6 +84,36 @@ public final class EuropeanVanillaOptionFunction
     return DoubleArray.ofUnsafe(values);
   }
 
+  @Override
+  public void getPayoffAtExpiryTrinomial(double[] stateValue, int stateOffset, double[] values, int valuesOffset) {
+    int nNodes = 2 * numberOfSteps + 1;
+    for (int i = 0; i < nNodes; ++i) {
+      values[valuesOffset + i] = Math.max(sign * (stateValue[stateOffset + i] - strike), 0d);
+    }
+  }
+
+  @Override
+  public void getNextOptionValues(
+      double discountFactor,
+      double[] transitionProbability,
+      int probabilityOffset,
+      double[] stateValue,
+      int stateOffset,
+      double[] value,
+      int valueOffset,
+      double[] result,
+      int resultOffset,
+      int i) {
+
+    int nNodes = 2 * i + 1;
+    for (int j = 0; j < nNodes; ++j) {
+      int p = probabilityOffset + 3 * j;
+      int v = valueOffset + j;
+      result[resultOffset + j] = discountFactor * (transitionProbability[p + 2] * value[v + 2] +
+          transitionProbability[p + 1] * value[v + 1] + transitionProbability[p] * value[v]);
+    }
+  }
+
   //------------------------- AUTOGENERATED START -------------------------
   /**
    * The meta-bean for {@code EuropeanVanillaOptionFunction}.
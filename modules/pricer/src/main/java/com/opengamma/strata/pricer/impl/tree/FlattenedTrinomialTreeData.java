@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.tree;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.pricer.fxopt.RecombiningTrinomialTreeData;
+
+/**
+ * Recombining trinomial tree data in flattened primitive storage.
+ * <p>
+ * The {@code i}-th time layer has {@code 2 * i + 1} nodes, thus the layers before it hold {@code i * i} nodes.
+ * The state value of the {@code j}-th lowest node of the {@code i}-th layer is stored at {@code i * i + j}
+ * and its down, middle and up probabilities at {@code 3 * (i * i + j)}, plus 0, 1 and 2 respectively.
+ * <p>
+ * An instance is created once by each {@link RecombiningTrinomialTreeData}, and is shared by all
+ * the backward sweeps of {@link TrinomialTree} on that tree.
+ */
+public final class FlattenedTrinomialTreeData {
+
+  /**
+   * The number of time steps.
+   */
+  private final int numberOfSteps;
+  /**
+   * The state values of all the layers.
+   */
+  private final double[] stateValue;
+  /**
+   * The transition probabilities of all the layers but the last.
+   */
+  private final double[] transitionProbability;
+  /**
+   * The discount factors between consecutive layers.
+   */
+  private final double[] discountFactor;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the flattened form of the tree data.
+   *
+   * @param data  the trinomial tree data
+   * @return the flattened tree data
+   */
+  public static FlattenedTrinomialTreeData of(RecombiningTrinomialTreeData data) {
+    return new FlattenedTrinomialTreeData(data);
+  }
+
+  // creates an instance
+  private FlattenedTrinomialTreeData(RecombiningTrinomialTreeData data) {
+    int nSteps = data.getNumberOfSteps();
+    this.numberOfSteps = nSteps;
+    this.stateValue = new double[(nSteps + 1) * (nSteps + 1)];
+    this.transitionProbability = new double[3 * nSteps * nSteps];
+    this.discountFactor = new double[nSteps];
+    for (int i = 0; i <= nSteps; ++i) {
+      DoubleArray layer = data.getStateValueAtLayer(i);
+      System.arraycopy(layer.toArrayUnsafe(), 0, stateValue, i * i, 2 * i + 1);
+    }
+    for (int i = 0; i < nSteps; ++i) {
+      DoubleMatrix probability = data.getProbabilityAtLayer(i);
+      int offset = 3 * i * i;
+      for (int j = 0; j < 2 * i + 1; ++j) {
+        transitionProbability[offset + 3 * j] = probability.get(j, 0);
+        transitionProbability[offset + 3 * j + 1] = probability.get(j, 1);
+        transitionProbability[offset + 3 * j + 2] = probability.get(j, 2);
+      }
+      discountFactor[i] = data.getDiscountFactorAtLayer(i);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of time steps.
+   *
+   * @return the number of time steps
+   */
+  int getNumberOfSteps() {
+    return numberOfSteps;
+  }
+
+  /**
+   * Gets the state values of all the layers.
+   * <p>
+   * The array is returned without copying and must not be modified.
+   *
+   * @return the state values
+   */
+  double[] getStateValue() {
+    return stateValue;
+  }
+
+  /**
+   * Gets the transition probabilities of all the layers.
+   * <p>
+   * The array is returned without copying and must not be modified.
+   *
+   * @return the transition probabilities
+   */
+  double[] getTransitionProbability() {
+    return transitionProbability;
+  }
+
+  /**
+   * Gets the discount factor between the {@code i}-th layer to the {@code (i+1)}-th layer.
+   *
+   * @param i  the layer
+   * @return the discount factor
+   */
+  double getDiscountFactorAtLayer(int i) {
+    return discountFactor[i];
+  }
+
+  /**
+   * Gets the offset of the {@code i}-th layer in the state values.
+   * <p>
+   * The offset in the transition probabilities is three times this value.
+   *
+   * @param i  the layer
+   * @return the offset
+   */
+  static int layerOffset(int i) {
+    return i * i;
+  }
+
+}
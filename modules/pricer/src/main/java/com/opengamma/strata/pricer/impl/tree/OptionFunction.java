@@ -131,4 +131,80 @@ public interface OptionFunction {
         transitionProbability.get(j, 1) * value.get(j + 1) + transitionProbability.get(j, 0) * value.get(j)));
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Computes payoff at expiry for trinomial tree, writing into an existing array.
+   * <p>
+   * This is the equivalent of {@link #getPayoffAtExpiryTrinomial(DoubleArray)} on flattened storage.
+   * The state values at the final layer are the {@code 2 * n + 1} elements of {@code stateValue}
+   * starting at {@code stateOffset}, where {@code n} is the number of steps.
+   * <p>
+   * The default implementation delegates to {@link #getPayoffAtExpiryTrinomial(DoubleArray)}.
+   * Implementations should override this to avoid allocation.
+   * 
+   * @param stateValue  the state values
+   * @param stateOffset  the offset of the final layer in the state values
+   * @param values  the array to receive the payoff at expiry
+   * @param valuesOffset  the offset at which the payoff is written
+   */
+  public default void getPayoffAtExpiryTrinomial(
+      double[] stateValue,
+      int stateOffset,
+      double[] values,
+      int valuesOffset) {
+
+    int nNodes = 2 * getNumberOfSteps() + 1;
+    DoubleArray payoff = getPayoffAtExpiryTrinomial(
+        DoubleArray.ofUnsafe(Arrays.copyOfRange(stateValue, stateOffset, stateOffset + nNodes)));
+    System.arraycopy(payoff.toArrayUnsafe(), 0, values, valuesOffset, nNodes);
+  }
+
+  /**
+   * Computes the option values in the intermediate nodes, writing into an existing array.
+   * <p>
+   * This is the equivalent of {@link #getNextOptionValues(double, DoubleMatrix, DoubleArray, DoubleArray, int)}
+   * on flattened storage. The down, middle and up probabilities of the j-th lowest node are the elements of
+   * {@code transitionProbability} at {@code probabilityOffset + 3 * j}, plus 0, 1 and 2 respectively.
+   * The {@code 2 * i + 1} state values, the {@code 2 * i + 3} option values in the (i+1)-th layer and the
+   * {@code 2 * i + 1} resulting option values are located by their offsets in the same way.
+   * <p>
+   * The default implementation delegates to
+   * {@link #getNextOptionValues(double, DoubleMatrix, DoubleArray, DoubleArray, int)}.
+   * Implementations should override this to avoid allocation.
+   * 
+   * @param discountFactor  the discount factor between the two layers
+   * @param transitionProbability  the transition probabilities
+   * @param probabilityOffset  the offset of the i-th layer in the transition probabilities
+   * @param stateValue  the state values
+   * @param stateOffset  the offset of the i-th layer in the state values
+   * @param value  the option values
+   * @param valueOffset  the offset of the (i+1)-th layer in the option values
+   * @param result  the array to receive the option values in the i-th layer
+   * @param resultOffset  the offset at which the option values in the i-th layer are written
+   * @param i  the step number for which the next option values are computed
+   */
+  public default void getNextOptionValues(
+      double discountFactor,
+      double[] transitionProbability,
+      int probabilityOffset,
+      double[] stateValue,
+      int stateOffset,
+      double[] value,
+      int valueOffset,
+      double[] result,
+      int resultOffset,
+      int i) {
+
+    int nNodes = 2 * i + 1;
+    DoubleMatrix probability = DoubleMatrix.of(
+        nNodes, 3, (j, k) -> transitionProbability[probabilityOffset + 3 * j + k]);
+    DoubleArray next = getNextOptionValues(
+        discountFactor,
+        probability,
+        DoubleArray.ofUnsafe(Arrays.copyOfRange(stateValue, stateOffset, stateOffset + nNodes)),
+        DoubleArray.ofUnsafe(Arrays.copyOfRange(value, valueOffset, valueOffset + nNodes + 2)),
+        i);
+    System.arraycopy(next.toArrayUnsafe(), 0, result, resultOffset, nNodes);
+  }
+
 }
@@ -61,32 +61,38 @@ abstract class SingleBarrierKnockoutFunction implements OptionFunction {
 
   @Override
   public DoubleArray getPayoffAtExpiryTrinomial(DoubleArray stateValue) {
+    double[] values = new double[stateValue.size()];
+    getPayoffAtExpiryTrinomial(stateValue.toArrayUnsafe(), 0, values, 0);
+    return DoubleArray.ofUnsafe(values);
+  }
 
-    int nNodes = stateValue.size();
-    double[] values = new double[nNodes];
+  @Override
+  public void getPayoffAtExpiryTrinomial(double[] stateValue, int stateOffset, double[] values, int valuesOffset) {
+    int nNodes = 2 * getNumberOfSteps() + 1;
     double rebate = getRebate(getNumberOfSteps());
     double barrierLevel = getBarrierLevel(getNumberOfSteps());
     boolean isDown = getBarrierType().isDown();
-    Arrays.fill(values, rebate);
-    int index = getLowerBoundIndex(stateValue, barrierLevel);
+    Arrays.fill(values, valuesOffset, valuesOffset + nNodes, rebate);
+    int index = getLowerBoundIndex(stateValue, stateOffset, nNodes, barrierLevel);
     ArgChecker.isTrue(index > -1 && index < nNodes - 1, "barrier is covered by tree");
     int iMin = isDown ? index + 1 : 0;
     int iMmax = !isDown ? index + 1 : nNodes;
     for (int i = iMin; i < iMmax; ++i) {
-      values[i] = Math.max(getSign() * (stateValue.get(i) - getStrike()), 0d);
+      values[valuesOffset + i] = Math.max(getSign() * (stateValue[stateOffset + i] - getStrike()), 0d);
     }
     // modification if barrier lies between two consecutive nodes 
-    double bd = barrierLevel - stateValue.get(index);
-    double ub = stateValue.get(index + 1) - barrierLevel;
-    double ud = stateValue.get(index + 1) - stateValue.get(index);
+    double bd = barrierLevel - stateValue[stateOffset + index];
+    double ub = stateValue[stateOffset + index + 1] - barrierLevel;
+    double ud = stateValue[stateOffset + index + 1] - stateValue[stateOffset + index];
     if (isDown) {
-      values[index + 1] = 0.5 * values[index + 1] + 0.5 * (bd * rebate + ub * values[index + 1]) / ud;
+      int k = valuesOffset + index + 1;
+      values[k] = 0.5 * values[k] + 0.5 * (bd * rebate + ub * values[k]) / ud;
     } else {
-      values[index] = barrierLevel == stateValue.get(index) ?
+      int k = valuesOffset + index;
+      values[k] = barrierLevel == stateValue[stateOffset + index] ?
           rebate :
-          0.5 * values[index] + 0.5 * (ub * rebate + bd * values[index]) / ud;
+          0.5 * values[k] + 0.5 * (ub * rebate + bd * values[k]) / ud;
     }
-    return DoubleArray.ofUnsafe(values);
   }
 
   @Override
@@ -98,56 +104,82 @@ abstract class SingleBarrierKnockoutFunction implements OptionFunction {
       int i) {
 
     int nNodes = 2 * i + 1;
+    double[] probability = new double[3 * nNodes];
+    for (int j = 0; j < nNodes; ++j) {
+      probability[3 * j] = transitionProbability.get(j, 0);
+      probability[3 * j + 1] = transitionProbability.get(j, 1);
+      probability[3 * j + 2] = transitionProbability.get(j, 2);
+    }
     double[] res = new double[nNodes];
+    getNextOptionValues(
+        discountFactor, probability, 0, stateValue.toArrayUnsafe(), 0, values.toArrayUnsafe(), 0, res, 0, i);
+    return DoubleArray.ofUnsafe(res);
+  }
+
+  @Override
+  public void getNextOptionValues(
+      double discountFactor,
+      double[] transitionProbability,
+      int probabilityOffset,
+      double[] stateValue,
+      int stateOffset,
+      double[] value,
+      int valueOffset,
+      double[] result,
+      int resultOffset,
+      int i) {
+
+    int nNodes = 2 * i + 1;
     double barrierLevel = getBarrierLevel(i);
     double rebate = getRebate(i);
     boolean isDown = getBarrierType().isDown();
     for (int j = 0; j < nNodes; ++j) {
-      if ((isDown && stateValue.get(j) <= barrierLevel) ||
-          (!isDown && stateValue.get(j) >= barrierLevel)) {
-        res[j] = rebate;
+      double state = stateValue[stateOffset + j];
+      if ((isDown && state <= barrierLevel) || (!isDown && state >= barrierLevel)) {
+        result[resultOffset + j] = rebate;
       } else {
-        double upProb = transitionProbability.get(j, 2);
-        double middleProb = transitionProbability.get(j, 1);
-        double downProb = transitionProbability.get(j, 0);
-        res[j] = discountFactor *
-            (upProb * values.get(j + 2) + middleProb * values.get(j + 1) + downProb * values.get(j));
+        int p = probabilityOffset + 3 * j;
+        int v = valueOffset + j;
+        double upProb = transitionProbability[p + 2];
+        double middleProb = transitionProbability[p + 1];
+        double downProb = transitionProbability[p];
+        result[resultOffset + j] = discountFactor *
+            (upProb * value[v + 2] + middleProb * value[v + 1] + downProb * value[v]);
       }
     }
     // modification if barrier lies between two consecutive nodes 
-    int index = getLowerBoundIndex(stateValue, barrierLevel);
+    int index = getLowerBoundIndex(stateValue, stateOffset, nNodes, barrierLevel);
     if (index > -1 && index < nNodes - 1) {
-      double bd = barrierLevel - stateValue.get(index);
-      double ub = stateValue.get(index + 1) - barrierLevel;
-      double ud = stateValue.get(index + 1) - stateValue.get(index);
+      double bd = barrierLevel - stateValue[stateOffset + index];
+      double ub = stateValue[stateOffset + index + 1] - barrierLevel;
+      double ud = stateValue[stateOffset + index + 1] - stateValue[stateOffset + index];
       if (isDown) {
-        res[index + 1] = 0.5 * res[index + 1] + 0.5 * (bd * rebate + ub * res[index + 1]) / ud;
+        int k = resultOffset + index + 1;
+        result[k] = 0.5 * result[k] + 0.5 * (bd * rebate + ub * result[k]) / ud;
       } else {
-        res[index] = 0.5 * res[index] + 0.5 * (ub * rebate + bd * res[index]) / ud;
+        int k = resultOffset + index;
+        result[k] = 0.5 * result[k] + 0.5 * (ub * rebate + bd * result[k]) / ud;
       }
     }
-    return DoubleArray.ofUnsafe(res);
   }
 
   //-------------------------------------------------------------------------
-  private int getLowerBoundIndex(DoubleArray set, double value) {
-    int n = set.size();
-    if (value < set.get(0)) {
+  // the index of the largest element not above the value, relative to the offset
+  private int getLowerBoundIndex(double[] set, int offset, int n, double value) {
+    if (value < set[offset]) {
       return -1;
     }
-    if (value > set.get(n - 1)) {
+    if (value > set[offset + n - 1]) {
       return n - 1;
     }
-    int index = Arrays.binarySearch(set.toArrayUnsafe(), value);
+    int index = Arrays.binarySearch(set, offset, offset + n, value);
     if (index >= 0) {
       // Fast break out if it's an exact match.
-      return index;
-    }
-    if (index < 0) {
-      index = -(index + 1);
-      index--;
+      return index - offset;
     }
-    if (value == -0. && index < n - 1 && set.get(index + 1) == 0.) {
+    index = -(index + 1) - offset;
+    index--;
+    if (value == -0. && index < n - 1 && set[offset + index + 1] == 0.) {
       ++index;
     }
     return index;
@@ -5,6 +5,9 @@
  */
 package com.opengamma.strata.pricer.impl.tree;
 
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
@@ -17,9 +20,20 @@ import com.opengamma.strata.pricer.fxopt.RecombiningTrinomialTreeData;
  * and the option to price is specified by {@code OptionFunction}. 
  * <p>
  * Option pricing with non-uniform tree is realised by specifying {@code RecombiningTrinomialTreeData}.
+ * The tree data is then rolled back in its flattened primitive storage, using option value arrays reused
+ * by each thread, and several options sharing the same tree can be priced in a single backward sweep.
  */
 public class TrinomialTree {
 
+  /**
+   * The maximum size of the option value arrays retained by the workspace of a thread.
+   */
+  private static final int MAX_RETAINED_SIZE = 1 << 16;
+  /**
+   * The workspace of each thread.
+   */
+  private static final ThreadLocal<Workspace> WORKSPACE = ThreadLocal.withInitial(Workspace::new);
+
   /**
    * Price an option under the specified trinomial lattice.
    * <p>
@@ -76,14 +90,9 @@ public class TrinomialTree {
       OptionFunction function,
       RecombiningTrinomialTreeData data) {
 
-    int nSteps = data.getNumberOfSteps();
-    ArgChecker.isTrue(nSteps == function.getNumberOfSteps(), "mismatch in number of steps");
-    DoubleArray values = function.getPayoffAtExpiryTrinomial(data.getStateValueAtLayer(nSteps));
-    for (int i = nSteps - 1; i > -1; --i) {
-      values = function.getNextOptionValues(
-          data.getDiscountFactorAtLayer(i), data.getProbabilityAtLayer(i), data.getStateValueAtLayer(i), values, i);
-    }
-    return values.get(0);
+    double[] prices = new double[1];
+    backwardSweep(ImmutableList.of(function), data, prices, null);
+    return prices[0];
   }
 
   /**
@@ -100,21 +109,141 @@ public class TrinomialTree {
       OptionFunction function,
       RecombiningTrinomialTreeData data) {
 
+    double[] prices = new double[1];
+    double[] deltas = new double[1];
+    backwardSweep(ImmutableList.of(function), data, prices, deltas);
+    return ValueDerivatives.of(prices[0], DoubleArray.of(deltas[0]));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Price several options under the same trinomial tree gird.
+   * <p>
+   * The options are priced together in a single backward sweep of the tree.
+   * The result is the same as calling {@link #optionPrice(OptionFunction, RecombiningTrinomialTreeData)}
+   * for each option.
+   * 
+   * @param functions  the options
+   * @param data  the trinomial tree data
+   * @return the option prices, in the order of the options
+   */
+  public DoubleArray optionPrices(
+      List<? extends OptionFunction> functions,
+      RecombiningTrinomialTreeData data) {
+
+    double[] prices = new double[functions.size()];
+    backwardSweep(functions, data, prices, null);
+    return DoubleArray.ofUnsafe(prices);
+  }
+
+  /**
+   * Compute option prices and deltas of several options under the same trinomial tree gird.
+   * <p>
+   * The options are priced together in a single backward sweep of the tree.
+   * The result is the same as calling {@link #optionPriceAdjoint(OptionFunction, RecombiningTrinomialTreeData)}
+   * for each option.
+   * 
+   * @param functions  the options
+   * @param data  the trinomial tree data
+   * @return the option prices and spot deltas, in the order of the options
+   */
+  public List<ValueDerivatives> optionPriceAdjoints(
+      List<? extends OptionFunction> functions,
+      RecombiningTrinomialTreeData data) {
+
+    int nFunctions = functions.size();
+    double[] prices = new double[nFunctions];
+    double[] deltas = new double[nFunctions];
+    backwardSweep(functions, data, prices, deltas);
+    ImmutableList.Builder<ValueDerivatives> builder = ImmutableList.builder();
+    for (int k = 0; k < nFunctions; ++k) {
+      builder.add(ValueDerivatives.of(prices[k], DoubleArray.of(deltas[k])));
+    }
+    return builder.build();
+  }
+
+  //-------------------------------------------------------------------------
+  // rolls the options back through the flattened tree, using the workspace of the current thread
+  // the option values of the k-th option are stored in the block starting at k * (2 * nSteps + 1)
+  private void backwardSweep(
+      List<? extends OptionFunction> functions,
+      RecombiningTrinomialTreeData data,
+      double[] prices,
+      double[] deltas) {
+
     int nSteps = data.getNumberOfSteps();
-    ArgChecker.isTrue(nSteps == function.getNumberOfSteps(), "mismatch in number of steps");
-    DoubleArray values = function.getPayoffAtExpiryTrinomial(data.getStateValueAtLayer(nSteps));
-    double delta = 0d;
+    for (OptionFunction function : functions) {
+      ArgChecker.isTrue(nSteps == function.getNumberOfSteps(), "mismatch in number of steps");
+    }
+    FlattenedTrinomialTreeData flattened = data.getFlattenedData();
+    double[] stateValue = flattened.getStateValue();
+    double[] probability = flattened.getTransitionProbability();
+    int nFunctions = functions.size();
+    int width = 2 * nSteps + 1;
+    Workspace workspace = WORKSPACE.get();
+    double[] values = workspace.values(nFunctions * width);
+    double[] next = workspace.next(nFunctions * width);
+    int finalOffset = FlattenedTrinomialTreeData.layerOffset(nSteps);
+    for (int k = 0; k < nFunctions; ++k) {
+      functions.get(k).getPayoffAtExpiryTrinomial(stateValue, finalOffset, values, k * width);
+    }
     for (int i = nSteps - 1; i > -1; --i) {
-      values = function.getNextOptionValues(
-          data.getDiscountFactorAtLayer(i), data.getProbabilityAtLayer(i), data.getStateValueAtLayer(i), values, i);
-      if (i == 1) {
-        DoubleArray stateValue = data.getStateValueAtLayer(1);
-        double d1 = (values.get(2) - values.get(1)) / (stateValue.get(2) - stateValue.get(1));
-        double d2 = (values.get(1) - values.get(0)) / (stateValue.get(1) - stateValue.get(0));
-        delta = 0.5 * (d1 + d2);
+      double discountFactor = flattened.getDiscountFactorAtLayer(i);
+      int offset = FlattenedTrinomialTreeData.layerOffset(i);
+      for (int k = 0; k < nFunctions; ++k) {
+        functions.get(k).getNextOptionValues(
+            discountFactor, probability, 3 * offset, stateValue, offset, values, k * width, next, k * width, i);
+      }
+      double[] swap = values;
+      values = next;
+      next = swap;
+      if (i == 1 && deltas != null) {
+        for (int k = 0; k < nFunctions; ++k) {
+          int v = k * width;
+          double d1 = (values[v + 2] - values[v + 1]) / (stateValue[offset + 2] - stateValue[offset + 1]);
+          double d2 = (values[v + 1] - values[v]) / (stateValue[offset + 1] - stateValue[offset]);
+          deltas[k] = 0.5 * (d1 + d2);
+        }
+      }
+    }
+    for (int k = 0; k < nFunctions; ++k) {
+      prices[k] = values[k * width];
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The reusable option value arrays of a thread.
+   * <p>
+   * The arrays grow, so that repeated valuations with the same tree size do not allocate.
+   * An array larger than {@link #MAX_RETAINED_SIZE} is allocated for the sweep only and is not retained,
+   * so that the memory held by each thread is bounded.
+   */
+  private static final class Workspace {
+    private double[] values = new double[0];
+    private double[] next = new double[0];
+
+    private double[] values(int size) {
+      if (values.length >= size) {
+        return values;
+      }
+      double[] array = new double[size];
+      if (size <= MAX_RETAINED_SIZE) {
+        values = array;
+      }
+      return array;
+    }
+
+    private double[] next(int size) {
+      if (next.length >= size) {
+        return next;
+      }
+      double[] array = new double[size];
+      if (size <= MAX_RETAINED_SIZE) {
+        next = array;
       }
+      return array;
     }
-    return ValueDerivatives.of(values.get(0), DoubleArray.of(delta));
   }
 
 }
@@ -80,6 +80,54 @@ public final class SabrHaganVolatilityFunctionProvider
     ArgChecker.isTrue(forward > 0.0, "forward must be greater than zero");
     ArgChecker.isTrue(strike >= 0.0, "strike must be greater than zero");
     ArgChecker.isTrue(timeToExpiry >= 0.0, "timeToExpiry must be greater than zero");
+    return volatilityCore(forward, strike, timeToExpiry, alpha, beta, rho, nu);
+  }
+
+  /**
+   * Computes the implied volatility in the SABR model for several strikes.
+   * <p>
+   * The inputs which do not depend on the strike are validated once.
+   * The result is the same as calling {@link #volatility(double, double, double, double, double, double, double)}
+   * for each strike.
+   * 
+   * @param forward  the forward value of the underlying
+   * @param strikes  the strike values of the options
+   * @param timeToExpiry  the time to expiry of the options
+   * @param alpha  the SABR alpha value
+   * @param beta  the SABR beta value
+   * @param rho  the SABR rho value
+   * @param nu  the SABR nu value
+   * @param volatilities  the array used to return the volatilities, of the same size as the strikes
+   */
+  @Override
+  public void volatility(
+      double forward,
+      double[] strikes,
+      double timeToExpiry,
+      double alpha,
+      double beta,
+      double rho,
+      double nu,
+      double[] volatilities) {
+
+    ArgChecker.isTrue(forward > 0.0, "forward must be greater than zero");
+    ArgChecker.isTrue(timeToExpiry >= 0.0, "timeToExpiry must be greater than zero");
+    ArgChecker.isTrue(volatilities.length == strikes.length, "volatilities not the same length as strikes");
+    for (int i = 0; i < strikes.length; i++) {
+      ArgChecker.isTrue(strikes[i] >= 0.0, "strike must be greater than zero");
+      volatilities[i] = volatilityCore(forward, strikes[i], timeToExpiry, alpha, beta, rho, nu);
+    }
+  }
+
+  // the volatility for a single strike, the inputs being validated
+  private double volatilityCore(
+      double forward,
+      double strike,
+      double timeToExpiry,
+      double alpha,
+      double beta,
+      double rho,
+      double nu) {
 
     if (alpha == 0.0) {
       return 0.0;
@@ -132,6 +180,19 @@ public final class SabrHaganVolatilityFunctionProvider
     return Math.max(MIN_VOL, vol);
   }
 
+  @Override
+  public void volatility(
+      double forward,
+      double[] strikes,
+      double timeToExpiry,
+      SabrFormulaData data,
+      double[] volatilities) {
+
+    ArgChecker.notNull(data, "data");
+    volatility(
+        forward, strikes, timeToExpiry, data.getAlpha(), data.getBeta(), data.getRho(), data.getNu(), volatilities);
+  }
+
   /**
    * Computes the implied volatility in the SABR model and its derivatives.
    * <p>
@@ -161,6 +222,20 @@ public final class SabrHaganVolatilityFunctionProvider
     return volatilityAdjoint(forward, strike, timeToExpiry, alpha, beta, rho, nu);
   }
 
+  @Override
+  public void volatilityAdjoint(
+      double forward,
+      double[] strikes,
+      double timeToExpiry,
+      SabrFormulaData data,
+      double[] volatilities,
+      double[] derivatives) {
+
+    ArgChecker.notNull(data, "data");
+    volatilityAdjoint(forward, strikes, timeToExpiry, data.getAlpha(), data.getBeta(), data.getRho(), data.getNu(),
+        volatilities, derivatives);
+  }
+
   /**
    * Computes the implied volatility in the SABR model and its derivatives.
    * <p>
@@ -196,6 +271,73 @@ public final class SabrHaganVolatilityFunctionProvider
     ArgChecker.isTrue(forward > 0.0, "forward must be greater than zero");
     ArgChecker.isTrue(strike >= 0.0, "strike must be greater than zero");
     ArgChecker.isTrue(timeToExpiry >= 0.0, "timeToExpiry must be greater than zero");
+    double betaStar = 1 - beta;
+    double[] derivatives = new double[6];
+    double volatility = volatilityAdjointCore(forward, strike, timeToExpiry, alpha, beta, rho, nu,
+        Math.pow(betaStar, 3), Math.pow(betaStar, 4), derivatives, 0);
+    return ValueDerivatives.of(volatility, DoubleArray.ofUnsafe(derivatives));
+  }
+
+  /**
+   * Computes the implied volatility in the SABR model and its derivatives for several strikes.
+   * <p>
+   * The derivatives of the volatility for the strike {@code i} are stored in the array at {@code 6 * i + j},
+   * with {@code j} following the order of {@link #volatilityAdjoint(double, double, double, SabrFormulaData)}.
+   * <p>
+   * The terms which do not depend on the strike are computed once and no object is allocated.
+   * The result is the same as calling
+   * {@link #volatilityAdjoint(double, double, double, double, double, double, double)} for each strike.
+   * 
+   * @param forward  the forward value of the underlying
+   * @param strikes  the strike values of the options
+   * @param timeToExpiry  the time to expiry of the options
+   * @param alpha  the SABR alpha value
+   * @param beta  the SABR beta value
+   * @param rho  the SABR rho value
+   * @param nu  the SABR nu value
+   * @param volatilities  the array used to return the volatilities, of the same size as the strikes
+   * @param derivatives  the array used to return the derivatives, of six times the size of the strikes
+   */
+  @Override
+  public void volatilityAdjoint(
+      double forward,
+      double[] strikes,
+      double timeToExpiry,
+      double alpha,
+      double beta,
+      double rho,
+      double nu,
+      double[] volatilities,
+      double[] derivatives) {
+
+    ArgChecker.isTrue(forward > 0.0, "forward must be greater than zero");
+    ArgChecker.isTrue(timeToExpiry >= 0.0, "timeToExpiry must be greater than zero");
+    ArgChecker.isTrue(volatilities.length == strikes.length, "volatilities not the same length as strikes");
+    ArgChecker.isTrue(derivatives.length == 6 * strikes.length, "derivatives not six times the length of strikes");
+    double betaStar = 1 - beta;
+    double betaStar3 = Math.pow(betaStar, 3);
+    double betaStar4 = Math.pow(betaStar, 4);
+    for (int i = 0; i < strikes.length; i++) {
+      ArgChecker.isTrue(strikes[i] >= 0.0, "strike must be greater than zero");
+      volatilities[i] = volatilityAdjointCore(
+          forward, strikes[i], timeToExpiry, alpha, beta, rho, nu, betaStar3, betaStar4, derivatives, 6 * i);
+    }
+  }
+
+  // the volatility and derivatives for a single strike, the strike independent terms being provided
+  private double volatilityAdjointCore(
+      double forward,
+      double strike,
+      double timeToExpiry,
+      double alpha,
+      double beta,
+      double rho,
+      double nu,
+      double betaStar3,
+      double betaStar4,
+      double[] derivatives,
+      int offset) {
+
     double cutoff = forward * CUTOFF_MONEYNESS;
     double k = strike;
     if (k < cutoff) {
@@ -216,7 +358,13 @@ public final class SabrHaganVolatilityFunctionProvider
         // so we return an arbitrary large number
         alphaBar = 1e7;
       }
-      return ValueDerivatives.of(0d, DoubleArray.of(0, 0, alphaBar, 0, 0, 0));
+      derivatives[offset] = 0d;
+      derivatives[offset + 1] = 0d;
+      derivatives[offset + 2] = alphaBar;
+      derivatives[offset + 3] = 0d;
+      derivatives[offset + 4] = 0d;
+      derivatives[offset + 5] = 0d;
+      return 0d;
     }
 
     // Implementation note: Forward sweep.
@@ -252,7 +400,7 @@ public final class SabrHaganVolatilityFunctionProvider
         }
       }
     }
-    double sf1 = sfK * (1 + betaStar * betaStar / 24 * (lnrfK * lnrfK) + Math.pow(betaStar, 4) / 1920 * Math.pow(lnrfK, 4));
+    double sf1 = sfK * (1 + betaStar * betaStar / 24 * (lnrfK * lnrfK) + betaStar4 / 1920 * Math.pow(lnrfK, 4));
     double sf2 = (1 + (Math.pow(betaStar * alpha / sfK, 2) / 24 + (rho * beta * nu * alpha) /
         (4 * sfK) + (2 - 3 * rho * rho) * nu * nu / 24) * timeToExpiry);
     double volatility = Math.max(MIN_VOL, alpha / sf1 * rzxz * sf2);
@@ -287,7 +435,7 @@ public final class SabrHaganVolatilityFunctionProvider
       }
     }
 
-    double lnrfKBar = sfK * (betaStar * betaStar / 12 * lnrfK + Math.pow(betaStar, 4) / 1920 * 4 * Math.pow(lnrfK, 3)) * sf1Bar +
+    double lnrfKBar = sfK * (betaStar * betaStar / 12 * lnrfK + betaStar4 / 1920 * 4 * Math.pow(lnrfK, 3)) * sf1Bar +
         nu / alpha * sfK * zBar;
     double sfKBar = nu / alpha * lnrfK * zBar + sf1 / sfK * sf1Bar -
         (Math.pow(betaStar * alpha, 2) / Math.pow(sfK, 3) / 12 + (rho * beta * nu * alpha) / 4 / (sfK * sfK)) * timeToExpiry *
@@ -323,10 +471,16 @@ public final class SabrHaganVolatilityFunctionProvider
         ((betaStar * alpha / sfK) * (betaStar / sfK) / 12 + (rho * beta * nu) / (4 * sfK)) * timeToExpiry * sf2Bar +
         1 / sf1 * rzxz * sf2 * vBar;
     double betaBar = -0.5 * Math.log(forward * k) * sfK * sfKBar - sfK *
-        (betaStar / 12 * (lnrfK * lnrfK) + Math.pow(betaStar, 3) / 480 * Math.pow(lnrfK, 4)) * sf1Bar +
+        (betaStar / 12 * (lnrfK * lnrfK) + betaStar3 / 480 * Math.pow(lnrfK, 4)) * sf1Bar +
         (-betaStar * alpha * alpha / sfK / sfK / 12 + rho * nu * alpha / 4 / sfK) * timeToExpiry * sf2Bar;
 
-    return ValueDerivatives.of(volatility, DoubleArray.of(forwardBar, strikeBar, alphaBar, betaBar, rhoBar, nuBar));
+    derivatives[offset] = forwardBar;
+    derivatives[offset + 1] = strikeBar;
+    derivatives[offset + 2] = alphaBar;
+    derivatives[offset + 3] = betaBar;
+    derivatives[offset + 4] = rhoBar;
+    derivatives[offset + 5] = nuBar;
+    return volatility;
   }
 
   /**
@@ -81,22 +81,19 @@ public abstract class SmileModelFitter<T extends SmileModelData> {
       public DoubleArray apply(DoubleArray x) {
         final T data = toSmileModelData(x);
         double[] res = new double[n];
-        for (int i = 0; i < n; ++i) {
-          res[i] = model.volatility(forward, strikes.get(i), timeToExpiry, data);
-        }
-        return DoubleArray.copyOf(res);
+        model.volatility(forward, strikes.toArrayUnsafe(), timeToExpiry, data, res);
+        return DoubleArray.ofUnsafe(res);
       }
     };
     this.volAdjointFunc = new Function<DoubleArray, DoubleMatrix>() {
       @Override
       public DoubleMatrix apply(DoubleArray x) {
         final T data = toSmileModelData(x);
-        double[][] resAdj = new double[n][];
-        for (int i = 0; i < n; ++i) {
-          DoubleArray deriv = model.volatilityAdjoint(forward, strikes.get(i), timeToExpiry, data).getDerivatives();
-          resAdj[i] = deriv.subArray(2).toArrayUnsafe();
-        }
-        return DoubleMatrix.copyOf(resAdj);
+        int nParams = data.getNumberOfParameters();
+        double[] vols = new double[n];
+        double[] derivs = new double[n * (2 + nParams)];
+        model.volatilityAdjoint(forward, strikes.toArrayUnsafe(), timeToExpiry, data, vols, derivs);
+        return DoubleMatrix.of(n, nParams, (i, j) -> derivs[i * (2 + nParams) + 2 + j]);
       }
     };
   }
@@ -56,6 +56,58 @@ public abstract class VolatilityFunctionProvider<T extends SmileModelData> {
     return ValueDerivatives.of(volatility, DoubleArray.ofUnsafe(res));
   }
 
+  /**
+   * Calculates the volatility for several strikes.
+   * <p>
+   * By default this calls {@link #volatility(double, double, double, SmileModelData)} for each strike.
+   * 
+   * @param forward  the forward value of the underlying
+   * @param strikes  the strike values of the options
+   * @param timeToExpiry  the time to expiry of the options
+   * @param data  the model data
+   * @param volatilities  the array used to return the volatilities, of the same size as the strikes
+   */
+  public void volatility(double forward, double[] strikes, double timeToExpiry, T data, double[] volatilities) {
+    ArgChecker.isTrue(volatilities.length == strikes.length, "volatilities not the same length as strikes");
+    for (int i = 0; i < strikes.length; i++) {
+      volatilities[i] = volatility(forward, strikes[i], timeToExpiry, data);
+    }
+  }
+
+  /**
+   * Calculates volatility and the adjoint for several strikes.
+   * <p>
+   * The derivatives of the volatility for the strike {@code i} are stored in {@code derivatives} from
+   * {@code i * (2 + n)}, with {@code n} the number of model parameters, in the order of
+   * {@link #volatilityAdjoint(double, double, double, SmileModelData)}.
+   * <p>
+   * By default this calls {@link #volatilityAdjoint(double, double, double, SmileModelData)} for each strike.
+   * 
+   * @param forward  the forward value of the underlying
+   * @param strikes  the strike values of the options
+   * @param timeToExpiry  the time to expiry of the options
+   * @param data  the model data
+   * @param volatilities  the array used to return the volatilities, of the same size as the strikes
+   * @param derivatives  the array used to return the derivatives
+   */
+  public void volatilityAdjoint(
+      double forward,
+      double[] strikes,
+      double timeToExpiry,
+      T data,
+      double[] volatilities,
+      double[] derivatives) {
+
+    int nDerivatives = 2 + data.getNumberOfParameters();
+    ArgChecker.isTrue(volatilities.length == strikes.length, "volatilities not the same length as strikes");
+    ArgChecker.isTrue(derivatives.length == nDerivatives * strikes.length, "derivatives size mismatch");
+    for (int i = 0; i < strikes.length; i++) {
+      ValueDerivatives adjoint = volatilityAdjoint(forward, strikes[i], timeToExpiry, data);
+      volatilities[i] = adjoint.getValue();
+      adjoint.getDerivatives().copyInto(derivatives, nDerivatives * i);
+    }
+  }
+
   /**
    * Computes the first and second order derivatives of the volatility.
    * <p>
@@ -381,6 +381,70 @@ public final class SabrInterestRateParameters
     return sabrVolatilityFormula.volatilityAdjoint(forward + shift, strike + shift, expiry, alpha, beta, rho, nu);
   }
 
+  /**
+   * Calculates the volatilities for several strikes with the same expiry, tenor and forward rate.
+   * <p>
+   * The SABR parameters are interpolated once and the strikes are evaluated in one call to the formula.
+   * 
+   * @param expiry  the time to expiry as a year fraction
+   * @param tenor  the tenor of the instrument as a year fraction
+   * @param strikes  the strikes
+   * @param forward  the forward
+   * @param volatilities  the array used to return the volatilities, of the same size as the strikes
+   */
+  public void volatility(double expiry, double tenor, double[] strikes, double forward, double[] volatilities) {
+    double alpha = alpha(expiry, tenor);
+    double beta = beta(expiry, tenor);
+    double rho = rho(expiry, tenor);
+    double nu = nu(expiry, tenor);
+    double shift = shift(expiry, tenor);
+    sabrVolatilityFormula.volatility(
+        forward + shift, shiftedStrikes(strikes, shift), expiry, alpha, beta, rho, nu, volatilities);
+  }
+
+  /**
+   * Calculates the volatilities and associated sensitivities for several strikes with the same expiry, tenor
+   * and forward rate.
+   * <p>
+   * The six derivatives of the volatility for the strike {@code i} are stored in {@code derivatives}
+   * at {@code 6 * i + j}, in the same order as for a single strike.
+   * 
+   * @param expiry  the time to expiry as a year fraction
+   * @param tenor  the tenor of the instrument as a year fraction
+   * @param strikes  the strikes
+   * @param forward  the forward
+   * @param volatilities  the array used to return the volatilities, of the same size as the strikes
+   * @param derivatives  the array used to return the derivatives, of six times the size of the strikes
+   */
+  public void volatilityAdjoint(
+      double expiry,
+      double tenor,
+      double[] strikes,
+      double forward,
+      double[] volatilities,
+      double[] derivatives) {
+
+    double alpha = alpha(expiry, tenor);
+    double beta = beta(expiry, tenor);
+    double rho = rho(expiry, tenor);
+    double nu = nu(expiry, tenor);
+    double shift = shift(expiry, tenor);
+    sabrVolatilityFormula.volatilityAdjoint(
+        forward + shift, shiftedStrikes(strikes, shift), expiry, alpha, beta, rho, nu, volatilities, derivatives);
+  }
+
+  // the strikes with the shift applied
+  private static double[] shiftedStrikes(double[] strikes, double shift) {
+    if (shift == 0d) {
+      return strikes;
+    }
+    double[] shifted = new double[strikes.length];
+    for (int i = 0; i < strikes.length; i++) {
+      shifted[i] = strikes[i] + shift;
+    }
+    return shifted;
+  }
+
   //------------------------- AUTOGENERATED START -------------------------
   /**
    * The meta-bean for {@code SabrInterestRateParameters}.
@@ -6,6 +6,7 @@
 package com.opengamma.strata.pricer.model;
 
 import com.opengamma.strata.basics.value.ValueDerivatives;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.pricer.impl.volatility.smile.SabrHaganVolatilityFunctionProvider;
 
 /**
@@ -75,4 +76,77 @@ public interface SabrVolatilityFormula {
       double rho,
       double nu);
 
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the volatility for several strikes with the same forward, time to expiry and model parameters.
+   * <p>
+   * By default this calls {@link #volatility(double, double, double, double, double, double, double)}
+   * for each strike. Implementations may compute the terms that do not depend on the strike once.
+   * 
+   * @param forward  the forward value of the underlying
+   * @param strikes  the strike values of the options
+   * @param timeToExpiry  the time to expiry of the options
+   * @param alpha  the SABR alpha value
+   * @param beta  the SABR beta value
+   * @param rho  the SABR rho value
+   * @param nu  the SABR nu value
+   * @param volatilities  the array used to return the volatilities, of the same size as the strikes
+   */
+  public default void volatility(
+      double forward,
+      double[] strikes,
+      double timeToExpiry,
+      double alpha,
+      double beta,
+      double rho,
+      double nu,
+      double[] volatilities) {
+
+    ArgChecker.isTrue(volatilities.length == strikes.length, "volatilities not the same length as strikes");
+    for (int i = 0; i < strikes.length; i++) {
+      volatilities[i] = volatility(forward, strikes[i], timeToExpiry, alpha, beta, rho, nu);
+    }
+  }
+
+  /**
+   * Calculates the volatility and the adjoint for several strikes with the same forward, time to expiry
+   * and model parameters.
+   * <p>
+   * The six derivatives of the volatility for the strike {@code i} are stored in {@code derivatives}
+   * at {@code 6 * i + j}, in the same order as for a single strike.
+   * <p>
+   * By default this calls {@link #volatilityAdjoint(double, double, double, double, double, double, double)}
+   * for each strike. Implementations may compute the terms that do not depend on the strike once
+   * and avoid allocating the derivatives of each strike.
+   * 
+   * @param forward  the forward value of the underlying
+   * @param strikes  the strike values of the options
+   * @param timeToExpiry  the time to expiry of the options
+   * @param alpha  the SABR alpha value
+   * @param beta  the SABR beta value
+   * @param rho  the SABR rho value
+   * @param nu  the SABR nu value
+   * @param volatilities  the array used to return the volatilities, of the same size as the strikes
+   * @param derivatives  the array used to return the derivatives, of six times the size of the strikes
+   */
+  public default void volatilityAdjoint(
+      double forward,
+      double[] strikes,
+      double timeToExpiry,
+      double alpha,
+      double beta,
+      double rho,
+      double nu,
+      double[] volatilities,
+      double[] derivatives) {
+
+    ArgChecker.isTrue(volatilities.length == strikes.length, "volatilities not the same length as strikes");
+    ArgChecker.isTrue(derivatives.length == 6 * strikes.length, "derivatives not six times the length of strikes");
+    for (int i = 0; i < strikes.length; i++) {
+      ValueDerivatives adjoint = volatilityAdjoint(forward, strikes[i], timeToExpiry, alpha, beta, rho, nu);
+      volatilities[i] = adjoint.getValue();
+      adjoint.getDerivatives().copyInto(derivatives, 6 * i);
+    }
+  }
+
 }
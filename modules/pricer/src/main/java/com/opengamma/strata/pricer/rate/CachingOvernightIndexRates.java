@@ -0,0 +1,205 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.rate;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.date.HolidayCalendarId;
+import com.opengamma.strata.basics.index.OvernightIndex;
+import com.opengamma.strata.basics.index.OvernightIndexObservation;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.MarketDataName;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.ParameterMetadata;
+import com.opengamma.strata.market.param.ParameterPerturbation;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.impl.rate.CumulativeOvernightFixings;
+import com.opengamma.strata.product.rate.OvernightRateComputation;
+
+/**
+ * Overnight index rates that memoise the cumulative fixings of an underlying instance.
+ * <p>
+ * The cumulative fixings, see {@link CumulativeOvernightFixings}, are built from the time-series
+ * on first use and shared by all the computations with the same fixing calendar.
+ * All other methods delegate to the underlying rates.
+ * <p>
+ * The cache is scoped to the underlying instance. Methods that return modified rates,
+ * such as {@link #withPerturbation(ParameterPerturbation)}, return a new instance with an empty cache.
+ * <p>
+ * This class is thread-safe, the cache may be populated concurrently from several threads.
+ * It is not a bean and is not intended to be serialized, it is created on demand
+ * for a single valuation, typically by {@link CachingRatesProvider}.
+ */
+public final class CachingOvernightIndexRates
+    implements OvernightIndexRates {
+
+  /**
+   * The underlying rates.
+   */
+  private final OvernightIndexRates underlying;
+  /**
+   * The cumulative fixings, keyed by fixing calendar.
+   */
+  private final ConcurrentHashMap<HolidayCalendarId, CumulativeOvernightFixings> cumulativeFixings =
+      new ConcurrentHashMap<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance wrapping the underlying rates.
+   * <p>
+   * If the rates are already caching, they are returned unchanged.
+   *
+   * @param underlying  the underlying rates
+   * @return the caching rates
+   */
+  public static CachingOvernightIndexRates of(OvernightIndexRates underlying) {
+    ArgChecker.notNull(underlying, "underlying");
+    if (underlying instanceof CachingOvernightIndexRates) {
+      return (CachingOvernightIndexRates) underlying;
+    }
+    return new CachingOvernightIndexRates(underlying);
+  }
+
+  // creates an instance
+  private CachingOvernightIndexRates(OvernightIndexRates underlying) {
+    this.underlying = underlying;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the underlying rates.
+   *
+   * @return the underlying rates
+   */
+  public OvernightIndexRates getUnderlying() {
+    return underlying;
+  }
+
+  @Override
+  public OvernightIndex getIndex() {
+    return underlying.getIndex();
+  }
+
+  @Override
+  public LocalDate getValuationDate() {
+    return underlying.getValuationDate();
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries getFixings() {
+    return underlying.getFixings();
+  }
+
+  @Override
+  public <T> Optional<T> findData(MarketDataName<T> name) {
+    return underlying.findData(name);
+  }
+
+  @Override
+  public int getParameterCount() {
+    return underlying.getParameterCount();
+  }
+
+  @Override
+  public double getParameter(int parameterIndex) {
+    return underlying.getParameter(parameterIndex);
+  }
+
+  @Override
+  public ParameterMetadata getParameterMetadata(int parameterIndex) {
+    return underlying.getParameterMetadata(parameterIndex);
+  }
+
+  @Override
+  public CachingOvernightIndexRates withParameter(int parameterIndex, double newValue) {
+    return new CachingOvernightIndexRates(underlying.withParameter(parameterIndex, newValue));
+  }
+
+  @Override
+  public CachingOvernightIndexRates withPerturbation(ParameterPerturbation perturbation) {
+    return new CachingOvernightIndexRates(underlying.withPerturbation(perturbation));
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public double rate(OvernightIndexObservation observation) {
+    return underlying.rate(observation);
+  }
+
+  @Override
+  public double rateIgnoringFixings(OvernightIndexObservation observation) {
+    return underlying.rateIgnoringFixings(observation);
+  }
+
+  @Override
+  public PointSensitivityBuilder ratePointSensitivity(OvernightIndexObservation observation) {
+    return underlying.ratePointSensitivity(observation);
+  }
+
+  @Override
+  public PointSensitivityBuilder rateIgnoringFixingsPointSensitivity(OvernightIndexObservation observation) {
+    return underlying.rateIgnoringFixingsPointSensitivity(observation);
+  }
+
+  @Override
+  public double periodRate(OvernightIndexObservation startDateObservation, LocalDate endDate) {
+    return underlying.periodRate(startDateObservation, endDate);
+  }
+
+  @Override
+  public PointSensitivityBuilder periodRatePointSensitivity(
+      OvernightIndexObservation startDateObservation,
+      LocalDate endDate) {
+
+    return underlying.periodRatePointSensitivity(startDateObservation, endDate);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the cumulative fixings for an overnight rate computation.
+   * <p>
+   * The cumulative fixings are built from the time-series of the index on first use,
+   * and shared by all the computations with the same fixing calendar.
+   *
+   * @param computation  the overnight rate computation, on the index of these rates
+   * @return the cumulative fixings
+   */
+  @Override
+  public Optional<CumulativeOvernightFixings> cumulativeFixings(OvernightRateComputation computation) {
+    ArgChecker.isTrue(computation.getIndex().equals(getIndex()), "Computation must be on index {}", getIndex());
+    HolidayCalendarId key = computation.getFixingCalendar().getId();
+    CumulativeOvernightFixings cached = cumulativeFixings.get(key);
+    if (cached != null) {
+      return Optional.of(cached);
+    }
+    CumulativeOvernightFixings created = CumulativeOvernightFixings.of(computation, getFixings());
+    CumulativeOvernightFixings existing = cumulativeFixings.putIfAbsent(key, created);
+    return Optional.of(existing != null ? existing : created);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public CurrencyParameterSensitivities parameterSensitivity(OvernightRateSensitivity pointSensitivity) {
+    return underlying.parameterSensitivity(pointSensitivity);
+  }
+
+  @Override
+  public CurrencyParameterSensitivities createParameterSensitivity(Currency currency, DoubleArray sensitivities) {
+    return underlying.createParameterSensitivity(currency, sensitivities);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "CachingOvernightIndexRates[" + underlying + "]";
+  }
+
+}
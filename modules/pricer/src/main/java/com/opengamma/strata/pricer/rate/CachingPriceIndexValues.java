@@ -0,0 +1,243 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.rate;
+
+import static java.time.temporal.ChronoUnit.MONTHS;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.index.PriceIndex;
+import com.opengamma.strata.basics.index.PriceIndexObservation;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.MarketDataName;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.ParameterMetadata;
+import com.opengamma.strata.market.param.ParameterPerturbation;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+
+/**
+ * Price index values that memoise the results of an underlying instance by fixing month.
+ * <p>
+ * Inflation coupons and capital indexed bonds observe the price index at a small number of
+ * reference months, which are shared by the periods of a trade and by the trades of a book.
+ * This wrapper caches the value and the point sensitivity of each fixing month, so that the
+ * time-series and the curve are only queried once per month.
+ * <p>
+ * Months before the valuation month whose fixing is in the time-series are resolved directly
+ * from the time-series, with no sensitivity, as in {@link SimplePriceIndexValues}.
+ * Other months are obtained from the underlying values.
+ * All other methods delegate to the underlying price index values.
+ * <p>
+ * The cache is scoped to the underlying instance. Methods that return modified values,
+ * such as {@link #withPerturbation(ParameterPerturbation)}, return a new instance with an empty cache.
+ * Months more than 100 years from the valuation month are not cached.
+ * <p>
+ * This class is thread-safe, the cache may be populated concurrently from several threads.
+ * It is not a bean and is not intended to be serialized, it is created on demand
+ * for a single valuation, typically by {@link CachingRatesProvider}.
+ */
+public final class CachingPriceIndexValues
+    implements PriceIndexValues {
+
+  /**
+   * The number of months cached on each side of the valuation month.
+   */
+  private static final int MONTH_RANGE = 100 * 12;
+  /**
+   * The bits used to mark a missing entry.
+   */
+  private static final long MISSING = Double.doubleToRawLongBits(Double.NaN);
+
+  /**
+   * The underlying price index values.
+   */
+  private final PriceIndexValues underlying;
+  /**
+   * The valuation month.
+   */
+  private final YearMonth valuationMonth;
+  /**
+   * The cached values, indexed by months from the start of the range.
+   */
+  private final AtomicLongArray values = new AtomicLongArray(2 * MONTH_RANGE + 1);
+  /**
+   * The cached point sensitivities, indexed by months from the start of the range.
+   */
+  private final AtomicReferenceArray<PointSensitivityBuilder> sensitivities =
+      new AtomicReferenceArray<>(2 * MONTH_RANGE + 1);
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance wrapping the underlying price index values.
+   * <p>
+   * If the values are already caching, they are returned unchanged.
+   *
+   * @param underlying  the underlying price index values
+   * @return the caching price index values
+   */
+  public static CachingPriceIndexValues of(PriceIndexValues underlying) {
+    ArgChecker.notNull(underlying, "underlying");
+    if (underlying instanceof CachingPriceIndexValues) {
+      return (CachingPriceIndexValues) underlying;
+    }
+    return new CachingPriceIndexValues(underlying);
+  }
+
+  // creates an instance
+  private CachingPriceIndexValues(PriceIndexValues underlying) {
+    this.underlying = underlying;
+    this.valuationMonth = YearMonth.from(underlying.getValuationDate());
+    for (int i = 0; i < values.length(); i++) {
+      values.lazySet(i, MISSING);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the underlying price index values.
+   *
+   * @return the underlying price index values
+   */
+  public PriceIndexValues getUnderlying() {
+    return underlying;
+  }
+
+  @Override
+  public PriceIndex getIndex() {
+    return underlying.getIndex();
+  }
+
+  @Override
+  public LocalDate getValuationDate() {
+    return underlying.getValuationDate();
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries getFixings() {
+    return underlying.getFixings();
+  }
+
+  @Override
+  public <T> Optional<T> findData(MarketDataName<T> name) {
+    return underlying.findData(name);
+  }
+
+  @Override
+  public int getParameterCount() {
+    return underlying.getParameterCount();
+  }
+
+  @Override
+  public double getParameter(int parameterIndex) {
+    return underlying.getParameter(parameterIndex);
+  }
+
+  @Override
+  public ParameterMetadata getParameterMetadata(int parameterIndex) {
+    return underlying.getParameterMetadata(parameterIndex);
+  }
+
+  @Override
+  public CachingPriceIndexValues withParameter(int parameterIndex, double newValue) {
+    return new CachingPriceIndexValues(underlying.withParameter(parameterIndex, newValue));
+  }
+
+  @Override
+  public CachingPriceIndexValues withPerturbation(ParameterPerturbation perturbation) {
+    return new CachingPriceIndexValues(underlying.withPerturbation(perturbation));
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public double value(PriceIndexObservation observation) {
+    int index = cacheIndex(observation);
+    if (index < 0) {
+      return underlying.value(observation);
+    }
+    long bits = values.get(index);
+    if (bits != MISSING) {
+      return Double.longBitsToDouble(bits);
+    }
+    if (resolveFixing(observation, index)) {
+      return Double.longBitsToDouble(values.get(index));
+    }
+    double value = underlying.value(observation);
+    values.set(index, Double.doubleToRawLongBits(value));
+    return value;
+  }
+
+  @Override
+  public PointSensitivityBuilder valuePointSensitivity(PriceIndexObservation observation) {
+    int index = cacheIndex(observation);
+    if (index < 0) {
+      return underlying.valuePointSensitivity(observation);
+    }
+    PointSensitivityBuilder cached = sensitivities.get(index);
+    if (cached != null) {
+      return cached;
+    }
+    if (resolveFixing(observation, index)) {
+      return sensitivities.get(index);
+    }
+    PointSensitivityBuilder sensitivity = underlying.valuePointSensitivity(observation);
+    // only immutable sensitivities can be shared between callers
+    if (sensitivity instanceof InflationRateSensitivity || sensitivity == PointSensitivityBuilder.none()) {
+      sensitivities.set(index, sensitivity);
+    }
+    return sensitivity;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public CurrencyParameterSensitivities parameterSensitivity(InflationRateSensitivity pointSensitivity) {
+    return underlying.parameterSensitivity(pointSensitivity);
+  }
+
+  @Override
+  public CurrencyParameterSensitivities createParameterSensitivity(Currency currency, DoubleArray sensitivities) {
+    return underlying.createParameterSensitivity(currency, sensitivities);
+  }
+
+  //-------------------------------------------------------------------------
+  // the index of the fixing month in the cache, -1 if the observation is not cached
+  private int cacheIndex(PriceIndexObservation observation) {
+    if (!observation.getIndex().equals(underlying.getIndex())) {
+      return -1;
+    }
+    long offset = MONTHS.between(valuationMonth, observation.getFixingMonth()) + MONTH_RANGE;
+    return offset < 0 || offset >= values.length() ? -1 : (int) offset;
+  }
+
+  // caches the fixing of a month before the valuation month from the time-series, false if there is no fixing
+  private boolean resolveFixing(PriceIndexObservation observation, int index) {
+    YearMonth fixingMonth = observation.getFixingMonth();
+    if (!fixingMonth.isBefore(valuationMonth)) {
+      return false;
+    }
+    OptionalDouble fixing = underlying.getFixings().get(fixingMonth.atEndOfMonth());
+    if (!fixing.isPresent()) {
+      return false;
+    }
+    values.set(index, Double.doubleToRawLongBits(fixing.getAsDouble()));
+    sensitivities.set(index, PointSensitivityBuilder.none());
+    return true;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "CachingPriceIndexValues[" + underlying + "]";
+  }
+
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.rate;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.basics.index.FxIndex;
+import com.opengamma.strata.basics.index.IborIndex;
+import com.opengamma.strata.basics.index.Index;
+import com.opengamma.strata.basics.index.OvernightIndex;
+import com.opengamma.strata.basics.index.PriceIndex;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.MarketDataId;
+import com.opengamma.strata.data.MarketDataName;
+import com.opengamma.strata.pricer.CachingDiscountFactors;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.fx.DiscountFxForwardRates;
+import com.opengamma.strata.pricer.fx.ForwardFxIndexRates;
+import com.opengamma.strata.pricer.fx.FxForwardRates;
+import com.opengamma.strata.pricer.fx.FxIndexRates;
+
+/**
+ * A rates provider that memoises discount factors by date and price index values by fixing month.
+ * <p>
+ * This wraps an underlying provider, returning {@link CachingDiscountFactors} from
+ * {@link #discountFactors(Currency)}. The discount factors of each currency are created once,
+ * and each of them caches the discount factor of each date queried.
+ * When a large portfolio is valued against the same market data, the trades typically
+ * share payment dates, so the day count and the curve are evaluated once per date
+ * rather than once per cash flow. FX forward rates are also based on the cached discount factors.
+ * <p>
+ * Similarly, {@link #priceIndexValues(PriceIndex)} returns {@link CachingPriceIndexValues},
+ * created once per index. The projected value and sensitivity of each fixing month are computed once,
+ * and months already fixed are read directly from the time-series. This benefits inflation swaps
+ * and capital indexed bonds, whose periods share reference months.
+ * <p>
+ * The rates of each overnight index, see {@link #overnightIndexRates(OvernightIndex)}, are
+ * {@link CachingOvernightIndexRates}, created once per index. They hold the cumulative fixings of the index,
+ * which allow the realised part of compounded and averaged overnight periods to be computed in one step
+ * rather than day by day.
+ * <p>
+ * The caching is opt-in. The provider should be created for a single set of market data,
+ * used for the valuation, and then discarded. It is thread-safe and may be shared between threads
+ * pricing different trades in parallel. Pricers that derive a modified provider, for example
+ * by bumping curves, must wrap the modified provider separately.
+ */
+public final class CachingRatesProvider
+    implements RatesProvider {
+
+  /**
+   * The underlying provider.
+   */
+  private final RatesProvider underlying;
+  /**
+   * The caching discount factors, keyed by currency.
+   */
+  private final ConcurrentHashMap<Currency, DiscountFactors> discountFactors = new ConcurrentHashMap<>();
+  /**
+   * The caching price index values, keyed by index.
+   */
+  private final ConcurrentHashMap<PriceIndex, PriceIndexValues> priceIndexValues = new ConcurrentHashMap<>();
+  /**
+   * The caching overnight index rates, keyed by index.
+   */
+  private final ConcurrentHashMap<OvernightIndex, OvernightIndexRates> overnightIndexRates =
+      new ConcurrentHashMap<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance wrapping the underlying provider.
+   * <p>
+   * If the provider is already caching, it is returned unchanged.
+   *
+   * @param underlying  the underlying provider
+   * @return the caching provider
+   */
+  public static CachingRatesProvider of(RatesProvider underlying) {
+    ArgChecker.notNull(underlying, "underlying");
+    if (underlying instanceof CachingRatesProvider) {
+      return (CachingRatesProvider) underlying;
+    }
+    return new CachingRatesProvider(underlying);
+  }
+
+  // creates an instance
+  private CachingRatesProvider(RatesProvider underlying) {
+    this.underlying = underlying;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the underlying provider.
+   *
+   * @return the underlying provider
+   */
+  public RatesProvider getUnderlying() {
+    return underlying;
+  }
+
+  @Override
+  public LocalDate getValuationDate() {
+    return underlying.getValuationDate();
+  }
+
+  @Override
+  public Set<Currency> getDiscountCurrencies() {
+    return underlying.getDiscountCurrencies();
+  }
+
+  @Override
+  public Set<IborIndex> getIborIndices() {
+    return underlying.getIborIndices();
+  }
+
+  @Override
+  public Set<OvernightIndex> getOvernightIndices() {
+    return underlying.getOvernightIndices();
+  }
+
+  @Override
+  public Set<PriceIndex> getPriceIndices() {
+    return underlying.getPriceIndices();
+  }
+
+  @Override
+  public Set<Index> getTimeSeriesIndices() {
+    return underlying.getTimeSeriesIndices();
+  }
+
+  @Override
+  public <T> T data(MarketDataId<T> id) {
+    return underlying.data(id);
+  }
+
+  @Override
+  public <T> Optional<T> findData(MarketDataName<T> name) {
+    return underlying.findData(name);
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries timeSeries(Index index) {
+    return underlying.timeSeries(index);
+  }
+
+  @Override
+  public double fxRate(Currency baseCurrency, Currency counterCurrency) {
+    return underlying.fxRate(baseCurrency, counterCurrency);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public DiscountFactors discountFactors(Currency currency) {
+    DiscountFactors cached = discountFactors.get(currency);
+    if (cached != null) {
+      return cached;
+    }
+    // created outside the map, so that a missing curve throws the exception of the underlying provider
+    DiscountFactors created = CachingDiscountFactors.of(underlying.discountFactors(currency));
+    DiscountFactors existing = discountFactors.putIfAbsent(currency, created);
+    return existing != null ? existing : created;
+  }
+
+  @Override
+  public FxIndexRates fxIndexRates(FxIndex index) {
+    FxForwardRates fxForwardRates = fxForwardRates(index.getCurrencyPair());
+    return ForwardFxIndexRates.of(index, fxForwardRates, timeSeries(index));
+  }
+
+  @Override
+  public FxForwardRates fxForwardRates(CurrencyPair currencyPair) {
+    DiscountFactors base = discountFactors(currencyPair.getBase());
+    DiscountFactors counter = discountFactors(currencyPair.getCounter());
+    return DiscountFxForwardRates.of(currencyPair, underlying, base, counter);
+  }
+
+  @Override
+  public IborIndexRates iborIndexRates(IborIndex index) {
+    return underlying.iborIndexRates(index);
+  }
+
+  @Override
+  public OvernightIndexRates overnightIndexRates(OvernightIndex index) {
+    OvernightIndexRates cached = overnightIndexRates.get(index);
+    if (cached != null) {
+      return cached;
+    }
+    // created outside the map, so that a missing curve throws the exception of the underlying provider
+    OvernightIndexRates created = CachingOvernightIndexRates.of(underlying.overnightIndexRates(index));
+    OvernightIndexRates existing = overnightIndexRates.putIfAbsent(index, created);
+    return existing != null ? existing : created;
+  }
+
+  @Override
+  public PriceIndexValues priceIndexValues(PriceIndex index) {
+    PriceIndexValues cached = priceIndexValues.get(index);
+    if (cached != null) {
+      return cached;
+    }
+    // created outside the map, so that a missing curve throws the exception of the underlying provider
+    PriceIndexValues created = CachingPriceIndexValues.of(underlying.priceIndexValues(index));
+    PriceIndexValues existing = priceIndexValues.putIfAbsent(index, created);
+    return existing != null ? existing : created;
+  }
+
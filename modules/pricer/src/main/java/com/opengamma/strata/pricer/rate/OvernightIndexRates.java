@@ -6,6 +6,7 @@
 package com.opengamma.strata.pricer.rate;
 
 import java.time.LocalDate;
+import java.util.Optional;
 
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.index.OvernightIndex;
@@ -22,6 +23,8 @@ import com.opengamma.strata.market.param.ParameterPerturbation;
 import com.opengamma.strata.market.param.ParameterizedData;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.impl.rate.CumulativeOvernightFixings;
+import com.opengamma.strata.product.rate.OvernightRateComputation;
 
 /**
  * Provides access to rates for an Overnight index.
@@ -198,6 +201,23 @@ public interface OvernightIndexRates
       OvernightIndexObservation startDateObservation,
       LocalDate endDate);
 
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the cumulative fixings for an overnight rate computation, if held by these rates.
+   * <p>
+   * The cumulative fixings allow the realised part of compounded and averaged periods
+   * to be computed in one step rather than day by day. Building them requires a pass over the fixings,
+   * thus they are only held by rates that are shared by many computations, such as {@link CachingOvernightIndexRates}.
+   * <p>
+   * By default, no cumulative fixings are held and the fixings are read day by day.
+   *
+   * @param computation  the overnight rate computation, on the index of these rates
+   * @return the cumulative fixings, empty if not held
+   */
+  public default Optional<CumulativeOvernightFixings> cumulativeFixings(OvernightRateComputation computation) {
+    return Optional.empty();
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates the parameter sensitivity from the point sensitivity.
@@ -0,0 +1,325 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.rate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivity;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.ZeroRateSensitivity;
+
+/**
+ * Mutable accumulator of point sensitivities, merging entries as they are added.
+ * <p>
+ * This is an alternative to {@link com.opengamma.strata.market.sensitivity.MutablePointSensitivities}
+ * intended for products with a large number of cash flows.
+ * Zero rate sensitivities are stored in a columnar form, with one pair of primitive arrays of
+ * year fractions and sensitivity values for each combination of curve currency and sensitivity currency.
+ * Each combination is interned as an integer key, see {@link #keyId(Currency, Currency)}.
+ * Entries with the same year fraction are merged on insertion using a hash table,
+ * thus no sort is required and no {@link ZeroRateSensitivity} object is created.
+ * <p>
+ * Other point sensitivities are merged using a hash map keyed by the point with zero sensitivity.
+ * <p>
+ * The accumulated sensitivities are converted to parameter sensitivities
+ * using {@link RatesProvider#parameterSensitivity(PointSensitivityAccumulator)}.
+ * <p>
+ * This is a mutable builder that is not intended for use in multiple threads.
+ */
+public final class PointSensitivityAccumulator {
+
+  /**
+   * The interned keys, curve currency and sensitivity currency, to key identifier.
+   */
+  private final Map<Pair<Currency, Currency>, Integer> keyIds = new HashMap<>();
+  /**
+   * The zero rate columns, indexed by key identifier.
+   */
+  private final List<ZeroRateColumn> columns = new ArrayList<>();
+  /**
+   * The other point sensitivities, keyed by the point with a zero sensitivity.
+   */
+  private final Map<PointSensitivity, Double> others = new LinkedHashMap<>();
+
+  /**
+   * Creates an empty instance.
+   */
+  public PointSensitivityAccumulator() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of distinct sensitivity entries.
+   *
+   * @return the number of entries after merging
+   */
+  public int size() {
+    int size = others.size();
+    for (ZeroRateColumn column : columns) {
+      size += column.size;
+    }
+    return size;
+  }
+
+  /**
+   * Obtains the key identifier of a zero rate curve and sensitivity currency.
+   * <p>
+   * The identifier can be used with {@link #addZeroRate(int, double, double)} to avoid
+   * looking up the key for each cash flow.
+   *
+   * @param curveCurrency  the currency of the curve
+   * @param currency  the currency of the sensitivity
+   * @return the key identifier
+   */
+  public int keyId(Currency curveCurrency, Currency currency) {
+    ArgChecker.notNull(curveCurrency, "curveCurrency");
+    ArgChecker.notNull(currency, "currency");
+    return keyIds.computeIfAbsent(Pair.of(curveCurrency, currency), key -> {
+      columns.add(new ZeroRateColumn(key.getFirst(), key.getSecond()));
+      return columns.size() - 1;
+    });
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds a zero rate sensitivity using a key identifier.
+   *
+   * @param keyId  the key identifier, from {@link #keyId(Currency, Currency)}
+   * @param yearFraction  the year fraction
+   * @param sensitivity  the sensitivity value
+   * @return {@code this}, for method chaining
+   */
+  public PointSensitivityAccumulator addZeroRate(int keyId, double yearFraction, double sensitivity) {
+    columns.get(keyId).add(yearFraction, sensitivity);
+    return this;
+  }
+
+  /**
+   * Adds a zero rate sensitivity.
+   *
+   * @param curveCurrency  the currency of the curve
+   * @param yearFraction  the year fraction
+   * @param currency  the currency of the sensitivity
+   * @param sensitivity  the sensitivity value
+   * @return {@code this}, for method chaining
+   */
+  public PointSensitivityAccumulator addZeroRate(
+      Currency curveCurrency,
+      double yearFraction,
+      Currency currency,
+      double sensitivity) {
+
+    return addZeroRate(keyId(curveCurrency, currency), yearFraction, sensitivity);
+  }
+
+  /**
+   * Adds a point sensitivity.
+   * <p>
+   * Zero rate sensitivities are decomposed into the columnar form.
+   *
+   * @param sensitivity  the sensitivity to add
+   * @return {@code this}, for method chaining
+   */
+  public PointSensitivityAccumulator add(PointSensitivity sensitivity) {
+    ArgChecker.notNull(sensitivity, "sensitivity");
+    if (sensitivity instanceof ZeroRateSensitivity) {
+      ZeroRateSensitivity zero = (ZeroRateSensitivity) sensitivity;
+      return addZeroRate(zero.getCurveCurrency(), zero.getYearFraction(), zero.getCurrency(), zero.getSensitivity());
+    }
+    others.merge(sensitivity.withSensitivity(0d), sensitivity.getSensitivity(), Double::sum);
+    return this;
+  }
+
+  /**
+   * Adds a set of point sensitivities.
+   *
+   * @param sensitivities  the sensitivities to add
+   * @return {@code this}, for method chaining
+   */
+  public PointSensitivityAccumulator addAll(PointSensitivities sensitivities) {
+    ArgChecker.notNull(sensitivities, "sensitivities");
+    for (PointSensitivity sensitivity : sensitivities.getSensitivities()) {
+      add(sensitivity);
+    }
+    return this;
+  }
+
+  /**
+   * Adds the point sensitivities of a builder.
+   *
+   * @param builder  the builder of the sensitivities to add
+   * @return {@code this}, for method chaining
+   */
+  public PointSensitivityAccumulator addAll(PointSensitivityBuilder builder) {
+    ArgChecker.notNull(builder, "builder");
+    return addAll(builder.build());
+  }
+
+  /**
+   * Multiplies all the sensitivity values by the specified factor, mutating this instance.
+   *
+   * @param factor  the multiplicative factor
+   * @return {@code this}, for method chaining
+   */
+  public PointSensitivityAccumulator multipliedBy(double factor) {
+    for (ZeroRateColumn column : columns) {
+      for (int i = 0; i < column.size; i++) {
+        column.values[i] *= factor;
+      }
+    }
+    others.replaceAll((key, value) -> value * factor);
+    return this;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the parameter sensitivity using the specified provider.
+   * <p>
+   * Each column of zero rate sensitivities is converted in one call to
+   * {@link DiscountFactors#parameterSensitivity(Currency, DoubleArray, DoubleArray)}.
+   *
+   * @param provider  the rates provider
+   * @return the sensitivity to the curve parameters
+   */
+  CurrencyParameterSensitivities parameterSensitivity(RatesProvider provider) {
+    List<CurrencyParameterSensitivity> result = new ArrayList<>();
+    for (ZeroRateColumn column : columns) {
+      if (column.size > 0) {
+        DiscountFactors factors = provider.discountFactors(column.curveCurrency);
+        CurrencyParameterSensitivities sens = factors.parameterSensitivity(
+            column.currency,
+            DoubleArray.ofUnsafe(Arrays.copyOf(column.yearFractions, column.size)),
+            DoubleArray.ofUnsafe(Arrays.copyOf(column.values, column.size)));
+        result.addAll(sens.getSensitivities());
+      }
+    }
+    if (!others.isEmpty()) {
+      result.addAll(provider.parameterSensitivity(othersAsPoints()).getSensitivities());
+    }
+    return CurrencyParameterSensitivities.of(result);
+  }
+
+  /**
+   * Returns the merged point sensitivities.
+   * <p>
+   * The result is normalized, with the entries sorted and merged.
+   *
+   * @return the point sensitivities
+   */
+  public PointSensitivities toPointSensitivities() {
+    List<PointSensitivity> result = new ArrayList<>(size());
+    for (ZeroRateColumn column : columns) {
+      for (int i = 0; i < column.size; i++) {
+        result.add(ZeroRateSensitivity.of(
+            column.curveCurrency, column.yearFractions[i], column.currency, column.values[i]));
+      }
+    }
+    result.addAll(othersAsPoints().getSensitivities());
+    result.sort(PointSensitivity::compareKey);
+    return PointSensitivities.of(result);
+  }
+
+  // the other points, with the merged sensitivity
+  private PointSensitivities othersAsPoints() {
+    List<PointSensitivity> result = new ArrayList<>(others.size());
+    for (Entry<PointSensitivity, Double> entry : others.entrySet()) {
+      result.add(entry.getKey().withSensitivity(entry.getValue()));
+    }
+    return PointSensitivities.of(result);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return new StringBuilder(64)
+        .append("PointSensitivityAccumulator{size=")
+        .append(size())
+        .append('}')
+        .toString();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The zero rate sensitivities for one curve currency and sensitivity currency.
+   * <p>
+   * The year fractions are merged using an open-addressing hash table,
+   * storing the index of the entry plus one, with zero for an empty slot.
+   */
+  private static final class ZeroRateColumn {
+    private final Currency curveCurrency;
+    private final Currency currency;
+    private double[] yearFractions = new double[16];
+    private double[] values = new double[16];
+    private int[] table = new int[32];
+    private int size;
+
+    private ZeroRateColumn(Currency curveCurrency, Currency currency) {
+      this.curveCurrency = curveCurrency;
+      this.currency = currency;
+    }
+
+    // adds the sensitivity, merging with an existing entry at the same year fraction
+    private void add(double yearFraction, double sensitivity) {
+      long bits = Double.doubleToLongBits(yearFraction);
+      int mask = table.length - 1;
+      int slot = hash(bits) & mask;
+      while (table[slot] != 0) {
+        int index = table[slot] - 1;
+        if (Double.doubleToLongBits(yearFractions[index]) == bits) {
+          values[index] += sensitivity;
+          return;
+        }
+        slot = (slot + 1) & mask;
+      }
+      if (size == yearFractions.length) {
+        yearFractions = Arrays.copyOf(yearFractions, size * 2);
+        values = Arrays.copyOf(values, size * 2);
+      }
+      yearFractions[size] = yearFraction;
+      values[size] = sensitivity;
+      size++;
+      table[slot] = size;
+      if (size * 2 > table.length) {
+        rehash();
+      }
+    }
+
+    // doubles the size of the hash table
+    private void rehash() {
+      int[] newTable = new int[table.length * 2];
+      int mask = newTable.length - 1;
+      for (int index = 0; index < size; index++) {
+        int slot = hash(Double.doubleToLongBits(yearFractions[index])) & mask;
+        while (newTable[slot] != 0) {
+          slot = (slot + 1) & mask;
+        }
+        newTable[slot] = index + 1;
+      }
+      table = newTable;
+    }
+
+    // spreads the bits of the year fraction
+    private static int hash(long bits) {
+      long h = bits * 0x9E3779B97F4A7C15L;
+      return (int) (h ^ (h >>> 32));
+    }
+  }
+
+}
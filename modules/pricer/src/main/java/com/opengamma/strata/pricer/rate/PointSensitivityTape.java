@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.rate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.market.sensitivity.MutablePointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.math.impl.differentiation.ActiveDouble;
+import com.opengamma.strata.math.impl.differentiation.AdjointTape;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.product.rate.RateComputation;
+
+/**
+ * Adjoint tape linking the market inputs of a pricer to their point sensitivities.
+ * <p>
+ * A pricer using adjoint algorithmic differentiation (AAD) records each market input,
+ * such as a discount factor or a forward rate, as a variable of the tape together with
+ * the point sensitivity of that input to the curves.
+ * The point sensitivity of an output is then obtained from one reverse sweep of the tape,
+ * by combining the point sensitivity of each input multiplied by the derivative of the output to that input.
+ * <p>
+ * The point sensitivities of the inputs are only built by {@link #sensitivity(ActiveDouble)},
+ * and only for the inputs with a non-zero derivative, so that recording the inputs is cheap
+ * when only the value of the output is required.
+ * <p>
+ * The tape can be reused for another computation using {@link #reset()}.
+ * <p>
+ * This is a mutable class that is not intended for use in multiple threads.
+ */
+public final class PointSensitivityTape {
+
+  /**
+   * The underlying tape.
+   */
+  private final AdjointTape tape = new AdjointTape();
+  /**
+   * The market inputs.
+   */
+  private final List<ActiveDouble> inputs = new ArrayList<>();
+  /**
+   * The supplier of the point sensitivity of each market input.
+   */
+  private final List<Supplier<PointSensitivityBuilder>> inputSensitivities = new ArrayList<>();
+
+  /**
+   * Creates an empty instance.
+   */
+  public PointSensitivityTape() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the underlying tape.
+   * <p>
+   * This can be used to create constants and intermediate variables.
+   *
+   * @return the tape
+   */
+  public AdjointTape getTape() {
+    return tape;
+  }
+
+  /**
+   * Clears the tape so that it can be reused.
+   */
+  public void reset() {
+    tape.reset();
+    inputs.clear();
+    inputSensitivities.clear();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Records a market input.
+   * <p>
+   * The supplier is only invoked when the sensitivity of an output depending on the input is computed.
+   * It must return a new builder on each invocation.
+   *
+   * @param value  the value of the input
+   * @param sensitivity  the supplier of the point sensitivity of the input to the curves
+   * @return the active input
+   */
+  public ActiveDouble input(double value, Supplier<PointSensitivityBuilder> sensitivity) {
+    ArgChecker.notNull(sensitivity, "sensitivity");
+    ActiveDouble input = tape.variable(value);
+    inputs.add(input);
+    inputSensitivities.add(sensitivity);
+    return input;
+  }
+
+  /**
+   * Records a discount factor as a market input.
+   *
+   * @param discountFactors  the discount factors
+   * @param date  the date of the discount factor
+   * @return the active discount factor
+   */
+  public ActiveDouble discountFactor(DiscountFactors discountFactors, LocalDate date) {
+    return input(discountFactors.discountFactor(date), () -> discountFactors.zeroRatePointSensitivity(date));
+  }
+
+  /**
+   * Records a rate as a market input.
+   *
+   * @param rateComputationFn  the rate computation function
+   * @param computation  the rate computation
+   * @param startDate  the start date of the accrual period
+   * @param endDate  the end date of the accrual period
+   * @param provider  the rates provider
+   * @return the active rate
+   */
+  public ActiveDouble rate(
+      RateComputationFn<RateComputation> rateComputationFn,
+      RateComputation computation,
+      LocalDate startDate,
+      LocalDate endDate,
+      RatesProvider provider) {
+
+    return input(
+        rateComputationFn.rate(computation, startDate, endDate, provider),
+        () -> rateComputationFn.rateSensitivity(computation, startDate, endDate, provider));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the point sensitivity of an output.
+   * <p>
+   * This performs one reverse sweep of the tape.
+   *
+   * @param output  the output
+   * @return the point sensitivity of the output
+   */
+  public PointSensitivityBuilder sensitivity(ActiveDouble output) {
+    double[] derivatives = tape.gradient(output, inputs).toArrayUnsafe();
+    MutablePointSensitivities result = new MutablePointSensitivities();
+    for (int i = 0; i < derivatives.length; i++) {
+      if (derivatives[i] != 0d) {
+        inputSensitivities.get(i).get().multipliedBy(derivatives[i]).buildInto(result);
+      }
+    }
+    return result;
+  }
+
+}
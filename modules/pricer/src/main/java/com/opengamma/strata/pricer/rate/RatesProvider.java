@@ -203,6 +203,21 @@ public interface RatesProvider
     return sens;
   }
 
+  /**
+   * Computes the parameter sensitivity from accumulated point sensitivities.
+   * <p>
+   * This computes the {@link CurrencyParameterSensitivities} associated with the {@link PointSensitivityAccumulator}.
+   * The result is the same as {@link #parameterSensitivity(PointSensitivities)} applied to the merged
+   * point sensitivities, but the zero rate sensitivities are projected in one call for each curve,
+   * without creating a point sensitivity object for each entry.
+   * 
+   * @param accumulator  the accumulated point sensitivities
+   * @return the sensitivity to the curve parameters
+   */
+  public default CurrencyParameterSensitivities parameterSensitivity(PointSensitivityAccumulator accumulator) {
+    return accumulator.parameterSensitivity(this);
+  }
+
   /**
    * Computes the currency exposure.
    * <p>
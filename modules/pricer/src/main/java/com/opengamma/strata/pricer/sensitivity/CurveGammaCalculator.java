@@ -13,6 +13,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.stream.IntStream;
 
@@ -22,6 +23,7 @@ import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.index.Index;
 import com.opengamma.strata.basics.index.PriceIndex;
 import com.opengamma.strata.basics.index.RateIndex;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.collect.tuple.Pair;
@@ -53,6 +55,8 @@ import com.opengamma.strata.pricer.rate.RatesProvider;
  * By default the gamma is computed using a one basis-point shift and a forward finite difference.
  * The results themselves are not scaled (they represent the second order derivative).
  * <p>
+ * The bumped sensitivities can be computed in parallel using {@link #withExecutor(Executor)}.
+ * <p>
  * Reference: Interest Rate Cross-gamma for Single and Multiple Curves. OpenGamma quantitative research 15, July 14
  */
 public final class CurveGammaCalculator {
@@ -62,6 +66,14 @@ public final class CurveGammaCalculator {
    */
   public static final CurveGammaCalculator DEFAULT = new CurveGammaCalculator(FiniteDifferenceType.FORWARD, 1e-4);
 
+  /**
+   * The finite difference type.
+   */
+  private final FiniteDifferenceType fdType;
+  /**
+   * The shift to be applied to the curves.
+   */
+  private final double shift;
   /**
    * The first order finite difference calculator.
    */
@@ -106,9 +118,39 @@ public final class CurveGammaCalculator {
    * @param shift  the shift to be applied to the curves
    */
   private CurveGammaCalculator(FiniteDifferenceType fdType, double shift) {
+    this.fdType = fdType;
+    this.shift = shift;
     this.fd = new VectorFieldFirstOrderDifferentiator(fdType, shift);
   }
 
+  /**
+   * Create an instance of the finite difference calculator using an executor.
+   * 
+   * @param fdType  the finite difference type
+   * @param shift  the shift to be applied to the curves
+   * @param executor  the executor used to compute the bumped sensitivities
+   */
+  private CurveGammaCalculator(FiniteDifferenceType fdType, double shift, Executor executor) {
+    this.fdType = fdType;
+    this.shift = shift;
+    this.fd = new VectorFieldFirstOrderDifferentiator(fdType, shift, executor);
+  }
+
+  /**
+   * Returns a copy of this calculator that computes the bumped sensitivities using an executor.
+   * <p>
+   * Each bumped rates provider is built and its sensitivities computed as a separate task of the executor.
+   * The sensitivity function must be thread-safe. The result does not depend on whether an executor is used.
+   * For example, {@code ForkJoinPool.commonPool()} can be used to run the computation in fork-join mode.
+   * 
+   * @param executor  the executor used to compute the bumped sensitivities
+   * @return the calculator
+   */
+  public CurveGammaCalculator withExecutor(Executor executor) {
+    ArgChecker.notNull(executor, "executor");
+    return new CurveGammaCalculator(fdType, shift, executor);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Computes intra-curve cross gamma by applying finite difference method to curve delta.
@@ -302,17 +344,41 @@ public final class CurveGammaCalculator {
 
     ImmutableRatesProvider immProv = ratesProvider.toImmutableRatesProvider();
     CurrencyParameterSensitivities baseDelta = sensitivitiesFn.apply(immProv); // used to check target sensitivity exits.
-    CrossGammaParameterSensitivities result = CrossGammaParameterSensitivities.empty();
-    for (CurrencyParameterSensitivity baseDeltaSingle : baseDelta.getSensitivities()) {
-      CrossGammaParameterSensitivities resultInner = CrossGammaParameterSensitivities.empty();
-      // discount curve
-      for (Entry<Currency, Curve> entry : immProv.getDiscountCurves().entrySet()) {
-        Currency currency = entry.getKey();
+    ImmutableList<CurrencyParameterSensitivity> baseDeltas = baseDelta.getSensitivities();
+    // each curve is bumped once, the bumped sensitivities being used for all the base deltas
+    List<List<CrossGammaParameterSensitivity>> gammaBlocks = new ArrayList<>();
+    // discount curve
+    for (Entry<Currency, Curve> entry : immProv.getDiscountCurves().entrySet()) {
+      Currency currency = entry.getKey();
+      Curve curve = entry.getValue();
+      if (baseDelta.findSensitivity(curve.getName(), currency).isPresent()) {
+        gammaBlocks.add(computeGammaForCurve(
+            baseDeltas, curve, c -> immProv.toBuilder().discountCurve(currency, c).build(), sensitivitiesFn));
+      } else if (curve.split().size() > 1) {
+        ImmutableList<Curve> curves = curve.split();
+        int nCurves = curves.size();
+        for (int i = 0; i < nCurves; ++i) {
+          int currentIndex = i;
+          Curve underlyingCurve = curves.get(currentIndex);
+          if (baseDelta.findSensitivity(underlyingCurve.getName(), currency).isPresent()) {
+            gammaBlocks.add(computeGammaForCurve(
+                baseDeltas,
+                underlyingCurve,
+                c -> immProv.toBuilder().discountCurve(currency, curve.withUnderlyingCurve(currentIndex, c)).build(),
+                sensitivitiesFn));
+          }
+        }
+      }
+    }
+    // forward curve
+    for (Entry<Index, Curve> entry : immProv.getIndexCurves().entrySet()) {
+      Index index = entry.getKey();
+      if (index instanceof RateIndex || index instanceof PriceIndex) {
+        Currency currency = getCurrency(index);
         Curve curve = entry.getValue();
         if (baseDelta.findSensitivity(curve.getName(), currency).isPresent()) {
-          CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
-              baseDeltaSingle, curve, c -> immProv.toBuilder().discountCurve(currency, c).build(), sensitivitiesFn);
-          resultInner = resultInner.combinedWith(gammaSingle);
+          gammaBlocks.add(computeGammaForCurve(
+              baseDeltas, curve, c -> immProv.toBuilder().indexCurve(index, c).build(), sensitivitiesFn));
         } else if (curve.split().size() > 1) {
           ImmutableList<Curve> curves = curve.split();
           int nCurves = curves.size();
@@ -320,45 +386,23 @@ public final class CurveGammaCalculator {
             int currentIndex = i;
             Curve underlyingCurve = curves.get(currentIndex);
             if (baseDelta.findSensitivity(underlyingCurve.getName(), currency).isPresent()) {
-              CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
-                  baseDeltaSingle,
+              gammaBlocks.add(computeGammaForCurve(
+                  baseDeltas,
                   underlyingCurve,
-                  c -> immProv.toBuilder().discountCurve(currency, curve.withUnderlyingCurve(currentIndex, c)).build(),
-                  sensitivitiesFn);
-              resultInner = resultInner.combinedWith(gammaSingle);
+                  c -> immProv.toBuilder().indexCurve(index, curve.withUnderlyingCurve(currentIndex, c)).build(),
+                  sensitivitiesFn));
             }
           }
         }
       }
-      // forward curve
-      for (Entry<Index, Curve> entry : immProv.getIndexCurves().entrySet()) {
-        Index index = entry.getKey();
-        if (index instanceof RateIndex || index instanceof PriceIndex) {
-          Currency currency = getCurrency(index);
-          Curve curve = entry.getValue();
-          if (baseDelta.findSensitivity(curve.getName(), currency).isPresent()) {
-            CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
-                baseDeltaSingle, curve, c -> immProv.toBuilder().indexCurve(index, c).build(), sensitivitiesFn);
-            resultInner = resultInner.combinedWith(gammaSingle);
-          } else if (curve.split().size() > 1) {
-            ImmutableList<Curve> curves = curve.split();
-            int nCurves = curves.size();
-            for (int i = 0; i < nCurves; ++i) {
-              int currentIndex = i;
-              Curve underlyingCurve = curves.get(currentIndex);
-              if (baseDelta.findSensitivity(underlyingCurve.getName(), currency).isPresent()) {
-                CrossGammaParameterSensitivity gammaSingle = computeGammaForCurve(
-                    baseDeltaSingle,
-                    underlyingCurve,
-                    c -> immProv.toBuilder().indexCurve(index, curve.withUnderlyingCurve(currentIndex, c)).build(),
-                    sensitivitiesFn);
-                resultInner = resultInner.combinedWith(gammaSingle);
-              }
-            }
-          }
-        }
+    }
+    CrossGammaParameterSensitivities result = CrossGammaParameterSensitivities.empty();
+    for (int k = 0; k < baseDeltas.size(); k++) {
+      CrossGammaParameterSensitivities resultInner = CrossGammaParameterSensitivities.empty();
+      for (List<CrossGammaParameterSensitivity> gammaBlock : gammaBlocks) {
+        resultInner = resultInner.combinedWith(gammaBlock.get(k));
       }
-      result = result.combinedWith(combineSensitivities(baseDeltaSingle, resultInner));
+      result = result.combinedWith(combineSensitivities(baseDeltas.get(k), resultInner));
     }
     return result;
   }
@@ -404,13 +448,28 @@ public final class CurveGammaCalculator {
       Function<Curve, ImmutableRatesProvider> ratesProviderFn,
       Function<ImmutableRatesProvider, CurrencyParameterSensitivities> sensitivitiesFn) {
 
+    return computeGammaForCurve(ImmutableList.of(baseDeltaSingle), curve, ratesProviderFn, sensitivitiesFn).get(0);
+  }
+
+  // computes the sensitivity of each of baseDeltas to Curve, computing the sensitivities once for each bumped curve
+  private List<CrossGammaParameterSensitivity> computeGammaForCurve(
+      List<CurrencyParameterSensitivity> baseDeltas,
+      Curve curve,
+      Function<Curve, ImmutableRatesProvider> ratesProviderFn,
+      Function<ImmutableRatesProvider, CurrencyParameterSensitivities> sensitivitiesFn) {
+
     Function<DoubleArray, DoubleArray> function = new Function<DoubleArray, DoubleArray>() {
       @Override
       public DoubleArray apply(DoubleArray t) {
         Curve newCurve = replaceParameters(curve, t);
         ImmutableRatesProvider newRates = ratesProviderFn.apply(newCurve);
         CurrencyParameterSensitivities sensiMulti = sensitivitiesFn.apply(newRates);
-        return sensiMulti.getSensitivity(baseDeltaSingle.getMarketDataName(), baseDeltaSingle.getCurrency()).getSensitivity();
+        DoubleArray sensiAll = DoubleArray.EMPTY;
+        for (CurrencyParameterSensitivity baseDeltaSingle : baseDeltas) {
+          sensiAll = sensiAll.concat(
+              sensiMulti.getSensitivity(baseDeltaSingle.getMarketDataName(), baseDeltaSingle.getCurrency()).getSensitivity());
+        }
+        return sensiAll;
       }
     };
     int nParams = curve.getParameterCount();
@@ -418,13 +477,22 @@ public final class CurveGammaCalculator {
     List<ParameterMetadata> metadata = IntStream.range(0, nParams)
         .mapToObj(i -> curve.getParameterMetadata(i))
         .collect(toImmutableList());
-    return CrossGammaParameterSensitivity.of(
-        baseDeltaSingle.getMarketDataName(),
-        baseDeltaSingle.getParameterMetadata(),
-        curve.getName(),
-        metadata,
-        baseDeltaSingle.getCurrency(),
-        sensi);
+    List<CrossGammaParameterSensitivity> result = new ArrayList<>(baseDeltas.size());
+    int startRow = 0;
+    for (CurrencyParameterSensitivity baseDeltaSingle : baseDeltas) {
+      int firstRow = startRow;
+      DoubleMatrix sensiSingle = DoubleMatrix.of(
+          baseDeltaSingle.getParameterCount(), nParams, (i, j) -> sensi.get(firstRow + i, j));
+      result.add(CrossGammaParameterSensitivity.of(
+          baseDeltaSingle.getMarketDataName(),
+          baseDeltaSingle.getParameterMetadata(),
+          curve.getName(),
+          metadata,
+          baseDeltaSingle.getCurrency(),
+          sensiSingle));
+      startRow += baseDeltaSingle.getParameterCount();
+    }
+    return result;
   }
 
   private CrossGammaParameterSensitivity combineSensitivities(
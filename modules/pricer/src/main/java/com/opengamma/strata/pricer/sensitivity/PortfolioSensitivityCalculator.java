@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.sensitivity;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.pricer.rate.PointSensitivityAccumulator;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+
+/**
+ * Calculator to obtain the sensitivities of a portfolio of trades.
+ * <p>
+ * The point sensitivities of all the trades are first merged, per curve and point, using a
+ * {@link PointSensitivityAccumulator}. The merged point sensitivities are then projected
+ * to the curve parameters once, and multiplied by the calibration Jacobian once.
+ * The result is the same as summing the sensitivities of each trade, but the curve mapping
+ * and Jacobian work is paid once for the portfolio instead of once for each trade.
+ * <p>
+ * The sensitivities of the individual trades are not available from this calculator.
+ */
+public class PortfolioSensitivityCalculator {
+
+  /**
+   * The default instance.
+   */
+  public static final PortfolioSensitivityCalculator DEFAULT =
+      new PortfolioSensitivityCalculator(MarketQuoteSensitivityCalculator.DEFAULT);
+
+  /**
+   * The market quote sensitivity calculator.
+   */
+  private final MarketQuoteSensitivityCalculator marketQuoteCalculator;
+
+  /**
+   * Creates an instance.
+   *
+   * @param marketQuoteCalculator  the calculator used to convert parameter sensitivities to market quote sensitivities
+   */
+  public PortfolioSensitivityCalculator(MarketQuoteSensitivityCalculator marketQuoteCalculator) {
+    this.marketQuoteCalculator = ArgChecker.notNull(marketQuoteCalculator, "marketQuoteCalculator");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Merges the point sensitivities of the trades of a portfolio.
+   * <p>
+   * The result can be used with {@link RatesProvider#parameterSensitivity(PointSensitivityAccumulator)}.
+   *
+   * @param tradeSensitivities  the point sensitivities of each trade
+   * @return the merged point sensitivities
+   */
+  public PointSensitivityAccumulator merge(Iterable<PointSensitivities> tradeSensitivities) {
+    ArgChecker.notNull(tradeSensitivities, "tradeSensitivities");
+    PointSensitivityAccumulator accumulator = new PointSensitivityAccumulator();
+    for (PointSensitivities pointSensitivities : tradeSensitivities) {
+      accumulator.addAll(pointSensitivities);
+    }
+    return accumulator;
+  }
+
+  /**
+   * Calculates the parameter sensitivities of a portfolio.
+   * <p>
+   * The point sensitivities of the trades are merged before being projected to the curve parameters.
+   *
+   * @param tradeSensitivities  the point sensitivities of each trade
+   * @param provider  the rates provider
+   * @return the parameter sensitivities of the portfolio
+   */
+  public CurrencyParameterSensitivities parameterSensitivity(
+      Iterable<PointSensitivities> tradeSensitivities,
+      RatesProvider provider) {
+
+    ArgChecker.notNull(provider, "provider");
+    return provider.parameterSensitivity(merge(tradeSensitivities));
+  }
+
+  /**
+   * Calculates the market quote sensitivities of a portfolio.
+   * <p>
+   * The point sensitivities of the trades are merged before being projected to the curve parameters.
+   * The merged parameter sensitivities are then converted to market quote sensitivities
+   * using the Jacobian calibration information available in the provider.
+   *
+   * @param tradeSensitivities  the point sensitivities of each trade
+   * @param provider  the rates provider, containing Jacobian calibration information
+   * @return the market quote sensitivities of the portfolio
+   */
+  public CurrencyParameterSensitivities marketQuoteSensitivity(
+      Iterable<PointSensitivities> tradeSensitivities,
+      RatesProvider provider) {
+
+    return marketQuoteSensitivity(merge(tradeSensitivities), provider);
+  }
+
+  /**
+   * Calculates the market quote sensitivities from merged point sensitivities.
+   * <p>
+   * This can be used when the point sensitivities have been accumulated directly,
+   * for example when the trades are priced in batches.
+   *
+   * @param pointSensitivities  the merged point sensitivities
+   * @param provider  the rates provider, containing Jacobian calibration information
+   * @return the market quote sensitivities
+   */
+  public CurrencyParameterSensitivities marketQuoteSensitivity(
+      PointSensitivityAccumulator pointSensitivities,
+      RatesProvider provider) {
+
+    ArgChecker.notNull(pointSensitivities, "pointSensitivities");
+    ArgChecker.notNull(provider, "provider");
+    CurrencyParameterSensitivities paramSensitivities = provider.parameterSensitivity(pointSensitivities);
+    return marketQuoteCalculator.sensitivity(paramSensitivities, provider);
+  }
+
+}
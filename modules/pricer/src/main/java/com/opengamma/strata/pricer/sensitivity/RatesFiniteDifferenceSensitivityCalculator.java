@@ -5,17 +5,25 @@
  */
 package com.opengamma.strata.pricer.sensitivity;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
 import org.joda.beans.MetaProperty;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.ParallelTasks;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.market.curve.Curve;
@@ -39,6 +47,10 @@ import com.opengamma.strata.pricer.rate.RatesProvider;
  * <p>
  * This is based on an {@link ImmutableRatesProvider}, {@link LegalEntityDiscountingProvider} or {@link CreditRatesProvider}.
  * The sensitivities are calculated by finite difference.
+ * <p>
+ * By default, the bumped values are computed sequentially.
+ * If an executor is specified, each bumped provider is built and valued as a separate task of the executor.
+ * The value function must then be thread-safe. The result does not depend on whether an executor is used.
  */
 public class RatesFiniteDifferenceSensitivityCalculator {
 
@@ -52,6 +64,10 @@ public class RatesFiniteDifferenceSensitivityCalculator {
    * The shift used for finite difference.
    */
   private final double shift;
+  /**
+   * The executor used to value the bumped providers, null for sequential evaluation.
+   */
+  private final Executor executor;
 
   /**
    * Create an instance of the finite difference calculator.
@@ -60,6 +76,20 @@ public class RatesFiniteDifferenceSensitivityCalculator {
    */
   public RatesFiniteDifferenceSensitivityCalculator(double shift) {
     this.shift = shift;
+    this.executor = null;
+  }
+
+  /**
+   * Create an instance of the finite difference calculator that values the bumped providers using an executor.
+   * <p>
+   * For example, {@code ForkJoinPool.commonPool()} can be used to run the computation in fork-join mode.
+   * 
+   * @param shift  the shift used in the finite difference computation
+   * @param executor  the executor used to value the bumped providers
+   */
+  public RatesFiniteDifferenceSensitivityCalculator(double shift, Executor executor) {
+    this.shift = shift;
+    this.executor = ArgChecker.notNull(executor, "executor");
   }
 
   //-------------------------------------------------------------------------
@@ -77,42 +107,82 @@ public class RatesFiniteDifferenceSensitivityCalculator {
       RatesProvider provider,
       Function<ImmutableRatesProvider, CurrencyAmount> valueFn) {
 
+    return sensitivity(provider, ImmutableList.of(valueFn)).get(0);
+  }
+
+  /**
+   * Computes the first order sensitivities of several functions of a RatesProvider by finite difference.
+   * <p>
+   * This is typically used for a portfolio of trades, with one function for each trade.
+   * Each bumped rates provider is built once and used to value all the functions.
+   * The finite difference is computed by forward type.
+   * Each function should return a value in the same currency for any rate provider.
+   * 
+   * @param provider  the rates provider
+   * @param valueFns  the functions from a rate provider to a currency amount for which the sensitivity should be computed
+   * @return the curve sensitivity of each function, in the order of the functions
+   */
+  public List<CurrencyParameterSensitivities> sensitivity(
+      RatesProvider provider,
+      List<? extends Function<ImmutableRatesProvider, CurrencyAmount>> valueFns) {
+
+    ArgChecker.notNull(valueFns, "valueFns");
     ImmutableRatesProvider immProv = provider.toImmutableRatesProvider();
-    CurrencyAmount valueInit = valueFn.apply(immProv);
-    CurrencyParameterSensitivities discounting = sensitivity(
+    List<CurrencyAmount> valuesInit = valueFns.stream()
+        .map(valueFn -> valueFn.apply(immProv))
+        .collect(toImmutableList());
+    List<CurrencyParameterSensitivities> discounting = sensitivity(
         immProv,
         immProv.getDiscountCurves(),
         (base, bumped) -> base.toBuilder().discountCurves(bumped).build(),
-        valueFn,
-        valueInit);
-    CurrencyParameterSensitivities forward = sensitivity(
+        valueFns,
+        valuesInit);
+    List<CurrencyParameterSensitivities> forward = sensitivity(
         immProv,
         immProv.getIndexCurves(),
         (base, bumped) -> base.toBuilder().indexCurves(bumped).build(),
-        valueFn,
-        valueInit);
-    return discounting.combinedWith(forward);
+        valueFns,
+        valuesInit);
+    List<CurrencyParameterSensitivities> result = new ArrayList<>(valueFns.size());
+    for (int k = 0; k < valueFns.size(); k++) {
+      result.add(discounting.get(k).combinedWith(forward.get(k)));
+    }
+    return result;
   }
 
-  // computes the sensitivity with respect to the curves
-  private <T> CurrencyParameterSensitivities sensitivity(
+  // computes the sensitivity of each function with respect to the curves
+  private <T> List<CurrencyParameterSensitivities> sensitivity(
       ImmutableRatesProvider provider,
       Map<T, Curve> baseCurves,
       BiFunction<ImmutableRatesProvider, Map<T, Curve>, ImmutableRatesProvider> storeBumpedFn,
-      Function<ImmutableRatesProvider, CurrencyAmount> valueFn,
-      CurrencyAmount valueInit) {
+      List<? extends Function<ImmutableRatesProvider, CurrencyAmount>> valueFns,
+      List<CurrencyAmount> valuesInit) {
 
-    CurrencyParameterSensitivities result = CurrencyParameterSensitivities.empty();
+    int nbFns = valueFns.size();
+    List<CurrencyParameterSensitivities> result = new ArrayList<>(nbFns);
+    for (int k = 0; k < nbFns; k++) {
+      result.add(CurrencyParameterSensitivities.empty());
+    }
     for (Entry<T, Curve> entry : baseCurves.entrySet()) {
       Curve curve = entry.getValue();
-      DoubleArray sensitivity = DoubleArray.of(curve.getParameterCount(), i -> {
+      // one bumped provider for each parameter, used to value all the functions
+      List<double[]> bumpedSensitivities = ParallelTasks.evaluate(curve.getParameterCount(), i -> {
         Curve dscBumped = curve.withParameter(i, curve.getParameter(i) + shift);
         Map<T, Curve> mapBumped = new HashMap<>(baseCurves);
         mapBumped.put(entry.getKey(), dscBumped);
         ImmutableRatesProvider providerDscBumped = storeBumpedFn.apply(provider, mapBumped);
-        return (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
-      });
-      result = result.combinedWith(curve.createParameterSensitivity(valueInit.getCurrency(), sensitivity));
+        double[] sensitivities = new double[nbFns];
+        for (int k = 0; k < nbFns; k++) {
+          sensitivities[k] = (valueFns.get(k).apply(providerDscBumped).getAmount() - valuesInit.get(k).getAmount()) / shift;
+        }
+        return sensitivities;
+      }, executor);
+      for (int k = 0; k < nbFns; k++) {
+        int fnIndex = k;
+        DoubleArray sensitivity = DoubleArray.of(bumpedSensitivities.size(), i -> bumpedSensitivities.get(i)[fnIndex]);
+        result.set(k, result.get(k).combinedWith(
+            curve.createParameterSensitivity(valuesInit.get(k).getCurrency(), sensitivity)));
+      }
     }
     return result;
   }
@@ -153,16 +223,14 @@ public class RatesFiniteDifferenceSensitivityCalculator {
       DiscountFactors discountFactors = baseCurves.get(key);
       Curve curve = checkDiscountFactors(discountFactors);
       int paramCount = curve.getParameterCount();
-      double[] sensitivity = new double[paramCount];
-      for (int i = 0; i < paramCount; i++) {
+      DoubleArray sensitivity = ParallelTasks.evaluateDoubles(paramCount, 1, i -> {
         Curve dscBumped = curve.withParameter(i, curve.getParameter(i) + shift);
         Map<Pair<T, Currency>, DiscountFactors> mapBumped = new HashMap<>(baseCurves);
         mapBumped.put(key, createDiscountFactors(discountFactors, dscBumped));
         ImmutableLegalEntityDiscountingProvider providerDscBumped = provider.toBuilder().set(metaProperty, mapBumped).build();
-        sensitivity[i] = (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
-      }
-      result = result.combinedWith(
-          curve.createParameterSensitivity(valueInit.getCurrency(), DoubleArray.copyOf(sensitivity)));
+        return (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
+      }, executor);
+      result = result.combinedWith(curve.createParameterSensitivity(valueInit.getCurrency(), sensitivity));
     }
     return result;
   }
@@ -204,16 +272,14 @@ public class RatesFiniteDifferenceSensitivityCalculator {
       DiscountFactors discountFactors = creditDiscountFactors.toDiscountFactors();
       Curve curve = checkDiscountFactors(discountFactors);
       int paramCount = curve.getParameterCount();
-      double[] sensitivity = new double[paramCount];
-      for (int i = 0; i < paramCount; i++) {
+      DoubleArray sensitivity = ParallelTasks.evaluateDoubles(paramCount, 1, i -> {
         Curve dscBumped = curve.withParameter(i, curve.getParameter(i) + shift);
         Map<T, CreditDiscountFactors> mapBumped = new HashMap<>(baseCurves);
         mapBumped.put(key, createCreditDiscountFactors(creditDiscountFactors, dscBumped));
         ImmutableCreditRatesProvider providerDscBumped = provider.toBuilder().set(metaProperty, mapBumped).build();
-        sensitivity[i] = (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
-      }
-      result = result.combinedWith(
-          curve.createParameterSensitivity(valueInit.getCurrency(), DoubleArray.copyOf(sensitivity)));
+        return (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
+      }, executor);
+      result = result.combinedWith(curve.createParameterSensitivity(valueInit.getCurrency(), sensitivity));
     }
     return result;
   }
@@ -232,17 +298,15 @@ public class RatesFiniteDifferenceSensitivityCalculator {
       DiscountFactors discountFactors = creditDiscountFactors.toDiscountFactors();
       Curve curve = checkDiscountFactors(discountFactors);
       int paramCount = curve.getParameterCount();
-      double[] sensitivity = new double[paramCount];
-      for (int i = 0; i < paramCount; i++) {
+      DoubleArray sensitivity = ParallelTasks.evaluateDoubles(paramCount, 1, i -> {
         Curve dscBumped = curve.withParameter(i, curve.getParameter(i) + shift);
         Map<T, LegalEntitySurvivalProbabilities> mapBumped = new HashMap<>(baseCurves);
         mapBumped.put(key, LegalEntitySurvivalProbabilities.of(
             credit.getLegalEntityId(), createCreditDiscountFactors(creditDiscountFactors, dscBumped)));
         ImmutableCreditRatesProvider providerDscBumped = provider.toBuilder().set(metaProperty, mapBumped).build();
-        sensitivity[i] = (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
-      }
-      result = result.combinedWith(
-          curve.createParameterSensitivity(valueInit.getCurrency(), DoubleArray.copyOf(sensitivity)));
+        return (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
+      }, executor);
+      result = result.combinedWith(curve.createParameterSensitivity(valueInit.getCurrency(), sensitivity));
     }
     return result;
   }
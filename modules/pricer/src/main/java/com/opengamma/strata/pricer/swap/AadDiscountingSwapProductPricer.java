@@ -0,0 +1,277 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swap;
+
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.currency.Payment;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.math.impl.differentiation.ActiveDouble;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.fx.FxIndexRates;
+import com.opengamma.strata.pricer.rate.PointSensitivityTape;
+import com.opengamma.strata.pricer.rate.RateComputationFn;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.product.rate.RateComputation;
+import com.opengamma.strata.product.swap.FxReset;
+import com.opengamma.strata.product.swap.FxResetNotionalExchange;
+import com.opengamma.strata.product.swap.KnownAmountSwapPaymentPeriod;
+import com.opengamma.strata.product.swap.NegativeRateMethod;
+import com.opengamma.strata.product.swap.NotionalExchange;
+import com.opengamma.strata.product.swap.RateAccrualPeriod;
+import com.opengamma.strata.product.swap.RatePaymentPeriod;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+import com.opengamma.strata.product.swap.ResolvedSwapLeg;
+import com.opengamma.strata.product.swap.SwapPaymentEvent;
+import com.opengamma.strata.product.swap.SwapPaymentPeriod;
+
+/**
+ * Pricer for rate swap products using adjoint algorithmic differentiation (AAD).
+ * <p>
+ * This provides the present value and present value sensitivity of a {@link ResolvedSwap}.
+ * The present value of each leg is recorded on a {@link PointSensitivityTape}, with the discount factors,
+ * rates and FX rates as inputs. The point sensitivity is then obtained from one reverse sweep of the tape,
+ * at a cost that is a small multiple of the cost of the present value.
+ * The results are the same as those of {@link DiscountingSwapProductPricer}. In particular, the sensitivity
+ * of an accrual adjusted by its {@link NegativeRateMethod} is the sensitivity of the unadjusted accrual.
+ * <p>
+ * The payment periods must be of type {@link RatePaymentPeriod} or {@link KnownAmountSwapPaymentPeriod}
+ * and the payment events of type {@link NotionalExchange} or {@link FxResetNotionalExchange}.
+ */
+public class AadDiscountingSwapProductPricer {
+
+  /**
+   * Default implementation.
+   */
+  public static final AadDiscountingSwapProductPricer DEFAULT = new AadDiscountingSwapProductPricer(
+      RateComputationFn.standard());
+
+  /**
+   * Rate computation.
+   */
+  private final RateComputationFn<RateComputation> rateComputationFn;
+
+  /**
+   * Creates an instance.
+   *
+   * @param rateComputationFn  the rate computation function
+   */
+  public AadDiscountingSwapProductPricer(RateComputationFn<RateComputation> rateComputationFn) {
+    this.rateComputationFn = ArgChecker.notNull(rateComputationFn, "rateComputationFn");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value of the swap product.
+   * <p>
+   * The present value of the product is the value on the valuation date.
+   * The result is expressed using the payment currency of each leg.
+   *
+   * @param swap  the product
+   * @param provider  the rates provider
+   * @return the present value of the swap product
+   */
+  public MultiCurrencyAmount presentValue(ResolvedSwap swap, RatesProvider provider) {
+    PointSensitivityTape tape = new PointSensitivityTape();
+    MultiCurrencyAmount result = MultiCurrencyAmount.empty();
+    for (ResolvedSwapLeg leg : swap.getLegs()) {
+      tape.reset();
+      result = result.plus(leg.getCurrency(), presentValue(leg, provider, tape).getValue());
+    }
+    return result;
+  }
+
+  /**
+   * Calculates the present value sensitivity of the swap product.
+   * <p>
+   * The present value sensitivity of the product is the sensitivity of the present value to
+   * the underlying curves.
+   *
+   * @param swap  the product
+   * @param provider  the rates provider
+   * @return the present value curve sensitivity of the swap product
+   */
+  public PointSensitivityBuilder presentValueSensitivity(ResolvedSwap swap, RatesProvider provider) {
+    PointSensitivityTape tape = new PointSensitivityTape();
+    PointSensitivityBuilder builder = PointSensitivityBuilder.none();
+    for (ResolvedSwapLeg leg : swap.getLegs()) {
+      tape.reset();
+      builder = builder.combinedWith(legSensitivity(leg, provider, tape));
+    }
+    return builder;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value of the swap leg.
+   * <p>
+   * The result is returned using the payment currency of the leg.
+   *
+   * @param leg  the leg
+   * @param provider  the rates provider
+   * @return the present value of the swap leg
+   */
+  public CurrencyAmount presentValue(ResolvedSwapLeg leg, RatesProvider provider) {
+    return CurrencyAmount.of(leg.getCurrency(), presentValue(leg, provider, new PointSensitivityTape()).getValue());
+  }
+
+  /**
+   * Calculates the present value sensitivity of the swap leg.
+   *
+   * @param leg  the leg
+   * @param provider  the rates provider
+   * @return the present value curve sensitivity of the swap leg
+   */
+  public PointSensitivityBuilder presentValueSensitivity(ResolvedSwapLeg leg, RatesProvider provider) {
+    return legSensitivity(leg, provider, new PointSensitivityTape());
+  }
+
+  // records the leg on the tape and computes the sensitivity
+  private PointSensitivityBuilder legSensitivity(ResolvedSwapLeg leg, RatesProvider provider, PointSensitivityTape tape) {
+    ActiveDouble pv = presentValue(leg, provider, tape);
+    return tape.sensitivity(pv);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Records the present value of the swap leg on the tape.
+   * <p>
+   * The result is expressed in the payment currency of the leg.
+   *
+   * @param leg  the leg
+   * @param provider  the rates provider
+   * @param tape  the tape
+   * @return the present value of the swap leg
+   */
+  ActiveDouble presentValue(ResolvedSwapLeg leg, RatesProvider provider, PointSensitivityTape tape) {
+    DiscountFactors discountFactors = provider.discountFactors(leg.getCurrency());
+    ActiveDouble pv = tape.getTape().constant(0d);
+    for (SwapPaymentPeriod period : leg.getPaymentPeriods()) {
+      if (!period.getPaymentDate().isBefore(provider.getValuationDate())) {
+        ActiveDouble df = tape.discountFactor(discountFactors, period.getPaymentDate());
+        pv = pv.plus(forecastValue(period, provider, tape).multipliedBy(df));
+      }
+    }
+    for (SwapPaymentEvent event : leg.getPaymentEvents()) {
+      if (!event.getPaymentDate().isBefore(provider.getValuationDate())) {
+        ActiveDouble df = tape.discountFactor(discountFactors, event.getPaymentDate());
+        pv = pv.plus(forecastValue(event, provider, tape).multipliedBy(df));
+      }
+    }
+    return pv;
+  }
+
+  // the forecast value of a payment period
+  private ActiveDouble forecastValue(SwapPaymentPeriod period, RatesProvider provider, PointSensitivityTape tape) {
+    if (period instanceof RatePaymentPeriod) {
+      RatePaymentPeriod ratePeriod = (RatePaymentPeriod) period;
+      ActiveDouble notional = fxRate(ratePeriod, provider, tape).multipliedBy(ratePeriod.getNotional());
+      return accrual(ratePeriod, provider, tape).multipliedBy(notional);
+    }
+    if (period instanceof KnownAmountSwapPaymentPeriod) {
+      Payment payment = ((KnownAmountSwapPaymentPeriod) period).getPayment();
+      return tape.getTape().constant(payment.getAmount());
+    }
+    throw new IllegalArgumentException("Unsupported payment period type: " + period.getClass().getSimpleName());
+  }
+
+  // the forecast value of a payment event
+  private ActiveDouble forecastValue(SwapPaymentEvent event, RatesProvider provider, PointSensitivityTape tape) {
+    if (event instanceof NotionalExchange) {
+      return tape.getTape().constant(((NotionalExchange) event).getPaymentAmount().getAmount());
+    }
+    if (event instanceof FxResetNotionalExchange) {
+      FxResetNotionalExchange fxEvent = (FxResetNotionalExchange) event;
+      FxIndexRates rates = provider.fxIndexRates(fxEvent.getObservation().getIndex());
+      ActiveDouble fxRate = tape.input(
+          rates.rate(fxEvent.getObservation(), fxEvent.getReferenceCurrency()),
+          () -> rates.ratePointSensitivity(fxEvent.getObservation(), fxEvent.getReferenceCurrency()));
+      return fxRate.multipliedBy(fxEvent.getNotional());
+    }
+    throw new IllegalArgumentException("Unsupported payment event type: " + event.getClass().getSimpleName());
+  }
+
+  // the FX rate of the FX reset, 1 if not applicable
+  private ActiveDouble fxRate(RatePaymentPeriod period, RatesProvider provider, PointSensitivityTape tape) {
+    if (period.getFxReset().isPresent()) {
+      FxReset fxReset = period.getFxReset().get();
+      FxIndexRates rates = provider.fxIndexRates(fxReset.getObservation().getIndex());
+      return tape.input(
+          rates.rate(fxReset.getObservation(), fxReset.getReferenceCurrency()),
+          () -> rates.ratePointSensitivity(fxReset.getObservation(), fxReset.getReferenceCurrency()));
+    }
+    return tape.getTape().constant(1d);
+  }
+
+  //-------------------------------------------------------------------------
+  // the accrual for a unit notional, applying compounding if necessary
+  private ActiveDouble accrual(RatePaymentPeriod period, RatesProvider provider, PointSensitivityTape tape) {
+    if (period.getAccrualPeriods().size() == 1) {
+      RateAccrualPeriod accrualPeriod = period.getAccrualPeriods().get(0);
+      return unitAccrual(accrualPeriod, rawRate(accrualPeriod, provider, tape), accrualPeriod.getSpread());
+    }
+    switch (period.getCompoundingMethod()) {
+      case STRAIGHT: {
+        ActiveDouble accrued = tape.getTape().constant(1d);
+        for (RateAccrualPeriod accrualPeriod : period.getAccrualPeriods()) {
+          ActiveDouble rate = rawRate(accrualPeriod, provider, tape);
+          accrued = accrued.multipliedBy(unitAccrual(accrualPeriod, rate, accrualPeriod.getSpread()).plus(1d));
+        }
+        return accrued.minus(1d);
+      }
+      case FLAT: {
+        ActiveDouble cpaAccumulated = tape.getTape().constant(0d);
+        for (RateAccrualPeriod accrualPeriod : period.getAccrualPeriods()) {
+          ActiveDouble rate = rawRate(accrualPeriod, provider, tape);
+          cpaAccumulated = cpaAccumulated
+              .plus(cpaAccumulated.multipliedBy(unitAccrual(accrualPeriod, rate, 0d)))
+              .plus(unitAccrual(accrualPeriod, rate, accrualPeriod.getSpread()));
+        }
+        return cpaAccumulated;
+      }
+      case SPREAD_EXCLUSIVE: {
+        ActiveDouble accrued = tape.getTape().constant(1d);
+        double spreadAccrued = 0d;
+        for (RateAccrualPeriod accrualPeriod : period.getAccrualPeriods()) {
+          ActiveDouble rate = rawRate(accrualPeriod, provider, tape);
+          accrued = accrued.multipliedBy(unitAccrual(accrualPeriod, rate, 0d).plus(1d));
+          spreadAccrued += accrualPeriod.getSpread() * accrualPeriod.getYearFraction();
+        }
+        return accrued.minus(1d - spreadAccrued);
+      }
+      case NONE:
+      default: {
+        ActiveDouble total = tape.getTape().constant(0d);
+        for (RateAccrualPeriod accrualPeriod : period.getAccrualPeriods()) {
+          ActiveDouble rate = rawRate(accrualPeriod, provider, tape);
+          total = total.plus(unitAccrual(accrualPeriod, rate, accrualPeriod.getSpread()));
+        }
+        return total;
+      }
+    }
+  }
+
+  // the accrual for a unit notional from the raw rate, applying the negative rate method
+  // as in DiscountingRatePaymentPeriodPricer, an adjusted accrual keeps the sensitivity to the raw rate
+  private ActiveDouble unitAccrual(RateAccrualPeriod accrualPeriod, ActiveDouble rawRate, double spread) {
+    ActiveDouble accrual = rawRate.multipliedBy(accrualPeriod.getGearing()).plus(spread)
+        .multipliedBy(accrualPeriod.getYearFraction());
+    double adjusted = accrualPeriod.getNegativeRateMethod().adjust(accrual.getValue());
+    return adjusted == accrual.getValue() ? accrual : accrual.plus(adjusted - accrual.getValue());
+  }
+
+  // the raw rate, before gearing, spread and negative checks are applied
+  private ActiveDouble rawRate(RateAccrualPeriod accrualPeriod, RatesProvider provider, PointSensitivityTape tape) {
+    return tape.rate(
+        rateComputationFn,
+        accrualPeriod.getRateComputation(),
+        accrualPeriod.getStartDate(),
+        accrualPeriod.getEndDate(),
+        provider);
+  }
+
+}
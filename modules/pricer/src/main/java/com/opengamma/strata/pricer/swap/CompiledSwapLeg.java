@@ -0,0 +1,405 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swap;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalDouble;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.index.IborIndex;
+import com.opengamma.strata.basics.index.IborIndexObservation;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.rate.DiscountIborIndexRates;
+import com.opengamma.strata.pricer.rate.IborIndexRates;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.product.rate.FixedRateComputation;
+import com.opengamma.strata.product.rate.IborRateComputation;
+import com.opengamma.strata.product.rate.RateComputation;
+import com.opengamma.strata.product.swap.NegativeRateMethod;
+import com.opengamma.strata.product.swap.NotionalExchange;
+import com.opengamma.strata.product.swap.RateAccrualPeriod;
+import com.opengamma.strata.product.swap.RatePaymentPeriod;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+import com.opengamma.strata.product.swap.ResolvedSwapLeg;
+import com.opengamma.strata.product.swap.SwapLegType;
+import com.opengamma.strata.product.swap.SwapPaymentEvent;
+import com.opengamma.strata.product.swap.SwapPaymentPeriod;
+
+/**
+ * A swap leg compiled to primitive arrays for fast repeated valuation.
+ * <p>
+ * A {@link ResolvedSwapLeg} is priced by dispatching each payment period and accrual period to
+ * the relevant pricer, converting dates to year fractions on each call.
+ * When the same leg is valued many times on the same valuation date, for example in scenarios,
+ * the leg can instead be compiled once into arrays of payment times, accrual factors, notionals,
+ * fixed rates and Ibor fixing times. Valuation is then a loop over these arrays.
+ * <p>
+ * Only fixed and Ibor legs are supported. Each payment period must be a {@link RatePaymentPeriod}
+ * with a single accrual period and no FX reset, based on a {@link FixedRateComputation} or
+ * an {@link IborRateComputation}. The payment events must be of type {@link NotionalExchange}.
+ * Ibor rates fixed on or before the valuation date are resolved from the time-series when compiling.
+ * <p>
+ * The payment times are year fractions computed by the discount factors of the rates provider used to compile.
+ * The compiled leg is valid for any rates provider with the same valuation date whose curves use the same
+ * day counts, such as the bumped providers of a scenario.
+ * <p>
+ * Instances are created by {@link #of(ResolvedSwapLeg, RatesProvider)} and priced by
+ * {@link DiscountingSwapLegPricer} and {@link DiscountingSwapProductPricer}.
+ */
+public final class CompiledSwapLeg {
+
+  /**
+   * The leg type.
+   */
+  private final SwapLegType type;
+  /**
+   * The currency of the leg.
+   */
+  private final Currency currency;
+  /**
+   * The valuation date used to compile.
+   */
+  private final LocalDate valuationDate;
+  /**
+   * The Ibor index, null for a fixed leg.
+   */
+  private final IborIndex index;
+  /**
+   * The payment time of each period.
+   */
+  private final double[] paymentTimes;
+  /**
+   * The signed notional of each period.
+   */
+  private final double[] notionals;
+  /**
+   * The accrual year fraction of each period.
+   */
+  private final double[] accrualFactors;
+  /**
+   * The gearing of each period.
+   */
+  private final double[] gearings;
+  /**
+   * The spread of each period.
+   */
+  private final double[] spreads;
+  /**
+   * Whether the accrual of each period is floored at zero.
+   */
+  private final boolean[] notNegative;
+  /**
+   * The known rate of each period, NaN when the rate is forecast from the Ibor curve.
+   */
+  private final double[] knownRates;
+  /**
+   * The index of each period whose rate is forecast from the Ibor curve.
+   */
+  private final int[] forecastPeriods;
+  /**
+   * The Ibor observation of each forecast period.
+   */
+  private final IborIndexObservation[] observations;
+  /**
+   * The Ibor effective time of each forecast period.
+   */
+  private final double[] fixingStartTimes;
+  /**
+   * The Ibor maturity time of each forecast period.
+   */
+  private final double[] fixingEndTimes;
+  /**
+   * Whether the Ibor effective and maturity times have been compiled.
+   */
+  private final boolean fixingTimesCompiled;
+  /**
+   * The Ibor accrual factor of each forecast period.
+   */
+  private final double[] fixingAccrualFactors;
+  /**
+   * The payment time of each event.
+   */
+  private final double[] eventTimes;
+  /**
+   * The signed amount of each event.
+   */
+  private final double[] eventAmounts;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Compiles a swap leg.
+   * <p>
+   * Payment periods and events paid before the valuation date are discarded.
+   *
+   * @param leg  the leg
+   * @param provider  the rates provider
+   * @return the compiled leg
+   * @throws IllegalArgumentException if the leg cannot be compiled
+   */
+  public static CompiledSwapLeg of(ResolvedSwapLeg leg, RatesProvider provider) {
+    ArgChecker.notNull(leg, "leg");
+    ArgChecker.notNull(provider, "provider");
+    return new CompiledSwapLeg(leg, provider);
+  }
+
+  /**
+   * Compiles each leg of a swap.
+   *
+   * @param swap  the swap
+   * @param provider  the rates provider
+   * @return the compiled legs, in the order of the legs of the swap
+   * @throws IllegalArgumentException if a leg cannot be compiled
+   */
+  public static ImmutableList<CompiledSwapLeg> of(ResolvedSwap swap, RatesProvider provider) {
+    ArgChecker.notNull(swap, "swap");
+    return swap.getLegs().stream()
+        .map(leg -> of(leg, provider))
+        .collect(toImmutableList());
+  }
+
+  // compiles the leg
+  private CompiledSwapLeg(ResolvedSwapLeg leg, RatesProvider provider) {
+    this.type = leg.getType();
+    this.currency = leg.getCurrency();
+    this.valuationDate = provider.getValuationDate();
+    DiscountFactors discountFactors = provider.discountFactors(currency);
+    // periods
+    List<RatePaymentPeriod> periods = new ArrayList<>();
+    for (SwapPaymentPeriod period : leg.getPaymentPeriods()) {
+      ArgChecker.isTrue(period instanceof RatePaymentPeriod,
+          "Unable to compile payment period of type {}", period.getClass().getSimpleName());
+      if (!period.getPaymentDate().isBefore(valuationDate)) {
+        periods.add((RatePaymentPeriod) period);
+      }
+    }
+    int nbPeriods = periods.size();
+    this.paymentTimes = new double[nbPeriods];
+    this.notionals = new double[nbPeriods];
+    this.accrualFactors = new double[nbPeriods];
+    this.gearings = new double[nbPeriods];
+    this.spreads = new double[nbPeriods];
+    this.notNegative = new boolean[nbPeriods];
+    this.knownRates = new double[nbPeriods];
+    int[] forecastPeriods = new int[nbPeriods];
+    IborIndexObservation[] observations = new IborIndexObservation[nbPeriods];
+    double[] fixingStartTimes = new double[nbPeriods];
+    double[] fixingEndTimes = new double[nbPeriods];
+    double[] fixingAccrualFactors = new double[nbPeriods];
+    int nbForecast = 0;
+    IborIndex legIndex = null;
+    IborIndexRates iborRates = null;
+    DiscountFactors iborDiscountFactors = null;
+    for (int i = 0; i < nbPeriods; i++) {
+      RatePaymentPeriod period = periods.get(i);
+      ArgChecker.isFalse(period.getFxReset().isPresent(), "Unable to compile payment period with FX reset");
+      ArgChecker.isTrue(period.getAccrualPeriods().size() == 1, "Unable to compile payment period with compounding");
+      RateAccrualPeriod accrualPeriod = period.getAccrualPeriods().get(0);
+      paymentTimes[i] = discountFactors.relativeYearFraction(period.getPaymentDate());
+      notionals[i] = period.getNotional();
+      accrualFactors[i] = accrualPeriod.getYearFraction();
+      gearings[i] = accrualPeriod.getGearing();
+      spreads[i] = accrualPeriod.getSpread();
+      notNegative[i] = accrualPeriod.getNegativeRateMethod() == NegativeRateMethod.NOT_NEGATIVE;
+      RateComputation computation = accrualPeriod.getRateComputation();
+      if (computation instanceof FixedRateComputation) {
+        knownRates[i] = ((FixedRateComputation) computation).getRate();
+        continue;
+      }
+      ArgChecker.isTrue(computation instanceof IborRateComputation,
+          "Unable to compile rate computation of type {}", computation.getClass().getSimpleName());
+      IborIndexObservation observation = ((IborRateComputation) computation).getObservation();
+      if (legIndex == null) {
+        legIndex = observation.getIndex();
+        iborRates = provider.iborIndexRates(legIndex);
+        if (iborRates instanceof DiscountIborIndexRates) {
+          iborDiscountFactors = ((DiscountIborIndexRates) iborRates).getDiscountFactors();
+        }
+      }
+      ArgChecker.isTrue(legIndex.equals(observation.getIndex()), "Unable to compile leg with more than one index");
+      LocalDate fixingDate = observation.getFixingDate();
+      if (!fixingDate.isAfter(valuationDate)) {
+        OptionalDouble fixing = iborRates.getFixings().get(fixingDate);
+        if (fixing.isPresent()) {
+          knownRates[i] = fixing.getAsDouble();
+          continue;
+        }
+        if (fixingDate.isBefore(valuationDate)) {
+          knownRates[i] = iborRates.rate(observation);  // throws a descriptive exception for missing fixings
+          continue;
+        }
+      }
+      knownRates[i] = Double.NaN;
+      forecastPeriods[nbForecast] = i;
+      observations[nbForecast] = observation;
+      fixingAccrualFactors[nbForecast] = observation.getYearFraction();
+      if (iborDiscountFactors != null) {
+        fixingStartTimes[nbForecast] = iborDiscountFactors.relativeYearFraction(observation.getEffectiveDate());
+        fixingEndTimes[nbForecast] = iborDiscountFactors.relativeYearFraction(observation.getMaturityDate());
+      }
+      nbForecast++;
+    }
+    this.index = legIndex;
+    this.forecastPeriods = Arrays.copyOf(forecastPeriods, nbForecast);
+    this.observations = Arrays.copyOf(observations, nbForecast);
+    this.fixingStartTimes = Arrays.copyOf(fixingStartTimes, nbForecast);
+    this.fixingEndTimes = Arrays.copyOf(fixingEndTimes, nbForecast);
+    this.fixingAccrualFactors = Arrays.copyOf(fixingAccrualFactors, nbForecast);
+    this.fixingTimesCompiled = iborDiscountFactors != null;
+    // events
+    List<NotionalExchange> events = new ArrayList<>();
+    for (SwapPaymentEvent event : leg.getPaymentEvents()) {
+      ArgChecker.isTrue(event instanceof NotionalExchange,
+          "Unable to compile payment event of type {}", event.getClass().getSimpleName());
+      if (!event.getPaymentDate().isBefore(valuationDate)) {
+        events.add((NotionalExchange) event);
+      }
+    }
+    this.eventTimes = new double[events.size()];
+    this.eventAmounts = new double[events.size()];
+    for (int i = 0; i < events.size(); i++) {
+      NotionalExchange event = events.get(i);
+      eventTimes[i] = discountFactors.relativeYearFraction(event.getPaymentDate());
+      eventAmounts[i] = event.getPaymentAmount().getAmount();
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the type of the leg.
+   *
+   * @return the leg type
+   */
+  public SwapLegType getType() {
+    return type;
+  }
+
+  /**
+   * Gets the currency of the leg.
+   *
+   * @return the currency
+   */
+  public Currency getCurrency() {
+    return currency;
+  }
+
+  /**
+   * Gets the valuation date used to compile the leg.
+   *
+   * @return the valuation date
+   */
+  public LocalDate getValuationDate() {
+    return valuationDate;
+  }
+
+  /**
+   * Gets the number of payment periods paid on or after the valuation date.
+   *
+   * @return the number of payment periods
+   */
+  public int getPaymentPeriodCount() {
+    return paymentTimes.length;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value of the payment periods in the leg currency.
+   *
+   * @param provider  the rates provider
+   * @return the present value of the payment periods
+   */
+  double presentValuePeriods(RatesProvider provider) {
+    DiscountFactors discountFactors = discountFactors(provider);
+    double[] rates = rates(provider);
+    double[] dfs = discountFactors.discountFactor(DoubleArray.ofUnsafe(paymentTimes)).toArrayUnsafe();
+    double pv = 0d;
+    for (int i = 0; i < paymentTimes.length; i++) {
+      double accrual = (rates[i] * gearings[i] + spreads[i]) * accrualFactors[i];
+      if (notNegative[i] && accrual < 0d) {
+        accrual = 0d;
+      }
+      pv += notionals[i] * accrual * dfs[i];
+    }
+    return pv;
+  }
+
+  /**
+   * Calculates the present value of the payment events in the leg currency.
+   *
+   * @param provider  the rates provider
+   * @return the present value of the payment events
+   */
+  double presentValueEvents(RatesProvider provider) {
+    DiscountFactors discountFactors = discountFactors(provider);
+    double[] dfs = discountFactors.discountFactor(DoubleArray.ofUnsafe(eventTimes)).toArrayUnsafe();
+    double pv = 0d;
+    for (int i = 0; i < eventTimes.length; i++) {
+      pv += eventAmounts[i] * dfs[i];
+    }
+    return pv;
+  }
+
+  /**
+   * Calculates the present value of a basis point of the leg.
+   *
+   * @param provider  the rates provider
+   * @return the present value of a basis point
+   */
+  double pvbp(RatesProvider provider) {
+    DiscountFactors discountFactors = discountFactors(provider);
+    double[] dfs = discountFactors.discountFactor(DoubleArray.ofUnsafe(paymentTimes)).toArrayUnsafe();
+    double pvbp = 0d;
+    for (int i = 0; i < paymentTimes.length; i++) {
+      pvbp += notionals[i] * accrualFactors[i] * dfs[i];
+    }
+    return pvbp;
+  }
+
+  // obtains the discount factors, checking the valuation date
+  private DiscountFactors discountFactors(RatesProvider provider) {
+    ArgChecker.isTrue(provider.getValuationDate().equals(valuationDate),
+        "Compiled swap leg requires valuation date {} but was {}", valuationDate, provider.getValuationDate());
+    return provider.discountFactors(currency);
+  }
+
+  // the rate of each period, forecasting the Ibor rates
+  private double[] rates(RatesProvider provider) {
+    if (forecastPeriods.length == 0) {
+      return knownRates;
+    }
+    double[] rates = knownRates.clone();
+    IborIndexRates iborRates = provider.iborIndexRates(index);
+    if (fixingTimesCompiled && iborRates instanceof DiscountIborIndexRates) {
+      // simply compounded forward rates from discount factors, evaluating the curve in one pass
+      DiscountFactors iborDiscountFactors = ((DiscountIborIndexRates) iborRates).getDiscountFactors();
+      double[] dfStart = iborDiscountFactors.discountFactor(DoubleArray.ofUnsafe(fixingStartTimes)).toArrayUnsafe();
+      double[] dfEnd = iborDiscountFactors.discountFactor(DoubleArray.ofUnsafe(fixingEndTimes)).toArrayUnsafe();
+      for (int j = 0; j < forecastPeriods.length; j++) {
+        rates[forecastPeriods[j]] = (dfStart[j] / dfEnd[j] - 1d) / fixingAccrualFactors[j];
+      }
+    } else {
+      for (int j = 0; j < forecastPeriods.length; j++) {
+        rates[forecastPeriods[j]] = iborRates.rateIgnoringFixings(observations[j]);
+      }
+    }
+    return rates;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "CompiledSwapLeg[" + type + ", " + currency + ", " + paymentTimes.length + " periods, " +
+        eventTimes.length + " events]";
+  }
+
+}
@@ -6,6 +6,8 @@
 package com.opengamma.strata.pricer.swap;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.BiFunction;
 
@@ -22,6 +24,7 @@ import com.opengamma.strata.market.explain.ExplainKey;
 import com.opengamma.strata.market.explain.ExplainMap;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.DiscountFactors;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.product.swap.KnownAmountSwapPaymentPeriod;
 import com.opengamma.strata.product.swap.RatePaymentPeriod;
@@ -189,6 +192,37 @@ public class DiscountingSwapLegPricer {
     return pvbpLeg;
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value of the compiled swap leg.
+   * <p>
+   * The present value of the leg is the value on the valuation date.
+   * This produces the same result as {@link #presentValue(ResolvedSwapLeg, RatesProvider)}
+   * without dispatching each period to the period pricer.
+   * The result is returned using the payment currency of the leg.
+   * 
+   * @param leg  the compiled leg
+   * @param provider  the rates provider, with the valuation date used to compile the leg
+   * @return the present value of the swap leg
+   */
+  public CurrencyAmount presentValue(CompiledSwapLeg leg, RatesProvider provider) {
+    return CurrencyAmount.of(leg.getCurrency(), leg.presentValuePeriods(provider) + leg.presentValueEvents(provider));
+  }
+
+  /**
+   * Computes the Present Value of a Basis Point for a compiled swap leg.
+   * <p>
+   * This produces the same result as {@link #pvbp(ResolvedSwapLeg, RatesProvider)}
+   * without dispatching each period to the period pricer.
+   * 
+   * @param leg  the compiled leg
+   * @param provider  the rates provider, with the valuation date used to compile the leg
+   * @return the Present Value of a Basis Point
+   */
+  public double pvbp(CompiledSwapLeg leg, RatesProvider provider) {
+    return leg.pvbp(provider);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calculates the coupon equivalent of a swap leg.
@@ -559,37 +593,54 @@ public class DiscountingSwapLegPricer {
   //-------------------------------------------------------------------------
   // calculates the cash flow of the periods composing the leg in the currency of the swap leg
   CashFlows cashFlowPeriodsInternal(ResolvedSwapLeg leg, RatesProvider provider) {
-    ImmutableList.Builder<CashFlow> builder = ImmutableList.builder();
+    List<LocalDate> paymentDates = new ArrayList<>();
+    List<Double> forecastValues = new ArrayList<>();
     for (SwapPaymentPeriod period : leg.getPaymentPeriods()) {
       if (!period.getPaymentDate().isBefore(provider.getValuationDate())) {
         double forecastValue = paymentPeriodPricer.forecastValue(period, provider);
         if (forecastValue != 0d) {
-          Currency currency = period.getCurrency();
-          LocalDate paymentDate = period.getPaymentDate();
-          double discountFactor = provider.discountFactor(currency, paymentDate);
-          CashFlow singleCashFlow = CashFlow.ofForecastValue(paymentDate, currency, forecastValue, discountFactor);
-          builder.add(singleCashFlow);
+          paymentDates.add(period.getPaymentDate());
+          forecastValues.add(forecastValue);
         }
       }
     }
-    return CashFlows.of(builder.build());
+    return discountedCashFlows(leg.getCurrency(), paymentDates, forecastValues, provider);
   }
 
   // calculates the cash flow of the events composing the leg in the currency of the swap leg
   CashFlows cashFlowEventsInternal(ResolvedSwapLeg leg, RatesProvider provider) {
-    ImmutableList.Builder<CashFlow> builder = ImmutableList.builder();
+    List<LocalDate> paymentDates = new ArrayList<>();
+    List<Double> forecastValues = new ArrayList<>();
     for (SwapPaymentEvent event : leg.getPaymentEvents()) {
       if (!event.getPaymentDate().isBefore(provider.getValuationDate())) {
         double forecastValue = paymentEventPricer.forecastValue(event, provider);
         if (forecastValue != 0d) {
-          Currency currency = event.getCurrency();
-          LocalDate paymentDate = event.getPaymentDate();
-          double discountFactor = provider.discountFactor(currency, paymentDate);
-          CashFlow singleCashFlow = CashFlow.ofForecastValue(paymentDate, currency, forecastValue, discountFactor);
-          builder.add(singleCashFlow);
+          paymentDates.add(event.getPaymentDate());
+          forecastValues.add(forecastValue);
         }
       }
     }
+    return discountedCashFlows(leg.getCurrency(), paymentDates, forecastValues, provider);
+  }
+
+  // creates the cash flows, the discount factors of all the payment dates being obtained in one pass on the curve
+  private static CashFlows discountedCashFlows(
+      Currency currency,
+      List<LocalDate> paymentDates,
+      List<Double> forecastValues,
+      RatesProvider provider) {
+
+    if (paymentDates.isEmpty()) {
+      return CashFlows.NONE;
+    }
+    DiscountFactors discountFactors = provider.discountFactors(currency);
+    DoubleArray yearFractions =
+        DoubleArray.of(paymentDates.size(), i -> discountFactors.relativeYearFraction(paymentDates.get(i)));
+    DoubleArray dfs = discountFactors.discountFactor(yearFractions);
+    ImmutableList.Builder<CashFlow> builder = ImmutableList.builder();
+    for (int i = 0; i < paymentDates.size(); i++) {
+      builder.add(CashFlow.ofForecastValue(paymentDates.get(i), currency, forecastValues.get(i), dfs.get(i)));
+    }
     return CashFlows.of(builder.build());
   }
 
@@ -108,6 +108,24 @@ public class DiscountingSwapProductPricer {
     return swapValue(provider, swap, legPricer::presentValueInternal);
   }
 
+  /**
+   * Calculates the present value of a swap with compiled legs.
+   * <p>
+   * The legs are typically obtained from {@link CompiledSwapLeg#of(ResolvedSwap, RatesProvider)}.
+   * This produces the same result as {@link #presentValue(ResolvedSwap, RatesProvider)}
+   * without dispatching each period to the period pricer.
+   * The result is expressed using the payment currency of each leg.
+   * 
+   * @param legs  the compiled legs of the swap
+   * @param provider  the rates provider, with the valuation date used to compile the legs
+   * @return the present value of the swap product
+   */
+  public MultiCurrencyAmount presentValue(List<CompiledSwapLeg> legs, RatesProvider provider) {
+    return legs.stream()
+        .map(leg -> legPricer.presentValue(leg, provider))
+        .collect(toMultiCurrencyAmount());
+  }
+
   /**
    * Calculates the forecast value of the swap product.
    * <p>
@@ -215,6 +233,38 @@ public class DiscountingSwapProductPricer {
         1.0 / fixedCompounded.getSecond()) - 1.0d;
   }
 
+  /**
+   * Computes the par rate of a swap with compiled legs.
+   * <p>
+   * The legs are typically obtained from {@link CompiledSwapLeg#of(ResolvedSwap, RatesProvider)}.
+   * The par rate is the common rate on all payments of the fixed leg for which the total swap present value is 0.
+   * This produces the same result as {@link #parRate(ResolvedSwap, RatesProvider)} for a fixed leg
+   * without compounding, without dispatching each period to the period pricer.
+   * <p>
+   * At least one leg must be a fixed leg. The par rate will be computed with respect to the first fixed leg.
+   * 
+   * @param legs  the compiled legs of the swap
+   * @param provider  the rates provider, with the valuation date used to compile the legs
+   * @return the par rate
+   */
+  public double parRate(List<CompiledSwapLeg> legs, RatesProvider provider) {
+    CompiledSwapLeg fixedLeg = legs.stream()
+        .filter(leg -> leg.getType() == SwapLegType.FIXED)
+        .findFirst()
+        .orElseThrow(() -> new IllegalArgumentException("Swap must contain a fixed leg"));
+    Currency ccyFixedLeg = fixedLeg.getCurrency();
+    double otherLegsConvertedPv = 0d;
+    for (CompiledSwapLeg leg : legs) {
+      if (leg != fixedLeg) {
+        double pvLocal = legPricer.presentValue(leg, provider).getAmount();
+        otherLegsConvertedPv += (pvLocal * provider.fxRate(leg.getCurrency(), ccyFixedLeg));
+      }
+    }
+    double fixedLegEventsPv = fixedLeg.presentValueEvents(provider);
+    double pvbpFixedLeg = legPricer.pvbp(fixedLeg, provider);
+    return -(otherLegsConvertedPv + fixedLegEventsPv) / pvbpFixedLeg;
+  }
+
   /**
    * Computes the par spread for swaps.
    * <p>
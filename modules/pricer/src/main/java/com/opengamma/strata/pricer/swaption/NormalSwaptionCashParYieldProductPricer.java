@@ -10,7 +10,7 @@ import java.time.ZonedDateTime;
 
 import com.opengamma.strata.basics.date.DayCount;
 import com.opengamma.strata.collect.ArgChecker;
-import com.opengamma.strata.pricer.impl.option.NormalFormulaRepository;
+import com.opengamma.strata.pricer.impl.option.ImpliedVolatilityFormulaRepository;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.pricer.swap.DiscountingSwapProductPricer;
 import com.opengamma.strata.product.common.PutCall;
@@ -53,7 +53,9 @@ public class NormalSwaptionCashParYieldProductPricer
   /**
    * Computes the implied normal volatility from the present value of a swaption.
    * <p>
-   * The guess volatility for the start of the root-finding process is 1%.
+   * The volatility is obtained from a rational approximation of the inverse of the normal formula,
+   * see {@link ImpliedVolatilityFormulaRepository#normalVolatility(double, double, double, double, double, PutCall)}.
+   * A present value below the intrinsic value by no more than 1e-6 is treated as the intrinsic value.
    * 
    * @param swaption  the product
    * @param ratesProvider  the rates provider
@@ -81,8 +83,8 @@ public class NormalSwaptionCashParYieldProductPricer
     double numeraire = calculateNumeraire(swaption, fixedLeg, forward, ratesProvider);
     double strike = calculateStrike(fixedLeg);
     PutCall putCall = PutCall.ofPut(fixedLeg.getPayReceive().isReceive());
-    return NormalFormulaRepository.impliedVolatility(
-        Math.abs(presentValue), forward, strike, expiry, 0.01, numeraire, putCall);
+    return ImpliedVolatilityFormulaRepository.normalVolatility(
+        Math.abs(presentValue), forward, strike, expiry, numeraire, putCall);
   }
 
 }
@@ -216,6 +216,23 @@ public final class SabrParametersSwaptionVolatilities
     return parameters.volatilityAdjoint(expiry, tenor, strike, forward);
   }
 
+  @Override
+  public void volatility(double expiry, double tenor, double[] strikes, double forward, double[] volatilities) {
+    parameters.volatility(expiry, tenor, strikes, forward, volatilities);
+  }
+
+  @Override
+  public void volatilityAdjoint(
+      double expiry,
+      double tenor,
+      double[] strikes,
+      double forward,
+      double[] volatilities,
+      double[] derivatives) {
+
+    parameters.volatilityAdjoint(expiry, tenor, strikes, forward, volatilities, derivatives);
+  }
+
   @Override
   public double alpha(double expiry, double tenor) {
     return parameters.alpha(expiry, tenor);
@@ -0,0 +1,230 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swaption;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+import java.time.Duration;
+import java.time.Period;
+
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.TypedMetaBean;
+import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.opengamma.strata.basics.date.Tenor;
+
+/**
+ * The calibration of the SABR parameters of one expiry/tenor node of a swaption cube.
+ * <p>
+ * This reports the quality of the fit of the smile and the time spent fitting it.
+ */
+@BeanDefinition(style = "light")
+public final class SabrSwaptionCalibrationNode
+    implements ImmutableBean, Serializable {
+
+  /**
+   * The period to expiry of the node.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final Period expiry;
+  /**
+   * The tenor of the node.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final Tenor tenor;
+  /**
+   * The chi-square of the fit.
+   * <p>
+   * This is the sum of the squared residuals between the SABR and the market shifted Black volatilities,
+   * each residual being divided by the volatility error of 1 basis point used in the calibration.
+   */
+  @PropertyDefinition
+  private final double chiSquare;
+  /**
+   * The time spent fitting the smile of the node.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final Duration fitTime;
+  /**
+   * Whether the parameters result from the fit started from the previous parameters.
+   * <p>
+   * This is false if no previous parameters were provided or if that fit was not accepted.
+   */
+  @PropertyDefinition
+  private final boolean warmStarted;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   *
+   * @param expiry  the period to expiry
+   * @param tenor  the tenor
+   * @param chiSquare  the chi-square of the fit
+   * @param fitTime  the time spent fitting the smile
+   * @param warmStarted  whether the parameters result from the fit started from the previous parameters
+   * @return the instance
+   */
+  public static SabrSwaptionCalibrationNode of(
+      Period expiry,
+      Tenor tenor,
+      double chiSquare,
+      Duration fitTime,
+      boolean warmStarted) {
+
+    return new SabrSwaptionCalibrationNode(expiry, tenor, chiSquare, fitTime, warmStarted);
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code SabrSwaptionCalibrationNode}.
+   */
+  private static final TypedMetaBean<SabrSwaptionCalibrationNode> META_BEAN =
+      LightMetaBean.of(
+          SabrSwaptionCalibrationNode.class,
+          MethodHandles.lookup(),
+          new String[] {
+              "expiry",
+              "tenor",
+              "chiSquare",
+              "fitTime",
+              "warmStarted"},
+          new Object[0]);
+
+  /**
+   * The meta-bean for {@code SabrSwaptionCalibrationNode}.
+   * @return the meta-bean, not null
+   */
+  public static TypedMetaBean<SabrSwaptionCalibrationNode> meta() {
+    return META_BEAN;
+  }
+
+  static {
+    MetaBean.register(META_BEAN);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private SabrSwaptionCalibrationNode(
+      Period expiry,
+      Tenor tenor,
+      double chiSquare,
+      Duration fitTime,
+      boolean warmStarted) {
+    JodaBeanUtils.notNull(expiry, "expiry");
+    JodaBeanUtils.notNull(tenor, "tenor");
+    JodaBeanUtils.notNull(fitTime, "fitTime");
+    this.expiry = expiry;
+    this.tenor = tenor;
+    this.chiSquare = chiSquare;
+    this.fitTime = fitTime;
+    this.warmStarted = warmStarted;
+  }
+
+  @Override
+  public TypedMetaBean<SabrSwaptionCalibrationNode> metaBean() {
+    return META_BEAN;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the period to expiry of the node.
+   * @return the value of the property, not null
+   */
+  public Period getExpiry() {
+    return expiry;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the tenor of the node.
+   * @return the value of the property, not null
+   */
+  public Tenor getTenor() {
+    return tenor;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the chi-square of the fit.
+   * <p>
+   * This is the sum of the squared residuals between the SABR and the market shifted Black volatilities,
+   * each residual being divided by the volatility error of 1 basis point used in the calibration.
+   * @return the value of the property
+   */
+  public double getChiSquare() {
+    return chiSquare;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the time spent fitting the smile of the node.
+   * @return the value of the property, not null
+   */
+  public Duration getFitTime() {
+    return fitTime;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets whether the parameters result from the fit started from the previous parameters.
+   * <p>
+   * This is false if no previous parameters were provided or if that fit was not accepted.
+   * @return the value of the property
+   */
+  public boolean isWarmStarted() {
+    return warmStarted;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      SabrSwaptionCalibrationNode other = (SabrSwaptionCalibrationNode) obj;
+      return JodaBeanUtils.equal(expiry, other.expiry) &&
+          JodaBeanUtils.equal(tenor, other.tenor) &&
+          JodaBeanUtils.equal(chiSquare, other.chiSquare) &&
+          JodaBeanUtils.equal(fitTime, other.fitTime) &&
+          (warmStarted == other.warmStarted);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(expiry);
+    hash = hash * 31 + JodaBeanUtils.hashCode(tenor);
+    hash = hash * 31 + JodaBeanUtils.hashCode(chiSquare);
+    hash = hash * 31 + JodaBeanUtils.hashCode(fitTime);
+    hash = hash * 31 + JodaBeanUtils.hashCode(warmStarted);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(192);
+    buf.append("SabrSwaptionCalibrationNode{");
+    buf.append("expiry").append('=').append(expiry).append(',').append(' ');
+    buf.append("tenor").append('=').append(tenor).append(',').append(' ');
+    buf.append("chiSquare").append('=').append(chiSquare).append(',').append(' ');
+    buf.append("fitTime").append('=').append(fitTime).append(',').append(' ');
+    buf.append("warmStarted").append('=').append(JodaBeanUtils.toString(warmStarted));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-------------------------- AUTOGENERATED END --------------------------
+}
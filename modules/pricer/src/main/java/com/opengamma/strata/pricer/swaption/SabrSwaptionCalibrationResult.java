@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swaption;
+
+import java.io.Serializable;
+import java.lang.invoke.MethodHandles;
+import java.util.List;
+
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.TypedMetaBean;
+import org.joda.beans.gen.BeanDefinition;
+import org.joda.beans.gen.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Calibration result for SABR swaption volatilities.
+ * <p>
+ * This stores the calibrated volatilities {@link SabrParametersSwaptionVolatilities} and
+ * the report of the calibration of each expiry/tenor node.
+ */
+@BeanDefinition(style = "light")
+public final class SabrSwaptionCalibrationResult
+    implements ImmutableBean, Serializable {
+
+  /**
+   * The calibrated volatilities.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final SabrParametersSwaptionVolatilities volatilities;
+  /**
+   * The calibrated nodes.
+   * <p>
+   * The nodes are in the order of the tenors and expiries of the raw data.
+   * The nodes without data, or skipped because of a calibration failure, are not included.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableList<SabrSwaptionCalibrationNode> nodes;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   *
+   * @param volatilities  the calibrated volatilities
+   * @param nodes  the calibrated nodes
+   * @return the instance
+   */
+  public static SabrSwaptionCalibrationResult of(
+      SabrParametersSwaptionVolatilities volatilities,
+      List<SabrSwaptionCalibrationNode> nodes) {
+
+    return new SabrSwaptionCalibrationResult(volatilities, nodes);
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  /**
+   * The meta-bean for {@code SabrSwaptionCalibrationResult}.
+   */
+  private static final TypedMetaBean<SabrSwaptionCalibrationResult> META_BEAN =
+      LightMetaBean.of(
+          SabrSwaptionCalibrationResult.class,
+          MethodHandles.lookup(),
+          new String[] {
+              "volatilities",
+              "nodes"},
+          null,
+          ImmutableList.of());
+
+  /**
+   * The meta-bean for {@code SabrSwaptionCalibrationResult}.
+   * @return the meta-bean, not null
+   */
+  public static TypedMetaBean<SabrSwaptionCalibrationResult> meta() {
+    return META_BEAN;
+  }
+
+  static {
+    MetaBean.register(META_BEAN);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private SabrSwaptionCalibrationResult(
+      SabrParametersSwaptionVolatilities volatilities,
+      List<SabrSwaptionCalibrationNode> nodes) {
+    JodaBeanUtils.notNull(volatilities, "volatilities");
+    JodaBeanUtils.notNull(nodes, "nodes");
+    this.volatilities = volatilities;
+    this.nodes = ImmutableList.copyOf(nodes);
+  }
+
+  @Override
+  public TypedMetaBean<SabrSwaptionCalibrationResult> metaBean() {
+    return META_BEAN;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the calibrated volatilities.
+   * @return the value of the property, not null
+   */
+  public SabrParametersSwaptionVolatilities getVolatilities() {
+    return volatilities;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the calibrated nodes.
+   * <p>
+   * The nodes are in the order of the tenors and expiries of the raw data.
+   * The nodes without data, or skipped because of a calibration failure, are not included.
+   * @return the value of the property, not null
+   */
+  public ImmutableList<SabrSwaptionCalibrationNode> getNodes() {
+    return nodes;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      SabrSwaptionCalibrationResult other = (SabrSwaptionCalibrationResult) obj;
+      return JodaBeanUtils.equal(volatilities, other.volatilities) &&
+          JodaBeanUtils.equal(nodes, other.nodes);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(volatilities);
+    hash = hash * 31 + JodaBeanUtils.hashCode(nodes);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(96);
+    buf.append("SabrSwaptionCalibrationResult{");
+    buf.append("volatilities").append('=').append(volatilities).append(',').append(' ');
+    buf.append("nodes").append('=').append(JodaBeanUtils.toString(nodes));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-------------------------- AUTOGENERATED END --------------------------
+}
@@ -5,14 +5,19 @@
  */
 package com.opengamma.strata.pricer.swaption;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.Period;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.date.BusinessDayAdjustment;
@@ -21,6 +26,7 @@ import com.opengamma.strata.basics.date.Tenor;
 import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.ParallelTasks;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.collect.tuple.Pair;
@@ -35,6 +41,7 @@ import com.opengamma.strata.math.MathException;
 import com.opengamma.strata.math.impl.rootfinding.NewtonRaphsonSingleRootFinder;
 import com.opengamma.strata.math.impl.statistics.leastsquare.LeastSquareResultsWithTransform;
 import com.opengamma.strata.pricer.impl.option.BlackFormulaRepository;
+import com.opengamma.strata.pricer.impl.option.ImpliedVolatilityFormulaRepository;
 import com.opengamma.strata.pricer.impl.volatility.smile.SabrFormulaData;
 import com.opengamma.strata.pricer.impl.volatility.smile.SabrModelFitter;
 import com.opengamma.strata.pricer.model.SabrInterestRateParameters;
@@ -67,16 +74,25 @@ public final class SabrSwaptionCalibrator {
    * The reference data.
    */
   private final ReferenceData refData;
+  /**
+   * The executor used to calibrate the expiry/tenor nodes, null for sequential calibration.
+   */
+  private final Executor executor;
 
   /** The root-finder used in the Alpha calibration to ATM volatility. */
   private static final NewtonRaphsonSingleRootFinder ROOT_FINDER = new NewtonRaphsonSingleRootFinder();
+  /**
+   * The chi-square, per calibrating data, below which the calibration started from the previous parameters
+   * is accepted without trying the standard starting points.
+   */
+  private static final double WARM_START_CHI_SQUARE_PER_DATA = 1d;
 
   /**
    * The default instance of the class.
    */
   public static final SabrSwaptionCalibrator DEFAULT =
       new SabrSwaptionCalibrator(
-          SabrVolatilityFormula.hagan(), DiscountingSwapProductPricer.DEFAULT, ReferenceData.standard());
+          SabrVolatilityFormula.hagan(), DiscountingSwapProductPricer.DEFAULT, ReferenceData.standard(), null);
 
   //-------------------------------------------------------------------------
   /**
@@ -92,7 +108,7 @@ public final class SabrSwaptionCalibrator {
       SabrVolatilityFormula sabrVolatilityFormula,
       DiscountingSwapProductPricer swapPricer) {
 
-    return new SabrSwaptionCalibrator(sabrVolatilityFormula, swapPricer, ReferenceData.standard());
+    return new SabrSwaptionCalibrator(sabrVolatilityFormula, swapPricer, ReferenceData.standard(), null);
   }
 
   /**
@@ -110,17 +126,36 @@ public final class SabrSwaptionCalibrator {
       DiscountingSwapProductPricer swapPricer,
       ReferenceData refData) {
 
-    return new SabrSwaptionCalibrator(sabrVolatilityFormula, swapPricer, refData);
+    return new SabrSwaptionCalibrator(sabrVolatilityFormula, swapPricer, refData, null);
   }
 
   private SabrSwaptionCalibrator(
       SabrVolatilityFormula sabrVolatilityFormula,
       DiscountingSwapProductPricer swapPricer,
-      ReferenceData refData) {
+      ReferenceData refData,
+      Executor executor) {
 
     this.sabrVolatilityFormula = ArgChecker.notNull(sabrVolatilityFormula, "sabrVolatilityFormula");
     this.swapPricer = ArgChecker.notNull(swapPricer, "swapPricer");
     this.refData = ArgChecker.notNull(refData, "refData");
+    this.executor = executor;
+  }
+
+  /**
+   * Returns a copy of this calibrator that calibrates the expiry/tenor nodes using an executor.
+   * <p>
+   * The nodes of the cube are independent. Each node is calibrated as a separate task of the executor.
+   * The result does not depend on whether an executor is used.
+   * When the calibration stops on math exceptions, the nodes not yet started are cancelled after the first failure.
+   * The exception then reports the first node to fail, which may not be the first node in the order of the data.
+   * For example, {@code ForkJoinPool.commonPool()} can be used to run the calibration in fork-join mode.
+   * 
+   * @param executor  the executor used to calibrate the nodes
+   * @return the calibrator
+   */
+  public SabrSwaptionCalibrator withExecutor(Executor executor) {
+    ArgChecker.notNull(executor, "executor");
+    return new SabrSwaptionCalibrator(sabrVolatilityFormula, swapPricer, refData, executor);
   }
 
   //-------------------------------------------------------------------------
@@ -167,6 +202,7 @@ public final class SabrSwaptionCalibrator {
    * <p>
    * This method offers the flexibility to skip the data sets that throw a MathException (stopOnMathException = false).
    * The option to skip those data sets should be use with care, as part of the input data may be unused in the output.
+   * Otherwise, the calibration stops at the first node which throws, without calibrating the remaining nodes.
    * 
    * @param definition  the definition of the calibration to be performed
    * @param calibrationDateTime  the data and time of the calibration
@@ -188,6 +224,61 @@ public final class SabrSwaptionCalibrator {
       Surface shiftSurface,
       boolean stopOnMathException) {
 
+    return calibrateWithFixedBetaAndShift(
+        definition,
+        calibrationDateTime,
+        data,
+        ratesProvider,
+        betaSurface,
+        shiftSurface,
+        stopOnMathException,
+        Optional.empty())
+        .getVolatilities();
+  }
+
+  /**
+   * Calibrate SABR parameters to a set of raw swaption data, starting from previously calibrated parameters.
+   * <p>
+   * The SABR parameters are calibrated with fixed beta and fixed shift surfaces.
+   * The raw data can be (shifted) log-normal volatilities, normal volatilities or option prices
+   * <p>
+   * If previous volatilities are provided, typically the cube calibrated earlier in the day, the calibration
+   * of each node is first started from the previous alpha, rho and nu at the node. That calibration is accepted
+   * if its chi-square does not exceed the number of calibrating data, the volatility error of each data being
+   * 1 basis point. Otherwise, the node is calibrated from the standard starting points, as without previous
+   * volatilities, and the best of all the calibrations is used.
+   * <p>
+   * The result contains the calibrated volatilities and, for each calibrated node, the chi-square of the fit,
+   * the time spent fitting and whether the previous parameters were used.
+   * <p>
+   * If {@code stopOnMathException} is true, the calibration stops at the first node which throws a MathException,
+   * in the order of the tenors and then of the expiries, without calibrating the remaining nodes.
+   * The node reported in the exception is that first node, also when an executor is used.
+   * Otherwise the nodes which throw a MathException are skipped.
+   * 
+   * @param definition  the definition of the calibration to be performed
+   * @param calibrationDateTime  the data and time of the calibration
+   * @param data  the map of raw option data, keyed by tenor
+   * @param ratesProvider  the rate provider used to compute the swap forward rates
+   * @param betaSurface  the beta surface
+   * @param shiftSurface  the shift surface
+   * @param stopOnMathException  flag indicating if the calibration should stop on math exceptions or skip the 
+   *   expiries/tenors which throw MathException
+   * @param previousVolatilities  the previously calibrated volatilities, empty to use the standard starting points
+   * @return the calibration result
+   */
+  @SuppressWarnings("null")
+  public SabrSwaptionCalibrationResult calibrateWithFixedBetaAndShift(
+      SabrSwaptionDefinition definition,
+      ZonedDateTime calibrationDateTime,
+      TenorRawOptionData data,
+      RatesProvider ratesProvider,
+      Surface betaSurface,
+      Surface shiftSurface,
+      boolean stopOnMathException,
+      Optional<? extends SabrSwaptionVolatilities> previousVolatilities) {
+
+    ArgChecker.notNull(previousVolatilities, "previousVolatilities");
     SwaptionVolatilitiesName name = definition.getName();
     FixedIborSwapConvention convention = definition.getConvention();
     DayCount dayCount = definition.getDayCount();
@@ -197,71 +288,101 @@ public final class SabrSwaptionCalibrator {
     fixed.set(1); // Beta fixed
     BusinessDayAdjustment bda = convention.getFloatingLeg().getStartDateBusinessDayAdjustment();
     LocalDate calibrationDate = calibrationDateTime.toLocalDate();
-    // Sorted maps to obtain the surfaces nodes in standard order
-    TreeMap<Double, TreeMap<Double, ParameterMetadata>> parameterMetadataTmp = new TreeMap<>();
-    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityAlphaTmp = new TreeMap<>(); // Sensitivity to the calibrating data
-    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityRhoTmp = new TreeMap<>();
-    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityNuTmp = new TreeMap<>();
-    TreeMap<Double, TreeMap<Double, SabrFormulaData>> sabrPointTmp = new TreeMap<>();
+    // The nodes are independent, they are calibrated by separate tasks
+    // When stopping on math exceptions, the nodes after the lowest failed node found so far are skipped,
+    // thus the nodes before the first failed node are always calibrated and that node is the one reported
+    List<Supplier<NodeCalibration>> tasks = new ArrayList<>();
+    AtomicInteger firstFailure = new AtomicInteger(Integer.MAX_VALUE);
     for (Tenor tenor : data.getTenors()) {
       RawOptionData tenorData = data.getData(tenor);
       double timeTenor = tenor.getPeriod().getYears() + tenor.getPeriod().getMonths() / 12;
       List<Period> expiries = tenorData.getExpiries();
       int nbExpiries = expiries.size();
       for (int loopexpiry = 0; loopexpiry < nbExpiries; loopexpiry++) {
-        Pair<DoubleArray, DoubleArray> availableSmile = tenorData.availableSmileAtExpiry(expiries.get(loopexpiry));
+        Period expiry = expiries.get(loopexpiry);
+        Pair<DoubleArray, DoubleArray> availableSmile = tenorData.availableSmileAtExpiry(expiry);
         if (availableSmile.getFirst().size() == 0) { // If not data is available, no calibration possible
           continue;
         }
-        LocalDate exerciseDate = expirationDate(bda, calibrationDate, expiries.get(loopexpiry));
-        LocalDate effectiveDate = convention.calculateSpotDateFromTradeDate(exerciseDate, refData);
-        double timeToExpiry = dayCount.relativeYearFraction(calibrationDate, exerciseDate);
-        double beta = betaSurface.zValue(timeToExpiry, timeTenor);
-        double shift = shiftSurface.zValue(timeToExpiry, timeTenor);
-        LocalDate endDate = effectiveDate.plus(tenor);
-        SwapTrade swap0 = convention.toTrade(calibrationDate, effectiveDate, endDate, BuySell.BUY, 1.0, 0.0);
-        double forward = swapPricer.parRate(swap0.getProduct().resolve(refData), ratesProvider);
-        SabrFormulaData sabrPoint = null;
-        DoubleMatrix inverseJacobian = null;
-        boolean error = false;
-        try {
-          Pair<SabrFormulaData, DoubleMatrix> calibrationResult =
-              calibration(forward, shift, beta, fixed, bda, calibrationDateTime, dayCount,
-                  availableSmile.getFirst(), availableSmile.getSecond(), expiries.get(loopexpiry), tenorData);
-          sabrPoint = calibrationResult.getFirst();
-          inverseJacobian = calibrationResult.getSecond();
-        } catch (MathException e) {
-          error = true;
-          if (stopOnMathException) {
-            String message = Messages.format("{} at expiry {} and tenor {}", e.getMessage(),
-                expiries.get(loopexpiry), tenor);
-            throw new MathException(message, e);
+        int taskIndex = tasks.size();
+        tasks.add(() -> {
+          if (stopOnMathException && taskIndex > firstFailure.get()) {
+            return null;
           }
-        }
-        if (!error) {
-          if (!parameterMetadataTmp.containsKey(timeToExpiry)) {
-            parameterMetadataTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityAlphaTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityRhoTmp.put(timeToExpiry, new TreeMap<>());
-            dataSensitivityNuTmp.put(timeToExpiry, new TreeMap<>());
-            sabrPointTmp.put(timeToExpiry, new TreeMap<>());
+          LocalDate exerciseDate = expirationDate(bda, calibrationDate, expiry);
+          LocalDate effectiveDate = convention.calculateSpotDateFromTradeDate(exerciseDate, refData);
+          double timeToExpiry = dayCount.relativeYearFraction(calibrationDate, exerciseDate);
+          double beta = betaSurface.zValue(timeToExpiry, timeTenor);
+          double shift = shiftSurface.zValue(timeToExpiry, timeTenor);
+          LocalDate endDate = effectiveDate.plus(tenor);
+          SwapTrade swap0 = convention.toTrade(calibrationDate, effectiveDate, endDate, BuySell.BUY, 1.0, 0.0);
+          double forward = swapPricer.parRate(swap0.getProduct().resolve(refData), ratesProvider);
+          DoubleArray warmStart = previousVolatilities
+              .map(previous -> DoubleArray.of(
+                  previous.alpha(timeToExpiry, timeTenor),
+                  beta,
+                  previous.rho(timeToExpiry, timeTenor),
+                  previous.nu(timeToExpiry, timeTenor)))
+              .orElse(null);
+          NodeCalibration node = new NodeCalibration(expiry, tenor, timeToExpiry, timeTenor);
+          long start = System.nanoTime();
+          try {
+            calibration(node, forward, shift, beta, fixed, bda, calibrationDateTime, dayCount,
+                availableSmile.getFirst(), availableSmile.getSecond(), expiry, tenorData, warmStart);
+          } catch (MathException e) {
+            node.error = e;
+            if (stopOnMathException) {
+              firstFailure.accumulateAndGet(taskIndex, Math::min);
+            }
           }
-          TreeMap<Double, ParameterMetadata> parameterMetadataExpiryMap = parameterMetadataTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityAlphaExpiryMap = dataSensitivityAlphaTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityRhoExpiryMap = dataSensitivityRhoTmp.get(timeToExpiry);
-          TreeMap<Double, DoubleArray> dataSensitivityNuExpiryMap = dataSensitivityNuTmp.get(timeToExpiry);
-          TreeMap<Double, SabrFormulaData> sabrPointExpiryMap = sabrPointTmp.get(timeToExpiry);
-          parameterMetadataExpiryMap.put(timeTenor, SwaptionSurfaceExpiryTenorParameterMetadata.of(
-              timeToExpiry,
-              timeTenor,
-              expiries.get(loopexpiry).toString() + "x" + tenor.toString()));
-          dataSensitivityAlphaExpiryMap.put(timeTenor, inverseJacobian.row(0));
-          dataSensitivityRhoExpiryMap.put(timeTenor, inverseJacobian.row(2));
-          dataSensitivityNuExpiryMap.put(timeTenor, inverseJacobian.row(3));
-          sabrPointExpiryMap.put(timeTenor, sabrPoint);
-        }
+          node.fitTime = Duration.ofNanos(System.nanoTime() - start);
+          return node;
+        });
       }
     }
+    List<NodeCalibration> nodes = ParallelTasks.evaluate(tasks.size(), i -> tasks.get(i).get(), executor);
+    if (firstFailure.get() < Integer.MAX_VALUE) {
+      NodeCalibration failed = nodes.get(firstFailure.get());
+      String message = Messages.format(
+          "{} at expiry {} and tenor {}", failed.error.getMessage(), failed.expiry, failed.tenor);
+      throw new MathException(message, failed.error);
+    }
+    // Sorted maps to obtain the surfaces nodes in standard order
+    TreeMap<Double, TreeMap<Double, ParameterMetadata>> parameterMetadataTmp = new TreeMap<>();
+    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityAlphaTmp = new TreeMap<>(); // Sensitivity to the calibrating data
+    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityRhoTmp = new TreeMap<>();
+    TreeMap<Double, TreeMap<Double, DoubleArray>> dataSensitivityNuTmp = new TreeMap<>();
+    TreeMap<Double, TreeMap<Double, SabrFormulaData>> sabrPointTmp = new TreeMap<>();
+    List<SabrSwaptionCalibrationNode> nodeResults = new ArrayList<>();
+    for (NodeCalibration node : nodes) {
+      double timeToExpiry = node.timeToExpiry;
+      double timeTenor = node.timeTenor;
+      if (node.error != null) {
+        continue;
+      }
+      if (!parameterMetadataTmp.containsKey(timeToExpiry)) {
+        parameterMetadataTmp.put(timeToExpiry, new TreeMap<>());
+        dataSensitivityAlphaTmp.put(timeToExpiry, new TreeMap<>());
+        dataSensitivityRhoTmp.put(timeToExpiry, new TreeMap<>());
+        dataSensitivityNuTmp.put(timeToExpiry, new TreeMap<>());
+        sabrPointTmp.put(timeToExpiry, new TreeMap<>());
+      }
+      TreeMap<Double, ParameterMetadata> parameterMetadataExpiryMap = parameterMetadataTmp.get(timeToExpiry);
+      TreeMap<Double, DoubleArray> dataSensitivityAlphaExpiryMap = dataSensitivityAlphaTmp.get(timeToExpiry);
+      TreeMap<Double, DoubleArray> dataSensitivityRhoExpiryMap = dataSensitivityRhoTmp.get(timeToExpiry);
+      TreeMap<Double, DoubleArray> dataSensitivityNuExpiryMap = dataSensitivityNuTmp.get(timeToExpiry);
+      TreeMap<Double, SabrFormulaData> sabrPointExpiryMap = sabrPointTmp.get(timeToExpiry);
+      parameterMetadataExpiryMap.put(timeTenor, SwaptionSurfaceExpiryTenorParameterMetadata.of(
+          timeToExpiry,
+          timeTenor,
+          node.expiry.toString() + "x" + node.tenor.toString()));
+      dataSensitivityAlphaExpiryMap.put(timeTenor, node.inverseJacobian.row(0));
+      dataSensitivityRhoExpiryMap.put(timeTenor, node.inverseJacobian.row(2));
+      dataSensitivityNuExpiryMap.put(timeTenor, node.inverseJacobian.row(3));
+      sabrPointExpiryMap.put(timeTenor, node.sabrPoint);
+      nodeResults.add(
+          SabrSwaptionCalibrationNode.of(node.expiry, node.tenor, node.chiSquare, node.fitTime, node.warmStarted));
+    }
     DoubleArray timeToExpiryArray = DoubleArray.EMPTY;
     DoubleArray timeTenorArray = DoubleArray.EMPTY;
     DoubleArray alphaArray = DoubleArray.EMPTY;
@@ -307,7 +428,7 @@ public final class SabrSwaptionCalibrator {
         .of(metadataNu, timeToExpiryArray, timeTenorArray, nuArray, interpolator);
     SabrInterestRateParameters params = SabrInterestRateParameters.of(
         alphaSurface, betaSurface, rhoSurface, nuSurface, shiftSurface, sabrVolatilityFormula);
-    return SabrParametersSwaptionVolatilities.builder()
+    SabrParametersSwaptionVolatilities volatilities = SabrParametersSwaptionVolatilities.builder()
         .name(name)
         .convention(convention)
         .valuationDateTime(calibrationDateTime)
@@ -315,11 +436,14 @@ public final class SabrSwaptionCalibrator {
         .dataSensitivityAlpha(dataSensitivityAlpha)
         .dataSensitivityRho(dataSensitivityRho)
         .dataSensitivityNu(dataSensitivityNu).build();
+    return SabrSwaptionCalibrationResult.of(volatilities, nodeResults);
   }
 
   // The main part of the calibration. The calibration is done 4 times with different starting points: low and high
   // volatilities and high and low vol of vol. The best result (in term of chi^2) is returned.
-  private Pair<SabrFormulaData, DoubleMatrix> calibration(
+  // If warm start parameters are provided, the calibration from them is done first and accepted if good enough.
+  private void calibration(
+      NodeCalibration node,
       double forward,
       double shift,
       double beta,
@@ -330,47 +454,43 @@ public final class SabrSwaptionCalibrator {
       DoubleArray strike,
       DoubleArray data,
       Period expiry,
-      RawOptionData rawData) {
-
-    double rhoStart = -0.50 * beta + 0.50 * (1 - beta);
-    // Correlation is usually positive for normal and negative for log-normal;.
-    double[] alphaStart = new double[4];
-    alphaStart[0] = 0.0025 / Math.pow(forward + shift, beta); // Low vol
-    alphaStart[1] = alphaStart[0];
-    alphaStart[2] = 4 * alphaStart[0]; // High vol
-    alphaStart[3] = alphaStart[2];
-    double[] nuStart = new double[4];
-    nuStart[0] = 0.10; // Low vol of vol
-    nuStart[1] = 0.50; // High vol of vol
-    nuStart[2] = 0.10;
-    nuStart[3] = 0.50;
+      RawOptionData rawData,
+      DoubleArray warmStart) {
+
     double chi2 = 1.0E+12; // Large number
     Pair<LeastSquareResultsWithTransform, DoubleArray> sabrCalibrationResult = null;
-    for (int i = 0; i < 4; i++) { // Try different starting points and take the best
-      DoubleArray startParameters = DoubleArray.of(alphaStart[i], beta, rhoStart, nuStart[i]);
-      Pair<LeastSquareResultsWithTransform, DoubleArray> r = null;
-      if (rawData.getDataType().equals(ValueType.NORMAL_VOLATILITY)) {
-        r = calibrateLsShiftedFromNormalVolatilities(bda, calibrationDateTime, dayCount,
-            expiry, forward, strike, rawData.getStrikeType(),
-            data, startParameters, fixed, shift);
-      } else {
-        if (rawData.getDataType().equals(ValueType.PRICE)) {
-          r = calibrateLsShiftedFromPrices(bda, calibrationDateTime, dayCount,
-              expiry, forward, strike, rawData.getStrikeType(),
-              data, startParameters, fixed, shift);
-        } else {
-          if (rawData.getDataType().equals(ValueType.BLACK_VOLATILITY)) {
-            r = calibrateLsShiftedFromBlackVolatilities(bda, calibrationDateTime, dayCount,
-                expiry, forward, strike, rawData.getStrikeType(),
-                data, rawData.getShift().orElse(0d), startParameters, fixed, shift);
-          } else {
-            throw new IllegalArgumentException("Data type not supported");
-          }
-        }
+    if (warmStart != null) {
+      try {
+        sabrCalibrationResult = calibrationLs(
+            forward, shift, fixed, bda, calibrationDateTime, dayCount, strike, data, expiry, rawData, warmStart);
+        chi2 = sabrCalibrationResult.getFirst().getChiSq();
+        node.warmStarted = true;
+      } catch (MathException e) {
+        // the standard starting points are used
       }
-      if (r.getFirst().getChiSq() < chi2) { // Keep best calibration
-        sabrCalibrationResult = r;
-        chi2 = r.getFirst().getChiSq();
+    }
+    if (chi2 > WARM_START_CHI_SQUARE_PER_DATA * strike.size()) {
+      double rhoStart = -0.50 * beta + 0.50 * (1 - beta);
+      // Correlation is usually positive for normal and negative for log-normal;.
+      double[] alphaStart = new double[4];
+      alphaStart[0] = 0.0025 / Math.pow(forward + shift, beta); // Low vol
+      alphaStart[1] = alphaStart[0];
+      alphaStart[2] = 4 * alphaStart[0]; // High vol
+      alphaStart[3] = alphaStart[2];
+      double[] nuStart = new double[4];
+      nuStart[0] = 0.10; // Low vol of vol
+      nuStart[1] = 0.50; // High vol of vol
+      nuStart[2] = 0.10;
+      nuStart[3] = 0.50;
+      for (int i = 0; i < 4; i++) { // Try different starting points and take the best
+        DoubleArray startParameters = DoubleArray.of(alphaStart[i], beta, rhoStart, nuStart[i]);
+        Pair<LeastSquareResultsWithTransform, DoubleArray> r = calibrationLs(
+            forward, shift, fixed, bda, calibrationDateTime, dayCount, strike, data, expiry, rawData, startParameters);
+        if (r.getFirst().getChiSq() < chi2) { // Keep best calibration
+          sabrCalibrationResult = r;
+          chi2 = r.getFirst().getChiSq();
+          node.warmStarted = false;
+        }
       }
     }
     @SuppressWarnings("null")
@@ -387,8 +507,41 @@ public final class SabrSwaptionCalibrator {
             parameterSensitivityToBlackShifted.get(loopsabr, loopdata) * blackVolSensitivitytoRawData.get(loopdata);
       }
     }
-    DoubleMatrix parameterSensitivityToData = DoubleMatrix.ofUnsafe(parameterSensitivityToDataArray);
-    return Pair.of(sabrParameters, parameterSensitivityToData);
+    node.sabrPoint = sabrParameters;
+    node.inverseJacobian = DoubleMatrix.ofUnsafe(parameterSensitivityToDataArray);
+    node.chiSquare = chi2;
+  }
+
+  // The least square calibration from one starting point, depending on the type of raw data
+  private Pair<LeastSquareResultsWithTransform, DoubleArray> calibrationLs(
+      double forward,
+      double shift,
+      BitSet fixed,
+      BusinessDayAdjustment bda,
+      ZonedDateTime calibrationDateTime,
+      DayCount dayCount,
+      DoubleArray strike,
+      DoubleArray data,
+      Period expiry,
+      RawOptionData rawData,
+      DoubleArray startParameters) {
+
+    if (rawData.getDataType().equals(ValueType.NORMAL_VOLATILITY)) {
+      return calibrateLsShiftedFromNormalVolatilities(bda, calibrationDateTime, dayCount,
+          expiry, forward, strike, rawData.getStrikeType(),
+          data, startParameters, fixed, shift);
+    }
+    if (rawData.getDataType().equals(ValueType.PRICE)) {
+      return calibrateLsShiftedFromPrices(bda, calibrationDateTime, dayCount,
+          expiry, forward, strike, rawData.getStrikeType(),
+          data, startParameters, fixed, shift);
+    }
+    if (rawData.getDataType().equals(ValueType.BLACK_VOLATILITY)) {
+      return calibrateLsShiftedFromBlackVolatilities(bda, calibrationDateTime, dayCount,
+          expiry, forward, strike, rawData.getStrikeType(),
+          data, rawData.getShift().orElse(0d), startParameters, fixed, shift);
+    }
+    throw new IllegalArgumentException("Data type not supported");
   }
 
   //-------------------------------------------------------------------------
@@ -633,13 +786,15 @@ public final class SabrSwaptionCalibrator {
     int nbStrikes = strikes.size();
     double[] impliedVolatility = new double[nbStrikes];
     double[] impliedVolatilityDerivatives = new double[nbStrikes];
+    double forwardShifted = forward + shiftOutput;
     for (int i = 0; i < nbStrikes; i++) {
       ValueDerivatives price = BlackFormulaRepository.priceAdjoint(
           forward + shiftInput, strikes.get(i) + shiftInput, timeToExpiry, blackVolatilities.get(i), true); // vega-[3]
-      ValueDerivatives iv = BlackFormulaRepository.impliedVolatilityAdjoint(
-          price.getValue(), forward + shiftOutput, strikes.get(i) + shiftOutput, timeToExpiry, true);
-      impliedVolatility[i] = iv.getValue();
-      impliedVolatilityDerivatives[i] = iv.getDerivative(0) * price.getDerivative(3);
+      double strikeShifted = strikes.get(i) + shiftOutput;
+      impliedVolatility[i] = ImpliedVolatilityFormulaRepository.blackVolatility(
+          price.getValue(), forwardShifted, strikeShifted, timeToExpiry, true);
+      double vega = blackVega(forwardShifted, strikeShifted, timeToExpiry, impliedVolatility[i], price.getValue());
+      impliedVolatilityDerivatives[i] = price.getDerivative(3) / vega;
     }
     return Pair.of(DoubleArray.ofUnsafe(impliedVolatility), DoubleArray.ofUnsafe(impliedVolatilityDerivatives));
   }
@@ -721,15 +876,29 @@ public final class SabrSwaptionCalibrator {
     int nbStrikes = strikes.size();
     double[] impliedVolatility = new double[nbStrikes];
     double[] impliedVolatilityDerivatives = new double[nbStrikes];
+    double forwardShifted = forward + shiftOutput;
     for (int i = 0; i < nbStrikes; i++) {
-      ValueDerivatives iv = BlackFormulaRepository.impliedVolatilityAdjoint(
-          prices.get(i), forward + shiftOutput, strikes.get(i) + shiftOutput, timeToExpiry, true);
-      impliedVolatility[i] = iv.getValue();
-      impliedVolatilityDerivatives[i] = iv.getDerivative(0);
+      double strikeShifted = strikes.get(i) + shiftOutput;
+      impliedVolatility[i] = ImpliedVolatilityFormulaRepository.blackVolatility(
+          prices.get(i), forwardShifted, strikeShifted, timeToExpiry, true);
+      double vega = blackVega(forwardShifted, strikeShifted, timeToExpiry, impliedVolatility[i], prices.get(i));
+      impliedVolatilityDerivatives[i] = 1d / vega;
     }
     return Pair.of(DoubleArray.ofUnsafe(impliedVolatility), DoubleArray.ofUnsafe(impliedVolatilityDerivatives));
   }
 
+  // the vega at the implied volatility, which must be positive for the derivative of the volatility to the price
+  private static double blackVega(double forward, double strike, double timeToExpiry, double volatility, double price) {
+    double vega = BlackFormulaRepository.vega(forward, strike, timeToExpiry, volatility);
+    if (!(vega > 0d)) {
+      throw new IllegalArgumentException(Messages.format(
+          "Option price {} at shifted strike {} has no time value, so its implied volatility is zero",
+          price,
+          strike));
+    }
+    return vega;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Calibrate the SABR parameters to a set of normal volatilities at given moneyness.
@@ -899,4 +1068,26 @@ public final class SabrSwaptionCalibrator {
     return bda.adjust(calibrationDate.plus(expiry), refData);
   }
 
+  //-------------------------------------------------------------------------
+  // the calibration of an expiry/tenor node
+  private static final class NodeCalibration {
+    private final Period expiry;
+    private final Tenor tenor;
+    private final double timeToExpiry;
+    private final double timeTenor;
+    private SabrFormulaData sabrPoint;
+    private DoubleMatrix inverseJacobian;
+    private double chiSquare;
+    private boolean warmStarted;
+    private Duration fitTime;
+    private MathException error;
+
+    private NodeCalibration(Period expiry, Tenor tenor, double timeToExpiry, double timeTenor) {
+      this.expiry = expiry;
+      this.tenor = tenor;
+      this.timeToExpiry = timeToExpiry;
+      this.timeTenor = timeTenor;
+    }
+  }
+
 }
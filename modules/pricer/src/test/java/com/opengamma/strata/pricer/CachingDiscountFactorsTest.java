@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+
+/**
+ * Test {@link CachingDiscountFactors}.
+ */
+@Test
+public class CachingDiscountFactorsTest {
+
+  private static final LocalDate DATE_VAL = date(2015, 6, 4);
+  private static final CurveName NAME = CurveName.of("TestCurve");
+  private static final InterpolatedNodalCurve CURVE = InterpolatedNodalCurve.of(
+      Curves.zeroRates(NAME, ACT_365F),
+      DoubleArray.of(0, 1, 5, 10, 30),
+      DoubleArray.of(0.010, 0.012, 0.018, 0.021, 0.025),
+      CurveInterpolators.LINEAR);
+  private static final DiscountFactors UNDERLYING = ZeroRateDiscountFactors.of(GBP, DATE_VAL, CURVE);
+  private static final double TOL = 1e-14;
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    CachingDiscountFactors test = CachingDiscountFactors.of(UNDERLYING);
+    assertSame(test.getUnderlying(), UNDERLYING);
+    assertSame(CachingDiscountFactors.of(test), test);
+    assertEquals(test.getCurrency(), GBP);
+    assertEquals(test.getValuationDate(), DATE_VAL);
+    assertEquals(test.getParameterCount(), CURVE.getParameterCount());
+    assertEquals(test.getParameter(0), CURVE.getParameter(0));
+    assertEquals(test.getParameterMetadata(0), CURVE.getParameterMetadata(0));
+    assertEquals(test.findData(NAME), Optional.of(CURVE));
+    assertThrowsIllegalArg(() -> CachingDiscountFactors.of(null));
+  }
+
+  public void test_withPerturbation() {
+    CachingDiscountFactors test = CachingDiscountFactors.of(UNDERLYING);
+    LocalDate date = DATE_VAL.plusYears(2);
+    test.discountFactor(date);
+    CachingDiscountFactors bumped = test.withPerturbation((i, v, m) -> v + 0.001);
+    DiscountFactors expected = UNDERLYING.withPerturbation((i, v, m) -> v + 0.001);
+    assertEquals(bumped.discountFactor(date), expected.discountFactor(date), TOL);
+    assertEquals(
+        test.withParameter(1, 0.02).discountFactor(date),
+        UNDERLYING.withParameter(1, 0.02).discountFactor(date),
+        TOL);
+    assertEquals(test.discountFactor(date), UNDERLYING.discountFactor(date), TOL);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_discountFactor() {
+    CachingDiscountFactors test = CachingDiscountFactors.of(UNDERLYING);
+    // dates before, in and beyond the cached range, each queried twice
+    for (int pass = 0; pass < 2; pass++) {
+      for (int days = -10; days < 40000; days += 37) {
+        LocalDate date = DATE_VAL.plusDays(days);
+        assertEquals(test.relativeYearFraction(date), UNDERLYING.relativeYearFraction(date), TOL);
+        assertEquals(test.discountFactor(date), UNDERLYING.discountFactor(date), TOL);
+      }
+    }
+    assertEquals(test.discountFactor(DATE_VAL), 1d, TOL);
+  }
+
+  public void test_delegated() {
+    CachingDiscountFactors test = CachingDiscountFactors.of(UNDERLYING);
+    LocalDate date = DATE_VAL.plusMonths(30);
+    double yearFraction = UNDERLYING.relativeYearFraction(date);
+    assertEquals(test.zeroRate(date), UNDERLYING.zeroRate(date), TOL);
+    assertEquals(
+        test.discountFactorTimeDerivative(yearFraction),
+        UNDERLYING.discountFactorTimeDerivative(yearFraction),
+        TOL);
+    assertEquals(
+        test.discountFactorWithSpread(date, 0.01, CompoundedRateType.PERIODIC, 2),
+        UNDERLYING.discountFactorWithSpread(date, 0.01, CompoundedRateType.PERIODIC, 2),
+        TOL);
+    DoubleArray yearFractions = DoubleArray.of(0.5, 1.5, 7.5);
+    assertTrue(test.discountFactor(yearFractions).equalWithTolerance(UNDERLYING.discountFactor(yearFractions), TOL));
+    assertTrue(test.zeroRate(yearFractions).equalWithTolerance(UNDERLYING.zeroRate(yearFractions), TOL));
+    assertEquals(
+        test.zeroRatePointSensitivity(yearFractions, USD),
+        UNDERLYING.zeroRatePointSensitivity(yearFractions, USD));
+    ZeroRateSensitivity point = test.zeroRatePointSensitivity(date, USD);
+    assertEquals(point, UNDERLYING.zeroRatePointSensitivity(date, USD));
+    assertEquals(
+        test.zeroRatePointSensitivityWithSpread(date, 0.01, CompoundedRateType.CONTINUOUS, 0),
+        UNDERLYING.zeroRatePointSensitivityWithSpread(date, 0.01, CompoundedRateType.CONTINUOUS, 0));
+    assertEquals(test.parameterSensitivity(point), UNDERLYING.parameterSensitivity(point));
+    DoubleArray sensitivities = DoubleArray.of(100, 200, 300);
+    assertEquals(
+        test.parameterSensitivity(USD, yearFractions, sensitivities),
+        UNDERLYING.parameterSensitivity(USD, yearFractions, sensitivities));
+    DoubleArray values = DoubleArray.filled(CURVE.getParameterCount(), 1d);
+    assertEquals(test.createParameterSensitivity(USD, values), UNDERLYING.createParameterSensitivity(USD, values));
+  }
+
+  // the cache is populated concurrently
+  public void test_parallel() {
+    CachingDiscountFactors test = CachingDiscountFactors.of(UNDERLYING);
+    IntStream.range(0, 100_000).parallel().forEach(i -> {
+      LocalDate date = DATE_VAL.plusDays(i % 5000);
+      assertEquals(test.discountFactor(date), UNDERLYING.discountFactor(date), TOL);
+    });
+  }
+
+}
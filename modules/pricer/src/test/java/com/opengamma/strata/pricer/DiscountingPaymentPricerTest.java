@@ -6,14 +6,17 @@
 package com.opengamma.strata.pricer;
 
 import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.pricer.CompoundedRateType.CONTINUOUS;
 import static com.opengamma.strata.pricer.CompoundedRateType.PERIODIC;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
@@ -76,6 +79,18 @@ public class DiscountingPaymentPricerTest {
     assertEquals(computed, CurrencyAmount.zero(USD));
   }
 
+  public void test_presentValue_df_list() {
+    Payment payment2 = Payment.of(CurrencyAmount.of(USD, -NOTIONAL_USD / 2), PAYMENT_DATE.plusYears(2));
+    CurrencyAmount computed = PRICER.presentValue(ImmutableList.of(PAYMENT, PAYMENT_PAST, payment2), DISCOUNT_FACTORS);
+    CurrencyAmount expected =
+        PRICER.presentValue(PAYMENT, DISCOUNT_FACTORS).plus(PRICER.presentValue(payment2, DISCOUNT_FACTORS));
+    assertEquals(computed.getCurrency(), USD);
+    assertEquals(computed.getAmount(), expected.getAmount(), NOTIONAL_USD * TOL);
+    assertEquals(PRICER.presentValue(ImmutableList.of(PAYMENT_PAST), DISCOUNT_FACTORS), CurrencyAmount.zero(USD));
+    Payment paymentGbp = Payment.of(CurrencyAmount.of(Currency.GBP, NOTIONAL_USD), PAYMENT_DATE);
+    assertThrowsIllegalArg(() -> PRICER.presentValue(ImmutableList.of(PAYMENT, paymentGbp), DISCOUNT_FACTORS));
+  }
+
   //-------------------------------------------------------------------------
   public void test_presentValueAmount_provider() {
     double computed = PRICER.presentValueAmount(PAYMENT, PROVIDER);
@@ -179,6 +194,21 @@ public class DiscountingPaymentPricerTest {
     assertEquals(computed, PointSensitivities.empty());
   }
 
+  public void test_presentValueSensitivity_df_list() {
+    Payment payment2 = Payment.of(CurrencyAmount.of(USD, -NOTIONAL_USD / 2), PAYMENT_DATE.plusYears(2));
+    PointSensitivities computed = PRICER.presentValueSensitivity(
+        ImmutableList.of(PAYMENT, PAYMENT_PAST, payment2), DISCOUNT_FACTORS).build();
+    PointSensitivities expected = PRICER.presentValueSensitivity(PAYMENT, DISCOUNT_FACTORS)
+        .combinedWith(PRICER.presentValueSensitivity(payment2, DISCOUNT_FACTORS)).build();
+    assertTrue(computed.equalWithTolerance(expected, NOTIONAL_USD * TOL));
+    assertEquals(
+        PRICER.presentValueSensitivity(ImmutableList.of(PAYMENT_PAST), DISCOUNT_FACTORS).build(),
+        PointSensitivities.empty());
+    Payment paymentGbp = Payment.of(CurrencyAmount.of(Currency.GBP, NOTIONAL_USD), PAYMENT_DATE);
+    assertThrowsIllegalArg(
+        () -> PRICER.presentValueSensitivity(ImmutableList.of(PAYMENT, paymentGbp), DISCOUNT_FACTORS));
+  }
+
   //-------------------------------------------------------------------------
   public void test_presentValueSensitivityWithSpread_df_spread_continuous() {
     PointSensitivities point = PRICER.presentValueSensitivityWithSpread(
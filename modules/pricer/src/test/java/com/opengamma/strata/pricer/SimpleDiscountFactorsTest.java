@@ -15,8 +15,10 @@ import static com.opengamma.strata.collect.TestHelper.date;
 import static com.opengamma.strata.pricer.CompoundedRateType.CONTINUOUS;
 import static com.opengamma.strata.pricer.CompoundedRateType.PERIODIC;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import org.testng.annotations.Test;
@@ -95,6 +97,15 @@ public class SimpleDiscountFactorsTest {
     assertEquals(test.discountFactor(DATE_AFTER), expected);
   }
   
+  public void test_discountFactor_batch() {
+    SimpleDiscountFactors test = SimpleDiscountFactors.of(GBP, DATE_VAL, CURVE);
+    DoubleArray yearFractions = DoubleArray.of(0d, 0.25d, 0.5d, 1d, 2.5d, 7d, 12d);
+    DoubleArray computed = test.discountFactor(yearFractions);
+    for (int i = 0; i < yearFractions.size(); i++) {
+      assertEquals(computed.get(i), test.discountFactor(yearFractions.get(i)), 1e-15);
+    }
+  }
+
   public void test_discountFactorTimeDerivative() {
     DiscountFactors test = DiscountFactors.of(GBP, DATE_VAL, CURVE);
     double relativeYearFraction = ACT_365F.relativeYearFraction(DATE_VAL, DATE_AFTER);
@@ -112,6 +123,15 @@ public class SimpleDiscountFactorsTest {
     assertEquals(Math.exp(-zeroRate * relativeYearFraction), discountFactor);
   }
 
+  public void test_zeroRate_batch() {
+    SimpleDiscountFactors test = SimpleDiscountFactors.of(GBP, DATE_VAL, CURVE);
+    DoubleArray yearFractions = DoubleArray.of(0d, 0.25d, 0.5d, 1d, 2.5d, 7d, 12d);
+    DoubleArray computed = test.zeroRate(yearFractions);
+    for (int i = 0; i < yearFractions.size(); i++) {
+      assertEquals(computed.get(i), test.zeroRate(yearFractions.get(i)), 1e-15);
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void test_discountFactor_withSpread_continuous() {
     SimpleDiscountFactors test = SimpleDiscountFactors.of(GBP, DATE_VAL, CURVE);
@@ -156,6 +176,19 @@ public class SimpleDiscountFactorsTest {
     assertEquals(test.zeroRatePointSensitivity(DATE_AFTER, USD), expected);
   }
 
+  public void test_zeroRatePointSensitivity_batch() {
+    SimpleDiscountFactors test = SimpleDiscountFactors.of(GBP, DATE_VAL, CURVE);
+    DoubleArray yearFractions = DoubleArray.of(0d, 0.25d, 0.5d, 1d, 2.5d, 7d, 12d);
+    List<ZeroRateSensitivity> computed = test.zeroRatePointSensitivity(yearFractions, USD);
+    assertEquals(computed.size(), yearFractions.size());
+    for (int i = 0; i < yearFractions.size(); i++) {
+      ZeroRateSensitivity expected = test.zeroRatePointSensitivity(yearFractions.get(i), USD);
+      assertEquals(computed.get(i).getCurrency(), USD);
+      assertEquals(computed.get(i).getYearFraction(), expected.getYearFraction());
+      assertEquals(computed.get(i).getSensitivity(), expected.getSensitivity(), 1e-15);
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void test_zeroRatePointSensitivityWithSpread_continuous() {
     SimpleDiscountFactors test = SimpleDiscountFactors.of(GBP, DATE_VAL, CURVE);
@@ -255,6 +288,21 @@ public class SimpleDiscountFactorsTest {
     assertEquals(test.parameterSensitivity(point).size(), 1);
   }
 
+  public void test_parameterSensitivity_multiple() {
+    SimpleDiscountFactors test = SimpleDiscountFactors.of(GBP, DATE_VAL, CURVE);
+    DoubleArray yearFractions = DoubleArray.of(0d, 0.5d, 1d, 3.25d, 7d);
+    DoubleArray sensitivities = DoubleArray.of(12d, -3d, 250d, 4.5d, -80d);
+    CurrencyParameterSensitivities expected = CurrencyParameterSensitivities.empty();
+    for (int i = 0; i < yearFractions.size(); i++) {
+      ZeroRateSensitivity point = ZeroRateSensitivity.of(GBP, yearFractions.get(i), USD, sensitivities.get(i));
+      expected = expected.combinedWith(test.parameterSensitivity(point));
+    }
+    CurrencyParameterSensitivities computed = test.parameterSensitivity(USD, yearFractions, sensitivities);
+    assertTrue(computed.equalWithTolerance(expected, TOL));
+    assertEquals(test.parameterSensitivity(USD, DoubleArray.EMPTY, DoubleArray.EMPTY), CurrencyParameterSensitivities.empty());
+    assertThrowsIllegalArg(() -> test.parameterSensitivity(USD, yearFractions, DoubleArray.of(1d)));
+  }
+
   //-------------------------------------------------------------------------
   public void test_createParameterSensitivity() {
     SimpleDiscountFactors test = SimpleDiscountFactors.of(GBP, DATE_VAL, CURVE);
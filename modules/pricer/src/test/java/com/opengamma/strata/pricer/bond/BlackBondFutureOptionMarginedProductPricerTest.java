@@ -7,6 +7,7 @@ package com.opengamma.strata.pricer.bond;
 
 import static com.opengamma.strata.basics.currency.Currency.EUR;
 import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.market.curve.interpolator.CurveInterpolators.LINEAR;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertSame;
@@ -294,6 +295,37 @@ public class BlackBondFutureOptionMarginedProductPricerTest {
     }
   }
 
+  //-------------------------------------------------------------------------
+  // the options on the same future share the pricing context of the future
+  public void test_pricingContext() {
+    BondFuturePricingContext context = OPTION_PRICER.pricingContext(FUTURE_OPTION_PRODUCT, RATE_PROVIDER, REF_DATA);
+    assertEquals(context.getFuture(), FUTURE_OPTION_PRODUCT.getUnderlyingFuture());
+    ResolvedBondFutureOption otherStrike = BondDataSets.FUTURE_OPTION_PRODUCT_EUR_115.resolve(REF_DATA);
+    for (ResolvedBondFutureOption option : new ResolvedBondFutureOption[] {FUTURE_OPTION_PRODUCT, otherStrike}) {
+      assertEquals(
+          OPTION_PRICER.price(option, context, VOLS),
+          OPTION_PRICER.price(option, RATE_PROVIDER, VOLS),
+          TOL);
+      assertEquals(
+          OPTION_PRICER.deltaStickyStrike(option, context, VOLS),
+          OPTION_PRICER.deltaStickyStrike(option, RATE_PROVIDER, VOLS),
+          TOL);
+      assertTrue(OPTION_PRICER.priceSensitivityRatesStickyStrike(option, context, VOLS)
+          .equalWithTolerance(OPTION_PRICER.priceSensitivityRatesStickyStrike(option, RATE_PROVIDER, VOLS), TOL));
+      assertEquals(
+          OPTION_PRICER.priceSensitivityModelParamsVolatility(option, context, VOLS),
+          OPTION_PRICER.priceSensitivityModelParamsVolatility(option, RATE_PROVIDER, VOLS));
+    }
+  }
+
+  public void test_pricingContext_otherFuture() {
+    BondFuturePricingContext context = FUTURE_PRICER.pricingContext(
+        BondDataSets.FUTURE_PRODUCT_USD.resolve(REF_DATA),
+        LegalEntityDiscountingProviderDataSets.ISSUER_REPO_ZERO,
+        REF_DATA);
+    assertThrowsIllegalArg(() -> OPTION_PRICER.price(FUTURE_OPTION_PRODUCT, context, VOLS));
+  }
+
   //-------------------------------------------------------------------------
   public void test_marginIndex() {
     double price = 0.12d;
@@ -6,11 +6,17 @@
 package com.opengamma.strata.pricer.bond;
 
 import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_360;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.pricer.CompoundedRateType.CONTINUOUS;
 import static com.opengamma.strata.pricer.CompoundedRateType.PERIODIC;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
+import java.time.LocalDate;
+import java.util.concurrent.ForkJoinPool;
+
 import org.testng.annotations.Test;
 
 import com.opengamma.strata.basics.ReferenceData;
@@ -21,6 +27,7 @@ import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.pricer.datasets.LegalEntityDiscountingProviderDataSets;
 import com.opengamma.strata.pricer.sensitivity.RatesFiniteDifferenceSensitivityCalculator;
+import com.opengamma.strata.product.bond.FixedCouponBondPaymentPeriod;
 import com.opengamma.strata.product.bond.ResolvedBondFuture;
 import com.opengamma.strata.product.bond.ResolvedFixedCouponBond;
 
@@ -120,6 +127,96 @@ public class DiscountingBondFutureProductPricerTest {
     assertTrue(computed.equalWithTolerance(expected, EPS * 10.0));
   }
 
+  //-------------------------------------------------------------------------
+  public void test_pricingContext() {
+    BondFuturePricingContext test = FUTURE_PRICER.pricingContext(FUTURE_PRODUCT, PROVIDER, REF_DATA);
+    assertEquals(test.getFuture(), FUTURE_PRODUCT);
+    assertEquals(test.getCurrency(), USD);
+    assertEquals(test.getValuationDate(), PROVIDER.getValuationDate());
+    assertEquals(test.getPrice(), FUTURE_PRICER.price(FUTURE_PRODUCT, PROVIDER), TOL);
+    assertEquals(test.getCheapestToDeliverIndex(), 0);
+    assertEquals(test.getCheapestToDeliver(), BOND);
+    PointSensitivities expectedSensitivity = FUTURE_PRICER.priceSensitivity(FUTURE_PRODUCT, PROVIDER);
+    assertTrue(test.priceSensitivity().equalWithTolerance(expectedSensitivity, TOL));
+    assertTrue(test.isValidFor(PROVIDER));
+    assertFalse(test.isValidFor(LegalEntityDiscountingProviderDataSets.ISSUER_REPO_SIMPLE));
+    LocalDate deliveryDate = FUTURE_PRODUCT.getLastDeliveryDate();
+    for (int i = 0; i < FUTURE_PRODUCT.getDeliveryBasket().size(); i++) {
+      ResolvedFixedCouponBond bond = FUTURE_PRODUCT.getDeliveryBasket().get(i);
+      LocalDate spotDate = bond.getSettlementDateOffset().adjust(PROVIDER.getValuationDate(), REF_DATA);
+      assertEquals(test.getSpotSettlementDates().get(i), spotDate);
+      assertEquals(
+          test.getSpotCleanPrices().get(i),
+          BOND_PRICER.cleanPriceFromDirtyPrice(
+              bond, spotDate, BOND_PRICER.dirtyPriceFromCurves(bond, PROVIDER, spotDate)),
+          TOL);
+      assertEquals(
+          test.getForwardCleanPrices().get(i),
+          BOND_PRICER.cleanPriceFromDirtyPrice(
+              bond, deliveryDate, BOND_PRICER.dirtyPriceFromCurves(bond, PROVIDER, deliveryDate)),
+          TOL);
+    }
+  }
+
+  public void test_pricingContext_basis() {
+    BondFuturePricingContext test = FUTURE_PRICER.pricingContext(FUTURE_PRODUCT, PROVIDER, REF_DATA);
+    double futurePrice = 1.2;
+    DoubleArray marketPrices = test.getSpotCleanPrices().plus(0.002);
+    DoubleArray grossBasis = test.grossBasis(futurePrice, marketPrices);
+    DoubleArray netBasis = test.netBasis(futurePrice, marketPrices);
+    DoubleArray netBasisCurves = test.netBasis(test.getPrice());
+    for (int i = 0; i < FUTURE_PRODUCT.getDeliveryBasket().size(); i++) {
+      double conversionFactor = CONVERSION_FACTOR[i];
+      assertEquals(grossBasis.get(i), marketPrices.get(i) - futurePrice * conversionFactor, TOL);
+      assertEquals(test.grossBasis(futurePrice).get(i), grossBasis.get(i) - 0.002, TOL);
+      double carry = test.getSpotCleanPrices().get(i) - test.getForwardCleanPrices().get(i);
+      assertEquals(netBasis.get(i), grossBasis.get(i) - carry, TOL);
+      assertEquals(
+          netBasisCurves.get(i), test.getForwardCleanPrices().get(i) - test.getPrice() * conversionFactor, TOL);
+      assertTrue(netBasisCurves.get(i) >= -TOL);
+    }
+    assertEquals(netBasisCurves.get(test.getCheapestToDeliverIndex()), 0d, TOL);
+    assertThrowsIllegalArg(() -> test.grossBasis(futurePrice, DoubleArray.of(1d)));
+  }
+
+  // buying the bond at spot and delivering it earns the implied repo rate
+  public void test_pricingContext_impliedRepoRates() {
+    BondFuturePricingContext test = FUTURE_PRICER.pricingContext(FUTURE_PRODUCT, PROVIDER, REF_DATA);
+    double futurePrice = 1.2;
+    DoubleArray marketPrices = test.getSpotCleanPrices().plus(0.002);
+    DoubleArray repoRates = test.impliedRepoRates(futurePrice, marketPrices, ACT_360);
+    LocalDate deliveryDate = FUTURE_PRODUCT.getLastDeliveryDate();
+    for (int i = 0; i < FUTURE_PRODUCT.getDeliveryBasket().size(); i++) {
+      ResolvedFixedCouponBond bond = FUTURE_PRODUCT.getDeliveryBasket().get(i);
+      LocalDate spotDate = test.getSpotSettlementDates().get(i);
+      double rate = repoRates.get(i);
+      double spotDirtyPrice = BOND_PRICER.dirtyPriceFromCleanPrice(bond, spotDate, marketPrices.get(i));
+      double proceeds = BOND_PRICER.dirtyPriceFromCleanPrice(bond, deliveryDate, futurePrice * CONVERSION_FACTOR[i]);
+      for (FixedCouponBondPaymentPeriod period : bond.getPeriodicPayments()) {
+        if (period.getDetachmentDate().isAfter(spotDate) && !period.getDetachmentDate().isAfter(deliveryDate)) {
+          double coupon = period.getFixedRate() * period.getYearFraction();
+          proceeds += coupon * (1d + rate * ACT_360.yearFraction(period.getPaymentDate(), deliveryDate));
+        }
+      }
+      assertEquals(spotDirtyPrice * (1d + rate * ACT_360.yearFraction(spotDate, deliveryDate)), proceeds, TOL);
+    }
+    assertEquals(
+        test.impliedRepoRates(futurePrice, ACT_360),
+        test.impliedRepoRates(futurePrice, test.getSpotCleanPrices(), ACT_360));
+  }
+
+  public void test_pricingContext_executor() {
+    DiscountingBondFutureProductPricer parallelPricer = FUTURE_PRICER.withExecutor(ForkJoinPool.commonPool());
+    BondFuturePricingContext test = parallelPricer.pricingContext(FUTURE_PRODUCT, PROVIDER, REF_DATA);
+    BondFuturePricingContext expected = FUTURE_PRICER.pricingContext(FUTURE_PRODUCT, PROVIDER, REF_DATA);
+    assertEquals(test.getPrice(), expected.getPrice());
+    assertEquals(test.getCheapestToDeliverIndex(), expected.getCheapestToDeliverIndex());
+    assertEquals(test.getSpotCleanPrices(), expected.getSpotCleanPrices());
+    assertEquals(test.getForwardCleanPrices(), expected.getForwardCleanPrices());
+    assertEquals(test.impliedRepoRates(1.2, ACT_360), expected.impliedRepoRates(1.2, ACT_360));
+    assertEquals(parallelPricer.price(FUTURE_PRODUCT, PROVIDER), FUTURE_PRICER.price(FUTURE_PRODUCT, PROVIDER));
+  }
+
   //-------------------------------------------------------------------------
   // regression to 2.x
   public void regression() {
@@ -0,0 +1,275 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.bond;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static com.opengamma.strata.pricer.CompoundedRateType.CONTINUOUS;
+import static com.opengamma.strata.pricer.CompoundedRateType.PERIODIC;
+import static org.testng.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.date.BusinessDayAdjustment;
+import com.opengamma.strata.basics.date.BusinessDayConventions;
+import com.opengamma.strata.basics.date.DaysAdjustment;
+import com.opengamma.strata.basics.date.HolidayCalendarId;
+import com.opengamma.strata.basics.date.HolidayCalendarIds;
+import com.opengamma.strata.basics.schedule.Frequency;
+import com.opengamma.strata.basics.schedule.PeriodicSchedule;
+import com.opengamma.strata.basics.schedule.StubConvention;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.LegalEntityGroup;
+import com.opengamma.strata.market.curve.RepoGroup;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.pricer.ZeroRateDiscountFactors;
+import com.opengamma.strata.product.LegalEntityId;
+import com.opengamma.strata.product.SecurityId;
+import com.opengamma.strata.product.bond.FixedCouponBond;
+import com.opengamma.strata.product.bond.FixedCouponBondYieldConvention;
+import com.opengamma.strata.product.bond.ResolvedFixedCouponBond;
+
+/**
+ * Test {@link DiscountingFixedCouponBondInventoryPricer}.
+ */
+@Test
+public class DiscountingFixedCouponBondInventoryPricerTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LegalEntityId ISSUER_ID = LegalEntityId.of("OG-Ticker", "GOVT1");
+  private static final LocalDate VAL_DATE = date(2016, 4, 25);
+  private static final HolidayCalendarId EUR_CALENDAR = HolidayCalendarIds.EUTA;
+  private static final DaysAdjustment DATE_OFFSET = DaysAdjustment.ofBusinessDays(3, EUR_CALENDAR);
+  private static final BusinessDayAdjustment BUSINESS_ADJUST =
+      BusinessDayAdjustment.of(BusinessDayConventions.MODIFIED_FOLLOWING, EUR_CALENDAR);
+  private static final DaysAdjustment EX_COUPON = DaysAdjustment.ofBusinessDays(-5, EUR_CALENDAR, BUSINESS_ADJUST);
+  private static final LocalDate SETTLEMENT = DATE_OFFSET.adjust(VAL_DATE, REF_DATA);
+  private static final RepoGroup GROUP_REPO = RepoGroup.of("GOVT1 BOND1");
+  private static final LegalEntityGroup GROUP_ISSUER = LegalEntityGroup.of("GOVT1");
+  private static final ImmutableList<ResolvedFixedCouponBond> BONDS = ImmutableList.of(
+      bond(0, 0.015, FixedCouponBondYieldConvention.DE_BONDS, true, date(2015, 4, 12), date(2025, 4, 12)),
+      bond(1, 0.015, FixedCouponBondYieldConvention.DE_BONDS, false, date(2015, 4, 12), date(2025, 4, 12)),
+      bond(2, 0.04, FixedCouponBondYieldConvention.US_STREET, false, date(2011, 11, 15), date(2021, 11, 15)),
+      bond(3, 0.025, FixedCouponBondYieldConvention.GB_BUMP_DMO, true, date(2014, 9, 7), date(2024, 9, 7)),
+      bond(4, 0.008, FixedCouponBondYieldConvention.JP_SIMPLE, false, date(2015, 3, 20), date(2022, 3, 20)),
+      bond(5, 0.03, FixedCouponBondYieldConvention.US_STREET, false, date(2011, 7, 31), date(2016, 7, 31)),
+      bond(6, 0d, FixedCouponBondYieldConvention.US_STREET, false, date(2015, 1, 15), date(2020, 1, 15)));
+
+  // rates provider
+  private static final InterpolatedNodalCurve CURVE_REPO = InterpolatedNodalCurve.of(
+      Curves.zeroRates("TestRepoCurve", ACT_365F),
+      DoubleArray.of(0.1, 2.0, 10.0),
+      DoubleArray.of(0.05, 0.06, 0.09),
+      CurveInterpolators.LINEAR);
+  private static final InterpolatedNodalCurve CURVE_ISSUER = InterpolatedNodalCurve.of(
+      Curves.zeroRates("TestIssuerCurve", ACT_365F),
+      DoubleArray.of(0.2, 9.0, 15.0),
+      DoubleArray.of(0.03, 0.05, 0.13),
+      CurveInterpolators.LINEAR);
+  private static final LegalEntityDiscountingProvider PROVIDER = provider(BONDS);
+
+  private static final double Z_SPREAD = 0.035;
+  private static final int PERIOD_PER_YEAR = 4;
+  private static final double TOL = 1.0e-12;
+
+  // pricers
+  private static final DiscountingFixedCouponBondProductPricer PRICER = DiscountingFixedCouponBondProductPricer.DEFAULT;
+  private static final DiscountingFixedCouponBondInventoryPricer INVENTORY_PRICER =
+      DiscountingFixedCouponBondInventoryPricer.DEFAULT;
+
+  //-------------------------------------------------------------------------
+  public void test_compile() {
+    FixedCouponBondInventory inventory = INVENTORY_PRICER.compile(BONDS, SETTLEMENT);
+    assertEquals(inventory.getSettlementDate(), SETTLEMENT);
+    assertEquals(inventory.getBonds(), BONDS);
+    assertEquals(inventory.size(), BONDS.size());
+  }
+
+  public void test_cleanDirtyPrices() {
+    FixedCouponBondInventory inventory = INVENTORY_PRICER.compile(BONDS, SETTLEMENT);
+    DoubleArray cleanPrices = DoubleArray.of(BONDS.size(), i -> 0.95 + 0.01 * i);
+    DoubleArray dirtyPrices = INVENTORY_PRICER.dirtyPricesFromCleanPrices(inventory, cleanPrices);
+    for (int i = 0; i < BONDS.size(); i++) {
+      double expected = PRICER.dirtyPriceFromCleanPrice(BONDS.get(i), SETTLEMENT, cleanPrices.get(i));
+      assertEquals(dirtyPrices.get(i), expected, TOL);
+    }
+    DoubleArray computed = INVENTORY_PRICER.cleanPricesFromDirtyPrices(inventory, dirtyPrices);
+    assertEquals(computed.equalWithTolerance(cleanPrices, TOL), true);
+    assertThrowsIllegalArg(() -> INVENTORY_PRICER.cleanPricesFromDirtyPrices(inventory, DoubleArray.of(1d)));
+  }
+
+  public void test_yields() {
+    FixedCouponBondInventory inventory = INVENTORY_PRICER.compile(BONDS, SETTLEMENT);
+    DoubleArray yields = DoubleArray.of(BONDS.size(), i -> 0.005 + 0.004 * i);
+    DoubleArray dirtyPrices = INVENTORY_PRICER.dirtyPricesFromYields(inventory, yields);
+    DoubleArray computedYields = INVENTORY_PRICER.yieldsFromDirtyPrices(inventory, dirtyPrices);
+    for (int i = 0; i < BONDS.size(); i++) {
+      double expectedPrice = PRICER.dirtyPriceFromYield(BONDS.get(i), SETTLEMENT, yields.get(i));
+      assertEquals(dirtyPrices.get(i), expectedPrice, TOL);
+      double expectedYield = PRICER.yieldFromDirtyPrice(BONDS.get(i), SETTLEMENT, dirtyPrices.get(i));
+      assertEquals(computedYields.get(i), expectedYield, TOL);
+      assertEquals(computedYields.get(i), yields.get(i), TOL);
+    }
+  }
+
+  public void test_zSpreads_continuous() {
+    FixedCouponBondInventory inventory = INVENTORY_PRICER.compile(BONDS, SETTLEMENT);
+    DoubleArray zSpreads = DoubleArray.filled(BONDS.size(), Z_SPREAD);
+    DoubleArray dirtyPrices =
+        INVENTORY_PRICER.dirtyPricesFromCurvesWithZSpreads(inventory, PROVIDER, zSpreads, CONTINUOUS, 0);
+    DoubleArray computed = INVENTORY_PRICER.zSpreadsFromCurvesAndDirtyPrices(
+        inventory, PROVIDER, dirtyPrices, CONTINUOUS, 0);
+    DoubleArray dirtyPricesNoSpread = INVENTORY_PRICER.dirtyPricesFromCurves(inventory, PROVIDER);
+    for (int i = 0; i < BONDS.size(); i++) {
+      double expectedPrice = PRICER.dirtyPriceFromCurvesWithZSpread(
+          BONDS.get(i), PROVIDER, Z_SPREAD, CONTINUOUS, 0, SETTLEMENT);
+      assertEquals(dirtyPrices.get(i), expectedPrice, TOL);
+      assertEquals(dirtyPricesNoSpread.get(i), PRICER.dirtyPriceFromCurves(BONDS.get(i), PROVIDER, SETTLEMENT), TOL);
+      assertEquals(computed.get(i), Z_SPREAD, TOL);
+    }
+  }
+
+  public void test_zSpreads_periodic() {
+    FixedCouponBondInventory inventory = INVENTORY_PRICER.compile(BONDS, SETTLEMENT);
+    DoubleArray zSpreads = DoubleArray.of(BONDS.size(), i -> Z_SPREAD - 0.005 * i);
+    DoubleArray dirtyPrices = INVENTORY_PRICER.dirtyPricesFromCurvesWithZSpreads(
+        inventory, PROVIDER, zSpreads, PERIODIC, PERIOD_PER_YEAR);
+    DoubleArray computed = INVENTORY_PRICER.zSpreadsFromCurvesAndDirtyPrices(
+        inventory, PROVIDER, dirtyPrices, PERIODIC, PERIOD_PER_YEAR);
+    for (int i = 0; i < BONDS.size(); i++) {
+      double expectedPrice = PRICER.dirtyPriceFromCurvesWithZSpread(
+          BONDS.get(i), PROVIDER, zSpreads.get(i), PERIODIC, PERIOD_PER_YEAR, SETTLEMENT);
+      assertEquals(dirtyPrices.get(i), expectedPrice, TOL);
+      assertEquals(computed.get(i), zSpreads.get(i), TOL);
+    }
+  }
+
+  public void test_executor() {
+    List<ResolvedFixedCouponBond> bonds = inventory(2000);
+    LegalEntityDiscountingProvider provider = provider(bonds);
+    DiscountingFixedCouponBondInventoryPricer parallelPricer =
+        INVENTORY_PRICER.withExecutor(ForkJoinPool.commonPool());
+    FixedCouponBondInventory inventory = parallelPricer.compile(bonds, SETTLEMENT);
+    assertEquals(inventory.getBonds(), bonds);
+    DoubleArray dirtyPrices = parallelPricer.dirtyPricesFromCurves(inventory, provider);
+    assertEquals(dirtyPrices, INVENTORY_PRICER.dirtyPricesFromCurves(inventory, provider));
+    assertEquals(
+        parallelPricer.yieldsFromDirtyPrices(inventory, dirtyPrices),
+        INVENTORY_PRICER.yieldsFromDirtyPrices(inventory, dirtyPrices));
+    assertEquals(
+        parallelPricer.zSpreadsFromCurvesAndDirtyPrices(inventory, provider, dirtyPrices, CONTINUOUS, 0),
+        INVENTORY_PRICER.zSpreadsFromCurvesAndDirtyPrices(inventory, provider, dirtyPrices, CONTINUOUS, 0));
+  }
+
+  //-------------------------------------------------------------------------
+  @SuppressWarnings("unused")
+  @Test(enabled = false)
+  void performance() {
+    long startTime, endTime;
+    int nbBonds = 50_000;
+    int nbRep = 3;
+    double count = 0d;
+    List<ResolvedFixedCouponBond> bonds = inventory(nbBonds);
+    LegalEntityDiscountingProvider provider = provider(bonds);
+    DoubleArray yields = DoubleArray.filled(nbBonds, 0.03);
+    DiscountingFixedCouponBondInventoryPricer parallelPricer =
+        INVENTORY_PRICER.withExecutor(ForkJoinPool.commonPool());
+
+    for (int i = 0; i < nbRep; i++) {
+      startTime = System.currentTimeMillis();
+      for (int j = 0; j < nbBonds; j++) {
+        ResolvedFixedCouponBond bond = bonds.get(j);
+        double price = PRICER.dirtyPriceFromYield(bond, SETTLEMENT, yields.get(j));
+        count += PRICER.yieldFromDirtyPrice(bond, SETTLEMENT, price);
+        count += PRICER.cleanPriceFromDirtyPrice(bond, SETTLEMENT, price);
+        count += PRICER.zSpreadFromCurvesAndDirtyPrice(bond, provider, REF_DATA, price, CONTINUOUS, 0);
+      }
+      endTime = System.currentTimeMillis();
+      System.out.println("Performance: " + nbBonds + " bonds, price, yield and z-spread per bond in " +
+          (endTime - startTime) + " ms.");
+
+      for (DiscountingFixedCouponBondInventoryPricer pricer : ImmutableList.of(INVENTORY_PRICER, parallelPricer)) {
+        startTime = System.currentTimeMillis();
+        FixedCouponBondInventory inventory = pricer.compile(bonds, SETTLEMENT);
+        DoubleArray prices = pricer.dirtyPricesFromYields(inventory, yields);
+        count += pricer.yieldsFromDirtyPrices(inventory, prices).sum();
+        count += pricer.cleanPricesFromDirtyPrices(inventory, prices).sum();
+        count += pricer.zSpreadsFromCurvesAndDirtyPrices(inventory, provider, prices, CONTINUOUS, 0).sum();
+        endTime = System.currentTimeMillis();
+        System.out.println("Performance: " + nbBonds + " bonds, price, yield and z-spread by inventory (" +
+            (pricer == INVENTORY_PRICER ? "sequential" : "parallel") + ") in " + (endTime - startTime) + " ms.");
+      }
+    }
+    System.out.println("Avoiding hotspot: " + count);
+  }
+
+  //-------------------------------------------------------------------------
+  // creates a bond with the security identifier derived from the index
+  private static ResolvedFixedCouponBond bond(
+      int index,
+      double fixedRate,
+      FixedCouponBondYieldConvention yieldConvention,
+      boolean exCoupon,
+      LocalDate startDate,
+      LocalDate endDate) {
+
+    FixedCouponBond.Builder builder = FixedCouponBond.builder()
+        .securityId(SecurityId.of("OG-Ticker", "GOVT1-BOND" + index))
+        .dayCount(ACT_365F)
+        .fixedRate(fixedRate)
+        .legalEntityId(ISSUER_ID)
+        .currency(EUR)
+        .notional(1.0e7)
+        .accrualSchedule(PeriodicSchedule.of(
+            startDate, endDate, Frequency.P6M, BUSINESS_ADJUST, StubConvention.SHORT_INITIAL, false))
+        .settlementDateOffset(DATE_OFFSET)
+        .yieldConvention(yieldConvention);
+    if (exCoupon) {
+      builder.exCouponPeriod(EX_COUPON);
+    }
+    return builder.build().resolve(REF_DATA);
+  }
+
+  // creates an inventory of bonds with different maturities and coupons
+  private static List<ResolvedFixedCouponBond> inventory(int size) {
+    List<ResolvedFixedCouponBond> bonds = new ArrayList<>(size);
+    FixedCouponBondYieldConvention[] conventions = FixedCouponBondYieldConvention.values();
+    for (int i = 0; i < size; i++) {
+      LocalDate startDate = date(2010, 1, 15).plusMonths(i % 72);
+      LocalDate endDate = startDate.plusYears(5 + i % 25);
+      bonds.add(bond(i, 0.005 * (i % 12), conventions[i % conventions.length], i % 2 == 0, startDate, endDate));
+    }
+    return bonds;
+  }
+
+  // creates the provider, all the bonds having the same repo curve
+  private static LegalEntityDiscountingProvider provider(List<ResolvedFixedCouponBond> bonds) {
+    ImmutableMap.Builder<SecurityId, RepoGroup> repoGroups = ImmutableMap.builder();
+    bonds.forEach(bond -> repoGroups.put(bond.getSecurityId(), GROUP_REPO));
+    return ImmutableLegalEntityDiscountingProvider.builder()
+        .issuerCurves(ImmutableMap.of(
+            Pair.of(GROUP_ISSUER, EUR), ZeroRateDiscountFactors.of(EUR, VAL_DATE, CURVE_ISSUER)))
+        .issuerCurveGroups(ImmutableMap.of(ISSUER_ID, GROUP_ISSUER))
+        .repoCurves(ImmutableMap.of(Pair.of(GROUP_REPO, EUR), ZeroRateDiscountFactors.of(EUR, VAL_DATE, CURVE_REPO)))
+        .repoCurveSecurityGroups(repoGroups.build())
+        .valuationDate(VAL_DATE)
+        .build();
+  }
+
+}
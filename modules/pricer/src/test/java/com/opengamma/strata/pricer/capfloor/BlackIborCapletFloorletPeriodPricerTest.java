@@ -219,6 +219,22 @@ public class BlackIborCapletFloorletPeriodPricerTest {
     assertEquals(computedFloorlet.getAmount(), 0d, NOTIONAL * TOL);
   }
 
+  public void test_presentValue_forwardDiscountFactor() {
+    for (IborCapletFloorletPeriod period : new IborCapletFloorletPeriod[] {CAPLET_LONG, FLOORLET_SHORT}) {
+      double forward = RATES.iborIndexRates(EUR_EURIBOR_3M).rate(RATE_COMP.getObservation());
+      double df = RATES.discountFactor(EUR, period.getPaymentDate());
+      assertEquals(PRICER.presentValue(period, forward, df, VOLS), PRICER.presentValue(period, RATES, VOLS));
+      assertEquals(
+          PRICER.presentValueSensitivityModelParamsVolatility(period, forward, df, VOLS).build(),
+          PRICER.presentValueSensitivityModelParamsVolatility(period, RATES, VOLS).build());
+      double dfAfterFix = RATES_AFTER_FIX.discountFactor(EUR, period.getPaymentDate());
+      assertEquals(
+          PRICER.presentValue(period, OBS_INDEX, dfAfterFix, VOLS_AFTER_FIX),
+          PRICER.presentValue(period, RATES_AFTER_FIX, VOLS_AFTER_FIX));
+    }
+    assertThrowsIllegalArg(() -> PRICER.presentValue(CAPLET_LONG, 0.01, 1d, VOLS_NORMAL));
+  }
+
   public void test_presentValue_formula_shift() {
     CurrencyAmount computedCaplet = PRICER.presentValue(CAPLET_LONG, RATES, SHIFTED_VOLS);
     CurrencyAmount computedFloorlet = PRICER.presentValue(FLOORLET_SHORT, RATES, SHIFTED_VOLS);
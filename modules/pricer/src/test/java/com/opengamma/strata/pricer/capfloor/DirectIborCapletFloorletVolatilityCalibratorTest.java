@@ -15,10 +15,14 @@ import static org.testng.Assert.assertTrue;
 
 import java.time.Period;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.testng.annotations.Test;
 
 import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.collect.tuple.Pair;
@@ -29,6 +33,7 @@ import com.opengamma.strata.market.surface.Surface;
 import com.opengamma.strata.market.surface.Surfaces;
 import com.opengamma.strata.market.surface.interpolator.GridSurfaceInterpolator;
 import com.opengamma.strata.pricer.option.RawOptionData;
+import com.opengamma.strata.product.capfloor.IborCapletFloorletPeriod;
 import com.opengamma.strata.product.capfloor.ResolvedIborCapFloorLeg;
 
 /**
@@ -82,6 +87,58 @@ public class DirectIborCapletFloorletVolatilityCalibratorTest
     assertEquals(resVols.getValuationDateTime(), CALIBRATION_TIME);
   }
 
+  public void test_executor() {
+    DirectIborCapletFloorletVolatilityDefinition definition = DirectIborCapletFloorletVolatilityDefinition.of(
+        NAME, USD_LIBOR_3M, ACT_ACT_ISDA, 0.07, 0.07, INTERPOLATOR);
+    RawOptionData data = blackData();
+    IborCapletFloorletVolatilityCalibrationResult res =
+        CALIBRATOR.calibrate(definition, CALIBRATION_TIME, data, RATES_PROVIDER);
+    IborCapletFloorletVolatilityCalibrationResult resParallel = CALIBRATOR.withExecutor(ForkJoinPool.commonPool())
+        .calibrate(definition, CALIBRATION_TIME, data, RATES_PROVIDER);
+    assertEquals(resParallel, res);
+  }
+
+  // starting from the calibrated volatilities, the fit prices the caps fewer times than from the standard guess
+  public void test_warmStart() {
+    AtomicInteger count = new AtomicInteger();
+    VolatilityIborCapletFloorletPeriodPricer periodPricer = new VolatilityIborCapletFloorletPeriodPricer() {
+      @Override
+      public CurrencyAmount presentValue(
+          IborCapletFloorletPeriod period,
+          double forward,
+          double discountFactor,
+          IborCapletFloorletVolatilities volatilities) {
+
+        count.incrementAndGet();
+        return super.presentValue(period, forward, discountFactor, volatilities);
+      }
+    };
+    DirectIborCapletFloorletVolatilityCalibrator calibrator = DirectIborCapletFloorletVolatilityCalibrator.of(
+        new VolatilityIborCapFloorLegPricer(periodPricer), 1.0e-8, ReferenceData.standard());
+    DirectIborCapletFloorletVolatilityDefinition definition = DirectIborCapletFloorletVolatilityDefinition.of(
+        NAME, USD_LIBOR_3M, ACT_ACT_ISDA, 0.07, 0.07, INTERPOLATOR);
+    RawOptionData data = blackData();
+    IborCapletFloorletVolatilityCalibrationResult res =
+        calibrator.calibrate(definition, CALIBRATION_TIME, data, RATES_PROVIDER);
+    assertEquals(res, CALIBRATOR.calibrate(definition, CALIBRATION_TIME, data, RATES_PROVIDER));
+    int coldCount = count.getAndSet(0);
+    calibrator.calibrate(definition, CALIBRATION_TIME, data, RATES_PROVIDER, res.getVolatilities());
+    assertTrue(count.get() < coldCount);
+    // volatilities of another type are ignored
+    ConstantSurface volSurface =
+        ConstantSurface.of(Surfaces.normalVolatilityByExpiryStrike("test", ACT_ACT_ISDA), 0.01);
+    NormalIborCapletFloorletExpiryStrikeVolatilities normalVols =
+        NormalIborCapletFloorletExpiryStrikeVolatilities.of(USD_LIBOR_3M, CALIBRATION_TIME, volSurface);
+    assertEquals(calibrator.calibrate(definition, CALIBRATION_TIME, data, RATES_PROVIDER, normalVols), res);
+  }
+
+  private static RawOptionData blackData() {
+    ImmutableList<Period> maturities = createBlackMaturities();
+    DoubleArray strikes = createBlackStrikes();
+    DoubleMatrix errorMatrix = DoubleMatrix.filled(maturities.size(), strikes.size(), 1.0e-5);
+    return RawOptionData.of(maturities, strikes, STRIKE, createFullBlackDataMatrix(), errorMatrix, BLACK_VOLATILITY);
+  }
+
   public void recovery_test_shiftedBlack() {
     double lambdaT = 0.07;
     double lambdaK = 0.07;
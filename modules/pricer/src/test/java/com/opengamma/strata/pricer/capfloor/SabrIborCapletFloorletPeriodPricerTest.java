@@ -490,6 +490,21 @@ public class SabrIborCapletFloorletPeriodPricerTest {
     assertEquals(pointFloorletVol.getSensitivities().get(0), pointFloorletVolExp);
   }
 
+  public void test_presentValueSensitivityVolatility_forwardDiscountFactor() {
+    for (IborCapletFloorletPeriod period : new IborCapletFloorletPeriod[] {CAPLET_LONG, FLOORLET_SHORT}) {
+      double forward = RATES.iborIndexRates(EUR_EURIBOR_3M).rate(RATE_COMP.getObservation());
+      double df = RATES.discountFactor(EUR, period.getPaymentDate());
+      assertEquals(PRICER.presentValue(period, forward, df, VOLS), PRICER.presentValue(period, RATES, VOLS));
+      assertEquals(
+          PRICER.presentValueSensitivityModelParamsSabr(period, forward, df, VOLS).build(),
+          PRICER.presentValueSensitivityModelParamsSabr(period, RATES, VOLS).build());
+      assertEquals(
+          PRICER.presentValueSensitivityModelParamsVolatility(period, forward, df, VOLS).build(),
+          PRICER.presentValueSensitivityModelParamsVolatility(period, RATES, VOLS).build());
+    }
+    assertThrowsIllegalArg(() -> PRICER.presentValue(CAPLET_LONG, 0.01, 1d, VOLS_BLACK));
+  }
+
   private void assertSensitivity(PointSensitivities points, SabrParameterType type, double expected, double tol) {
     for (PointSensitivity point : points.getSensitivities()) {
       IborCapletFloorletSabrSensitivity sens = (IborCapletFloorletSabrSensitivity) point;
@@ -12,9 +12,13 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.testng.annotations.Test;
 
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.market.ValueType;
@@ -24,6 +28,7 @@ import com.opengamma.strata.market.surface.ConstantSurface;
 import com.opengamma.strata.market.surface.Surfaces;
 import com.opengamma.strata.pricer.impl.volatility.smile.SabrHaganVolatilityFunctionProvider;
 import com.opengamma.strata.pricer.option.RawOptionData;
+import com.opengamma.strata.product.capfloor.IborCapletFloorletPeriod;
 import com.opengamma.strata.product.capfloor.ResolvedIborCapFloorLeg;
 
 /**
@@ -122,6 +127,67 @@ public class SabrIborCapletFloorletVolatilityBootstrapperTest extends CapletStri
     assertEquals(resVols.getParameters().getRhoCurve(), definition.getRhoCurve().get());
   }
 
+  public void test_executor() {
+    SabrIborCapletFloorletVolatilityBootstrapDefinition definition = fixedBetaDefinition();
+    RawOptionData data = blackData();
+    IborCapletFloorletVolatilityCalibrationResult res =
+        CALIBRATOR.calibrate(definition, CALIBRATION_TIME, data, RATES_PROVIDER);
+    IborCapletFloorletVolatilityCalibrationResult resParallel = CALIBRATOR.withExecutor(ForkJoinPool.commonPool())
+        .calibrate(definition, CALIBRATION_TIME, data, RATES_PROVIDER);
+    assertEquals(resParallel, res);
+  }
+
+  // starting each expiry from the calibrated parameters, the fits price the caplets fewer times
+  public void test_warmStart() {
+    AtomicInteger count = new AtomicInteger();
+    SabrIborCapletFloorletPeriodPricer periodPricer = new SabrIborCapletFloorletPeriodPricer() {
+      @Override
+      public CurrencyAmount presentValue(
+          IborCapletFloorletPeriod period,
+          double forward,
+          double discountFactor,
+          IborCapletFloorletVolatilities volatilities) {
+
+        count.incrementAndGet();
+        return super.presentValue(period, forward, discountFactor, volatilities);
+      }
+    };
+    SabrIborCapletFloorletVolatilityBootstrapper calibrator = SabrIborCapletFloorletVolatilityBootstrapper.of(
+        VolatilityIborCapFloorLegPricer.DEFAULT, periodPricer, 1.0e-10, ReferenceData.standard());
+    SabrIborCapletFloorletVolatilityBootstrapDefinition definition = fixedBetaDefinition();
+    RawOptionData data = blackData();
+    IborCapletFloorletVolatilityCalibrationResult res =
+        calibrator.calibrate(definition, CALIBRATION_TIME, data, RATES_PROVIDER);
+    assertEquals(res, CALIBRATOR.calibrate(definition, CALIBRATION_TIME, data, RATES_PROVIDER));
+    int coldCount = count.getAndSet(0);
+    calibrator.calibrate(definition, CALIBRATION_TIME, data, RATES_PROVIDER, res.getVolatilities());
+    assertTrue(count.get() < coldCount);
+    // volatilities which are not SABR are ignored
+    ConstantSurface volSurface = ConstantSurface.of(Surfaces.blackVolatilityByExpiryStrike("test", ACT_ACT_ISDA), 0.3);
+    BlackIborCapletFloorletExpiryStrikeVolatilities blackVols =
+        BlackIborCapletFloorletExpiryStrikeVolatilities.of(USD_LIBOR_3M, CALIBRATION_TIME, volSurface);
+    assertEquals(calibrator.calibrate(definition, CALIBRATION_TIME, data, RATES_PROVIDER, blackVols), res);
+  }
+
+  private static SabrIborCapletFloorletVolatilityBootstrapDefinition fixedBetaDefinition() {
+    return SabrIborCapletFloorletVolatilityBootstrapDefinition.ofFixedBeta(
+        IborCapletFloorletVolatilitiesName.of("test"),
+        USD_LIBOR_3M,
+        ACT_ACT_ISDA,
+        0.85,
+        CurveInterpolators.STEP_UPPER,
+        CurveExtrapolators.FLAT,
+        CurveExtrapolators.FLAT,
+        SabrHaganVolatilityFunctionProvider.DEFAULT);
+  }
+
+  private static RawOptionData blackData() {
+    DoubleMatrix volData = createFullBlackDataMatrix();
+    DoubleMatrix error = DoubleMatrix.filled(volData.rowCount(), volData.columnCount(), 1.0e-3);
+    return RawOptionData.of(
+        createBlackMaturities(), createBlackStrikes(), ValueType.STRIKE, volData, error, ValueType.BLACK_VOLATILITY);
+  }
+
   public void test_invalid_data() {
     SabrIborCapletFloorletVolatilityBootstrapDefinition definition =
         SabrIborCapletFloorletVolatilityBootstrapDefinition.ofFixedBeta(
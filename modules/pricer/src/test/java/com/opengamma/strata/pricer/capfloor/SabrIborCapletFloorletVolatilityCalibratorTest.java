@@ -12,13 +12,18 @@ import static com.opengamma.strata.market.curve.interpolator.CurveInterpolators.
 import static com.opengamma.strata.market.curve.interpolator.CurveInterpolators.LINEAR;
 import static com.opengamma.strata.market.curve.interpolator.CurveInterpolators.PCHIP;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import java.time.Period;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.testng.annotations.Test;
 
 import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.collect.tuple.Pair;
@@ -27,6 +32,7 @@ import com.opengamma.strata.market.surface.ConstantSurface;
 import com.opengamma.strata.market.surface.Surfaces;
 import com.opengamma.strata.pricer.model.SabrVolatilityFormula;
 import com.opengamma.strata.pricer.option.RawOptionData;
+import com.opengamma.strata.product.capfloor.IborCapletFloorletPeriod;
 import com.opengamma.strata.product.capfloor.ResolvedIborCapFloorLeg;
 
 /**
@@ -83,6 +89,64 @@ public class SabrIborCapletFloorletVolatilityCalibratorTest
     assertEquals(resVols.getParameters().getBetaCurve(), definition.getBetaCurve().get());
   }
 
+  public void test_executor() {
+    SabrIborCapletFloorletVolatilityCalibrationDefinition definition = fixedBetaDefinition();
+    RawOptionData data = blackData();
+    IborCapletFloorletVolatilityCalibrationResult res =
+        CALIBRATOR.calibrate(definition, CALIBRATION_TIME, data, RATES_PROVIDER);
+    IborCapletFloorletVolatilityCalibrationResult resParallel = CALIBRATOR.withExecutor(ForkJoinPool.commonPool())
+        .calibrate(definition, CALIBRATION_TIME, data, RATES_PROVIDER);
+    assertEquals(resParallel, res);
+  }
+
+  // starting from the calibrated parameters, the fit prices the caps fewer times than from the initial parameters
+  public void test_warmStart() {
+    AtomicInteger count = new AtomicInteger();
+    SabrIborCapletFloorletPeriodPricer periodPricer = new SabrIborCapletFloorletPeriodPricer() {
+      @Override
+      public CurrencyAmount presentValue(
+          IborCapletFloorletPeriod period,
+          double forward,
+          double discountFactor,
+          IborCapletFloorletVolatilities volatilities) {
+
+        count.incrementAndGet();
+        return super.presentValue(period, forward, discountFactor, volatilities);
+      }
+    };
+    SabrIborCapletFloorletVolatilityCalibrator calibrator = SabrIborCapletFloorletVolatilityCalibrator.of(
+        VolatilityIborCapFloorLegPricer.DEFAULT,
+        new SabrIborCapFloorLegPricer(periodPricer),
+        1.0e-10,
+        ReferenceData.standard());
+    SabrIborCapletFloorletVolatilityCalibrationDefinition definition = fixedBetaDefinition();
+    RawOptionData data = blackData();
+    IborCapletFloorletVolatilityCalibrationResult res =
+        calibrator.calibrate(definition, CALIBRATION_TIME, data, RATES_PROVIDER);
+    assertEquals(res, CALIBRATOR.calibrate(definition, CALIBRATION_TIME, data, RATES_PROVIDER));
+    int coldCount = count.getAndSet(0);
+    calibrator.calibrate(definition, CALIBRATION_TIME, data, RATES_PROVIDER, res.getVolatilities());
+    assertTrue(count.get() < coldCount);
+    // volatilities which are not SABR are ignored
+    ConstantSurface volSurface = ConstantSurface.of(Surfaces.blackVolatilityByExpiryStrike("test", ACT_ACT_ISDA), 0.3);
+    BlackIborCapletFloorletExpiryStrikeVolatilities blackVols =
+        BlackIborCapletFloorletExpiryStrikeVolatilities.of(USD_LIBOR_3M, CALIBRATION_TIME, volSurface);
+    assertEquals(calibrator.calibrate(definition, CALIBRATION_TIME, data, RATES_PROVIDER, blackVols), res);
+  }
+
+  private static SabrIborCapletFloorletVolatilityCalibrationDefinition fixedBetaDefinition() {
+    return SabrIborCapletFloorletVolatilityCalibrationDefinition.ofFixedBeta(
+        NAME, USD_LIBOR_3M, ACT_ACT_ISDA, 0.7, ALPHA_KNOTS, BETA_RHO_KNOTS, NU_KNOTS,
+        DOUBLE_QUADRATIC, FLAT, FLAT, HAGAN);
+  }
+
+  private static RawOptionData blackData() {
+    DoubleMatrix volData = createFullBlackDataMatrix();
+    DoubleMatrix error = DoubleMatrix.filled(volData.rowCount(), volData.columnCount(), 1.0e-3);
+    return RawOptionData.of(
+        createBlackMaturities(), createBlackStrikes(), ValueType.STRIKE, volData, error, ValueType.BLACK_VOLATILITY);
+  }
+
   public void recovery_test_black_fixedRho() {
     double rho = 0.15;
     SabrIborCapletFloorletVolatilityCalibrationDefinition definition =
@@ -129,6 +129,27 @@ public class SabrParametersIborCapletFloorletVolatilitiesTest {
     }
   }
 
+  public void test_volatility_batch() {
+    SabrParametersIborCapletFloorletVolatilities prov =
+        SabrParametersIborCapletFloorletVolatilities.of(NAME, EUR_EURIBOR_3M, DATE_TIME, PARAM);
+    for (int i = 0; i < NB_TEST; i++) {
+      double expiryTime = prov.relativeTime(TEST_OPTION_EXPIRY[i]);
+      double[] vols = new double[NB_STRIKE];
+      prov.volatility(expiryTime, TEST_STRIKE, TEST_FORWARD, vols);
+      double[] volsAdj = new double[NB_STRIKE];
+      double[] derivatives = new double[6 * NB_STRIKE];
+      prov.volatilityAdjoint(expiryTime, TEST_STRIKE, TEST_FORWARD, volsAdj, derivatives);
+      for (int j = 0; j < NB_STRIKE; ++j) {
+        assertEquals(vols[j], prov.volatility(expiryTime, TEST_STRIKE[j], TEST_FORWARD));
+        ValueDerivatives volAdjExpected = prov.volatilityAdjoint(expiryTime, TEST_STRIKE[j], TEST_FORWARD);
+        assertEquals(volsAdj[j], volAdjExpected.getValue());
+        for (int k = 0; k < 6; ++k) {
+          assertEquals(derivatives[6 * j + k], volAdjExpected.getDerivative(k));
+        }
+      }
+    }
+  }
+
   public void test_parameterSensitivity() {
     double alphaSensi = 2.24, betaSensi = 3.45, rhoSensi = -2.12, nuSensi = -0.56, shiftSensi = 2.5;
     SabrParametersIborCapletFloorletVolatilities prov =
@@ -43,6 +43,7 @@ import com.opengamma.strata.pricer.swaption.SabrParametersSwaptionVolatilities;
 import com.opengamma.strata.pricer.swaption.SwaptionSabrRateVolatilityDataSet;
 import com.opengamma.strata.pricer.swaption.SwaptionVolatilitiesName;
 import com.opengamma.strata.product.cms.CmsPeriod;
+import com.opengamma.strata.product.cms.CmsPeriodType;
 import com.opengamma.strata.product.common.BuySell;
 import com.opengamma.strata.product.common.PutCall;
 import com.opengamma.strata.product.swap.ResolvedSwap;
@@ -129,8 +130,14 @@ public class SabrExtrapolationReplicationCmsPeriodPricerTest {
   private static final double MU = 2.50;
   private static final double EPS = 1.0e-5;
   private static final double TOL = 1.0e-12;
+  // the tolerances of the quadrature, near those of the adaptive integration of the pricer
+  private static final double TOL_QUADRATURE = 1.0e-7;
+  private static final double TOL_QUADRATURE_STRIKE = 1.0e-5;
+  private static final double TOL_QUADRATURE_VEGA = 1.0e-3;
+  private static final double TOL_QUADRATURE_ABS = 1.0e-8;
   private static final SabrExtrapolationReplicationCmsPeriodPricer PRICER =
       SabrExtrapolationReplicationCmsPeriodPricer.of(CUT_OFF_STRIKE, MU);
+  private static final SabrExtrapolationReplicationCmsPeriodPricer PRICER_QUADRATURE = PRICER.withQuadrature(16);
   private static final RatesFiniteDifferenceSensitivityCalculator FD_CAL =
       new RatesFiniteDifferenceSensitivityCalculator(EPS);  
   private static final DiscountingSwapProductPricer PRICER_SWAP =
@@ -544,6 +551,97 @@ public class SabrExtrapolationReplicationCmsPeriodPricerTest {
     assertThrowsIllegalArg(() -> PRICER.presentValueSensitivityStrike(COUPON, RATES_PROVIDER, VOLATILITIES));
   }
 
+  //-------------------------------------------------------------------------
+  public void test_quadrature() {
+    testQuadrature(COUPON, RATES_PROVIDER, VOLATILITIES);
+    testQuadrature(CAPLET, RATES_PROVIDER, VOLATILITIES);
+    testQuadrature(FLOORLET, RATES_PROVIDER, VOLATILITIES);
+    testQuadrature(COUPON_SELL, RATES_PROVIDER, VOLATILITIES_SHIFT);
+    testQuadrature(CAPLET_NEGATIVE, RATES_PROVIDER, VOLATILITIES_SHIFT);
+    testQuadrature(FLOORLET_NEGATIVE, RATES_PROVIDER, VOLATILITIES_SHIFT);
+  }
+
+  public void test_presentValueAndSensitivities() {
+    testPresentValueAndSensitivities(PRICER_QUADRATURE, COUPON, RATES_PROVIDER, VOLATILITIES);
+    testPresentValueAndSensitivities(PRICER_QUADRATURE, CAPLET, RATES_PROVIDER, VOLATILITIES);
+    testPresentValueAndSensitivities(PRICER_QUADRATURE, FLOORLET_NEGATIVE, RATES_PROVIDER, VOLATILITIES_SHIFT);
+    testPresentValueAndSensitivities(PRICER_QUADRATURE, CAPLET, RATES_PROVIDER_ON_FIX, VOLATILITIES_ON_FIX);
+    testPresentValueAndSensitivities(PRICER_QUADRATURE, FLOORLET, RATES_PROVIDER_AFTER_FIX, VOLATILITIES_AFTER_FIX);
+    testPresentValueAndSensitivities(PRICER, CAPLET, RATES_PROVIDER, VOLATILITIES);
+    testPresentValueAndSensitivities(PRICER, COUPON, RATES_PROVIDER, VOLATILITIES);
+  }
+
+  public void test_withQuadrature_error() {
+    assertThrowsIllegalArg(() -> PRICER.withQuadrature(0));
+  }
+
+  private void testQuadrature(
+      CmsPeriod period,
+      RatesProvider ratesProvider,
+      SabrParametersSwaptionVolatilities volatilities) {
+
+    // the tolerances follow the criterion of the adaptive integration, relative plus absolute by unit of notional
+    double pvExpected = PRICER.presentValue(period, ratesProvider, volatilities).getAmount();
+    assertEquals(
+        PRICER_QUADRATURE.presentValue(period, ratesProvider, volatilities).getAmount(),
+        pvExpected,
+        quadratureTolerance(Math.abs(pvExpected), TOL_QUADRATURE));
+    CurrencyParameterSensitivities computedRates = ratesProvider.parameterSensitivity(
+        PRICER_QUADRATURE.presentValueSensitivityRates(period, ratesProvider, volatilities).build());
+    CurrencyParameterSensitivities expectedRates = ratesProvider.parameterSensitivity(
+        PRICER.presentValueSensitivityRates(period, ratesProvider, volatilities).build());
+    assertTrue(computedRates.equalWithTolerance(
+        expectedRates, quadratureTolerance(maxAbs(expectedRates), TOL_QUADRATURE)));
+    CurrencyParameterSensitivities computedSabr = volatilities.parameterSensitivity(
+        PRICER_QUADRATURE.presentValueSensitivityModelParamsSabr(period, ratesProvider, volatilities).build());
+    CurrencyParameterSensitivities expectedSabr = volatilities.parameterSensitivity(
+        PRICER.presentValueSensitivityModelParamsSabr(period, ratesProvider, volatilities).build());
+    assertTrue(computedSabr.equalWithTolerance(
+        expectedSabr, quadratureTolerance(maxAbs(expectedSabr), TOL_QUADRATURE_VEGA)));
+    if (!period.getCmsPeriodType().equals(CmsPeriodType.COUPON)) {
+      double strikeExpected = PRICER.presentValueSensitivityStrike(period, ratesProvider, volatilities);
+      assertEquals(
+          PRICER_QUADRATURE.presentValueSensitivityStrike(period, ratesProvider, volatilities),
+          strikeExpected,
+          quadratureTolerance(Math.abs(strikeExpected), TOL_QUADRATURE_STRIKE));
+    }
+  }
+
+  // the tolerance relative to the size of the expected value, with the absolute tolerance of the integration
+  private static double quadratureTolerance(double size, double relativeTolerance) {
+    return relativeTolerance * size + TOL_QUADRATURE_ABS * NOTIONAL;
+  }
+
+  // the largest sensitivity in absolute value
+  private static double maxAbs(CurrencyParameterSensitivities sensitivities) {
+    return sensitivities.getSensitivities().stream()
+        .mapToDouble(sensitivity -> sensitivity.getSensitivity().map(Math::abs).max())
+        .max()
+        .orElse(0d);
+  }
+
+  private void testPresentValueAndSensitivities(
+      SabrExtrapolationReplicationCmsPeriodPricer pricer,
+      CmsPeriod period,
+      RatesProvider ratesProvider,
+      SabrParametersSwaptionVolatilities volatilities) {
+
+    double tol = NOTIONAL * EPS * EPS;
+    CmsPeriodReplicationResult computed = pricer.presentValueAndSensitivities(period, ratesProvider, volatilities);
+    assertEquals(
+        computed.getPresentValue().getAmount(),
+        pricer.presentValue(period, ratesProvider, volatilities).getAmount(),
+        tol);
+    assertTrue(computed.getPresentValueSensitivityRates().normalized().equalWithTolerance(
+        pricer.presentValueSensitivityRates(period, ratesProvider, volatilities).build().normalized(), tol));
+    assertTrue(computed.getPresentValueSensitivityModelParamsSabr().normalized().equalWithTolerance(
+        pricer.presentValueSensitivityModelParamsSabr(period, ratesProvider, volatilities).build().normalized(), tol));
+    double expectedStrike = period.getCmsPeriodType().equals(CmsPeriodType.COUPON) ?
+        0d :
+        pricer.presentValueSensitivityStrike(period, ratesProvider, volatilities);
+    assertEquals(computed.getPresentValueSensitivityStrike(), expectedStrike, tol);
+  }
+
   //-------------------------------------------------------------------------
   private void testPresentValueSensitivitySabrParameter(CmsPeriod coupon, CmsPeriod caplet, CmsPeriod foorlet,
       RatesProvider ratesProvider, SabrParametersSwaptionVolatilities volatilities) {
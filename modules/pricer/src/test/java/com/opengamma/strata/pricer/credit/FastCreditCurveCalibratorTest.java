@@ -8,19 +8,26 @@ package com.opengamma.strata.pricer.credit;
 import static com.opengamma.strata.basics.currency.Currency.EUR;
 import static com.opengamma.strata.basics.date.DayCounts.ACT_360;
 import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.StandardId;
 import com.opengamma.strata.basics.schedule.Frequency;
 import com.opengamma.strata.collect.DoubleArrayMath;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.ValueWithFailures;
+import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.data.ImmutableMarketData;
 import com.opengamma.strata.data.ImmutableMarketDataBuilder;
 import com.opengamma.strata.market.curve.CurveName;
@@ -291,4 +298,65 @@ public class FastCreditCurveCalibratorTest extends IsdaCompliantCreditCurveCalib
     testJacobian(BUILDER_MARKIT, ccMf, ratesProvider, nodes, quotes, ONE_PC, EPS);
   }
 
+  public void test_calibrateAll() {
+    LocalDate valuationDate = LocalDate.of(2013, 2, 27);
+    DoubleArray ycTime = DoubleArray.of(0.5123287671232877, 1.010958904109589, 5.008219178082192, 10.01095890410959);
+    DoubleArray ycRate =
+        DoubleArray.of(0.004599628230463427, 0.0075703969168129295, 0.009361825469323602, 0.020289623737560873);
+    IsdaCreditDiscountFactors yc =
+        IsdaCreditDiscountFactors.of(EUR, valuationDate, CurveName.of("yc_eur"), ycTime, ycRate, ACT_365F);
+    StandardId legalEntity2 = StandardId.of("OG", "DEF");
+    StandardId legalEntity3 = StandardId.of("OG", "GHI");
+    ImmutableCreditRatesProvider ratesProvider = ImmutableCreditRatesProvider.builder()
+        .valuationDate(valuationDate)
+        .discountCurves(ImmutableMap.of(EUR, yc))
+        .recoveryRateCurves(ImmutableMap.of(
+            LEGAL_ENTITY, ConstantRecoveryRates.of(LEGAL_ENTITY, valuationDate, 0.25),
+            legalEntity2, ConstantRecoveryRates.of(legalEntity2, valuationDate, 0.4)))
+        .creditCurves(ImmutableMap.of())
+        .build();
+    LocalDate startDate = LocalDate.of(2012, 12, 20);
+    LocalDate[] pillarDates = new LocalDate[] {
+        LocalDate.of(2014, 3, 20), LocalDate.of(2016, 3, 20), LocalDate.of(2018, 3, 20), LocalDate.of(2023, 3, 20)};
+    double[] quotes = new double[] {0.008163, 0.015136, 0.021905, 0.027549};
+    StandardId[] legalEntities = new StandardId[] {LEGAL_ENTITY, legalEntity2, legalEntity3};
+    ImmutableMarketDataBuilder builderCredit = ImmutableMarketData.builder(valuationDate);
+    List<IsdaCreditCurveDefinition> curveDefinitions = new ArrayList<>();
+    for (int k = 0; k < legalEntities.length; ++k) {
+      List<CdsIsdaCreditCurveNode> nodes = new ArrayList<>();
+      for (int i = 0; i < pillarDates.length; ++i) {
+        CdsConvention conv = ImmutableCdsConvention.of("conv", EUR, ACT_360, Frequency.P3M, BUS_ADJ, CDS_SETTLE_STD);
+        CdsTemplate temp = DatesCdsTemplate.of(startDate, pillarDates[i], conv);
+        QuoteId id = QuoteId.of(StandardId.of("OG", legalEntities[k].getValue() + pillarDates[i].toString()));
+        nodes.add(CdsIsdaCreditCurveNode.ofParSpread(temp, id, legalEntities[k]));
+        builderCredit.addValue(id, quotes[i] * (1d + 0.5 * k));
+      }
+      curveDefinitions.add(IsdaCreditCurveDefinition.of(
+          CurveName.of("cc_" + legalEntities[k].getValue()), EUR, valuationDate, ACT_365F, nodes, true, false));
+    }
+    ImmutableMarketData marketData = builderCredit.build();
+    ValueWithFailures<ImmutableCreditRatesProvider> computed =
+        BUILDER_ISDA.calibrateAll(curveDefinitions, marketData, ratesProvider, REF_DATA);
+    // no recovery rates for the third legal entity
+    assertEquals(computed.getFailures().size(), 1);
+    assertEquals(computed.getFailures().get(0).getReason(), FailureReason.CALCULATION_FAILED);
+    assertFalse(computed.getValue().getCreditCurves().containsKey(Pair.of(legalEntity3, EUR)));
+    assertEquals(computed.getValue().getCreditCurves().size(), 2);
+    for (int k = 0; k < 2; ++k) {
+      LegalEntitySurvivalProbabilities expected =
+          BUILDER_ISDA.calibrate(curveDefinitions.get(k), marketData, ratesProvider, REF_DATA);
+      assertEquals(computed.getValue().survivalProbabilities(legalEntities[k], EUR), expected);
+    }
+    ValueWithFailures<ImmutableCreditRatesProvider> computedParallel = BUILDER_ISDA.calibrateAll(
+        curveDefinitions, marketData, ratesProvider, REF_DATA, ForkJoinPool.commonPool());
+    assertEquals(computedParallel.getValue(), computed.getValue());
+    assertEquals(computedParallel.getFailures().size(), 1);
+    // duplicate curve
+    ValueWithFailures<ImmutableCreditRatesProvider> computedDuplicate = BUILDER_ISDA.calibrateAll(
+        ImmutableList.of(curveDefinitions.get(0), curveDefinitions.get(0)), marketData, ratesProvider, REF_DATA);
+    assertEquals(computedDuplicate.getFailures().size(), 1);
+    assertEquals(computedDuplicate.getFailures().get(0).getReason(), FailureReason.INVALID);
+    assertEquals(computedDuplicate.getValue().getCreditCurves().size(), 1);
+  }
+
 }
@@ -0,0 +1,250 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.product.common.BuySell.BUY;
+import static com.opengamma.strata.product.common.BuySell.SELL;
+import static org.testng.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Payment;
+import com.opengamma.strata.basics.date.HolidayCalendarId;
+import com.opengamma.strata.basics.date.HolidayCalendarIds;
+import com.opengamma.strata.basics.schedule.Frequency;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.market.ValueType;
+import com.opengamma.strata.market.curve.DefaultCurveMetadata;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.market.sensitivity.PointSensitivity;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.common.PriceType;
+import com.opengamma.strata.product.TradeInfo;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.credit.Cds;
+import com.opengamma.strata.product.credit.ResolvedCds;
+import com.opengamma.strata.product.credit.ResolvedCdsTrade;
+
+/**
+ * Test {@link IsdaCdsPortfolioPricer}.
+ */
+@Test
+public class IsdaCdsPortfolioPricerTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate VALUATION_DATE = LocalDate.of(2014, 1, 3);
+  private static final HolidayCalendarId CALENDAR = HolidayCalendarIds.USNY;
+  private static final StandardId LEGAL_ENTITY = StandardId.of("OG", "ABC");
+  private static final StandardId LEGAL_ENTITY_OTHER = StandardId.of("OG", "DEF");
+  private static final ConstantRecoveryRates RECOVERY_RATES_OTHER =
+      ConstantRecoveryRates.of(LEGAL_ENTITY_OTHER, VALUATION_DATE, 0.4);
+
+  private static final DoubleArray TIME_YC = DoubleArray.ofUnsafe(new double[] {0.09041095890410959, 0.16712328767123288,
+      0.2547945205479452, 0.5041095890410959, 0.7534246575342466, 1.0054794520547945, 2.0054794520547947, 3.008219178082192,
+      4.013698630136987, 5.010958904109589, 6.008219178082192, 7.010958904109589, 8.01095890410959, 9.01095890410959,
+      10.016438356164384, 12.013698630136986, 15.021917808219179, 20.01917808219178, 30.024657534246575});
+  private static final DoubleArray RATE_YC = DoubleArray.ofUnsafe(new double[] {-0.002078655697855299, -0.001686438401304855,
+      -0.0013445486228483379, -4.237819925898475E-4, 2.5142499469348057E-5, 5.935063895780138E-4, -3.247081037469503E-4,
+      6.147182786549223E-4, 0.0019060597240545122, 0.0033125742254568815, 0.0047766352312329455, 0.0062374324537341225,
+      0.007639664176639106, 0.008971003650150983, 0.010167545380711455, 0.012196853322376243, 0.01441082634734099,
+      0.016236611610989507, 0.01652439910865982});
+  private static final DefaultCurveMetadata METADATA_YC = DefaultCurveMetadata.builder()
+      .xValueType(ValueType.YEAR_FRACTION)
+      .yValueType(ValueType.ZERO_RATE)
+      .curveName("yield")
+      .dayCount(ACT_365F)
+      .build();
+  private static final InterpolatedNodalCurve NODAL_YC = InterpolatedNodalCurve.of(METADATA_YC, TIME_YC, RATE_YC,
+      CurveInterpolators.PRODUCT_LINEAR, CurveExtrapolators.FLAT, CurveExtrapolators.PRODUCT_LINEAR);
+  private static final IsdaCreditDiscountFactors YIELD_CRVE =
+      IsdaCreditDiscountFactors.of(USD, VALUATION_DATE, NODAL_YC);
+
+  private static final DoubleArray TIME_CC = DoubleArray.ofUnsafe(new double[] {1.2054794520547945, 1.7095890410958905,
+      2.712328767123288, 3.712328767123288, 4.712328767123288, 5.712328767123288, 7.715068493150685, 10.717808219178082});
+  private static final DoubleArray RATE_CC = DoubleArray.ofUnsafe(new double[] {0.009950492020354761, 0.01203385973637765,
+      0.01418821591480718, 0.01684815168721049, 0.01974873350586718, 0.023084203422383043, 0.02696911931489543,
+      0.029605642651816415});
+  private static final DefaultCurveMetadata METADATA_CC = DefaultCurveMetadata.builder()
+      .xValueType(ValueType.YEAR_FRACTION)
+      .yValueType(ValueType.ZERO_RATE)
+      .curveName("credit")
+      .dayCount(ACT_365F)
+      .build();
+  private static final InterpolatedNodalCurve NODAL_CC = InterpolatedNodalCurve.of(METADATA_CC, TIME_CC, RATE_CC,
+      CurveInterpolators.PRODUCT_LINEAR, CurveExtrapolators.FLAT, CurveExtrapolators.PRODUCT_LINEAR);
+  private static final CreditDiscountFactors CREDIT_CRVE =
+      IsdaCreditDiscountFactors.of(USD, VALUATION_DATE, NODAL_CC);
+  private static final ConstantRecoveryRates RECOVERY_RATES =
+      ConstantRecoveryRates.of(LEGAL_ENTITY, VALUATION_DATE, 0.25);
+  private static final CreditRatesProvider RATES_PROVIDER = ratesProvider(CREDIT_CRVE);
+
+
+  private static final double NOTIONAL = 1.0e7;
+  private static final LocalDate START_DATE = LocalDate.of(2013, 12, 20);
+  private static final LocalDate START_DATE_OLD = LocalDate.of(2013, 6, 20);
+  private static final LocalDate END_DATE = LocalDate.of(2020, 12, 20);
+  private static final LocalDate END_DATE_SHORT = LocalDate.of(2018, 12, 20);
+  private static final LocalDate END_DATE_EXPIRED = LocalDate.of(2013, 12, 20);
+  private static final LocalDate SETTLEMENT_DATE = LocalDate.of(2014, 1, 8);
+  private static final ResolvedCdsTrade TRADE_1 = trade(BUY, LEGAL_ENTITY, NOTIONAL, START_DATE, END_DATE, 0.01, 0d);
+  private static final ResolvedCdsTrade TRADE_2 =
+      trade(SELL, LEGAL_ENTITY, 0.5 * NOTIONAL, START_DATE, END_DATE, 0.05, 0.1 * NOTIONAL);
+  private static final ResolvedCdsTrade TRADE_3 =
+      trade(BUY, LEGAL_ENTITY, 2d * NOTIONAL, START_DATE_OLD, END_DATE, 0.01, 0d);
+  private static final ResolvedCdsTrade TRADE_4 =
+      trade(SELL, LEGAL_ENTITY, NOTIONAL, START_DATE, END_DATE_SHORT, 0.01, -0.02 * NOTIONAL);
+  private static final ResolvedCdsTrade TRADE_5 =
+      trade(BUY, LEGAL_ENTITY_OTHER, NOTIONAL, START_DATE, END_DATE, 0.05, 0d);
+  private static final ResolvedCdsTrade TRADE_EXPIRED =
+      trade(BUY, LEGAL_ENTITY, NOTIONAL, START_DATE_OLD, END_DATE_EXPIRED, 0.01, 0.01 * NOTIONAL);
+  private static final List<ResolvedCdsTrade> TRADES =
+      ImmutableList.of(TRADE_1, TRADE_4, TRADE_2, TRADE_5, TRADE_3, TRADE_EXPIRED);
+
+  private static final IsdaCdsPortfolioPricer PRICER = IsdaCdsPortfolioPricer.DEFAULT;
+  private static final IsdaCdsPortfolioPricer PRICER_MF =
+      new IsdaCdsPortfolioPricer(AccrualOnDefaultFormula.MARKIT_FIX);
+  private static final IsdaCdsTradePricer PRICER_TRADE = IsdaCdsTradePricer.DEFAULT;
+  private static final IsdaCdsTradePricer PRICER_TRADE_MF = new IsdaCdsTradePricer(AccrualOnDefaultFormula.MARKIT_FIX);
+  private static final IsdaCdsProductPricer PRICER_PRODUCT = IsdaCdsProductPricer.DEFAULT;
+
+  private static final double TOL = 1.0e-12;
+  private static final double EPS = 1.0e-6;
+
+  public void accFormulaTest() {
+    assertEquals(PRICER.getAccrualOnDefaultFormula(), AccrualOnDefaultFormula.ORIGINAL_ISDA);
+    assertEquals(PRICER_MF.getAccrualOnDefaultFormula(), AccrualOnDefaultFormula.MARKIT_FIX);
+  }
+
+  public void test_groups() {
+    List<IsdaCdsGroupResult> computed = PRICER.presentValueAndCs01(TRADES, RATES_PROVIDER, PriceType.DIRTY, REF_DATA);
+    assertEquals(computed.size(), 4);
+    assertGroup(computed.get(0), LEGAL_ENTITY, END_DATE, 3);
+    assertGroup(computed.get(1), LEGAL_ENTITY, END_DATE_SHORT, 1);
+    assertGroup(computed.get(2), LEGAL_ENTITY_OTHER, END_DATE, 1);
+    assertGroup(computed.get(3), LEGAL_ENTITY, END_DATE_EXPIRED, 1);
+  }
+
+  public void test_presentValue() {
+    for (PriceType priceType : PriceType.values()) {
+      List<IsdaCdsGroupResult> computed = PRICER.presentValueAndCs01(TRADES, RATES_PROVIDER, priceType, REF_DATA);
+      List<IsdaCdsGroupResult> computedMf = PRICER_MF.presentValueAndCs01(TRADES, RATES_PROVIDER, priceType, REF_DATA);
+      List<List<ResolvedCdsTrade>> groups = ImmutableList.of(
+          ImmutableList.of(TRADE_1, TRADE_2, TRADE_3),
+          ImmutableList.of(TRADE_4),
+          ImmutableList.of(TRADE_5),
+          ImmutableList.of(TRADE_EXPIRED));
+      for (int i = 0; i < groups.size(); ++i) {
+        double expected = 0d;
+        double expectedMf = 0d;
+        for (ResolvedCdsTrade trade : groups.get(i)) {
+          expected += PRICER_TRADE.presentValue(trade, RATES_PROVIDER, priceType, REF_DATA).getAmount();
+          expectedMf += PRICER_TRADE_MF.presentValue(trade, RATES_PROVIDER, priceType, REF_DATA).getAmount();
+        }
+        assertEquals(computed.get(i).getPresentValue().getCurrency(), USD);
+        assertEquals(computed.get(i).getPresentValue().getAmount(), expected, NOTIONAL * TOL);
+        assertEquals(computedMf.get(i).getPresentValue().getAmount(), expectedMf, NOTIONAL * TOL);
+      }
+    }
+  }
+
+  public void test_cs01() {
+    List<IsdaCdsGroupResult> computed = PRICER.presentValueAndCs01(TRADES, RATES_PROVIDER, PriceType.CLEAN, REF_DATA);
+    double parSpreadSensi = parallelSensitivity(
+        PRICER_PRODUCT.parSpreadSensitivity(TRADE_1.getProduct(), RATES_PROVIDER, VALUATION_DATE, REF_DATA));
+    double expected = 0d;
+    for (ResolvedCdsTrade trade : ImmutableList.of(TRADE_1, TRADE_2, TRADE_3)) {
+      expected += parallelSensitivity(
+          PRICER_PRODUCT.presentValueSensitivity(trade.getProduct(), RATES_PROVIDER, VALUATION_DATE, REF_DATA));
+    }
+    expected /= parSpreadSensi;
+    assertEquals(computed.get(0).getCs01().getAmount(), expected, NOTIONAL * TOL);
+    assertEquals(computed.get(3).getCs01().getAmount(), 0d);
+  }
+
+  public void test_cs01_finiteDifference() {
+    List<ResolvedCdsTrade> trades = ImmutableList.of(TRADE_1, TRADE_2, TRADE_3, TRADE_4);
+    List<IsdaCdsGroupResult> computed = PRICER.presentValueAndCs01(trades, RATES_PROVIDER, PriceType.DIRTY, REF_DATA);
+    CreditRatesProvider ratesProviderUp = ratesProvider(
+        IsdaCreditDiscountFactors.of(USD, VALUATION_DATE, NODAL_CC.withYValues(RATE_CC.plus(EPS))));
+    CreditRatesProvider ratesProviderDw = ratesProvider(
+        IsdaCreditDiscountFactors.of(USD, VALUATION_DATE, NODAL_CC.withYValues(RATE_CC.minus(EPS))));
+    List<IsdaCdsGroupResult> computedUp =
+        PRICER.presentValueAndCs01(trades, ratesProviderUp, PriceType.DIRTY, REF_DATA);
+    List<IsdaCdsGroupResult> computedDw =
+        PRICER.presentValueAndCs01(trades, ratesProviderDw, PriceType.DIRTY, REF_DATA);
+    for (int i = 0; i < computed.size(); ++i) {
+      ResolvedCds cds = i == 0 ? TRADE_1.getProduct() : TRADE_4.getProduct();
+      double spreadUp = PRICER_PRODUCT.parSpread(cds, ratesProviderUp, VALUATION_DATE, REF_DATA);
+      double spreadDw = PRICER_PRODUCT.parSpread(cds, ratesProviderDw, VALUATION_DATE, REF_DATA);
+      double expected = (computedUp.get(i).getPresentValue().getAmount() -
+          computedDw.get(i).getPresentValue().getAmount()) / (spreadUp - spreadDw);
+      assertEquals(computed.get(i).getCs01().getAmount(), expected, Math.abs(expected) * 1.0e-6);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  private static ResolvedCdsTrade trade(
+      BuySell buySell,
+      StandardId legalEntityId,
+      double notional,
+      LocalDate startDate,
+      LocalDate endDate,
+      double fixedRate,
+      double upfront) {
+
+    ResolvedCds product =
+        Cds.of(buySell, legalEntityId, USD, notional, startDate, endDate, Frequency.P3M, CALENDAR, fixedRate)
+            .resolve(REF_DATA);
+    ResolvedCdsTrade.Builder builder = ResolvedCdsTrade.builder()
+        .product(product)
+        .info(TradeInfo.builder().tradeDate(VALUATION_DATE).settlementDate(SETTLEMENT_DATE).build());
+    if (upfront != 0d) {
+      builder.upfrontFee(Payment.of(USD, upfront, SETTLEMENT_DATE));
+    }
+    return builder.build();
+  }
+
+  private static CreditRatesProvider ratesProvider(CreditDiscountFactors creditCurve) {
+    return ImmutableCreditRatesProvider.builder()
+        .valuationDate(VALUATION_DATE)
+        .creditCurves(ImmutableMap.of(
+            Pair.of(LEGAL_ENTITY, USD), LegalEntitySurvivalProbabilities.of(LEGAL_ENTITY, creditCurve),
+            Pair.of(LEGAL_ENTITY_OTHER, USD), LegalEntitySurvivalProbabilities.of(LEGAL_ENTITY_OTHER, creditCurve)))
+        .discountCurves(ImmutableMap.of(USD, YIELD_CRVE))
+        .recoveryRateCurves(ImmutableMap.of(LEGAL_ENTITY, RECOVERY_RATES, LEGAL_ENTITY_OTHER, RECOVERY_RATES_OTHER))
+        .build();
+  }
+
+  private static double parallelSensitivity(PointSensitivityBuilder sensitivity) {
+    double sum = 0d;
+    for (PointSensitivity point : sensitivity.build().getSensitivities()) {
+      if (point instanceof CreditCurveZeroRateSensitivity) {
+        sum += point.getSensitivity();
+      }
+    }
+    return sum;
+  }
+
+  private static void assertGroup(IsdaCdsGroupResult result, StandardId legalEntityId, LocalDate endDate, int count) {
+    assertEquals(result.getLegalEntityId(), legalEntityId);
+    assertEquals(result.getCurrency(), USD);
+    assertEquals(result.getProtectionEndDate(), endDate);
+    assertEquals(result.getTradeCount(), count);
+  }
+
+}
@@ -15,6 +15,7 @@ import static com.opengamma.strata.pricer.common.PriceType.DIRTY;
 import static com.opengamma.strata.product.common.BuySell.BUY;
 import static com.opengamma.strata.product.common.BuySell.SELL;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
@@ -280,6 +281,58 @@ public class IsdaHomogenousCdsIndexProductPricerTest {
     assertEquals(computed.getAmount(), expected, NOTIONAL * TOL);
   }
 
+  //-------------------------------------------------------------------------
+  public void pricingContextTest() {
+    IsdaCdsIndexPricingContext context = PRICER.pricingContext(PRODUCT, RATES_PROVIDER, SETTLEMENT_STD, REF_DATA);
+    assertEquals(context.getCdsIndexId(), INDEX_ID);
+    assertEquals(context.getLegalEntityIds(), LEGAL_ENTITIES);
+    assertEquals(context.getIndexFactor(), INDEX_FACTOR);
+    assertFalse(context.isExpired());
+    assertTrue(context.isValidFor(RATES_PROVIDER));
+    assertFalse(context.isValidFor(RATES_PROVIDER_SINGLE));
+    assertFalse(context.isValidFor(createCreditRatesProviderSingle(VALUATION_DATE.plusDays(1), false)));
+    ResolvedCdsIndex other = CdsIndex.of(
+        SELL, INDEX_ID, LEGAL_ENTITIES, USD, 2.5e7, START_DATE, MATURITY_DATE, P3M, SAT_SUN, 0.01).resolve(REF_DATA);
+    for (ResolvedCdsIndex product : ImmutableList.of(PRODUCT, PRODUCT_SELL, other)) {
+      assertTrue(context.isSameSeries(product));
+      for (PriceType priceType : PriceType.values()) {
+        CurrencyAmount pv = context.presentValue(product, priceType);
+        CurrencyAmount pvExp = PRICER.presentValue(product, RATES_PROVIDER, SETTLEMENT_STD, priceType, REF_DATA);
+        assertEquals(pv.getCurrency(), USD);
+        assertEquals(pv.getAmount(), pvExp.getAmount(), NOTIONAL * TOL);
+        CurrencyAmount rpv01 = context.rpv01(product, priceType);
+        CurrencyAmount rpv01Exp = PRICER.rpv01(product, RATES_PROVIDER, SETTLEMENT_STD, priceType, REF_DATA);
+        assertEquals(rpv01.getAmount(), rpv01Exp.getAmount(), NOTIONAL * TOL);
+      }
+      CurrencyAmount recovery01 = context.recovery01(product);
+      CurrencyAmount recovery01Exp = PRICER.recovery01(product, RATES_PROVIDER, SETTLEMENT_STD, REF_DATA);
+      assertEquals(recovery01.getAmount(), recovery01Exp.getAmount(), NOTIONAL * TOL);
+      PointSensitivityBuilder sensi = context.presentValueSensitivity(product);
+      PointSensitivityBuilder sensiExp =
+          PRICER.presentValueSensitivity(product, RATES_PROVIDER, SETTLEMENT_STD, REF_DATA);
+      assertTrue(sensi.build().normalized().equalWithTolerance(sensiExp.build().normalized(), NOTIONAL * TOL));
+    }
+    assertEquals(context.parSpread(), PRICER.parSpread(PRODUCT, RATES_PROVIDER, SETTLEMENT_STD, REF_DATA), TOL);
+    ResolvedCdsIndex otherSeries = CdsIndex.of(
+        BUY, INDEX_ID, LEGAL_ENTITIES, USD, NOTIONAL, START_DATE, MATURITY_DATE.plusYears(2), P3M, SAT_SUN, COUPON)
+        .resolve(REF_DATA);
+    assertFalse(context.isSameSeries(otherSeries));
+    assertThrowsIllegalArg(() -> context.presentValue(otherSeries, CLEAN));
+  }
+
+  public void pricingContextEndedTest() {
+    LocalDate valuationDate = PRODUCT.getProtectionEndDate().plusDays(1);
+    CreditRatesProvider provider = createCreditRatesProviderSingle(valuationDate, false);
+    IsdaCdsIndexPricingContext context = PRICER.pricingContext(PRODUCT, provider, SETTLEMENT_STD, REF_DATA);
+    assertTrue(context.isExpired());
+    assertTrue(context.isValidFor(provider));
+    assertEquals(context.presentValue(PRODUCT, CLEAN), CurrencyAmount.zero(USD));
+    assertEquals(context.rpv01(PRODUCT, DIRTY), CurrencyAmount.zero(USD));
+    assertEquals(context.recovery01(PRODUCT), CurrencyAmount.zero(USD));
+    assertEquals(context.presentValueSensitivity(PRODUCT), PointSensitivityBuilder.none());
+    assertThrowsIllegalArg(() -> context.parSpread());
+  }
+
   //-------------------------------------------------------------------------
   private static CreditRatesProvider createCreditRatesProviderSingle(LocalDate valuationDate, boolean isSingle) {
     IsdaCreditDiscountFactors yc = IsdaCreditDiscountFactors.of(USD, valuationDate, NODAL_YC);
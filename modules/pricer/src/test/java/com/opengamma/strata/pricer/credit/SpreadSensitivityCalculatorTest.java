@@ -390,4 +390,37 @@ public class SpreadSensitivityCalculatorTest {
         NOTIONAL * TOL));
   }
 
+  public void bucketedCs01PortfolioTest() {
+    CurrencyParameterSensitivities computed = CS01_AN.bucketedCs01(
+        ImmutableList.of(CDS1, CDS2), ImmutableList.of(), RATES_PROVIDER, REF_DATA);
+    CurrencyParameterSensitivity expected1 = CS01_AN.bucketedCs01(CDS1, RATES_PROVIDER, REF_DATA);
+    CurrencyParameterSensitivity expected2 = CS01_AN.bucketedCs01(CDS2, RATES_PROVIDER, REF_DATA);
+    assertEquals(computed.size(), 1);
+    CurrencyParameterSensitivity sensitivity = computed.getSensitivity(CREDIT_CURVE_NAME, USD);
+    assertEquals(sensitivity.getParameterCount(), NUM_MARKET_CDS);
+    CreditDiscountFactors creditCurve = CREDIT_CURVE.getSurvivalProbabilities();
+    for (int i = 0; i < NUM_MARKET_CDS; ++i) {
+      assertEquals(sensitivity.getParameterMetadata(i), creditCurve.getParameterMetadata(i));
+    }
+    assertTrue(DoubleArrayMath.fuzzyEquals(
+        sensitivity.getSensitivity().toArray(),
+        expected1.getSensitivity().plus(expected2.getSensitivity()).toArray(),
+        NOTIONAL * TOL));
+    // from point sensitivities
+    PointSensitivities point = PRICER.presentValueOnSettleSensitivity(CDS1, RATES_PROVIDER, REF_DATA)
+        .combinedWith(PRICER.presentValueOnSettleSensitivity(CDS2, RATES_PROVIDER, REF_DATA));
+    assertEquals(CS01_AN.bucketedCs01(point, RATES_PROVIDER, REF_DATA), computed);
+  }
+
+  public void bucketedCs01PortfolioIndexTest() {
+    CurrencyParameterSensitivities computed = CS01_AN.bucketedCs01(
+        ImmutableList.of(), ImmutableList.of(CDS_INDEX), RATES_PROVIDER, REF_DATA);
+    CurrencyParameterSensitivity expected = CS01_AN.bucketedCs01(CDS_INDEX, RATES_PROVIDER, REF_DATA);
+    assertEquals(computed.size(), 1);
+    CurrencyParameterSensitivity sensitivity = computed.getSensitivity(CREDIT_CURVE_NAME, USD);
+    assertEquals(sensitivity.getParameterMetadata(), CDS_INDEX_METADATA);
+    assertTrue(DoubleArrayMath.fuzzyEquals(
+        sensitivity.getSensitivity().toArray(), expected.getSensitivity().toArray(), NOTIONAL * TOL));
+  }
+
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.fra;
+
+import static com.opengamma.strata.pricer.fra.FraDummyData.FRA;
+import static com.opengamma.strata.pricer.fra.FraDummyData.FRA_AFMA;
+import static com.opengamma.strata.pricer.fra.FraDummyData.FRA_NONE;
+import static com.opengamma.strata.pricer.fra.FraDummyData.NOTIONAL;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.pricer.datasets.RatesProviderDataSets;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.sensitivity.RatesFiniteDifferenceSensitivityCalculator;
+import com.opengamma.strata.product.fra.ResolvedFra;
+
+/**
+ * Test {@link AadDiscountingFraProductPricer}.
+ */
+@Test
+public class AadDiscountingFraProductPricerTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final ImmutableRatesProvider PROVIDER = RatesProviderDataSets.MULTI_GBP;
+  private static final double TOLERANCE_PV = 1e-8;
+  private static final double TOLERANCE_DELTA = 1e-6;
+  private static final double FD_SHIFT = 1e-7;
+  private static final RatesFiniteDifferenceSensitivityCalculator FD_CALCULATOR =
+      new RatesFiniteDifferenceSensitivityCalculator(FD_SHIFT);
+
+  private static final AadDiscountingFraProductPricer PRICER = AadDiscountingFraProductPricer.DEFAULT;
+  private static final DiscountingFraProductPricer PRICER_EXPECTED = DiscountingFraProductPricer.DEFAULT;
+
+  @DataProvider(name = "fras")
+  Object[][] data_fras() {
+    return new Object[][] {
+        {FRA.resolve(REF_DATA)},
+        {FRA_AFMA.resolve(REF_DATA)},
+        {FRA_NONE.resolve(REF_DATA)},
+    };
+  }
+
+  //-------------------------------------------------------------------------
+  @Test(dataProvider = "fras")
+  public void test_presentValue(ResolvedFra fra) {
+    CurrencyAmount computed = PRICER.presentValue(fra, PROVIDER);
+    CurrencyAmount expected = PRICER_EXPECTED.presentValue(fra, PROVIDER);
+    assertEquals(computed.getCurrency(), expected.getCurrency());
+    assertEquals(computed.getAmount(), expected.getAmount(), TOLERANCE_PV);
+  }
+
+  @Test(dataProvider = "fras")
+  public void test_presentValueSensitivity(ResolvedFra fra) {
+    PointSensitivities computed = PRICER.presentValueSensitivity(fra, PROVIDER);
+    PointSensitivities expected = PRICER_EXPECTED.presentValueSensitivity(fra, PROVIDER);
+    assertTrue(computed.normalized().equalWithTolerance(expected.normalized(), TOLERANCE_DELTA));
+    CurrencyParameterSensitivities computedParam = PROVIDER.parameterSensitivity(computed);
+    CurrencyParameterSensitivities expectedParam = PROVIDER.parameterSensitivity(expected);
+    assertTrue(computedParam.equalWithTolerance(expectedParam, TOLERANCE_DELTA));
+  }
+
+  // the sensitivity is compared to a bump of the curves, independently of the other pricers
+  @Test(dataProvider = "fras")
+  public void test_presentValueSensitivity_finiteDifference(ResolvedFra fra) {
+    CurrencyParameterSensitivities computed =
+        PROVIDER.parameterSensitivity(PRICER.presentValueSensitivity(fra, PROVIDER));
+    CurrencyParameterSensitivities expected = FD_CALCULATOR.sensitivity(PROVIDER, p -> PRICER.presentValue(fra, p));
+    assertTrue(computed.equalWithTolerance(expected, NOTIONAL * FD_SHIFT * 100));
+  }
+
+  public void test_paymentBeforeValuation() {
+    ResolvedFra fra = FRA.resolve(REF_DATA);
+    ImmutableRatesProvider provider = ImmutableRatesProvider.builder(fra.getPaymentDate().plusDays(7))
+        .discountCurves(PROVIDER.getDiscountCurves())
+        .indexCurves(PROVIDER.getIndexCurves())
+        .build();
+    assertEquals(PRICER.presentValue(fra, provider).getAmount(), 0d);
+    assertEquals(PRICER.presentValueSensitivity(fra, provider).size(), 0);
+  }
+
+}
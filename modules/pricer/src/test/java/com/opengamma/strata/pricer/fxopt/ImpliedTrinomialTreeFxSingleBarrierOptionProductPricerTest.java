@@ -9,17 +9,22 @@ import static com.opengamma.strata.basics.currency.Currency.EUR;
 import static com.opengamma.strata.basics.currency.Currency.USD;
 import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
 import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.List;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.basics.currency.Payment;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.pricer.DiscountingPaymentPricer;
 import com.opengamma.strata.pricer.fx.RatesProviderFxDataSets;
@@ -314,6 +319,31 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricerTest {
     assertTrue(computed.equalWithTolerance(expected, 1.0e-13));
   }
 
+  //-------------------------------------------------------------------------
+  public void test_book() {
+    ResolvedFxSingleBarrierOption putUko = ResolvedFxSingleBarrierOption.of(
+        PUT, SimpleConstantContinuousBarrier.of(BarrierType.UP, KnockType.KNOCK_OUT, LEVEL_HIGH), REBATE_BASE);
+    ResolvedFxSingleBarrierOption putDki = ResolvedFxSingleBarrierOption.of(
+        PUT, SimpleConstantContinuousBarrier.of(BarrierType.DOWN, KnockType.KNOCK_IN, LEVEL_LOW), REBATE_BASE);
+    List<ResolvedFxSingleBarrierOption> book = ImmutableList.of(CALL_DKO, CALL_UKI_C, putUko, putDki);
+    DoubleArray prices = PRICER_39.price(book, RATE_PROVIDER, VOLS, DATA_39);
+    List<CurrencyAmount> pvs = PRICER_39.presentValue(book, RATE_PROVIDER, VOLS, DATA_39);
+    for (int i = 0; i < book.size(); ++i) {
+      assertEquals(prices.get(i), PRICER_39.price(book.get(i), RATE_PROVIDER, VOLS, DATA_39));
+      assertEquals(pvs.get(i), PRICER_39.presentValue(book.get(i), RATE_PROVIDER, VOLS, DATA_39));
+    }
+    ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer pricer =
+        new ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer(21);
+    RecombiningTrinomialTreeData data = pricer.getCalibrator().calibrateTrinomialTree(CALL, RATE_PROVIDER, VOLS);
+    List<CurrencyParameterSensitivities> sensitivities =
+        pricer.presentValueSensitivityRates(book, RATE_PROVIDER, VOLS, data);
+    for (int i = 0; i < book.size(); ++i) {
+      CurrencyParameterSensitivities expected =
+          pricer.presentValueSensitivityRates(book.get(i), RATE_PROVIDER, VOLS, data);
+      assertTrue(sensitivities.get(i).equalWithTolerance(expected, 1.0e-13));
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void test_withData() {
     ImpliedTrinomialTreeFxSingleBarrierOptionProductPricer pricer =
@@ -331,6 +361,20 @@ public class ImpliedTrinomialTreeFxSingleBarrierOptionProductPricerTest {
     assertEquals(ce, ceWithData);
   }
 
+  public void test_treeCache() {
+    CalibratedTrinomialTreeCache cache = PRICER_39.treeCache(RATE_PROVIDER, VOLS);
+    assertSame(cache.getCalibrator(), PRICER_39.getCalibrator());
+    assertSame(cache.getRatesProvider(), RATE_PROVIDER);
+    assertSame(cache.getVolatilities(), VOLS);
+    RecombiningTrinomialTreeData data = cache.trinomialTree(CALL);
+    assertEquals(data, DATA_39);
+    assertSame(cache.trinomialTree(CALL_DKO), data);
+    assertNotSame(PRICER_39.treeCache(RATE_PROVIDER, VOLS).trinomialTree(CALL), data);
+    assertNotSame(PRICER_70.treeCache(RATE_PROVIDER, VOLS).trinomialTree(CALL), data);
+    assertEquals(PRICER_39.price(CALL_DKO, RATE_PROVIDER, VOLS, cache.trinomialTree(CALL_DKO)),
+        PRICER_39.price(CALL_DKO, RATE_PROVIDER, VOLS, DATA_39));
+  }
+
   public void test_expired_calibration() {
     assertThrowsIllegalArg(() -> PRICER_39.getCalibrator().calibrateTrinomialTree(CALL_DKO.getUnderlyingOption(),
         RATE_PROVIDER_AFTER, VOLS_AFTER));
@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.model;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.math.impl.random.SobolNormalGenerator;
+import com.opengamma.strata.math.impl.random.SplittableRandomNormalGenerator;
+import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.ZeroRateDiscountFactors;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorMonteCarloEngine;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorMonteCarloEngine.PathFunction;
+import com.opengamma.strata.pricer.impl.rate.model.HullWhiteOneFactorPiecewiseConstantInterestRateModel;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParameters;
+
+/**
+ * Test {@link HullWhiteOneFactorMonteCarloEngine}.
+ */
+@Test
+public class HullWhiteOneFactorMonteCarloEngineTest {
+
+  private static final LocalDate VAL_DATE = date(2020, 3, 2);
+  private static final DiscountFactors DISCOUNT_FACTORS = ZeroRateDiscountFactors.of(EUR, VAL_DATE,
+      InterpolatedNodalCurve.of(
+          Curves.zeroRates("EUR-DSC", ACT_365F),
+          DoubleArray.of(0.5, 1, 2, 5, 10),
+          DoubleArray.of(0.010, 0.012, 0.015, 0.018, 0.020),
+          CurveInterpolators.LINEAR));
+  private static final HullWhiteOneFactorPiecewiseConstantParameters PARAMETERS =
+      HullWhiteOneFactorPiecewiseConstantParameters.of(
+          0.05, DoubleArray.of(0.008, 0.01, 0.012), DoubleArray.of(1d, 3d));
+  private static final HullWhiteOneFactorPiecewiseConstantInterestRateModel MODEL =
+      HullWhiteOneFactorPiecewiseConstantInterestRateModel.DEFAULT;
+  private static final NormalDistribution NORMAL = new NormalDistribution(0d, 1d);
+  private static final HullWhiteOneFactorMonteCarloEngine SOBOL =
+      HullWhiteOneFactorMonteCarloEngine.of(1 << 15, SobolNormalGenerator.of(4), true);
+  private static final HullWhiteOneFactorMonteCarloEngine PSEUDO =
+      HullWhiteOneFactorMonteCarloEngine.of(100_000, new SplittableRandomNormalGenerator(42L), true);
+
+  // call on a zero-coupon bond: expiry 2, bond maturity 5
+  private static final double EXPIRY = 2d;
+  private static final double MATURITY = 5d;
+  private static final double STRIKE = 0.94;
+  private static final DoubleArray SIMULATION_TIMES = DoubleArray.of(0.5, 1d, 1.5, EXPIRY);
+  private static final List<DoubleArray> MATURITY_TIMES = ImmutableList.of(
+      DoubleArray.EMPTY, DoubleArray.EMPTY, DoubleArray.EMPTY, DoubleArray.of(EXPIRY, MATURITY));
+  private static final PathFunction BOND_CALL = dfs -> Math.max(dfs[3][1] - STRIKE * dfs[3][0], 0d);
+
+  //-------------------------------------------------------------------------
+  public void test_bondOption() {
+    double dfExpiry = DISCOUNT_FACTORS.discountFactor(EXPIRY);
+    double dfMaturity = DISCOUNT_FACTORS.discountFactor(MATURITY);
+    double alpha = MODEL.alpha(PARAMETERS, 0d, EXPIRY, EXPIRY, MATURITY);
+    double d1 = Math.log(dfMaturity / (STRIKE * dfExpiry)) / alpha + 0.5 * alpha;
+    double expected = dfMaturity * NORMAL.getCDF(d1) - STRIKE * dfExpiry * NORMAL.getCDF(d1 - alpha);
+    double sobol = SOBOL.presentValue(PARAMETERS, DISCOUNT_FACTORS, SIMULATION_TIMES, MATURITY_TIMES, BOND_CALL);
+    assertEquals(sobol, expected, 1e-4);
+    double pseudo = PSEUDO.presentValue(PARAMETERS, DISCOUNT_FACTORS, SIMULATION_TIMES, MATURITY_TIMES, BOND_CALL);
+    assertEquals(pseudo, expected, 3e-4);
+  }
+
+  // the rebased discount factors are martingales
+  public void test_martingale() {
+    List<DoubleArray> maturities = ImmutableList.of(
+        DoubleArray.of(0.5, 3d), DoubleArray.of(7d), DoubleArray.of(EXPIRY, 10d));
+    DoubleArray times = DoubleArray.of(0.5, 1.25, EXPIRY);
+    double df3 = SOBOL.presentValue(PARAMETERS, DISCOUNT_FACTORS, times, maturities, dfs -> dfs[0][1]);
+    assertEquals(df3, DISCOUNT_FACTORS.discountFactor(3d), 5e-5);
+    double df7 = SOBOL.presentValue(PARAMETERS, DISCOUNT_FACTORS, times, maturities, dfs -> dfs[1][0]);
+    assertEquals(df7, DISCOUNT_FACTORS.discountFactor(7d), 5e-5);
+    double df10 = SOBOL.presentValue(PARAMETERS, DISCOUNT_FACTORS, times, maturities, dfs -> dfs[2][1]);
+    assertEquals(df10, DISCOUNT_FACTORS.discountFactor(10d), 5e-5);
+  }
+
+  // the result does not depend on the executor
+  public void test_executor() {
+    HullWhiteOneFactorMonteCarloEngine engine =
+        HullWhiteOneFactorMonteCarloEngine.of(10_001, new SplittableRandomNormalGenerator(7L), false);
+    double expected = engine.presentValue(PARAMETERS, DISCOUNT_FACTORS, SIMULATION_TIMES, MATURITY_TIMES, BOND_CALL);
+    for (int threads : new int[] {1, 3}) {
+      ForkJoinPool pool = new ForkJoinPool(threads);
+      try {
+        double computed = engine.withExecutor(pool)
+            .presentValue(PARAMETERS, DISCOUNT_FACTORS, SIMULATION_TIMES, MATURITY_TIMES, BOND_CALL);
+        assertEquals(computed, expected, 0d);
+      } finally {
+        pool.shutdown();
+      }
+    }
+    double sobol = SOBOL.withExecutor(ForkJoinPool.commonPool())
+        .presentValue(PARAMETERS, DISCOUNT_FACTORS, SIMULATION_TIMES, MATURITY_TIMES, BOND_CALL);
+    assertEquals(sobol, SOBOL.presentValue(PARAMETERS, DISCOUNT_FACTORS, SIMULATION_TIMES, MATURITY_TIMES, BOND_CALL));
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> HullWhiteOneFactorMonteCarloEngine.of(0, SobolNormalGenerator.of(4), false));
+    assertThrowsIllegalArg(() -> HullWhiteOneFactorMonteCarloEngine.of(101, SobolNormalGenerator.of(4), true));
+    assertThrowsIllegalArg(() -> SOBOL.presentValue(
+        PARAMETERS, DISCOUNT_FACTORS, DoubleArray.of(1d, 0.5), MATURITY_TIMES.subList(0, 2), BOND_CALL));
+    assertThrowsIllegalArg(() -> SOBOL.presentValue(
+        PARAMETERS, DISCOUNT_FACTORS, DoubleArray.of(1d), ImmutableList.of(DoubleArray.of(0.5)), BOND_CALL));
+    assertThrowsIllegalArg(() -> SOBOL.presentValue(
+        PARAMETERS, DISCOUNT_FACTORS, SIMULATION_TIMES, MATURITY_TIMES.subList(0, 2), BOND_CALL));
+    assertThrowsIllegalArg(() -> SOBOL.presentValue(
+        PARAMETERS, DISCOUNT_FACTORS, DoubleArray.of(0.5, 1, 1.5, 2, 2.5), ImmutableList.of(
+            DoubleArray.EMPTY, DoubleArray.EMPTY, DoubleArray.EMPTY, DoubleArray.EMPTY, DoubleArray.of(5d)),
+        BOND_CALL));
+  }
+
+}
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.pricer.impl.option;
 
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.product.common.PutCall.CALL;
 import static com.opengamma.strata.product.common.PutCall.PUT;
 import static org.testng.Assert.assertEquals;
@@ -8845,4 +8846,81 @@ public class BlackFormulaRepositoryTest {
     assertEquals(bsD2[1][2], bsD2[2][1], TOLERANCE_1, "AD Second order: 2nd - str-vol");
   }
 
+  //-------------------------------------------------------------------------
+  private static final double INF = Double.POSITIVE_INFINITY;
+  private static final double[] FORWARDS_BATCH = {0d, 1.e-12, 85d, 100d, 104d, 104d + 1.e-14, 150d, 1.e12, 1.e14, INF};
+  private static final double[] STRIKES_BATCH = {0d, 1.e-12, 90d, 104d, 250d, 1.e14, INF};
+  private static final double[] TIMES_BATCH = {0d, 1.e-20, 0.25, 4.5, 1.e30, INF};
+  private static final double[] VOLS_BATCH = {0d, 1.e-12, 0.05, 0.3, 0.8, 1.e14, INF};
+
+  public void batchTest() {
+    int n = FORWARDS_BATCH.length * STRIKES_BATCH.length * TIMES_BATCH.length * VOLS_BATCH.length;
+    double[] forwards = new double[n];
+    double[] strikes = new double[n];
+    double[] times = new double[n];
+    double[] vols = new double[n];
+    int k = 0;
+    for (double forward : FORWARDS_BATCH) {
+      for (double strike : STRIKES_BATCH) {
+        for (double time : TIMES_BATCH) {
+          for (double vol : VOLS_BATCH) {
+            forwards[k] = forward;
+            strikes[k] = strike;
+            times[k] = time;
+            vols[k] = vol;
+            k++;
+          }
+        }
+      }
+    }
+    double[] callPrices = new double[n];
+    double[] putPrices = new double[n];
+    double[] callDeltas = new double[n];
+    double[] putDeltas = new double[n];
+    double[] vegas = new double[n];
+    BlackFormulaRepository.price(forwards, strikes, times, vols, true, callPrices);
+    BlackFormulaRepository.price(forwards, strikes, times, vols, false, putPrices);
+    BlackFormulaRepository.delta(forwards, strikes, times, vols, true, callDeltas);
+    BlackFormulaRepository.delta(forwards, strikes, times, vols, false, putDeltas);
+    BlackFormulaRepository.vega(forwards, strikes, times, vols, vegas);
+    for (int i = 0; i < n; i++) {
+      assertEquals(callPrices[i], BlackFormulaRepository.price(forwards[i], strikes[i], times[i], vols[i], true), 0d);
+      assertEquals(putPrices[i], BlackFormulaRepository.price(forwards[i], strikes[i], times[i], vols[i], false), 0d);
+      assertEquals(callDeltas[i], BlackFormulaRepository.delta(forwards[i], strikes[i], times[i], vols[i], true), 0d);
+      assertEquals(putDeltas[i], BlackFormulaRepository.delta(forwards[i], strikes[i], times[i], vols[i], false), 0d);
+      assertEquals(vegas[i], BlackFormulaRepository.vega(forwards[i], strikes[i], times[i], vols[i]), 0d);
+    }
+  }
+
+  public void batchImpliedVolatilityTest() {
+    int nStrikes = STRIKES_INPUT.length;
+    int n = nStrikes * VOLS.length;
+    double[] prices = new double[n];
+    double[] forwards = new double[n];
+    double[] strikes = new double[n];
+    double[] times = new double[n];
+    for (int i = 0; i < n; i++) {
+      forwards[i] = FORWARD;
+      strikes[i] = STRIKES_INPUT[i % nStrikes];
+      times[i] = TIME_TO_EXPIRY;
+      prices[i] = BlackFormulaRepository.price(FORWARD, strikes[i], TIME_TO_EXPIRY, VOLS[i / nStrikes], true);
+    }
+    double[] vols = new double[n];
+    BlackFormulaRepository.impliedVolatility(prices, forwards, strikes, times, true, vols);
+    for (int i = 0; i < n; i++) {
+      double expected = BlackFormulaRepository.impliedVolatility(prices[i], FORWARD, strikes[i], TIME_TO_EXPIRY, true);
+      assertEquals(vols[i], expected, 0d);
+      assertEquals(vols[i], VOLS[i / nStrikes], 1.e-6);
+    }
+  }
+
+  public void batchErrorTest() {
+    double[] values = {FORWARD, FORWARD};
+    assertThrowsIllegalArg(() -> BlackFormulaRepository.price(values, values, values, new double[1], true, values));
+    assertThrowsIllegalArg(() -> BlackFormulaRepository.vega(values, values, values, values, new double[3]));
+    assertThrowsIllegalArg(() -> BlackFormulaRepository.delta(values, null, values, values, true, values));
+    assertThrowsIllegalArg(() -> BlackFormulaRepository.price(
+        values, values, values, new double[] {0.2, -0.2}, true, new double[2]));
+  }
+
 }
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.pricer.impl.option;
 
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
@@ -5968,4 +5969,81 @@ public class BlackScholesFormulaRepositoryTest {
         SPOT, STRIKES_INPUT[1], TIME_TO_EXPIRY, VOLS[1], INTEREST_RATES[1], NAN, true);
   }
 
+  //-------------------------------------------------------------------------
+  public void batchTest() {
+    double[] interestRates = {-0.01, 0d, 1.e-14, 0.032, 1.e12, INF, -INF};
+    double[] costsOfCarry = {0.05, 0d, 1.e-14, -0.02, 1.e12, INF, -INF};
+    int n = SPOT_EX.length * STRIKES_INPUT_EX.length * TIME_TO_EXPIRY_EX.length * VOLS_EX.length *
+        interestRates.length * costsOfCarry.length;
+    double[] spots = new double[n];
+    double[] strikes = new double[n];
+    double[] times = new double[n];
+    double[] vols = new double[n];
+    double[] rates = new double[n];
+    double[] carries = new double[n];
+    int k = 0;
+    for (double spot : SPOT_EX) {
+      for (double strike : STRIKES_INPUT_EX) {
+        for (double time : TIME_TO_EXPIRY_EX) {
+          for (double vol : VOLS_EX) {
+            for (double rate : interestRates) {
+              for (double carry : costsOfCarry) {
+                spots[k] = spot;
+                strikes[k] = strike;
+                times[k] = time;
+                vols[k] = vol;
+                rates[k] = rate;
+                carries[k] = carry;
+                k++;
+              }
+            }
+          }
+        }
+      }
+    }
+    double[] callPrices = new double[n];
+    double[] putPrices = new double[n];
+    double[] callDeltas = new double[n];
+    double[] putDeltas = new double[n];
+    double[] vegas = new double[n];
+    BlackScholesFormulaRepository.price(spots, strikes, times, vols, rates, carries, true, callPrices);
+    BlackScholesFormulaRepository.price(spots, strikes, times, vols, rates, carries, false, putPrices);
+    BlackScholesFormulaRepository.delta(spots, strikes, times, vols, rates, carries, true, callDeltas);
+    BlackScholesFormulaRepository.delta(spots, strikes, times, vols, rates, carries, false, putDeltas);
+    BlackScholesFormulaRepository.vega(spots, strikes, times, vols, rates, carries, vegas);
+    for (int i = 0; i < n; i++) {
+      assertEquals(
+          callPrices[i],
+          BlackScholesFormulaRepository.price(spots[i], strikes[i], times[i], vols[i], rates[i], carries[i], true),
+          0d);
+      assertEquals(
+          putPrices[i],
+          BlackScholesFormulaRepository.price(spots[i], strikes[i], times[i], vols[i], rates[i], carries[i], false),
+          0d);
+      assertEquals(
+          callDeltas[i],
+          BlackScholesFormulaRepository.delta(spots[i], strikes[i], times[i], vols[i], rates[i], carries[i], true),
+          0d);
+      assertEquals(
+          putDeltas[i],
+          BlackScholesFormulaRepository.delta(spots[i], strikes[i], times[i], vols[i], rates[i], carries[i], false),
+          0d);
+      assertEquals(
+          vegas[i],
+          BlackScholesFormulaRepository.vega(spots[i], strikes[i], times[i], vols[i], rates[i], carries[i]),
+          0d);
+    }
+  }
+
+  public void batchErrorTest() {
+    double[] values = {SPOT, SPOT};
+    double[] nan = {0.01, NAN};
+    assertThrowsIllegalArg(
+        () -> BlackScholesFormulaRepository.price(values, values, values, values, values, values, true, new double[1]));
+    assertThrowsIllegalArg(
+        () -> BlackScholesFormulaRepository.delta(values, values, values, values, nan, values, true, new double[2]));
+    assertThrowsIllegalArg(
+        () -> BlackScholesFormulaRepository.vega(values, values, values, values, values, nan, new double[2]));
+  }
+
 }
@@ -0,0 +1,189 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.option;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.product.common.PutCall.CALL;
+import static com.opengamma.strata.product.common.PutCall.PUT;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.product.common.PutCall;
+
+/**
+ * Test {@link ImpliedVolatilityFormulaRepository}.
+ */
+@Test
+public class ImpliedVolatilityFormulaRepositoryTest {
+
+  private static final double FORWARD = 1.2;
+  private static final double[] MONEYNESS = {0.2, 0.5, 0.8, 0.95, 0.999, 1d, 1.001, 1.05, 1.25, 1.5, 2d, 3d, 5d};
+  private static final double[] TIMES = {0.01, 0.1, 0.5, 1d, 2d, 5d, 10d, 30d};
+  private static final double[] LOGNORMAL_VOLS = {0.01, 0.05, 0.1, 0.2, 0.4, 0.8, 1.5};
+  private static final double NORMAL_FORWARD = 0.02;
+  private static final double[] NORMAL_STRIKES = {-0.05, -0.005, 0d, 0.01, 0.019, 0.02, 0.021, 0.03, 0.1, 0.5};
+  private static final double[] NORMAL_VOLS = {0.0001, 0.001, 0.005, 0.01, 0.05, 0.2};
+  private static final double TOLERANCE_VOL = 1e-11;
+
+  //-------------------------------------------------------------------------
+  // out-of-the-money prices, for which the implied volatility is well conditioned
+  public void test_blackVolatility() {
+    for (double moneyness : MONEYNESS) {
+      double strike = FORWARD * moneyness;
+      boolean isCall = strike >= FORWARD;
+      for (double time : TIMES) {
+        for (double vol : LOGNORMAL_VOLS) {
+          double price = BlackFormulaRepository.price(FORWARD, strike, time, vol, isCall);
+          if (price < 1e-300) {
+            continue;
+          }
+          double computed = ImpliedVolatilityFormulaRepository.blackVolatility(price, FORWARD, strike, time, isCall);
+          assertEquals(computed, vol, vol * TOLERANCE_VOL);
+        }
+      }
+    }
+  }
+
+  public void test_blackVolatility_inTheMoney() {
+    for (double moneyness : MONEYNESS) {
+      double strike = FORWARD * moneyness;
+      boolean isCall = strike < FORWARD;
+      double intrinsic = Math.max(isCall ? FORWARD - strike : strike - FORWARD, 0d);
+      for (double vol : LOGNORMAL_VOLS) {
+        double price = BlackFormulaRepository.price(FORWARD, strike, 2d, vol, isCall);
+        double computed = ImpliedVolatilityFormulaRepository.blackVolatility(price, FORWARD, strike, 2d, isCall);
+        if (price - intrinsic > 1e-8 * price) {
+          assertEquals(computed, vol, vol * 1e-6);
+        }
+      }
+    }
+  }
+
+  public void test_blackVolatility_intrinsic() {
+    assertEquals(ImpliedVolatilityFormulaRepository.blackVolatility(0d, FORWARD, 1.5, 1d, true), 0d);
+    assertEquals(ImpliedVolatilityFormulaRepository.blackVolatility(0.3, FORWARD, 1.5, 1d, false), 0d);
+  }
+
+  public void test_blackVolatility_batch() {
+    int n = MONEYNESS.length;
+    double[] prices = new double[n];
+    double[] forwards = new double[n];
+    double[] strikes = new double[n];
+    double[] times = new double[n];
+    for (int i = 0; i < n; i++) {
+      forwards[i] = FORWARD;
+      strikes[i] = FORWARD * MONEYNESS[i];
+      times[i] = TIMES[i % TIMES.length];
+      prices[i] = BlackFormulaRepository.price(forwards[i], strikes[i], times[i], 0.3, false);
+    }
+    double[] vols = new double[n];
+    ImpliedVolatilityFormulaRepository.blackVolatility(prices, forwards, strikes, times, false, vols);
+    for (int i = 0; i < n; i++) {
+      double expected = ImpliedVolatilityFormulaRepository.blackVolatility(
+          prices[i], forwards[i], strikes[i], times[i], false);
+      assertEquals(vols[i], expected, 0d);
+    }
+  }
+
+  public void test_blackVolatility_invalid() {
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.blackVolatility(0.1, -FORWARD, 1d, 1d, true));
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.blackVolatility(0.1, FORWARD, 0d, 1d, true));
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.blackVolatility(0.1, FORWARD, 1d, 0d, true));
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.blackVolatility(0.1, FORWARD, 1d, 1d, true));
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.blackVolatility(FORWARD, FORWARD, 1d, 1d, true));
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.blackVolatility(Double.NaN, FORWARD, 1d, 1d, true));
+    double[] values = {0.1, 0.2};
+    assertThrowsIllegalArg(
+        () -> ImpliedVolatilityFormulaRepository.blackVolatility(values, values, values, values, true, new double[3]));
+  }
+
+  //-------------------------------------------------------------------------
+  // out-of-the-money prices, for which the implied volatility is well conditioned
+  public void test_normalVolatility() {
+    for (double strike : NORMAL_STRIKES) {
+      PutCall putCall = strike >= NORMAL_FORWARD ? CALL : PUT;
+      for (double time : TIMES) {
+        for (double vol : NORMAL_VOLS) {
+          double price = NormalFormulaRepository.price(NORMAL_FORWARD, strike, time, vol, putCall);
+          if (price < 1e-300) {
+            continue;
+          }
+          double computed = ImpliedVolatilityFormulaRepository.normalVolatility(
+              price, NORMAL_FORWARD, strike, time, putCall);
+          assertEquals(computed, vol, vol * TOLERANCE_VOL);
+        }
+      }
+    }
+  }
+
+  public void test_normalVolatility_inTheMoney() {
+    for (double strike : NORMAL_STRIKES) {
+      PutCall putCall = strike < NORMAL_FORWARD ? CALL : PUT;
+      double intrinsic = Math.max(putCall.isCall() ? NORMAL_FORWARD - strike : strike - NORMAL_FORWARD, 0d);
+      for (double vol : NORMAL_VOLS) {
+        double price = NormalFormulaRepository.price(NORMAL_FORWARD, strike, 2d, vol, putCall);
+        double computed = ImpliedVolatilityFormulaRepository.normalVolatility(
+            price, NORMAL_FORWARD, strike, 2d, putCall);
+        if (price - intrinsic > 1e-8 * price) {
+          assertEquals(computed, vol, vol * 1e-6);
+        }
+      }
+    }
+  }
+
+  public void test_normalVolatility_intrinsic() {
+    assertEquals(ImpliedVolatilityFormulaRepository.normalVolatility(0d, 0.01, 0.02, 1d, CALL), 0d);
+    assertEquals(ImpliedVolatilityFormulaRepository.normalVolatility(0.01, 0.01, 0.02, 1d, PUT), 0d);
+  }
+
+  // prices rounded below the intrinsic value are accepted when the numeraire is applied
+  public void test_normalVolatility_numeraire() {
+    double numeraire = 4.5;
+    double price = NormalFormulaRepository.price(NORMAL_FORWARD, 0.025, 2d, 0.01, PUT) * numeraire;
+    assertEquals(
+        ImpliedVolatilityFormulaRepository.normalVolatility(price, NORMAL_FORWARD, 0.025, 2d, numeraire, PUT),
+        ImpliedVolatilityFormulaRepository.normalVolatility(price / numeraire, NORMAL_FORWARD, 0.025, 2d, PUT),
+        1e-12);
+    double intrinsicPrice = 0.01 * numeraire;
+    assertEquals(ImpliedVolatilityFormulaRepository.normalVolatility(
+        intrinsicPrice - 1e-8, 0.03, 0.02, 2d, numeraire, CALL), 0d);
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.normalVolatility(
+        intrinsicPrice - 1e-4, 0.03, 0.02, 2d, numeraire, CALL));
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.normalVolatility(
+        intrinsicPrice, 0.03, 0.02, 2d, 0d, CALL));
+  }
+
+  public void test_normalVolatility_batch() {
+    int n = NORMAL_STRIKES.length;
+    double[] prices = new double[n];
+    double[] forwards = new double[n];
+    double[] times = new double[n];
+    for (int i = 0; i < n; i++) {
+      forwards[i] = NORMAL_FORWARD;
+      times[i] = 2d + i;
+      prices[i] = NormalFormulaRepository.price(forwards[i], NORMAL_STRIKES[i], times[i], 0.01, CALL);
+    }
+    double[] vols = new double[n];
+    ImpliedVolatilityFormulaRepository.normalVolatility(prices, forwards, NORMAL_STRIKES, times, CALL, vols);
+    for (int i = 0; i < n; i++) {
+      double expected = ImpliedVolatilityFormulaRepository.normalVolatility(
+          prices[i], forwards[i], NORMAL_STRIKES[i], times[i], CALL);
+      assertEquals(vols[i], expected, 0d);
+      assertEquals(vols[i], 0.01, 1e-6);
+    }
+  }
+
+  public void test_normalVolatility_invalid() {
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.normalVolatility(0.01, 0.02, 0.01, 0d, CALL));
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.normalVolatility(0.001, 0.02, 0.01, 1d, CALL));
+    assertThrowsIllegalArg(() -> ImpliedVolatilityFormulaRepository.normalVolatility(-0.001, 0.02, 0.03, 1d, CALL));
+    double[] values = {0.01, 0.02};
+    assertThrowsIllegalArg(
+        () -> ImpliedVolatilityFormulaRepository.normalVolatility(values, values, new double[1], values, PUT, values));
+  }
+
+}
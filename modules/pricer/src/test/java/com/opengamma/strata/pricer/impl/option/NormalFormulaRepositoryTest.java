@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.option;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.product.common.PutCall.CALL;
+import static com.opengamma.strata.product.common.PutCall.PUT;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.product.common.PutCall;
+
+/**
+ * Test {@link NormalFormulaRepository} batch methods.
+ */
+@Test
+public class NormalFormulaRepositoryTest {
+
+  private static final double[] FORWARDS = {-0.01, 0d, 0.005, 0.02, 0.02 + 1.e-17, 0.035};
+  private static final double[] STRIKES = {-0.005, 0d, 0.01, 0.02, 0.05};
+  private static final double[] TIMES = {0d, 1.e-12, 0.25, 2d, 10d};
+  private static final double[] VOLS = {0d, 1.e-15, 0.002, 0.008, 0.015};
+
+  private static final int N = FORWARDS.length * STRIKES.length * TIMES.length * VOLS.length;
+  private static final double[] FORWARDS_BATCH = new double[N];
+  private static final double[] STRIKES_BATCH = new double[N];
+  private static final double[] TIMES_BATCH = new double[N];
+  private static final double[] VOLS_BATCH = new double[N];
+  static {
+    int k = 0;
+    for (double forward : FORWARDS) {
+      for (double strike : STRIKES) {
+        for (double time : TIMES) {
+          for (double vol : VOLS) {
+            FORWARDS_BATCH[k] = forward;
+            STRIKES_BATCH[k] = strike;
+            TIMES_BATCH[k] = time;
+            VOLS_BATCH[k] = vol;
+            k++;
+          }
+        }
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_price() {
+    for (PutCall putCall : new PutCall[] {CALL, PUT}) {
+      double[] prices = new double[N];
+      NormalFormulaRepository.price(FORWARDS_BATCH, STRIKES_BATCH, TIMES_BATCH, VOLS_BATCH, putCall, prices);
+      for (int i = 0; i < N; i++) {
+        double expected = NormalFormulaRepository.price(
+            FORWARDS_BATCH[i], STRIKES_BATCH[i], TIMES_BATCH[i], VOLS_BATCH[i], putCall);
+        assertEquals(prices[i], expected, 0d);
+      }
+    }
+  }
+
+  public void test_delta() {
+    for (PutCall putCall : new PutCall[] {CALL, PUT}) {
+      double[] deltas = new double[N];
+      NormalFormulaRepository.delta(FORWARDS_BATCH, STRIKES_BATCH, TIMES_BATCH, VOLS_BATCH, putCall, deltas);
+      for (int i = 0; i < N; i++) {
+        double expected = NormalFormulaRepository.delta(
+            FORWARDS_BATCH[i], STRIKES_BATCH[i], TIMES_BATCH[i], VOLS_BATCH[i], putCall);
+        assertEquals(deltas[i], expected, 0d);
+      }
+    }
+  }
+
+  public void test_vega() {
+    double[] vegas = new double[N];
+    NormalFormulaRepository.vega(FORWARDS_BATCH, STRIKES_BATCH, TIMES_BATCH, VOLS_BATCH, vegas);
+    for (int i = 0; i < N; i++) {
+      double expected = NormalFormulaRepository.vega(
+          FORWARDS_BATCH[i], STRIKES_BATCH[i], TIMES_BATCH[i], VOLS_BATCH[i], CALL);
+      assertEquals(vegas[i], expected, 0d);
+    }
+  }
+
+  public void test_impliedVolatility() {
+    int n = STRIKES.length;
+    double[] prices = new double[n];
+    double[] forwards = new double[n];
+    double[] times = new double[n];
+    double[] initialVols = new double[n];
+    double[] numeraires = new double[n];
+    for (int i = 0; i < n; i++) {
+      forwards[i] = 0.02;
+      times[i] = 2d;
+      numeraires[i] = 0.95;
+      prices[i] = numeraires[i] * NormalFormulaRepository.price(forwards[i], STRIKES[i], times[i], 0.01, PUT);
+    }
+    double[] vols = new double[n];
+    NormalFormulaRepository.impliedVolatility(prices, forwards, STRIKES, times, initialVols, numeraires, PUT, vols);
+    for (int i = 0; i < n; i++) {
+      double expected = NormalFormulaRepository.impliedVolatility(
+          prices[i], forwards[i], STRIKES[i], times[i], initialVols[i], numeraires[i], PUT);
+      assertEquals(vols[i], expected, 0d);
+      assertEquals(vols[i], 0.01, 1.e-8);
+    }
+  }
+
+  public void test_lengths() {
+    double[] values = {0.01, 0.02};
+    assertThrowsIllegalArg(() -> NormalFormulaRepository.price(values, values, values, values, CALL, new double[3]));
+    assertThrowsIllegalArg(() -> NormalFormulaRepository.delta(values, new double[1], values, values, PUT, values));
+    assertThrowsIllegalArg(() -> NormalFormulaRepository.vega(values, values, values, null, values));
+  }
+
+}
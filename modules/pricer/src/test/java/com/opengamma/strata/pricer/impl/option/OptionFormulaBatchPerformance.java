@@ -0,0 +1,165 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.impl.option;
+
+import java.util.Arrays;
+import java.util.function.DoubleSupplier;
+
+import com.opengamma.strata.product.common.PutCall;
+
+/**
+ * Vague performance test.
+ * <p>
+ * Compares the scalar and batch methods of the Black, normal and Black-Scholes formula repositories,
+ * and the implied volatility root-finding with the rational approximations.
+ */
+public class OptionFormulaBatchPerformance {
+
+  private static final int SIZE = 100_000;
+  private static final double[] FORWARDS = new double[SIZE];
+  private static final double[] STRIKES = new double[SIZE];
+  private static final double[] NORMAL_STRIKES = new double[SIZE];
+  private static final double[] TIMES = new double[SIZE];
+  private static final double[] VOLS = new double[SIZE];
+  private static final double[] NORMAL_VOLS = new double[SIZE];
+  private static final double[] RATES = new double[SIZE];
+  private static final double[] CARRIES = new double[SIZE];
+  private static final double[] RESULTS = new double[SIZE];
+  private static final int IMPLIED_SIZE = 10_000;
+  static {
+    for (int i = 0; i < SIZE; i++) {
+      FORWARDS[i] = 100d + (i % 17);
+      STRIKES[i] = 80d + (i % 41);
+      NORMAL_STRIKES[i] = 0.01 + 0.0005 * (i % 41);
+      TIMES[i] = 0.1 + 0.05 * (i % 200);
+      VOLS[i] = 0.1 + 0.01 * (i % 30);
+      NORMAL_VOLS[i] = 0.002 + 0.0002 * (i % 30);
+      RATES[i] = 0.01 + 0.001 * (i % 20);
+      CARRIES[i] = 0.005 * (i % 7);
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    System.out.println("Go");
+    for (int i = 0; i < 12; i++) {
+      process();
+    }
+  }
+
+  private static void process() {
+    time("Black scalar", () -> {
+      double total = 0d;
+      for (int i = 0; i < SIZE; i++) {
+        total += BlackFormulaRepository.price(FORWARDS[i], STRIKES[i], TIMES[i], VOLS[i], true);
+        total += BlackFormulaRepository.delta(FORWARDS[i], STRIKES[i], TIMES[i], VOLS[i], true);
+        total += BlackFormulaRepository.vega(FORWARDS[i], STRIKES[i], TIMES[i], VOLS[i]);
+      }
+      return total;
+    });
+    time("Black batch", () -> {
+      BlackFormulaRepository.price(FORWARDS, STRIKES, TIMES, VOLS, true, RESULTS);
+      double total = sum();
+      BlackFormulaRepository.delta(FORWARDS, STRIKES, TIMES, VOLS, true, RESULTS);
+      total += sum();
+      BlackFormulaRepository.vega(FORWARDS, STRIKES, TIMES, VOLS, RESULTS);
+      return total + sum();
+    });
+    time("Normal scalar", () -> {
+      double total = 0d;
+      for (int i = 0; i < SIZE; i++) {
+        total += NormalFormulaRepository.price(0.02, NORMAL_STRIKES[i], TIMES[i], NORMAL_VOLS[i], PutCall.CALL);
+        total += NormalFormulaRepository.delta(0.02, NORMAL_STRIKES[i], TIMES[i], NORMAL_VOLS[i], PutCall.CALL);
+        total += NormalFormulaRepository.vega(0.02, NORMAL_STRIKES[i], TIMES[i], NORMAL_VOLS[i], PutCall.CALL);
+      }
+      return total;
+    });
+    double[] normalForwards = new double[SIZE];
+    Arrays.fill(normalForwards, 0.02);
+    time("Normal batch", () -> {
+      NormalFormulaRepository.price(normalForwards, NORMAL_STRIKES, TIMES, NORMAL_VOLS, PutCall.CALL, RESULTS);
+      double total = sum();
+      NormalFormulaRepository.delta(normalForwards, NORMAL_STRIKES, TIMES, NORMAL_VOLS, PutCall.CALL, RESULTS);
+      total += sum();
+      NormalFormulaRepository.vega(normalForwards, NORMAL_STRIKES, TIMES, NORMAL_VOLS, RESULTS);
+      return total + sum();
+    });
+    time("Black-Scholes scalar", () -> {
+      double total = 0d;
+      for (int i = 0; i < SIZE; i++) {
+        total += BlackScholesFormulaRepository.price(
+            FORWARDS[i], STRIKES[i], TIMES[i], VOLS[i], RATES[i], CARRIES[i], true);
+        total += BlackScholesFormulaRepository.delta(
+            FORWARDS[i], STRIKES[i], TIMES[i], VOLS[i], RATES[i], CARRIES[i], true);
+        total += BlackScholesFormulaRepository.vega(
+            FORWARDS[i], STRIKES[i], TIMES[i], VOLS[i], RATES[i], CARRIES[i]);
+      }
+      return total;
+    });
+    time("Black-Scholes batch", () -> {
+      BlackScholesFormulaRepository.price(FORWARDS, STRIKES, TIMES, VOLS, RATES, CARRIES, true, RESULTS);
+      double total = sum();
+      BlackScholesFormulaRepository.delta(FORWARDS, STRIKES, TIMES, VOLS, RATES, CARRIES, true, RESULTS);
+      total += sum();
+      BlackScholesFormulaRepository.vega(FORWARDS, STRIKES, TIMES, VOLS, RATES, CARRIES, RESULTS);
+      return total + sum();
+    });
+    double[] prices = new double[IMPLIED_SIZE];
+    double[] normalPrices = new double[IMPLIED_SIZE];
+    for (int i = 0; i < IMPLIED_SIZE; i++) {
+      prices[i] = BlackFormulaRepository.price(FORWARDS[i], STRIKES[i], TIMES[i], VOLS[i], true);
+      normalPrices[i] = NormalFormulaRepository.price(0.02, NORMAL_STRIKES[i], TIMES[i], NORMAL_VOLS[i], PutCall.CALL);
+    }
+    time("Black implied root-finding", () -> {
+      double total = 0d;
+      for (int i = 0; i < IMPLIED_SIZE; i++) {
+        total += BlackFormulaRepository.impliedVolatility(prices[i], FORWARDS[i], STRIKES[i], TIMES[i], true);
+      }
+      return total;
+    });
+    time("Black implied rational", () -> {
+      double total = 0d;
+      for (int i = 0; i < IMPLIED_SIZE; i++) {
+        total += ImpliedVolatilityFormulaRepository.blackVolatility(prices[i], FORWARDS[i], STRIKES[i], TIMES[i], true);
+      }
+      return total;
+    });
+    time("Normal implied root-finding", () -> {
+      double total = 0d;
+      for (int i = 0; i < IMPLIED_SIZE; i++) {
+        total += NormalFormulaRepository.impliedVolatility(
+            normalPrices[i], 0.02, NORMAL_STRIKES[i], TIMES[i], 0.01, 1d, PutCall.CALL);
+      }
+      return total;
+    });
+    time("Normal implied rational", () -> {
+      double total = 0d;
+      for (int i = 0; i < IMPLIED_SIZE; i++) {
+        total += ImpliedVolatilityFormulaRepository.normalVolatility(
+            normalPrices[i], 0.02, NORMAL_STRIKES[i], TIMES[i], PutCall.CALL);
+      }
+      return total;
+    });
+  }
+
+  private static double sum() {
+    double total = 0d;
+    for (double result : RESULTS) {
+      total += result;
+    }
+    return total;
+  }
+
+  private static void time(String name, DoubleSupplier task) {
+    long start = System.nanoTime();
+    double total = 0d;
+    for (int i = 0; i < 20; i++) {
+      total += task.getAsDouble();
+    }
+    long end = System.nanoTime();
+    System.out.println(name + ": " + (end - start) / 1_000_000d + " ms, total " + total);
+  }
+
+}
@@ -423,6 +423,27 @@ public class SabrExtrapolationRightFunctionTest {
     }
   }
 
+  /**
+   * Tests the price derivatives with respect to forward and SABR parameters obtained together.
+   */
+  public void priceAdjointForwardSabr() {
+    SabrExtrapolationRightFunction func = SabrExtrapolationRightFunction.of(
+        FORWARD, SABR_DATA, CUT_OFF_STRIKE, TIME_TO_EXPIRY, MU, SabrHaganVolatilityFunctionProvider.DEFAULT);
+    double[] strikes = {0.08, CUT_OFF_STRIKE, 0.12};
+    for (double strike : strikes) {
+      for (PutCall putCall : PutCall.values()) {
+        ValueDerivatives computed = func.priceAdjointForwardSabr(strike, putCall);
+        ValueDerivatives expectedSabr = func.priceAdjointSabr(strike, putCall);
+        assertEquals(computed.getValue(), expectedSabr.getValue(), TOLERANCE_PRICE);
+        assertEquals(computed.getDerivatives().size(), 5);
+        assertEquals(computed.getDerivative(0), func.priceDerivativeForward(strike, putCall), TOLERANCE_PRICE);
+        for (int loopparam = 0; loopparam < 4; loopparam++) {
+          assertEquals(computed.getDerivative(loopparam + 1), expectedSabr.getDerivative(loopparam), TOLERANCE_PRICE);
+        }
+      }
+    }
+  }
+
   /**
    * Tests the price derivative with respect to forward for options in SABR model with extrapolation. Other data.
    */
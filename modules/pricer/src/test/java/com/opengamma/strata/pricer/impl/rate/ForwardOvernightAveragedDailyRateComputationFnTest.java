@@ -30,6 +30,7 @@ import com.opengamma.strata.market.explain.ExplainKey;
 import com.opengamma.strata.market.explain.ExplainMap;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.rate.CachingRatesProvider;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
 import com.opengamma.strata.product.rate.OvernightAveragedDailyRateComputation;
 
@@ -160,6 +161,41 @@ public class ForwardOvernightAveragedDailyRateComputationFnTest {
     assertEquals(FUNCTION.rateSensitivity(cmp, startDate, endDate, rates), PointSensitivityBuilder.none());
   }
 
+  // long history of fixings, the realised part is summed from the cumulative fixings of the caching provider
+  public void test_longHistory() {
+    LocalDate startDate = date(2016, 3, 1);
+    LocalDate endDate = date(2018, 5, 31);
+    LocalDate valuationDate = date(2018, 5, 16);
+    OvernightAveragedDailyRateComputation cmp = OvernightAveragedDailyRateComputation.of(
+        USD_FED_FUND, startDate, endDate, REF_DATA);
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    LocalDate fixingDate = cmp.getFixingCalendar().previous(startDate.minusMonths(1));
+    for (int i = 0; fixingDate.isBefore(valuationDate); i++) {
+      builder.put(fixingDate, 0.01 + 0.0001 * (i % 11));
+      fixingDate = cmp.getFixingCalendar().next(fixingDate);
+    }
+    ImmutableRatesProvider rates = ImmutableRatesProvider.builder(valuationDate)
+        .indexCurve(USD_FED_FUND, CURVE)
+        .timeSeries(USD_FED_FUND, builder.build())
+        .build();
+    double computedRate = FUNCTION.rate(cmp, DUMMY_ACCRUAL_START_DATE, DUMMY_ACCRUAL_END_DATE, rates);
+    PointSensitivityBuilder sensiComputed = FUNCTION.rateSensitivity(cmp, startDate, endDate, rates);
+    double expectedRate = 0d;
+    PointSensitivityBuilder sensiExpected = PointSensitivityBuilder.none();
+    for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+      OvernightIndexObservation obs = cmp.observeOn(cmp.getFixingCalendar().previousOrSame(date));
+      expectedRate += rates.overnightIndexRates(USD_FED_FUND).rate(obs);
+      sensiExpected = sensiExpected.combinedWith(rates.overnightIndexRates(USD_FED_FUND).ratePointSensitivity(obs));
+    }
+    double nDays = DAYS.between(startDate, endDate) + 1;
+    assertEquals(computedRate, expectedRate / nDays, 1.0e-12);
+    assertTrue(sensiComputed.build().equalWithTolerance(sensiExpected.multipliedBy(1d / nDays).build(), TOL));
+    CachingRatesProvider caching = CachingRatesProvider.of(rates);
+    assertEquals(FUNCTION.rate(cmp, DUMMY_ACCRUAL_START_DATE, DUMMY_ACCRUAL_END_DATE, caching), computedRate, 1.0e-12);
+    assertTrue(FUNCTION.rateSensitivity(cmp, startDate, endDate, caching).build()
+        .equalWithTolerance(sensiComputed.build(), TOL));
+  }
+
   private static ImmutableRatesProvider getRatesProvider(LocalDate valuationDate) {
     return ImmutableRatesProvider.builder(valuationDate)
         .indexCurve(USD_FED_FUND, CURVE)
@@ -37,6 +37,7 @@ import com.opengamma.strata.market.explain.ExplainMapBuilder;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.pricer.PricingException;
+import com.opengamma.strata.pricer.rate.CachingRatesProvider;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
 import com.opengamma.strata.pricer.rate.OvernightIndexRates;
 import com.opengamma.strata.pricer.rate.OvernightRateSensitivity;
@@ -1017,6 +1018,68 @@ public class ForwardOvernightCompoundedRateComputationFnTest {
   }
 
   //-------------------------------------------------------------------------
+  /** Long history of fixings. The realised part is compounded from the cumulative fixings of the caching provider. */
+  public void rateFedFundLongHistory() {
+    LocalDate startDate = date(2013, 1, 8);
+    LocalDate valuationDate = date(2015, 1, 9);
+    OvernightCompoundedRateComputation ro =
+        OvernightCompoundedRateComputation.of(USD_FED_FUND, startDate, FIXING_END_DATE, 0, REF_DATA);
+    LocalDateDoubleTimeSeries fixings = longHistory(ro, valuationDate, null);
+    DoubleArray time = DoubleArray.of(0.0, 0.5, 1.0, 2.0, 5.0, 10.0);
+    DoubleArray rate = DoubleArray.of(0.0100, 0.0110, 0.0115, 0.0130, 0.0135, 0.0135);
+    Curve fedFundCurve =
+        InterpolatedNodalCurve.of(Curves.zeroRates("USD-Fed-Fund", ACT_ACT_ISDA), time, rate, INTERPOLATOR);
+    ImmutableRatesProvider prov = ImmutableRatesProvider.builder(valuationDate)
+        .overnightIndexCurve(USD_FED_FUND, fedFundCurve, fixings)
+        .build();
+    // fixings published before the valuation date, then the fixing published on the valuation date
+    double factor = 1d;
+    LocalDate fixingDate = startDate;
+    while (fixingDate.isBefore(valuationDate)) {
+      factor *= 1d + ro.observeOn(fixingDate).getYearFraction() * fixings.get(fixingDate).getAsDouble();
+      fixingDate = ro.getFixingCalendar().next(fixingDate);
+    }
+    OvernightIndexObservation obs = ro.observeOn(fixingDate);
+    LocalDate endDate = ro.calculateMaturityFromFixing(FIXING_FINAL_DATE);
+    double afForward = USD_FED_FUND.getDayCount().yearFraction(obs.getEffectiveDate(), endDate);
+    factor *= 1d + afForward * prov.overnightIndexRates(USD_FED_FUND).periodRate(obs, endDate);
+    double afTotal = USD_FED_FUND.getDayCount().yearFraction(ro.calculateEffectiveFromFixing(startDate), endDate);
+    double rateExpected = (factor - 1d) / afTotal;
+    double rateComputed = OBS_FWD_ONCMP.rate(ro, DUMMY_ACCRUAL_START_DATE, DUMMY_ACCRUAL_END_DATE, prov);
+    assertEquals(rateComputed, rateExpected, TOLERANCE_RATE);
+    CachingRatesProvider caching = CachingRatesProvider.of(prov);
+    double rateCaching = OBS_FWD_ONCMP.rate(ro, DUMMY_ACCRUAL_START_DATE, DUMMY_ACCRUAL_END_DATE, caching);
+    assertEquals(rateCaching, rateExpected, TOLERANCE_RATE);
+    // a missing fixing before the most recent run is still reported
+    ImmutableRatesProvider provGap = ImmutableRatesProvider.builder(valuationDate)
+        .overnightIndexCurve(USD_FED_FUND, fedFundCurve, longHistory(ro, valuationDate, date(2014, 6, 10)))
+        .build();
+    assertThrows(
+        () -> OBS_FWD_ONCMP.rate(ro, DUMMY_ACCRUAL_START_DATE, DUMMY_ACCRUAL_END_DATE, provGap),
+        PricingException.class);
+    assertThrows(
+        () -> OBS_FWD_ONCMP.rate(
+            ro, DUMMY_ACCRUAL_START_DATE, DUMMY_ACCRUAL_END_DATE, CachingRatesProvider.of(provGap)),
+        PricingException.class);
+  }
+
+  // fixings on each business day from the start of the computation until before the valuation date
+  private static LocalDateDoubleTimeSeries longHistory(
+      OvernightCompoundedRateComputation ro,
+      LocalDate valuationDate,
+      LocalDate missingDate) {
+
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    LocalDate fixingDate = ro.getStartDate();
+    for (int i = 0; fixingDate.isBefore(valuationDate); i++) {
+      if (!fixingDate.equals(missingDate)) {
+        builder.put(fixingDate, 0.001 + 0.0001 * (i % 7));
+      }
+      fixingDate = ro.getFixingCalendar().next(fixingDate);
+    }
+    return builder.build();
+  }
+
   private static final CurveInterpolator INTERPOLATOR = CurveInterpolators.DOUBLE_QUADRATIC;
   private static final LocalDateDoubleTimeSeries TIME_SERIES;
   static {
@@ -6,9 +6,11 @@
 package com.opengamma.strata.pricer.impl.tree;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.testng.annotations.Test;
@@ -18,6 +20,7 @@ import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.pricer.fxopt.RecombiningTrinomialTreeData;
 import com.opengamma.strata.product.common.PutCall;
+import com.opengamma.strata.product.option.BarrierType;
 
 /**
  * Test {@link TrinomialTree}.
@@ -82,4 +85,59 @@ public class TrinomialTreeTest {
     }
   }
 
+  /**
+   * Test the batch methods against the single option methods.
+   */
+  public void test_optionPrices() {
+    int nSteps = 92;
+    double dt = TIME / nSteps;
+    LatticeSpecification lattice = new CoxRossRubinsteinLatticeSpecification();
+    double[] params = lattice.getParametersTrinomial(0.1, 0.02, dt).toArray();
+    DoubleArray time = DoubleArray.of(nSteps + 1, i -> dt * i);
+    DoubleArray df = DoubleArray.of(nSteps, i -> Math.exp(-0.02 * dt));
+    double[][] stateValue = new double[nSteps + 1][];
+    stateValue[0] = new double[] {SPOT };
+    List<DoubleMatrix> prob = new ArrayList<DoubleMatrix>();
+    double[] probs = new double[] {params[5], params[4], params[3] };
+    for (int i = 0; i < nSteps; ++i) {
+      int index = i;
+      stateValue[i + 1] = DoubleArray.of(2 * i + 3,
+          j -> SPOT * Math.pow(params[2], index + 1 - j) * Math.pow(params[1], j)).toArray();
+      double[][] probMatrix = new double[2 * i + 1][];
+      Arrays.fill(probMatrix, probs);
+      prob.add(DoubleMatrix.ofUnsafe(probMatrix));
+    }
+    RecombiningTrinomialTreeData treeData =
+        RecombiningTrinomialTreeData.of(DoubleMatrix.ofUnsafe(stateValue), prob, df, time);
+    List<OptionFunction> functions = new ArrayList<>();
+    for (double strike : STRIKES) {
+      functions.add(EuropeanVanillaOptionFunction.of(strike, TIME, PutCall.CALL, nSteps));
+      functions.add(ConstantContinuousSingleBarrierKnockoutFunction.of(
+          strike, TIME, PutCall.PUT, nSteps, BarrierType.DOWN, 80d, DoubleArray.filled(nSteps + 1, 1d)));
+      functions.add(ConstantContinuousSingleBarrierKnockoutFunction.of(
+          strike, TIME, PutCall.CALL, nSteps, BarrierType.UP, 130d, DoubleArray.filled(nSteps + 1)));
+    }
+    DoubleArray prices = TRINOMIAL_TREE.optionPrices(functions, treeData);
+    List<ValueDerivatives> adjoints = TRINOMIAL_TREE.optionPriceAdjoints(functions, treeData);
+    for (int i = 0; i < functions.size(); ++i) {
+      double expected = TRINOMIAL_TREE.optionPrice(functions.get(i), treeData);
+      assertEquals(prices.get(i), expected);
+      assertEquals(adjoints.get(i), TRINOMIAL_TREE.optionPriceAdjoint(functions.get(i), treeData));
+      assertEquals(adjoints.get(i).getValue(), expected);
+    }
+    // the tree is flattened once, when created
+    FlattenedTrinomialTreeData flattened = treeData.getFlattenedData();
+    assertSame(treeData.getFlattenedData(), flattened);
+    for (int i = 0; i <= nSteps; ++i) {
+      int offset = FlattenedTrinomialTreeData.layerOffset(i);
+      assertEquals(
+          DoubleArray.copyOf(flattened.getStateValue(), offset, offset + 2 * i + 1), treeData.getStateValueAtLayer(i));
+    }
+    // option value arrays beyond the retained size of the workspace
+    List<OptionFunction> manyFunctions = Collections.nCopies(400, functions.get(0));
+    DoubleArray manyPrices = TRINOMIAL_TREE.optionPrices(manyFunctions, treeData);
+    assertEquals(manyPrices, DoubleArray.filled(400, prices.get(0)));
+    assertEquals(TRINOMIAL_TREE.optionPrice(functions.get(0), treeData), prices.get(0));
+  }
+
 }
@@ -348,6 +348,28 @@ public class SabrHaganVolatilityFunctionProviderTest extends SabrVolatilityFunct
     assertThrowsIllegalArg(() -> FUNCTION.volatilityAdjoint(10 * F, STRIKE_ITM, T, dataIn));
   }
 
+  // the batch evaluation matches the evaluation strike by strike
+  public void test_batch() {
+    double[] strikes = {STRIKE_ITM, F, F * (1d + 1e-8), STRIKE_OTM, 0.2};
+    for (SabrFormulaData data : new SabrFormulaData[] {DATA, DATA.withAlpha(0d), DATA.withBeta(1d)}) {
+      double[] vols = new double[strikes.length];
+      FUNCTION.volatility(F, strikes, T, data, vols);
+      double[] volsAdj = new double[strikes.length];
+      double[] derivatives = new double[6 * strikes.length];
+      FUNCTION.volatilityAdjoint(F, strikes, T, data, volsAdj, derivatives);
+      for (int i = 0; i < strikes.length; i++) {
+        assertEquals(vols[i], FUNCTION.volatility(F, strikes[i], T, data), 0d);
+        ValueDerivatives expected = FUNCTION.volatilityAdjoint(F, strikes[i], T, data);
+        assertEquals(volsAdj[i], expected.getValue(), 0d);
+        for (int j = 0; j < 6; j++) {
+          assertEquals(derivatives[6 * i + j], expected.getDerivative(j), 0d);
+        }
+      }
+    }
+    assertThrowsIllegalArg(() -> FUNCTION.volatility(F, strikes, T, DATA, new double[1]));
+    assertThrowsIllegalArg(() -> FUNCTION.volatilityAdjoint(F, strikes, T, DATA, new double[5], new double[5]));
+  }
+
   public void coverage() {
     coverImmutableBean(FUNCTION);
   }
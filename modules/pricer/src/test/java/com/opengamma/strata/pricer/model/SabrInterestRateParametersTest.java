@@ -12,6 +12,7 @@ import static org.testng.Assert.assertEquals;
 
 import org.testng.annotations.Test;
 
+import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.ValueType;
 import com.opengamma.strata.market.surface.ConstantSurface;
@@ -104,6 +105,30 @@ public class SabrInterestRateParametersTest {
   }
 
   //-------------------------------------------------------------------------
+  public void batch() {
+    SabrInterestRateParameters shifted = SabrInterestRateParameters.of(
+        ALPHA_SURFACE, BETA_SURFACE, RHO_SURFACE, NU_SURFACE, ConstantSurface.of("shift", 0.05), FORMULA);
+    double expiry = 2.0;
+    double tenor = 3.0;
+    double forward = 0.015;
+    double[] strikes = {0.005, 0.01, forward, 0.03};
+    for (SabrInterestRateParameters params : new SabrInterestRateParameters[] {PARAMETERS, shifted}) {
+      double[] vols = new double[strikes.length];
+      params.volatility(expiry, tenor, strikes, forward, vols);
+      double[] volsAdj = new double[strikes.length];
+      double[] derivatives = new double[6 * strikes.length];
+      params.volatilityAdjoint(expiry, tenor, strikes, forward, volsAdj, derivatives);
+      for (int i = 0; i < strikes.length; ++i) {
+        assertEquals(vols[i], params.volatility(expiry, tenor, strikes[i], forward));
+        ValueDerivatives expected = params.volatilityAdjoint(expiry, tenor, strikes[i], forward);
+        assertEquals(volsAdj[i], expected.getValue());
+        for (int j = 0; j < 6; ++j) {
+          assertEquals(derivatives[6 * i + j], expected.getDerivative(j));
+        }
+      }
+    }
+  }
+
   public void coverage() {
     coverImmutableBean(PARAMETERS);
   }
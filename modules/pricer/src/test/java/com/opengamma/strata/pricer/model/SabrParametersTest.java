@@ -12,6 +12,7 @@ import static org.testng.Assert.assertEquals;
 
 import org.testng.annotations.Test;
 
+import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.ValueType;
 import com.opengamma.strata.market.curve.ConstantCurve;
@@ -127,6 +128,30 @@ public class SabrParametersTest {
     }
   }
 
+  public void batch() {
+    double shift = 0.05;
+    SabrParameters shifted =
+        SabrParameters.of(ALPHA_CURVE, BETA_CURVE, RHO_CURVE, NU_CURVE, ConstantCurve.of("shift", shift), FORMULA);
+    double expiry = 2.0;
+    double forward = 0.015;
+    double[] strikes = {0.005, 0.01, forward, 0.03};
+    for (SabrParameters params : new SabrParameters[] {PARAMETERS, shifted}) {
+      double[] vols = new double[strikes.length];
+      params.volatility(expiry, strikes, forward, vols);
+      double[] volsAdj = new double[strikes.length];
+      double[] derivatives = new double[6 * strikes.length];
+      params.volatilityAdjoint(expiry, strikes, forward, volsAdj, derivatives);
+      for (int i = 0; i < strikes.length; ++i) {
+        assertEquals(vols[i], params.volatility(expiry, strikes[i], forward));
+        ValueDerivatives expected = params.volatilityAdjoint(expiry, strikes[i], forward);
+        assertEquals(volsAdj[i], expected.getValue());
+        for (int j = 0; j < 6; ++j) {
+          assertEquals(derivatives[6 * i + j], expected.getDerivative(j));
+        }
+      }
+    }
+  }
+
   public void perturbation() {
     SabrParameters test = PARAMETERS.withPerturbation((i, v, m) -> (2d + i) * v);
     SabrParameters expected = PARAMETERS;
@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.rate;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.index.OvernightIndices.GBP_SONIA;
+import static com.opengamma.strata.basics.index.OvernightIndices.USD_FED_FUND;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.date.HolidayCalendar;
+import com.opengamma.strata.basics.index.OvernightIndexObservation;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+import com.opengamma.strata.market.param.ParameterPerturbation;
+import com.opengamma.strata.pricer.datasets.RatesProviderDataSets;
+import com.opengamma.strata.pricer.impl.rate.CumulativeOvernightFixings;
+import com.opengamma.strata.product.rate.OvernightCompoundedRateComputation;
+
+/**
+ * Test {@link CachingOvernightIndexRates}.
+ */
+@Test
+public class CachingOvernightIndexRatesTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final ImmutableRatesProvider RATES_USD = RatesProviderDataSets.MULTI_USD;
+  private static final LocalDate VAL_DATE = RATES_USD.getValuationDate();
+  private static final HolidayCalendar CALENDAR = USD_FED_FUND.getFixingCalendar().resolve(REF_DATA);
+  private static final LocalDateDoubleTimeSeries TS;
+  static {
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    LocalDate fixingDate = CALENDAR.previous(VAL_DATE.minusMonths(2));
+    for (int i = 0; fixingDate.isBefore(VAL_DATE); i++) {
+      builder.put(fixingDate, 0.001d + 0.00001d * i);
+      fixingDate = CALENDAR.next(fixingDate);
+    }
+    TS = builder.build();
+  }
+  private static final OvernightIndexRates UNDERLYING =
+      DiscountOvernightIndexRates.of(USD_FED_FUND, RATES_USD.discountFactors(USD), TS);
+
+  private static final OvernightCompoundedRateComputation COMPUTATION1 = OvernightCompoundedRateComputation.of(
+      USD_FED_FUND, VAL_DATE.minusMonths(1), VAL_DATE.plusMonths(2), 0, REF_DATA);
+  private static final OvernightCompoundedRateComputation COMPUTATION2 = OvernightCompoundedRateComputation.of(
+      USD_FED_FUND, VAL_DATE.minusWeeks(1), VAL_DATE.plusMonths(3), 0, REF_DATA);
+  private static final double TOLERANCE = 1e-12;
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    CachingOvernightIndexRates test = CachingOvernightIndexRates.of(UNDERLYING);
+    assertSame(test.getUnderlying(), UNDERLYING);
+    assertSame(CachingOvernightIndexRates.of(test), test);
+    assertEquals(test.getIndex(), USD_FED_FUND);
+    assertEquals(test.getValuationDate(), VAL_DATE);
+    assertEquals(test.getFixings(), TS);
+    assertEquals(test.getParameterCount(), UNDERLYING.getParameterCount());
+    assertEquals(test.getParameter(1), UNDERLYING.getParameter(1));
+    assertEquals(test.getParameterMetadata(1), UNDERLYING.getParameterMetadata(1));
+    assertTrue(test.toString().startsWith("CachingOvernightIndexRates["));
+    assertThrowsIllegalArg(() -> CachingOvernightIndexRates.of(null));
+  }
+
+  public void test_rate() {
+    CachingOvernightIndexRates test = CachingOvernightIndexRates.of(UNDERLYING);
+    LocalDate[] fixingDates = {CALENDAR.previous(VAL_DATE), VAL_DATE, VAL_DATE.plusMonths(6)};
+    for (LocalDate fixingDate : fixingDates) {
+      OvernightIndexObservation obs = OvernightIndexObservation.of(USD_FED_FUND, fixingDate, REF_DATA);
+      assertEquals(test.rate(obs), UNDERLYING.rate(obs));
+      assertEquals(test.rateIgnoringFixings(obs), UNDERLYING.rateIgnoringFixings(obs));
+      assertEquals(test.ratePointSensitivity(obs), UNDERLYING.ratePointSensitivity(obs));
+      assertEquals(test.rateIgnoringFixingsPointSensitivity(obs), UNDERLYING.rateIgnoringFixingsPointSensitivity(obs));
+    }
+    OvernightIndexObservation start = OvernightIndexObservation.of(USD_FED_FUND, VAL_DATE.plusMonths(1), REF_DATA);
+    LocalDate end = VAL_DATE.plusMonths(4);
+    assertEquals(test.periodRate(start, end), UNDERLYING.periodRate(start, end));
+    assertEquals(test.periodRatePointSensitivity(start, end), UNDERLYING.periodRatePointSensitivity(start, end));
+    OvernightRateSensitivity point = OvernightRateSensitivity.ofPeriod(start, end, 1d);
+    assertEquals(test.parameterSensitivity(point), UNDERLYING.parameterSensitivity(point));
+    DoubleArray values = DoubleArray.filled(UNDERLYING.getParameterCount(), 1d);
+    assertEquals(test.createParameterSensitivity(USD, values), UNDERLYING.createParameterSensitivity(USD, values));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_cumulativeFixings() {
+    CachingOvernightIndexRates test = CachingOvernightIndexRates.of(UNDERLYING);
+    assertFalse(UNDERLYING.cumulativeFixings(COMPUTATION1).isPresent());
+    CumulativeOvernightFixings cumulative = test.cumulativeFixings(COMPUTATION1).get();
+    assertSame(test.cumulativeFixings(COMPUTATION2).get(), cumulative);
+    // the cumulative fixings are scoped to the caching rates
+    assertNotSame(CachingOvernightIndexRates.of(UNDERLYING).cumulativeFixings(COMPUTATION1).get(), cumulative);
+    OvernightCompoundedRateComputation other = OvernightCompoundedRateComputation.of(
+        GBP_SONIA, VAL_DATE.minusMonths(1), VAL_DATE.plusMonths(2), 0, REF_DATA);
+    assertThrowsIllegalArg(() -> test.cumulativeFixings(other));
+  }
+
+  public void test_withPerturbation() {
+    CachingOvernightIndexRates test = CachingOvernightIndexRates.of(UNDERLYING);
+    OvernightIndexObservation obs = OvernightIndexObservation.of(USD_FED_FUND, VAL_DATE.plusMonths(6), REF_DATA);
+    CumulativeOvernightFixings cumulative = test.cumulativeFixings(COMPUTATION1).get();
+    ParameterPerturbation perturbation = (i, v, m) -> v + 0.001d;
+    CachingOvernightIndexRates bumped = test.withPerturbation(perturbation);
+    assertEquals(bumped.getUnderlying(), UNDERLYING.withPerturbation(perturbation));
+    assertEquals(bumped.rate(obs), UNDERLYING.withPerturbation(perturbation).rate(obs), TOLERANCE);
+    assertNotSame(bumped.cumulativeFixings(COMPUTATION1).get(), cumulative);
+    CachingOvernightIndexRates bumpedParameter = test.withParameter(1, 0.02d);
+    assertEquals(bumpedParameter.getUnderlying(), UNDERLYING.withParameter(1, 0.02d));
+    assertSame(test.cumulativeFixings(COMPUTATION1).get(), cumulative);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_ratesProvider() {
+    CachingRatesProvider test = CachingRatesProvider.of(RATES_USD);
+    OvernightIndexRates rates = test.overnightIndexRates(USD_FED_FUND);
+    assertTrue(rates instanceof CachingOvernightIndexRates);
+    assertSame(test.overnightIndexRates(USD_FED_FUND), rates);
+    assertEquals(((CachingOvernightIndexRates) rates).getUnderlying(), RATES_USD.overnightIndexRates(USD_FED_FUND));
+    assertSame(rates.cumulativeFixings(COMPUTATION1).get(), rates.cumulativeFixings(COMPUTATION2).get());
+    assertThrowsIllegalArg(() -> test.overnightIndexRates(GBP_SONIA));
+  }
+
+}
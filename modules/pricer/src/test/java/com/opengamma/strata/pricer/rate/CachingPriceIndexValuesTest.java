@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.rate;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.index.PriceIndices.GB_HICP;
+import static com.opengamma.strata.basics.index.PriceIndices.US_CPI_U;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Optional;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.index.PriceIndexObservation;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.market.param.ParameterPerturbation;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.datasets.RatesProviderDataSets;
+
+/**
+ * Test {@link CachingPriceIndexValues}.
+ */
+@Test
+public class CachingPriceIndexValuesTest {
+
+  private static final LocalDate VAL_DATE = LocalDate.of(2015, 5, 3);
+  private static final LocalDateDoubleTimeSeries TS;
+  static {
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    for (int i = 0; i < 27; i++) {
+      builder.put(YearMonth.of(2013, 1).plusMonths(i).atEndOfMonth(), 230d + 0.25d * i);
+    }
+    TS = builder.build();
+  }
+  private static final CurveName NAME = CurveName.of("USD-HICP");
+  private static final InterpolatedNodalCurve CURVE = InterpolatedNodalCurve.of(
+      Curves.prices(NAME),
+      DoubleArray.of(0d, 9d, 21d, 57d, 117d),
+      DoubleArray.of(236.5d, 240.5d, 245d, 265d, 286d),
+      CurveInterpolators.LINEAR);
+  private static final SimplePriceIndexValues UNDERLYING = SimplePriceIndexValues.of(US_CPI_U, VAL_DATE, CURVE, TS);
+
+  // fixed months, a month before the valuation month with no fixing, projected months
+  private static final YearMonth[] TEST_MONTHS = new YearMonth[] {
+      YearMonth.of(2013, 1), YearMonth.of(2015, 3), YearMonth.of(2015, 4), YearMonth.of(2015, 5),
+      YearMonth.of(2016, 8), YearMonth.of(2024, 12)};
+  private static final double TOLERANCE = 1e-12;
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    CachingPriceIndexValues test = CachingPriceIndexValues.of(UNDERLYING);
+    assertSame(test.getUnderlying(), UNDERLYING);
+    assertSame(CachingPriceIndexValues.of(test), test);
+    assertEquals(test.getIndex(), US_CPI_U);
+    assertEquals(test.getValuationDate(), VAL_DATE);
+    assertEquals(test.getFixings(), TS);
+    assertEquals(test.getParameterCount(), UNDERLYING.getParameterCount());
+    assertEquals(test.getParameter(1), UNDERLYING.getParameter(1));
+    assertEquals(test.getParameterMetadata(1), UNDERLYING.getParameterMetadata(1));
+    assertEquals(test.findData(NAME), Optional.of(CURVE));
+    assertTrue(test.toString().startsWith("CachingPriceIndexValues["));
+    assertThrowsIllegalArg(() -> CachingPriceIndexValues.of(null));
+  }
+
+  public void test_value() {
+    CachingPriceIndexValues test = CachingPriceIndexValues.of(UNDERLYING);
+    for (int loop = 0; loop < 2; loop++) {
+      for (YearMonth month : TEST_MONTHS) {
+        PriceIndexObservation obs = PriceIndexObservation.of(US_CPI_U, month);
+        assertEquals(test.value(obs), UNDERLYING.value(obs), TOLERANCE);
+      }
+    }
+    // out of the cached range
+    PriceIndexObservation far = PriceIndexObservation.of(US_CPI_U, YearMonth.of(2160, 1));
+    assertEquals(test.value(far), UNDERLYING.value(far), TOLERANCE);
+  }
+
+  public void test_valuePointSensitivity() {
+    CachingPriceIndexValues test = CachingPriceIndexValues.of(UNDERLYING);
+    for (YearMonth month : TEST_MONTHS) {
+      PriceIndexObservation obs = PriceIndexObservation.of(US_CPI_U, month);
+      PointSensitivityBuilder computed = test.valuePointSensitivity(obs);
+      assertEquals(computed, UNDERLYING.valuePointSensitivity(obs));
+      assertSame(test.valuePointSensitivity(obs), computed);
+    }
+    PriceIndexObservation fixed = PriceIndexObservation.of(US_CPI_U, TEST_MONTHS[0]);
+    assertSame(test.valuePointSensitivity(fixed), PointSensitivityBuilder.none());
+    InflationRateSensitivity point =
+        InflationRateSensitivity.of(PriceIndexObservation.of(US_CPI_U, TEST_MONTHS[4]), 1d);
+    assertEquals(test.parameterSensitivity(point), UNDERLYING.parameterSensitivity(point));
+    assertEquals(
+        test.createParameterSensitivity(USD, DoubleArray.filled(5, 1d)),
+        UNDERLYING.createParameterSensitivity(USD, DoubleArray.filled(5, 1d)));
+  }
+
+  // observations of another index are not cached
+  public void test_otherIndex() {
+    CachingPriceIndexValues test = CachingPriceIndexValues.of(UNDERLYING);
+    PriceIndexObservation obs = PriceIndexObservation.of(GB_HICP, TEST_MONTHS[4]);
+    assertEquals(test.value(obs), UNDERLYING.value(obs), TOLERANCE);
+    assertEquals(test.valuePointSensitivity(obs), UNDERLYING.valuePointSensitivity(obs));
+  }
+
+  public void test_withPerturbation() {
+    CachingPriceIndexValues test = CachingPriceIndexValues.of(UNDERLYING);
+    PriceIndexObservation obs = PriceIndexObservation.of(US_CPI_U, TEST_MONTHS[4]);
+    double base = test.value(obs);
+    ParameterPerturbation perturbation = (i, v, m) -> v + 1d;
+    CachingPriceIndexValues bumped = test.withPerturbation(perturbation);
+    assertEquals(bumped.getUnderlying(), UNDERLYING.withPerturbation(perturbation));
+    assertEquals(bumped.value(obs), base + 1d, TOLERANCE);
+    CachingPriceIndexValues bumpedParameter = test.withParameter(3, 300d);
+    assertEquals(bumpedParameter.getUnderlying(), UNDERLYING.withParameter(3, 300d));
+    assertEquals(bumpedParameter.value(obs), UNDERLYING.withParameter(3, 300d).value(obs), TOLERANCE);
+    assertEquals(test.value(obs), base, TOLERANCE);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_ratesProvider() {
+    ImmutableRatesProvider rates = RatesProviderDataSets.MULTI_CPI_USD;
+    CachingRatesProvider test = CachingRatesProvider.of(rates);
+    PriceIndexValues values = test.priceIndexValues(US_CPI_U);
+    assertTrue(values instanceof CachingPriceIndexValues);
+    assertSame(test.priceIndexValues(US_CPI_U), values);
+    PriceIndexObservation obs = PriceIndexObservation.of(US_CPI_U, YearMonth.of(2016, 3));
+    assertEquals(values.value(obs), rates.priceIndexValues(US_CPI_U).value(obs), TOLERANCE);
+    assertThrowsIllegalArg(() -> test.priceIndexValues(GB_HICP));
+  }
+
+}
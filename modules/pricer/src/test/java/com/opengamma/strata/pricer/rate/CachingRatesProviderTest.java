@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.rate;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.index.FxIndices.GBP_USD_WM;
+import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_3M;
+import static com.opengamma.strata.basics.index.OvernightIndices.USD_FED_FUND;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.basics.index.FxIndexObservation;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.pricer.CachingDiscountFactors;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.datasets.RatesProviderDataSets;
+import com.opengamma.strata.pricer.swap.DiscountingSwapProductPricer;
+import com.opengamma.strata.pricer.swap.SwapDummyData;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.rate.OvernightCompoundedRateComputation;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+import com.opengamma.strata.product.swap.type.FixedIborSwapConventions;
+
+/**
+ * Test {@link CachingRatesProvider}.
+ */
+@Test
+public class CachingRatesProviderTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final ImmutableRatesProvider RATES_GBP_USD = RatesProviderDataSets.MULTI_GBP_USD;
+  private static final ImmutableRatesProvider RATES_USD = RatesProviderDataSets.MULTI_USD;
+  private static final LocalDate VAL_DATE = RATES_USD.getValuationDate();
+  private static final double TOLERANCE_PV = 1e-6;
+
+  private static final DiscountingSwapProductPricer SWAP_PRICER = DiscountingSwapProductPricer.DEFAULT;
+
+  // a book of swaps sharing payment dates
+  private static final List<ResolvedSwap> BOOK = IntStream.range(0, 20)
+      .mapToObj(i -> FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M
+          .createTrade(VAL_DATE, Period.ofMonths(i % 4), Tenor.ofYears(1 + i % 10), BuySell.BUY, 1e6, 0.015, REF_DATA)
+          .getProduct()
+          .resolve(REF_DATA))
+      .collect(Collectors.toList());
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    CachingRatesProvider test = CachingRatesProvider.of(RATES_USD);
+    assertSame(test.getUnderlying(), RATES_USD);
+    assertSame(CachingRatesProvider.of(test), test);
+    assertEquals(test.getValuationDate(), VAL_DATE);
+    assertEquals(test.getDiscountCurrencies(), RATES_USD.getDiscountCurrencies());
+    assertEquals(test.getIborIndices(), RATES_USD.getIborIndices());
+    assertEquals(test.getOvernightIndices(), RATES_USD.getOvernightIndices());
+    assertEquals(test.getPriceIndices(), RATES_USD.getPriceIndices());
+    assertEquals(test.getTimeSeriesIndices(), RATES_USD.getTimeSeriesIndices());
+    assertEquals(test.timeSeries(USD_LIBOR_3M), RATES_USD.timeSeries(USD_LIBOR_3M));
+    assertEquals(test.iborIndexRates(USD_LIBOR_3M), RATES_USD.iborIndexRates(USD_LIBOR_3M));
+    assertEquals(test.toImmutableRatesProvider(), RATES_USD);
+    assertThrowsIllegalArg(() -> CachingRatesProvider.of(null));
+  }
+
+  public void test_discountFactors() {
+    CachingRatesProvider test = CachingRatesProvider.of(RATES_USD);
+    DiscountFactors factors = test.discountFactors(USD);
+    assertTrue(factors instanceof CachingDiscountFactors);
+    assertSame(test.discountFactors(USD), factors);
+    assertEquals(((CachingDiscountFactors) factors).getUnderlying(), RATES_USD.discountFactors(USD));
+    LocalDate date = VAL_DATE.plusYears(3);
+    assertEquals(test.discountFactor(USD, date), RATES_USD.discountFactor(USD, date));
+    assertThrowsIllegalArg(() -> test.discountFactors(EUR));
+  }
+
+  public void test_fx() {
+    CachingRatesProvider test = CachingRatesProvider.of(RATES_GBP_USD);
+    LocalDate date = VAL_DATE.plusMonths(9);
+    CurrencyPair pair = CurrencyPair.of(GBP, USD);
+    assertEquals(test.fxRate(GBP, USD), RATES_GBP_USD.fxRate(GBP, USD));
+    assertEquals(
+        test.fxForwardRates(pair).rate(GBP, date),
+        RATES_GBP_USD.fxForwardRates(pair).rate(GBP, date),
+        1e-12);
+    FxIndexObservation observation = FxIndexObservation.of(GBP_USD_WM, date, REF_DATA);
+    assertEquals(
+        test.fxIndexRates(GBP_USD_WM).rate(observation, GBP),
+        RATES_GBP_USD.fxIndexRates(GBP_USD_WM).rate(observation, GBP),
+        1e-12);
+  }
+
+  public void test_overnightIndexRates() {
+    CachingRatesProvider test = CachingRatesProvider.of(RATES_USD);
+    OvernightCompoundedRateComputation computation1 = OvernightCompoundedRateComputation.of(
+        USD_FED_FUND, VAL_DATE.plusMonths(1), VAL_DATE.plusMonths(4), 0, REF_DATA);
+    OvernightCompoundedRateComputation computation2 = OvernightCompoundedRateComputation.of(
+        USD_FED_FUND, VAL_DATE.plusMonths(2), VAL_DATE.plusMonths(5), 0, REF_DATA);
+    OvernightIndexRates rates = test.overnightIndexRates(USD_FED_FUND);
+    assertTrue(rates instanceof CachingOvernightIndexRates);
+    assertSame(test.overnightIndexRates(USD_FED_FUND), rates);
+    assertSame(rates.cumulativeFixings(computation1).get(), rates.cumulativeFixings(computation2).get());
+    // the cumulative fixings are scoped to the caching provider
+    assertNotSame(
+        CachingRatesProvider.of(RATES_USD).overnightIndexRates(USD_FED_FUND).cumulativeFixings(computation1).get(),
+        rates.cumulativeFixings(computation1).get());
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_presentValue() {
+    ResolvedSwap swap = SwapDummyData.SWAP_CROSS_CURRENCY;
+    CachingRatesProvider test = CachingRatesProvider.of(RATES_GBP_USD);
+    MultiCurrencyAmount computed = SWAP_PRICER.presentValue(swap, test);
+    MultiCurrencyAmount expected = SWAP_PRICER.presentValue(swap, RATES_GBP_USD);
+    for (CurrencyAmount amount : expected.getAmounts()) {
+      assertEquals(computed.getAmount(amount.getCurrency()).getAmount(), amount.getAmount(), TOLERANCE_PV);
+    }
+    PointSensitivities pts = SWAP_PRICER.presentValueSensitivity(swap, test).build();
+    assertTrue(test.parameterSensitivity(pts)
+        .equalWithTolerance(RATES_GBP_USD.parameterSensitivity(pts), TOLERANCE_PV));
+  }
+
+  // the book is valued in parallel against the same caching provider
+  public void test_book_parallel() {
+    CachingRatesProvider test = CachingRatesProvider.of(RATES_USD);
+    double[] computed = BOOK.parallelStream()
+        .mapToDouble(swap -> SWAP_PRICER.presentValue(swap, USD, test).getAmount())
+        .toArray();
+    for (int i = 0; i < BOOK.size(); i++) {
+      assertEquals(computed[i], SWAP_PRICER.presentValue(BOOK.get(i), USD, RATES_USD).getAmount(), TOLERANCE_PV);
+    }
+  }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.rate;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_3M;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.index.IborIndexObservation;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivity;
+import com.opengamma.strata.pricer.ZeroRateSensitivity;
+import com.opengamma.strata.pricer.datasets.RatesProviderDataSets;
+
+/**
+ * Test {@link PointSensitivityAccumulator}.
+ */
+@Test
+public class PointSensitivityAccumulatorTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final ImmutableRatesProvider PROVIDER = RatesProviderDataSets.MULTI_GBP_USD;
+  private static final LocalDate FIXING_DATE = LocalDate.of(2015, 12, 21);
+  private static final double TOL = 1.0e-8;
+
+  //-------------------------------------------------------------------------
+  public void test_merge() {
+    PointSensitivityAccumulator test = new PointSensitivityAccumulator();
+    int usdKey = test.keyId(USD, USD);
+    assertEquals(test.keyId(USD, USD), usdKey);
+    test.addZeroRate(usdKey, 1.5d, 10d);
+    test.addZeroRate(USD, 1.5d, USD, 5d);
+    test.addZeroRate(USD, 2.5d, GBP, 7d);
+    test.add(ZeroRateSensitivity.of(USD, 2.5d, GBP, 1d));
+    IborRateSensitivity ibor = IborRateSensitivity.of(IborIndexObservation.of(USD_LIBOR_3M, FIXING_DATE, REF_DATA), 3d);
+    test.add(ibor);
+    test.add(ibor);
+    assertEquals(test.size(), 3);
+    PointSensitivities expected = PointSensitivities.of(
+        ZeroRateSensitivity.of(USD, 1.5d, USD, 15d),
+        ZeroRateSensitivity.of(USD, 2.5d, GBP, 8d),
+        ibor.withSensitivity(6d)).normalized();
+    assertTrue(test.toPointSensitivities().equalWithTolerance(expected, TOL));
+  }
+
+  public void test_merge_manyPoints() {
+    PointSensitivityAccumulator test = new PointSensitivityAccumulator();
+    List<PointSensitivity> points = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      ZeroRateSensitivity point = ZeroRateSensitivity.of(USD, (i % 250) * 0.04d, i);
+      points.add(point);
+      test.add(point);
+    }
+    assertEquals(test.size(), 250);
+    PointSensitivities expected = PointSensitivities.of(points).normalized();
+    assertTrue(test.toPointSensitivities().equalWithTolerance(expected, TOL));
+  }
+
+  public void test_multipliedBy() {
+    PointSensitivityAccumulator test = new PointSensitivityAccumulator();
+    test.addZeroRate(USD, 1.5d, USD, 10d);
+    IborRateSensitivity ibor = IborRateSensitivity.of(IborIndexObservation.of(USD_LIBOR_3M, FIXING_DATE, REF_DATA), 3d);
+    test.add(ibor);
+    test.multipliedBy(2d);
+    PointSensitivities expected = PointSensitivities.of(
+        ZeroRateSensitivity.of(USD, 1.5d, USD, 20d),
+        ibor.withSensitivity(6d)).normalized();
+    assertTrue(test.toPointSensitivities().equalWithTolerance(expected, TOL));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_parameterSensitivity() {
+    PointSensitivityAccumulator test = new PointSensitivityAccumulator();
+    List<PointSensitivity> points = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      points.add(ZeroRateSensitivity.of(USD, 0.05d * (i % 120), 1000d * Math.sin(i)));
+      points.add(ZeroRateSensitivity.of(GBP, 0.1d * (i % 60), USD, 500d * Math.cos(i)));
+      points.add(IborRateSensitivity.of(
+          IborIndexObservation.of(USD_LIBOR_3M, FIXING_DATE.plusMonths(i % 12), REF_DATA), 100d));
+    }
+    test.addAll(PointSensitivities.of(points));
+    CurrencyParameterSensitivities computed = PROVIDER.parameterSensitivity(test);
+    CurrencyParameterSensitivities expected = PROVIDER.parameterSensitivity(PointSensitivities.of(points));
+    assertTrue(computed.equalWithTolerance(expected, TOL));
+  }
+
+  public void test_parameterSensitivity_empty() {
+    PointSensitivityAccumulator test = new PointSensitivityAccumulator();
+    assertEquals(PROVIDER.parameterSensitivity(test), CurrencyParameterSensitivities.empty());
+  }
+
+}
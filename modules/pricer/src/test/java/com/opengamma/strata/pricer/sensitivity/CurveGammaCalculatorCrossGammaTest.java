@@ -15,6 +15,8 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -281,6 +283,24 @@ public class CurveGammaCalculatorCrossGammaTest {
     assertTrue(computed.equalWithTolerance(computedFromCross, TOL));
   }
 
+  public void sensitivity_cross_executor() {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      CrossGammaParameterSensitivities expected =
+          CENTRAL.calculateCrossGammaCrossCurve(RatesProviderDataSets.MULTI_CPI_USD, this::sensiFn);
+      CrossGammaParameterSensitivities computed = CENTRAL.withExecutor(executor)
+          .calculateCrossGammaCrossCurve(RatesProviderDataSets.MULTI_CPI_USD, this::sensiFn);
+      assertEquals(computed, expected);
+      CrossGammaParameterSensitivities expectedIntra =
+          FORWARD.calculateCrossGammaIntraCurve(RatesProviderDataSets.MULTI_CPI_USD, this::sensiFn);
+      CrossGammaParameterSensitivities computedIntra = FORWARD.withExecutor(executor)
+          .calculateCrossGammaIntraCurve(RatesProviderDataSets.MULTI_CPI_USD, this::sensiFn);
+      assertEquals(computedIntra, expectedIntra);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   public void sensitivity_multi_combined_curve() {
     CrossGammaParameterSensitivities sensiCrossComputed =
         CENTRAL.calculateCrossGammaCrossCurve(RatesProviderDataSets.MULTI_CPI_USD_COMBINED, this::sensiCombinedFn);
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.sensitivity;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static com.opengamma.strata.market.curve.CurveInfoType.JACOBIAN;
+import static com.opengamma.strata.market.curve.interpolator.CurveInterpolators.LINEAR;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.FxMatrix;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.market.curve.CurveMetadata;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.CurveParameterSize;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.curve.JacobianCalibrationMatrix;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.pricer.ZeroRateSensitivity;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+
+/**
+ * Test {@link PortfolioSensitivityCalculator}.
+ */
+@Test
+public class PortfolioSensitivityCalculatorTest {
+
+  private static final LocalDate DATE = date(2017, 12, 11);
+  private static final PortfolioSensitivityCalculator CALC = PortfolioSensitivityCalculator.DEFAULT;
+  private static final MarketQuoteSensitivityCalculator MQ_CALC = MarketQuoteSensitivityCalculator.DEFAULT;
+  private static final double TOL = 1.0e-8;
+
+  private static final CurveName NAME_USD = CurveName.of("USD-DSC");
+  private static final CurveName NAME_GBP = CurveName.of("GBP-DSC");
+  private static final DoubleArray X_VALUES = DoubleArray.of(0.5d, 1d, 3d);
+  private static final CurveParameterSize SIZE_USD = CurveParameterSize.of(NAME_USD, X_VALUES.size());
+  private static final CurveParameterSize SIZE_GBP = CurveParameterSize.of(NAME_GBP, X_VALUES.size());
+  private static final JacobianCalibrationMatrix JACOBIAN_USD = JacobianCalibrationMatrix.of(
+      ImmutableList.of(SIZE_USD),
+      DoubleMatrix.copyOf(new double[][] {{1.5d, 0.1d, 0d}, {0.2d, 1.2d, 0d}, {0d, 0.3d, 1.3d}}));
+  private static final JacobianCalibrationMatrix JACOBIAN_GBP = JacobianCalibrationMatrix.of(
+      ImmutableList.of(SIZE_USD, SIZE_GBP),
+      DoubleMatrix.copyOf(new double[][] {
+          {0.1d, 0d, 0d, 1.1d, 0d, 0d}, {0d, 0.2d, 0d, 0.1d, 0.9d, 0d}, {0d, 0d, 0.3d, 0d, 0d, 1.4d}}));
+  private static final CurveMetadata METADATA_USD = Curves.zeroRates(NAME_USD, ACT_365F).withInfo(JACOBIAN, JACOBIAN_USD);
+  private static final CurveMetadata METADATA_GBP = Curves.zeroRates(NAME_GBP, ACT_365F).withInfo(JACOBIAN, JACOBIAN_GBP);
+  private static final ImmutableRatesProvider PROVIDER = ImmutableRatesProvider.builder(DATE)
+      .fxRateProvider(FxMatrix.of(GBP, USD, 1.3d))
+      .discountCurve(USD, InterpolatedNodalCurve.of(METADATA_USD, X_VALUES, DoubleArray.of(0.01d, 0.015d, 0.02d), LINEAR))
+      .discountCurve(GBP, InterpolatedNodalCurve.of(METADATA_GBP, X_VALUES, DoubleArray.of(0.02d, 0.01d, 0.03d), LINEAR))
+      .build();
+
+  //-------------------------------------------------------------------------
+  private static List<PointSensitivities> trades() {
+    List<PointSensitivities> trades = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      trades.add(PointSensitivities.of(
+          ZeroRateSensitivity.of(USD, 0.25d * (i % 10), 100d * (i - 20)),
+          ZeroRateSensitivity.of(GBP, 0.5d * (i % 5), 30d * i),
+          ZeroRateSensitivity.of(GBP, 0.75d, USD, -15d)));
+    }
+    return trades;
+  }
+
+  public void test_parameterSensitivity() {
+    List<PointSensitivities> trades = trades();
+    CurrencyParameterSensitivities expected = CurrencyParameterSensitivities.empty();
+    for (PointSensitivities trade : trades) {
+      expected = expected.combinedWith(PROVIDER.parameterSensitivity(trade));
+    }
+    CurrencyParameterSensitivities computed = CALC.parameterSensitivity(trades, PROVIDER);
+    assertTrue(computed.equalWithTolerance(expected, TOL));
+  }
+
+  public void test_marketQuoteSensitivity() {
+    List<PointSensitivities> trades = trades();
+    CurrencyParameterSensitivities expected = CurrencyParameterSensitivities.empty();
+    for (PointSensitivities trade : trades) {
+      expected = expected.combinedWith(MQ_CALC.sensitivity(PROVIDER.parameterSensitivity(trade), PROVIDER));
+    }
+    CurrencyParameterSensitivities computed = CALC.marketQuoteSensitivity(trades, PROVIDER);
+    assertTrue(computed.equalWithTolerance(expected, TOL));
+    assertEquals(CALC.marketQuoteSensitivity(CALC.merge(trades), PROVIDER), computed);
+  }
+
+  public void test_empty() {
+    assertEquals(CALC.marketQuoteSensitivity(ImmutableList.of(), PROVIDER), CurrencyParameterSensitivities.empty());
+  }
+
+  public void test_null() {
+    assertThrowsIllegalArg(() -> CALC.parameterSensitivity(null, PROVIDER));
+    assertThrowsIllegalArg(() -> new PortfolioSensitivityCalculator(null));
+  }
+
+}
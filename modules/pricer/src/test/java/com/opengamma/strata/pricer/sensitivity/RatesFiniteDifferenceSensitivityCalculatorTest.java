@@ -11,9 +11,13 @@ import static org.testng.Assert.assertEquals;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.StandardId;
 import com.opengamma.strata.basics.currency.Currency;
@@ -94,6 +98,32 @@ public class RatesFiniteDifferenceSensitivityCalculatorTest {
     }
   }
 
+  @Test
+  public void sensitivity_multi_curve_executor() {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      RatesFiniteDifferenceSensitivityCalculator calc = new RatesFiniteDifferenceSensitivityCalculator(1.0E-4, executor);
+      CurrencyParameterSensitivities expected = FD_CALCULATOR.sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fn);
+      assertEquals(calc.sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fn), expected);
+      CurrencyParameterSensitivities expectedLegal = FD_CALCULATOR.sensitivity(
+          LegalEntityDiscountingProviderDataSets.ISSUER_REPO_ZERO, this::fn);
+      assertEquals(calc.sensitivity(LegalEntityDiscountingProviderDataSets.ISSUER_REPO_ZERO, this::fn), expectedLegal);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void sensitivity_portfolio() {
+    Function<ImmutableRatesProvider, CurrencyAmount> fn1 = this::fn;
+    Function<ImmutableRatesProvider, CurrencyAmount> fn2 = p -> fn(p).multipliedBy(-3d);
+    List<CurrencyParameterSensitivities> computed =
+        FD_CALCULATOR.sensitivity(RatesProviderDataSets.MULTI_CPI_USD, ImmutableList.of(fn1, fn2));
+    assertEquals(computed.size(), 2);
+    assertEquals(computed.get(0), FD_CALCULATOR.sensitivity(RatesProviderDataSets.MULTI_CPI_USD, fn1));
+    assertEquals(computed.get(1), FD_CALCULATOR.sensitivity(RatesProviderDataSets.MULTI_CPI_USD, fn2));
+  }
+
   // private function for testing. Returns the sum of rates multiplied by time
   private CurrencyAmount fn(ImmutableRatesProvider provider) {
     double result = 0.0;
@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swap;
+
+import static com.opengamma.strata.pricer.swap.SwapDummyData.FIXED_CMP_FLAT_SWAP_LEG_PAY_GBP;
+import static com.opengamma.strata.pricer.swap.SwapDummyData.FIXED_CMP_NONE_SWAP_LEG_PAY_GBP;
+import static com.opengamma.strata.pricer.swap.SwapDummyData.FIXED_FX_RESET_SWAP_LEG_PAY_GBP;
+import static com.opengamma.strata.pricer.swap.SwapDummyData.IBOR_RATE_ACCRUAL_PERIOD;
+import static com.opengamma.strata.pricer.swap.SwapDummyData.IBOR_RATE_ACCRUAL_PERIOD_2;
+import static com.opengamma.strata.pricer.swap.SwapDummyData.IBOR_RATE_PAYMENT_PERIOD_REC_GBP_2;
+import static com.opengamma.strata.pricer.swap.SwapDummyData.IBOR_SWAP_LEG_REC_GBP_MULTI;
+import static com.opengamma.strata.pricer.swap.SwapDummyData.KNOWN_AMOUNT_SWAP_LEG;
+import static com.opengamma.strata.pricer.swap.SwapDummyData.NOTIONAL;
+import static com.opengamma.strata.pricer.swap.SwapDummyData.NOTIONAL_EXCHANGE_REC_GBP;
+import static com.opengamma.strata.pricer.swap.SwapDummyData.SWAP;
+import static com.opengamma.strata.pricer.swap.SwapDummyData.SWAP_CROSS_CURRENCY;
+import static com.opengamma.strata.product.common.PayReceive.RECEIVE;
+import static com.opengamma.strata.product.swap.NegativeRateMethod.NOT_NEGATIVE;
+import static com.opengamma.strata.product.swap.SwapLegType.IBOR;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.time.Period;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.pricer.datasets.RatesProviderDataSets;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.sensitivity.RatesFiniteDifferenceSensitivityCalculator;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.swap.CompoundingMethod;
+import com.opengamma.strata.product.swap.RatePaymentPeriod;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+import com.opengamma.strata.product.swap.ResolvedSwapLeg;
+import com.opengamma.strata.product.swap.type.FixedIborSwapConventions;
+
+/**
+ * Test {@link AadDiscountingSwapProductPricer}.
+ */
+@Test
+public class AadDiscountingSwapProductPricerTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final ImmutableRatesProvider RATES_GBP = RatesProviderDataSets.MULTI_GBP;
+  private static final ImmutableRatesProvider RATES_GBP_USD = RatesProviderDataSets.MULTI_GBP_USD;
+  private static final ImmutableRatesProvider RATES_USD = RatesProviderDataSets.MULTI_USD;
+  private static final double TOLERANCE_PV = 1e-6;
+  private static final double TOLERANCE_DELTA = 1e-5;
+  private static final double FD_SHIFT = 1e-7;
+  private static final RatesFiniteDifferenceSensitivityCalculator FD_CALCULATOR =
+      new RatesFiniteDifferenceSensitivityCalculator(FD_SHIFT);
+
+  private static final AadDiscountingSwapProductPricer PRICER = AadDiscountingSwapProductPricer.DEFAULT;
+  private static final DiscountingSwapProductPricer PRICER_EXPECTED = DiscountingSwapProductPricer.DEFAULT;
+  private static final DiscountingSwapLegPricer LEG_PRICER_EXPECTED = DiscountingSwapLegPricer.DEFAULT;
+
+  private static final ResolvedSwap SWAP_USD = FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M
+      .createTrade(RATES_USD.getValuationDate(), Period.ofMonths(3), Tenor.TENOR_5Y, BuySell.BUY, 1e8, 0.015, REF_DATA)
+      .getProduct()
+      .resolve(REF_DATA);
+
+  // compounded ibor leg with spread
+  private static ResolvedSwapLeg compoundedLeg(CompoundingMethod method) {
+    RatePaymentPeriod period = IBOR_RATE_PAYMENT_PERIOD_REC_GBP_2.toBuilder()
+        .accrualPeriods(
+            IBOR_RATE_ACCRUAL_PERIOD.toBuilder().spread(0.0015).build(),
+            IBOR_RATE_ACCRUAL_PERIOD_2.toBuilder().spread(0.0015).gearing(1.1).build())
+        .compoundingMethod(method)
+        .build();
+    return ResolvedSwapLeg.builder()
+        .type(IBOR)
+        .payReceive(RECEIVE)
+        .paymentPeriods(period)
+        .paymentEvents(NOTIONAL_EXCHANGE_REC_GBP)
+        .build();
+  }
+
+  // ibor leg whose first accrual period is floored at zero by the negative rate method
+  private static ResolvedSwapLeg flooredLeg(CompoundingMethod method) {
+    RatePaymentPeriod period = IBOR_RATE_PAYMENT_PERIOD_REC_GBP_2.toBuilder()
+        .accrualPeriods(
+            IBOR_RATE_ACCRUAL_PERIOD.toBuilder().spread(-0.1).negativeRateMethod(NOT_NEGATIVE).build(),
+            IBOR_RATE_ACCRUAL_PERIOD_2.toBuilder().spread(0.0015).negativeRateMethod(NOT_NEGATIVE).build())
+        .compoundingMethod(method)
+        .build();
+    return ResolvedSwapLeg.builder()
+        .type(IBOR)
+        .payReceive(RECEIVE)
+        .paymentPeriods(period)
+        .build();
+  }
+
+  @DataProvider(name = "legs")
+  Object[][] data_legs() {
+    return new Object[][] {
+        {IBOR_SWAP_LEG_REC_GBP_MULTI, RATES_GBP},
+        {FIXED_CMP_NONE_SWAP_LEG_PAY_GBP, RATES_GBP},
+        {FIXED_CMP_FLAT_SWAP_LEG_PAY_GBP, RATES_GBP},
+        {KNOWN_AMOUNT_SWAP_LEG, RATES_GBP},
+        {FIXED_FX_RESET_SWAP_LEG_PAY_GBP, RATES_GBP_USD},
+        {compoundedLeg(CompoundingMethod.NONE), RATES_GBP},
+        {compoundedLeg(CompoundingMethod.STRAIGHT), RATES_GBP},
+        {compoundedLeg(CompoundingMethod.FLAT), RATES_GBP},
+        {compoundedLeg(CompoundingMethod.SPREAD_EXCLUSIVE), RATES_GBP},
+    };
+  }
+
+  @DataProvider(name = "flooredLegs")
+  Object[][] data_flooredLegs() {
+    return new Object[][] {
+        {flooredLeg(CompoundingMethod.NONE)},
+        {flooredLeg(CompoundingMethod.STRAIGHT)},
+        {flooredLeg(CompoundingMethod.FLAT)},
+        {flooredLeg(CompoundingMethod.SPREAD_EXCLUSIVE)},
+    };
+  }
+
+  @DataProvider(name = "swaps")
+  Object[][] data_swaps() {
+    return new Object[][] {
+        {SWAP, RATES_GBP},
+        {SWAP_CROSS_CURRENCY, RATES_GBP_USD},
+        {SWAP_USD, RATES_USD},
+    };
+  }
+
+  //-------------------------------------------------------------------------
+  @Test(dataProvider = "legs")
+  public void test_leg(ResolvedSwapLeg leg, ImmutableRatesProvider provider) {
+    CurrencyAmount pvComputed = PRICER.presentValue(leg, provider);
+    CurrencyAmount pvExpected = LEG_PRICER_EXPECTED.presentValue(leg, provider);
+    assertEquals(pvComputed.getCurrency(), pvExpected.getCurrency());
+    assertEquals(pvComputed.getAmount(), pvExpected.getAmount(), TOLERANCE_PV);
+    PointSensitivities ptsComputed = PRICER.presentValueSensitivity(leg, provider).build();
+    PointSensitivities ptsExpected = LEG_PRICER_EXPECTED.presentValueSensitivity(leg, provider).build();
+    assertTrue(ptsComputed.normalized().equalWithTolerance(ptsExpected.normalized(), TOLERANCE_DELTA));
+  }
+
+  // the floored accrual keeps the sensitivity to the rate, as in the existing pricer
+  @Test(dataProvider = "flooredLegs")
+  public void test_leg_notNegative(ResolvedSwapLeg leg) {
+    CurrencyAmount pvComputed = PRICER.presentValue(leg, RATES_GBP);
+    CurrencyAmount pvExpected = LEG_PRICER_EXPECTED.presentValue(leg, RATES_GBP);
+    assertEquals(pvComputed.getAmount(), pvExpected.getAmount(), TOLERANCE_PV);
+    PointSensitivities ptsComputed = PRICER.presentValueSensitivity(leg, RATES_GBP).build();
+    PointSensitivities ptsExpected = LEG_PRICER_EXPECTED.presentValueSensitivity(leg, RATES_GBP).build();
+    assertTrue(ptsComputed.normalized().equalWithTolerance(ptsExpected.normalized(), TOLERANCE_DELTA));
+  }
+
+  @Test(dataProvider = "swaps")
+  public void test_swap(ResolvedSwap swap, ImmutableRatesProvider provider) {
+    MultiCurrencyAmount pvComputed = PRICER.presentValue(swap, provider);
+    MultiCurrencyAmount pvExpected = PRICER_EXPECTED.presentValue(swap, provider);
+    assertEquals(pvComputed.getCurrencies(), pvExpected.getCurrencies());
+    for (CurrencyAmount amount : pvExpected.getAmounts()) {
+      assertEquals(pvComputed.getAmount(amount.getCurrency()).getAmount(), amount.getAmount(), TOLERANCE_PV);
+    }
+    PointSensitivities ptsComputed = PRICER.presentValueSensitivity(swap, provider).build();
+    PointSensitivities ptsExpected = PRICER_EXPECTED.presentValueSensitivity(swap, provider).build();
+    assertTrue(ptsComputed.normalized().equalWithTolerance(ptsExpected.normalized(), TOLERANCE_DELTA));
+    assertTrue(provider.parameterSensitivity(ptsComputed)
+        .equalWithTolerance(provider.parameterSensitivity(ptsExpected), TOLERANCE_DELTA));
+  }
+
+  // the sensitivity is compared to a bump of the curves, independently of the other pricers
+  @Test(dataProvider = "legs")
+  public void test_leg_finiteDifference(ResolvedSwapLeg leg, ImmutableRatesProvider provider) {
+    CurrencyParameterSensitivities computed =
+        provider.parameterSensitivity(PRICER.presentValueSensitivity(leg, provider).build());
+    CurrencyParameterSensitivities expected = FD_CALCULATOR.sensitivity(provider, p -> PRICER.presentValue(leg, p));
+    assertTrue(computed.equalWithTolerance(expected, NOTIONAL * FD_SHIFT * 100));
+  }
+
+}
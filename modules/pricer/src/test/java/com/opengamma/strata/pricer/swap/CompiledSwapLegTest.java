@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2020 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swap;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_3M;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.pricer.swap.SwapDummyData.FIXED_FX_RESET_SWAP_LEG_PAY_GBP;
+import static com.opengamma.strata.pricer.swap.SwapDummyData.KNOWN_AMOUNT_SWAP_LEG;
+import static com.opengamma.strata.pricer.swap.SwapDummyData.SWAP;
+import static com.opengamma.strata.pricer.swap.SwapDummyData.SWAP_CROSS_CURRENCY;
+import static org.testng.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.pricer.datasets.RatesProviderDataSets;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+import com.opengamma.strata.product.swap.ResolvedSwapLeg;
+import com.opengamma.strata.product.swap.SwapLegType;
+import com.opengamma.strata.product.swap.type.FixedIborSwapConventions;
+
+/**
+ * Test {@link CompiledSwapLeg}.
+ */
+@Test
+public class CompiledSwapLegTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final ImmutableRatesProvider RATES_GBP = RatesProviderDataSets.MULTI_GBP;
+  private static final ImmutableRatesProvider RATES_GBP_USD = RatesProviderDataSets.MULTI_GBP_USD;
+  private static final ImmutableRatesProvider RATES_USD = RatesProviderDataSets.MULTI_USD;
+  private static final LocalDate VAL_DATE = RATES_USD.getValuationDate();
+  private static final double TOLERANCE_PV = 1e-6;
+  private static final double TOLERANCE_RATE = 1e-12;
+
+  private static final DiscountingSwapLegPricer LEG_PRICER = DiscountingSwapLegPricer.DEFAULT;
+  private static final DiscountingSwapProductPricer SWAP_PRICER = DiscountingSwapProductPricer.DEFAULT;
+
+  private static final ResolvedSwap SWAP_USD = FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M
+      .createTrade(VAL_DATE, Period.ofMonths(1), Tenor.TENOR_10Y, BuySell.BUY, 1e8, 0.015, REF_DATA)
+      .getProduct()
+      .resolve(REF_DATA);
+  // seasoned swap, with the current Ibor period fixed before the valuation date
+  private static final ResolvedSwap SWAP_USD_SEASONED = FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M
+      .createTrade(VAL_DATE.minusMonths(2), Tenor.TENOR_5Y, BuySell.SELL, 1e8, 0.012, REF_DATA)
+      .getProduct()
+      .resolve(REF_DATA);
+
+  private static ImmutableRatesProvider withFixings(ImmutableRatesProvider provider) {
+    LocalDateDoubleTimeSeriesBuilder builder = LocalDateDoubleTimeSeries.builder();
+    for (LocalDate date = VAL_DATE.minusMonths(6); !date.isAfter(VAL_DATE); date = date.plusDays(1)) {
+      builder.put(date, 0.0023);
+    }
+    return provider.toBuilder().timeSeries(USD_LIBOR_3M, builder.build()).build();
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    List<CompiledSwapLeg> test = CompiledSwapLeg.of(SWAP, RATES_GBP);
+    assertEquals(test.size(), 2);
+    assertEquals(test.get(0).getType(), SwapLegType.IBOR);
+    assertEquals(test.get(0).getCurrency(), SWAP.getLegs().get(0).getCurrency());
+    assertEquals(test.get(0).getValuationDate(), RATES_GBP.getValuationDate());
+    assertEquals(test.get(0).getPaymentPeriodCount(), 1);
+    assertEquals(test.get(1).getType(), SwapLegType.FIXED);
+  }
+
+  public void test_of_unsupported() {
+    assertThrowsIllegalArg(() -> CompiledSwapLeg.of(KNOWN_AMOUNT_SWAP_LEG, RATES_GBP));
+    assertThrowsIllegalArg(() -> CompiledSwapLeg.of(FIXED_FX_RESET_SWAP_LEG_PAY_GBP, RATES_GBP_USD));
+  }
+
+  public void test_valuationDate() {
+    List<CompiledSwapLeg> test = CompiledSwapLeg.of(SWAP_USD, RATES_USD);
+    ImmutableRatesProvider otherDate = RatesProviderDataSets.multiUsd(VAL_DATE.plusDays(1));
+    assertThrowsIllegalArg(() -> LEG_PRICER.presentValue(test.get(0), otherDate));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_presentValue() {
+    assertPresentValue(SWAP, RATES_GBP);
+    assertPresentValue(SWAP_CROSS_CURRENCY, RATES_GBP_USD);
+    assertPresentValue(SWAP_USD, RATES_USD);
+    assertPresentValue(SWAP_USD_SEASONED, withFixings(RATES_USD));
+  }
+
+  public void test_parRate() {
+    assertParRate(SWAP, RATES_GBP);
+    assertParRate(SWAP_USD, RATES_USD);
+    assertParRate(SWAP_USD_SEASONED, withFixings(RATES_USD));
+  }
+
+  public void test_pvbp() {
+    for (ResolvedSwapLeg leg : SWAP_USD.getLegs()) {
+      CompiledSwapLeg compiled = CompiledSwapLeg.of(leg, RATES_USD);
+      assertEquals(LEG_PRICER.pvbp(compiled, RATES_USD), LEG_PRICER.pvbp(leg, RATES_USD), TOLERANCE_PV);
+    }
+  }
+
+  // the leg is compiled once, then valued with bumped curves
+  public void test_scenario() {
+    List<CompiledSwapLeg> compiled = CompiledSwapLeg.of(SWAP_USD, RATES_USD);
+    for (int i = 1; i <= 3; i++) {
+      double shift = i * 1e-4;
+      Curve discountCurve = RATES_USD.getDiscountCurves().get(USD).withPerturbation((j, v, m) -> v + shift);
+      Curve forwardCurve = RATES_USD.getIndexCurves().get(USD_LIBOR_3M).withPerturbation((j, v, m) -> v - shift);
+      ImmutableRatesProvider bumped = RATES_USD.toBuilder()
+          .discountCurve(USD, discountCurve)
+          .iborIndexCurve(USD_LIBOR_3M, forwardCurve)
+          .build();
+      assertEquals(
+          SWAP_PRICER.presentValue(compiled, bumped).getAmount(USD).getAmount(),
+          SWAP_PRICER.presentValue(SWAP_USD, bumped).getAmount(USD).getAmount(),
+          TOLERANCE_PV);
+      assertEquals(SWAP_PRICER.parRate(compiled, bumped), SWAP_PRICER.parRate(SWAP_USD, bumped), TOLERANCE_RATE);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  private static void assertPresentValue(ResolvedSwap swap, ImmutableRatesProvider provider) {
+    List<CompiledSwapLeg> compiled = CompiledSwapLeg.of(swap, provider);
+    for (int i = 0; i < compiled.size(); i++) {
+      CurrencyAmount computed = LEG_PRICER.presentValue(compiled.get(i), provider);
+      CurrencyAmount expected = LEG_PRICER.presentValue(swap.getLegs().get(i), provider);
+      assertEquals(computed.getCurrency(), expected.getCurrency());
+      assertEquals(computed.getAmount(), expected.getAmount(), TOLERANCE_PV);
+    }
+    MultiCurrencyAmount computed = SWAP_PRICER.presentValue(compiled, provider);
+    MultiCurrencyAmount expected = SWAP_PRICER.presentValue(swap, provider);
+    assertEquals(computed.getCurrencies(), expected.getCurrencies());
+    for (CurrencyAmount amount : expected.getAmounts()) {
+      assertEquals(computed.getAmount(amount.getCurrency()).getAmount(), amount.getAmount(), TOLERANCE_PV);
+    }
+  }
+
+  private static void assertParRate(ResolvedSwap swap, ImmutableRatesProvider provider) {
+    List<CompiledSwapLeg> compiled = CompiledSwapLeg.of(swap, provider);
+    assertEquals(SWAP_PRICER.parRate(compiled, provider), SWAP_PRICER.parRate(swap, provider), TOLERANCE_RATE);
+  }
+
+}
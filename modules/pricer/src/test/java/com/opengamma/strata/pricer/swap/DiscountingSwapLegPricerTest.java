@@ -41,6 +41,7 @@ import static com.opengamma.strata.product.swap.PriceIndexCalculationMethod.INTE
 import static com.opengamma.strata.product.swap.PriceIndexCalculationMethod.MONTHLY;
 import static com.opengamma.strata.product.swap.SwapLegType.FIXED;
 import static com.opengamma.strata.product.swap.type.IborIborSwapConventions.USD_LIBOR_3M_LIBOR_6M;
+import static java.time.temporal.ChronoUnit.DAYS;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
@@ -77,6 +78,7 @@ import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.DiscountFactors;
 import com.opengamma.strata.pricer.ZeroRateSensitivity;
 import com.opengamma.strata.pricer.datasets.RatesProviderDataSets;
 import com.opengamma.strata.pricer.impl.MockRatesProvider;
@@ -755,10 +757,19 @@ public class DiscountingSwapLegPricerTest {
     double df2 = 0.93;
     when(mockPeriod.forecastValue(period1, mockProv)).thenReturn(fv1);
     when(mockPeriod.forecastValue(period2, mockProv)).thenReturn(fv2);
-    when(mockProv.getValuationDate()).thenReturn(LocalDate.of(2014, 7, 1));
-    when(mockProv.discountFactor(expSwapLeg.getCurrency(), period1.getPaymentDate())).thenReturn(df1);
-    when(mockProv.discountFactor(expSwapLeg.getCurrency(), period2.getPaymentDate())).thenReturn(df2);
-    when(mockProv.discountFactor(expSwapLeg.getCurrency(), event.getPaymentDate())).thenReturn(df);
+    LocalDate valDate = LocalDate.of(2014, 7, 1);
+    when(mockProv.getValuationDate()).thenReturn(valDate);
+    // the discount factors of the periods, and then of the events, are obtained in one call
+    DiscountFactors mockDf = mock(DiscountFactors.class);
+    when(mockProv.discountFactors(expSwapLeg.getCurrency())).thenReturn(mockDf);
+    double t1 = DAYS.between(valDate, period1.getPaymentDate()) / 365d;
+    double t2 = DAYS.between(valDate, period2.getPaymentDate()) / 365d;
+    double t = DAYS.between(valDate, event.getPaymentDate()) / 365d;
+    when(mockDf.relativeYearFraction(period1.getPaymentDate())).thenReturn(t1);
+    when(mockDf.relativeYearFraction(period2.getPaymentDate())).thenReturn(t2);
+    when(mockDf.relativeYearFraction(event.getPaymentDate())).thenReturn(t);
+    when(mockDf.discountFactor(DoubleArray.of(t1, t2))).thenReturn(DoubleArray.of(df1, df2));
+    when(mockDf.discountFactor(DoubleArray.of(t))).thenReturn(DoubleArray.of(df));
     DiscountingSwapLegPricer pricer = new DiscountingSwapLegPricer(mockPeriod, eventPricer);
 
     CashFlows computed = pricer.cashFlows(expSwapLeg, mockProv);
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.pricer.swaption;
 
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
 import static com.opengamma.strata.market.curve.interpolator.CurveInterpolators.LINEAR;
 import static com.opengamma.strata.pricer.swaption.SwaptionCubeData.ATM_NORMAL_SIMPLE;
 import static com.opengamma.strata.pricer.swaption.SwaptionCubeData.DATA_ARRAY_SPARSE;
@@ -28,12 +29,14 @@ import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 
 import org.testng.annotations.Test;
 
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.basics.value.ValueDerivatives;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.io.ResourceLocator;
 import com.opengamma.strata.collect.tuple.Pair;
@@ -51,10 +54,12 @@ import com.opengamma.strata.market.surface.Surface;
 import com.opengamma.strata.market.surface.SurfaceMetadata;
 import com.opengamma.strata.market.surface.interpolator.GridSurfaceInterpolator;
 import com.opengamma.strata.market.surface.interpolator.SurfaceInterpolator;
+import com.opengamma.strata.math.MathException;
 import com.opengamma.strata.pricer.curve.CalibrationMeasures;
 import com.opengamma.strata.pricer.curve.RatesCurveCalibrator;
 import com.opengamma.strata.pricer.impl.option.BlackFormulaRepository;
 import com.opengamma.strata.pricer.impl.option.NormalFormulaRepository;
+import com.opengamma.strata.pricer.model.SabrVolatilityFormula;
 import com.opengamma.strata.pricer.option.TenorRawOptionData;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.pricer.swap.DiscountingSwapProductPricer;
@@ -154,6 +159,123 @@ public class SabrSwaptionCalibratorCubeNormalSimpleDataTest {
     }
   }
 
+  @Test
+  public void normal_cube_parallel_warmStart() {
+    Surface betaSurface = ConstantSurface.of("Beta", 0.50)
+        .withMetadata(DefaultSurfaceMetadata.builder()
+            .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION)
+            .zValueType(ValueType.SABR_BETA).surfaceName("Beta").build());
+    Surface shiftSurface = ConstantSurface.of("Shift", 0.0300)
+        .withMetadata(DefaultSurfaceMetadata.builder()
+            .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION).surfaceName("Shift").build());
+    SabrSwaptionCalibrationResult expected = SABR_CALIBRATION.calibrateWithFixedBetaAndShift(
+        DEFINITION, CALIBRATION_TIME, DATA_SIMPLE, MULTICURVE, betaSurface, shiftSurface, true, Optional.empty());
+    int nbNodes = expected.getVolatilities().getParameters().getAlphaSurface().getParameterCount();
+    assertEquals(expected.getNodes().size(), nbNodes);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      // the parallel calibration is identical to the sequential one
+      SabrSwaptionCalibrator parallel = SABR_CALIBRATION.withExecutor(pool);
+      SabrParametersSwaptionVolatilities computed = parallel.calibrateWithFixedBetaAndShift(
+          DEFINITION, CALIBRATION_TIME, DATA_SIMPLE, MULTICURVE, betaSurface, shiftSurface);
+      assertEquals(computed, expected.getVolatilities());
+      // the warm start is accepted or does not degrade the fit
+      SabrSwaptionCalibrationResult warm = parallel.calibrateWithFixedBetaAndShift(
+          DEFINITION, CALIBRATION_TIME, DATA_SIMPLE, MULTICURVE, betaSurface, shiftSurface, true,
+          Optional.of(expected.getVolatilities()));
+      assertEquals(warm.getNodes().size(), nbNodes);
+      for (int i = 0; i < nbNodes; i++) {
+        SabrSwaptionCalibrationNode node = warm.getNodes().get(i);
+        SabrSwaptionCalibrationNode coldNode = expected.getNodes().get(i);
+        assertEquals(node.getExpiry(), coldNode.getExpiry());
+        assertEquals(node.getTenor(), coldNode.getTenor());
+        assertTrue(node.getChiSquare() <= Math.max(coldNode.getChiSquare(), MONEYNESS.size()));
+        assertTrue(!node.getFitTime().isNegative());
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void normal_cube_parallel_stopOnMathException() {
+    Surface betaSurface = ConstantSurface.of("Beta", 0.50)
+        .withMetadata(DefaultSurfaceMetadata.builder()
+            .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION)
+            .zValueType(ValueType.SABR_BETA).surfaceName("Beta").build());
+    Surface shiftSurface = ConstantSurface.of("Shift", 0.0300)
+        .withMetadata(DefaultSurfaceMetadata.builder()
+            .xValueType(ValueType.YEAR_FRACTION).yValueType(ValueType.YEAR_FRACTION).surfaceName("Shift").build());
+    // the nodes with expiry above 3 months fail, the first in the order of the tenors and expiries is 1Y x 6M
+    SabrSwaptionCalibrator failing = SabrSwaptionCalibrator.of(new FailingSabrFormula(0.25), SWAP_PRICER);
+    String expected = "Expiry too long at expiry P6M and tenor 1Y";
+    assertThrows(() -> failing.calibrateWithFixedBetaAndShift(
+        DEFINITION, CALIBRATION_TIME, DATA_SIMPLE, MULTICURVE, betaSurface, shiftSurface, true, Optional.empty()),
+        MathException.class, expected);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      // the node reported does not depend on the order in which the nodes are calibrated
+      SabrSwaptionCalibrator parallel = failing.withExecutor(pool);
+      for (int i = 0; i < 10; i++) {
+        assertThrows(() -> parallel.calibrateWithFixedBetaAndShift(
+            DEFINITION, CALIBRATION_TIME, DATA_SIMPLE, MULTICURVE, betaSurface, shiftSurface, true, Optional.empty()),
+            MathException.class, expected);
+      }
+      // the failing nodes are skipped when not stopping on math exceptions, leaving the 1M expiry of each tenor
+      SabrSwaptionCalibrationResult skipped = parallel.calibrateWithFixedBetaAndShift(
+          DEFINITION, CALIBRATION_TIME, DATA_SIMPLE, MULTICURVE, betaSurface, shiftSurface, false, Optional.empty());
+      assertEquals(skipped.getNodes().size(), 2);
+      for (SabrSwaptionCalibrationNode node : skipped.getNodes()) {
+        assertEquals(node.getExpiry(), EXPIRIES_SIMPLE.get(0));
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  // the Hagan formula, failing for the expiries above a limit
+  private static final class FailingSabrFormula implements SabrVolatilityFormula {
+    private final double maxTimeToExpiry;
+
+    private FailingSabrFormula(double maxTimeToExpiry) {
+      this.maxTimeToExpiry = maxTimeToExpiry;
+    }
+
+    @Override
+    public double volatility(
+        double forward,
+        double strike,
+        double timeToExpiry,
+        double alpha,
+        double beta,
+        double rho,
+        double nu) {
+
+      checkExpiry(timeToExpiry);
+      return SabrVolatilityFormula.hagan().volatility(forward, strike, timeToExpiry, alpha, beta, rho, nu);
+    }
+
+    @Override
+    public ValueDerivatives volatilityAdjoint(
+        double forward,
+        double strike,
+        double timeToExpiry,
+        double alpha,
+        double beta,
+        double rho,
+        double nu) {
+
+      checkExpiry(timeToExpiry);
+      return SabrVolatilityFormula.hagan().volatilityAdjoint(forward, strike, timeToExpiry, alpha, beta, rho, nu);
+    }
+
+    private void checkExpiry(double timeToExpiry) {
+      if (timeToExpiry > maxTimeToExpiry) {
+        throw new MathException("Expiry too long");
+      }
+    }
+  }
+
   @SuppressWarnings("unused")
   @Test
   public void normal_atm() {
@@ -6,6 +6,7 @@
 package com.opengamma.strata.pricer.swaption;
 
 import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M;
 import static org.testng.Assert.assertEquals;
 
@@ -137,6 +138,16 @@ public class SabrSwaptionCalibratorSmileTest {
     checkCalibrationPrice(MONEYNESS_5, VOLATILITY_BLACK_5, startParameters, fixed, shift, TOLERANCE_PRICE_CALIBRATION_LS);
   }
 
+  // a price with no time value has a zero implied volatility, whose derivative to the price is undefined
+  public void blackVolatilitiesShiftedFromPrices_intrinsic() {
+    DoubleArray strikes = DoubleArray.of(FORWARD - 0.01, FORWARD + 0.01);
+    DoubleArray prices = DoubleArray.of(
+        FORWARD - strikes.get(0), BlackFormulaRepository.price(FORWARD, strikes.get(1), TIME_EXPIRY, 0.30, true));
+    assertThrowsIllegalArg(
+        () -> SABR_CALIBRATION.blackVolatilitiesShiftedFromPrices(FORWARD, 0d, TIME_EXPIRY, strikes, prices),
+        "Option price .* has no time value.*");
+  }
+
   private void checkCalibrationNormal(
       DoubleArray moneyness,
       DoubleArray normalVol,